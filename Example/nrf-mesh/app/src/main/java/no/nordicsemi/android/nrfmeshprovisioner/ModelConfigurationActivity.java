@@ -47,6 +47,7 @@ import javax.inject.Inject;
 import butterknife.BindView;
 import butterknife.ButterKnife;
 import no.nordicsemi.android.meshprovisioner.configuration.ConfigModelAppStatus;
+import no.nordicsemi.android.meshprovisioner.configuration.ParcelableMeshNode;
 import no.nordicsemi.android.meshprovisioner.configuration.ProvisionedMeshNode;
 import no.nordicsemi.android.meshprovisioner.configuration.MeshModel;
 import no.nordicsemi.android.meshprovisioner.utils.Element;
@@ -101,7 +102,7 @@ public class ModelConfigurationActivity extends AppCompatActivity implements Inj
         mViewModel = ViewModelProviders.of(this, mViewModelFactory).get(ModelConfigurationViewModel.class);
         mHandler = new Handler();
         final Intent intent = getIntent();
-        final ProvisionedMeshNode meshNode = intent.getParcelableExtra(EXTRA_DEVICE);
+        final ProvisionedMeshNode meshNode = ((ParcelableMeshNode) intent.getParcelableExtra(EXTRA_DEVICE)).getMeshNode();
         final int elementAddress = intent.getExtras().getInt(EXTRA_ELEMENT_ADDRESS);
         final int modelId = intent.getExtras().getInt(EXTRA_MODEL_ID);
         if(meshNode == null)
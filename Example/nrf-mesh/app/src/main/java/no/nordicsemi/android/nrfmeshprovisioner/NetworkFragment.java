@@ -38,6 +38,7 @@ import android.widget.Toast;
 
 import javax.inject.Inject;
 
+import no.nordicsemi.android.meshprovisioner.configuration.ParcelableMeshNode;
 import no.nordicsemi.android.meshprovisioner.configuration.ProvisionedMeshNode;
 import no.nordicsemi.android.nrfmeshprovisioner.adapter.NodeAdapter;
 import no.nordicsemi.android.nrfmeshprovisioner.di.Injectable;
@@ -104,7 +105,7 @@ public class NetworkFragment extends Fragment implements Injectable, NodeAdapter
         if(mViewModel.isConenctedToMesh()) {
             ((NetworkFragmentListener) getActivity()).onProvisionedMeshNodeSelected();
             final Intent meshConfigurationIntent = new Intent(getActivity(), NodeConfigurationActivity.class);
-            meshConfigurationIntent.putExtra(Utils.EXTRA_DEVICE, node);
+            meshConfigurationIntent.putExtra(Utils.EXTRA_DEVICE, new ParcelableMeshNode(node));
             getActivity().startActivity(meshConfigurationIntent);
         } else {
             Toast.makeText(getActivity(), "Please connect to a node to continue configuring", Toast.LENGTH_SHORT).show();
@@ -114,7 +115,7 @@ public class NetworkFragment extends Fragment implements Injectable, NodeAdapter
     @Override
     public void onDetailsClicked(final ProvisionedMeshNode node) {
         final Intent meshConfigurationIntent = new Intent(getActivity(), NodeDetailsActivity.class);
-        meshConfigurationIntent.putExtra(Utils.EXTRA_DEVICE, node);
+        meshConfigurationIntent.putExtra(Utils.EXTRA_DEVICE, new ParcelableMeshNode(node));
         getActivity().startActivity(meshConfigurationIntent);
     }
 
@@ -45,6 +45,7 @@ import javax.inject.Inject;
 import butterknife.BindView;
 import butterknife.ButterKnife;
 import no.nordicsemi.android.meshprovisioner.configuration.ConfigAppKeyStatus;
+import no.nordicsemi.android.meshprovisioner.configuration.ParcelableMeshNode;
 import no.nordicsemi.android.meshprovisioner.configuration.ProvisionedMeshNode;
 import no.nordicsemi.android.meshprovisioner.configuration.MeshModel;
 import no.nordicsemi.android.meshprovisioner.utils.AddressUtils;
@@ -87,7 +88,7 @@ public class NodeConfigurationActivity extends AppCompatActivity implements Inje
         mViewModel = ViewModelProviders.of(this, mViewModelFactory).get(NodeConfigurationViewModel.class);
 
         final Intent intent = getIntent();
-        final ProvisionedMeshNode node = intent.getParcelableExtra(Utils.EXTRA_DEVICE);
+        final ProvisionedMeshNode node = ((ParcelableMeshNode) intent.getParcelableExtra(Utils.EXTRA_DEVICE)).getMeshNode();
         if(savedInstanceState == null) {
             if (node == null)
                 finish();
@@ -213,7 +214,7 @@ public class NodeConfigurationActivity extends AppCompatActivity implements Inje
     public void onElementItemClick(final ProvisionedMeshNode meshNode, final Element element, final MeshModel model) {
         mViewModel.getElementConfigurationRepository().setModel(meshNode, AddressUtils.getUnicastAddressInt(element.getElementAddress()), model.getModelId());
         final Intent intent = new Intent(this, ModelConfigurationActivity.class);
-        intent.putExtra(EXTRA_DEVICE, meshNode);
+        intent.putExtra(EXTRA_DEVICE, new ParcelableMeshNode(meshNode));
         intent.putExtra(EXTRA_ELEMENT_ADDRESS, AddressUtils.getUnicastAddressInt(element.getElementAddress()));
         intent.putExtra(EXTRA_MODEL_ID, model.getModelId());
         intent.putExtra(EXTRA_DATA_MODEL_NAME, model.getModelName());
@@ -38,6 +38,7 @@ import java.text.DateFormat;
 import java.util.ArrayList;
 
 import butterknife.ButterKnife;
+import no.nordicsemi.android.meshprovisioner.configuration.ParcelableMeshNode;
 import no.nordicsemi.android.meshprovisioner.configuration.ProvisionedMeshNode;
 import no.nordicsemi.android.meshprovisioner.utils.CompanyIdentifiers;
 import no.nordicsemi.android.meshprovisioner.utils.CompositionDataParser;
@@ -60,7 +61,7 @@ public class NodeDetailsActivity extends AppCompatActivity implements Injectable
         ButterKnife.bind(this);
 
         final Intent intent = getIntent();
-        final ProvisionedMeshNode node = intent.getParcelableExtra(Utils.EXTRA_DEVICE);
+        final ProvisionedMeshNode node = ((ParcelableMeshNode) intent.getParcelableExtra(Utils.EXTRA_DEVICE)).getMeshNode();
         if(node == null)
             finish();
 
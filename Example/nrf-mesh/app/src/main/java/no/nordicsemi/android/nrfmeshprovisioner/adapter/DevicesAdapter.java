@@ -49,11 +49,7 @@ public class DevicesAdapter extends RecyclerView.Adapter<DevicesAdapter.ViewHold
         mContext = scannerFragment.getContext();
         mDevices = scannerLiveData.getDevices();
         scannerLiveData.observe(scannerFragment, devices -> {
-            final Integer i = devices.getUpdatedDeviceIndex();
-            if (i != null)
-                notifyItemChanged(i);
-            else
-                notifyDataSetChanged();
+            onDevicesChanged(devices.getChangedDeviceIndices());
         });
     }
 
@@ -61,14 +57,25 @@ public class DevicesAdapter extends RecyclerView.Adapter<DevicesAdapter.ViewHold
         mContext = fragmentActivity;
         mDevices = scannerLiveData.getDevices();
         scannerLiveData.observe(fragmentActivity, devices -> {
-            final Integer i = devices.getUpdatedDeviceIndex();
-            if (i != null)
-                notifyItemChanged(i);
-            else
-                notifyDataSetChanged();
+            onDevicesChanged(devices.getChangedDeviceIndices());
         });
     }
 
+    private void onDevicesChanged(final int[] changedIndices) {
+        if (changedIndices == null) {
+            notifyDataSetChanged();
+            return;
+        }
+        //Indices are sorted, consecutive devices are refreshed as a single range
+        int start = 0;
+        for (int i = 1; i <= changedIndices.length; i++) {
+            if (i == changedIndices.length || changedIndices[i] != changedIndices[i - 1] + 1) {
+                notifyItemRangeChanged(changedIndices[start], i - start);
+                start = i;
+            }
+        }
+    }
+
     public void setOnItemClickListener(final OnItemClickListener listener) {
         mOnItemClickListener = listener;
     }
@@ -45,10 +45,12 @@ public class ExtendedBluetoothDevice implements Parcelable {
     private final BluetoothDevice device;
     private String name;
     private int rssi;
+    private long lastSeen;
 
     public ExtendedBluetoothDevice(final ScanResult scanResult) {
         this.device = scanResult.getDevice();
-        this.name = scanResult.getScanRecord().getDeviceName();
+        final ScanRecord scanRecord = scanResult.getScanRecord();
+        this.name = scanRecord != null ? scanRecord.getDeviceName() : null;
         this.rssi = scanResult.getRssi();
     }
 
@@ -82,6 +84,17 @@ public class ExtendedBluetoothDevice implements Parcelable {
         this.rssi = rssi;
     }
 
+    /**
+     * Returns the elapsed realtime in milliseconds when the device was last seen advertising
+     */
+    public long getLastSeen() {
+        return lastSeen;
+    }
+
+    public void setLastSeen(final long lastSeen) {
+        this.lastSeen = lastSeen;
+    }
+
     // Parcelable implementation
 
     public boolean matches(final ScanResult scanResult) {
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2018, Nordic Semiconductor
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this
+ * software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package no.nordicsemi.android.nrfmeshprovisioner.ble;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import no.nordicsemi.android.support.v18.scanner.ScanCallback;
+import no.nordicsemi.android.support.v18.scanner.ScanResult;
+
+/**
+ * Scan callback handling single and batched scan results the same way.
+ * <p>
+ * A batch delivered after the report delay may contain many advertisements of the same device. Only the latest result of every
+ * device is passed to {@link #onDeviceScanned(ScanResult)}, in the order the devices first appear in the batch.
+ * Scan results are delivered on a single thread, so the callback is not synchronized.
+ * </p>
+ */
+public abstract class BatchedScanCallback extends ScanCallback {
+
+    private final Map<String, ScanResult> mBatch = new LinkedHashMap<>();
+    private final List<ScanResult> mDevices = new ArrayList<>();
+    private int mBatchCount;
+    private int mResultCount;
+    private int mDuplicateCount;
+
+    @Override
+    public final void onScanResult(final int callbackType, final ScanResult result) {
+        mResultCount++;
+        onDeviceScanned(result);
+    }
+
+    @Override
+    public final void onBatchScanResults(final List<ScanResult> results) {
+        mBatchCount++;
+        mResultCount += results.size();
+        for (ScanResult result : results) {
+            final String key = getDeviceKey(result);
+            final ScanResult previous = mBatch.get(key);
+            if (previous != null) {
+                mDuplicateCount++;
+                if (previous.getTimestampNanos() > result.getTimestampNanos())
+                    continue;
+            }
+            mBatch.put(key, result);
+        }
+        //Dispatch from a copy, a device callback may stop the scan before the whole batch has been handled
+        mDevices.addAll(mBatch.values());
+        mBatch.clear();
+        try {
+            for (ScanResult result : mDevices) {
+                onDeviceScanned(result);
+            }
+        } finally {
+            mDevices.clear();
+        }
+    }
+
+    /**
+     * Called once for every scanned device and once per device within a batch
+     *
+     * @param result latest scan result of the device
+     */
+    protected abstract void onDeviceScanned(final ScanResult result);
+
+    /**
+     * Returns the key identifying the device that sent an advertisement
+     *
+     * @param result scan result
+     */
+    protected String getDeviceKey(final ScanResult result) {
+        return result.getDevice().getAddress();
+    }
+
+    /**
+     * Returns the number of batches received
+     */
+    public int getBatchCount() {
+        return mBatchCount;
+    }
+
+    /**
+     * Returns the number of scan results received, including the results dropped as duplicates
+     */
+    public int getResultCount() {
+        return mResultCount;
+    }
+
+    /**
+     * Returns the number of scan results dropped because a batch contained a later result of the same device
+     */
+    public int getDuplicateCount() {
+        return mDuplicateCount;
+    }
+}
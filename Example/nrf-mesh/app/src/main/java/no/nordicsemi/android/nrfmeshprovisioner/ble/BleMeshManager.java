@@ -39,6 +39,7 @@ import javax.inject.Inject;
 import no.nordicsemi.android.ble.BleManager;
 import no.nordicsemi.android.ble.Request;
 import no.nordicsemi.android.log.LogContract;
+import no.nordicsemi.android.meshprovisioner.transport.ProxyPduSegmenter;
 import no.nordicsemi.android.meshprovisioner.utils.MeshParserUtils;
 
 public class BleMeshManager extends BleManager<BleMeshManagerCallbacks> {
@@ -171,7 +172,7 @@ public class BleMeshManager extends BleManager<BleMeshManagerCallbacks> {
         @Override
         protected void onMtuChanged(final int mtu) {
             super.onMtuChanged(mtu);
-            mtuSize = mtu - 3;
+            mtuSize = ProxyPduSegmenter.getMaxChunkLength(mtu);
         }
 
         @Override
@@ -204,24 +205,12 @@ public class BleMeshManager extends BleManager<BleMeshManagerCallbacks> {
     /**
      * Sends the mesh pdu
      * <p>
-     *     The function will chunk the pdu to fit in to the mtu size supported by the node
+     *     The pdu has already been segmented by the library to fit in to the mtu size supported by the node
      * </p>
      * @param pdu mesh pdu
      */
     public void sendPdu(final byte[] pdu) {
-        final int chunks = (pdu.length + (mtuSize - 1)) / mtuSize;
-        int srcOffset = 0;
-        if(chunks > 1) {
-            for (int i = 0; i < chunks; i++) {
-                final int length = Math.min(pdu.length - srcOffset, mtuSize);
-                final byte[] segmentedBuffer = new byte[length];
-                System.arraycopy(pdu, srcOffset, segmentedBuffer, 0, length);
-                srcOffset += length;
-                send(segmentedBuffer);
-            }
-        } else {
-            send(pdu);
-        }
+        send(pdu);
     }
 
     /**
@@ -23,32 +23,96 @@
 package no.nordicsemi.android.nrfmeshprovisioner.livedata;
 
 import android.arch.lifecycle.LiveData;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.ParcelUuid;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
+import no.nordicsemi.android.meshprovisioner.platform.HandlerMeshScheduler;
+import no.nordicsemi.android.meshprovisioner.platform.MeshScheduler;
 import no.nordicsemi.android.nrfmeshprovisioner.adapter.ExtendedBluetoothDevice;
+import no.nordicsemi.android.nrfmeshprovisioner.ble.BleMeshManager;
+import no.nordicsemi.android.support.v18.scanner.ScanRecord;
 import no.nordicsemi.android.support.v18.scanner.ScanResult;
 
 /**
  * This class keeps the current list of discovered Bluetooth LE devices matching filter.
- * If a new device has been found it is added to the list and the LiveData in observers are
- * notified. If a packet from a device that's already in the list is found, the RSSI and name
- * are updated and observers are also notified. Observer may check {@link #getUpdatedDeviceIndex()}
- * to find out the index of the updated device.
+ * <p>
+ * Devices are indexed by address and, for unprovisioned devices, by the device UUID advertised in the mesh provisioning
+ * service data, so a scan result is matched to a device in constant time even if the device changed its address.
+ * Updates are coalesced and observers are notified at most once every {@link #DISPATCH_INTERVAL} milliseconds.
+ * Observers may check {@link #getChangedDeviceIndices()} to find out the indices of the updated devices.
+ * Devices that have not been seen for {@link #STALE_DEVICE_TIMEOUT} milliseconds while scanning are removed.
+ * Scan results must be delivered on the thread the {@link MeshScheduler} runs its tasks on, the main thread by default.
+ * </p>
  */
 public class ScannerLiveData extends LiveData<ScannerLiveData> {
+
+    /**
+     * Minimum interval between two notifications of the observers about discovered devices, in milliseconds
+     */
+    public static final long DISPATCH_INTERVAL = 100;
+    /**
+     * Time after which a device that is no longer advertising is removed, in milliseconds
+     */
+    public static final long STALE_DEVICE_TIMEOUT = 10000;
+
+    private static final ParcelUuid MESH_PROVISIONING_UUID = new ParcelUuid(BleMeshManager.MESH_PROVISIONING_UUID);
+    private static final int DEVICE_UUID_LENGTH = 16;
+
     private final List<ExtendedBluetoothDevice> mDevices = new ArrayList<>();
-    private Integer mUpdatedDeviceIndex;
+    private final Map<String, Integer> mAddressIndex = new HashMap<>();
+    private final Map<UUID, Integer> mUuidIndex = new HashMap<>();
+    private final List<String> mDeviceAddresses = new ArrayList<>();
+    private final List<UUID> mDeviceUuids = new ArrayList<>();
+    private final MeshScheduler mScheduler;
+    private int[] mChangedIndices = new int[16];
+    private int mChangedCount;
+    private boolean mDataSetChanged;
+    private boolean mDispatchScheduled;
+    private long mLastDispatchTime;
+    private int[] mDispatchedIndices;
     private boolean mScanningStarted;
+    private boolean mExpiryScheduled;
     private boolean mBluetoothEnabled;
     private boolean mLocationEnabled;
     private boolean mStartScanning;
     private boolean mStopScanning;
 
+    private final Runnable mDispatchRunnable = this::dispatchChanges;
+
+    private final Runnable mExpiryRunnable = new Runnable() {
+        @Override
+        public void run() {
+            mExpiryScheduled = false;
+            if (mScanningStarted) {
+                removeStaleDevices();
+                scheduleExpiry();
+            }
+        }
+    };
+
     public ScannerLiveData(final boolean bluetoothEnabled, final boolean locationEnabled) {
+        this(bluetoothEnabled, locationEnabled, new HandlerMeshScheduler(new Handler(Looper.getMainLooper())));
+    }
+
+    /**
+     * Creates the live data running its dispatch and expiry timers on the given scheduler
+     *
+     * @param bluetoothEnabled whether the Bluetooth adapter is enabled
+     * @param locationEnabled  whether Location is enabled
+     * @param scheduler        scheduler the timers are run on
+     */
+    ScannerLiveData(final boolean bluetoothEnabled, final boolean locationEnabled, final MeshScheduler scheduler) {
+        mScheduler = scheduler;
         mScanningStarted = false;
         mBluetoothEnabled = bluetoothEnabled;
         mLocationEnabled = locationEnabled;
@@ -63,7 +127,7 @@ public class ScannerLiveData extends LiveData<ScannerLiveData> {
      * Updates the flag to notify scanner live data that a stop scan was requested.
      */
     public void startScanning() {
-        mDevices.clear(); //Clear the devices on resuming the scan
+        clearDevices(); //Clear the devices on resuming the scan
         mStopScanning = false;
         mStartScanning = true;
         setValue(this);
@@ -88,10 +152,12 @@ public class ScannerLiveData extends LiveData<ScannerLiveData> {
 
     public void scanningStarted() {
         mScanningStarted = true;
+        scheduleExpiry();
         setValue(this);
     }
 
     public void scanningStopped() {
+        //A pending expiry check does nothing once scanning has stopped
         mScanningStarted = false;
         setValue(this);
     }
@@ -103,28 +169,49 @@ public class ScannerLiveData extends LiveData<ScannerLiveData> {
 
     public void bluetoothDisabled() {
         mBluetoothEnabled = false;
-        mUpdatedDeviceIndex = null;
-        mDevices.clear();
+        clearDevices();
         postValue(this);
     }
 
     public void deviceDiscovered(final ScanResult result) {
-        ExtendedBluetoothDevice device;
+        final ScanRecord scanRecord = result.getScanRecord();
+        final String address = getDeviceAddress(result);
+        final UUID deviceUuid = getDeviceUuid(result);
 
-        final int index = indexOf(result);
-        if (index == -1) {
+        Integer index = mAddressIndex.get(address);
+        if (index == null && deviceUuid != null) {
+            index = mUuidIndex.get(deviceUuid);
+            if (index != null) {
+                //The device is advertising the same device UUID from a new address
+                mAddressIndex.remove(mDeviceAddresses.get(index));
+                mAddressIndex.put(address, index);
+                mDeviceAddresses.set(index, address);
+                mDevices.set(index, new ExtendedBluetoothDevice(result));
+            }
+        }
+
+        final ExtendedBluetoothDevice device;
+        if (index == null) {
             device = new ExtendedBluetoothDevice(result);
+            index = mDevices.size();
             mDevices.add(device);
-            mUpdatedDeviceIndex = null;
+            mDeviceAddresses.add(address);
+            mDeviceUuids.add(deviceUuid);
+            mAddressIndex.put(address, index);
+            if (deviceUuid != null) {
+                mUuidIndex.put(deviceUuid, index);
+            }
+            mDataSetChanged = true;
         } else {
             device = mDevices.get(index);
-            mUpdatedDeviceIndex = index;
+            markChanged(index);
         }
         // Update RSSI and name
         device.setRssi(result.getRssi());
-        device.setName(result.getScanRecord().getDeviceName());
+        device.setName(scanRecord != null ? scanRecord.getDeviceName() : null);
+        device.setLastSeen(mScheduler.elapsedRealtime());
 
-        postValue(this);
+        scheduleDispatch();
     }
 
     /**
@@ -138,13 +225,14 @@ public class ScannerLiveData extends LiveData<ScannerLiveData> {
     }
 
     /**
-     * Returns null if a new device was added, or an index of the updated device.
+     * Returns the indices of the devices updated since the observers were last notified, in ascending order,
+     * or null if devices were added or removed and the whole list must be refreshed.
      */
     @Nullable
-    public Integer getUpdatedDeviceIndex() {
-        final Integer i = mUpdatedDeviceIndex;
-        mUpdatedDeviceIndex = null;
-        return i;
+    public int[] getChangedDeviceIndices() {
+        final int[] indices = mDispatchedIndices;
+        mDispatchedIndices = null;
+        return indices;
     }
 
     /**
@@ -185,18 +273,123 @@ public class ScannerLiveData extends LiveData<ScannerLiveData> {
     }
 
     /**
-     * Finds the index of existing devices on the scan results list.
+     * Returns the address of the device that sent an advertisement
      *
      * @param result scan result
-     * @return index of -1 if not found
      */
-    private int indexOf(final ScanResult result) {
-        int i = 0;
-        for (final ExtendedBluetoothDevice device : mDevices) {
-            if (device.matches(result))
-                return i;
-            i++;
+    protected String getDeviceAddress(final ScanResult result) {
+        return result.getDevice().getAddress();
+    }
+
+    /**
+     * Returns the device UUID advertised by an unprovisioned device or null
+     *
+     * @param result scan result
+     */
+    protected UUID getDeviceUuid(final ScanResult result) {
+        final ScanRecord scanRecord = result.getScanRecord();
+        if (scanRecord == null)
+            return null;
+        final byte[] serviceData = scanRecord.getServiceData(MESH_PROVISIONING_UUID);
+        if (serviceData == null || serviceData.length < DEVICE_UUID_LENGTH)
+            return null;
+        long msb = 0;
+        long lsb = 0;
+        for (int i = 0; i < 8; i++) {
+            msb = (msb << 8) | (serviceData[i] & 0xFF);
+            lsb = (lsb << 8) | (serviceData[i + 8] & 0xFF);
+        }
+        return new UUID(msb, lsb);
+    }
+
+    private void markChanged(final int index) {
+        if (mDataSetChanged)
+            return;
+        for (int i = 0; i < mChangedCount; i++) {
+            if (mChangedIndices[i] == index)
+                return;
+        }
+        if (mChangedCount == mChangedIndices.length) {
+            mChangedIndices = Arrays.copyOf(mChangedIndices, mChangedCount * 2);
+        }
+        mChangedIndices[mChangedCount++] = index;
+    }
+
+    /**
+     * Notifies the observers once the dispatch interval has passed since the last notification
+     */
+    private void scheduleDispatch() {
+        if (mDispatchScheduled)
+            return;
+        mDispatchScheduled = true;
+        final long delay = mLastDispatchTime + DISPATCH_INTERVAL - mScheduler.elapsedRealtime();
+        mScheduler.postDelayed(mDispatchRunnable, Math.max(0, delay));
+    }
+
+    private void scheduleExpiry() {
+        if (mExpiryScheduled)
+            return;
+        mExpiryScheduled = true;
+        mScheduler.postDelayed(mExpiryRunnable, STALE_DEVICE_TIMEOUT / 2);
+    }
+
+    private void dispatchChanges() {
+        mDispatchScheduled = false;
+        mLastDispatchTime = mScheduler.elapsedRealtime();
+        if (mDataSetChanged || mDispatchedIndices != null) {
+            //Changes the observers have not consumed yet are merged in to a full refresh
+            mDispatchedIndices = null;
+        } else {
+            mDispatchedIndices = Arrays.copyOf(mChangedIndices, mChangedCount);
+            Arrays.sort(mDispatchedIndices);
+        }
+        mChangedCount = 0;
+        mDataSetChanged = false;
+        setValue(this);
+    }
+
+    /**
+     * Removes the devices that have not advertised within the stale device timeout
+     */
+    private void removeStaleDevices() {
+        final long staleTime = mScheduler.elapsedRealtime() - STALE_DEVICE_TIMEOUT;
+        boolean removed = false;
+        for (int i = mDevices.size() - 1; i >= 0; i--) {
+            if (mDevices.get(i).getLastSeen() < staleTime) {
+                mDevices.remove(i);
+                mDeviceAddresses.remove(i);
+                mDeviceUuids.remove(i);
+                removed = true;
+            }
+        }
+        if (removed) {
+            rebuildIndex();
+            mDataSetChanged = true;
+            scheduleDispatch();
         }
-        return -1;
+    }
+
+    private void rebuildIndex() {
+        mAddressIndex.clear();
+        mUuidIndex.clear();
+        for (int i = 0; i < mDevices.size(); i++) {
+            mAddressIndex.put(mDeviceAddresses.get(i), i);
+            final UUID deviceUuid = mDeviceUuids.get(i);
+            if (deviceUuid != null) {
+                mUuidIndex.put(deviceUuid, i);
+            }
+        }
+    }
+
+    private void clearDevices() {
+        mDevices.clear();
+        mDeviceAddresses.clear();
+        mDeviceUuids.clear();
+        mAddressIndex.clear();
+        mUuidIndex.clear();
+        //A dispatch that is still pending notifies the observers of the empty list
+        mChangedCount = 0;
+        mDataSetChanged = true;
+        mDispatchedIndices = null;
     }
 }
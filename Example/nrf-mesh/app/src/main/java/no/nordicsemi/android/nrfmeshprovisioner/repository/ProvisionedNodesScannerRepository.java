@@ -32,12 +32,11 @@ import android.os.ParcelUuid;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
-import no.nordicsemi.android.meshprovisioner.configuration.ProvisionedMeshNode;
+import no.nordicsemi.android.meshprovisioner.utils.NetworkAdvertisementClassifier;
 import no.nordicsemi.android.nrfmeshprovisioner.ble.BleMeshManager;
 import no.nordicsemi.android.nrfmeshprovisioner.livedata.ScannerLiveData;
 import no.nordicsemi.android.nrfmeshprovisioner.utils.Utils;
@@ -218,14 +217,17 @@ public class ProvisionedNodesScannerRepository extends BaseMeshRepository {
                 final byte[] serviceData = scanRecord.getServiceData(new ParcelUuid((MESH_PROXY_UUID)));
                 if (serviceData != null) {
                     if (mMeshManagerApi != null) {
-                        if (mMeshManagerApi.isAdvertisingWithNetworkIdentity(serviceData)) {
-                            if(mMeshManagerApi.networkIdMatches(mNetworkId, serviceData)) {
-                                mScannerLiveData.deviceDiscovered(result);
-                            }
-                        } else if (mMeshManagerApi.isAdvertisedWithNodeIdentity(serviceData)) {
-                            if(checkIfNodeIdentityMatches(serviceData)){
-                                mScannerLiveData.deviceDiscovered(result);
-                            }
+                        switch (mMeshManagerApi.classifyAdvertisement(serviceData)) {
+                            case NetworkAdvertisementClassifier.ADVERTISEMENT_NETWORK_ID:
+                                if(mMeshManagerApi.networkIdMatches(mNetworkId, serviceData)) {
+                                    mScannerLiveData.deviceDiscovered(result);
+                                }
+                                break;
+                            case NetworkAdvertisementClassifier.ADVERTISEMENT_NODE_IDENTITY:
+                                if(checkIfNodeIdentityMatches(serviceData)){
+                                    mScannerLiveData.deviceDiscovered(result);
+                                }
+                                break;
                         }
                     }
                 }
@@ -245,16 +247,6 @@ public class ProvisionedNodesScannerRepository extends BaseMeshRepository {
     };
 
     private boolean checkIfNodeIdentityMatches(final byte[] serviceData){
-        if(mBinder != null) {
-            for(Map.Entry<Integer, ProvisionedMeshNode> node : mProvisionedNodesLiveData.getProvisionedNodes().entrySet()){
-                if(mMeshManagerApi != null) {
-                    if(mMeshManagerApi.nodeIdentityMatches(node.getValue(), serviceData)){
-                        return true;
-                    }
-                }
-            }
-        }
-        return false;
-
+        return mBinder != null && mMeshManagerApi != null && mMeshManagerApi.resolveNodeIdentity(serviceData) != null;
     }
 }
\ No newline at end of file
@@ -38,10 +38,11 @@ import java.util.UUID;
 
 import javax.inject.Inject;
 
+import no.nordicsemi.android.nrfmeshprovisioner.ble.BatchedScanCallback;
+import no.nordicsemi.android.nrfmeshprovisioner.ble.CompatMeshScanner;
+import no.nordicsemi.android.nrfmeshprovisioner.ble.MeshScanner;
 import no.nordicsemi.android.nrfmeshprovisioner.utils.Utils;
 import no.nordicsemi.android.nrfmeshprovisioner.livedata.ScannerLiveData;
-import no.nordicsemi.android.support.v18.scanner.BluetoothLeScannerCompat;
-import no.nordicsemi.android.support.v18.scanner.ScanCallback;
 import no.nordicsemi.android.support.v18.scanner.ScanFilter;
 import no.nordicsemi.android.support.v18.scanner.ScanResult;
 import no.nordicsemi.android.support.v18.scanner.ScanSettings;
@@ -50,16 +51,18 @@ public class ScannerRepository {
 
     private static final String TAG = ScannerRepository.class.getSimpleName();
     private final Context mContext;
+    private final MeshScanner mScanner;
     private Handler mHandler;
+    private long mReportDelay;
 
     /**
      * MutableLiveData containing the scanner state to notify MainActivity.
      */
     private final ScannerLiveData mScannerLiveData;
 
-    private final ScanCallback mScanCallbacks = new ScanCallback() {
+    private final BatchedScanCallback mScanCallbacks = new BatchedScanCallback() {
         @Override
-        public void onScanResult(final int callbackType, final ScanResult result) {
+        protected void onDeviceScanned(final ScanResult result) {
             // If the packet has been obtained while Location was disabled, mark Location as not required
             if (Utils.isLocationRequired(mContext) && !Utils.isLocationEnabled(mContext))
                 Utils.markLocationNotRequired(mContext);
@@ -69,11 +72,6 @@ public class ScannerRepository {
             }
         }
 
-        @Override
-        public void onBatchScanResults(final List<ScanResult> results) {
-            // Batch scan is disabled (report delay = 0)
-        }
-
         @Override
         public void onScanFailed(final int errorCode) {
             try {
@@ -121,7 +119,12 @@ public class ScannerRepository {
 
     @Inject
     public ScannerRepository(final Context context) {
+        this(context, new CompatMeshScanner());
+    }
+
+    public ScannerRepository(final Context context, final MeshScanner scanner) {
         this.mContext = context;
+        this.mScanner = scanner;
         this.mHandler = new Handler();
         mScannerLiveData = new ScannerLiveData(Utils.isBleEnabled(), Utils.isLocationEnabled(context));
     }
@@ -130,6 +133,25 @@ public class ScannerRepository {
         return mScannerLiveData;
     }
 
+    /**
+     * Returns the report delay of the scans in milliseconds, 0 if batched scanning is disabled
+     */
+    public long getReportDelay() {
+        return mReportDelay;
+    }
+
+    /**
+     * Sets the report delay of the next scans. With a delay greater than 0 the scan results are collected in the controller,
+     * where supported, and delivered in batches holding the latest result of every device.
+     *
+     * @param reportDelay report delay in milliseconds, 0 to receive every scan result immediately
+     */
+    public void setReportDelay(final long reportDelay) {
+        if (reportDelay < 0)
+            throw new IllegalArgumentException("Report delay must not be negative");
+        mReportDelay = reportDelay;
+    }
+
     /**
      * Register for required broadcast receivers.
      */
@@ -168,8 +190,8 @@ public class ScannerRepository {
         // Scanning settings
         final ScanSettings settings = new ScanSettings.Builder()
                 .setScanMode(ScanSettings.SCAN_MODE_LOW_LATENCY)
-                // Refresh the devices list every second
-                .setReportDelay(0)
+                // Deliver the results in batches if a report delay has been set
+                .setReportDelay(mReportDelay)
                 // Hardware filtering has some issues on selected devices
                 .setUseHardwareFilteringIfSupported(false)
                 // Samsung S6 and S6 Edge report equal value of RSSI for all devices. In this app we ignore the RSSI.
@@ -180,8 +202,7 @@ public class ScannerRepository {
         final List<ScanFilter> filters = new ArrayList<>();
         filters.add(new ScanFilter.Builder().setServiceUuid(new ParcelUuid((filterUuid))).build());
 
-        final BluetoothLeScannerCompat scanner = BluetoothLeScannerCompat.getScanner();
-        scanner.startScan(filters, settings, mScanCallbacks);
+        mScanner.startScan(filters, settings, mScanCallbacks);
     }
 
     /**
@@ -189,8 +210,7 @@ public class ScannerRepository {
      */
     public void stopScan() {
         mScannerLiveData.stopScanning();
-        final BluetoothLeScannerCompat scanner = BluetoothLeScannerCompat.getScanner();
-        scanner.stopScan(mScanCallbacks);
+        mScanner.stopScan(mScanCallbacks);
         mScannerLiveData.scanningStopped();
     }
 
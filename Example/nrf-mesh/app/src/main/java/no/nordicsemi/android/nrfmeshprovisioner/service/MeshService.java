@@ -39,6 +39,7 @@ import android.util.Log;
 import android.widget.Toast;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
@@ -63,12 +64,13 @@ import no.nordicsemi.android.nrfmeshprovisioner.R;
 import no.nordicsemi.android.nrfmeshprovisioner.adapter.ExtendedBluetoothDevice;
 import no.nordicsemi.android.nrfmeshprovisioner.ble.BleMeshManager;
 import no.nordicsemi.android.nrfmeshprovisioner.ble.BleMeshManagerCallbacks;
+import no.nordicsemi.android.nrfmeshprovisioner.ble.CompatMeshScanner;
+import no.nordicsemi.android.nrfmeshprovisioner.ble.MeshScanner;
 import no.nordicsemi.android.nrfmeshprovisioner.livedata.ConfigModelPublicationStatusLiveData;
 import no.nordicsemi.android.nrfmeshprovisioner.repository.MeshProvisionerRepository;
 import no.nordicsemi.android.nrfmeshprovisioner.utils.Utils;
 import no.nordicsemi.android.nrfmeshprovisioner.viewmodels.MeshNodeStates;
-import no.nordicsemi.android.support.v18.scanner.BluetoothLeScannerCompat;
-import no.nordicsemi.android.support.v18.scanner.ScanCallback;
+import no.nordicsemi.android.nrfmeshprovisioner.ble.BatchedScanCallback;
 import no.nordicsemi.android.support.v18.scanner.ScanFilter;
 import no.nordicsemi.android.support.v18.scanner.ScanRecord;
 import no.nordicsemi.android.support.v18.scanner.ScanResult;
@@ -153,7 +155,9 @@ public class MeshService extends Service implements BleMeshManagerCallbacks,
     private BluetoothDevice mBluetoothDevice;
     private String mDeviceName;
     private Handler mHandler;
+    private final MeshScanner mScanner = new CompatMeshScanner();
     private boolean mIsScanning;
+    private long mScanReportDelay;
 
     /** Flag to verify if we are connecting to a mesh network or an unprovisioned devices **/
     private boolean mConnectToMeshNetwork;
@@ -165,7 +169,7 @@ public class MeshService extends Service implements BleMeshManagerCallbacks,
     public void onCreate() {
         AndroidInjection.inject(this);
         super.onCreate();
-        mMeshManagerApi = new MeshManagerApi(this);
+        mMeshManagerApi = new MeshManagerApi(this, true);
         mMeshManagerApi.setProvisionerManagerTransportCallbacks(this);
         mMeshManagerApi.setProvisioningStatusCallbacks(this);
         mMeshManagerApi.setConfigurationCallbacks(this);
@@ -276,11 +280,14 @@ public class MeshService extends Service implements BleMeshManagerCallbacks,
 
     @Override
     public void onDeviceDisconnected(final BluetoothDevice device) {
+        //A provisioning session can not continue without its bearer, this releases the addresses reserved for the device
+        mMeshManagerApi.cancelProvisioning(device.getAddress());
         handleConnectivityStates(false);
     }
 
     @Override
     public void onLinklossOccur(final BluetoothDevice device) {
+        mMeshManagerApi.cancelProvisioning(device.getAddress());
         mIsReconnecting = false;
         mIsProvisioningComplete = false;
         mIsConfigurationComplete = false;
@@ -368,6 +375,8 @@ public class MeshService extends Service implements BleMeshManagerCallbacks,
 
     @Override
     public void onProvisioningInviteSent(final UnprovisionedMeshNode meshNode) {
+        //Pdus of the device are routed to its provisioning session by the address of this node
+        mMeshNode = meshNode;
         final Intent intent = new Intent(ACTION_PROVISIONING_STATE);
         intent.putExtra(EXTRA_PROVISIONING_STATE, MeshNodeStates.MeshNodeStatus.PROVISIONING_INVITE.getState());
         LocalBroadcastManager.getInstance(this).sendBroadcast(intent);
@@ -693,8 +702,8 @@ public class MeshService extends Service implements BleMeshManagerCallbacks,
         // Scanning settings
         final ScanSettings settings = new ScanSettings.Builder()
                 .setScanMode(ScanSettings.SCAN_MODE_LOW_LATENCY)
-                // Refresh the devices list every second
-                .setReportDelay(0)
+                // Deliver the results in batches if a report delay has been set
+                .setReportDelay(mScanReportDelay)
                 // Hardware filtering has some issues on selected devices
                 .setUseHardwareFilteringIfSupported(false)
                 // Samsung S6 and S6 Edge report equal value of RSSI for all devices. In this app we ignore the RSSI.
@@ -705,8 +714,7 @@ public class MeshService extends Service implements BleMeshManagerCallbacks,
         final List<ScanFilter> filters = new ArrayList<>();
         filters.add(new ScanFilter.Builder().setServiceUuid(new ParcelUuid((MESH_PROXY_UUID))).build());
 
-        final BluetoothLeScannerCompat scanner = BluetoothLeScannerCompat.getScanner();
-        scanner.startScan(filters, settings, scanCallback);
+        mScanner.startScan(filters, settings, scanCallback);
         Log.v(TAG, "Scan started");
         mHandler.postDelayed(mScannerTimeout, 20000);
     }
@@ -716,8 +724,7 @@ public class MeshService extends Service implements BleMeshManagerCallbacks,
      */
     private void stopScan() {
         mHandler.removeCallbacks(mScannerTimeout);
-        final BluetoothLeScannerCompat scanner = BluetoothLeScannerCompat.getScanner();
-        scanner.stopScan(scanCallback);
+        mScanner.stopScan(scanCallback);
         mIsScanning = false;
     }
 
@@ -728,9 +735,13 @@ public class MeshService extends Service implements BleMeshManagerCallbacks,
         stopScan();
     };
 
-    private final ScanCallback scanCallback = new ScanCallback() {
+    private final BatchedScanCallback scanCallback = new BatchedScanCallback() {
         @Override
-        public void onScanResult(final int callbackType, final ScanResult result) {
+        protected void onDeviceScanned(final ScanResult result) {
+            //The rest of a batch is ignored once the node has been found
+            if(!mIsScanning)
+                return;
+
             //In order to connect to the correct device, the hash advertised in the advertisement data should be matched.
             //This is to make sure we connect to the same device as device addresses could change after provisioning.
             final ScanRecord scanRecord = result.getScanRecord();
@@ -738,8 +749,8 @@ public class MeshService extends Service implements BleMeshManagerCallbacks,
                 final byte[] serviceData = scanRecord.getServiceData(new ParcelUuid((MESH_PROXY_UUID)));
                 if (serviceData != null) {
                     if (mMeshManagerApi.isAdvertisedWithNodeIdentity(serviceData)) {
-                        final ProvisionedMeshNode node = mMeshNode;
-                        if(mMeshManagerApi.nodeIdentityMatches(node, serviceData)) {
+                        final ProvisionedMeshNode node = mMeshManagerApi.resolveNodeIdentity(serviceData);
+                        if(node != null && mMeshNode != null && Arrays.equals(node.getUnicastAddress(), mMeshNode.getUnicastAddress())) {
                             stopScan();
                             sendBroadcastConnectivityState(getString(R.string.state_scanning_provisioned_node_found, scanRecord.getDeviceName()));
                             onProvisionedDeviceFound(node, new ExtendedBluetoothDevice(result));
@@ -749,11 +760,6 @@ public class MeshService extends Service implements BleMeshManagerCallbacks,
             }
         }
 
-        @Override
-        public void onBatchScanResults(final List<ScanResult> results) {
-            // Batch scan is disabled (report delay = 0)
-        }
-
         @Override
         public void onScanFailed(final int errorCode) {
 
@@ -766,6 +772,16 @@ public class MeshService extends Service implements BleMeshManagerCallbacks,
             return mMeshManagerApi;
         }
 
+        /**
+         * Sets the report delay used when scanning for the provisioned node, a delay greater than 0 enables batched scanning
+         * @param reportDelay report delay in milliseconds
+         */
+        public void setScanReportDelay(final long reportDelay) {
+            if (reportDelay < 0)
+                throw new IllegalArgumentException("Report delay must not be negative");
+            mScanReportDelay = reportDelay;
+        }
+
         /**
          * Connect to peripheral
          * @param device bluetooth device
@@ -854,14 +870,9 @@ public class MeshService extends Service implements BleMeshManagerCallbacks,
         public void startProvisioning(final String nodeName) {
             mIsProvisioningComplete = false;
             mIsConfigurationComplete = false;
-            final String networkKey = mProvisioningSettings.getNetworkKey();
-            final int keyIndex = mProvisioningSettings.getKeyIndex();
-            final int flags = mProvisioningSettings.getFlags();
-            final int ivIndex = mProvisioningSettings.getIvIndex();
-            final int unicastAddress = mProvisioningSettings.getUnicastAddress();
-            final int globalTtl = mProvisioningSettings.getGlobalTtl();
             final BluetoothDevice device = mBluetoothDevice;
-            mMeshManagerApi.startProvisioning(device.getAddress(), nodeName, networkKey, keyIndex, flags, ivIndex, unicastAddress, globalTtl);
+            //The unicast address is reserved by the provisioning session once the number of elements of the node is known
+            mMeshManagerApi.startProvisioning(device.getAddress(), nodeName);
         }
 
         public void confirmProvisioning(final String pin) {
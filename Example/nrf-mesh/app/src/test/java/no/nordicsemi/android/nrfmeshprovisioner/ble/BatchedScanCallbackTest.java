@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2018, Nordic Semiconductor
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this
+ * software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package no.nordicsemi.android.nrfmeshprovisioner.ble;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import no.nordicsemi.android.support.v18.scanner.ScanResult;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class BatchedScanCallbackTest {
+
+    @Test
+    public void batch_isDeduplicatedPerDevice() {
+        final FakeMeshScanner scanner = new FakeMeshScanner();
+        final RecordingCallback callback = new RecordingCallback(scanner);
+        scanner.startScan(null, null, callback);
+
+        final ScanResult first = scanner.record("00:00:00:00:00:01", -60, 1);
+        final ScanResult second = scanner.record("00:00:00:00:00:02", -70, 2);
+        final ScanResult firstLatest = scanner.record("00:00:00:00:00:01", -55, 3);
+        scanner.deliverBatch(first, second, firstLatest);
+
+        assertEquals(2, callback.mDevices.size());
+        assertSame(firstLatest, callback.mDevices.get(0));
+        assertSame(second, callback.mDevices.get(1));
+        assertEquals(1, callback.getBatchCount());
+        assertEquals(3, callback.getResultCount());
+        assertEquals(1, callback.getDuplicateCount());
+
+        //An out of order result does not replace a later one
+        scanner.deliverBatch(firstLatest, first);
+        assertSame(firstLatest, callback.mDevices.get(2));
+        assertEquals(3, callback.mDevices.size());
+    }
+
+    @Test
+    public void single_results_areDelivered() {
+        final FakeMeshScanner scanner = new FakeMeshScanner();
+        final RecordingCallback callback = new RecordingCallback(scanner);
+        scanner.startScan(null, null, callback);
+
+        final ScanResult result = scanner.record("00:00:00:00:00:01", -60, 1);
+        scanner.deliver(result);
+        scanner.deliver(result);
+        assertEquals(2, callback.mDevices.size());
+        assertEquals(0, callback.getBatchCount());
+    }
+
+    @Test
+    public void stopping_the_scan_withinBatch_isHandled() {
+        final FakeMeshScanner scanner = new FakeMeshScanner();
+        final RecordingCallback callback = new RecordingCallback(scanner) {
+            @Override
+            protected void onDeviceScanned(final ScanResult result) {
+                if (scanner.isScanning()) {
+                    super.onDeviceScanned(result);
+                    scanner.stopScan(this);
+                }
+            }
+        };
+        scanner.startScan(null, null, callback);
+        scanner.deliverBatch(scanner.record("00:00:00:00:00:01", -60, 1), scanner.record("00:00:00:00:00:02", -60, 2));
+        assertEquals(1, callback.mDevices.size());
+
+        //A new batch after restarting the scan is handled in full
+        scanner.startScan(null, null, callback);
+        scanner.deliverBatch(scanner.record("00:00:00:00:00:03", -60, 3));
+        assertEquals(2, callback.mDevices.size());
+    }
+
+    private static class RecordingCallback extends BatchedScanCallback {
+        private final FakeMeshScanner mScanner;
+        final List<ScanResult> mDevices = new ArrayList<>();
+
+        RecordingCallback(final FakeMeshScanner scanner) {
+            mScanner = scanner;
+        }
+
+        @Override
+        protected void onDeviceScanned(final ScanResult result) {
+            mDevices.add(result);
+        }
+
+        @Override
+        protected String getDeviceKey(final ScanResult result) {
+            return mScanner.getAddress(result);
+        }
+    }
+}
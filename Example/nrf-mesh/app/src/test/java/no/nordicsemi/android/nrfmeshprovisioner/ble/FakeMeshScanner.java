@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2018, Nordic Semiconductor
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this
+ * software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+
+package no.nordicsemi.android.nrfmeshprovisioner.ble;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import no.nordicsemi.android.support.v18.scanner.ScanCallback;
+import no.nordicsemi.android.support.v18.scanner.ScanFilter;
+import no.nordicsemi.android.support.v18.scanner.ScanResult;
+import no.nordicsemi.android.support.v18.scanner.ScanSettings;
+
+/**
+ * Scanner feeding recorded scan results to the callback of the running scan
+ */
+class FakeMeshScanner implements MeshScanner {
+
+    private final Map<ScanResult, String> mAddresses = new IdentityHashMap<>();
+    private ScanCallback mCallback;
+    private ScanSettings mSettings;
+
+    @Override
+    public void startScan(final List<ScanFilter> filters, final ScanSettings settings, final ScanCallback callback) {
+        mSettings = settings;
+        mCallback = callback;
+    }
+
+    @Override
+    public void stopScan(final ScanCallback callback) {
+        if (mCallback == callback) {
+            mCallback = null;
+        }
+    }
+
+    ScanSettings getSettings() {
+        return mSettings;
+    }
+
+    boolean isScanning() {
+        return mCallback != null;
+    }
+
+    /**
+     * Records a scan result of a device
+     */
+    ScanResult record(final String address, final int rssi, final long timestampNanos) {
+        final ScanResult result = new ScanResult(null, null, rssi, timestampNanos);
+        mAddresses.put(result, address);
+        return result;
+    }
+
+    String getAddress(final ScanResult result) {
+        return mAddresses.get(result);
+    }
+
+    void deliver(final ScanResult result) {
+        if (mCallback != null) {
+            mCallback.onScanResult(ScanSettings.CALLBACK_TYPE_ALL_MATCHES, result);
+        }
+    }
+
+    void deliverBatch(final ScanResult... results) {
+        if (mCallback != null) {
+            final List<ScanResult> batch = new ArrayList<>();
+            for (ScanResult result : results) {
+                batch.add(result);
+            }
+            mCallback.onBatchScanResults(batch);
+        }
+    }
+}
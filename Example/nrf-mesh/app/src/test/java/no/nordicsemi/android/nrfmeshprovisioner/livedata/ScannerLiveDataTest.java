@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2018, Nordic Semiconductor
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this list of conditions and the following disclaimer.
+ *
+ * 2. Redistributions in binary form must reproduce the above copyright notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ * 3. Neither the name of the copyright holder nor the names of its contributors may be used to endorse or promote products derived from this
+ * software without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+ * HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+ * LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON
+ * ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE
+ * USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package no.nordicsemi.android.nrfmeshprovisioner.livedata;
+
+import android.arch.core.executor.testing.InstantTaskExecutorRule;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import no.nordicsemi.android.meshprovisioner.platform.MeshScheduler;
+import no.nordicsemi.android.support.v18.scanner.ScanResult;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ScannerLiveDataTest {
+
+    private static final UUID DEVICE_UUID = UUID.fromString("70cf7c97-32a3-45b6-9149-4810d2e9cbf4");
+
+    @Rule
+    public InstantTaskExecutorRule instantTaskExecutorRule = new InstantTaskExecutorRule();
+
+    private final ManualScheduler mScheduler = new ManualScheduler();
+    private TestScannerLiveData mLiveData;
+    private int mNotificationCount;
+
+    @Before
+    public void setUp() {
+        mLiveData = new TestScannerLiveData(mScheduler);
+        mLiveData.observeForever(scannerLiveData -> mNotificationCount++);
+        mLiveData.scanningStarted();
+        mNotificationCount = 0;
+    }
+
+    @Test
+    public void devices_areInserted() {
+        mLiveData.deviceDiscovered(mLiveData.record("00:00:00:00:00:01", null, -60));
+        mLiveData.deviceDiscovered(mLiveData.record("00:00:00:00:00:02", null, -70));
+        assertEquals(2, mLiveData.getDevices().size());
+        assertEquals(0, mNotificationCount);
+
+        mScheduler.advance(ScannerLiveData.DISPATCH_INTERVAL);
+        assertEquals(1, mNotificationCount);
+        //Added devices require the whole list to be refreshed
+        assertNull(mLiveData.getChangedDeviceIndices());
+    }
+
+    @Test
+    public void devices_areUpdated() {
+        mLiveData.deviceDiscovered(mLiveData.record("00:00:00:00:00:01", null, -60));
+        mLiveData.deviceDiscovered(mLiveData.record("00:00:00:00:00:02", null, -70));
+        mScheduler.advance(ScannerLiveData.DISPATCH_INTERVAL);
+        mLiveData.getChangedDeviceIndices();
+
+        mLiveData.deviceDiscovered(mLiveData.record("00:00:00:00:00:02", null, -40));
+        mScheduler.advance(ScannerLiveData.DISPATCH_INTERVAL);
+        assertEquals(2, mLiveData.getDevices().size());
+        assertEquals(-40, mLiveData.getDevices().get(1).getRssi());
+        assertArrayEquals(new int[]{1}, mLiveData.getChangedDeviceIndices());
+
+        //An unprovisioned device advertising its device UUID from a new address replaces the old entry
+        mLiveData.deviceDiscovered(mLiveData.record("00:00:00:00:00:03", DEVICE_UUID, -60));
+        mScheduler.advance(ScannerLiveData.DISPATCH_INTERVAL);
+        mLiveData.getChangedDeviceIndices();
+        mLiveData.deviceDiscovered(mLiveData.record("00:00:00:00:00:04", DEVICE_UUID, -50));
+        mScheduler.advance(ScannerLiveData.DISPATCH_INTERVAL);
+        assertEquals(3, mLiveData.getDevices().size());
+        assertArrayEquals(new int[]{2}, mLiveData.getChangedDeviceIndices());
+        mLiveData.deviceDiscovered(mLiveData.record("00:00:00:00:00:04", DEVICE_UUID, -45));
+        mScheduler.advance(ScannerLiveData.DISPATCH_INTERVAL);
+        assertEquals(3, mLiveData.getDevices().size());
+        assertEquals(-45, mLiveData.getDevices().get(2).getRssi());
+    }
+
+    @Test
+    public void stale_devices_areExpired() {
+        mLiveData.deviceDiscovered(mLiveData.record("00:00:00:00:00:01", null, -60));
+        mScheduler.advance(ScannerLiveData.STALE_DEVICE_TIMEOUT / 2 + 1000);
+        mLiveData.deviceDiscovered(mLiveData.record("00:00:00:00:00:02", null, -70));
+        mScheduler.advance(ScannerLiveData.DISPATCH_INTERVAL);
+        mNotificationCount = 0;
+
+        mScheduler.advance(ScannerLiveData.STALE_DEVICE_TIMEOUT / 2);
+        assertEquals(1, mLiveData.getDevices().size());
+        assertEquals(1, mNotificationCount);
+        assertNull(mLiveData.getChangedDeviceIndices());
+
+        //The remaining device has moved to the first index
+        mLiveData.deviceDiscovered(mLiveData.record("00:00:00:00:00:02", null, -50));
+        mScheduler.advance(ScannerLiveData.DISPATCH_INTERVAL);
+        assertEquals(1, mLiveData.getDevices().size());
+        assertArrayEquals(new int[]{0}, mLiveData.getChangedDeviceIndices());
+
+        //Devices are not expired once scanning has stopped
+        mLiveData.scanningStopped();
+        mScheduler.advance(2 * ScannerLiveData.STALE_DEVICE_TIMEOUT);
+        assertEquals(1, mLiveData.getDevices().size());
+    }
+
+    @Test
+    public void notifications_areCoalesced() {
+        mLiveData.deviceDiscovered(mLiveData.record("00:00:00:00:00:01", null, -60));
+        mLiveData.deviceDiscovered(mLiveData.record("00:00:00:00:00:02", null, -60));
+        mScheduler.advance(ScannerLiveData.DISPATCH_INTERVAL);
+        mLiveData.getChangedDeviceIndices();
+        mNotificationCount = 0;
+
+        for (int i = 0; i < 10; i++) {
+            mLiveData.deviceDiscovered(mLiveData.record("00:00:00:00:00:02", null, -60 + i));
+            mLiveData.deviceDiscovered(mLiveData.record("00:00:00:00:00:01", null, -60 + i));
+        }
+        //The expiry check and a single dispatch
+        assertEquals(2, mScheduler.getPendingTaskCount());
+        mScheduler.advance(ScannerLiveData.DISPATCH_INTERVAL);
+        assertEquals(1, mNotificationCount);
+        assertArrayEquals(new int[]{0, 1}, mLiveData.getChangedDeviceIndices());
+
+        //Changes the observers have not consumed are merged in to a full refresh
+        mLiveData.deviceDiscovered(mLiveData.record("00:00:00:00:00:01", null, -40));
+        mScheduler.advance(ScannerLiveData.DISPATCH_INTERVAL);
+        mLiveData.deviceDiscovered(mLiveData.record("00:00:00:00:00:02", null, -40));
+        mScheduler.advance(ScannerLiveData.DISPATCH_INTERVAL);
+        assertEquals(3, mNotificationCount);
+        assertNull(mLiveData.getChangedDeviceIndices());
+    }
+
+    /**
+     * Scanner live data reading the address and device UUID of recorded scan results
+     */
+    private static final class TestScannerLiveData extends ScannerLiveData {
+        private final Map<ScanResult, String> mAddresses = new IdentityHashMap<>();
+        private final Map<ScanResult, UUID> mDeviceUuids = new IdentityHashMap<>();
+
+        TestScannerLiveData(final MeshScheduler scheduler) {
+            super(true, true, scheduler);
+        }
+
+        ScanResult record(final String address, final UUID deviceUuid, final int rssi) {
+            final ScanResult result = new ScanResult(null, null, rssi, 0);
+            mAddresses.put(result, address);
+            mDeviceUuids.put(result, deviceUuid);
+            return result;
+        }
+
+        @Override
+        protected String getDeviceAddress(final ScanResult result) {
+            return mAddresses.get(result);
+        }
+
+        @Override
+        protected UUID getDeviceUuid(final ScanResult result) {
+            return mDeviceUuids.get(result);
+        }
+    }
+
+    private static final class ManualScheduler implements MeshScheduler {
+        private final List<Long> mTimes = new ArrayList<>();
+        private final List<Runnable> mTasks = new ArrayList<>();
+        private long mTime;
+
+        @Override
+        public void postDelayed(final Runnable task, final long delay) {
+            mTimes.add(mTime + delay);
+            mTasks.add(task);
+        }
+
+        @Override
+        public long elapsedRealtime() {
+            return mTime;
+        }
+
+        int getPendingTaskCount() {
+            return mTasks.size();
+        }
+
+        void advance(final long duration) {
+            mTime += duration;
+            boolean ran = true;
+            while (ran) {
+                ran = false;
+                for (int i = 0; i < mTasks.size(); i++) {
+                    if (mTimes.get(i) <= mTime) {
+                        mTimes.remove(i);
+                        mTasks.remove(i).run();
+                        ran = true;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -1,8 +1,5 @@
 package no.nordicsemi.android.meshprovisioner;
 
-import android.os.Parcelable;
-import android.text.TextUtils;
-
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -10,10 +7,10 @@ import java.util.List;
 import java.util.Map;
 
 import no.nordicsemi.android.meshprovisioner.utils.Element;
-import no.nordicsemi.android.meshprovisioner.utils.SecureUtils;
+import no.nordicsemi.android.meshprovisioner.utils.NetworkKeyRegistry;
 
 
-public abstract class BaseMeshNode implements Parcelable {
+public abstract class BaseMeshNode {
 
     protected static final String TAG = BaseMeshNode.class.getSimpleName();
 
@@ -59,17 +56,12 @@ public abstract class BaseMeshNode implements Parcelable {
 
     }
 
-    @Override
-    public int describeContents() {
-        return 0;
-    }
-
     public boolean isProvisioned() {
         return isProvisioned;
     }
 
     public final void setIsProvisioned(final boolean isProvisioned) {
-        identityKey = SecureUtils.calculateIdentityKey(networkKey);
+        identityKey = NetworkKeyRegistry.getInstance().getKeyMaterial(networkKey).getIdentityKey();
         this.isProvisioned = isProvisioned;
     }
 
@@ -86,7 +78,7 @@ public abstract class BaseMeshNode implements Parcelable {
     }
 
     protected final void setNodeName(final String nodeName) {
-        if (!TextUtils.isEmpty(nodeName))
+        if (nodeName != null && !nodeName.isEmpty())
             this.nodeName = nodeName;
     }
 
@@ -106,6 +98,10 @@ public abstract class BaseMeshNode implements Parcelable {
         return ttl;
     }
 
+    public final byte[] getNetworkKey() {
+        return networkKey;
+    }
+
     public final byte[] getIdentityKey() {
         return identityKey;
     }
@@ -134,6 +130,10 @@ public abstract class BaseMeshNode implements Parcelable {
         this.ivIndex = ivIndex;
     }
 
+    public String getBluetoothDeviceAddress() {
+        return bluetoothDeviceAddress;
+    }
+
     public void setBluetoothDeviceAddress(final String bluetoothDeviceAddress) {
         this.bluetoothDeviceAddress = bluetoothDeviceAddress;
     }
@@ -0,0 +1,16 @@
+package no.nordicsemi.android.meshprovisioner;
+
+import no.nordicsemi.android.meshprovisioner.configuration.ProvisionedMeshNode;
+
+public interface InternalTransportCallbacks {
+
+    void sendPdu(final BaseMeshNode meshnode, final byte[] pdu);
+
+    /**
+     * Invoked when the configuration of a provisioned node has changed and the node must be saved
+     *
+     * @param meshNode provisioned mesh node
+     */
+    void updateMeshNode(final ProvisionedMeshNode meshNode);
+
+}
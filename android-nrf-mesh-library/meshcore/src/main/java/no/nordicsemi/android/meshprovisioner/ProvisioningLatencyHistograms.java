@@ -0,0 +1,101 @@
+package no.nordicsemi.android.meshprovisioner;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import no.nordicsemi.android.meshprovisioner.states.ProvisioningState;
+import no.nordicsemi.android.meshprovisioner.utils.LatencyHistogram;
+
+/**
+ * {@link ProvisioningMetrics} keeping a latency histogram per provisioning state and one of whole sessions.
+ * <p>
+ * The histograms are shared by every session, so one instance may collect the timing of several devices provisioned at the same time.
+ * </p>
+ */
+public final class ProvisioningLatencyHistograms implements ProvisioningMetrics {
+
+    private final LatencyHistogram[] mPhases = new LatencyHistogram[ProvisioningState.State.values().length];
+    private final LatencyHistogram mSessions = new LatencyHistogram();
+    private final AtomicLong mProvisionedCount = new AtomicLong();
+    private final AtomicLong mFailedCount = new AtomicLong();
+
+    public ProvisioningLatencyHistograms() {
+        for (int i = 0; i < mPhases.length; i++) {
+            mPhases[i] = new LatencyHistogram();
+        }
+    }
+
+    @Override
+    public void onSessionStarted(final ProvisioningTrace trace) {
+        //Sessions are timed from their first event
+    }
+
+    @Override
+    public void onPhaseCompleted(final ProvisioningTrace trace, final ProvisioningState.State phase, final long durationNanos) {
+        mPhases[phase.ordinal()].record(durationNanos);
+    }
+
+    @Override
+    public void onSessionFinished(final ProvisioningTrace trace, final boolean provisioned) {
+        mSessions.record(trace.getDuration());
+        if (provisioned) {
+            mProvisionedCount.incrementAndGet();
+        } else {
+            mFailedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the histogram of the time spent in a provisioning state
+     *
+     * @param phase provisioning state
+     */
+    public LatencyHistogram getPhaseHistogram(final ProvisioningState.State phase) {
+        return mPhases[phase.ordinal()];
+    }
+
+    /**
+     * Returns the histogram of the duration of whole sessions
+     */
+    public LatencyHistogram getSessionHistogram() {
+        return mSessions;
+    }
+
+    /**
+     * Returns the number of sessions that provisioned their node
+     */
+    public long getProvisionedCount() {
+        return mProvisionedCount.get();
+    }
+
+    /**
+     * Returns the number of sessions that failed or were cancelled
+     */
+    public long getFailedCount() {
+        return mFailedCount.get();
+    }
+
+    /**
+     * Clears every histogram and counter
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : mPhases) {
+            histogram.reset();
+        }
+        mSessions.reset();
+        mProvisionedCount.set(0);
+        mFailedCount.set(0);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("Provisioning sessions: ").append(mSessions)
+                .append(", provisioned=").append(getProvisionedCount()).append(" failed=").append(getFailedCount());
+        for (ProvisioningState.State state : ProvisioningState.State.values()) {
+            final LatencyHistogram histogram = mPhases[state.ordinal()];
+            if (histogram.getCount() > 0) {
+                builder.append('\n').append(state).append(": ").append(histogram);
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,37 @@
+package no.nordicsemi.android.meshprovisioner;
+
+import no.nordicsemi.android.meshprovisioner.states.ProvisioningState;
+
+/**
+ * Receives the timing of every provisioning session.
+ * <p>
+ * Sessions are only traced while metrics are set on the {@link MeshManagerApi}, otherwise no timestamps are taken.
+ * The callbacks are invoked on the thread driving the session and should return quickly.
+ * </p>
+ */
+public interface ProvisioningMetrics {
+
+    /**
+     * Invoked when the provisioning invite of a session is about to be sent
+     *
+     * @param trace trace of the session
+     */
+    void onSessionStarted(final ProvisioningTrace trace);
+
+    /**
+     * Invoked when a session leaves a provisioning state
+     *
+     * @param trace         trace of the session
+     * @param phase         the state the session has left
+     * @param durationNanos time spent in the state in nanoseconds
+     */
+    void onPhaseCompleted(final ProvisioningTrace trace, final ProvisioningState.State phase, final long durationNanos);
+
+    /**
+     * Invoked when a session has ended
+     *
+     * @param trace       trace of the session
+     * @param provisioned true if the node was provisioned, false if provisioning failed or was cancelled
+     */
+    void onSessionFinished(final ProvisioningTrace trace, final boolean provisioned);
+}
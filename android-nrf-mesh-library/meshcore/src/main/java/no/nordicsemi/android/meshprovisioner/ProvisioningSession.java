@@ -0,0 +1,567 @@
+package no.nordicsemi.android.meshprovisioner;
+
+import java.nio.ByteBuffer;
+
+import no.nordicsemi.android.meshprovisioner.configuration.ProvisionedMeshNode;
+import no.nordicsemi.android.meshprovisioner.platform.MeshLog;
+import no.nordicsemi.android.meshprovisioner.states.ProvisioningCapabilities;
+import no.nordicsemi.android.meshprovisioner.states.ProvisioningComplete;
+import no.nordicsemi.android.meshprovisioner.states.ProvisioningConfirmation;
+import no.nordicsemi.android.meshprovisioner.states.ProvisioningData;
+import no.nordicsemi.android.meshprovisioner.states.ProvisioningFailed;
+import no.nordicsemi.android.meshprovisioner.states.ProvisioningInvite;
+import no.nordicsemi.android.meshprovisioner.states.ProvisioningPublicKey;
+import no.nordicsemi.android.meshprovisioner.states.ProvisioningRandomConfirmation;
+import no.nordicsemi.android.meshprovisioner.states.ProvisioningStart;
+import no.nordicsemi.android.meshprovisioner.states.ProvisioningState;
+import no.nordicsemi.android.meshprovisioner.states.UnprovisionedMeshNode;
+import no.nordicsemi.android.meshprovisioner.utils.AddressUtils;
+import no.nordicsemi.android.meshprovisioner.utils.ParseInputOOBActions;
+import no.nordicsemi.android.meshprovisioner.utils.ParseOutputOOBActions;
+import no.nordicsemi.android.meshprovisioner.utils.ParseProvisioningAlgorithm;
+
+/**
+ * Provisioning state machine of a single device.
+ * <p>
+ * Every device being provisioned has its own session holding the provisioning state, the capabilities and OOB information
+ * of the device and the unicast addresses reserved for it, so devices connected over different bearers can be provisioned
+ * at the same time. The session is synchronized as the pdus of a bearer are delivered on its own callback thread.
+ * </p>
+ */
+public final class ProvisioningSession {
+
+    /**
+     * The unicast address of the node is reserved once the number of elements is known
+     */
+    static final int UNICAST_ADDRESS_AUTO = -1;
+
+    private static final String TAG = ProvisioningSession.class.getSimpleName();
+    private static final int ATTENTION_TIMER = 0x0A;
+
+    private final UnprovisionedMeshNode mUnprovisionedMeshNode;
+    private final InternalTransportCallbacks mInternalTransportCallbacks;
+    private final InternalMeshManagerCallbacks mInternalMeshManagerCallbacks;
+    private final MeshProvisioningStatusCallbacks mProvisioningStatusCallbacks;
+    private final UnicastAddressAllocator mAddressAllocator;
+    private final ProvisioningMetrics mMetrics;
+    private final ProvisioningTrace mTrace;
+    private final int mRequestedUnicastAddress;
+    private int mReservedUnicastAddress = UNICAST_ADDRESS_AUTO;
+
+    private int attentionTimer;
+    private int numberOfElements;
+    private int algorithm;
+    private int publicKeyType;
+    private int staticOOBType;
+    private int outputOOBSize;
+    private int outputOOBAction;
+    private int inputOOBSize;
+    private int inputOOBAction;
+
+    private ProvisioningState provisioningState;
+    private boolean isProvisioningPublicKeySent;
+    private boolean isProvisioneePublicKeyReceived;
+    private boolean isAuthenticationInputRequested;
+    private boolean isFinished;
+    private long mLastActivityTime;
+
+    ProvisioningSession(final UnprovisionedMeshNode unprovisionedMeshNode, final int unicastAddress,
+                        final UnicastAddressAllocator addressAllocator, final InternalTransportCallbacks internalTransportCallbacks,
+                        final InternalMeshManagerCallbacks internalMeshManagerCallbacks, final MeshProvisioningStatusCallbacks provisioningStatusCallbacks,
+                        final ProvisioningMetrics metrics) {
+        this.mUnprovisionedMeshNode = unprovisionedMeshNode;
+        this.mRequestedUnicastAddress = unicastAddress;
+        this.mAddressAllocator = addressAllocator;
+        this.mMetrics = metrics;
+        //Sessions are only traced while metrics are collected, so an untraced session does not read the clock at all
+        if (metrics != null) {
+            this.mTrace = new ProvisioningTrace(unprovisionedMeshNode.getBluetoothDeviceAddress());
+            this.mInternalTransportCallbacks = new TracingTransportCallbacks(internalTransportCallbacks);
+        } else {
+            this.mTrace = null;
+            this.mInternalTransportCallbacks = internalTransportCallbacks;
+        }
+        this.mInternalMeshManagerCallbacks = internalMeshManagerCallbacks;
+        this.mProvisioningStatusCallbacks = provisioningStatusCallbacks;
+    }
+
+    /**
+     * Sends the provisioning invite
+     */
+    synchronized void start() {
+        isProvisioningPublicKeySent = false;
+        isProvisioneePublicKeyReceived = false;
+        attentionTimer = ATTENTION_TIMER;
+        final ProvisioningInvite invite = new ProvisioningInvite(mUnprovisionedMeshNode, attentionTimer, mInternalTransportCallbacks, mProvisioningStatusCallbacks);
+        if (mTrace != null) {
+            mMetrics.onSessionStarted(mTrace);
+        }
+        setState(invite);
+        invite.executeSend();
+    }
+
+    synchronized void parseProvisioningNotifications(final byte[] data) {
+        if (isFinished)
+            return;
+
+        if (mTrace != null) {
+            mTrace.onPdu(ProvisioningTrace.EVENT_PDU_RECEIVED, data[1]);
+        }
+
+        switch (provisioningState.getState()) {
+            case PROVISIONING_INVITE:
+                break;
+            case PROVISIONING_CAPABILITIES:
+                if (validateMessage(data)) {
+                    if (validateProvisioningCapabilitiesMessage(data)) {
+                        sendProvisioningStartPDU();
+                    }
+                } else {
+                    parseProvisioningState(data);
+                }
+                break;
+            case PROVISIONING_START:
+                break;
+            case PROVISIONING_PUBLIC_KEY:
+                if (validateMessage(data)) {
+                    parseProvisioneePublicKeyXY(data);
+                } else {
+                    parseProvisioningState(data);
+                }
+                break;
+            case PROVISINING_INPUT_COMPLETE:
+                break;
+            case PROVISIONING_CONFIRMATION:
+                if (validateMessage(data)) {
+                    if (parseProvisioneeConfirmation(data)) {
+                        sendRandomConfirmationPDU();
+                    }
+                } else {
+                    parseProvisioningState(data);
+                }
+                break;
+            case PROVISINING_RANDOM:
+                if (validateMessage(data)) {
+                    if (parseProvisioneeRandom(data)) {
+                        sendProvisioningData();
+                    }
+                } else {
+                    parseProvisioningState(data);
+                }
+                break;
+            case PROVISINING_DATA:
+            case PROVISINING_COMPLETE:
+            case PROVISINING_FAILED:
+                parseProvisioningState(data);
+                break;
+
+        }
+    }
+
+    synchronized void handleProvisioningWriteCallbacks() {
+        if (isFinished)
+            return;
+
+        if (mTrace != null) {
+            mTrace.onPdu(ProvisioningTrace.EVENT_PDU_WRITTEN, provisioningState.getState().ordinal());
+        }
+
+        switch (provisioningState.getState()) {
+            case PROVISIONING_INVITE:
+                setState(new ProvisioningCapabilities(mUnprovisionedMeshNode, mProvisioningStatusCallbacks));
+                break;
+            case PROVISIONING_CAPABILITIES:
+                break;
+            case PROVISIONING_START:
+            case PROVISIONING_PUBLIC_KEY:
+                //Devices with lower mtu have to send the key in multiple segments
+                sendProvisionerPublicKey();
+                break;
+            case PROVISINING_INPUT_COMPLETE:
+                break;
+            case PROVISIONING_CONFIRMATION:
+                break;
+            case PROVISINING_RANDOM:
+                break;
+            case PROVISINING_DATA:
+                break;
+        }
+    }
+
+    private void parseProvisioningState(final byte[] data) {
+        isProvisioningPublicKeySent = false;
+        isProvisioneePublicKeyReceived = false;
+        isAuthenticationInputRequested = false;
+        if (data[1] == ProvisioningState.State.PROVISINING_COMPLETE.getState()) {
+            setState(new ProvisioningComplete(mUnprovisionedMeshNode));
+            finish(true);
+            //Generate the network id and store it in the mesh node, this is needed to reconnect to the device at a later stage.
+            final ProvisionedMeshNode provisionedMeshNode = new ProvisionedMeshNode(mUnprovisionedMeshNode);
+            mInternalMeshManagerCallbacks.onNodeProvisioned(provisionedMeshNode);
+            mProvisioningStatusCallbacks.onProvisioningComplete(provisionedMeshNode);
+        } else {
+            setState(new ProvisioningFailed(mUnprovisionedMeshNode));
+            if (provisioningState.parseData(data)) {
+                finish(false);
+                mUnprovisionedMeshNode.setIsProvisioned(false);
+                mProvisioningStatusCallbacks.onProvisioningFailed(mUnprovisionedMeshNode, provisioningState.getError());
+            }
+        }
+    }
+
+    /**
+     * Read provisioning capabilities of node
+     *
+     * @param capabilities provisioning capabilities of the node
+     * @return true if the message is valid
+     */
+    private boolean validateProvisioningCapabilitiesMessage(final byte[] capabilities) {
+        final ProvisioningCapabilities provisioningCapabilities = (ProvisioningCapabilities) provisioningState;
+        provisioningCapabilities.parseData(capabilities);
+        return true;
+    }
+
+    private void sendProvisioningStartPDU() {
+        final ProvisioningCapabilities capabilities = (ProvisioningCapabilities) provisioningState;
+        numberOfElements = capabilities.getNumberOfElements();
+        algorithm = capabilities.getAlgorithm();
+        publicKeyType = capabilities.getPublicKeyType();
+        staticOOBType = capabilities.getStaticOOBType();
+        outputOOBSize = capabilities.getOutputOOBSize();
+        outputOOBAction = capabilities.getOutputOOBAction();
+        inputOOBSize = capabilities.getInputOOBSize();
+        inputOOBAction = capabilities.getInputOOBAction();
+        try {
+            reserveUnicastAddress();
+        } catch (IllegalStateException ex) {
+            MeshLog.e(TAG, ex.getMessage());
+            finish(false);
+            mUnprovisionedMeshNode.setIsProvisioned(false);
+            mProvisioningStatusCallbacks.onProvisioningFailed(mUnprovisionedMeshNode, ex.getMessage());
+            return;
+        }
+
+        final ProvisioningStart startProvisioning = new ProvisioningStart(mUnprovisionedMeshNode, mInternalTransportCallbacks, mProvisioningStatusCallbacks);
+        startProvisioning.setProvisioningCapabilities(numberOfElements, algorithm, publicKeyType, staticOOBType, outputOOBSize, outputOOBAction, inputOOBSize, inputOOBAction);
+        setState(startProvisioning);
+        startProvisioning.executeSend();
+    }
+
+    /**
+     * Reserves one unicast address per element of the node. A requested address is used unless it overlaps the addresses
+     * reserved by another session, in which case the node gets the next free range instead.
+     */
+    private void reserveUnicastAddress() {
+        final int elementCount = Math.max(1, numberOfElements);
+        if (mRequestedUnicastAddress != UNICAST_ADDRESS_AUTO && mAddressAllocator.reserve(mRequestedUnicastAddress, elementCount)) {
+            mReservedUnicastAddress = mRequestedUnicastAddress;
+        } else {
+            if (mRequestedUnicastAddress != UNICAST_ADDRESS_AUTO) {
+                MeshLog.v(TAG, "Unicast address " + mRequestedUnicastAddress + " is reserved by another session");
+            }
+            mReservedUnicastAddress = mAddressAllocator.reserve(elementCount);
+        }
+        mUnprovisionedMeshNode.setUnicastAddress(AddressUtils.getUnicastAddressBytes(mReservedUnicastAddress));
+        mInternalMeshManagerCallbacks.onUnicastAddressChanged(mReservedUnicastAddress + elementCount - 1);
+    }
+
+    private void sendProvisionerPublicKey() {
+        if (!isProvisioningPublicKeySent) {
+            if (provisioningState instanceof ProvisioningPublicKey) {
+                isProvisioningPublicKeySent = true;
+                provisioningState.executeSend();
+            } else {
+                final ProvisioningPublicKey provisioningPublicKey = new ProvisioningPublicKey(mUnprovisionedMeshNode, mInternalTransportCallbacks, mProvisioningStatusCallbacks);
+                setState(provisioningPublicKey);
+                isProvisioningPublicKeySent = true;
+                provisioningPublicKey.executeSend();
+            }
+        }
+    }
+
+    private void parseProvisioneePublicKeyXY(final byte[] data) {
+        if (provisioningState instanceof ProvisioningPublicKey) {
+            final ProvisioningPublicKey provisioningPublicKey = ((ProvisioningPublicKey) provisioningState);
+            isProvisioneePublicKeyReceived = provisioningPublicKey.parseData(data);
+
+            if (isProvisioningPublicKeySent && isProvisioneePublicKeyReceived) {
+                setState(new ProvisioningConfirmation(this, mUnprovisionedMeshNode, mInternalTransportCallbacks, mProvisioningStatusCallbacks));
+                if (outputOOBAction == 0 && inputOOBAction == 0) {
+                    setProvisioningConfirmation("");
+                } else {
+                    isAuthenticationInputRequested = true;
+                    mProvisioningStatusCallbacks.onProvisioningAuthenticationInputRequested(mUnprovisionedMeshNode);
+                }
+            }
+        }
+    }
+
+    synchronized void setProvisioningConfirmation(final String pin) {
+        if (pin != null && provisioningState instanceof ProvisioningConfirmation) {
+            isAuthenticationInputRequested = false;
+            final ProvisioningConfirmation provisioningConfirmation = (ProvisioningConfirmation) provisioningState;
+            provisioningConfirmation.setPin(pin);
+            provisioningConfirmation.executeSend();
+        }
+    }
+
+    private boolean parseProvisioneeConfirmation(final byte[] data) {
+        final ProvisioningConfirmation provisioningConfirmation = (ProvisioningConfirmation) provisioningState;
+        return provisioningConfirmation.parseData(data);
+    }
+
+    private void sendRandomConfirmationPDU() {
+        final ProvisioningRandomConfirmation provisioningRandomConfirmation = new ProvisioningRandomConfirmation(this, mUnprovisionedMeshNode, mInternalTransportCallbacks, mProvisioningStatusCallbacks);
+        setState(provisioningRandomConfirmation);
+        provisioningRandomConfirmation.executeSend();
+    }
+
+    private boolean parseProvisioneeRandom(final byte[] data) {
+        final ProvisioningRandomConfirmation provisioningRandomConfirmation = (ProvisioningRandomConfirmation) provisioningState;
+        return provisioningRandomConfirmation.parseData(data);
+    }
+
+    private void sendProvisioningData() {
+        final ProvisioningData provisioningData = new ProvisioningData(this, mUnprovisionedMeshNode, mInternalTransportCallbacks, mProvisioningStatusCallbacks);
+        setState(provisioningData);
+        provisioningData.executeSend();
+    }
+
+    /**
+     * Moves the session to a new state, recording the time spent in the previous one if the session is traced
+     *
+     * @param state the new provisioning state
+     */
+    private void setState(final ProvisioningState state) {
+        final ProvisioningState previous = provisioningState;
+        provisioningState = state;
+        if (mTrace != null) {
+            final long duration = mTrace.onStateChanged(state.getState());
+            if (previous != null) {
+                mMetrics.onPhaseCompleted(mTrace, previous.getState(), duration);
+            }
+        }
+    }
+
+    private boolean validateMessage(final byte[] data) {
+        final ProvisioningState state = provisioningState;
+        return data[1] == state.getState().ordinal();
+    }
+
+    /**
+     * Ends the session and commits or releases the reserved unicast addresses
+     *
+     * @param provisioned true if the node was provisioned
+     */
+    private void finish(final boolean provisioned) {
+        isFinished = true;
+        if (mTrace != null) {
+            final long duration = mTrace.onFinished();
+            //The complete and failed states end the session, there is no time spent in them
+            final ProvisioningState.State state = provisioningState == null ? null : provisioningState.getState();
+            if (duration >= 0 && state != ProvisioningState.State.PROVISINING_COMPLETE && state != ProvisioningState.State.PROVISINING_FAILED) {
+                mMetrics.onPhaseCompleted(mTrace, state, duration);
+            }
+            mMetrics.onSessionFinished(mTrace, provisioned);
+        }
+        if (mReservedUnicastAddress == UNICAST_ADDRESS_AUTO)
+            return;
+
+        if (provisioned) {
+            mAddressAllocator.commit(mReservedUnicastAddress);
+        } else {
+            mAddressAllocator.release(mReservedUnicastAddress);
+            mInternalMeshManagerCallbacks.onUnicastAddressChanged(mAddressAllocator.getNextAddress() - 1);
+        }
+    }
+
+    /**
+     * Cancels the session releasing the reserved unicast addresses
+     */
+    synchronized void cancel() {
+        if (!isFinished) {
+            finish(false);
+        }
+    }
+
+    /**
+     * Fails the session releasing the reserved unicast addresses, called when no provisioning pdu has been sent or received
+     * within the idle timeout
+     */
+    synchronized void timeout() {
+        if (isFinished)
+            return;
+
+        MeshLog.e(TAG, "Provisioning of " + mUnprovisionedMeshNode.getBluetoothDeviceAddress() + " timed out: " + getCurrentState());
+        finish(false);
+        mUnprovisionedMeshNode.setIsProvisioned(false);
+        mProvisioningStatusCallbacks.onProvisioningFailed(mUnprovisionedMeshNode, "Provisioning timed out");
+    }
+
+    /**
+     * Records the time of the last provisioning pdu sent to or received from the device, the idle timeout restarts from it
+     *
+     * @param time monotonic time in milliseconds
+     */
+    synchronized void setLastActivityTime(final long time) {
+        mLastActivityTime = time;
+    }
+
+    synchronized long getLastActivityTime() {
+        return mLastActivityTime;
+    }
+
+    /**
+     * Returns true once the device has been provisioned or provisioning has failed
+     */
+    public synchronized boolean isFinished() {
+        return isFinished;
+    }
+
+    /**
+     * Returns true while the session is waiting for the user to enter the authentication value
+     */
+    public synchronized boolean isAuthenticationInputRequested() {
+        return isAuthenticationInputRequested;
+    }
+
+    /**
+     * Returns the timeline of the session
+     *
+     * @return the trace or null if no {@link ProvisioningMetrics} were set when the session was started
+     */
+    public ProvisioningTrace getTrace() {
+        return mTrace;
+    }
+
+    /**
+     * Returns the node being provisioned
+     */
+    public UnprovisionedMeshNode getMeshNode() {
+        return mUnprovisionedMeshNode;
+    }
+
+    public synchronized String getCurrentState() {
+        String msg = "";
+        switch (provisioningState.getState()) {
+            case PROVISIONING_INVITE:
+                msg = "Sending provisioning invite";
+                break;
+            case PROVISIONING_CAPABILITIES:
+                msg = "Waiting for provisioning capabilities";
+                break;
+            case PROVISIONING_START:
+                msg = "Sending for provisioning start";
+                break;
+            case PROVISIONING_PUBLIC_KEY:
+                if (isProvisioningPublicKeySent) {
+                    msg = "Sending provsioner public key xy";
+                } else if (isProvisioneePublicKeyReceived) {
+                    msg = "Waiting for provsionee public key xy";
+                }
+                break;
+            case PROVISINING_INPUT_COMPLETE:
+                break;
+            case PROVISIONING_CONFIRMATION:
+                msg = "Sending provisioning confirmation";
+                break;
+            case PROVISINING_RANDOM:
+                msg = "Sending provisioning random";
+                break;
+            case PROVISINING_DATA:
+            case PROVISINING_COMPLETE:
+            case PROVISINING_FAILED:
+                break;
+
+        }
+
+        return msg;
+    }
+
+    public final byte[] generateConfirmationInputs() {
+        //invite: 1 bytes, capabilities: 11 bytes, start: 5 bytes, provisionerKey: 64 bytes, deviceKey: 64 bytes
+        //Append all the raw data together
+        final byte[] invite = new byte[]{(byte) attentionTimer};
+        final byte[] capabilities = generateCapabilities();
+        final byte[] startData = generateStartData();
+        final byte[] provisionerKeyXY = mUnprovisionedMeshNode.getProvisionerPublicKeyXY();
+        final byte[] provisioneeKeyXY = mUnprovisionedMeshNode.getProvisioneePublicKeyXY();
+
+        final int length = invite.length +
+                capabilities.length +
+                startData.length +
+                provisionerKeyXY.length +
+                provisioneeKeyXY.length;
+
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.put(invite);
+        buffer.put(capabilities);
+        buffer.put(startData);
+        buffer.put(provisionerKeyXY);
+        buffer.put(provisioneeKeyXY);
+
+        return buffer.array();
+    }
+
+    private byte[] generateCapabilities() {
+        final byte[] capabilities = new byte[11];
+
+        capabilities[0] = (byte) numberOfElements;
+        capabilities[1] = (byte) ((algorithm >> 8) & 0xFF);
+        capabilities[2] = (byte) (algorithm & 0xFF);
+        capabilities[3] = (byte) publicKeyType;
+        capabilities[4] = (byte) staticOOBType;
+        capabilities[5] = (byte) outputOOBSize;
+        capabilities[6] = (byte) ((outputOOBAction >> 8) & 0xFF);
+        capabilities[7] = (byte) (outputOOBAction & 0xFF);
+        capabilities[8] = (byte) inputOOBSize;
+        capabilities[9] = (byte) ((inputOOBAction >> 8) & 0xFF);
+        capabilities[10] = (byte) (inputOOBAction & 0xFF);
+
+        return capabilities;
+    }
+
+    private byte[] generateStartData() {
+        final byte[] startData = new byte[5];
+        startData[0] = ParseProvisioningAlgorithm.getAlgorithmValue(algorithm);
+        startData[1] = 0;//(byte) publicKeyType;
+        startData[2] = getAuthenticationMethod();
+        startData[3] = (byte) ParseOutputOOBActions.getOuputOOBActionValue(outputOOBAction);
+        startData[4] = (byte) outputOOBSize;
+
+        return startData;
+    }
+
+    private byte getAuthenticationMethod() {
+        if (ParseOutputOOBActions.parseOuputOOBActionValue(outputOOBAction) == 0 && ParseInputOOBActions.parseInputOOBActionValue(inputOOBAction) > 0) {
+            return 3;
+        } else if (ParseOutputOOBActions.parseOuputOOBActionValue(outputOOBAction) > 0 && ParseInputOOBActions.parseInputOOBActionValue(inputOOBAction) == 0) {
+            return 2;
+        } else {
+            return 0;
+        }
+    }
+
+    /**
+     * Records every provisioning pdu handed to the bearer before passing it on
+     */
+    private final class TracingTransportCallbacks implements InternalTransportCallbacks {
+
+        private final InternalTransportCallbacks mCallbacks;
+
+        TracingTransportCallbacks(final InternalTransportCallbacks callbacks) {
+            this.mCallbacks = callbacks;
+        }
+
+        @Override
+        public void sendPdu(final BaseMeshNode meshnode, final byte[] pdu) {
+            mTrace.onPdu(ProvisioningTrace.EVENT_PDU_QUEUED, pdu.length > 1 ? pdu[1] : -1);
+            mCallbacks.sendPdu(meshnode, pdu);
+        }
+
+        @Override
+        public void updateMeshNode(final ProvisionedMeshNode meshNode) {
+            mCallbacks.updateMeshNode(meshNode);
+        }
+    }
+}
@@ -1,17 +1,21 @@
 package no.nordicsemi.android.meshprovisioner;
 
-import android.content.Context;
-import android.content.SharedPreferences;
-
 import java.util.Map;
 
+import no.nordicsemi.android.meshprovisioner.platform.MeshStorage;
 import no.nordicsemi.android.meshprovisioner.utils.NetworkSettings;
 import no.nordicsemi.android.meshprovisioner.utils.SecureUtils;
 
 public class ProvisioningSettings extends NetworkSettings {
 
-    private static final String APPLICATION_KEYS = "APPLICATION_KEYS";
-    private static final String PROVISIONING_DATA = "PROVISIONING_DATA";
+    /**
+     * Name of the storage the application keys are kept in
+     */
+    static final String APPLICATION_KEYS = "APPLICATION_KEYS";
+    /**
+     * Name of the storage the remaining settings are kept in
+     */
+    static final String PROVISIONING_DATA = "PROVISIONING_DATA";
     private static final String NETWORK_NAME = "NETWORK_NAME";
     private static final String NETWORK_KEY = "NETWORK_KEY";
     private static final String UNICAST_ADDRESS = "UNICAST_ADDRESS";
@@ -19,11 +23,13 @@ public class ProvisioningSettings extends NetworkSettings {
     private static final String IV_INDEX = "IV_INDEX";
     private static final String FLAGS = "FLAGS";
     private static final String GLOBAL_TTL = "GLOBAL_TTL";
-    private final Context mContext;
+    private final MeshStorage mProvisioningData;
+    private final MeshStorage mApplicationKeys;
     private String selectedAppkey;
 
-    ProvisioningSettings(final Context context) {
-        this.mContext = context;
+    ProvisioningSettings(final MeshStorage provisioningData, final MeshStorage applicationKeys) {
+        this.mProvisioningData = provisioningData;
+        this.mApplicationKeys = applicationKeys;
         generateProvisioningData();
         addAppKeys();
     }
@@ -32,28 +38,25 @@ public class ProvisioningSettings extends NetworkSettings {
      * Generates initial provisioning data
      */
     protected void generateProvisioningData() {
-        final SharedPreferences preferences = mContext.getSharedPreferences(PROVISIONING_DATA, Context.MODE_PRIVATE);
-        networkKey = preferences.getString(NETWORK_KEY, SecureUtils.generateRandomNetworkKey());
-        unicastAddress = preferences.getInt(UNICAST_ADDRESS, 1);
-        keyIndex = preferences.getInt(KEY_INDEX, 0);
-        ivIndex = preferences.getInt(IV_INDEX, 0);
-        flags = preferences.getInt(FLAGS, 0);
-        globalTtl = preferences.getInt(GLOBAL_TTL, 5);
+        networkKey = mProvisioningData.getString(NETWORK_KEY, SecureUtils.generateRandomNetworkKey());
+        unicastAddress = mProvisioningData.getInt(UNICAST_ADDRESS, 1);
+        keyIndex = mProvisioningData.getInt(KEY_INDEX, 0);
+        ivIndex = mProvisioningData.getInt(IV_INDEX, 0);
+        flags = mProvisioningData.getInt(FLAGS, 0);
+        globalTtl = mProvisioningData.getInt(GLOBAL_TTL, 5);
     }
 
     /**
      * Clear provisioning data
      */
     protected void clearProvisioningData() {
-        final SharedPreferences preferences = mContext.getSharedPreferences(PROVISIONING_DATA, Context.MODE_PRIVATE);
-        final SharedPreferences.Editor editor = preferences.edit();
+        final MeshStorage.Editor editor = mProvisioningData.edit();
         editor.clear();
         editor.apply();
     }
 
     private void addAppKeys() {
-        final SharedPreferences preferences = mContext.getSharedPreferences(APPLICATION_KEYS, Context.MODE_PRIVATE);
-        final Map<String, ?> keys = preferences.getAll();
+        final Map<String, ?> keys = mApplicationKeys.getAll();
         if (!keys.isEmpty()) {
             for (int i = 0; i < keys.size(); i++) {
                 appKeys.put(i, String.valueOf(keys.get(String.valueOf(i))));
@@ -125,50 +128,43 @@ public class ProvisioningSettings extends NetworkSettings {
         saveGlobalTtl();
     }
     private void saveNetowrkKey() {
-        final SharedPreferences preferences = mContext.getSharedPreferences(PROVISIONING_DATA, Context.MODE_PRIVATE);
-        final SharedPreferences.Editor editor = preferences.edit();
+        final MeshStorage.Editor editor = mProvisioningData.edit();
         editor.putString(NETWORK_KEY, networkKey);
         editor.apply();
     }
 
     private void saveUnicastAddress() {
-        final SharedPreferences preferences = mContext.getSharedPreferences(PROVISIONING_DATA, Context.MODE_PRIVATE);
-        final SharedPreferences.Editor editor = preferences.edit();
+        final MeshStorage.Editor editor = mProvisioningData.edit();
         editor.putInt(UNICAST_ADDRESS, unicastAddress);
         editor.apply();
     }
 
     private void saveKeyIndex() {
-        final SharedPreferences preferences = mContext.getSharedPreferences(PROVISIONING_DATA, Context.MODE_PRIVATE);
-        final SharedPreferences.Editor editor = preferences.edit();
+        final MeshStorage.Editor editor = mProvisioningData.edit();
         editor.putInt(KEY_INDEX, keyIndex);
         editor.apply();
     }
 
     private void saveIvIndex() {
-        final SharedPreferences preferences = mContext.getSharedPreferences(PROVISIONING_DATA, Context.MODE_PRIVATE);
-        final SharedPreferences.Editor editor = preferences.edit();
+        final MeshStorage.Editor editor = mProvisioningData.edit();
         editor.putInt(IV_INDEX, ivIndex);
         editor.apply();
     }
 
     private void saveFlags() {
-        final SharedPreferences preferences = mContext.getSharedPreferences(PROVISIONING_DATA, Context.MODE_PRIVATE);
-        final SharedPreferences.Editor editor = preferences.edit();
+        final MeshStorage.Editor editor = mProvisioningData.edit();
         editor.putInt(FLAGS, flags);
         editor.apply();
     }
 
     private void saveGlobalTtl() {
-        final SharedPreferences preferences = mContext.getSharedPreferences(PROVISIONING_DATA, Context.MODE_PRIVATE);
-        final SharedPreferences.Editor editor = preferences.edit();
+        final MeshStorage.Editor editor = mProvisioningData.edit();
         editor.putInt(GLOBAL_TTL, globalTtl);
         editor.apply();
     }
 
     private void saveApplicationKeys() {
-        final SharedPreferences preferences = mContext.getSharedPreferences(APPLICATION_KEYS, Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = preferences.edit();
+        final MeshStorage.Editor editor = mApplicationKeys.edit();
         for (int i = 0; i < appKeys.size(); i++) {
             editor.putString(String.valueOf(i), appKeys.get(i));
         }
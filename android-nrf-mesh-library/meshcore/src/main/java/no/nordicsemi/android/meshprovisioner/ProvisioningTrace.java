@@ -0,0 +1,195 @@
+package no.nordicsemi.android.meshprovisioner;
+
+import java.util.Arrays;
+
+import no.nordicsemi.android.meshprovisioner.states.ProvisioningState;
+
+/**
+ * Timeline of a single provisioning session.
+ * <p>
+ * Every state transition and every provisioning pdu queued, written or received is recorded with a {@link System#nanoTime()}
+ * timestamp, which is monotonic and unaffected by changes to the wall clock. Events are kept in growing primitive arrays
+ * so recording one does not allocate once the arrays have grown to the length of a session.
+ * The time spent in every state is summed up per state.
+ * </p>
+ */
+public final class ProvisioningTrace {
+
+    /**
+     * The session has entered the state given by the value of the event
+     */
+    public static final int EVENT_STATE = 0;
+    /**
+     * A pdu of the provisioning pdu type given by the value of the event was handed to the bearer
+     */
+    public static final int EVENT_PDU_QUEUED = 1;
+    /**
+     * The bearer has written the last pdu handed to it, the value of the event is the current state
+     */
+    public static final int EVENT_PDU_WRITTEN = 2;
+    /**
+     * A pdu of the provisioning pdu type given by the value of the event was received
+     */
+    public static final int EVENT_PDU_RECEIVED = 3;
+
+    private static final int INITIAL_CAPACITY = 32;
+    private static final ProvisioningState.State[] STATES = ProvisioningState.State.values();
+
+    private final String mBluetoothAddress;
+    private final long[] mPhaseNanos = new long[STATES.length];
+    private int[] mTypes = new int[INITIAL_CAPACITY];
+    private int[] mValues = new int[INITIAL_CAPACITY];
+    private long[] mTimes = new long[INITIAL_CAPACITY];
+    private int mCount;
+    private int mState = -1;
+    private long mStateStartedAt;
+
+    ProvisioningTrace(final String bluetoothAddress) {
+        this.mBluetoothAddress = bluetoothAddress;
+    }
+
+    /**
+     * Records a state transition
+     *
+     * @param state the state the session has entered
+     * @return the time spent in the previous state in nanoseconds or -1 if this is the first state
+     */
+    synchronized long onStateChanged(final ProvisioningState.State state) {
+        final long now = System.nanoTime();
+        add(EVENT_STATE, state.ordinal(), now);
+        long duration = -1;
+        if (mState >= 0) {
+            duration = now - mStateStartedAt;
+            mPhaseNanos[mState] += duration;
+        }
+        mState = state.ordinal();
+        mStateStartedAt = now;
+        return duration;
+    }
+
+    /**
+     * Records a pdu event
+     *
+     * @param type  {@link #EVENT_PDU_QUEUED}, {@link #EVENT_PDU_WRITTEN} or {@link #EVENT_PDU_RECEIVED}
+     * @param value provisioning pdu type
+     */
+    synchronized void onPdu(final int type, final int value) {
+        add(type, value, System.nanoTime());
+    }
+
+    /**
+     * Closes the state the session is in
+     *
+     * @return the time spent in the state in nanoseconds or -1 if no state has been recorded
+     */
+    synchronized long onFinished() {
+        if (mState < 0)
+            return -1;
+        final long duration = System.nanoTime() - mStateStartedAt;
+        mPhaseNanos[mState] += duration;
+        mState = -1;
+        return duration;
+    }
+
+    private void add(final int type, final int value, final long time) {
+        if (mCount == mTimes.length) {
+            final int capacity = mCount * 2;
+            mTypes = Arrays.copyOf(mTypes, capacity);
+            mValues = Arrays.copyOf(mValues, capacity);
+            mTimes = Arrays.copyOf(mTimes, capacity);
+        }
+        mTypes[mCount] = type;
+        mValues[mCount] = value;
+        mTimes[mCount] = time;
+        mCount++;
+    }
+
+    /**
+     * Returns the bluetooth address of the device being provisioned
+     */
+    public String getBluetoothAddress() {
+        return mBluetoothAddress;
+    }
+
+    /**
+     * Returns the number of recorded events
+     */
+    public synchronized int getEventCount() {
+        return mCount;
+    }
+
+    /**
+     * Returns the type of an event
+     *
+     * @param index index of the event
+     */
+    public synchronized int getEventType(final int index) {
+        checkIndex(index);
+        return mTypes[index];
+    }
+
+    /**
+     * Returns the value of an event, the ordinal of the state for state events or the provisioning pdu type for pdu events
+     *
+     * @param index index of the event
+     */
+    public synchronized int getEventValue(final int index) {
+        checkIndex(index);
+        return mValues[index];
+    }
+
+    /**
+     * Returns the {@link System#nanoTime()} timestamp of an event
+     *
+     * @param index index of the event
+     */
+    public synchronized long getEventTime(final int index) {
+        checkIndex(index);
+        return mTimes[index];
+    }
+
+    private void checkIndex(final int index) {
+        if (index < 0 || index >= mCount)
+            throw new IllegalArgumentException("Invalid event index: " + index);
+    }
+
+    /**
+     * Returns the time spent in a state in nanoseconds. The time spent in the current state is not included.
+     *
+     * @param state provisioning state
+     */
+    public synchronized long getPhaseDuration(final ProvisioningState.State state) {
+        return mPhaseNanos[state.ordinal()];
+    }
+
+    /**
+     * Returns the time between the first and the last event in nanoseconds
+     */
+    public synchronized long getDuration() {
+        return mCount == 0 ? 0 : mTimes[mCount - 1] - mTimes[0];
+    }
+
+    @Override
+    public synchronized String toString() {
+        final StringBuilder builder = new StringBuilder("ProvisioningTrace ").append(mBluetoothAddress);
+        final long start = mCount == 0 ? 0 : mTimes[0];
+        for (int i = 0; i < mCount; i++) {
+            builder.append('\n').append((mTimes[i] - start) / 1000).append("us ");
+            switch (mTypes[i]) {
+                case EVENT_STATE:
+                    builder.append("state ").append(STATES[mValues[i]]);
+                    break;
+                case EVENT_PDU_QUEUED:
+                    builder.append("pdu queued ").append(mValues[i]);
+                    break;
+                case EVENT_PDU_WRITTEN:
+                    builder.append("pdu written");
+                    break;
+                case EVENT_PDU_RECEIVED:
+                    builder.append("pdu received ").append(mValues[i]);
+                    break;
+            }
+        }
+        return builder.toString();
+    }
+}
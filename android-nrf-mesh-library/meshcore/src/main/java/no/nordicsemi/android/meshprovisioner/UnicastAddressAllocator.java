@@ -0,0 +1,168 @@
+package no.nordicsemi.android.meshprovisioner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reserves the unicast addresses of the nodes being provisioned.
+ * <p>
+ * Every provisioning session reserves one address per element of its node once the capabilities of the node are known,
+ * so nodes provisioned in parallel never share an address. The range of a session that failed is released and reused
+ * by the next reservation it fits in. The allocator is synchronized as sessions run on the callback threads of their bearers.
+ * </p>
+ */
+public final class UnicastAddressAllocator {
+
+    /**
+     * Highest unicast address
+     */
+    public static final int MAX_UNICAST_ADDRESS = 0x7FFF;
+
+    //First address of every range in flight and the number of addresses in the range
+    private final TreeMap<Integer, Integer> mReserved = new TreeMap<>();
+    //Released ranges below the next address that may be reserved again
+    private final TreeMap<Integer, Integer> mReleased = new TreeMap<>();
+    private int mNextAddress;
+
+    public UnicastAddressAllocator(final int nextAddress) {
+        reset(nextAddress);
+    }
+
+    /**
+     * Reserves a range of consecutive unicast addresses
+     *
+     * @param elementCount number of elements of the node
+     * @return the first address of the range
+     * @throws IllegalStateException if no range of the requested size is left
+     */
+    public synchronized int reserve(final int elementCount) {
+        if (elementCount < 1)
+            throw new IllegalArgumentException("Element count must be greater than 0");
+
+        for (Map.Entry<Integer, Integer> range : mReleased.entrySet()) {
+            final int count = range.getValue();
+            if (count >= elementCount) {
+                final int address = range.getKey();
+                mReleased.remove(address);
+                if (count > elementCount) {
+                    mReleased.put(address + elementCount, count - elementCount);
+                }
+                mReserved.put(address, elementCount);
+                return address;
+            }
+        }
+
+        if (mNextAddress + elementCount - 1 > MAX_UNICAST_ADDRESS)
+            throw new IllegalStateException("No unicast addresses left for " + elementCount + " elements");
+        final int address = mNextAddress;
+        mNextAddress += elementCount;
+        mReserved.put(address, elementCount);
+        return address;
+    }
+
+    /**
+     * Reserves a range starting at the given address
+     *
+     * @param address      first unicast address of the range
+     * @param elementCount number of elements of the node
+     * @return true if the range was reserved or false if it overlaps a range in flight
+     */
+    public synchronized boolean reserve(final int address, final int elementCount) {
+        if (elementCount < 1)
+            throw new IllegalArgumentException("Element count must be greater than 0");
+        if (address < 1 || address + elementCount - 1 > MAX_UNICAST_ADDRESS)
+            throw new IllegalArgumentException("Unicast address range out of bounds");
+
+        final Map.Entry<Integer, Integer> lower = mReserved.floorEntry(address + elementCount - 1);
+        if (lower != null && lower.getKey() + lower.getValue() > address)
+            return false;
+
+        //Remove the reserved addresses from the released ranges
+        final List<Integer> overlapping = new ArrayList<>(mReleased.headMap(address + elementCount).keySet());
+        for (int start : overlapping) {
+            final int count = mReleased.get(start);
+            if (start + count <= address)
+                continue;
+            mReleased.remove(start);
+            if (start < address) {
+                mReleased.put(start, address - start);
+            }
+            if (start + count > address + elementCount) {
+                mReleased.put(address + elementCount, start + count - address - elementCount);
+            }
+        }
+        mReserved.put(address, elementCount);
+        if (address + elementCount > mNextAddress) {
+            mNextAddress = address + elementCount;
+        }
+        return true;
+    }
+
+    /**
+     * Marks a range as permanently assigned after the node was provisioned
+     *
+     * @param address first unicast address of the range
+     */
+    public synchronized void commit(final int address) {
+        mReserved.remove(address);
+    }
+
+    /**
+     * Releases a range after provisioning the node failed
+     *
+     * @param address first unicast address of the range
+     */
+    public synchronized void release(final int address) {
+        final Integer count = mReserved.remove(address);
+        if (count == null)
+            return;
+
+        mReleased.put(address, count);
+        //Give the released ranges at the end back to the next address
+        Map.Entry<Integer, Integer> last;
+        while ((last = mReleased.lastEntry()) != null && last.getKey() + last.getValue() == mNextAddress) {
+            mReleased.remove(last.getKey());
+            mNextAddress = last.getKey();
+        }
+    }
+
+    /**
+     * Moves the next address forward, addresses below it are never handed out unless released
+     *
+     * @param nextAddress next unassigned unicast address
+     */
+    public synchronized void advanceTo(final int nextAddress) {
+        if (nextAddress > mNextAddress) {
+            mNextAddress = nextAddress;
+        }
+    }
+
+    /**
+     * Drops all reservations and starts allocating from the given address
+     *
+     * @param nextAddress next unassigned unicast address
+     */
+    public synchronized void reset(final int nextAddress) {
+        if (nextAddress < 1 || nextAddress > MAX_UNICAST_ADDRESS + 1)
+            throw new IllegalArgumentException("Unicast address out of bounds");
+        mReserved.clear();
+        mReleased.clear();
+        mNextAddress = nextAddress;
+    }
+
+    /**
+     * Returns the next address that has never been reserved
+     */
+    public synchronized int getNextAddress() {
+        return mNextAddress;
+    }
+
+    /**
+     * Returns the number of ranges reserved by sessions in flight
+     */
+    public synchronized int getReservedCount() {
+        return mReserved.size();
+    }
+}
@@ -1,7 +1,8 @@
 package no.nordicsemi.android.meshprovisioner.configuration;
 
-import android.os.Parcelable;
-
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
@@ -12,7 +13,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-public abstract class MeshModel implements Parcelable {
+public abstract class MeshModel {
 
     protected final int mModelId;
     private List<Integer> mBoundAppKeyIndexes = new ArrayList<>();
@@ -108,17 +109,23 @@ public abstract class MeshModel implements Parcelable {
     }
 
     /**
-     * Sets the data from the {@link ConfigModelAppStatus}
+     * Sets the publication settings received in a config model publication status
      *
-     * @param configMessage Composition data status object
+     * @param publishAddress                 publish address
+     * @param credentialFlag                 credential flag
+     * @param publishTtl                     publish ttl
+     * @param publishPeriod                  publish period
+     * @param publishRetransmitCount         publish retransmit count
+     * @param publishRetransmitIntervalSteps publish retransmit interval steps
      */
-    protected void setSubscriptionAddress(final ConfigModelPublicationStatus configMessage) {
-        publishAddress = configMessage.getPublishAddress();
-        credentialFlag = configMessage.getCredentialFlag();
-        publishTtl = configMessage.getPublishTtl();
-        publishPeriod = configMessage.getPublishPeriod();
-        publishRetransmitCount = configMessage.getPublishRetransmitCount();
-        publishRetransmitIntervalSteps = configMessage.getPublishRetransmitIntervalSteps();
+    protected void setPublicationSettings(final byte[] publishAddress, final int credentialFlag, final int publishTtl, final int publishPeriod,
+                                          final int publishRetransmitCount, final int publishRetransmitIntervalSteps) {
+        this.publishAddress = publishAddress;
+        this.credentialFlag = credentialFlag;
+        this.publishTtl = publishTtl;
+        this.publishPeriod = publishPeriod;
+        this.publishRetransmitCount = publishRetransmitCount;
+        this.publishRetransmitIntervalSteps = publishRetransmitIntervalSteps;
     }
 
     /**
@@ -142,6 +149,49 @@ public abstract class MeshModel implements Parcelable {
         }
     }
 
+    /**
+     * Writes the configuration of the model to a binary node record
+     */
+    final void writeRecord(final DataOutput out) throws IOException {
+        out.writeByte(mBoundAppKeys.size());
+        for (Map.Entry<Integer, String> entry : mBoundAppKeys.entrySet()) {
+            out.writeShort(entry.getKey());
+            RecordStreams.writeString(out, entry.getValue());
+        }
+        RecordStreams.writeBytes(out, publishAddress);
+        RecordStreams.writeBytes(out, appKeyIndex);
+        out.writeByte(credentialFlag);
+        out.writeByte(publishTtl);
+        out.writeByte(publishPeriod);
+        out.writeByte(publishRetransmitCount);
+        out.writeByte(publishRetransmitIntervalSteps);
+        out.writeByte(mSubscriptionAddress.size());
+        for (byte[] address : mSubscriptionAddress) {
+            RecordStreams.writeBytes(out, address);
+        }
+    }
+
+    /**
+     * Reads the configuration of the model from a binary node record
+     */
+    final void readRecord(final DataInput in) throws IOException {
+        final int boundAppKeyCount = in.readUnsignedByte();
+        for (int i = 0; i < boundAppKeyCount; i++) {
+            setBoundAppKey(in.readUnsignedShort(), RecordStreams.readString(in));
+        }
+        publishAddress = RecordStreams.readBytes(in);
+        appKeyIndex = RecordStreams.readBytes(in);
+        credentialFlag = in.readUnsignedByte();
+        publishTtl = in.readUnsignedByte();
+        publishPeriod = in.readUnsignedByte();
+        publishRetransmitCount = in.readUnsignedByte();
+        publishRetransmitIntervalSteps = in.readUnsignedByte();
+        final int subscriptionCount = in.readUnsignedByte();
+        for (int i = 0; i < subscriptionCount; i++) {
+            setSubscriptionAddress(RecordStreams.readBytes(in));
+        }
+    }
+
     private boolean checkIfAlreadySubscribed(final byte[] subscriptionAddress) {
         for (byte[] address : mSubscriptionAddress) {
             if (Arrays.equals(address, subscriptionAddress))
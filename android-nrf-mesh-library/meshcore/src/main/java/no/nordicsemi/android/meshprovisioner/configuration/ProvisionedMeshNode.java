@@ -0,0 +1,439 @@
+package no.nordicsemi.android.meshprovisioner.configuration;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import no.nordicsemi.android.meshprovisioner.BaseMeshNode;
+import no.nordicsemi.android.meshprovisioner.models.SigModel;
+import no.nordicsemi.android.meshprovisioner.models.VendorModel;
+import no.nordicsemi.android.meshprovisioner.platform.MeshLog;
+import no.nordicsemi.android.meshprovisioner.states.UnprovisionedMeshNode;
+import no.nordicsemi.android.meshprovisioner.utils.DeviceFeatureUtils;
+import no.nordicsemi.android.meshprovisioner.utils.Element;
+import no.nordicsemi.android.meshprovisioner.utils.NetworkKeyRegistry;
+import no.nordicsemi.android.meshprovisioner.utils.SecureUtils;
+import no.nordicsemi.android.meshprovisioner.utils.SigModelParser;
+
+public class ProvisionedMeshNode extends BaseMeshNode {
+
+    private static final String TAG = ProvisionedMeshNode.class.getSimpleName();
+    /**
+     * Version of the binary node record
+     */
+    private static final int RECORD_VERSION = 1;
+    private static final int MODEL_TYPE_UNKNOWN = 0;
+    private static final int MODEL_TYPE_SIG = 1;
+    private static final int MODEL_TYPE_VENDOR = 2;
+
+    private SecureUtils.K2Output k2Output;
+    /**
+     * Elements, models and app keys of a node loaded from an index record, read on first access
+     */
+    private transient byte[] mPendingRecord;
+
+    public ProvisionedMeshNode(){
+
+    }
+
+    public ProvisionedMeshNode(final UnprovisionedMeshNode unprovisionedMeshNode){
+        isProvisioned = unprovisionedMeshNode.isProvisioned();
+        isConfigured = unprovisionedMeshNode.isConfigured();
+        nodeName = unprovisionedMeshNode.getNodeName();
+        networkKey = unprovisionedMeshNode.getNetworkKey();
+        identityKey = unprovisionedMeshNode.getIdentityKey();
+        keyIndex = unprovisionedMeshNode.getKeyIndex();
+        mFlags = unprovisionedMeshNode.getFlags();
+        ivIndex = unprovisionedMeshNode.getIvIndex();
+        unicastAddress = unprovisionedMeshNode.getUnicastAddress();
+        deviceKey = unprovisionedMeshNode.getDeviceKey();
+        ttl = unprovisionedMeshNode.getTtl();
+        k2Output = NetworkKeyRegistry.getInstance().getKeyMaterial(networkKey).getK2Output();
+        mTimeStampInMillis = unprovisionedMeshNode.getTimeStamp();
+    }
+
+    /**
+     * Writes the node to a compact binary record
+     *
+     * @param out output the record is written to
+     */
+    public final void writeRecord(final DataOutput out) throws IOException {
+        hydrate();
+        if (!isHydrated())
+            throw new IOException("Elements of the node could not be read");
+        out.writeByte(RECORD_VERSION);
+        out.writeByte((isProvisioned ? 0x01 : 0) | (isConfigured ? 0x02 : 0) | (relayFeatureSupported ? 0x04 : 0)
+                | (proxyFeatureSupported ? 0x08 : 0) | (friendFeatureSupported ? 0x10 : 0) | (lowPowerFeatureSupported ? 0x20 : 0));
+        RecordStreams.writeString(out, nodeName);
+        RecordStreams.writeBytes(out, networkKey);
+        RecordStreams.writeBytes(out, identityKey);
+        RecordStreams.writeBytes(out, keyIndex);
+        RecordStreams.writeBytes(out, mFlags);
+        RecordStreams.writeBytes(out, ivIndex);
+        RecordStreams.writeBytes(out, unicastAddress);
+        RecordStreams.writeBytes(out, deviceKey);
+        out.writeByte(ttl);
+        out.writeInt(mReceivedSequenceNumber);
+        RecordStreams.writeString(out, bluetoothAddress);
+        RecordStreams.writeString(out, nodeIdentifier);
+        out.writeShort(companyIdentifier);
+        out.writeShort(productIdentifier);
+        out.writeShort(versionIdentifier);
+        out.writeShort(crpl);
+        out.writeShort(features);
+        RecordStreams.writeBytes(out, generatedNetworkId);
+        out.writeLong(mTimeStampInMillis);
+
+        out.writeByte(mElements.size());
+        for (Map.Entry<Integer, Element> entry : mElements.entrySet()) {
+            final Element element = entry.getValue();
+            out.writeShort(entry.getKey());
+            RecordStreams.writeBytes(out, element.getElementAddress());
+            out.writeShort(element.getLocationDescriptor());
+            out.writeByte(element.getSigModelCount());
+            out.writeByte(element.getVendorModelCount());
+            final Map<Integer, MeshModel> models = element.getMeshModels();
+            out.writeByte(models.size());
+            for (Map.Entry<Integer, MeshModel> modelEntry : models.entrySet()) {
+                final MeshModel model = modelEntry.getValue();
+                out.writeInt(modelEntry.getKey());
+                if (model == null) {
+                    out.writeByte(MODEL_TYPE_UNKNOWN);
+                } else {
+                    out.writeByte(model instanceof VendorModel ? MODEL_TYPE_VENDOR : MODEL_TYPE_SIG);
+                    model.writeRecord(out);
+                }
+            }
+        }
+
+        out.writeByte(mAddedAppKeys.size());
+        for (Map.Entry<Integer, String> entry : mAddedAppKeys.entrySet()) {
+            out.writeShort(entry.getKey());
+            RecordStreams.writeString(out, entry.getValue());
+        }
+        out.writeByte(mAddedAppKeyIndexes.size());
+        for (int appKeyIndex : mAddedAppKeyIndexes) {
+            out.writeShort(appKeyIndex);
+        }
+    }
+
+    /**
+     * Reads a node from a binary record written by {@link #writeRecord(DataOutput)}
+     *
+     * @param in input the record is read from
+     * @return provisioned mesh node
+     */
+    public static ProvisionedMeshNode readRecord(final DataInput in) throws IOException {
+        final ProvisionedMeshNode node = readRecordHeader(in);
+        node.readRecordGraph(in);
+        return node;
+    }
+
+    /**
+     * Reads the addresses, keys and identifiers of a node from a binary record written by {@link #writeRecord(DataOutput)}.
+     * <p>
+     * The elements, models and app keys are kept in their binary form and only read when they are first accessed or when
+     * {@link #hydrate()} is called, so that a large network can be indexed quickly.
+     * </p>
+     *
+     * @param record binary node record
+     * @return provisioned mesh node
+     */
+    public static ProvisionedMeshNode readRecordIndex(final byte[] record) throws IOException {
+        final ByteArrayInputStream inputStream = new ByteArrayInputStream(record);
+        final ProvisionedMeshNode node = readRecordHeader(new DataInputStream(inputStream));
+        final byte[] pendingRecord = new byte[inputStream.available()];
+        System.arraycopy(record, record.length - pendingRecord.length, pendingRecord, 0, pendingRecord.length);
+        node.mPendingRecord = pendingRecord;
+        return node;
+    }
+
+    /**
+     * Returns true if the elements, models and app keys of the node have been read
+     */
+    public final synchronized boolean isHydrated() {
+        return mPendingRecord == null;
+    }
+
+    /**
+     * Reads the elements, models and app keys of a node loaded with {@link #readRecordIndex(byte[])}.
+     * This may be called from a background thread, accessing the elements of the node waits for it to complete.
+     * <p>
+     * If the record cannot be read it is kept, so that the node is not written back without its elements.
+     * </p>
+     */
+    public final synchronized void hydrate() {
+        if (mPendingRecord == null)
+            return;
+        try {
+            readRecordGraph(new DataInputStream(new ByteArrayInputStream(mPendingRecord)));
+            mPendingRecord = null;
+        } catch (IOException e) {
+            MeshLog.e(TAG, "Unable to read the elements of the node: " + e.getMessage());
+            mElements.clear();
+            mAddedAppKeys.clear();
+            mAddedAppKeyIndexes.clear();
+        }
+    }
+
+    private static ProvisionedMeshNode readRecordHeader(final DataInput in) throws IOException {
+        final int version = in.readUnsignedByte();
+        if (version != RECORD_VERSION)
+            throw new IOException("Unsupported node record version: " + version);
+
+        final ProvisionedMeshNode node = new ProvisionedMeshNode();
+        final int flags = in.readUnsignedByte();
+        node.isProvisioned = (flags & 0x01) != 0;
+        node.isConfigured = (flags & 0x02) != 0;
+        node.relayFeatureSupported = (flags & 0x04) != 0;
+        node.proxyFeatureSupported = (flags & 0x08) != 0;
+        node.friendFeatureSupported = (flags & 0x10) != 0;
+        node.lowPowerFeatureSupported = (flags & 0x20) != 0;
+        node.nodeName = RecordStreams.readString(in);
+        node.networkKey = RecordStreams.readBytes(in);
+        node.identityKey = RecordStreams.readBytes(in);
+        node.keyIndex = RecordStreams.readBytes(in);
+        node.mFlags = RecordStreams.readBytes(in);
+        node.ivIndex = RecordStreams.readBytes(in);
+        node.unicastAddress = RecordStreams.readBytes(in);
+        node.deviceKey = RecordStreams.readBytes(in);
+        node.ttl = in.readUnsignedByte();
+        node.mReceivedSequenceNumber = in.readInt();
+        node.bluetoothAddress = RecordStreams.readString(in);
+        node.nodeIdentifier = RecordStreams.readString(in);
+        node.companyIdentifier = in.readUnsignedShort();
+        node.productIdentifier = in.readUnsignedShort();
+        node.versionIdentifier = in.readUnsignedShort();
+        node.crpl = in.readUnsignedShort();
+        node.features = in.readUnsignedShort();
+        node.generatedNetworkId = RecordStreams.readBytes(in);
+        node.mTimeStampInMillis = in.readLong();
+        //The network key material is derived again instead of being stored with every node
+        if (node.networkKey != null) {
+            node.k2Output = NetworkKeyRegistry.getInstance().getKeyMaterial(node.networkKey).getK2Output();
+        }
+        return node;
+    }
+
+    private void readRecordGraph(final DataInput in) throws IOException {
+        final int elementCount = in.readUnsignedByte();
+        for (int i = 0; i < elementCount; i++) {
+            final int key = in.readUnsignedShort();
+            final byte[] elementAddress = RecordStreams.readBytes(in);
+            final int locationDescriptor = in.readUnsignedShort();
+            final int sigModelCount = in.readUnsignedByte();
+            final int vendorModelCount = in.readUnsignedByte();
+            final Map<Integer, MeshModel> models = new LinkedHashMap<>();
+            final int modelCount = in.readUnsignedByte();
+            for (int j = 0; j < modelCount; j++) {
+                final int modelId = in.readInt();
+                final int type = in.readUnsignedByte();
+                MeshModel model = null;
+                if (type == MODEL_TYPE_VENDOR) {
+                    model = new VendorModel(modelId);
+                } else if (type == MODEL_TYPE_SIG) {
+                    final SigModel sigModel = SigModelParser.getSigModel(modelId);
+                    if (sigModel == null)
+                        throw new IOException("Unknown SIG model in node record: " + modelId);
+                    model = sigModel;
+                }
+                if (model != null) {
+                    model.readRecord(in);
+                }
+                models.put(modelId, model);
+            }
+            mElements.put(key, new Element(elementAddress, locationDescriptor, sigModelCount, vendorModelCount, models));
+        }
+
+        final int appKeyCount = in.readUnsignedByte();
+        for (int i = 0; i < appKeyCount; i++) {
+            mAddedAppKeys.put(in.readUnsignedShort(), RecordStreams.readString(in));
+        }
+        final int appKeyIndexCount = in.readUnsignedByte();
+        for (int i = 0; i < appKeyIndexCount; i++) {
+            mAddedAppKeyIndexes.add(in.readUnsignedShort());
+        }
+    }
+
+    public final int getTtl() {
+        return ttl;
+    }
+
+    public final void setTtl(final int ttl) {
+        this.ttl = ttl;
+    }
+
+    public final Map<Integer, Element> getElements() {
+        hydrate();
+        return Collections.unmodifiableMap(mElements);
+    }
+
+    public final byte[] getDeviceKey() {
+        return deviceKey;
+    }
+
+    protected void setDeviceKey(final byte[] deviceKey) {
+        this.deviceKey = deviceKey;
+    }
+
+    public final int getSequenceNumber() {
+        return mReceivedSequenceNumber;
+    }
+
+    public final void setSequenceNumber(final int receivedSequenceNumber) {
+        mReceivedSequenceNumber = receivedSequenceNumber;
+    }
+
+    /**
+     * Sets the network key of the node and derives its k2 output
+     *
+     * @param networkKey 128-bit network key
+     */
+    public final void setNetworkKey(final byte[] networkKey) {
+        this.networkKey = networkKey;
+        k2Output = NetworkKeyRegistry.getInstance().getKeyMaterial(networkKey).getK2Output();
+    }
+
+    public SecureUtils.K2Output getK2Output() {
+        return k2Output;
+    }
+
+    public final void setK2Ouput(final SecureUtils.K2Output k2Output) {
+        this.k2Output = k2Output;
+    }
+
+    public final int getCompanyIdentifier() {
+        return companyIdentifier;
+    }
+
+    public final int getProductIdentifier() {
+        return productIdentifier;
+    }
+
+    public final int getVersionIdentifier() {
+        return versionIdentifier;
+    }
+
+    /**
+     * Returns true if composition data with the given identifiers may be applied to the node.
+     * <p>
+     * A newly provisioned node has no composition data yet and accepts any identifiers, the identifiers of a node whose composition
+     * data has been read must be the given identifiers.
+     * </p>
+     *
+     * @param companyIdentifier 16-bit company identifier
+     * @param productIdentifier 16-bit product identifier
+     * @param versionIdentifier 16-bit version identifier
+     */
+    public final boolean acceptsCompositionData(final int companyIdentifier, final int productIdentifier, final int versionIdentifier) {
+        hydrate();
+        if (mElements.isEmpty())
+            return isHydrated();
+        return this.companyIdentifier == (companyIdentifier & 0xFFFF)
+                && this.productIdentifier == (productIdentifier & 0xFFFF)
+                && this.versionIdentifier == (versionIdentifier & 0xFFFF);
+    }
+
+    public final int getCrpl() {
+        return crpl;
+    }
+
+    public final int getFeatures() {
+        return features;
+    }
+
+    public final boolean isRelayFeatureSupported() {
+        return relayFeatureSupported;
+    }
+
+    public final boolean isProxyFeatureSupported() {
+        return proxyFeatureSupported;
+    }
+
+    public final boolean isFriendFeatureSupported() {
+        return friendFeatureSupported;
+    }
+
+    public final boolean isLowPowerFeatureSupported() {
+        return lowPowerFeatureSupported;
+    }
+
+    public final void setBluetoothDeviceAddress(final String address) {
+        this.bluetoothAddress = address;
+    }
+
+    public final String getNodeIdentifier() {
+        return nodeIdentifier;
+    }
+
+    public final void setNodeIdentifier(final String nodeIdentifier) {
+        this.nodeIdentifier = nodeIdentifier;
+    }
+
+    public final Map<Integer, String> getAddedAppKeys() {
+        hydrate();
+        return Collections.unmodifiableMap(mAddedAppKeys);
+    }
+
+    protected final void setAddedAppKey(final int index, final String appKey) {
+        hydrate();
+        this.mAddedAppKeys.put(index, appKey);
+    }
+
+    public final byte[] getGeneratedNetworkId() {
+        return generatedNetworkId;
+    }
+
+    public final void setGeneratedNetworkId(final byte[] advertisedNetworkId) {
+        this.generatedNetworkId = advertisedNetworkId;
+    }
+
+    /**
+     * Sets the composition data page 0 received from the node
+     *
+     * @param companyIdentifier 16-bit company identifier
+     * @param productIdentifier 16-bit product identifier
+     * @param versionIdentifier 16-bit version identifier
+     * @param crpl              minimum number of replay protection list entries
+     * @param features          features supported by the node
+     * @param elements          elements of the node
+     */
+    protected final void setCompositionData(final int companyIdentifier, final int productIdentifier, final int versionIdentifier,
+                                            final int crpl, final int features, final Map<Integer, Element> elements) {
+        hydrate();
+        this.companyIdentifier = companyIdentifier;
+        this.productIdentifier = productIdentifier;
+        this.versionIdentifier = versionIdentifier;
+        this.crpl = crpl;
+        this.features = features;
+        relayFeatureSupported = DeviceFeatureUtils.supportsRelayFeature(features);
+        proxyFeatureSupported = DeviceFeatureUtils.supportsProxyFeature(features);
+        friendFeatureSupported = DeviceFeatureUtils.supportsFriendFeature(features);
+        lowPowerFeatureSupported = DeviceFeatureUtils.supportsLowPowerFeature(features);
+        mElements.putAll(elements);
+    }
+
+    /**
+     * Binds an app key added to the node to a model of one of its elements
+     *
+     * @param elementAddress  address of the element
+     * @param modelIdentifier identifier of the model
+     * @param appKeyIndex     index of the app key
+     */
+    protected final void bindAppKey(final int elementAddress, final int modelIdentifier, final int appKeyIndex) {
+        hydrate();
+        final Element element = mElements.get(elementAddress);
+        final MeshModel model = element.getMeshModels().get(modelIdentifier);
+        final String appKey = mAddedAppKeys.get(appKeyIndex);
+        model.setBoundAppKey(appKeyIndex, appKey);
+    }
+
+    public final byte[] getConfigurationSrc() {
+        return mConfigurationSrc;
+    }
+}
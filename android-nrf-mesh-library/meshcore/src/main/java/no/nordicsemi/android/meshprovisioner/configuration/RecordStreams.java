@@ -0,0 +1,43 @@
+package no.nordicsemi.android.meshprovisioner.configuration;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Reads and writes the nullable values of the binary node records
+ */
+final class RecordStreams {
+
+    private RecordStreams() {
+    }
+
+    static void writeBytes(final DataOutput out, final byte[] value) throws IOException {
+        if (value == null) {
+            out.writeShort(-1);
+        } else {
+            out.writeShort(value.length);
+            out.write(value);
+        }
+    }
+
+    static byte[] readBytes(final DataInput in) throws IOException {
+        final int length = in.readShort();
+        if (length < 0)
+            return null;
+        final byte[] value = new byte[length];
+        in.readFully(value);
+        return value;
+    }
+
+    static void writeString(final DataOutput out, final String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    static String readString(final DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,130 @@
+package no.nordicsemi.android.meshprovisioner.configuration;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import no.nordicsemi.android.meshprovisioner.platform.MeshLog;
+import no.nordicsemi.android.meshprovisioner.platform.MeshStorage;
+
+/**
+ * Allocates sequence numbers from blocks that are reserved in persistent storage.
+ * <p>
+ * Instead of storing every sequence number that is handed out, the upper bound of a block of sequence numbers is stored
+ * once before any number of that block is used. Numbers within a reserved block are handed out lock free using an atomic counter.
+ * When the allocator is created after a restart or a crash it continues from the stored upper bound, skipping what is left
+ * of the previous block, so a sequence number is never reused.
+ * </p>
+ */
+public final class SequenceNumberAllocator {
+
+    private static final String TAG = SequenceNumberAllocator.class.getSimpleName();
+
+    /**
+     * Number of sequence numbers reserved with each write to the storage
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+    /**
+     * Sequence numbers are 24-bit values
+     */
+    private static final int MAX_SEQUENCE_NUMBER = 0xFFFFFF;
+
+    private final MeshStorage mStorage;
+    private final String mKey;
+    private final int mBlockSize;
+    private final AtomicInteger mSequenceNumber;
+    private volatile int mReservedLimit;
+    private int mReservationCount;
+
+    /**
+     * Creates a sequence number allocator
+     *
+     * @param storage   storage the reserved block is stored in or null to keep the sequence number in memory only
+     * @param key       key the upper bound of the reserved block is stored under
+     * @param blockSize number of sequence numbers reserved with each write
+     */
+    public SequenceNumberAllocator(final MeshStorage storage, final String key, final int blockSize) {
+        if (blockSize <= 0)
+            throw new IllegalArgumentException("Block size must be greater than 0");
+        mStorage = storage;
+        mKey = key;
+        mBlockSize = blockSize;
+
+        //Everything below the stored value may have been used before the allocator was stopped
+        final int stored = storage == null ? 0 : storage.getInt(key, 0);
+        mSequenceNumber = new AtomicInteger(stored);
+        mReservedLimit = stored + 1;
+    }
+
+    /**
+     * Returns the last sequence number that was handed out
+     */
+    public int getSequenceNumber() {
+        return mSequenceNumber.get();
+    }
+
+    /**
+     * Returns the next sequence number
+     */
+    public int next() {
+        return next(0);
+    }
+
+    /**
+     * Returns the next sequence number that is equal to or greater than the given sequence number
+     *
+     * @param minimum lowest sequence number that may be returned
+     * @return sequence number
+     */
+    public int next(final int minimum) {
+        while (true) {
+            final int current = mSequenceNumber.get();
+            final int next = Math.max(current + 1, minimum);
+            if (next >= mReservedLimit) {
+                reserve(next);
+            }
+            if (mSequenceNumber.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    /**
+     * Reserves the block containing the given sequence number, this is the only place the storage is written to
+     *
+     * @throws IllegalStateException if the block could not be stored, no number of the block is handed out in that case
+     */
+    private synchronized void reserve(final int sequenceNumber) {
+        if (sequenceNumber < mReservedLimit)
+            return;
+        if (sequenceNumber > MAX_SEQUENCE_NUMBER)
+            throw new IllegalStateException("Sequence numbers exhausted, an iv update is required");
+
+        final int limit = (int) Math.min(((long) sequenceNumber / mBlockSize + 1) * mBlockSize, MAX_SEQUENCE_NUMBER + 1L);
+        if (mStorage != null) {
+            //The block must be durable before any number in it is used
+            if (!mStorage.edit().putInt(mKey, limit).commit()) {
+                MeshLog.e(TAG, "Unable to store reserved sequence numbers");
+                throw new IllegalStateException("Unable to store reserved sequence numbers");
+            }
+        }
+        mReservationCount++;
+        mReservedLimit = limit;
+    }
+
+    /**
+     * Returns the number of blocks reserved since the allocator was created
+     */
+    public synchronized int getReservationCount() {
+        return mReservationCount;
+    }
+
+    /**
+     * Resets the sequence number to 0
+     */
+    public synchronized void reset() {
+        mSequenceNumber.set(0);
+        mReservedLimit = 1;
+        if (mStorage != null) {
+            mStorage.edit().putInt(mKey, 0).commit();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package no.nordicsemi.android.meshprovisioner.control;
+
+import no.nordicsemi.android.meshprovisioner.platform.MeshLog;
+import no.nordicsemi.android.meshprovisioner.utils.HexUtils;
+
+public class BlockAcknowledgementMessage extends TransportControlMessage {
+
+
+    private static final String TAG = BlockAcknowledgementMessage.class.getSimpleName();
+    private int obo;
+    private int seqZero;
+    private int blockAcknowledgement;
+
+    public BlockAcknowledgementMessage(final byte[] accessPayload, final int offset) {
+        parseBlockAcknowledgement(accessPayload, offset);
+    }
+
+    public static Integer calculateBlockAcknowledgement(final Integer blockAck, final int segO) {
+        int ack = 0;
+        if (blockAck == null) {
+            ack |= 1 << segO;
+            return ack;
+        } else {
+            ack = blockAck;
+            ack |= 1 << segO;
+            return ack;
+        }
+    }
+
+    @Override
+    public TransportControlMessageState getState() {
+        return TransportControlMessageState.LOWER_TRANSPORT_BLOCK_ACKNOWLEDGEMENT;
+    }
+
+    private void parseBlockAcknowledgement(final byte[] transportPayload, final int offset) {
+        MeshLog.v(TAG, "Acknowledgement received from node: " + HexUtils.bytesToHex(transportPayload, false));
+        obo = (transportPayload[offset] >> 7) & 0x01;
+        seqZero = ((transportPayload[offset] & 0x7F) << 6) | ((transportPayload[offset + 1] & 0xFC) >> 2);
+        blockAcknowledgement = ((transportPayload[offset + 2] & 0xFF) << 24) | ((transportPayload[offset + 3] & 0xFF) << 16)
+                | ((transportPayload[offset + 4] & 0xFF) << 8) | (transportPayload[offset + 5] & 0xFF);
+    }
+
+    /**
+     * Returns 1 if the acknowledgement was sent by a friend node on behalf of a low power node
+     */
+    public int getObo() {
+        return obo;
+    }
+
+    /**
+     * Returns the seqzero of the acknowledged message
+     */
+    public int getSeqZero() {
+        return seqZero;
+    }
+
+    /**
+     * Returns the block acknowledgement bitmap where bit n is set if segment n has been received
+     */
+    public int getBlockAcknowledgement() {
+        return blockAcknowledgement;
+    }
+}
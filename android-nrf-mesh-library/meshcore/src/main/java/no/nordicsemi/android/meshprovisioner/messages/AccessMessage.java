@@ -1,22 +1,18 @@
 package no.nordicsemi.android.meshprovisioner.messages;
 
 import java.util.HashMap;
-import java.util.Map;
-
-import no.nordicsemi.android.meshprovisioner.configuration.ConfigMessage;
 
 public class AccessMessage extends Message {
 
     private byte[] accessPdu;
     private byte[] transportPdu;
-    private ConfigMessage configMessage;
 
     public AccessMessage() {
         this.ctl = 0;
     }
 
     @Override
-    public Map<Integer, byte[]> getNetworkPdu() {
+    public HashMap<Integer, byte[]> getNetworkPdu() {
         return networkPdu;
     }
 
@@ -48,12 +44,4 @@ public class AccessMessage extends Message {
     public void setLowerTransportAccessPdu(final HashMap<Integer, byte[]> lowerTransportAccessPdu) {
         super.setLowerTransportAccessPdu(lowerTransportAccessPdu);
     }
-
-    public ConfigMessage getConfigMessage() {
-        return configMessage;
-    }
-
-    public void setConfigMessage(final ConfigMessage configMessage) {
-        this.configMessage = configMessage;
-    }
 }
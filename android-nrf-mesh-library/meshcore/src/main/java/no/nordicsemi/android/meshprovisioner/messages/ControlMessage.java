@@ -1,7 +1,6 @@
 package no.nordicsemi.android.meshprovisioner.messages;
 
 import java.util.HashMap;
-import java.util.Map;
 
 import no.nordicsemi.android.meshprovisioner.control.TransportControlMessage;
 
@@ -15,7 +14,7 @@ public class ControlMessage extends Message {
     }
 
     @Override
-    public Map<Integer, byte[]> getNetworkPdu() {
+    public HashMap<Integer, byte[]> getNetworkPdu() {
         return networkPdu;
     }
 
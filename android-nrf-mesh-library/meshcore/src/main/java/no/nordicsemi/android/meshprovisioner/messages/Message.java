@@ -1,7 +1,6 @@
 package no.nordicsemi.android.meshprovisioner.messages;
 
 import java.util.HashMap;
-import java.util.Map;
 
 public abstract class Message {
 
@@ -68,7 +67,7 @@ public abstract class Message {
     private byte[] ivIndex;
     private boolean segmented;
 
-    public abstract Map<Integer, byte[]> getNetworkPdu();
+    public abstract HashMap<Integer, byte[]> getNetworkPdu();
 
     public abstract void setNetworkPdu(final HashMap<Integer, byte[]> pdu);
 
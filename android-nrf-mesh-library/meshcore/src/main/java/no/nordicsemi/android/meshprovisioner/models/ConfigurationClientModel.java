@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class ConfigurationClientModel extends SigModel {
+
+    public ConfigurationClientModel(final int modelId) {
+        super(modelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Configuration Client";
+    }
+}
@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class ConfigurationServerModel extends SigModel {
+
+    public ConfigurationServerModel(final int modelId) {
+        super(modelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Configuration Server";
+    }
+}
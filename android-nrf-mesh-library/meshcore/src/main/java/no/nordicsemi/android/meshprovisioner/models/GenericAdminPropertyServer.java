@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class GenericAdminPropertyServer extends SigModel {
+
+    public GenericAdminPropertyServer(final int modelId) {
+        super(modelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Generic Admin Property Server";
+    }
+}
@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class GenericBatteryClient extends SigModel {
+
+    public GenericBatteryClient(final int sigModelId) {
+        super(sigModelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Generic Battery Client";
+    }
+}
@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class GenericBatteryServer extends SigModel {
+
+    public GenericBatteryServer(final int sigModelId) {
+        super(sigModelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Generic Battery Server";
+    }
+}
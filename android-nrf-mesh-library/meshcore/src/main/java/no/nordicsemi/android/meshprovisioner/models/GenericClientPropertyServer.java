@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class GenericClientPropertyServer extends SigModel {
+
+    public GenericClientPropertyServer(final int modelId) {
+        super(modelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Generic Client Property Server";
+    }
+}
@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class GenericDefaultTransitionTimeClient extends SigModel {
+
+    public GenericDefaultTransitionTimeClient(final int sigModelId) {
+        super(sigModelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Generic Default Transition Timer Client";
+    }
+}
@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class GenericDefaultTransitionTimeServer extends SigModel {
+
+    public GenericDefaultTransitionTimeServer(final int sigModelId) {
+        super(sigModelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Generic Default Transition Timer Server";
+    }
+}
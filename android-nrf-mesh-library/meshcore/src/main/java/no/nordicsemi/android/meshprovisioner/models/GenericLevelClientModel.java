@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class GenericLevelClientModel extends SigModel {
+
+    public GenericLevelClientModel(final int modelId) {
+        super(modelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Generic Level Client";
+    }
+}
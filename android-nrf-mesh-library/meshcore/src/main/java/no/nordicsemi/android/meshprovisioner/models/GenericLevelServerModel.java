@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class GenericLevelServerModel extends SigModel {
+
+    public GenericLevelServerModel(final int modelId) {
+        super(modelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return  "Generic Level Server";
+    }
+}
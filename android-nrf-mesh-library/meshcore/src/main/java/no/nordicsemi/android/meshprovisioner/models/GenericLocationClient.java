@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class GenericLocationClient extends SigModel {
+
+    public GenericLocationClient(final int sigModelId) {
+        super(sigModelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Generic Location Client";
+    }
+}
@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class GenericLocationSetupServer extends SigModel {
+
+    public GenericLocationSetupServer(final int sigModelId) {
+        super(sigModelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Generic Location Setup Server";
+    }
+}
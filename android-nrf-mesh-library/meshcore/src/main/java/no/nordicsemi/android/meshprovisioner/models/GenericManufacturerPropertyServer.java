@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class GenericManufacturerPropertyServer extends SigModel {
+
+    public GenericManufacturerPropertyServer(final int modelId) {
+        super(modelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Generic Manufacturer Property Server";
+    }
+}
@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class GenericOnOffClientModel extends SigModel {
+
+    public GenericOnOffClientModel(final int modelId) {
+        super(modelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Generic On Off Client";
+    }
+}
@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class GenericOnOffServerModel extends SigModel {
+
+    public GenericOnOffServerModel(final int modelId) {
+        super(modelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Generic On Off Server";
+    }
+}
@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class GenericPowerLevelClient extends SigModel {
+
+    public GenericPowerLevelClient(final int sigModelId) {
+        super(sigModelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Generic Power Level Client";
+    }
+}
@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class GenericPowerLevelServer extends SigModel {
+
+    public GenericPowerLevelServer(final int sigModelId) {
+        super(sigModelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Generic Power Level Server";
+    }
+}
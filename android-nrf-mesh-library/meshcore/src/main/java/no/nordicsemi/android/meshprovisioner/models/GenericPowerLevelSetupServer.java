@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class GenericPowerLevelSetupServer extends SigModel {
+
+    public GenericPowerLevelSetupServer(final int sigModelId) {
+        super(sigModelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Generic Power Level Setup Server";
+    }
+}
@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class GenericPowerOnOffClient extends SigModel {
+
+    public GenericPowerOnOffClient(final int sigModelId) {
+        super(sigModelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Generic Power On Off Client";
+    }
+}
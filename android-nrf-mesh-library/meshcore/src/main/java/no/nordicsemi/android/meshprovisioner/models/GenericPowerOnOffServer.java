@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class GenericPowerOnOffServer extends SigModel {
+
+    public GenericPowerOnOffServer(final int sigModelId) {
+        super(sigModelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Generic Power On Off Server";
+    }
+}
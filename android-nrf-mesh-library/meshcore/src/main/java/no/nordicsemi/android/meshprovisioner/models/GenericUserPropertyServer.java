@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class GenericUserPropertyServer extends SigModel {
+
+    public GenericUserPropertyServer(final int modelId) {
+        super(modelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Generic User Property Server";
+    }
+}
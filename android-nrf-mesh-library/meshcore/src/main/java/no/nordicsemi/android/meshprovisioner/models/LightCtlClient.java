@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class LightCtlClient extends SigModel {
+
+    public LightCtlClient(final int modelId) {
+        super(modelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Light Ctl Client";
+    }
+}
@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class LightCtlServer extends SigModel {
+
+    public LightCtlServer(final int modelId) {
+        super(modelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Light Ctl Server";
+    }
+}
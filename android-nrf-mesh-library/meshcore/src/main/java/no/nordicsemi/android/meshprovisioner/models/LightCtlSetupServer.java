@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class LightCtlSetupServer extends SigModel {
+
+    public LightCtlSetupServer(final int modelId) {
+        super(modelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Light Ctl Setup Server";
+    }
+}
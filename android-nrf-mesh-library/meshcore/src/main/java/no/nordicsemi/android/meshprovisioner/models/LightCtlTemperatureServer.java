@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class LightCtlTemperatureServer extends SigModel {
+
+    public LightCtlTemperatureServer(final int modelId) {
+        super(modelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Light Ctl Temperature Server";
+    }
+}
@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class LightHslSaturationServer extends SigModel {
+
+    public LightHslSaturationServer(final int modelId) {
+        super(modelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Light HSL Saturation Server";
+    }
+}
@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class LightHslSetupServer extends SigModel {
+
+    public LightHslSetupServer(final int modelId) {
+        super(modelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Light HSL Setup Server";
+    }
+}
@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class LightLcSetupServer extends SigModel {
+
+    public LightLcSetupServer(final int modelId) {
+        super(modelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Light LC Setup Server";
+    }
+}
@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class LightLightnessSetupServer extends SigModel {
+
+    public LightLightnessSetupServer(final int modelId) {
+        super(modelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Light Lightness Setup Server";
+    }
+}
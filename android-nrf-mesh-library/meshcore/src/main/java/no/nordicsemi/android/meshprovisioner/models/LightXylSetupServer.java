@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class LightXylSetupServer extends SigModel {
+
+    public LightXylSetupServer(final int modelId) {
+        super(modelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Light XYL Setup Server";
+    }
+}
@@ -0,0 +1,13 @@
+package no.nordicsemi.android.meshprovisioner.models;
+
+public class SchedulerSetupServer extends SigModel {
+
+    public SchedulerSetupServer(final int modelId) {
+        super(modelId);
+    }
+
+    @Override
+    public String getModelName() {
+        return "Scheduler Setup Server";
+    }
+}
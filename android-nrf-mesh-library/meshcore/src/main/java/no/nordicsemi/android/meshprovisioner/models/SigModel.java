@@ -14,5 +14,4 @@ public abstract class SigModel extends MeshModel {
     public int getModelId() {
         return mModelId;
     }
-
 }
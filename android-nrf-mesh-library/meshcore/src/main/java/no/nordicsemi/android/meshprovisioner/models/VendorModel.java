@@ -1,8 +1,5 @@
 package no.nordicsemi.android.meshprovisioner.models;
 
-import android.os.Parcel;
-import android.os.Parcelable;
-
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 
@@ -10,17 +7,6 @@ import no.nordicsemi.android.meshprovisioner.configuration.MeshModel;
 import no.nordicsemi.android.meshprovisioner.utils.CompanyIdentifiers;
 
 public class VendorModel extends MeshModel {
-    public static final Parcelable.Creator<VendorModel> CREATOR = new Parcelable.Creator<VendorModel>() {
-        @Override
-        public VendorModel createFromParcel(final Parcel source) {
-            return new VendorModel(source.readInt());
-        }
-
-        @Override
-        public VendorModel[] newArray(final int size) {
-            return new VendorModel[size];
-        }
-    };
     private final short companyIdentifier;
     private final String companyName;
 
@@ -50,15 +36,4 @@ public class VendorModel extends MeshModel {
     public String getCompanyName() {
         return companyName;
     }
-
-    @Override
-    public int describeContents() {
-        return 0;
-    }
-
-    @Override
-    public void writeToParcel(final Parcel dest, final int flags) {
-        dest.writeInt(mModelId);
-    }
-
 }
@@ -0,0 +1,76 @@
+package no.nordicsemi.android.meshprovisioner.platform;
+
+/**
+ * Logging used by the protocol layers instead of a platform logging api.
+ * <p>
+ * Messages are written to the {@link MeshLogger} set with {@link #setLogger(MeshLogger)} and discarded while no logger is set.
+ * </p>
+ */
+public final class MeshLog {
+
+    private static volatile MeshLogger mLogger;
+
+    private MeshLog() {
+    }
+
+    /**
+     * Sets the logger messages are written to
+     *
+     * @param logger logger or null to discard log messages
+     */
+    public static void setLogger(final MeshLogger logger) {
+        mLogger = logger;
+    }
+
+    /**
+     * Returns the logger messages are written to or null if they are discarded
+     */
+    public static MeshLogger getLogger() {
+        return mLogger;
+    }
+
+    /**
+     * Returns true if verbose messages of the tag are written
+     *
+     * @param tag class the message is logged from
+     */
+    public static boolean isVerboseLoggable(final String tag) {
+        final MeshLogger logger = mLogger;
+        return logger != null && logger.isVerboseLoggable(tag);
+    }
+
+    public static void v(final String tag, final String message) {
+        final MeshLogger logger = mLogger;
+        if (logger != null) {
+            logger.v(tag, message);
+        }
+    }
+
+    public static void d(final String tag, final String message) {
+        final MeshLogger logger = mLogger;
+        if (logger != null) {
+            logger.d(tag, message);
+        }
+    }
+
+    public static void i(final String tag, final String message) {
+        final MeshLogger logger = mLogger;
+        if (logger != null) {
+            logger.i(tag, message);
+        }
+    }
+
+    public static void w(final String tag, final String message) {
+        final MeshLogger logger = mLogger;
+        if (logger != null) {
+            logger.w(tag, message);
+        }
+    }
+
+    public static void e(final String tag, final String message) {
+        final MeshLogger logger = mLogger;
+        if (logger != null) {
+            logger.e(tag, message);
+        }
+    }
+}
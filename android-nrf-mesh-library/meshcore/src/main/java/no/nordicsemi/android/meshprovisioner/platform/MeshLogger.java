@@ -0,0 +1,57 @@
+package no.nordicsemi.android.meshprovisioner.platform;
+
+/**
+ * Destination of the log messages written through {@link MeshLog}.
+ * <p>
+ * The Android library logs to logcat, other platforms may forward the messages to their own logging framework.
+ * </p>
+ */
+public interface MeshLogger {
+
+    /**
+     * Returns true if verbose messages of the tag are written, use it to skip building expensive messages such as hex dumps
+     *
+     * @param tag class the message is logged from
+     */
+    boolean isVerboseLoggable(final String tag);
+
+    /**
+     * Writes a verbose message
+     *
+     * @param tag     class the message is logged from
+     * @param message message
+     */
+    void v(final String tag, final String message);
+
+    /**
+     * Writes a debug message
+     *
+     * @param tag     class the message is logged from
+     * @param message message
+     */
+    void d(final String tag, final String message);
+
+    /**
+     * Writes an info message
+     *
+     * @param tag     class the message is logged from
+     * @param message message
+     */
+    void i(final String tag, final String message);
+
+    /**
+     * Writes a warning
+     *
+     * @param tag     class the message is logged from
+     * @param message message
+     */
+    void w(final String tag, final String message);
+
+    /**
+     * Writes an error
+     *
+     * @param tag     class the message is logged from
+     * @param message message
+     */
+    void e(final String tag, final String message);
+}
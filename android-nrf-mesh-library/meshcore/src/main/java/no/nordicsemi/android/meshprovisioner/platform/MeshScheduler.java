@@ -0,0 +1,23 @@
+package no.nordicsemi.android.meshprovisioner.platform;
+
+/**
+ * Runs the timers of the transport layers, such as segment retransmissions and segment acknowledgements.
+ * <p>
+ * Tasks must be run one at a time on the thread the layers are used from, the Android library runs them on the main looper.
+ * </p>
+ */
+public interface MeshScheduler {
+
+    /**
+     * Runs a task after a delay
+     *
+     * @param task  task to run
+     * @param delay delay in milliseconds
+     */
+    void postDelayed(final Runnable task, final long delay);
+
+    /**
+     * Returns a monotonic time in milliseconds used to measure timeouts
+     */
+    long elapsedRealtime();
+}
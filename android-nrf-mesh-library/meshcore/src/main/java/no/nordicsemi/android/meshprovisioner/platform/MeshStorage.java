@@ -0,0 +1,62 @@
+package no.nordicsemi.android.meshprovisioner.platform;
+
+import java.util.Map;
+
+/**
+ * Key value storage used to persist provisioning settings and reserved sequence numbers.
+ * <p>
+ * The Android library keeps every storage in its own shared preferences file.
+ * </p>
+ */
+public interface MeshStorage {
+
+    /**
+     * Returns a stored integer
+     *
+     * @param key          key
+     * @param defaultValue value returned if nothing is stored under the key
+     */
+    int getInt(final String key, final int defaultValue);
+
+    /**
+     * Returns a stored string
+     *
+     * @param key          key
+     * @param defaultValue value returned if nothing is stored under the key
+     */
+    String getString(final String key, final String defaultValue);
+
+    /**
+     * Returns every stored value
+     */
+    Map<String, ?> getAll();
+
+    /**
+     * Returns an editor to change the stored values, changes are not stored until they are committed or applied
+     */
+    Editor edit();
+
+    /**
+     * Changes to the values of a {@link MeshStorage}
+     */
+    interface Editor {
+
+        Editor putInt(final String key, final int value);
+
+        Editor putString(final String key, final String value);
+
+        Editor clear();
+
+        /**
+         * Stores the changes before returning
+         *
+         * @return true if the changes were stored
+         */
+        boolean commit();
+
+        /**
+         * Stores the changes in the background
+         */
+        void apply();
+    }
+}
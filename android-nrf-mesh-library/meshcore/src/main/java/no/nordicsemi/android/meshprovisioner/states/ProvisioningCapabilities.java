@@ -1,8 +1,7 @@
 package no.nordicsemi.android.meshprovisioner.states;
 
-import android.util.Log;
-
 import no.nordicsemi.android.meshprovisioner.MeshProvisioningStatusCallbacks;
+import no.nordicsemi.android.meshprovisioner.platform.MeshLog;
 import no.nordicsemi.android.meshprovisioner.utils.ParseInputOOBActions;
 import no.nordicsemi.android.meshprovisioner.utils.ParseOutputOOBActions;
 import no.nordicsemi.android.meshprovisioner.utils.ParsePublicKeyInformation;
@@ -91,14 +90,14 @@ public class ProvisioningCapabilities extends ProvisioningState {
         inputOOBSize = (provisioningCapabilities[10]);
         inputOOBAction = (((provisioningCapabilities[11] & 0xff) << 8) | (provisioningCapabilities[12] & 0xff));
 
-        Log.v(TAG, "Number of elements: " + numberOfElements);
-        Log.v(TAG, "Algorithm: " + algorithm);
-        Log.v(TAG, "Public key type: " + ParsePublicKeyInformation.getPublicKeyInformation(publicKeyType));
-        Log.v(TAG, "Static OOB type: " + ParseStaticOutputOOBInformation.getStaticOOBActionInformationAvailability(staticOOBType));
-        Log.v(TAG, "Output OOB size: " + outputOOBSize);
-        Log.v(TAG, "Output OOB action: " + ParseOutputOOBActions.getOuputOOBActionDescription(outputOOBAction));
-        Log.v(TAG, "Input OOB size: " + inputOOBSize);
-        Log.v(TAG, "Input OOB action: " + ParseInputOOBActions.getInputOOBActionDescription(inputOOBAction));
+        MeshLog.v(TAG, "Number of elements: " + numberOfElements);
+        MeshLog.v(TAG, "Algorithm: " + algorithm);
+        MeshLog.v(TAG, "Public key type: " + ParsePublicKeyInformation.getPublicKeyInformation(publicKeyType));
+        MeshLog.v(TAG, "Static OOB type: " + ParseStaticOutputOOBInformation.getStaticOOBActionInformationAvailability(staticOOBType));
+        MeshLog.v(TAG, "Output OOB size: " + outputOOBSize);
+        MeshLog.v(TAG, "Output OOB action: " + ParseOutputOOBActions.getOuputOOBActionDescription(outputOOBAction));
+        MeshLog.v(TAG, "Input OOB size: " + inputOOBSize);
+        MeshLog.v(TAG, "Input OOB action: " + ParseInputOOBActions.getInputOOBActionDescription(inputOOBAction));
 
         return true;
     }
@@ -1,29 +1,26 @@
 package no.nordicsemi.android.meshprovisioner.states;
 
-import android.text.TextUtils;
-import android.util.Log;
-
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 
 import no.nordicsemi.android.meshprovisioner.InternalTransportCallbacks;
-import no.nordicsemi.android.meshprovisioner.MeshManagerApi;
-import no.nordicsemi.android.meshprovisioner.MeshProvisioningHandler;
 import no.nordicsemi.android.meshprovisioner.MeshProvisioningStatusCallbacks;
-import no.nordicsemi.android.meshprovisioner.utils.MeshParserUtils;
+import no.nordicsemi.android.meshprovisioner.ProvisioningSession;
+import no.nordicsemi.android.meshprovisioner.platform.MeshLog;
+import no.nordicsemi.android.meshprovisioner.utils.HexUtils;
 import no.nordicsemi.android.meshprovisioner.utils.SecureUtils;
 
 public class ProvisioningConfirmation extends ProvisioningState {
 
     private final String TAG = ProvisioningConfirmation.class.getSimpleName();
 
-    private final MeshProvisioningHandler pduHandler;
+    private final ProvisioningSession pduHandler;
     private final UnprovisionedMeshNode mUnprovisionedMeshNode;
     private final MeshProvisioningStatusCallbacks mMeshProvisioningStatusCallbacks;
     private final InternalTransportCallbacks mInternalTransportCallbacks;
     private String pin;
 
-    public ProvisioningConfirmation(final MeshProvisioningHandler pduHandler, final UnprovisionedMeshNode unprovisionedMeshNode, final InternalTransportCallbacks mInternalTransportCallbacks, final MeshProvisioningStatusCallbacks meshProvisioningStatusCallbacks) {
+    public ProvisioningConfirmation(final ProvisioningSession pduHandler, final UnprovisionedMeshNode unprovisionedMeshNode, final InternalTransportCallbacks mInternalTransportCallbacks, final MeshProvisioningStatusCallbacks meshProvisioningStatusCallbacks) {
         super();
         this.pduHandler = pduHandler;
         this.mUnprovisionedMeshNode = unprovisionedMeshNode;
@@ -44,7 +41,7 @@ public class ProvisioningConfirmation extends ProvisioningState {
     public void executeSend() {
 
         final byte[] provisioningConfirmationPDU;
-        if (!TextUtils.isEmpty(pin)) {
+        if (pin != null && !pin.isEmpty()) {
             provisioningConfirmationPDU = createProvisioningConfirmation(pin.getBytes());
         } else {
             provisioningConfirmationPDU = createProvisioningConfirmation(null);
@@ -63,27 +60,27 @@ public class ProvisioningConfirmation extends ProvisioningState {
     private byte[] createProvisioningConfirmation(final byte[] userInput) {
 
         final byte[] confirmationInputs = pduHandler.generateConfirmationInputs();
-        Log.v(TAG, "Confirmation inputs: " + MeshParserUtils.bytesToHex(confirmationInputs, false));
+        MeshLog.v(TAG, "Confirmation inputs: " + HexUtils.bytesToHex(confirmationInputs, false));
 
         //Generate a confirmation salt of the confirmation inputs
         final byte[] confirmationSalt = SecureUtils.calculateSalt(confirmationInputs);
-        Log.v(TAG, "Confirmation salt: " + MeshParserUtils.bytesToHex(confirmationSalt, false));
+        MeshLog.v(TAG, "Confirmation salt: " + HexUtils.bytesToHex(confirmationSalt, false));
 
         final byte[] ecdhSecret = mUnprovisionedMeshNode.getSharedECDHSecret();
 
         //Generate the confirmationKey by calculating the K1 of ECDH, confirmationSalt and ASCII value of "prck".
         final byte[] confirmationKey = SecureUtils.calculateK1(ecdhSecret, confirmationSalt, SecureUtils.PRCK);
-        Log.v(TAG, "Confirmation key: " + MeshParserUtils.bytesToHex(confirmationKey, false));
+        MeshLog.v(TAG, "Confirmation key: " + HexUtils.bytesToHex(confirmationKey, false));
 
         //Generate provisioner random number
         final byte[] provisionerRandom = SecureUtils.generateRandomNumber();
         mUnprovisionedMeshNode.setProvisionerRandom(provisionerRandom);
-        Log.v(TAG, "Provisioner random: " + MeshParserUtils.bytesToHex(provisionerRandom, false));
+        MeshLog.v(TAG, "Provisioner random: " + HexUtils.bytesToHex(provisionerRandom, false));
 
         //Generate authentication value from the user input pin
         final byte[] authenticationValue = generateAuthenticationValue(userInput);
         mUnprovisionedMeshNode.setAuthenticationValue(authenticationValue);
-        Log.v(TAG, "Authentication value: " + MeshParserUtils.bytesToHex(authenticationValue, false));
+        MeshLog.v(TAG, "Authentication value: " + HexUtils.bytesToHex(authenticationValue, false));
 
         ByteBuffer buffer = ByteBuffer.allocate(provisionerRandom.length + authenticationValue.length);
         buffer.put(provisionerRandom);
@@ -93,10 +90,10 @@ public class ProvisioningConfirmation extends ProvisioningState {
         final byte[] confirmationValue = SecureUtils.calculateCMAC(confirmationData, confirmationKey);
 
         buffer = ByteBuffer.allocate(confirmationValue.length + 2);
-        buffer.put(new byte[]{MeshManagerApi.PDU_TYPE_PROVISIONING, TYPE_PROVISIONING_CONFIRMATION});
+        buffer.put(new byte[]{PDU_TYPE_PROVISIONING, TYPE_PROVISIONING_CONFIRMATION});
         buffer.put(confirmationValue);
         final byte[] provisioningConfirmationPDU = buffer.array();
-        Log.v(TAG, "Provisioning confirmation: " + MeshParserUtils.bytesToHex(provisioningConfirmationPDU, false));
+        MeshLog.v(TAG, "Provisioning confirmation: " + HexUtils.bytesToHex(provisioningConfirmationPDU, false));
 
         return provisioningConfirmationPDU;
     }
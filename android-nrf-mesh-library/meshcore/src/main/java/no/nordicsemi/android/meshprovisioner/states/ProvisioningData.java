@@ -1,14 +1,12 @@
 package no.nordicsemi.android.meshprovisioner.states;
 
-import android.util.Log;
-
 import java.nio.ByteBuffer;
 
 import no.nordicsemi.android.meshprovisioner.InternalTransportCallbacks;
-import no.nordicsemi.android.meshprovisioner.MeshManagerApi;
-import no.nordicsemi.android.meshprovisioner.MeshProvisioningHandler;
 import no.nordicsemi.android.meshprovisioner.MeshProvisioningStatusCallbacks;
-import no.nordicsemi.android.meshprovisioner.utils.MeshParserUtils;
+import no.nordicsemi.android.meshprovisioner.ProvisioningSession;
+import no.nordicsemi.android.meshprovisioner.platform.MeshLog;
+import no.nordicsemi.android.meshprovisioner.utils.HexUtils;
 import no.nordicsemi.android.meshprovisioner.utils.SecureUtils;
 
 public class ProvisioningData extends ProvisioningState {
@@ -16,10 +14,10 @@ public class ProvisioningData extends ProvisioningState {
     private final String TAG = ProvisioningRandomConfirmation.class.getSimpleName();
     private final UnprovisionedMeshNode mUnprovisionedMeshNode;
     private final MeshProvisioningStatusCallbacks mMeshProvisioningStatusCallbacks;
-    private final MeshProvisioningHandler pduHandler;
+    private final ProvisioningSession pduHandler;
     private final InternalTransportCallbacks mInternalTransportCallbacks;
 
-    public ProvisioningData(final MeshProvisioningHandler pduHandler, final UnprovisionedMeshNode unprovisionedMeshNode, final InternalTransportCallbacks mInternalTransportCallbacks, final MeshProvisioningStatusCallbacks meshProvisioningStatusCallbacks) {
+    public ProvisioningData(final ProvisioningSession pduHandler, final UnprovisionedMeshNode unprovisionedMeshNode, final InternalTransportCallbacks mInternalTransportCallbacks, final MeshProvisioningStatusCallbacks meshProvisioningStatusCallbacks) {
         super();
         this.pduHandler = pduHandler;
         this.mUnprovisionedMeshNode = unprovisionedMeshNode;
@@ -51,44 +49,44 @@ public class ProvisioningData extends ProvisioningState {
     private byte[] createProvisioningDataPDU() {
 
         final byte[] provisioningSalt = generateProvisioningSalt();
-        Log.v(TAG, "Provisioning salt: " + MeshParserUtils.bytesToHex(provisioningSalt, false));
+        MeshLog.v(TAG, "Provisioning salt: " + HexUtils.bytesToHex(provisioningSalt, false));
 
         final byte[] ecdh = mUnprovisionedMeshNode.getSharedECDHSecret();
 
         final byte[] t = SecureUtils.calculateCMAC(ecdh, provisioningSalt);
         /* Calculating the session key */
         final byte[] sessionKey = SecureUtils.calculateCMAC(SecureUtils.PRSK, t);
-        Log.v(TAG, "Session key: " + MeshParserUtils.bytesToHex(sessionKey, false));
+        MeshLog.v(TAG, "Session key: " + HexUtils.bytesToHex(sessionKey, false));
 
         /* Calculate the Session nonce */
         final byte[] sessionNonce = generateSessionNonce(ecdh, provisioningSalt);
-        Log.v(TAG, "Session nonce: " + MeshParserUtils.bytesToHex(sessionNonce, false));
+        MeshLog.v(TAG, "Session nonce: " + HexUtils.bytesToHex(sessionNonce, false));
 
         /* Calculate the Device key */
         final byte[] deviceKey = SecureUtils.calculateCMAC(SecureUtils.PRDK, t);
-        Log.v(TAG, "Device key: " + MeshParserUtils.bytesToHex(deviceKey, false));
+        MeshLog.v(TAG, "Device key: " + HexUtils.bytesToHex(deviceKey, false));
         mUnprovisionedMeshNode.setDeviceKey(deviceKey);
 
         /* Generate 16 byte Random network key */
         final byte[] networkKey = mUnprovisionedMeshNode.getNetworkKey();
-        Log.v(TAG, "Network key: " + MeshParserUtils.bytesToHex(networkKey, false));
+        MeshLog.v(TAG, "Network key: " + HexUtils.bytesToHex(networkKey, false));
 
         /* Generate random 2 byte Key index*/
         final byte[] keyIndex = mUnprovisionedMeshNode.getKeyIndex();
-        Log.v(TAG, "Key index: " + MeshParserUtils.bytesToHex(keyIndex, false));
+        MeshLog.v(TAG, "Key index: " + HexUtils.bytesToHex(keyIndex, false));
 
         /* Generate random 1 byte Flags */
         byte[] flags = mUnprovisionedMeshNode.getFlags();
-        Log.v(TAG, "Flags: " + MeshParserUtils.bytesToHex(flags, false));
+        MeshLog.v(TAG, "Flags: " + HexUtils.bytesToHex(flags, false));
 
         /* Generate random 4 byte IV Index */
         final byte[] ivIndex = mUnprovisionedMeshNode.getIvIndex();
-        Log.v(TAG, "IV index: " + MeshParserUtils.bytesToHex(ivIndex, false));
+        MeshLog.v(TAG, "IV index: " + HexUtils.bytesToHex(ivIndex, false));
 
         /* Generate random 2 byte unicast address*/
         final byte[] unicastAddress = mUnprovisionedMeshNode.getUnicastAddress();
 
-        Log.v(TAG, "Unicast address: " + MeshParserUtils.bytesToHex(unicastAddress, false));
+        MeshLog.v(TAG, "Unicast address: " + HexUtils.bytesToHex(unicastAddress, false));
         ByteBuffer buffer = ByteBuffer.allocate(networkKey.length + keyIndex.length + flags.length + ivIndex.length + unicastAddress.length);
         buffer.put(networkKey);
         buffer.put(keyIndex);
@@ -97,18 +95,18 @@ public class ProvisioningData extends ProvisioningState {
         buffer.put(unicastAddress);
 
         final byte[] provisioningData = buffer.array();
-        Log.v(TAG, "Provisioning data: " + MeshParserUtils.bytesToHex(provisioningData, false));
+        MeshLog.v(TAG, "Provisioning data: " + HexUtils.bytesToHex(provisioningData, false));
 
         final byte[] encryptedProvisioningData = SecureUtils.encryptCCM(provisioningData, sessionKey, sessionNonce, 8);
-        Log.v(TAG, "Encrypted provisioning data: " + MeshParserUtils.bytesToHex(encryptedProvisioningData, false));
+        MeshLog.v(TAG, "Encrypted provisioning data: " + HexUtils.bytesToHex(encryptedProvisioningData, false));
 
         buffer = ByteBuffer.allocate(2 + encryptedProvisioningData.length);
-        buffer.put(MeshManagerApi.PDU_TYPE_PROVISIONING);
+        buffer.put(PDU_TYPE_PROVISIONING);
         buffer.put(TYPE_PROVISIONING_DATA);
         buffer.put(encryptedProvisioningData);
 
         final byte[] provisioningPDU = buffer.array();
-        Log.v(TAG, "Prov Data: " + MeshParserUtils.bytesToHex(provisioningPDU, false));
+        MeshLog.v(TAG, "Prov Data: " + HexUtils.bytesToHex(provisioningPDU, false));
         return provisioningPDU;
     }
 
@@ -1,16 +1,10 @@
 package no.nordicsemi.android.meshprovisioner.states;
 
-import android.content.Context;
-
-import no.nordicsemi.android.meshprovisioner.R;
-
 public class ProvisioningFailed extends ProvisioningState {
 
-    private final Context mContext;
     private final UnprovisionedMeshNode mUnprovisionedMeshNode;
-    public ProvisioningFailed(final Context context, final UnprovisionedMeshNode unprovisionedMeshNode) {
+    public ProvisioningFailed(final UnprovisionedMeshNode unprovisionedMeshNode) {
         super();
-        this.mContext = context;
         this.mUnprovisionedMeshNode = unprovisionedMeshNode;
     }
 
@@ -34,26 +28,26 @@ public class ProvisioningFailed extends ProvisioningState {
         final int errorCode = pdu[2];
         switch (ProvisioningFailureCode.fromErrorCode(errorCode)) {
             case PROHIBITED:
-                return mContext.getString(R.string.error_prohibited);
+                return "Prohibited!";
             case INVALID_PDU:
-                return mContext.getString(R.string.error_invalid_pdu);
+                return "The provisioning protocol PDU is not recognized by the device!";
             case INVALID_FORMAT:
-                return mContext.getString(R.string.error_invalid_format);
+                return "The arguments of the protocol PDUs are outside expected values or the length of the PDU is different than expected!";
             case UNEXPECTED_PDU:
-                return mContext.getString(R.string.error_prohibited);
+                return "Prohibited!";
             case CONFIRMATION_FAILED:
-                return mContext.getString(R.string.error_confirmation_failed);
+                return "The computed confirmation value was not successfully verified!";
             case OUT_OF_RESOURCES:
-                return mContext.getString(R.string.error_prohibited);
+                return "Prohibited!";
             case DECRYPTION_FAILED:
-                return mContext.getString(R.string.error_decryption_failed);
+                return "The Data block was not successfully decrypted!";
             case UNEXPECTED_ERROR:
-                return mContext.getString(R.string.error_unexpected_error);
+                return "An unexpected error occurred that may not be recoverable!";
             case CANNOT_ASSIGN_ADDRESSES:
-                return mContext.getString(R.string.error_cannot_assign_addresses);
+                return "The device cannot assign consecutive unicast addresses to all elements!";
             case UNKNOWN_ERROR_CODE:
             default:
-                return mContext.getString(R.string.error_rfu);
+                return "Reserved for Future Use!";
         }
     }
 
@@ -1,7 +1,6 @@
 package no.nordicsemi.android.meshprovisioner.states;
 
 import no.nordicsemi.android.meshprovisioner.InternalTransportCallbacks;
-import no.nordicsemi.android.meshprovisioner.MeshManagerApi;
 import no.nordicsemi.android.meshprovisioner.MeshProvisioningStatusCallbacks;
 
 public class ProvisioningInputComplete extends ProvisioningState {
@@ -36,7 +35,7 @@ public class ProvisioningInputComplete extends ProvisioningState {
 
     private byte[] createProvisioningInputComplete() {
         final byte[] provisioningPDU = new byte[2];
-        provisioningPDU[0] = MeshManagerApi.PDU_TYPE_PROVISIONING;
+        provisioningPDU[0] = PDU_TYPE_PROVISIONING;
         provisioningPDU[1] = TYPE_PROVISIONING_INPUT_COMPLETE;
         return provisioningPDU;
     }
@@ -1,7 +1,6 @@
 package no.nordicsemi.android.meshprovisioner.states;
 
 import no.nordicsemi.android.meshprovisioner.InternalTransportCallbacks;
-import no.nordicsemi.android.meshprovisioner.MeshManagerApi;
 import no.nordicsemi.android.meshprovisioner.MeshProvisioningStatusCallbacks;
 
 public class ProvisioningInvite extends ProvisioningState {
@@ -43,7 +42,7 @@ public class ProvisioningInvite extends ProvisioningState {
     private byte[] createInvitePDU() {
 
         final byte[] data = new byte[3];
-        data[0] = MeshManagerApi.PDU_TYPE_PROVISIONING; //Provisioning Opcode;
+        data[0] = PDU_TYPE_PROVISIONING; //Provisioning Opcode;
         data[1] = TYPE_PROVISIONING_INVITE; //PDU type in
         data[2] = (byte) attentionTimer;
         return data;
@@ -0,0 +1,118 @@
+package no.nordicsemi.android.meshprovisioner.states;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+
+import no.nordicsemi.android.meshprovisioner.InternalTransportCallbacks;
+import no.nordicsemi.android.meshprovisioner.MeshProvisioningStatusCallbacks;
+import no.nordicsemi.android.meshprovisioner.platform.MeshLog;
+import no.nordicsemi.android.meshprovisioner.utils.EcdhKeyPairPool;
+import no.nordicsemi.android.meshprovisioner.utils.HexUtils;
+
+public class ProvisioningPublicKey extends ProvisioningState {
+
+    private static final int PROVISIONING_PUBLIC_KEY_XY_PDU_LENGTH = 69;
+    private final String TAG = ProvisioningPublicKey.class.getSimpleName();
+    private final byte[] publicKeyXY = new byte[PROVISIONING_PUBLIC_KEY_XY_PDU_LENGTH];
+    private final MeshProvisioningStatusCallbacks mMeshProvisioningStatusCallbacks;
+    private final UnprovisionedMeshNode mUnprovisionedMeshNode;
+    private final InternalTransportCallbacks mInternalTransportCallbacks;
+
+    private byte[] mTempProvisioneeXY;
+    private int segmentCount = 0;
+    private PrivateKey mProvisionerPrivaetKey;
+
+
+    public ProvisioningPublicKey(final UnprovisionedMeshNode unprovisionedMeshNode, final InternalTransportCallbacks mInternalTransportCallbacks, final MeshProvisioningStatusCallbacks meshProvisioningStatusCallbacks) {
+        super();
+        this.mUnprovisionedMeshNode = unprovisionedMeshNode;
+        this.mMeshProvisioningStatusCallbacks = meshProvisioningStatusCallbacks;
+        this.mInternalTransportCallbacks = mInternalTransportCallbacks;
+    }
+
+    @Override
+    public State getState() {
+        return State.PROVISIONING_PUBLIC_KEY;
+    }
+
+    @Override
+    public void executeSend() {
+        generateKeyPairs();
+        mMeshProvisioningStatusCallbacks.onProvisioningPublicKeySent(mUnprovisionedMeshNode);
+        mInternalTransportCallbacks.sendPdu(mUnprovisionedMeshNode, generatePublicKeyXYPDU());
+    }
+
+    @Override
+    public boolean parseData(final byte[] data) {
+        mMeshProvisioningStatusCallbacks.onProvisioningPublicKeyReceived(mUnprovisionedMeshNode);
+        generateSharedECDHSecret(data);
+        return true;
+    }
+
+    private void generateKeyPairs() {
+
+        try {
+            //Key pairs are generated ahead of time by the pool so the public key can be sent right away
+            final KeyPair keyPair = EcdhKeyPairPool.getInstance().take();
+            mProvisionerPrivaetKey = keyPair.getPrivate();
+
+            final byte[] tempXY = EcdhKeyPairPool.getPublicKeyXY(keyPair);
+            mUnprovisionedMeshNode.setProvisionerPublicKeyXY(tempXY);
+
+            MeshLog.v(TAG, "XY: " + HexUtils.bytesToHex(tempXY, true));
+
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    private byte[] generatePublicKeyXYPDU() {
+
+        final byte[] tempXY = mUnprovisionedMeshNode.getProvisionerPublicKeyXY();
+
+        ByteBuffer buffer = ByteBuffer.allocate(tempXY.length + 2);
+        buffer.put(PDU_TYPE_PROVISIONING);
+        buffer.put(TYPE_PROVISIONING_PUBLIC_KEY);
+        buffer.put(tempXY);
+
+        return buffer.array();
+    }
+
+    private void generateSharedECDHSecret(final byte[] provisioneePublicKeyXYPDU) {
+        final ByteBuffer buffer = ByteBuffer.allocate(provisioneePublicKeyXYPDU.length - 2);
+        buffer.put(provisioneePublicKeyXYPDU, 2, buffer.limit());
+        final byte[] xy = mTempProvisioneeXY = buffer.array();
+        mUnprovisionedMeshNode.setProvisioneePublicKeyXY(xy);
+
+        final byte[] xComponent = new byte[32];
+        System.arraycopy(xy, 0, xComponent, 0, xComponent.length);
+
+        final byte[] yComponent = new byte[32];
+        System.arraycopy(xy, 32, yComponent, 0, xComponent.length);
+
+        final byte[] provisioneeX = convertToLittleEndian(xComponent, ByteOrder.LITTLE_ENDIAN);
+        MeshLog.v(TAG, "Provsionee X: " + HexUtils.bytesToHex(provisioneeX, false));
+
+        final byte[] provisioneeY = convertToLittleEndian(yComponent, ByteOrder.LITTLE_ENDIAN);
+        MeshLog.v(TAG, "Provsionee Y: " + HexUtils.bytesToHex(provisioneeY, false));
+
+        try {
+            final byte[] sharedECDHSecret = EcdhKeyPairPool.getInstance().generateSharedSecret(mProvisionerPrivaetKey, xy);
+            mUnprovisionedMeshNode.setSharedECDHSecret(sharedECDHSecret);
+            MeshLog.v(TAG, "ECDH Secret: " + HexUtils.bytesToHex(sharedECDHSecret, false));
+
+        } catch (GeneralSecurityException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private byte[] convertToLittleEndian(final byte[] data, final ByteOrder order) {
+        ByteBuffer buffer = ByteBuffer.allocate(data.length);
+        buffer.order(order);
+        buffer.put(data);
+        return buffer.array();
+    }
+}
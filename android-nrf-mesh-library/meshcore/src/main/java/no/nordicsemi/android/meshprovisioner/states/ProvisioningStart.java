@@ -1,11 +1,9 @@
 package no.nordicsemi.android.meshprovisioner.states;
 
-import android.util.Log;
-
 import no.nordicsemi.android.meshprovisioner.InternalTransportCallbacks;
-import no.nordicsemi.android.meshprovisioner.MeshManagerApi;
 import no.nordicsemi.android.meshprovisioner.MeshProvisioningStatusCallbacks;
-import no.nordicsemi.android.meshprovisioner.utils.MeshParserUtils;
+import no.nordicsemi.android.meshprovisioner.platform.MeshLog;
+import no.nordicsemi.android.meshprovisioner.utils.HexUtils;
 import no.nordicsemi.android.meshprovisioner.utils.ParseInputOOBActions;
 import no.nordicsemi.android.meshprovisioner.utils.ParseOutputOOBActions;
 import no.nordicsemi.android.meshprovisioner.utils.ParseProvisioningAlgorithm;
@@ -52,14 +50,14 @@ public class ProvisioningStart extends ProvisioningState {
 
     private byte[] createProvisioningStartPDU() {
         final byte[] provisioningPDU = new byte[7];
-        provisioningPDU[0] = MeshManagerApi.PDU_TYPE_PROVISIONING;
+        provisioningPDU[0] = PDU_TYPE_PROVISIONING;
         provisioningPDU[1] = TYPE_PROVISIONING_START;
         provisioningPDU[2] = ParseProvisioningAlgorithm.getAlgorithmValue(algorithm);
         provisioningPDU[3] = 0;//(byte) publicKeyType;
         provisioningPDU[4] = getAuthenticationMethod(); //So far its Output OOB
         provisioningPDU[5] = (byte) ParseOutputOOBActions.getOuputOOBActionValue(outputOOBAction);
         provisioningPDU[6] = (byte) outputOOBSize;
-        Log.v(TAG, "Provisioning start PDU: " + MeshParserUtils.bytesToHex(provisioningPDU, true));
+        MeshLog.v(TAG, "Provisioning start PDU: " + HexUtils.bytesToHex(provisioningPDU, true));
 
         return provisioningPDU;
     }
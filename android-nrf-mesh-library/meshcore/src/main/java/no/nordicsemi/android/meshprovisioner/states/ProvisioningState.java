@@ -2,6 +2,10 @@ package no.nordicsemi.android.meshprovisioner.states;
 
 public abstract class ProvisioningState {
 
+    /**
+     * Proxy pdu type of the provisioning pdus
+     */
+    public static final byte PDU_TYPE_PROVISIONING = 0x03;
     static final byte TYPE_PROVISIONING_INVITE = 0x00;
     static final byte TYPE_PROVISIONING_CAPABILITIES = 0x01;
     static final byte TYPE_PROVISIONING_START = 0x02;
@@ -0,0 +1,81 @@
+package no.nordicsemi.android.meshprovisioner.states;
+
+import no.nordicsemi.android.meshprovisioner.BaseMeshNode;
+
+
+public final class UnprovisionedMeshNode extends BaseMeshNode {
+
+    private static final String TAG = UnprovisionedMeshNode.class.getSimpleName();
+
+    public UnprovisionedMeshNode() {
+
+    }
+
+    public final byte[] getSharedECDHSecret() {
+        return sharedECDHSecret;
+    }
+
+    public final void setSharedECDHSecret(final byte[] sharedECDHSecret) {
+        this.sharedECDHSecret = sharedECDHSecret;
+    }
+
+    public final byte[] getProvisionerPublicKeyXY() {
+        return provisionerPublicKeyXY;
+    }
+
+    public final void setProvisionerPublicKeyXY(final byte[] rawProvisionerKey) {
+        this.provisionerPublicKeyXY = rawProvisionerKey;
+    }
+
+    public final byte[] getProvisioneePublicKeyXY() {
+        return provisioneePublicKeyXY;
+    }
+
+    public final void setProvisioneePublicKeyXY(final byte[] provisioneePublicKeyXY) {
+        this.provisioneePublicKeyXY = provisioneePublicKeyXY;
+    }
+
+    public final byte[] getProvisionerRandom() {
+        return provisionerRandom;
+    }
+
+    public final void setProvisionerRandom(final byte[] provisionerRandom) {
+        this.provisionerRandom = provisionerRandom;
+    }
+
+    public final byte[] getProvisioneeConfirmation() {
+        return provisioneeConfirmation;
+    }
+
+    public final void setProvisioneeConfirmation(final byte[] provisioneeConfirmation) {
+        this.provisioneeConfirmation = provisioneeConfirmation;
+    }
+
+    public final byte[] getAuthenticationValue() {
+        return authenticationValue;
+    }
+
+    public final void setAuthenticationValue(final byte[] authenticationValue) {
+        this.authenticationValue = authenticationValue;
+    }
+
+    public final byte[] getProvisioneeRandom() {
+        return provisioneeRandom;
+    }
+
+    public final void setProvisioneeRandom(final byte[] provisioneeRandom) {
+        this.provisioneeRandom = provisioneeRandom;
+    }
+
+    public final void setNetworkKey(final byte[] networkKey) {
+        this.networkKey = networkKey;
+    }
+
+    protected final void setDeviceKey(final byte[] deviceKey) {
+        this.deviceKey = deviceKey;
+    }
+
+    public final void setProvisionedTime(final long timeStampInMillis) {
+        mTimeStampInMillis = timeStampInMillis;
+    }
+}
@@ -1,8 +1,5 @@
 package no.nordicsemi.android.meshprovisioner.transport;
 
-import android.support.annotation.VisibleForTesting;
-import android.util.Log;
-
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.HashMap;
@@ -13,7 +10,10 @@ import no.nordicsemi.android.meshprovisioner.messages.AccessMessage;
 import no.nordicsemi.android.meshprovisioner.messages.ControlMessage;
 import no.nordicsemi.android.meshprovisioner.messages.Message;
 import no.nordicsemi.android.meshprovisioner.opcodes.TransportLayerOpCodes;
-import no.nordicsemi.android.meshprovisioner.utils.MeshParserUtils;
+import no.nordicsemi.android.meshprovisioner.platform.MeshLog;
+import no.nordicsemi.android.meshprovisioner.utils.AddressUtils;
+import no.nordicsemi.android.meshprovisioner.utils.HexUtils;
+import no.nordicsemi.android.meshprovisioner.utils.PduUtils;
 
 public abstract class LowerTransportLayer extends UpperTransportLayer {
 
@@ -25,22 +25,105 @@ public abstract class LowerTransportLayer extends UpperTransportLayer {
     private static final int UNSEGMENTED_MESSAGE_HEADER_LENGTH = 1;
     private static final int SEGMENTED_MESSAGE_HEADER_LENGTH = 4;
 
-    private static final int UNSEGMENTED_ACK_MESSAGE_HEADER_LENGTH = 3;
+    //Created when first needed unless shared reassemblers and a shared transmitter are set
+    private SegmentReassembler mAccessReassembler;
+    private SegmentReassembler mControlReassembler;
+    private SegmentTransmitter mSegmentTransmitter;
+    private final SegmentTransmitter.Listener mSegmentTransmitterListener = new SegmentTransmitter.Listener() {
+        @Override
+        public void onDelivered(final SegmentTransmitter.OutgoingMessage outgoingMessage) {
+            TransportMetrics.increment(TransportMetrics.SEGMENTED_MESSAGES_DELIVERED);
+            if (mLowerTransportLayerCallbacks != null) {
+                mLowerTransportLayerCallbacks.onSegmentedMessageDelivered(outgoingMessage.getMessage());
+            }
+        }
 
-    private final Map<Integer, byte[]> segmentedAccessMessageMap = new HashMap<>();
-    private final Map<Integer, byte[]> segmentedControlMessageMap = new HashMap<>();
+        @Override
+        public void onSegmentsMissing(final SegmentTransmitter.OutgoingMessage outgoingMessage) {
+            retransmitMissingSegments(outgoingMessage);
+            startSegmentTransmissionTimer(outgoingMessage);
+        }
 
-    private LowerTransportLayerCallbacks mLowerTransportLayerCallbacks;
-    private boolean mSegmentedAccessAcknowledgementTimerStarted;
-    private Integer mSegmentedAccessBlockAck;
+        @Override
+        public void onFailed(final SegmentTransmitter.OutgoingMessage outgoingMessage) {
+            TransportMetrics.increment(TransportMetrics.SEGMENTED_MESSAGES_FAILED);
+            if (mLowerTransportLayerCallbacks != null) {
+                mLowerTransportLayerCallbacks.onSegmentedMessageFailed(outgoingMessage.getMessage());
+            }
+        }
+    };
 
-    private boolean mSegmentedControlAcknowledgementTimerStarted;
-    private Integer mSegmentedControlBlockAck;
+    private LowerTransportLayerCallbacks mLowerTransportLayerCallbacks;
 
     protected void setCallbacks(final LowerTransportLayerCallbacks callbacks) {
         mLowerTransportLayerCallbacks = callbacks;
     }
 
+    /**
+     * Sets the segment transmitter shared by the transports sending to the same bearer
+     * <p>
+     * Block acknowledgements are applied to the shared transmitter and passed on to the transport that sent the message,
+     * even when they are parsed by another transport.
+     * </p>
+     *
+     * @param segmentTransmitter segment transmitter
+     */
+    protected void setSegmentTransmitter(final SegmentTransmitter segmentTransmitter) {
+        mSegmentTransmitter = segmentTransmitter;
+    }
+
+    /**
+     * Sets the segment reassemblers shared by the transports receiving from the same bearer
+     * <p>
+     * Segments of a message are reassembled whichever transport parses them, and the messages of several nodes are
+     * reassembled at the same time.
+     * </p>
+     *
+     * @param accessReassembler  reassembler of segmented access messages, see {@link #createAccessReassembler()}
+     * @param controlReassembler reassembler of segmented control messages, see {@link #createControlReassembler()}
+     */
+    protected void setSegmentReassemblers(final SegmentReassembler accessReassembler, final SegmentReassembler controlReassembler) {
+        mAccessReassembler = accessReassembler;
+        mControlReassembler = controlReassembler;
+    }
+
+    /**
+     * Creates a reassembler of segmented access messages
+     */
+    public static SegmentReassembler createAccessReassembler() {
+        return new SegmentReassembler(MAX_SEGMENTED_ACCESS_PAYLOAD_LENGTH,
+                SegmentReassembler.DEFAULT_MAX_REASSEMBLIES, SegmentReassembler.DEFAULT_INCOMPLETE_TIMEOUT);
+    }
+
+    /**
+     * Creates a reassembler of segmented control messages
+     */
+    public static SegmentReassembler createControlReassembler() {
+        return new SegmentReassembler(MAX_SEGMENTED_CONTROL_PAYLOAD_LENGTH,
+                SegmentReassembler.DEFAULT_MAX_REASSEMBLIES, SegmentReassembler.DEFAULT_INCOMPLETE_TIMEOUT);
+    }
+
+    private SegmentTransmitter getSegmentTransmitter() {
+        if (mSegmentTransmitter == null) {
+            mSegmentTransmitter = new SegmentTransmitter();
+        }
+        return mSegmentTransmitter;
+    }
+
+    private SegmentReassembler getAccessReassembler() {
+        if (mAccessReassembler == null) {
+            mAccessReassembler = createAccessReassembler();
+        }
+        return mAccessReassembler;
+    }
+
+    private SegmentReassembler getControlReassembler() {
+        if (mControlReassembler == null) {
+            mControlReassembler = createControlReassembler();
+        }
+        return mControlReassembler;
+    }
+
     @Override
     void createMeshMessage(final Message message) {
         if(message instanceof AccessMessage) {
@@ -52,7 +135,6 @@ public abstract class LowerTransportLayer extends UpperTransportLayer {
     }
 
     @Override
-    @VisibleForTesting(otherwise = VisibleForTesting.PROTECTED)
     public final void createLowerTransportAccessPDU(final AccessMessage message) {
         final byte[] upperTransportPDU = message.getUpperTransportPdu();
         final HashMap<Integer, byte[]> lowerTransportAccessPduMap;
@@ -61,38 +143,44 @@ public abstract class LowerTransportLayer extends UpperTransportLayer {
             final byte[] lowerTransportPDU = createUnsegmentedAccessMessage(message);
             lowerTransportAccessPduMap = new HashMap<>();
             lowerTransportAccessPduMap.put(0, lowerTransportPDU);
+            TransportMetrics.increment(TransportMetrics.UNSEGMENTED_PDUS_OUT);
         } else {
             message.setSegmented(true);
             lowerTransportAccessPduMap = createSegmentedAccessMessage(message);
+            TransportMetrics.add(TransportMetrics.SEGMENTS_OUT, lowerTransportAccessPduMap.size());
         }
 
         message.setLowerTransportAccessPdu(lowerTransportAccessPduMap);
     }
 
     @Override
-    @VisibleForTesting(otherwise = VisibleForTesting.PROTECTED)
     public final void createLowerTransportControlPDU(final ControlMessage message) {
         final byte[] transportControlPdu = message.getTransportControlPdu();
         if (transportControlPdu.length <= MAX_UNSEGMENTED_CONTROL_PAYLOAD_LENGTH) {
-            Log.v(TAG, "Creating unsegmented transport control");
+            MeshLog.v(TAG, "Creating unsegmented transport control");
             createUnsegmentedControlMessage(message);
+            TransportMetrics.increment(TransportMetrics.UNSEGMENTED_PDUS_OUT);
         } else {
-            Log.v(TAG, "Creating segmented transport control");
-            createSegmentedControlMessage(message);
+            MeshLog.v(TAG, "Creating segmented transport control");
+            TransportMetrics.add(TransportMetrics.SEGMENTS_OUT, createSegmentedControlMessage(message).size());
         }
     }
 
     @Override
     final void reassembleLowerTransportAccessPDU(final AccessMessage accessMessage) {
+        if (accessMessage.isSegmented()) {
+            //Segmented messages are reassembled in to the upper transport pdu as the segments are received
+            return;
+        }
         final HashMap<Integer, byte[]> lowerTransportAccessPdu = removeLowerTransportAccessMessageHeader(accessMessage);
-        final byte[] upperTransportPdu = MeshParserUtils.concatenateSegmentedMessages(lowerTransportAccessPdu);
+        final byte[] upperTransportPdu = PduUtils.concatenateSegmentedMessages(lowerTransportAccessPdu);
         accessMessage.setUpperTransportPdu(upperTransportPdu);
     }
 
     @Override
     final void reassembleLowerTransportControlPDU(final ControlMessage controlMessage) {
         final HashMap<Integer, byte[]> lowerTransportPdu = removeLowerTransportControlMessageHeader(controlMessage);
-        final byte[] lowerTransportControlPdu = MeshParserUtils.concatenateSegmentedMessages(lowerTransportPdu);
+        final byte[] lowerTransportControlPdu = PduUtils.concatenateSegmentedMessages(lowerTransportPdu);
         controlMessage.setTransportControlPdu(lowerTransportControlPdu);
     }
 
@@ -131,21 +219,10 @@ public abstract class LowerTransportLayer extends UpperTransportLayer {
                 messages.put(i, removeHeader(data, 4, length));
             }
         } else {
-            final int opCode = message.getOpCode();
-            final byte[] data;
-            final int length;
-            switch (opCode) {
-                case TransportLayerOpCodes.SAR_ACK_OPCODE:
-                    data = messages.get(0);
-                    length = data.length - UNSEGMENTED_ACK_MESSAGE_HEADER_LENGTH; //header size of unsegmented acknowledgement messages is 3;
-                    messages.put(0, removeHeader(data, UNSEGMENTED_ACK_MESSAGE_HEADER_LENGTH, length));
-                    break;
-                default:
-                    data = messages.get(0);
-                    length = data.length - UNSEGMENTED_MESSAGE_HEADER_LENGTH; //header size of unsegmented messages is 1;
-                    messages.put(0, removeHeader(data, UNSEGMENTED_MESSAGE_HEADER_LENGTH, length));
-                    break;
-            }
+            //The parameters of a segment acknowledgement follow the header, so they are kept as the transport control pdu
+            final byte[] data = messages.get(0);
+            final int length = data.length - UNSEGMENTED_MESSAGE_HEADER_LENGTH; //header size of unsegmented messages is 1;
+            messages.put(0, removeHeader(data, UNSEGMENTED_MESSAGE_HEADER_LENGTH, length));
         }
         return messages;
     }
@@ -183,6 +260,116 @@ public abstract class LowerTransportLayer extends UpperTransportLayer {
      */
     protected abstract Message createNetworkLayerPDU(final Message message);
 
+    /**
+     * Creates a network layer pdu containing a single segment of a segmented message using a new sequence number
+     * @param message segmented message
+     * @param segO    zero based offset of the segment
+     * @return network pdu of the segment
+     */
+    protected abstract byte[] createSegmentRetransmissionPdu(final Message message, final int segO);
+
+    /**
+     * Starts tracking the acknowledgements of a segmented message sent to a unicast address.
+     * <p>
+     * Segments that are not acknowledged are retransmitted when the segment transmission timer fires or when a
+     * block acknowledgement is received with segments missing.
+     * </p>
+     * @param message message that has been created
+     */
+    protected final void startSegmentedMessageTransmission(final Message message) {
+        final Map<Integer, byte[]> lowerTransportPdu = message.getCtl() == 0 ? message.getLowerTransportAccessPdu() : message.getLowerTransportControlPdu();
+        if (lowerTransportPdu == null || lowerTransportPdu.size() < 2)
+            return;
+
+        //Segmented messages sent to group and virtual addresses are not acknowledged
+        final int dst = AddressUtils.getUnicastAddressInt(message.getDst());
+        if ((dst & 0x8000) != 0 || dst == 0)
+            return;
+
+        final byte[] header = lowerTransportPdu.get(0);
+        final int seqZero = ((header[1] & 0x7F) << 6) | ((header[2] & 0xFC) >> 2);
+        final SegmentTransmitter.OutgoingMessage previous = getSegmentTransmitter().add(message, dst, seqZero, lowerTransportPdu.size() - 1,
+                mSegmentTransmitterListener);
+        if (previous != null) {
+            MeshLog.v(TAG, "Segmented message to " + HexUtils.bytesToHex(message.getDst(), true) + " replaced by a new message");
+            if (previous.getListener() != null) {
+                previous.getListener().onFailed(previous);
+            }
+        }
+        startSegmentTransmissionTimer(getSegmentTransmitter().get(dst));
+    }
+
+    /**
+     * Starts the segment transmission timer, any timer already running for the message is cancelled
+     * @param outgoingMessage outgoing segmented message
+     */
+    private void startSegmentTransmissionTimer(final SegmentTransmitter.OutgoingMessage outgoingMessage) {
+        final int generation = outgoingMessage.restartTimer();
+        final int duration = 200 + (50 * outgoingMessage.getMessage().getTtl());
+        mScheduler.postDelayed(() -> {
+            if (getSegmentTransmitter().get(outgoingMessage.getDst()) != outgoingMessage || !outgoingMessage.isCurrentTimer(generation))
+                return;
+
+            if (!outgoingMessage.useRetransmission()) {
+                MeshLog.v(TAG, "Segmented message was not acknowledged, missing segments: " + Integer.toBinaryString(outgoingMessage.getMissingSegments()));
+                getSegmentTransmitter().remove(outgoingMessage.getDst());
+                mSegmentTransmitterListener.onFailed(outgoingMessage);
+                return;
+            }
+            retransmitMissingSegments(outgoingMessage);
+            startSegmentTransmissionTimer(outgoingMessage);
+        }, duration);
+    }
+
+    /**
+     * Retransmits the segments that have not been acknowledged
+     * @param outgoingMessage outgoing segmented message
+     */
+    private void retransmitMissingSegments(final SegmentTransmitter.OutgoingMessage outgoingMessage) {
+        final Message message = outgoingMessage.getMessage();
+        final int missingSegments = outgoingMessage.getMissingSegments();
+        for (int segO = 0; segO <= outgoingMessage.getSegN(); segO++) {
+            if ((missingSegments & (1 << segO)) != 0) {
+                MeshLog.v(TAG, "Retransmitting segment: " + segO);
+                TransportMetrics.increment(TransportMetrics.SEGMENTS_RETRANSMITTED);
+                if (mLowerTransportLayerCallbacks != null) {
+                    mLowerTransportLayerCallbacks.resendSegment(message, createSegmentRetransmissionPdu(message, segO));
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies a block acknowledgement to the outstanding segmented message sent to the node that acknowledged it.
+     * <p>
+     * The outcome is passed on to the transport that sent the message, which may not be this one.
+     * </p>
+     * @param controlMessage  control message containing the acknowledgement
+     * @param acknowledgement block acknowledgement
+     */
+    private void onBlockAcknowledgementReceived(final ControlMessage controlMessage, final BlockAcknowledgementMessage acknowledgement) {
+        final int src = AddressUtils.getUnicastAddressInt(controlMessage.getSrc());
+        final SegmentTransmitter.OutgoingMessage outgoingMessage = getSegmentTransmitter().get(src);
+        final int result = getSegmentTransmitter().onBlockAcknowledgement(src, acknowledgement.getSeqZero(), acknowledgement.getBlockAcknowledgement());
+        if (result == SegmentTransmitter.ACK_IGNORED || outgoingMessage == null || outgoingMessage.getListener() == null)
+            return;
+
+        switch (result) {
+            case SegmentTransmitter.ACK_COMPLETE:
+                outgoingMessage.getListener().onDelivered(outgoingMessage);
+                break;
+            case SegmentTransmitter.ACK_CANCELLED:
+                MeshLog.v(TAG, "Segmented message cancelled by the node");
+                outgoingMessage.getListener().onFailed(outgoingMessage);
+                break;
+            case SegmentTransmitter.ACK_PARTIAL:
+                outgoingMessage.getListener().onSegmentsMissing(outgoingMessage);
+                break;
+            default:
+                break;
+        }
+    }
+
     /**
      * Creates an unsegmented access message.
      * @param message access message.
@@ -209,7 +396,7 @@ public abstract class LowerTransportLayer extends UpperTransportLayer {
         final int akfAid = ((message.getAkf() << 6) | message.getAid());
         final int aszmic = message.getAszmic();
         final byte[] sequenceNumber = message.getSequenceNumber();
-        int seqZero = MeshParserUtils.calculateSeqZero(sequenceNumber);
+        int seqZero = PduUtils.calculateSeqZero(sequenceNumber);
 
         final int numberOfSegments = (encryptedUpperTransportPDU.length + (MAX_SEGMENTED_ACCESS_PAYLOAD_LENGTH - 1)) / MAX_SEGMENTED_ACCESS_PAYLOAD_LENGTH;
         final int segN = numberOfSegments - 1; //Zero based segN
@@ -237,7 +424,6 @@ public abstract class LowerTransportLayer extends UpperTransportLayer {
      * @param message control message.
      * @return unsegmented access message.
      */
-    @VisibleForTesting(otherwise = VisibleForTesting.PROTECTED)
     private byte[] createUnsegmentedControlMessage(final ControlMessage message) {
         int pduLength;
         final ByteBuffer lowerTransportBuffer;
@@ -276,7 +462,7 @@ public abstract class LowerTransportLayer extends UpperTransportLayer {
         final int opCode = controlMessage.getOpCode();
         final int rfu = 0;
         final byte[] sequenceNumber = controlMessage.getSequenceNumber();
-        final int seqZero = MeshParserUtils.calculateSeqZero(sequenceNumber);
+        final int seqZero = PduUtils.calculateSeqZero(sequenceNumber);
 
         final int numberOfSegments = (upperTransportControlPDU.length  + (MAX_SEGMENTED_CONTROL_PAYLOAD_LENGTH - 1)) / MAX_SEGMENTED_CONTROL_PAYLOAD_LENGTH;
         final int segN = numberOfSegments - 1; //Zero based segN
@@ -318,6 +504,7 @@ public abstract class LowerTransportLayer extends UpperTransportLayer {
     /*package*/
     final void parseUnsegmentedAccessLowerTransportPDU(final AccessMessage message, final byte[] pdu) {
 
+        TransportMetrics.increment(TransportMetrics.UNSEGMENTED_PDUS_IN);
         final byte header = pdu[10]; //Lower transport pdu starts here
         final int seg = (header >> 7) & 0x01;
         final int akf = (header >> 6) & 0x01;
@@ -342,6 +529,7 @@ public abstract class LowerTransportLayer extends UpperTransportLayer {
     /**
      * Parses a segmented lower transport access pdu.
      * @param pdu The complete pdu was received from the node. This is already de-obfuscated and decrypted at network layer.
+     * @return the reassembled access message once all segments have been received, null otherwise
      */
     /*package*/
     final AccessMessage parseSegmentedAccessLowerTransportPDU(final byte[] pdu) {
@@ -356,37 +544,41 @@ public abstract class LowerTransportLayer extends UpperTransportLayer {
         final int segN = ((pdu[13]) & 0x1F);
 
         final int ttl = pdu[2] & 0x7F;
-        final byte[] src = MeshParserUtils.getDstAddress(pdu); //Destination of the received packet would be the source for the ack
-        final byte[] dst = MeshParserUtils.getSrcAddress(pdu); //Source of the received packet would be the destination for the ack
-
-        Log.v(TAG, "SEGO: " + segO);
-        Log.v(TAG, "SEGN: " + segN);
+        final byte[] src = PduUtils.getDstAddress(pdu); //Destination of the received packet would be the source for the ack
+        final byte[] dst = PduUtils.getSrcAddress(pdu); //Source of the received packet would be the destination for the ack
+
+        MeshLog.v(TAG, "SEGO: " + segO);
+        MeshLog.v(TAG, "SEGN: " + segN);
+
+        final int srcAddress = AddressUtils.getUnicastAddressInt(dst);
+        final int payloadOffset = 10 + SEGMENTED_MESSAGE_HEADER_LENGTH;
+        TransportMetrics.increment(TransportMetrics.SEGMENTS_IN);
+        final SegmentReassembler reassembler = getAccessReassembler();
+        final int result = reassembler.addSegment(srcAddress, seqZero, segO, segN,
+                pdu, payloadOffset, pdu.length - payloadOffset, mScheduler.elapsedRealtime());
+        if (result == SegmentReassembler.INVALID_SEGMENT) {
+            MeshLog.v(TAG, "Dropping invalid segment: " + segO + " of " + segN);
+            TransportMetrics.increment(TransportMetrics.SEGMENTS_INVALID);
+            return null;
+        }
 
         //Start the timer irrespective of which segment was received first
-        initSegmentedAccessAcknowledgementTimer(seqZero, ttl, src, dst);
-        mSegmentedAccessBlockAck = BlockAcknowledgementMessage.calculateBlockAcknowledgement(mSegmentedAccessBlockAck, segO);
-
-        final int payloadLength = pdu.length - 10;
-
-        final ByteBuffer payloadBuffer = ByteBuffer.allocate(payloadLength);
-        payloadBuffer.put(pdu, 10, payloadLength);
-        segmentedAccessMessageMap.put(segO, payloadBuffer.array());
+        final SegmentReassembler.Reassembly reassembly = reassembler.getReassembly(srcAddress, seqZero);
+        initSegmentedAcknowledgementTimer(reassembler, reassembly, seqZero, ttl, src, dst);
+        if (reassembly.startIncompleteTimer()) {
+            startIncompleteTimer(reassembler, reassembly, reassembler.getIncompleteTimeout());
+        }
 
-        //Check the message count against the zero-based segN;
-        final int receivedSegmentedMessageCount = segmentedAccessMessageMap.size() - 1;
-        if (segN == receivedSegmentedMessageCount) {
-            final int upperTransportSequenceNumber = getTransportLayerSequenceNumber(MeshParserUtils.getSequenceNumberFromPDU(pdu), seqZero);
-            final byte[] sequenceNumber = MeshParserUtils.getSequenceNumberBytes(upperTransportSequenceNumber);
+        if (result == SegmentReassembler.MESSAGE_COMPLETE) {
+            final int upperTransportSequenceNumber = getTransportLayerSequenceNumber(PduUtils.getSequenceNumberFromPDU(pdu), seqZero);
+            final byte[] sequenceNumber = PduUtils.getSequenceNumberBytes(upperTransportSequenceNumber);
             final AccessMessage accessMessage = new AccessMessage();
             accessMessage.setAszmic(szmic);
             accessMessage.setSequenceNumber(sequenceNumber);
             accessMessage.setAkf(akf);
             accessMessage.setAid(aid);
             accessMessage.setSegmented(true);
-            final HashMap<Integer, byte[]> segmentedMessages = new HashMap<>();
-            segmentedMessages.putAll(segmentedAccessMessageMap);
-            segmentedAccessMessageMap.clear();
-            accessMessage.setLowerTransportAccessPdu(segmentedMessages);
+            accessMessage.setUpperTransportPdu(reassembly.getPdu());
             return accessMessage;
         }
 
@@ -400,6 +592,7 @@ public abstract class LowerTransportLayer extends UpperTransportLayer {
     /*package*/
     final void parseUnsegmentedControlLowerTransportPDU(final ControlMessage controlMessage, final byte[] pdu) {
 
+        TransportMetrics.increment(TransportMetrics.UNSEGMENTED_PDUS_IN);
         final byte header = pdu[10]; //Lower transport pdu starts here
         final int opCode = header & 0x7F;
         final int lowerTransportPduLength = pdu.length - 10;
@@ -418,6 +611,7 @@ public abstract class LowerTransportLayer extends UpperTransportLayer {
     /**
      * Parses a segmented lower transport control pdu.
      * @param pdu The complete pdu was received from the node. This is already de-obfuscated and decrypted at network layer.
+     * @return the reassembled control message once all segments have been received, null otherwise
      */
     /*package*/
     final ControlMessage parseSegmentedControlLowerTransportPDU(final byte[] pdu) {
@@ -432,51 +626,69 @@ public abstract class LowerTransportLayer extends UpperTransportLayer {
         final int segN = ((pdu[13]) & 0x1F);
 
         final int ttl = pdu[2] & 0x7F;
-        final byte[] src = MeshParserUtils.getDstAddress(pdu); //Destination of the received packet would be the source for the ack
-        final byte[] dst = MeshParserUtils.getSrcAddress(pdu); //Source of the received packet would be the destination for the ack
+        final byte[] src = PduUtils.getDstAddress(pdu); //Destination of the received packet would be the source for the ack
+        final byte[] dst = PduUtils.getSrcAddress(pdu); //Source of the received packet would be the destination for the ack
+
+        final int srcAddress = AddressUtils.getUnicastAddressInt(dst);
+        final int payloadOffset = 10 + SEGMENTED_MESSAGE_HEADER_LENGTH;
+        TransportMetrics.increment(TransportMetrics.SEGMENTS_IN);
+        final SegmentReassembler reassembler = getControlReassembler();
+        final int result = reassembler.addSegment(srcAddress, seqZero, segO, segN,
+                pdu, payloadOffset, pdu.length - payloadOffset, mScheduler.elapsedRealtime());
+        if (result == SegmentReassembler.INVALID_SEGMENT) {
+            MeshLog.v(TAG, "Dropping invalid segment: " + segO + " of " + segN);
+            TransportMetrics.increment(TransportMetrics.SEGMENTS_INVALID);
+            return null;
+        }
 
         //Start the timer irrespective of which segment was received first
-        initSegmentedControlAcknowledgementTimer(seqZero, ttl, src, dst);
-        mSegmentedControlBlockAck = BlockAcknowledgementMessage.calculateBlockAcknowledgement(mSegmentedControlBlockAck, segO);
-
-        final int payloadLength = pdu.length - 10;
-
-        final ByteBuffer payloadBuffer = ByteBuffer.allocate(payloadLength);
-        payloadBuffer.put(pdu, 10, payloadLength);
-        segmentedControlMessageMap.put(segO, payloadBuffer.array());
+        final SegmentReassembler.Reassembly reassembly = reassembler.getReassembly(srcAddress, seqZero);
+        initSegmentedAcknowledgementTimer(reassembler, reassembly, seqZero, ttl, src, dst);
+        if (reassembly.startIncompleteTimer()) {
+            startIncompleteTimer(reassembler, reassembly, reassembler.getIncompleteTimeout());
+        }
 
-        if (segO == segN) {
-            final int upperTransportSequenceNumber = getTransportLayerSequenceNumber(MeshParserUtils.getSequenceNumberFromPDU(pdu), seqZero);
-            final byte[] sequenceNumber = MeshParserUtils.getSequenceNumberBytes(upperTransportSequenceNumber);
-            final ControlMessage accessMessage = new ControlMessage();
-            accessMessage.setAszmic(szmic);
-            accessMessage.setSequenceNumber(sequenceNumber);
-            accessMessage.setAkf(akf);
-            accessMessage.setAid(aid);
-            accessMessage.setSegmented(true);
-            final HashMap<Integer, byte[]> segmentedMessages = new HashMap<>();
-            segmentedMessages.putAll(segmentedControlMessageMap);
-            segmentedControlMessageMap.clear();
-            accessMessage.setLowerTransportControlPdu(segmentedMessages);
-            return accessMessage;
+        if (result == SegmentReassembler.MESSAGE_COMPLETE) {
+            final int upperTransportSequenceNumber = getTransportLayerSequenceNumber(PduUtils.getSequenceNumberFromPDU(pdu), seqZero);
+            final byte[] sequenceNumber = PduUtils.getSequenceNumberBytes(upperTransportSequenceNumber);
+            final ControlMessage controlMessage = new ControlMessage();
+            controlMessage.setAszmic(szmic);
+            controlMessage.setSequenceNumber(sequenceNumber);
+            controlMessage.setAkf(akf);
+            controlMessage.setAid(aid);
+            controlMessage.setSegmented(true);
+            controlMessage.setTransportControlPdu(reassembly.getPdu());
+            return controlMessage;
         }
 
         return null;
     }
 
     /**
-     * Start acknowledgement timer for segmented messages.
-     * @param seqZero seqzero of the segmented messages.
-     * @param ttl     ttl of the segmented messages.
-     * @param dst     destination address.
+     * Start acknowledgement timer for a segmented message.
+     * <p>
+     * The block acknowledgement sent when the timer fires contains every segment received for the message by then.
+     * </p>
+     * @param reassembler reassembler the message belongs to.
+     * @param reassembly  reassembly of the segmented message.
+     * @param seqZero     seqzero of the segmented messages.
+     * @param ttl         ttl of the segmented messages.
+     * @param src         source address of the acknowledgement.
+     * @param dst         destination address.
      */
-    private void initSegmentedAccessAcknowledgementTimer(final int seqZero, final int ttl, final byte[] src, final byte[] dst) {
-        if (!mSegmentedAccessAcknowledgementTimerStarted) {
+    private void initSegmentedAcknowledgementTimer(final SegmentReassembler reassembler, final SegmentReassembler.Reassembly reassembly,
+                                                   final int seqZero, final int ttl, final byte[] src, final byte[] dst) {
+        if (reassembly.startAcknowledgementTimer()) {
+            final int srcAddress = reassembly.getSrc();
             final int duration = (150 + (50 * ttl));
-            mHandler.postDelayed(() -> {
-                final int blockAck = mSegmentedAccessBlockAck;
+            mScheduler.postDelayed(() -> {
+                reassembly.stopAcknowledgementTimer();
+                //The message may have been discarded in the mean time
+                if (reassembler.getReassembly(srcAddress, seqZero) != reassembly)
+                    return;
+                final int blockAck = reassembly.getBlockAck();
                 final byte[] upperTransportControlPdu = createAcknowledgementPayload(seqZero, blockAck);
-                Log.v(TAG, "Block acknowledgement payload: " + MeshParserUtils.bytesToHex(upperTransportControlPdu, false));
+                MeshLog.v(TAG, "Block acknowledgement payload: " + HexUtils.bytesToHex(upperTransportControlPdu, false));
                 final ControlMessage controlMessage = new ControlMessage();
                 controlMessage.setOpCode(TransportLayerOpCodes.SAR_ACK_OPCODE);
                 controlMessage.setTransportControlPdu(upperTransportControlPdu);
@@ -486,46 +698,35 @@ public abstract class LowerTransportLayer extends UpperTransportLayer {
                 controlMessage.setDst(dst);
                 controlMessage.setIvIndex(mMeshNode.getIvIndex());
                 final int sequenceNumber = incrementSequenceNumber();
-                final byte[] sequenceNum = MeshParserUtils.getSequenceNumberBytes(sequenceNumber);
+                final byte[] sequenceNum = PduUtils.getSequenceNumberBytes(sequenceNumber);
                 controlMessage.setSequenceNumber(sequenceNum);
+                TransportMetrics.increment(TransportMetrics.SEGMENT_ACKS_OUT);
                 mLowerTransportLayerCallbacks.sendSegmentAcknowledgementMessage(controlMessage);
-                mSegmentedAccessAcknowledgementTimerStarted = false;
-                mSegmentedAccessBlockAck = null;
             }, duration);
-            mSegmentedAccessAcknowledgementTimerStarted = true;
         }
     }
 
     /**
-     * Start acknowledgement timer for segmented messages.
-     * @param seqZero seqzero of the segmented messages.
-     * @param ttl     ttl of the segmented messages.
-     * @param dst     destination address.
+     * Starts the incomplete timer of a segmented message, the message is discarded if it does not receive a segment in time
+     * @param reassembler reassembler the message belongs to.
+     * @param reassembly  reassembly of the segmented message.
+     * @param delay       time in milliseconds until the timer fires.
      */
-    private void initSegmentedControlAcknowledgementTimer(final int seqZero, final int ttl, final byte[] src, final byte[] dst) {
-        if (!mSegmentedControlAcknowledgementTimerStarted) {
-            final int duration = (150 + (50 * ttl));
-            mHandler.postDelayed(() -> {
-                final int blockAck = mSegmentedControlBlockAck;
-                final byte[] lowerTransportControlPdu = createAcknowledgementPayload(seqZero, blockAck);
-                Log.v(TAG, "Block acknowledgement payload: " + MeshParserUtils.bytesToHex(lowerTransportControlPdu, false));
-                final ControlMessage controlMessage = new ControlMessage();
-                controlMessage.setOpCode(TransportLayerOpCodes.SAR_ACK_OPCODE);
-                controlMessage.setTransportControlPdu(lowerTransportControlPdu);
-                controlMessage.setTtl(ttl);
-                controlMessage.setPduType(NETWORK_PDU);
-                controlMessage.setSrc(src);
-                controlMessage.setDst(dst);
-                controlMessage.setIvIndex(mMeshNode.getIvIndex());
-                final int sequenceNumber = incrementSequenceNumber();
-                final byte[] sequenceNum = MeshParserUtils.getSequenceNumberBytes(sequenceNumber);
-                controlMessage.setSequenceNumber(sequenceNum);
-                mLowerTransportLayerCallbacks.sendSegmentAcknowledgementMessage(controlMessage);
-                mSegmentedControlAcknowledgementTimerStarted = false;
-                mSegmentedAccessBlockAck = null;
-            }, duration);
-            mSegmentedControlAcknowledgementTimerStarted = true;
-        }
+    private void startIncompleteTimer(final SegmentReassembler reassembler, final SegmentReassembler.Reassembly reassembly, final long delay) {
+        final int generation = reassembly.getGeneration();
+        mScheduler.postDelayed(() -> {
+            final long remaining = reassembler.expireIncomplete(reassembly, generation, mScheduler.elapsedRealtime());
+            if (remaining > 0) {
+                startIncompleteTimer(reassembler, reassembly, remaining);
+            } else if (remaining == 0) {
+                final int src = reassembly.getSrc();
+                MeshLog.v(TAG, "Segmented message from " + HexUtils.bytesToHex(AddressUtils.getUnicastAddressBytes(src), true)
+                        + " discarded, no segment received within " + reassembler.getIncompleteTimeout() + " ms");
+                if (mLowerTransportLayerCallbacks != null) {
+                    mLowerTransportLayerCallbacks.onSegmentedMessageIncomplete(src);
+                }
+            }
+        }, delay);
     }
 
     /**
@@ -560,6 +761,8 @@ public abstract class LowerTransportLayer extends UpperTransportLayer {
                 offset = 0;
                 final BlockAcknowledgementMessage acknowledgement = new BlockAcknowledgementMessage(transportControlPdu, offset);
                 controlMessage.setTransportControlMessage(acknowledgement);
+                TransportMetrics.increment(TransportMetrics.SEGMENT_ACKS_IN);
+                onBlockAcknowledgementReceived(controlMessage, acknowledgement);
             default:
                 break;
         }
@@ -0,0 +1,45 @@
+package no.nordicsemi.android.meshprovisioner.transport;
+
+import no.nordicsemi.android.meshprovisioner.messages.ControlMessage;
+import no.nordicsemi.android.meshprovisioner.messages.Message;
+
+public interface LowerTransportLayerCallbacks {
+
+    /**
+     * Sends the transport layer acknowledgement to node
+     *
+     * @param controlMessage
+     */
+    void sendSegmentAcknowledgementMessage(final ControlMessage controlMessage);
+
+    /**
+     * Sends a segment that has not been acknowledged by the node again
+     *
+     * @param message segmented message the segment belongs to
+     * @param pdu     network pdu of the segment
+     */
+    void resendSegment(final Message message, final byte[] pdu);
+
+    /**
+     * Invoked when all segments of a segmented message have been acknowledged by the node
+     *
+     * @param message segmented message
+     */
+    void onSegmentedMessageDelivered(final Message message);
+
+    /**
+     * Invoked when a segmented message could not be delivered, either because the node cancelled it
+     * or because segments were still missing after the last retransmission
+     *
+     * @param message segmented message
+     */
+    void onSegmentedMessageFailed(final Message message);
+
+    /**
+     * Invoked when a segmented message received from a node is discarded because no segment was received within the incomplete timeout
+     *
+     * @param src unicast address of the node
+     */
+    void onSegmentedMessageIncomplete(final int src);
+
+}
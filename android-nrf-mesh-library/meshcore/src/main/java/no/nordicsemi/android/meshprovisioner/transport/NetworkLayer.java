@@ -0,0 +1,578 @@
+package no.nordicsemi.android.meshprovisioner.transport;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import no.nordicsemi.android.meshprovisioner.messages.AccessMessage;
+import no.nordicsemi.android.meshprovisioner.messages.ControlMessage;
+import no.nordicsemi.android.meshprovisioner.messages.Message;
+import no.nordicsemi.android.meshprovisioner.platform.MeshLog;
+import no.nordicsemi.android.meshprovisioner.utils.AddressUtils;
+import no.nordicsemi.android.meshprovisioner.utils.CipherContext;
+import no.nordicsemi.android.meshprovisioner.utils.HexUtils;
+import no.nordicsemi.android.meshprovisioner.utils.NetworkKeyMaterial;
+import no.nordicsemi.android.meshprovisioner.utils.NetworkKeyRegistry;
+import no.nordicsemi.android.meshprovisioner.utils.PduUtils;
+import no.nordicsemi.android.meshprovisioner.utils.SecureUtils;
+
+public abstract class NetworkLayer extends LowerTransportLayer {
+
+    protected static final int MESH_BEACON_PDU = 0x01;
+    private static final int PROXY_CONFIGURATION_PDU = 0x02;
+    private static final String TAG = NetworkLayer.class.getSimpleName();
+
+    protected ReplayProtectionList mReplayProtectionList;
+    private NetworkPduFilter mNetworkPduFilter;
+
+    /**
+     * Sets the filter that remembers received network pdus once their network mic has been verified
+     *
+     * @param networkPduFilter network pdu filter
+     */
+    protected void setNetworkPduFilter(final NetworkPduFilter networkPduFilter) {
+        mNetworkPduFilter = networkPduFilter;
+    }
+
+    /**
+     * Creates a mesh message
+     * @param message Message could be of type access or control message.
+     */
+    protected final void createMeshMessage(final Message message) {
+        if(message instanceof AccessMessage) {
+            super.createMeshMessage(message);
+        } else {
+            super.createMeshMessage(message);
+        }
+        createNetworkLayerPDU(message);
+        startSegmentedMessageTransmission(message);
+    }
+
+    @Override
+    public final Message createNetworkLayerPDU(final Message message) {
+        final NetworkKeyMaterial keyMaterial = getNetworkKeyMaterial();
+        final int nid = keyMaterial.getNid();
+        final byte[] encryptionKey = keyMaterial.getEncryptionKey();
+        final byte[] privacyKey = keyMaterial.getPrivacyKey();
+        final int ctl = message.getCtl();
+        final int ttl = message.getTtl();
+        final int ivIndex = getIvIndex(message.getIvIndex());
+        final int src = AddressUtils.getUnicastAddressInt(message.getSrc());
+        final int dst = AddressUtils.getUnicastAddressInt(message.getDst());
+        final Map<Integer, byte[]> lowerTransportPduMap;
+        if (ctl == 0) {
+            lowerTransportPduMap = message.getLowerTransportAccessPdu();
+        } else {
+            lowerTransportPduMap = message.getLowerTransportControlPdu();
+        }
+
+        final int pduType = message.getPduType();
+        final int segmentCount = lowerTransportPduMap.size();
+        //The map and the pdus of a message that is encoded again are reused, the pdus of a message are kept for retransmission
+        //so they are never shared between messages
+        HashMap<Integer, byte[]> networkPduMap = message.getNetworkPdu();
+        if (networkPduMap == null) {
+            networkPduMap = new HashMap<>(segmentCount * 4 / 3 + 1);
+        }
+        final boolean logSequenceNumbers = MeshLog.isVerboseLoggable(TAG);
+        for (int i = 0; i < segmentCount; i++) {
+            final byte[] lowerTransportPdu = lowerTransportPduMap.get(i);
+            if (pduType == PROXY_CONFIGURATION_PDU) {
+                message.setSequenceNumber(PduUtils.getSequenceNumberBytes(incrementSequenceNumber()));
+            } else if (i != 0) {
+                message.setSequenceNumber(PduUtils.getSequenceNumberBytes(incrementSequenceNumber(message.getSequenceNumber())));
+            }
+            final int sequenceNumber = PduUtils.getSequenceNumber(message.getSequenceNumber());
+            if (logSequenceNumbers) {
+                MeshLog.v(TAG, "Sequence Number: " + HexUtils.bytesToHex(message.getSequenceNumber(), false));
+            }
+
+            final int networkPduLength = NetworkPduEncoder.getNetworkPduLength(ctl, lowerTransportPdu.length);
+            byte[] networkPdu = networkPduMap.get(i);
+            if (networkPdu == null || networkPdu.length != networkPduLength) {
+                networkPdu = new byte[networkPduLength];
+            }
+            final long startTime = TransportMetrics.startTimer();
+            NetworkPduEncoder.encode(networkPdu, 0, pduType, nid, ctl, ttl, sequenceNumber, src, dst, ivIndex,
+                    lowerTransportPdu, 0, lowerTransportPdu.length, encryptionKey, privacyKey);
+            TransportMetrics.stopTimer(TransportMetrics.NETWORK_ENCRYPT_NANOS, startTime);
+            TransportMetrics.increment(TransportMetrics.NETWORK_PDUS_OUT);
+            networkPduMap.put(i, networkPdu);
+        }
+        //Pdus of segments the message no longer has are dropped
+        for (int i = networkPduMap.size() - 1; i >= segmentCount; i--) {
+            networkPduMap.remove(i);
+        }
+        message.setNetworkPdu(networkPduMap);
+        return message;
+    }
+
+    @Override
+    protected final byte[] createSegmentRetransmissionPdu(final Message message, final int segO) {
+        final NetworkKeyMaterial keyMaterial = getNetworkKeyMaterial();
+        final int ctl = message.getCtl();
+        final byte[] lowerTransportPdu = ctl == 0 ? message.getLowerTransportAccessPdu().get(segO) : message.getLowerTransportControlPdu().get(segO);
+        //Every retransmitted segment is sent with a new sequence number, the SeqZero in the segment header stays the same
+        final int sequenceNumber = incrementSequenceNumber();
+        final byte[] networkPdu = new byte[NetworkPduEncoder.getNetworkPduLength(ctl, lowerTransportPdu.length)];
+        final long startTime = TransportMetrics.startTimer();
+        NetworkPduEncoder.encode(networkPdu, 0, message.getPduType(), keyMaterial.getNid(), ctl, message.getTtl(), sequenceNumber,
+                AddressUtils.getUnicastAddressInt(message.getSrc()), AddressUtils.getUnicastAddressInt(message.getDst()), getIvIndex(message.getIvIndex()),
+                lowerTransportPdu, 0, lowerTransportPdu.length, keyMaterial.getEncryptionKey(), keyMaterial.getPrivacyKey());
+        TransportMetrics.stopTimer(TransportMetrics.NETWORK_ENCRYPT_NANOS, startTime);
+        TransportMetrics.increment(TransportMetrics.NETWORK_PDUS_OUT);
+        return networkPdu;
+    }
+
+    /**
+     * Returns the iv index as an integer
+     *
+     * @param ivIndex 4 byte iv index
+     * @return iv index
+     */
+    private int getIvIndex(final byte[] ivIndex) {
+        return ((ivIndex[0] & 0xFF) << 24) | ((ivIndex[1] & 0xFF) << 16) | ((ivIndex[2] & 0xFF) << 8) | (ivIndex[3] & 0xFF);
+    }
+
+    /**
+     * Returns the key material of the network the node belongs to
+     *
+     * @return network key material
+     */
+    private NetworkKeyMaterial getNetworkKeyMaterial() {
+        return NetworkKeyRegistry.getInstance().getKeyMaterial(mMeshNode.getNetworkKey());
+    }
+
+    /**
+     * De-obfuscates the network header
+     *
+     * @param keyMaterial network key material
+     * @param pdu         received from the node
+     * @return obfuscted network header
+     */
+    private byte[] deobfuscateNetworkHeader(final NetworkKeyMaterial keyMaterial, final byte[] pdu) {
+        final ByteBuffer obfuscatedNetworkBuffer = ByteBuffer.allocate(6);
+        obfuscatedNetworkBuffer.order(ByteOrder.BIG_ENDIAN);
+        obfuscatedNetworkBuffer.put(pdu, 2, 6);
+        final byte[] obfuscatedData = obfuscatedNetworkBuffer.array();
+
+        final ByteBuffer privacyRandomBuffer = ByteBuffer.allocate(7);
+        privacyRandomBuffer.order(ByteOrder.BIG_ENDIAN);
+        privacyRandomBuffer.put(pdu, 8, 7);
+        final byte[] privacyRandom = createPrivacyRandom(privacyRandomBuffer.array());
+
+        final byte[] pecb = createPECB(privacyRandom, keyMaterial.getPrivacyCipherContext());
+        final byte[] deobfuscatedData = new byte[6];
+
+        for (int i = 0; i < 6; i++)
+            deobfuscatedData[i] = (byte) (obfuscatedData[i] ^ pecb[i]);
+
+        return deobfuscatedData;
+    }
+
+    /**
+     * Creates the network nonce
+     *
+     * @param ctlTTL         combined ctl and ttl value
+     * @param sequenceNumber sequence number of the message
+     * @param srcAddress     source address
+     * @return Network nonce
+     */
+    private byte[] createNetworkNonce(final byte ctlTTL, final byte[] sequenceNumber, final byte[] srcAddress) {
+        final ByteBuffer networkNonce = ByteBuffer.allocate(13);
+        networkNonce.put((byte) 0x00); //Nonce type
+        networkNonce.put(ctlTTL); // CTL and TTL
+        networkNonce.put(sequenceNumber);
+        networkNonce.put(srcAddress);
+        networkNonce.put(new byte[]{0x00, 0x00}); //PAD
+        networkNonce.put(mMeshNode.getIvIndex());
+        return networkNonce.array();
+    }
+
+    /**
+     * Creates the privacy random.
+     *
+     * @param encryptedUpperTransportPDU encrypted transport pdu
+     * @return Privacy random
+     */
+    private byte[] createPrivacyRandom(final byte[] encryptedUpperTransportPDU) {
+        final byte[] privacyRandom = new byte[7];
+        System.arraycopy(encryptedUpperTransportPDU, 0, privacyRandom, 0, privacyRandom.length);
+        return privacyRandom;
+    }
+
+    private byte[] createPECB(final byte[] privacyRandom, final CipherContext privacyCipherContext) {
+        final byte[] ivIndex = mMeshNode.getIvIndex();
+        final ByteBuffer buffer = ByteBuffer.allocate(5 + privacyRandom.length + ivIndex.length);
+        buffer.order(ByteOrder.BIG_ENDIAN);
+        buffer.put(new byte[]{0x00, 0x00, 0x00, 0x00, 0x00});
+        buffer.put(ivIndex);
+        buffer.put(privacyRandom);
+        final byte[] temp = buffer.array();
+        if (MeshLog.isVerboseLoggable(TAG)) {
+            MeshLog.v(TAG, "Privacy Random: " + HexUtils.bytesToHex(temp, false));
+        }
+        privacyCipherContext.encryptBlock(temp, 0, temp, 0);
+        return temp;
+    }
+
+    /**
+     * Parse received mesh message
+     * <p>
+     * This method will drop messages with an invalid sequence number as all mesh messages are supposed to have a sequence
+     * </p>
+     *
+     * @param configurationSrc source address of the configurator
+     * @param data             pdu received from the mesh node
+     * @return complete {@link Message} that was successfully parsed or null otherwise
+     */
+    protected final Message parseMeshMessage(final byte[] configurationSrc, final byte[] data) {
+        TransportMetrics.increment(TransportMetrics.NETWORK_PDUS_IN);
+        final NetworkKeyMaterial keyMaterial = getNetworkKeyMaterial();
+
+        //D-eobfuscate network header
+        final byte[] networkHeader = deobfuscateNetworkHeader(keyMaterial, data);
+        final int ctlTtl = networkHeader[0];
+        final int ctl = (ctlTtl >> 7) & 0x01;
+        final int ttl = ctlTtl & 0x7F;
+        MeshLog.v(TAG, "TTL for received message: " + ttl);
+
+        final int micLength = SecureUtils.getNetMicLength(ctl);
+        final byte[] sequenceNumber = ByteBuffer.allocate(3).order(ByteOrder.BIG_ENDIAN).put(networkHeader, 1, 3).array();
+        final byte[] src = ByteBuffer.allocate(2).order(ByteOrder.BIG_ENDIAN).put(networkHeader, 4, 2).array();
+        final byte[] networkNonce = createNetworkNonce((byte) ctlTtl, sequenceNumber, src);
+
+        final int sequenceNo = PduUtils.getSequenceNumber(sequenceNumber);
+        MeshLog.v(TAG, "Sequence number of received access message: " + sequenceNo);
+        if (sequenceNo == 0xFFFFFF) {
+            return null;
+        }
+
+        //Messages that are older than the last message received from the same source are replays and are dropped before decryption
+        final int srcAddress = AddressUtils.getUnicastAddressInt(src);
+        final int ivIndex = getReceivedIvIndex(data[1]);
+        if (mReplayProtectionList.isReplay(srcAddress, ivIndex, sequenceNo)) {
+            MeshLog.v(TAG, "Dropping replayed message from: " + HexUtils.bytesToHex(src, true));
+            TransportMetrics.increment(TransportMetrics.NETWORK_DROPPED_REPLAY);
+            return null;
+        }
+
+        final byte[] decryptedNetworkPayload = decryptNetworkPayload(keyMaterial, data, networkNonce, micLength);
+        if (decryptedNetworkPayload == null) {
+            MeshLog.v(TAG, "Network mic check failed, dropping message");
+            return null;
+        }
+        //The list and the duplicate cache are only updated once the message has been authenticated
+        mReplayProtectionList.checkAndUpdate(srcAddress, ivIndex, sequenceNo);
+        if (mNetworkPduFilter != null) {
+            mNetworkPduFilter.addAuthenticated(keyMaterial, data, ivIndex);
+        }
+        mMeshNode.setSequenceNumber(sequenceNo);
+
+        if (ctl == 1) {
+            return parseControlMessage(configurationSrc, data, networkHeader, decryptedNetworkPayload, src, sequenceNumber);
+        } else {
+            return parseAccessMessage(configurationSrc, data, networkHeader, decryptedNetworkPayload, src, sequenceNumber);
+        }
+    }
+
+    protected final Message parseMeshMessage(final byte[] data) {
+        TransportMetrics.increment(TransportMetrics.NETWORK_PDUS_IN);
+        final NetworkKeyMaterial keyMaterial = getNetworkKeyMaterial();
+
+        //D-eobfuscate network header
+        final byte[] networkHeader = deobfuscateNetworkHeader(keyMaterial, data);
+        final int ctlTtl = networkHeader[0];
+        final int ctl = (ctlTtl >> 7) & 0x01;
+        final int ttl = ctlTtl & 0x7F;
+        MeshLog.v(TAG, "TTL for received message: " + ttl);
+
+        final int micLength = SecureUtils.getNetMicLength(ctl);
+        final byte[] sequenceNumber = ByteBuffer.allocate(3).order(ByteOrder.BIG_ENDIAN).put(networkHeader, 1, 3).array();
+        final byte[] src = ByteBuffer.allocate(2).order(ByteOrder.BIG_ENDIAN).put(networkHeader, 4, 2).array();
+        final byte[] networkNonce = createNetworkNonce((byte) ctlTtl, sequenceNumber, src);
+        final byte[] decryptedNetworkPayload = decryptNetworkPayload(keyMaterial, data, networkNonce, micLength);
+        if (decryptedNetworkPayload == null) {
+            MeshLog.v(TAG, "Network mic check failed, dropping message");
+            return null;
+        }
+
+        if (ctl == 1) {
+            return parseControlMessage(data, networkHeader, decryptedNetworkPayload, src, sequenceNumber);
+        } else {
+            MeshLog.v(TAG, "Sequence number of received access message: " + PduUtils.getSequenceNumber(sequenceNumber));
+            return parseAccessMessage(data, networkHeader, decryptedNetworkPayload, src, sequenceNumber);
+        }
+    }
+
+    /**
+     * Decrypts the network payload of a received network pdu
+     *
+     * @param keyMaterial  network key material
+     * @param data         network pdu received from the node
+     * @param networkNonce network nonce
+     * @param micLength    network mic length of the received message
+     * @return decrypted dst and transport pdu or null if the network mic does not match
+     */
+    private byte[] decryptNetworkPayload(final NetworkKeyMaterial keyMaterial, final byte[] data, final byte[] networkNonce, final int micLength) {
+        final int networkPayloadLength = data.length - 8;
+        if (networkPayloadLength <= micLength) {
+            TransportMetrics.increment(TransportMetrics.NETWORK_DECRYPT_FAILURES);
+            return null;
+        }
+        final byte[] decryptedNetworkPayload = new byte[networkPayloadLength - micLength];
+        final long startTime = TransportMetrics.startTimer();
+        final boolean authenticated = keyMaterial.getEncryptionCipherContext().decryptCCM(networkNonce, data, 8, networkPayloadLength, decryptedNetworkPayload, 0, micLength);
+        TransportMetrics.stopTimer(TransportMetrics.NETWORK_DECRYPT_NANOS, startTime);
+        if (!authenticated) {
+            TransportMetrics.increment(TransportMetrics.NETWORK_DECRYPT_FAILURES);
+            return null;
+        }
+        return decryptedNetworkPayload;
+    }
+
+    /**
+     * Returns the iv index used by the sender of a received pdu based on the IVI bit
+     *
+     * @param iviNid first byte of the network pdu after the pdu type
+     * @return iv index
+     */
+    private int getReceivedIvIndex(final byte iviNid) {
+        final int ivIndex = getIvIndex(mMeshNode.getIvIndex());
+        final int ivi = (iviNid >> 7) & 0x01;
+        return (ivIndex & 0x01) == ivi ? ivIndex : ivIndex - 1;
+    }
+
+    /**
+     * Parses access message
+     *
+     * @param configurationSrc source address of the configurator
+     * @param data             receieved from the node
+     * @param networkHeader    de-obfuscated network header
+     * @param decryptedNetworkPayload decrypted network payload containing the dst and the transport pdu
+     * @param src              source address
+     * @param sequenceNumber   sequence number of the received message
+     * @return access message
+     */
+    private AccessMessage parseAccessMessage(final byte[] configurationSrc, final byte[] data, final byte[] networkHeader, final byte[] decryptedNetworkPayload, final byte[] src, final byte[] sequenceNumber) {
+        final int ttl = networkHeader[0] & 0x7F;
+        final byte[] dst = ByteBuffer.allocate(2).order(ByteOrder.BIG_ENDIAN).put(decryptedNetworkPayload, 0, 2).array();
+
+        //Check if the message is directed to us, if its not ignore the message
+        if (!Arrays.equals(configurationSrc, dst)) {
+            MeshLog.v(TAG, "Received an access message that was not directed to us, let's drop it");
+            TransportMetrics.increment(TransportMetrics.NETWORK_DROPPED_DST);
+            return null;
+        }
+
+        if (isSegmentedMessage(decryptedNetworkPayload[2])) {
+
+            //Removing the dst here
+            final byte[] pdu = ByteBuffer.allocate(2 + networkHeader.length + decryptedNetworkPayload.length).order(ByteOrder.BIG_ENDIAN).put(data, 0, 2).put(networkHeader).put(decryptedNetworkPayload).array();
+            final AccessMessage message = parseSegmentedAccessLowerTransportPDU(pdu);
+            if (message != null) {
+                final HashMap<Integer, byte[]> networkPduMap = new HashMap<>();
+                networkPduMap.put(0, data);
+                message.setIvIndex(mMeshNode.getIvIndex());
+                message.setNetworkPdu(networkPduMap);
+                message.setCtl(0);
+                message.setTtl(ttl);
+                message.setSrc(src);
+                message.setDst(dst);
+
+                if (!parseUpperTransportPDU(message))
+                    return null;
+                parseAccessLayerPDU(message);
+            }
+            return message;
+
+        } else {
+            final AccessMessage message = new AccessMessage();
+            message.setIvIndex(mMeshNode.getIvIndex());
+            final HashMap<Integer, byte[]> networkPduMap = new HashMap<>();
+            networkPduMap.put(0, data);
+            message.setNetworkPdu(networkPduMap);
+            message.setTtl(ttl);
+            message.setSrc(src);
+            message.setDst(dst);
+            message.setSequenceNumber(sequenceNumber);
+
+            //Removing the dst here
+            final byte[] pdu = ByteBuffer.allocate(2 + networkHeader.length + decryptedNetworkPayload.length).order(ByteOrder.BIG_ENDIAN).put(data, 0, 2).put(networkHeader).put(decryptedNetworkPayload).array();
+            parseUnsegmentedAccessLowerTransportPDU(message, pdu);
+            if (!parseUpperTransportPDU(message))
+                return null;
+            parseAccessLayerPDU(message);
+
+            return message;
+        }
+    }
+
+    /**
+     * Parses access message
+     *
+     * @param data           received from the node
+     * @param networkHeader  deobfuscated network header
+     * @param decryptedNetworkPayload decrypted network payload containing the dst and the transport pdu
+     * @param src            source address
+     * @param sequenceNumber sequence number of the received message
+     * @return access message
+     */
+    private AccessMessage parseAccessMessage(final byte[] data, final byte[] networkHeader, final byte[] decryptedNetworkPayload, final byte[] src, final byte[] sequenceNumber) {
+        final int ttl = networkHeader[0] & 0x7F;
+        final byte[] dst = ByteBuffer.allocate(2).order(ByteOrder.BIG_ENDIAN).put(decryptedNetworkPayload, 0, 2).array();
+
+        if (isSegmentedMessage(decryptedNetworkPayload[2])) {
+
+            //Removing the dst here
+            final byte[] pdu = ByteBuffer.allocate(2 + networkHeader.length + decryptedNetworkPayload.length).order(ByteOrder.BIG_ENDIAN).put(data, 0, 2).put(networkHeader).put(decryptedNetworkPayload).array();
+            final AccessMessage message = parseSegmentedAccessLowerTransportPDU(pdu);
+            if (message != null) {
+                final HashMap<Integer, byte[]> networkPduMap = new HashMap<>();
+                networkPduMap.put(0, data);
+                message.setIvIndex(mMeshNode.getIvIndex());
+                message.setNetworkPdu(networkPduMap);
+                message.setCtl(0);
+                message.setTtl(ttl);
+                message.setSrc(src);
+                message.setDst(dst);
+
+                if (!parseUpperTransportPDU(message))
+                    return null;
+                parseAccessLayerPDU(message);
+            }
+            return message;
+
+        } else {
+            final AccessMessage message = new AccessMessage();
+            message.setIvIndex(mMeshNode.getIvIndex());
+            final HashMap<Integer, byte[]> networkPduMap = new HashMap<>();
+            networkPduMap.put(0, data);
+            message.setNetworkPdu(networkPduMap);
+            message.setTtl(ttl);
+            message.setSrc(src);
+            message.setDst(dst);
+            message.setSequenceNumber(sequenceNumber);
+
+            //Removing the dst here
+            final byte[] pdu = ByteBuffer.allocate(2 + networkHeader.length + decryptedNetworkPayload.length).order(ByteOrder.BIG_ENDIAN).put(data, 0, 2).put(networkHeader).put(decryptedNetworkPayload).array();
+            parseUnsegmentedAccessLowerTransportPDU(message, pdu);
+            if (!parseUpperTransportPDU(message))
+                return null;
+
+            return message;
+        }
+    }
+
+    /**
+     * Parses control message
+     *
+     * @param configurationSrc source address of the configurator
+     * @param data             data receieved from the node
+     * @param networkHeader    de-obfuscated network header
+     * @param decryptedNetworkPayload decrypted network payload containing the dst and the transport pdu
+     * @param src              source address
+     * @param sequenceNumber   sequence number of the received message
+     * @return access message
+     */
+    private ControlMessage parseControlMessage(final byte[] configurationSrc, final byte[] data, final byte[] networkHeader, final byte[] decryptedNetworkPayload, final byte[] src, final byte[] sequenceNumber) {
+        final int ttl = networkHeader[0] & 0x7F;
+        final byte[] dst = ByteBuffer.allocate(2).order(ByteOrder.BIG_ENDIAN).put(decryptedNetworkPayload, 0, 2).array();
+
+        //Check if the message is directed to us, if its not ignore the message
+        if (!Arrays.equals(configurationSrc, dst)) {
+            MeshLog.v(TAG, "Received a control message that was not directed to us, so we drop it");
+            TransportMetrics.increment(TransportMetrics.NETWORK_DROPPED_DST);
+            return null;
+        }
+
+        if (isSegmentedMessage(decryptedNetworkPayload[2])) {
+
+            //Removing the dst here
+            final byte[] pdu = ByteBuffer.allocate(2 + networkHeader.length + decryptedNetworkPayload.length).order(ByteOrder.BIG_ENDIAN).put(data, 0, 2).put(networkHeader).put(decryptedNetworkPayload).array();
+            final ControlMessage message = parseSegmentedControlLowerTransportPDU(pdu);
+            if (message != null) {
+                final HashMap<Integer, byte[]> networkPduMap = new HashMap<>();
+                networkPduMap.put(0, data);
+                message.setIvIndex(mMeshNode.getIvIndex());
+                message.setNetworkPdu(networkPduMap);
+                message.setCtl(1);
+                message.setTtl(ttl);
+                message.setSrc(src);
+                message.setDst(dst);
+
+            }
+            return message;
+
+        } else {
+            final ControlMessage message = new ControlMessage();
+            message.setIvIndex(mMeshNode.getIvIndex());
+            final HashMap<Integer, byte[]> networkPduMap = new HashMap<>();
+            networkPduMap.put(0, data);
+            message.setNetworkPdu(networkPduMap);
+            message.setTtl(ttl);
+            message.setSrc(src);
+            message.setDst(dst);
+            message.setSequenceNumber(sequenceNumber);
+
+            //Removing the dst here
+            final byte[] pdu = ByteBuffer.allocate(2 + networkHeader.length + decryptedNetworkPayload.length).order(ByteOrder.BIG_ENDIAN).put(data, 0, 2).put(networkHeader).put(decryptedNetworkPayload).array();
+            parseUnsegmentedControlLowerTransportPDU(message, pdu);
+
+            return message;
+        }
+    }
+
+    /**
+     * Parses control message
+     *
+     * @param data           data received from the node
+     * @param networkHeader  de-obfuscated network header
+     * @param decryptedNetworkPayload decrypted network payload containing the dst and the transport pdu
+     * @param src            source address
+     * @param sequenceNumber sequence number of the received message
+     * @return access message
+     */
+    private ControlMessage parseControlMessage(final byte[] data, final byte[] networkHeader, final byte[] decryptedNetworkPayload, final byte[] src, final byte[] sequenceNumber) {
+        final int ttl = networkHeader[0] & 0x7F;
+        final byte[] dst = ByteBuffer.allocate(2).order(ByteOrder.BIG_ENDIAN).put(decryptedNetworkPayload, 0, 2).array();
+
+        if (isSegmentedMessage(decryptedNetworkPayload[2])) {
+
+            //Removing the dst here
+            final byte[] pdu = ByteBuffer.allocate(2 + networkHeader.length + decryptedNetworkPayload.length).order(ByteOrder.BIG_ENDIAN).put(data, 0, 2).put(networkHeader).put(decryptedNetworkPayload).array();
+            final ControlMessage message = parseSegmentedControlLowerTransportPDU(pdu);
+            if (message != null) {
+                final HashMap<Integer, byte[]> networkPduMap = new HashMap<>();
+                networkPduMap.put(0, data);
+                message.setIvIndex(mMeshNode.getIvIndex());
+                message.setNetworkPdu(networkPduMap);
+                message.setCtl(1);
+                message.setTtl(ttl);
+                message.setSrc(src);
+                message.setDst(dst);
+
+            }
+            return message;
+
+        } else {
+            final ControlMessage message = new ControlMessage();
+            message.setIvIndex(mMeshNode.getIvIndex());
+            final HashMap<Integer, byte[]> networkPduMap = new HashMap<>();
+            networkPduMap.put(0, data);
+            message.setNetworkPdu(networkPduMap);
+            message.setTtl(ttl);
+            message.setSrc(src);
+            message.setDst(dst);
+            message.setSequenceNumber(sequenceNumber);
+
+            //Removing the dst here
+            final byte[] pdu = ByteBuffer.allocate(2 + networkHeader.length + decryptedNetworkPayload.length).order(ByteOrder.BIG_ENDIAN).put(data, 0, 2).put(networkHeader).put(decryptedNetworkPayload).array();
+            parseUnsegmentedControlLowerTransportPDU(message, pdu);
+
+            return message;
+        }
+    }
+}
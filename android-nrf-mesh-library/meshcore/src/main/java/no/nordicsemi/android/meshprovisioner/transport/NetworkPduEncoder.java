@@ -0,0 +1,154 @@
+package no.nordicsemi.android.meshprovisioner.transport;
+
+import no.nordicsemi.android.meshprovisioner.utils.CipherContext;
+import no.nordicsemi.android.meshprovisioner.utils.CipherContextCache;
+
+/**
+ * Encodes network pdus directly in to a caller supplied output buffer.
+ * <p>
+ * The obfuscated network header and the encrypted network payload including the NetMIC are written in place, so encoding a segment
+ * does not allocate once the per thread scratch space has been created and the keys are in the {@link CipherContextCache}.
+ * </p>
+ */
+public final class NetworkPduEncoder {
+
+    private static final int NETWORK_PDU = 0x00;
+    private static final int PROXY_CONFIGURATION_PDU = 0x02;
+    private static final int NONCE_TYPE_NETWORK = 0x00;
+    private static final int NONCE_TYPE_PROXY = 0x03;
+    private static final int NONCE_LENGTH = 13;
+    private static final int BLOCK_SIZE = 16;
+    private static final int HEADER_LENGTH = 8; //pdu type, ivi nid, ctl ttl, seq, src
+    private static final int DST_LENGTH = 2;
+
+    private static final ThreadLocal<Scratch> SCRATCH = new ThreadLocal<Scratch>() {
+        @Override
+        protected Scratch initialValue() {
+            return new Scratch();
+        }
+    };
+
+    private NetworkPduEncoder() {
+    }
+
+    /**
+     * Returns the length of a network pdu carrying the given lower transport pdu
+     *
+     * @param ctl                     message type
+     * @param lowerTransportPduLength length of the lower transport pdu
+     * @return length of the network pdu including the pdu type
+     */
+    public static int getNetworkPduLength(final int ctl, final int lowerTransportPduLength) {
+        return HEADER_LENGTH + DST_LENGTH + lowerTransportPduLength + getNetMicLength(ctl);
+    }
+
+    /**
+     * Encodes a network pdu in to the output buffer
+     * <p>
+     * The nonce used is the network nonce for network pdus and the proxy nonce for proxy configuration pdus.
+     * </p>
+     *
+     * @param output                  buffer the network pdu is written to
+     * @param offset                  offset within the output buffer
+     * @param pduType                 pdu type, network pdu or proxy configuration pdu
+     * @param nid                     network identifier derived from the network key
+     * @param ctl                     message type
+     * @param ttl                     time to live
+     * @param sequenceNumber          24-bit sequence number
+     * @param src                     source address
+     * @param dst                     destination address
+     * @param ivIndex                 iv index
+     * @param lowerTransportPdu       lower transport pdu
+     * @param lowerTransportPduOffset offset of the lower transport pdu
+     * @param lowerTransportPduLength length of the lower transport pdu
+     * @param encryptionKey           encryption key derived from the network key
+     * @param privacyKey              privacy key derived from the network key
+     * @return number of bytes written to the output buffer
+     */
+    public static int encode(final byte[] output, final int offset, final int pduType, final int nid, final int ctl, final int ttl,
+                             final int sequenceNumber, final int src, final int dst, final int ivIndex,
+                             final byte[] lowerTransportPdu, final int lowerTransportPduOffset, final int lowerTransportPduLength,
+                             final byte[] encryptionKey, final byte[] privacyKey) {
+        if (pduType != NETWORK_PDU && pduType != PROXY_CONFIGURATION_PDU)
+            throw new IllegalArgumentException("Invalid pdu type: " + pduType);
+
+        final int micLength = getNetMicLength(ctl);
+        final int length = getNetworkPduLength(ctl, lowerTransportPduLength);
+        if (offset < 0 || offset + length > output.length)
+            throw new IllegalArgumentException("Output buffer is too small for the network pdu");
+
+        final Scratch scratch = SCRATCH.get();
+        final byte ctlTTL = (byte) ((ctl << 7) | (ttl & 0x7F));
+
+        //Nonce
+        final byte[] nonce = scratch.nonce;
+        if (pduType == NETWORK_PDU) {
+            nonce[0] = NONCE_TYPE_NETWORK;
+            nonce[1] = ctlTTL;
+        } else {
+            nonce[0] = NONCE_TYPE_PROXY;
+            nonce[1] = 0x00;
+        }
+        writeUint24(nonce, 2, sequenceNumber);
+        writeUint16(nonce, 5, src);
+        nonce[7] = 0x00;
+        nonce[8] = 0x00;
+        writeUint32(nonce, 9, ivIndex);
+
+        //Network payload, the dst and the lower transport pdu are encrypted in place
+        final int payloadOffset = offset + HEADER_LENGTH;
+        final int payloadLength = DST_LENGTH + lowerTransportPduLength;
+        writeUint16(output, payloadOffset, dst);
+        System.arraycopy(lowerTransportPdu, lowerTransportPduOffset, output, payloadOffset + DST_LENGTH, lowerTransportPduLength);
+        final CipherContext encryptionContext = CipherContextCache.get(encryptionKey);
+        encryptionContext.encryptCCM(nonce, output, payloadOffset, payloadLength, output, payloadOffset, micLength);
+
+        //PECB = e(PrivacyKey, 0x0000000000 || IV Index || Privacy Random)
+        final byte[] pecb = scratch.pecb;
+        pecb[0] = pecb[1] = pecb[2] = pecb[3] = pecb[4] = 0x00;
+        writeUint32(pecb, 5, ivIndex);
+        System.arraycopy(output, payloadOffset, pecb, 9, 7);
+        CipherContextCache.get(privacyKey).encryptBlock(pecb, 0, pecb, 0);
+
+        //Obfuscated network header
+        output[offset] = (byte) pduType;
+        output[offset + 1] = (byte) (((ivIndex & 0x01) << 7) | (nid & 0x7F));
+        output[offset + 2] = ctlTTL;
+        writeUint24(output, offset + 3, sequenceNumber);
+        writeUint16(output, offset + 6, src);
+        for (int i = 0; i < 6; i++) {
+            output[offset + 2 + i] ^= pecb[i];
+        }
+        return length;
+    }
+
+    private static int getNetMicLength(final int ctl) {
+        return ctl == 0 ? 4 : 8;
+    }
+
+    private static void writeUint16(final byte[] buffer, final int offset, final int value) {
+        buffer[offset] = (byte) (value >> 8);
+        buffer[offset + 1] = (byte) value;
+    }
+
+    private static void writeUint24(final byte[] buffer, final int offset, final int value) {
+        buffer[offset] = (byte) (value >> 16);
+        buffer[offset + 1] = (byte) (value >> 8);
+        buffer[offset + 2] = (byte) value;
+    }
+
+    private static void writeUint32(final byte[] buffer, final int offset, final int value) {
+        buffer[offset] = (byte) (value >> 24);
+        buffer[offset + 1] = (byte) (value >> 16);
+        buffer[offset + 2] = (byte) (value >> 8);
+        buffer[offset + 3] = (byte) value;
+    }
+
+    /**
+     * Scratch space owned by a single thread
+     */
+    private static final class Scratch {
+        private final byte[] nonce = new byte[NONCE_LENGTH];
+        private final byte[] pecb = new byte[BLOCK_SIZE];
+    }
+}
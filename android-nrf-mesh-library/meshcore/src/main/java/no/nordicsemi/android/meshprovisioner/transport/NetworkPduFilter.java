@@ -0,0 +1,298 @@
+package no.nordicsemi.android.meshprovisioner.transport;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import no.nordicsemi.android.meshprovisioner.utils.NetworkKeyMaterial;
+import no.nordicsemi.android.meshprovisioner.utils.NetworkKeyRegistry;
+import no.nordicsemi.android.meshprovisioner.utils.SecureUtils;
+
+/**
+ * Filters incoming network pdus before they are decrypted.
+ * <p>
+ * Pdus carrying a NID that does not belong to any known network are dropped without any cryptographic operation.
+ * For the remaining pdus only the network header is de-obfuscated, which costs a single AES block, and pdus with a
+ * (SRC, SEQ) pair that has been seen recently are dropped before the network payload is decrypted.
+ * </p>
+ * <p>
+ * A pdu is only remembered once its network mic has been verified, see {@link #addAuthenticated(NetworkKeyMaterial, byte[], int)},
+ * so pdus with a forged network header can not fill the cache and cause genuine pdus to be dropped.
+ * </p>
+ */
+public final class NetworkPduFilter {
+
+    /**
+     * The pdu should be processed
+     */
+    public static final int ACCEPTED = 0;
+    /**
+     * The pdu is too short to be a network pdu
+     */
+    public static final int DROPPED_MALFORMED = 1;
+    /**
+     * The NID does not belong to a known network
+     */
+    public static final int DROPPED_UNKNOWN_NID = 2;
+    /**
+     * The pdu has been received before
+     */
+    public static final int DROPPED_DUPLICATE = 3;
+
+    /**
+     * Number of recently seen (SRC, SEQ) pairs kept by default
+     */
+    public static final int DEFAULT_CACHE_SIZE = 128;
+
+    //pdu type, ivi nid, ctl ttl, seq, src, dst, at least one byte of transport pdu and a 32-bit NetMIC
+    private static final int MIN_NETWORK_PDU_LENGTH = 1 + 1 + 1 + 3 + 2 + 2 + 1 + 4;
+
+    private final NetworkKeyRegistry mRegistry;
+    private final long[] mCache;
+    private int mCacheHead;
+    private int mCacheCount;
+    private final byte[] mPecb = new byte[16];
+
+    private final AtomicLong mReceived = new AtomicLong();
+    private final AtomicLong mAccepted = new AtomicLong();
+    private final AtomicLong mDroppedMalformed = new AtomicLong();
+    private final AtomicLong mDroppedUnknownNid = new AtomicLong();
+    private final AtomicLong mDroppedDuplicate = new AtomicLong();
+
+    public NetworkPduFilter(final NetworkKeyRegistry registry) {
+        this(registry, DEFAULT_CACHE_SIZE);
+    }
+
+    public NetworkPduFilter(final NetworkKeyRegistry registry, final int cacheSize) {
+        if (cacheSize <= 0)
+            throw new IllegalArgumentException("Cache size must be greater than 0");
+        mRegistry = registry;
+        mCache = new long[cacheSize];
+    }
+
+    /**
+     * Filters a network pdu
+     *
+     * @param pdu     network pdu including the pdu type
+     * @param ivIndex current iv index
+     * @return {@link #ACCEPTED} if the pdu should be processed or the reason the pdu was dropped
+     */
+    public int filter(final byte[] pdu, final byte[] ivIndex) {
+        return filter(pdu, ((ivIndex[0] & 0xFF) << 24) | ((ivIndex[1] & 0xFF) << 16) | ((ivIndex[2] & 0xFF) << 8) | (ivIndex[3] & 0xFF));
+    }
+
+    /**
+     * Filters a network pdu
+     *
+     * @param pdu     network pdu including the pdu type
+     * @param ivIndex current iv index
+     * @return {@link #ACCEPTED} if the pdu should be processed or the reason the pdu was dropped
+     */
+    public synchronized int filter(final byte[] pdu, final int ivIndex) {
+        mReceived.incrementAndGet();
+        if (pdu == null || pdu.length < MIN_NETWORK_PDU_LENGTH) {
+            mDroppedMalformed.incrementAndGet();
+            TransportMetrics.increment(TransportMetrics.NETWORK_DROPPED_MALFORMED);
+            return DROPPED_MALFORMED;
+        }
+
+        final int ivi = (pdu[1] >> 7) & 0x01;
+        final NetworkKeyMaterial[] candidates = mRegistry.getKeyMaterials(pdu[1] & 0x7F);
+        if (candidates.length == 0) {
+            mDroppedUnknownNid.incrementAndGet();
+            TransportMetrics.increment(TransportMetrics.NETWORK_DROPPED_UNKNOWN_NID);
+            return DROPPED_UNKNOWN_NID;
+        }
+
+        //The iv index used by the sender is the current one or the previous one during an iv update
+        final int senderIvIndex = (ivIndex & 0x01) == ivi ? ivIndex : ivIndex - 1;
+        for (NetworkKeyMaterial candidate : candidates) {
+            if (contains(deobfuscateSrcSeq(candidate, pdu, senderIvIndex, ivi))) {
+                mDroppedDuplicate.incrementAndGet();
+                TransportMetrics.increment(TransportMetrics.NETWORK_DROPPED_DUPLICATE);
+                return DROPPED_DUPLICATE;
+            }
+        }
+        mAccepted.incrementAndGet();
+        return ACCEPTED;
+    }
+
+    /**
+     * Remembers a network pdu so that it is dropped by {@link #filter(byte[], int)} if it is received again
+     * <p>
+     * This must only be called once the network mic of the pdu has been verified.
+     * </p>
+     *
+     * @param keyMaterial key material of the network that verified the network mic
+     * @param pdu         network pdu including the pdu type
+     * @param ivIndex     iv index the pdu was received with
+     */
+    public synchronized void addAuthenticated(final NetworkKeyMaterial keyMaterial, final byte[] pdu, final int ivIndex) {
+        if (pdu == null || pdu.length < MIN_NETWORK_PDU_LENGTH)
+            return;
+
+        final int ivi = (pdu[1] >> 7) & 0x01;
+        final int senderIvIndex = (ivIndex & 0x01) == ivi ? ivIndex : ivIndex - 1;
+        add(deobfuscateSrcSeq(keyMaterial, pdu, senderIvIndex, ivi));
+    }
+
+    /**
+     * Returns the source address of a network pdu by de-obfuscating the network header only
+     *
+     * @param pdu     network pdu including the pdu type
+     * @param ivIndex current iv index
+     * @return unicast address of the source or -1 if the pdu does not belong to a known network
+     */
+    public int getSourceAddress(final byte[] pdu, final byte[] ivIndex) {
+        return getSourceAddress(pdu, ((ivIndex[0] & 0xFF) << 24) | ((ivIndex[1] & 0xFF) << 16) | ((ivIndex[2] & 0xFF) << 8) | (ivIndex[3] & 0xFF));
+    }
+
+    /**
+     * Returns the source address of a network pdu by de-obfuscating the network header only
+     * <p>
+     * If several networks use the NID of the pdu, the network mic is verified with every candidate and the source address
+     * is taken from the network that authenticates the pdu.
+     * </p>
+     *
+     * @param pdu     network pdu including the pdu type
+     * @param ivIndex current iv index
+     * @return unicast address of the source or -1 if the pdu does not belong to a known network
+     */
+    public synchronized int getSourceAddress(final byte[] pdu, final int ivIndex) {
+        if (pdu == null || pdu.length < MIN_NETWORK_PDU_LENGTH)
+            return -1;
+
+        final NetworkKeyMaterial[] candidates = mRegistry.getKeyMaterials(pdu[1] & 0x7F);
+        if (candidates.length == 0)
+            return -1;
+
+        final int ivi = (pdu[1] >> 7) & 0x01;
+        final int senderIvIndex = (ivIndex & 0x01) == ivi ? ivIndex : ivIndex - 1;
+        if (candidates.length == 1) {
+            return (int) (deobfuscateSrcSeq(candidates[0], pdu, senderIvIndex, ivi) >> 24) & 0xFFFF;
+        }
+
+        for (NetworkKeyMaterial candidate : candidates) {
+            final long srcSeq = deobfuscateSrcSeq(candidate, pdu, senderIvIndex, ivi);
+            if (isAuthenticated(candidate, pdu, senderIvIndex, srcSeq)) {
+                return (int) (srcSeq >> 24) & 0xFFFF;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * De-obfuscates the network header and returns IVI, SRC and SEQ packed in to a long
+     */
+    private long deobfuscateSrcSeq(final NetworkKeyMaterial keyMaterial, final byte[] pdu, final int ivIndex, final int ivi) {
+        final byte[] pecb = mPecb;
+        pecb[0] = pecb[1] = pecb[2] = pecb[3] = pecb[4] = 0x00;
+        pecb[5] = (byte) (ivIndex >> 24);
+        pecb[6] = (byte) (ivIndex >> 16);
+        pecb[7] = (byte) (ivIndex >> 8);
+        pecb[8] = (byte) ivIndex;
+        System.arraycopy(pdu, 8, pecb, 9, 7);
+        keyMaterial.getPrivacyCipherContext().encryptBlock(pecb, 0, pecb, 0);
+
+        final int seq = (((pdu[3] ^ pecb[1]) & 0xFF) << 16) | (((pdu[4] ^ pecb[2]) & 0xFF) << 8) | ((pdu[5] ^ pecb[3]) & 0xFF);
+        final int src = (((pdu[6] ^ pecb[4]) & 0xFF) << 8) | ((pdu[7] ^ pecb[5]) & 0xFF);
+        return ((long) ivi << 40) | ((long) src << 24) | seq;
+    }
+
+    /**
+     * Verifies the network mic of a pdu whose header has just been de-obfuscated with the same key material
+     */
+    private boolean isAuthenticated(final NetworkKeyMaterial keyMaterial, final byte[] pdu, final int ivIndex, final long srcSeq) {
+        //The PECB of the last de-obfuscation is still in mPecb
+        final int ctlTtl = (pdu[2] ^ mPecb[0]) & 0xFF;
+        final int micLength = SecureUtils.getNetMicLength((ctlTtl >> 7) & 0x01);
+        final int networkPayloadLength = pdu.length - 8;
+        if (networkPayloadLength <= micLength)
+            return false;
+
+        final int seq = (int) srcSeq & 0xFFFFFF;
+        final int src = (int) (srcSeq >> 24) & 0xFFFF;
+        final byte[] networkNonce = new byte[13];
+        networkNonce[1] = (byte) ctlTtl;
+        networkNonce[2] = (byte) (seq >> 16);
+        networkNonce[3] = (byte) (seq >> 8);
+        networkNonce[4] = (byte) seq;
+        networkNonce[5] = (byte) (src >> 8);
+        networkNonce[6] = (byte) src;
+        networkNonce[9] = (byte) (ivIndex >> 24);
+        networkNonce[10] = (byte) (ivIndex >> 16);
+        networkNonce[11] = (byte) (ivIndex >> 8);
+        networkNonce[12] = (byte) ivIndex;
+        return keyMaterial.getEncryptionCipherContext().decryptCCM(networkNonce, pdu, 8, networkPayloadLength,
+                new byte[networkPayloadLength - micLength], 0, micLength);
+    }
+
+    private boolean contains(final long entry) {
+        for (int i = 0; i < mCacheCount; i++) {
+            if (mCache[i] == entry) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void add(final long entry) {
+        mCache[mCacheHead] = entry;
+        mCacheHead = (mCacheHead + 1) % mCache.length;
+        if (mCacheCount < mCache.length) {
+            mCacheCount++;
+        }
+    }
+
+    /**
+     * Clears the recently seen (SRC, SEQ) pairs
+     */
+    public synchronized void clearCache() {
+        mCacheHead = 0;
+        mCacheCount = 0;
+    }
+
+    /**
+     * Returns the number of network pdus passed to the filter
+     */
+    public long getReceivedCount() {
+        return mReceived.get();
+    }
+
+    /**
+     * Returns the number of network pdus accepted by the filter
+     */
+    public long getAcceptedCount() {
+        return mAccepted.get();
+    }
+
+    /**
+     * Returns the number of network pdus dropped for being too short
+     */
+    public long getDroppedMalformedCount() {
+        return mDroppedMalformed.get();
+    }
+
+    /**
+     * Returns the number of network pdus dropped due to an unknown NID
+     */
+    public long getDroppedUnknownNidCount() {
+        return mDroppedUnknownNid.get();
+    }
+
+    /**
+     * Returns the number of duplicate network pdus dropped
+     */
+    public long getDroppedDuplicateCount() {
+        return mDroppedDuplicate.get();
+    }
+
+    /**
+     * Resets all counters
+     */
+    public void resetCounters() {
+        mReceived.set(0);
+        mAccepted.set(0);
+        mDroppedMalformed.set(0);
+        mDroppedUnknownNid.set(0);
+        mDroppedDuplicate.set(0);
+    }
+}
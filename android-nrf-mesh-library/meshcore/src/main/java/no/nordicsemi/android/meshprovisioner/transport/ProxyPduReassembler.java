@@ -0,0 +1,156 @@
+package no.nordicsemi.android.meshprovisioner.transport;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Reassembles proxy pdus that have been segmented at the GATT layer.
+ * <p>
+ * Each segment is appended to a buffer that is kept between messages and only grows when a larger message is received.
+ * The SAR bits of the first segment are cleared and the header of every following segment is skipped while appending,
+ * so the buffer holds the complete proxy pdu once the last segment has been appended and no second pass is needed.
+ * One reassembler should be used per connection and direction.
+ * </p>
+ */
+public final class ProxyPduReassembler {
+
+    /**
+     * More segments are required to complete the proxy pdu
+     */
+    public static final int INCOMPLETE = 0;
+    /**
+     * The segment was dropped because it does not continue a proxy pdu
+     */
+    public static final int DROPPED = -1;
+
+    private static final int DEFAULT_CAPACITY = 66;
+    private static final int SAR_COMPLETE = 0b00;
+    private static final int SAR_START = 0b01;
+    private static final int SAR_CONTINUATION = 0b10;
+    private static final int SAR_END = 0b11;
+    private static final int SAR_BIT_OFFSET = 6;
+    private static final int PDU_TYPE_MASK = 0x3F;
+
+    private byte[] mBuffer;
+    private int mLength;
+    private int mPduType = -1;
+
+    public ProxyPduReassembler() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a reassembler
+     *
+     * @param initialCapacity initial capacity of the reassembly buffer
+     */
+    public ProxyPduReassembler(final int initialCapacity) {
+        mBuffer = new byte[Math.max(1, initialCapacity)];
+    }
+
+    /**
+     * Appends a segment received from the GATT layer
+     *
+     * @param data   buffer containing the segment
+     * @param offset offset of the segment
+     * @param length length of the segment including the SAR header
+     * @return length of the complete proxy pdu, {@link #INCOMPLETE} if more segments are required or {@link #DROPPED}
+     */
+    public int append(final byte[] data, final int offset, final int length) {
+        if (length <= 0)
+            return DROPPED;
+
+        final int sar = (data[offset] & 0xFF) >> SAR_BIT_OFFSET;
+        final int pduType = data[offset] & PDU_TYPE_MASK;
+        switch (sar) {
+            case SAR_COMPLETE:
+            case SAR_START:
+                //Anything that was being reassembled is discarded when a new pdu starts
+                mLength = 0;
+                mPduType = pduType;
+                ensureCapacity(length);
+                System.arraycopy(data, offset, mBuffer, 0, length);
+                mBuffer[0] = (byte) pduType;
+                mLength = length;
+                if (sar == SAR_COMPLETE) {
+                    mPduType = -1;
+                    return mLength;
+                }
+                return INCOMPLETE;
+            case SAR_CONTINUATION:
+            case SAR_END:
+            default:
+                if (mPduType != pduType) {
+                    mPduType = -1;
+                    return DROPPED;
+                }
+                final int payloadLength = length - 1;
+                ensureCapacity(mLength + payloadLength);
+                System.arraycopy(data, offset + 1, mBuffer, mLength, payloadLength);
+                mLength += payloadLength;
+                if (sar == SAR_END) {
+                    mPduType = -1;
+                    return mLength;
+                }
+                return INCOMPLETE;
+        }
+    }
+
+    /**
+     * Appends a segment received from the GATT layer
+     *
+     * @param data segment including the SAR header
+     * @return length of the complete proxy pdu, {@link #INCOMPLETE} if more segments are required or {@link #DROPPED}
+     */
+    public int append(final byte[] data) {
+        return append(data, 0, data.length);
+    }
+
+    /**
+     * Returns the buffer holding the last complete proxy pdu at offset 0.
+     * <p>
+     * The buffer is reused, so its content is only valid until the next segment is appended.
+     * </p>
+     */
+    public byte[] getBuffer() {
+        return mBuffer;
+    }
+
+    /**
+     * Returns a read only view of the last complete proxy pdu without copying it.
+     * <p>
+     * The view is only valid until the next segment is appended.
+     * </p>
+     */
+    public ByteBuffer getPdu() {
+        return ByteBuffer.wrap(mBuffer, 0, mLength).slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns a copy of the last complete proxy pdu
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(mBuffer, mLength);
+    }
+
+    /**
+     * Returns true if a proxy pdu is being reassembled
+     */
+    public boolean isInProgress() {
+        return mPduType != -1;
+    }
+
+    /**
+     * Discards the proxy pdu being reassembled
+     */
+    public void reset() {
+        mLength = 0;
+        mPduType = -1;
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > mBuffer.length) {
+            mBuffer = Arrays.copyOf(mBuffer, Math.max(capacity, mBuffer.length * 2));
+        }
+    }
+}
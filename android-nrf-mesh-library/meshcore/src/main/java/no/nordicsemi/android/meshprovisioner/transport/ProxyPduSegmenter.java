@@ -0,0 +1,113 @@
+package no.nordicsemi.android.meshprovisioner.transport;
+
+/**
+ * Segments proxy pdus at the GATT layer.
+ * <p>
+ * The chunks are produced straight from the source pdu into a buffer that is kept between calls and passed to a
+ * {@link ChunkCallback} one at a time, so no intermediate buffer holding all segments is created.
+ * Every chunk is at most as long as the maximum write length, which is the negotiated ATT MTU minus the ATT header.
+ * </p>
+ */
+public final class ProxyPduSegmenter {
+
+    /**
+     * Length of the ATT header of a write request or notification
+     */
+    public static final int ATT_HEADER_LENGTH = 3;
+
+    private static final int SAR_START = 0b01;
+    private static final int SAR_CONTINUATION = 0b10;
+    private static final int SAR_END = 0b11;
+    private static final int SAR_BIT_OFFSET = 6;
+    private static final int PDU_TYPE_MASK = 0x3F;
+
+    private byte[] mBuffer = new byte[0];
+
+    /**
+     * Receives the GATT chunks of a proxy pdu
+     */
+    public interface ChunkCallback {
+
+        /**
+         * Called for every chunk in the order they must be written
+         *
+         * @param chunk  buffer containing the chunk at offset 0, it is reused for the next chunk
+         *               and must be copied if it is used after returning
+         * @param length length of the chunk
+         */
+        void onChunk(final byte[] chunk, final int length);
+    }
+
+    /**
+     * Returns the maximum length of a chunk for a negotiated ATT MTU
+     *
+     * @param attMtu ATT MTU negotiated with the peripheral
+     */
+    public static int getMaxChunkLength(final int attMtu) {
+        return attMtu - ATT_HEADER_LENGTH;
+    }
+
+    /**
+     * Returns the number of chunks a proxy pdu is segmented in to
+     *
+     * @param pduLength      length of the proxy pdu including the pdu type
+     * @param maxChunkLength maximum length of a chunk
+     */
+    public static int getChunkCount(final int pduLength, final int maxChunkLength) {
+        if (pduLength <= maxChunkLength)
+            return 1;
+        //Every chunk carries the pdu type and sar in its first byte
+        final int payloadLength = pduLength - 1;
+        final int chunkPayloadLength = maxChunkLength - 1;
+        return (payloadLength + chunkPayloadLength - 1) / chunkPayloadLength;
+    }
+
+    /**
+     * Segments a proxy pdu and passes each chunk to the callback
+     *
+     * @param pdu            proxy pdu starting with the pdu type
+     * @param maxChunkLength maximum length of a chunk, the ATT MTU minus the ATT header
+     * @param callback       callback receiving the chunks
+     * @return number of chunks
+     */
+    public int segment(final byte[] pdu, final int maxChunkLength, final ChunkCallback callback) {
+        if (maxChunkLength < 2)
+            throw new IllegalArgumentException("Maximum chunk length must be at least 2 bytes");
+        if (pdu.length == 0)
+            throw new IllegalArgumentException("Proxy pdu cannot be empty");
+
+        final int chunkCount = getChunkCount(pdu.length, maxChunkLength);
+        if (chunkCount == 1) {
+            ensureCapacity(pdu.length);
+            System.arraycopy(pdu, 0, mBuffer, 0, pdu.length);
+            callback.onChunk(mBuffer, pdu.length);
+            return 1;
+        }
+
+        ensureCapacity(maxChunkLength);
+        final int pduType = pdu[0] & PDU_TYPE_MASK;
+        int srcOffset = 1;
+        for (int i = 0; i < chunkCount; i++) {
+            final int sar;
+            if (i == 0) {
+                sar = SAR_START;
+            } else if (i == chunkCount - 1) {
+                sar = SAR_END;
+            } else {
+                sar = SAR_CONTINUATION;
+            }
+            final int length = Math.min(pdu.length - srcOffset, maxChunkLength - 1);
+            mBuffer[0] = (byte) ((sar << SAR_BIT_OFFSET) | pduType);
+            System.arraycopy(pdu, srcOffset, mBuffer, 1, length);
+            srcOffset += length;
+            callback.onChunk(mBuffer, length + 1);
+        }
+        return chunkCount;
+    }
+
+    private void ensureCapacity(final int capacity) {
+        if (capacity > mBuffer.length) {
+            mBuffer = new byte[capacity];
+        }
+    }
+}
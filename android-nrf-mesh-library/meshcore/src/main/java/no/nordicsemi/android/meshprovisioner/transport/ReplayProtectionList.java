@@ -0,0 +1,313 @@
+package no.nordicsemi.android.meshprovisioner.transport;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import no.nordicsemi.android.meshprovisioner.platform.MeshLog;
+
+/**
+ * Replay protection list shared by the whole mesh network.
+ * <p>
+ * The last accepted IV index and sequence number are kept per 16-bit unicast source in primitive arrays indexed
+ * directly by the unicast address, so checking and updating an entry is O(1) and does not allocate.
+ * Updates are persisted incrementally by writing only the 8 byte record of a source to a fixed offset in the backing file.
+ * The records are written on a background thread so that the receive path never waits for storage, and sources updated
+ * several times before the writer runs are written once.
+ * </p>
+ */
+public final class ReplayProtectionList {
+
+    private static final String TAG = ReplayProtectionList.class.getSimpleName();
+    private static final String RPL_FILE = "mesh_rpl.bin";
+    /**
+     * Number of unicast addresses, 0x0001 to 0x7FFF
+     */
+    private static final int UNICAST_ADDRESS_COUNT = 0x8000;
+    private static final int RECORD_LENGTH = 8; //iv index and sequence number
+    private static final int NO_ENTRY = -1;
+
+    private static ReplayProtectionList mInstance;
+    private static File mInstanceDirectory;
+
+    private final int[] mIvIndices = new int[UNICAST_ADDRESS_COUNT];
+    private final int[] mSequenceNumbers = new int[UNICAST_ADDRESS_COUNT];
+    private final byte[] mRecord = new byte[RECORD_LENGTH];
+    private final RandomAccessFile mFile;
+    private final ExecutorService mWriter;
+    private final BitSet mDirtySources = new BitSet(UNICAST_ADDRESS_COUNT);
+    private final Runnable mWriteDirtyRecords = this::writeDirtyRecords;
+    private boolean mWriteScheduled;
+    private int mSize;
+
+    /**
+     * Returns the replay protection list, loading it from storage the first time it is requested
+     *
+     * @param directory directory the list is stored in or null to keep it in memory only
+     * @return replay protection list
+     * @throws IllegalStateException if the list has already been loaded from another directory
+     */
+    public static synchronized ReplayProtectionList getInstance(final File directory) {
+        if (mInstance == null) {
+            mInstance = new ReplayProtectionList(directory == null ? null : new File(directory, RPL_FILE));
+            mInstanceDirectory = directory;
+        } else if (directory == null ? mInstanceDirectory != null : !directory.equals(mInstanceDirectory)) {
+            throw new IllegalStateException("Replay protection list is already stored in " + mInstanceDirectory);
+        }
+        return mInstance;
+    }
+
+    /**
+     * Creates a replay protection list
+     *
+     * @param file file backing the list or null to keep it in memory only
+     */
+    public ReplayProtectionList(final File file) {
+        Arrays.fill(mSequenceNumbers, NO_ENTRY);
+        mFile = openFile(file);
+        mWriter = mFile == null ? null : Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, TAG);
+            thread.setDaemon(true);
+            return thread;
+        });
+        load();
+    }
+
+    private static RandomAccessFile openFile(final File file) {
+        if (file == null)
+            return null;
+        try {
+            return new RandomAccessFile(file, "rw");
+        } catch (IOException e) {
+            MeshLog.e(TAG, "Unable to open replay protection list: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void load() {
+        if (mFile == null)
+            return;
+        try {
+            final long length = mFile.length();
+            if (length == 0)
+                return;
+
+            final byte[] data = new byte[(int) Math.min(length, (long) UNICAST_ADDRESS_COUNT * RECORD_LENGTH)];
+            mFile.seek(0);
+            mFile.readFully(data);
+            for (int src = 1; (src + 1) * RECORD_LENGTH <= data.length; src++) {
+                final int offset = src * RECORD_LENGTH;
+                final int ivIndex = readInt(data, offset);
+                //Sequence numbers are stored incremented by one so that unwritten records read as empty
+                final int sequenceNumber = readInt(data, offset + 4) - 1;
+                if (sequenceNumber != NO_ENTRY) {
+                    mIvIndices[src] = ivIndex;
+                    mSequenceNumbers[src] = sequenceNumber;
+                    mSize++;
+                }
+            }
+        } catch (IOException e) {
+            MeshLog.e(TAG, "Unable to load replay protection list: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Checks if a message would be a replay without updating the list
+     *
+     * @param src            unicast address of the source
+     * @param ivIndex        iv index used by the source
+     * @param sequenceNumber sequence number of the message
+     * @return true if the message is a replay and must be discarded
+     */
+    public synchronized boolean isReplay(final int src, final int ivIndex, final int sequenceNumber) {
+        if (!isUnicastAddress(src))
+            return true;
+
+        final int lastSequenceNumber = mSequenceNumbers[src];
+        if (lastSequenceNumber == NO_ENTRY)
+            return false;
+
+        final int lastIvIndex = mIvIndices[src];
+        if (ivIndex != lastIvIndex) {
+            //iv index is an unsigned 32-bit value
+            return Integer.compare(ivIndex ^ Integer.MIN_VALUE, lastIvIndex ^ Integer.MIN_VALUE) < 0;
+        }
+        return sequenceNumber <= lastSequenceNumber;
+    }
+
+    /**
+     * Checks a message against the list and records it if it is not a replay
+     *
+     * @param src            unicast address of the source
+     * @param ivIndex        iv index used by the source
+     * @param sequenceNumber sequence number of the message
+     * @return true if the message was accepted or false if it is a replay
+     */
+    public synchronized boolean checkAndUpdate(final int src, final int ivIndex, final int sequenceNumber) {
+        if (isReplay(src, ivIndex, sequenceNumber))
+            return false;
+
+        if (mSequenceNumbers[src] == NO_ENTRY) {
+            mSize++;
+        }
+        mIvIndices[src] = ivIndex;
+        mSequenceNumbers[src] = sequenceNumber;
+        markDirty(src);
+        return true;
+    }
+
+    /**
+     * Returns the last sequence number accepted from a source or -1 if nothing has been received from it
+     *
+     * @param src unicast address of the source
+     */
+    public synchronized int getSequenceNumber(final int src) {
+        return isUnicastAddress(src) ? mSequenceNumbers[src] : NO_ENTRY;
+    }
+
+    /**
+     * Returns the iv index of the last message accepted from a source
+     *
+     * @param src unicast address of the source
+     */
+    public synchronized int getIvIndex(final int src) {
+        return isUnicastAddress(src) ? mIvIndices[src] : 0;
+    }
+
+    /**
+     * Returns the number of sources in the list
+     */
+    public synchronized int size() {
+        return mSize;
+    }
+
+    /**
+     * Removes a source from the list, e.g. when a node is reset
+     *
+     * @param src unicast address of the source
+     */
+    public synchronized void remove(final int src) {
+        if (!isUnicastAddress(src) || mSequenceNumbers[src] == NO_ENTRY)
+            return;
+
+        mIvIndices[src] = 0;
+        mSequenceNumbers[src] = NO_ENTRY;
+        mSize--;
+        markDirty(src);
+    }
+
+    /**
+     * Removes the sources of a range of unicast addresses, e.g. the element addresses of a node that has been reset
+     *
+     * @param src   first unicast address
+     * @param count number of addresses
+     */
+    public synchronized void remove(final int src, final int count) {
+        for (int address = src; address < src + count; address++) {
+            remove(address);
+        }
+    }
+
+    /**
+     * Removes all sources from the list
+     */
+    public synchronized void clear() {
+        Arrays.fill(mIvIndices, 0);
+        Arrays.fill(mSequenceNumbers, NO_ENTRY);
+        mSize = 0;
+        mDirtySources.clear();
+        if (mWriter != null) {
+            //Runs after any write already scheduled, so the file ends up empty
+            mWriter.execute(() -> {
+                try {
+                    mFile.setLength(0);
+                } catch (IOException e) {
+                    MeshLog.e(TAG, "Unable to clear replay protection list: " + e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Blocks until every update made so far has been written to the backing file
+     */
+    public void flush() {
+        if (mWriter == null)
+            return;
+        try {
+            mWriter.submit(mWriteDirtyRecords).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            MeshLog.e(TAG, "Unable to flush replay protection list: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Marks the record of a source to be written and schedules the writer if it is not already pending
+     */
+    private void markDirty(final int src) {
+        if (mWriter == null)
+            return;
+
+        mDirtySources.set(src);
+        if (!mWriteScheduled) {
+            mWriteScheduled = true;
+            mWriter.execute(mWriteDirtyRecords);
+        }
+    }
+
+    /**
+     * Writes the records of the sources updated since the last write, this runs on the writer thread only
+     */
+    private void writeDirtyRecords() {
+        final int[] sources;
+        final int[] ivIndices;
+        final int[] sequenceNumbers;
+        synchronized (this) {
+            mWriteScheduled = false;
+            sources = new int[mDirtySources.cardinality()];
+            ivIndices = new int[sources.length];
+            sequenceNumbers = new int[sources.length];
+            int i = 0;
+            for (int src = mDirtySources.nextSetBit(0); src >= 0; src = mDirtySources.nextSetBit(src + 1)) {
+                sources[i] = src;
+                ivIndices[i] = mIvIndices[src];
+                sequenceNumbers[i] = mSequenceNumbers[src];
+                i++;
+            }
+            mDirtySources.clear();
+        }
+
+        try {
+            for (int i = 0; i < sources.length; i++) {
+                writeInt(mRecord, 0, ivIndices[i]);
+                writeInt(mRecord, 4, sequenceNumbers[i] + 1);
+                mFile.seek((long) sources[i] * RECORD_LENGTH);
+                mFile.write(mRecord, 0, RECORD_LENGTH);
+            }
+        } catch (IOException e) {
+            MeshLog.e(TAG, "Unable to persist replay protection list: " + e.getMessage());
+        }
+    }
+
+    private static boolean isUnicastAddress(final int address) {
+        return address > 0 && address < UNICAST_ADDRESS_COUNT;
+    }
+
+    private static int readInt(final byte[] buffer, final int offset) {
+        return ((buffer[offset] & 0xFF) << 24) | ((buffer[offset + 1] & 0xFF) << 16) | ((buffer[offset + 2] & 0xFF) << 8) | (buffer[offset + 3] & 0xFF);
+    }
+
+    private static void writeInt(final byte[] buffer, final int offset, final int value) {
+        buffer[offset] = (byte) (value >> 24);
+        buffer[offset + 1] = (byte) (value >> 16);
+        buffer[offset + 2] = (byte) (value >> 8);
+        buffer[offset + 3] = (byte) value;
+    }
+}
@@ -0,0 +1,361 @@
+package no.nordicsemi.android.meshprovisioner.transport;
+
+import java.util.Arrays;
+
+/**
+ * Reassembles segmented lower transport pdus.
+ * <p>
+ * Messages are reassembled per (SRC, SeqZero) so that segmented messages received from different nodes at the same time
+ * do not interfere with each other. Received segments are tracked in a 32-bit block acknowledgement bitmap and their payload
+ * is copied straight to its final position in a buffer that is allocated once per slot, so the memory used is bounded by the
+ * number of slots regardless of how many segments are received. A reassembly that does not receive a segment within the
+ * incomplete timeout is discarded, see {@link #expireIncomplete(Reassembly, int, long)}.
+ * </p>
+ * <p>
+ * A reassembler is shared by the transports receiving from the same bearer, so its methods are synchronized.
+ * </p>
+ */
+public final class SegmentReassembler {
+
+    /**
+     * The segment was added to the reassembly
+     */
+    public static final int SEGMENT_ADDED = 0;
+    /**
+     * The segment completed the message
+     */
+    public static final int MESSAGE_COMPLETE = 1;
+    /**
+     * The segment has already been received
+     */
+    public static final int DUPLICATE_SEGMENT = 2;
+    /**
+     * The segment belongs to a message that has already been reassembled
+     */
+    public static final int ALREADY_COMPLETE = 3;
+    /**
+     * The segment is not valid and was dropped
+     */
+    public static final int INVALID_SEGMENT = 4;
+
+    /**
+     * Number of messages that can be reassembled at the same time by default
+     */
+    public static final int DEFAULT_MAX_REASSEMBLIES = 8;
+    /**
+     * Incomplete timer duration in milliseconds
+     */
+    public static final long DEFAULT_INCOMPLETE_TIMEOUT = 10000;
+
+    private static final int MAX_SEGMENTS = 32;
+
+    private final Reassembly[] mReassemblies;
+    private final int mSegmentLength;
+    private final long mIncompleteTimeout;
+
+    /**
+     * Creates a segment reassembler
+     *
+     * @param segmentLength     payload length of a segment excluding the segmentation header
+     * @param maxReassemblies   number of messages that can be reassembled at the same time
+     * @param incompleteTimeout time in milliseconds after which a message that has not received a segment is discarded
+     */
+    public SegmentReassembler(final int segmentLength, final int maxReassemblies, final long incompleteTimeout) {
+        if (segmentLength <= 0)
+            throw new IllegalArgumentException("Segment length must be greater than 0");
+        if (maxReassemblies <= 0)
+            throw new IllegalArgumentException("Maximum number of reassemblies must be greater than 0");
+        mSegmentLength = segmentLength;
+        mIncompleteTimeout = incompleteTimeout;
+        mReassemblies = new Reassembly[maxReassemblies];
+        for (int i = 0; i < maxReassemblies; i++) {
+            mReassemblies[i] = new Reassembly(MAX_SEGMENTS * segmentLength);
+        }
+    }
+
+    /**
+     * Adds a segment to the message it belongs to
+     *
+     * @param src     unicast address of the source
+     * @param seqZero 13 least significant bits of the sequence number of the first segment
+     * @param segO    zero based segment offset
+     * @param segN    zero based number of the last segment
+     * @param data    buffer containing the segment payload
+     * @param offset  offset of the segment payload
+     * @param length  length of the segment payload
+     * @param now     current time in milliseconds
+     * @return {@link #SEGMENT_ADDED}, {@link #MESSAGE_COMPLETE}, {@link #DUPLICATE_SEGMENT}, {@link #ALREADY_COMPLETE} or {@link #INVALID_SEGMENT}
+     */
+    public synchronized int addSegment(final int src, final int seqZero, final int segO, final int segN,
+                          final byte[] data, final int offset, final int length, final long now) {
+        if (segN >= MAX_SEGMENTS || segO > segN || length <= 0 || length > mSegmentLength)
+            return INVALID_SEGMENT;
+        //Only the last segment may be shorter than the maximum segment length
+        if (segO != segN && length != mSegmentLength)
+            return INVALID_SEGMENT;
+
+        Reassembly reassembly = find(src, seqZero, now);
+        if (reassembly == null) {
+            if (!cancelOlderReassembly(src, seqZero, now))
+                return INVALID_SEGMENT;
+            reassembly = allocate(now);
+            reassembly.start(src, seqZero, segN);
+        } else if (reassembly.mSegN != segN) {
+            return INVALID_SEGMENT;
+        }
+
+        reassembly.mLastActivity = now;
+        if (reassembly.isComplete())
+            return ALREADY_COMPLETE;
+
+        final int mask = 1 << segO;
+        if ((reassembly.mBlockAck & mask) != 0)
+            return DUPLICATE_SEGMENT;
+
+        System.arraycopy(data, offset, reassembly.mBuffer, segO * mSegmentLength, length);
+        reassembly.mBlockAck |= mask;
+        if (segO == segN) {
+            reassembly.mLength = segN * mSegmentLength + length;
+        }
+        return reassembly.isComplete() ? MESSAGE_COMPLETE : SEGMENT_ADDED;
+    }
+
+    /**
+     * Returns the reassembly of a message or null if no segment of the message has been received
+     *
+     * @param src     unicast address of the source
+     * @param seqZero 13 least significant bits of the sequence number of the first segment
+     */
+    public synchronized Reassembly getReassembly(final int src, final int seqZero) {
+        for (Reassembly reassembly : mReassemblies) {
+            if (reassembly.mInUse && reassembly.mSrc == src && reassembly.mSeqZero == seqZero) {
+                return reassembly;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of messages being reassembled or kept to acknowledge retransmitted segments
+     */
+    public synchronized int size() {
+        int size = 0;
+        for (Reassembly reassembly : mReassemblies) {
+            if (reassembly.mInUse) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Discards all messages
+     */
+    public synchronized void clear() {
+        for (Reassembly reassembly : mReassemblies) {
+            reassembly.mInUse = false;
+        }
+    }
+
+    /**
+     * Discards a message that has not received a segment within the incomplete timeout.
+     * <p>
+     * Called when the incomplete timer started for a message fires, the timer is started again for the remaining time if the
+     * message has received a segment in the mean time.
+     * </p>
+     *
+     * @param reassembly reassembly of the message
+     * @param generation generation of the reassembly when the timer was started, see {@link Reassembly#getGeneration()}
+     * @param now        current time in milliseconds
+     * @return 0 if the message was discarded, the time in milliseconds until the message expires if it is still incomplete,
+     * or -1 if the message is complete or its slot has been reused
+     */
+    public synchronized long expireIncomplete(final Reassembly reassembly, final int generation, final long now) {
+        if (!reassembly.mInUse || reassembly.mGeneration != generation || reassembly.isComplete())
+            return -1;
+        if (!isExpired(reassembly, now))
+            return Math.max(1, reassembly.mLastActivity + mIncompleteTimeout - now);
+        discardExpired(reassembly);
+        return 0;
+    }
+
+    /**
+     * Returns the time in milliseconds after which a message that has not received a segment is discarded
+     */
+    public long getIncompleteTimeout() {
+        return mIncompleteTimeout;
+    }
+
+    private Reassembly find(final int src, final int seqZero, final long now) {
+        final Reassembly reassembly = getReassembly(src, seqZero);
+        if (reassembly != null && isExpired(reassembly, now)) {
+            discardExpired(reassembly);
+            return null;
+        }
+        return reassembly;
+    }
+
+    /**
+     * A new message from a source cancels the incomplete message from the same source,
+     * segments of a message older than the incomplete one are ignored
+     *
+     * @return true if the new message may be reassembled
+     */
+    private boolean cancelOlderReassembly(final int src, final int seqZero, final long now) {
+        for (Reassembly reassembly : mReassemblies) {
+            if (reassembly.mInUse && reassembly.mSrc == src && !reassembly.isComplete() && !isExpired(reassembly, now)) {
+                //SeqZero wraps around every 8192 sequence numbers
+                if (((seqZero - reassembly.mSeqZero) & 0x1FFF) >= 0x1000)
+                    return false;
+                reassembly.mInUse = false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a free slot, reusing the least recently used one if all slots are in use
+     */
+    private Reassembly allocate(final long now) {
+        Reassembly candidate = null;
+        for (Reassembly reassembly : mReassemblies) {
+            if (reassembly.mInUse && isExpired(reassembly, now)) {
+                discardExpired(reassembly);
+            }
+            if (!reassembly.mInUse) {
+                if (candidate == null || candidate.mInUse) {
+                    candidate = reassembly;
+                }
+            } else if (candidate == null || (candidate.mInUse && isOlder(reassembly, candidate))) {
+                candidate = reassembly;
+            }
+        }
+        return candidate;
+    }
+
+    /**
+     * Completed messages are reused before incomplete ones, otherwise the one with the oldest activity is reused
+     */
+    private static boolean isOlder(final Reassembly reassembly, final Reassembly other) {
+        if (reassembly.isComplete() != other.isComplete()) {
+            return reassembly.isComplete();
+        }
+        return reassembly.mLastActivity < other.mLastActivity;
+    }
+
+    private boolean isExpired(final Reassembly reassembly, final long now) {
+        return now - reassembly.mLastActivity > mIncompleteTimeout;
+    }
+
+    private static void discardExpired(final Reassembly reassembly) {
+        if (!reassembly.isComplete()) {
+            TransportMetrics.increment(TransportMetrics.REASSEMBLY_TIMEOUTS);
+        }
+        reassembly.mInUse = false;
+    }
+
+    /**
+     * State of a single message being reassembled
+     */
+    public static final class Reassembly {
+        private final byte[] mBuffer;
+        private boolean mInUse;
+        private int mSrc;
+        private int mSeqZero;
+        private int mSegN;
+        private int mBlockAck;
+        private int mLength;
+        private long mLastActivity;
+        private int mGeneration;
+        private boolean mAcknowledgementTimerStarted;
+        private boolean mIncompleteTimerStarted;
+
+        private Reassembly(final int capacity) {
+            mBuffer = new byte[capacity];
+        }
+
+        private void start(final int src, final int seqZero, final int segN) {
+            mInUse = true;
+            mSrc = src;
+            mSeqZero = seqZero;
+            mSegN = segN;
+            mBlockAck = 0;
+            mLength = 0;
+            mGeneration++;
+            mAcknowledgementTimerStarted = false;
+            mIncompleteTimerStarted = false;
+        }
+
+        public int getSrc() {
+            return mSrc;
+        }
+
+        public int getSeqZero() {
+            return mSeqZero;
+        }
+
+        public int getSegN() {
+            return mSegN;
+        }
+
+        /**
+         * Returns the generation of the slot, which changes every time the slot is reused for another message
+         */
+        public int getGeneration() {
+            return mGeneration;
+        }
+
+        /**
+         * Returns the block acknowledgement bitmap of the segments received so far
+         */
+        public int getBlockAck() {
+            return mBlockAck;
+        }
+
+        /**
+         * Returns true if all segments have been received
+         */
+        public boolean isComplete() {
+            final int all = mSegN == MAX_SEGMENTS - 1 ? 0xFFFFFFFF : (1 << (mSegN + 1)) - 1;
+            return mBlockAck == all;
+        }
+
+        /**
+         * Returns the reassembled message or null if the message is not complete
+         */
+        public byte[] getPdu() {
+            return isComplete() ? Arrays.copyOf(mBuffer, mLength) : null;
+        }
+
+        /**
+         * Marks the acknowledgement timer as started
+         *
+         * @return true if the timer was not already started for this message
+         */
+        public boolean startAcknowledgementTimer() {
+            if (mAcknowledgementTimerStarted)
+                return false;
+            mAcknowledgementTimerStarted = true;
+            return true;
+        }
+
+        /**
+         * Marks the acknowledgement timer as stopped
+         */
+        public void stopAcknowledgementTimer() {
+            mAcknowledgementTimerStarted = false;
+        }
+
+        /**
+         * Marks the incomplete timer as started, the timer runs until the message is complete or discarded
+         *
+         * @return true if the timer was not already started for this message
+         */
+        public boolean startIncompleteTimer() {
+            if (mIncompleteTimerStarted)
+                return false;
+            mIncompleteTimerStarted = true;
+            return true;
+        }
+    }
+}
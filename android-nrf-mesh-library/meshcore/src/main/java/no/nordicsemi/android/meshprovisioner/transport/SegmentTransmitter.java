@@ -0,0 +1,261 @@
+package no.nordicsemi.android.meshprovisioner.transport;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import no.nordicsemi.android.meshprovisioner.messages.Message;
+
+/**
+ * Keeps the transmission state of outgoing segmented messages.
+ * <p>
+ * One segmented message may be outstanding per destination, so messages to different destinations are transmitted at the same time.
+ * The segments acknowledged by the destination are tracked per message using the block acknowledgement bitmap so that only
+ * the missing segments are retransmitted.
+ * </p>
+ * <p>
+ * A single transmitter is shared by every transport sending to the same bearer, because the acknowledgement of a message is
+ * not necessarily parsed by the transport that sent it. The {@link Listener} of a message is used to reach the sender.
+ * </p>
+ */
+public final class SegmentTransmitter {
+
+    /**
+     * Number of times the missing segments are retransmitted before the message is considered failed
+     */
+    public static final int DEFAULT_RETRANSMISSIONS = 4;
+
+    /**
+     * Some segments are still missing
+     */
+    public static final int ACK_PARTIAL = 0;
+    /**
+     * All segments have been acknowledged
+     */
+    public static final int ACK_COMPLETE = 1;
+    /**
+     * The destination is busy and cancelled the message
+     */
+    public static final int ACK_CANCELLED = 2;
+    /**
+     * The acknowledgement does not belong to an outstanding message
+     */
+    public static final int ACK_IGNORED = 3;
+
+    private final Map<Integer, OutgoingMessage> mOutgoingMessages = new HashMap<>();
+    private final int mRetransmissions;
+
+    public SegmentTransmitter() {
+        this(DEFAULT_RETRANSMISSIONS);
+    }
+
+    /**
+     * Creates a segment transmitter
+     *
+     * @param retransmissions number of times the missing segments are retransmitted
+     */
+    public SegmentTransmitter(final int retransmissions) {
+        if (retransmissions < 0)
+            throw new IllegalArgumentException("Number of retransmissions cannot be negative");
+        mRetransmissions = retransmissions;
+    }
+
+    /**
+     * Starts tracking a segmented message
+     *
+     * @param message segmented message
+     * @param dst     unicast address of the destination
+     * @param seqZero seqzero of the message
+     * @param segN    zero based number of the last segment
+     * @return the message that was outstanding to the same destination and has been replaced or null
+     */
+    public OutgoingMessage add(final Message message, final int dst, final int seqZero, final int segN) {
+        return add(message, dst, seqZero, segN, null);
+    }
+
+    /**
+     * Starts tracking a segmented message
+     *
+     * @param message  segmented message
+     * @param dst      unicast address of the destination
+     * @param seqZero  seqzero of the message
+     * @param segN     zero based number of the last segment
+     * @param listener notified about the outcome of the message, may be null
+     * @return the message that was outstanding to the same destination and has been replaced or null
+     */
+    public synchronized OutgoingMessage add(final Message message, final int dst, final int seqZero, final int segN, final Listener listener) {
+        return mOutgoingMessages.put(dst, new OutgoingMessage(message, dst, seqZero, segN, mRetransmissions, listener));
+    }
+
+    /**
+     * Returns the message outstanding to a destination or null
+     *
+     * @param dst unicast address of the destination
+     */
+    public synchronized OutgoingMessage get(final int dst) {
+        return mOutgoingMessages.get(dst);
+    }
+
+    /**
+     * Stops tracking the message outstanding to a destination
+     *
+     * @param dst unicast address of the destination
+     */
+    public synchronized void remove(final int dst) {
+        mOutgoingMessages.remove(dst);
+    }
+
+    /**
+     * Returns the number of outstanding messages
+     */
+    public synchronized int size() {
+        return mOutgoingMessages.size();
+    }
+
+    /**
+     * Applies a block acknowledgement received from a node
+     *
+     * @param src      unicast address of the node that sent the acknowledgement
+     * @param seqZero  seqzero of the acknowledged message
+     * @param blockAck block acknowledgement bitmap
+     * @return {@link #ACK_PARTIAL}, {@link #ACK_COMPLETE}, {@link #ACK_CANCELLED} or {@link #ACK_IGNORED}
+     */
+    public synchronized int onBlockAcknowledgement(final int src, final int seqZero, final int blockAck) {
+        final OutgoingMessage outgoingMessage = mOutgoingMessages.get(src);
+        if (outgoingMessage == null || outgoingMessage.mSeqZero != seqZero)
+            return ACK_IGNORED;
+
+        if (blockAck == 0) {
+            mOutgoingMessages.remove(src);
+            return ACK_CANCELLED;
+        }
+
+        outgoingMessage.mAcknowledgedSegments |= blockAck & outgoingMessage.getAllSegments();
+        if (outgoingMessage.getMissingSegments() == 0) {
+            mOutgoingMessages.remove(src);
+            return ACK_COMPLETE;
+        }
+        return ACK_PARTIAL;
+    }
+
+    /**
+     * Notified about the outcome of a segmented message, implemented by the transport that sent the message
+     */
+    public interface Listener {
+
+        /**
+         * Invoked when all segments have been acknowledged
+         *
+         * @param outgoingMessage segmented message
+         */
+        void onDelivered(final OutgoingMessage outgoingMessage);
+
+        /**
+         * Invoked when some segments are still missing after a block acknowledgement
+         *
+         * @param outgoingMessage segmented message
+         */
+        void onSegmentsMissing(final OutgoingMessage outgoingMessage);
+
+        /**
+         * Invoked when the message was cancelled by the destination or replaced by a new message to the same destination
+         *
+         * @param outgoingMessage segmented message
+         */
+        void onFailed(final OutgoingMessage outgoingMessage);
+    }
+
+    /**
+     * Transmission state of a segmented message
+     */
+    public static final class OutgoingMessage {
+        private final Message mMessage;
+        private final int mDst;
+        private final int mSeqZero;
+        private final int mSegN;
+        private final Listener mListener;
+        private int mAcknowledgedSegments;
+        private int mRetransmissionsLeft;
+        private int mTimerGeneration;
+
+        private OutgoingMessage(final Message message, final int dst, final int seqZero, final int segN, final int retransmissions,
+                                final Listener listener) {
+            mMessage = message;
+            mDst = dst;
+            mSeqZero = seqZero;
+            mSegN = segN;
+            mRetransmissionsLeft = retransmissions;
+            mListener = listener;
+        }
+
+        public Message getMessage() {
+            return mMessage;
+        }
+
+        /**
+         * Returns the listener of the transport that sent the message or null
+         */
+        public Listener getListener() {
+            return mListener;
+        }
+
+        public int getDst() {
+            return mDst;
+        }
+
+        public int getSeqZero() {
+            return mSeqZero;
+        }
+
+        public int getSegN() {
+            return mSegN;
+        }
+
+        /**
+         * Returns the bitmap of the segments acknowledged so far
+         */
+        public int getAcknowledgedSegments() {
+            return mAcknowledgedSegments;
+        }
+
+        /**
+         * Returns the bitmap of the segments that have not been acknowledged
+         */
+        public int getMissingSegments() {
+            return getAllSegments() & ~mAcknowledgedSegments;
+        }
+
+        private int getAllSegments() {
+            return mSegN == 31 ? 0xFFFFFFFF : (1 << (mSegN + 1)) - 1;
+        }
+
+        public int getRetransmissionsLeft() {
+            return mRetransmissionsLeft;
+        }
+
+        /**
+         * Uses up one retransmission
+         *
+         * @return false if there are no retransmissions left
+         */
+        public boolean useRetransmission() {
+            if (mRetransmissionsLeft == 0)
+                return false;
+            mRetransmissionsLeft--;
+            return true;
+        }
+
+        /**
+         * Invalidates any running retransmission timer and returns the generation of the new timer
+         */
+        public int restartTimer() {
+            return ++mTimerGeneration;
+        }
+
+        /**
+         * Returns true if the timer with the given generation is the one currently running
+         */
+        public boolean isCurrentTimer(final int generation) {
+            return mTimerGeneration == generation;
+        }
+    }
+}
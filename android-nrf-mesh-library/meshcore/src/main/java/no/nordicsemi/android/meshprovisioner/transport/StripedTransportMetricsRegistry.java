@@ -0,0 +1,73 @@
+package no.nordicsemi.android.meshprovisioner.transport;
+
+import no.nordicsemi.android.meshprovisioner.utils.LatencyHistogram;
+import no.nordicsemi.android.meshprovisioner.utils.StripedCounter;
+
+/**
+ * {@link TransportMetricsRegistry} keeping every counter in a {@link StripedCounter} and every duration in a {@link LatencyHistogram}.
+ * <p>
+ * Reporting does not lock, so the registry can be left enabled on a busy gateway. {@link #getSnapshot()} exports the
+ * current values.
+ * </p>
+ */
+public final class StripedTransportMetricsRegistry implements TransportMetricsRegistry {
+
+    private final StripedCounter[] mCounters = new StripedCounter[TransportMetrics.COUNTER_COUNT];
+    private final LatencyHistogram[] mHistograms = new LatencyHistogram[TransportMetrics.HISTOGRAM_COUNT];
+
+    public StripedTransportMetricsRegistry() {
+        for (int i = 0; i < mCounters.length; i++) {
+            mCounters[i] = new StripedCounter();
+        }
+        for (int i = 0; i < mHistograms.length; i++) {
+            mHistograms[i] = new LatencyHistogram();
+        }
+    }
+
+    @Override
+    public void add(final int counter, final long delta) {
+        mCounters[counter].add(delta);
+    }
+
+    @Override
+    public void record(final int histogram, final long nanos) {
+        mHistograms[histogram].record(nanos);
+    }
+
+    /**
+     * Returns the current value of a counter
+     *
+     * @param counter one of the counters defined in {@link TransportMetrics}
+     */
+    public long getCount(final int counter) {
+        return mCounters[counter].sum();
+    }
+
+    /**
+     * Returns a histogram
+     *
+     * @param histogram one of the histograms defined in {@link TransportMetrics}
+     */
+    public LatencyHistogram getHistogram(final int histogram) {
+        return mHistograms[histogram];
+    }
+
+    /**
+     * Returns a copy of the current values
+     */
+    public TransportMetricsSnapshot getSnapshot() {
+        return new TransportMetricsSnapshot(mCounters, mHistograms);
+    }
+
+    /**
+     * Clears every counter and histogram
+     */
+    public void reset() {
+        for (StripedCounter counter : mCounters) {
+            counter.reset();
+        }
+        for (LatencyHistogram histogram : mHistograms) {
+            histogram.reset();
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package no.nordicsemi.android.meshprovisioner.transport;
+
+/**
+ * Counters and histograms reported by the network, lower transport, upper transport and access layers.
+ * <p>
+ * The layers report to the {@link TransportMetricsRegistry} set with {@link #setRegistry(TransportMetricsRegistry)}.
+ * While no registry is set reporting costs a single volatile read and the clock is not read.
+ * </p>
+ */
+public final class TransportMetrics {
+
+    /**
+     * Network pdus created to be sent, including retransmitted segments
+     */
+    public static final int NETWORK_PDUS_OUT = 0;
+    /**
+     * Network pdus accepted by the {@link NetworkPduFilter} and processed by the network layer
+     */
+    public static final int NETWORK_PDUS_IN = 1;
+    /**
+     * Network pdus dropped as they are too short
+     */
+    public static final int NETWORK_DROPPED_MALFORMED = 2;
+    /**
+     * Network pdus dropped as their NID does not belong to a known network
+     */
+    public static final int NETWORK_DROPPED_UNKNOWN_NID = 3;
+    /**
+     * Network pdus dropped as they have been received before
+     */
+    public static final int NETWORK_DROPPED_DUPLICATE = 4;
+    /**
+     * Network pdus dropped by the replay protection list
+     */
+    public static final int NETWORK_DROPPED_REPLAY = 5;
+    /**
+     * Network pdus failing the network mic check
+     */
+    public static final int NETWORK_DECRYPT_FAILURES = 6;
+    /**
+     * Network pdus dropped as they are not addressed to the provisioner
+     */
+    public static final int NETWORK_DROPPED_DST = 7;
+    /**
+     * Unsegmented lower transport pdus sent
+     */
+    public static final int UNSEGMENTED_PDUS_OUT = 8;
+    /**
+     * Unsegmented lower transport pdus received
+     */
+    public static final int UNSEGMENTED_PDUS_IN = 9;
+    /**
+     * Segments of segmented messages sent, not counting retransmissions
+     */
+    public static final int SEGMENTS_OUT = 10;
+    /**
+     * Segments received
+     */
+    public static final int SEGMENTS_IN = 11;
+    /**
+     * Segments retransmitted as they were not acknowledged
+     */
+    public static final int SEGMENTS_RETRANSMITTED = 12;
+    /**
+     * Received segments that do not fit the message they belong to
+     */
+    public static final int SEGMENTS_INVALID = 13;
+    /**
+     * Segment acknowledgements sent
+     */
+    public static final int SEGMENT_ACKS_OUT = 14;
+    /**
+     * Segment acknowledgements received
+     */
+    public static final int SEGMENT_ACKS_IN = 15;
+    /**
+     * Segmented messages acknowledged by the node
+     */
+    public static final int SEGMENTED_MESSAGES_DELIVERED = 16;
+    /**
+     * Segmented messages that were not acknowledged, cancelled or replaced
+     */
+    public static final int SEGMENTED_MESSAGES_FAILED = 17;
+    /**
+     * Incomplete segmented messages discarded as no segment was received for too long
+     */
+    public static final int REASSEMBLY_TIMEOUTS = 18;
+    /**
+     * Upper transport access pdus encrypted
+     */
+    public static final int UPPER_TRANSPORT_PDUS_OUT = 19;
+    /**
+     * Upper transport access pdus decrypted
+     */
+    public static final int UPPER_TRANSPORT_PDUS_IN = 20;
+    /**
+     * Upper transport access pdus failing the transport mic check
+     */
+    public static final int UPPER_TRANSPORT_DECRYPT_FAILURES = 21;
+    /**
+     * Access pdus created
+     */
+    public static final int ACCESS_PDUS_OUT = 22;
+    /**
+     * Access pdus parsed
+     */
+    public static final int ACCESS_PDUS_IN = 23;
+
+    /**
+     * Number of counters
+     */
+    public static final int COUNTER_COUNT = 24;
+
+    /**
+     * Time taken to encrypt and obfuscate a network pdu
+     */
+    public static final int NETWORK_ENCRYPT_NANOS = 0;
+    /**
+     * Time taken to decrypt the network payload of a received network pdu
+     */
+    public static final int NETWORK_DECRYPT_NANOS = 1;
+    /**
+     * Time taken to encrypt an upper transport access pdu
+     */
+    public static final int UPPER_TRANSPORT_ENCRYPT_NANOS = 2;
+    /**
+     * Time taken to decrypt an upper transport access pdu
+     */
+    public static final int UPPER_TRANSPORT_DECRYPT_NANOS = 3;
+
+    /**
+     * Number of histograms
+     */
+    public static final int HISTOGRAM_COUNT = 4;
+
+    private static final String[] COUNTER_NAMES = {
+            "network_pdus_out", "network_pdus_in", "network_dropped_malformed", "network_dropped_unknown_nid",
+            "network_dropped_duplicate", "network_dropped_replay", "network_decrypt_failures", "network_dropped_dst",
+            "unsegmented_pdus_out", "unsegmented_pdus_in", "segments_out", "segments_in", "segments_retransmitted",
+            "segments_invalid", "segment_acks_out", "segment_acks_in", "segmented_messages_delivered",
+            "segmented_messages_failed", "reassembly_timeouts", "upper_transport_pdus_out", "upper_transport_pdus_in",
+            "upper_transport_decrypt_failures", "access_pdus_out", "access_pdus_in"
+    };
+
+    private static final String[] HISTOGRAM_NAMES = {
+            "network_encrypt_nanos", "network_decrypt_nanos", "upper_transport_encrypt_nanos", "upper_transport_decrypt_nanos"
+    };
+
+    private static volatile TransportMetricsRegistry mRegistry;
+
+    private TransportMetrics() {
+    }
+
+    /**
+     * Sets the registry the transport layers report to
+     *
+     * @param registry metrics registry or null to stop reporting
+     */
+    public static void setRegistry(final TransportMetricsRegistry registry) {
+        mRegistry = registry;
+    }
+
+    /**
+     * Returns the registry the transport layers report to or null if metrics are not collected
+     */
+    public static TransportMetricsRegistry getRegistry() {
+        return mRegistry;
+    }
+
+    /**
+     * Returns the name of a counter
+     *
+     * @param counter counter
+     */
+    public static String getCounterName(final int counter) {
+        return COUNTER_NAMES[counter];
+    }
+
+    /**
+     * Returns the name of a histogram
+     *
+     * @param histogram histogram
+     */
+    public static String getHistogramName(final int histogram) {
+        return HISTOGRAM_NAMES[histogram];
+    }
+
+    static void increment(final int counter) {
+        final TransportMetricsRegistry registry = mRegistry;
+        if (registry != null) {
+            registry.add(counter, 1);
+        }
+    }
+
+    static void add(final int counter, final long delta) {
+        final TransportMetricsRegistry registry = mRegistry;
+        if (registry != null && delta != 0) {
+            registry.add(counter, delta);
+        }
+    }
+
+    /**
+     * Returns the time a timed operation started at
+     *
+     * @return {@link System#nanoTime()} or 0 if metrics are not collected
+     */
+    static long startTimer() {
+        return mRegistry != null ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the duration of a timed operation
+     *
+     * @param histogram histogram the duration is recorded in
+     * @param startTime value returned by {@link #startTimer()}
+     */
+    static void stopTimer(final int histogram, final long startTime) {
+        final TransportMetricsRegistry registry = mRegistry;
+        if (registry != null && startTime != 0) {
+            registry.record(histogram, System.nanoTime() - startTime);
+        }
+    }
+}
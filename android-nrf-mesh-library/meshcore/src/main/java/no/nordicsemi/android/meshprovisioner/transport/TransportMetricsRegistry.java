@@ -0,0 +1,26 @@
+package no.nordicsemi.android.meshprovisioner.transport;
+
+/**
+ * Receives the counters and durations reported by the transport layers, see {@link TransportMetrics}.
+ * <p>
+ * Implementations are called on the threads sending and receiving pdus and must not block.
+ * </p>
+ */
+public interface TransportMetricsRegistry {
+
+    /**
+     * Adds a value to a counter
+     *
+     * @param counter one of the counters defined in {@link TransportMetrics}, for example {@link TransportMetrics#NETWORK_PDUS_IN}
+     * @param delta   value to add
+     */
+    void add(final int counter, final long delta);
+
+    /**
+     * Records a duration
+     *
+     * @param histogram one of the histograms defined in {@link TransportMetrics}, for example {@link TransportMetrics#NETWORK_DECRYPT_NANOS}
+     * @param nanos     duration in nanoseconds
+     */
+    void record(final int histogram, final long nanos);
+}
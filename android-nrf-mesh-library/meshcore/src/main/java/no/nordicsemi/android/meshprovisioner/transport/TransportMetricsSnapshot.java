@@ -0,0 +1,134 @@
+package no.nordicsemi.android.meshprovisioner.transport;
+
+import no.nordicsemi.android.meshprovisioner.utils.LatencyHistogram;
+import no.nordicsemi.android.meshprovisioner.utils.StripedCounter;
+
+/**
+ * Values of the transport metrics at the time the snapshot was taken.
+ * <p>
+ * Counters and histograms keep changing while the snapshot is taken, so values that are updated together may be off by
+ * the pdus in flight. A snapshot never changes once taken.
+ * </p>
+ */
+public final class TransportMetricsSnapshot {
+
+    private final long mTimestamp;
+    private final long[] mCounters;
+    private final long[] mHistogramCounts;
+    private final long[] mHistogramTotals;
+    private final long[] mHistogramMeans;
+    private final long[] mHistogramMedians;
+    private final long[] mHistogram99thPercentiles;
+    private final long[] mHistogramMaximums;
+
+    TransportMetricsSnapshot(final StripedCounter[] counters, final LatencyHistogram[] histograms) {
+        mTimestamp = System.currentTimeMillis();
+        mCounters = new long[counters.length];
+        for (int i = 0; i < counters.length; i++) {
+            mCounters[i] = counters[i].sum();
+        }
+        final int count = histograms.length;
+        mHistogramCounts = new long[count];
+        mHistogramTotals = new long[count];
+        mHistogramMeans = new long[count];
+        mHistogramMedians = new long[count];
+        mHistogram99thPercentiles = new long[count];
+        mHistogramMaximums = new long[count];
+        for (int i = 0; i < count; i++) {
+            final LatencyHistogram histogram = histograms[i];
+            mHistogramCounts[i] = histogram.getCount();
+            mHistogramTotals[i] = histogram.getTotalNanos();
+            mHistogramMeans[i] = histogram.getMeanNanos();
+            mHistogramMedians[i] = histogram.getPercentileNanos(50);
+            mHistogram99thPercentiles[i] = histogram.getPercentileNanos(99);
+            mHistogramMaximums[i] = histogram.getMaxNanos();
+        }
+    }
+
+    /**
+     * Returns the wall clock time the snapshot was taken at in milliseconds
+     */
+    public long getTimestamp() {
+        return mTimestamp;
+    }
+
+    /**
+     * Returns the value of a counter
+     *
+     * @param counter one of the counters defined in {@link TransportMetrics}
+     */
+    public long getCount(final int counter) {
+        return mCounters[counter];
+    }
+
+    /**
+     * Returns the number of durations recorded in a histogram
+     *
+     * @param histogram one of the histograms defined in {@link TransportMetrics}
+     */
+    public long getHistogramCount(final int histogram) {
+        return mHistogramCounts[histogram];
+    }
+
+    /**
+     * Returns the sum of the durations recorded in a histogram in nanoseconds
+     *
+     * @param histogram one of the histograms defined in {@link TransportMetrics}
+     */
+    public long getTotalNanos(final int histogram) {
+        return mHistogramTotals[histogram];
+    }
+
+    /**
+     * Returns the mean duration recorded in a histogram in nanoseconds
+     *
+     * @param histogram one of the histograms defined in {@link TransportMetrics}
+     */
+    public long getMeanNanos(final int histogram) {
+        return mHistogramMeans[histogram];
+    }
+
+    /**
+     * Returns the median duration recorded in a histogram in nanoseconds, bounded by the bucket it falls in
+     *
+     * @param histogram one of the histograms defined in {@link TransportMetrics}
+     */
+    public long getMedianNanos(final int histogram) {
+        return mHistogramMedians[histogram];
+    }
+
+    /**
+     * Returns the 99th percentile of the durations recorded in a histogram in nanoseconds, bounded by the bucket it falls in
+     *
+     * @param histogram one of the histograms defined in {@link TransportMetrics}
+     */
+    public long get99thPercentileNanos(final int histogram) {
+        return mHistogram99thPercentiles[histogram];
+    }
+
+    /**
+     * Returns the longest duration recorded in a histogram in nanoseconds
+     *
+     * @param histogram one of the histograms defined in {@link TransportMetrics}
+     */
+    public long getMaxNanos(final int histogram) {
+        return mHistogramMaximums[histogram];
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("TransportMetricsSnapshot ").append(mTimestamp);
+        for (int i = 0; i < mCounters.length; i++) {
+            builder.append('\n').append(TransportMetrics.getCounterName(i)).append('=').append(mCounters[i]);
+        }
+        for (int i = 0; i < mHistogramCounts.length; i++) {
+            builder.append('\n').append(TransportMetrics.getHistogramName(i))
+                    .append(": count=").append(mHistogramCounts[i])
+                    .append(" mean=").append(mHistogramMeans[i])
+                    .append(" p50=").append(mHistogramMedians[i])
+                    .append(" p99=").append(mHistogram99thPercentiles[i])
+                    .append(" max=").append(mHistogramMaximums[i]);
+        }
+        return builder.toString();
+    }
+}
@@ -1,15 +1,14 @@
 package no.nordicsemi.android.meshprovisioner.transport;
 
-import android.support.annotation.VisibleForTesting;
-import android.util.Log;
-
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 
 import no.nordicsemi.android.meshprovisioner.messages.AccessMessage;
 import no.nordicsemi.android.meshprovisioner.messages.ControlMessage;
 import no.nordicsemi.android.meshprovisioner.messages.Message;
-import no.nordicsemi.android.meshprovisioner.utils.MeshParserUtils;
+import no.nordicsemi.android.meshprovisioner.platform.MeshLog;
+import no.nordicsemi.android.meshprovisioner.utils.CipherContextCache;
+import no.nordicsemi.android.meshprovisioner.utils.HexUtils;
 import no.nordicsemi.android.meshprovisioner.utils.SecureUtils;
 
 abstract class UpperTransportLayer extends AccessLayer {
@@ -48,7 +47,7 @@ abstract class UpperTransportLayer extends AccessLayer {
         super.createMeshMessage(message);
         final AccessMessage accessMessage = (AccessMessage) message;
         final byte[] encryptedTransportPDU = encryptUpperTransportPDU(accessMessage);
-        Log.v(TAG, "Encrypted upper transport pdu: " + MeshParserUtils.bytesToHex(encryptedTransportPDU, false));
+        MeshLog.v(TAG, "Encrypted upper transport pdu: " + HexUtils.bytesToHex(encryptedTransportPDU, false));
         accessMessage.setUpperTransportPdu(encryptedTransportPDU);
     }
 
@@ -57,10 +56,9 @@ abstract class UpperTransportLayer extends AccessLayer {
      * @param accessMessage The access message required to create the encrypted upper transport pdu
      * @return Encrypted upper transport PDU
      */
-    @VisibleForTesting(otherwise = VisibleForTesting.PROTECTED)
     public void createUpperTransportPDU(final AccessMessage accessMessage) { //Access message
         final byte[] encryptedTransportPDU = encryptUpperTransportPDU(accessMessage);
-        Log.v(TAG, "Encrypted upper transport pdu: " + MeshParserUtils.bytesToHex(encryptedTransportPDU, false));
+        MeshLog.v(TAG, "Encrypted upper transport pdu: " + HexUtils.bytesToHex(encryptedTransportPDU, false));
         accessMessage.setUpperTransportPdu(encryptedTransportPDU);
     }
 
@@ -93,14 +91,18 @@ abstract class UpperTransportLayer extends AccessLayer {
      * Parse upper transport pdu
      *
      * @param message access message containing the upper transport pdu
+     * @return false if the transport mic check failed and the message must be dropped
      */
-    protected final void parseUpperTransportPDU(final AccessMessage message) {
+    protected final boolean parseUpperTransportPDU(final AccessMessage message) {
         final int ctl = message.getCtl();
         if (ctl == 0) { //Access message
             reassembleLowerTransportAccessPDU(message);
             final byte[] decryptedUpperTransportControlPdu = decryptUpperTransportPDU(message);
+            if (decryptedUpperTransportControlPdu == null)
+                return false;
             message.setAccessPdu(decryptedUpperTransportControlPdu);
         }
+        return true;
     }
 
     /**
@@ -141,10 +143,10 @@ abstract class UpperTransportLayer extends AccessLayer {
         byte[] nonce;
         if (akf == APPLICATION_KEY_IDENTIFIER) {
             nonce = createDeviceNonce(aszmic, sequenceNumber, src, dst, ivIndex);
-            Log.v(TAG, "Device nonce: " + MeshParserUtils.bytesToHex(nonce, false));
+            MeshLog.v(TAG, "Device nonce: " + HexUtils.bytesToHex(nonce, false));
         } else {
             nonce = createApplicationNonce(aszmic, sequenceNumber, src, dst, ivIndex);
-            Log.v(TAG, "Application nonce: " + MeshParserUtils.bytesToHex(nonce, false));
+            MeshLog.v(TAG, "Application nonce: " + HexUtils.bytesToHex(nonce, false));
         }
 
         int transMicLength;
@@ -156,7 +158,10 @@ abstract class UpperTransportLayer extends AccessLayer {
             transMicLength = SecureUtils.getTransMicLength(message.getAszmic());
         }
 
+        final long startTime = TransportMetrics.startTimer();
         final byte[] encryptedUpperTransportPDU = SecureUtils.encryptCCM(accessPDU, key, nonce, transMicLength);
+        TransportMetrics.stopTimer(TransportMetrics.UPPER_TRANSPORT_ENCRYPT_NANOS, startTime);
+        TransportMetrics.increment(TransportMetrics.UPPER_TRANSPORT_PDUS_OUT);
         return encryptedUpperTransportPDU;
     }
 
@@ -164,17 +169,26 @@ abstract class UpperTransportLayer extends AccessLayer {
      * Decrypts upper transport pdu
      *
      * @param accessMessage access message object containing the upper transport pdu
-     * @return decrypted upper transport pdu
+     * @return decrypted upper transport pdu or null if the transport mic check failed
      */
     private byte[] decryptUpperTransportPDU(final AccessMessage accessMessage) {
         byte[] decryptedUpperTansportPDU = null;
         final byte[] deviceKey = mMeshNode.getDeviceKey();
 
         final byte[] deviceNonce = createDeviceNonce(accessMessage.getAszmic(), accessMessage.getSequenceNumber(), accessMessage.getSrc(), accessMessage.getDst(), accessMessage.getIvIndex());
-        if (accessMessage.getAszmic() == SZMIC) {
-            decryptedUpperTansportPDU = SecureUtils.decryptCCM(accessMessage.getUpperTransportPdu(), deviceKey, deviceNonce, MAXIMUM_TRANSMIC_LENGTH);
+        final int transMicLength = accessMessage.getAszmic() == SZMIC ? MAXIMUM_TRANSMIC_LENGTH : MINIMUM_TRANSMIC_LENGTH;
+        final byte[] upperTransportPdu = accessMessage.getUpperTransportPdu();
+        decryptedUpperTansportPDU = new byte[upperTransportPdu.length - transMicLength];
+        final long startTime = TransportMetrics.startTimer();
+        final boolean authenticated = CipherContextCache.get(deviceKey).decryptCCM(deviceNonce, upperTransportPdu, 0, upperTransportPdu.length,
+                decryptedUpperTansportPDU, 0, transMicLength);
+        TransportMetrics.stopTimer(TransportMetrics.UPPER_TRANSPORT_DECRYPT_NANOS, startTime);
+        if (authenticated) {
+            TransportMetrics.increment(TransportMetrics.UPPER_TRANSPORT_PDUS_IN);
         } else {
-            decryptedUpperTansportPDU = SecureUtils.decryptCCM(accessMessage.getUpperTransportPdu(), deviceKey, deviceNonce, MINIMUM_TRANSMIC_LENGTH);
+            MeshLog.e(TAG, "Transport mic check failed, dropping message");
+            TransportMetrics.increment(TransportMetrics.UPPER_TRANSPORT_DECRYPT_FAILURES);
+            return null;
         }
 
         final byte[] tempBytes = new byte[decryptedUpperTansportPDU.length];
@@ -0,0 +1,205 @@
+package no.nordicsemi.android.meshprovisioner.utils;
+
+import org.spongycastle.crypto.engines.AESEngine;
+import org.spongycastle.crypto.macs.CMac;
+import org.spongycastle.crypto.params.KeyParameter;
+
+import java.util.Arrays;
+
+/**
+ * AES, AES-CCM and AES-CMAC operations bound to a single 128-bit key.
+ * <p>
+ * The key schedule is expanded once when the context is created and reused for every operation. A context keeps its own scratch
+ * blocks and must not be shared between threads, use {@link CipherContextCache#get(byte[])} to obtain the context for the calling thread.
+ * </p>
+ */
+public final class CipherContext {
+
+    private static final int BLOCK_SIZE = 16;
+
+    private final byte[] mKey;
+    private final AESEngine mEncryptionEngine = new AESEngine();
+    private AESEngine mDecryptionEngine;
+    private CMac mCMac;
+    private final byte[] mMac = new byte[BLOCK_SIZE];
+    private final byte[] mCounter = new byte[BLOCK_SIZE];
+    private final byte[] mKeyStream = new byte[BLOCK_SIZE];
+
+    CipherContext(final byte[] key) {
+        if (key == null || key.length != BLOCK_SIZE)
+            throw new IllegalArgumentException("Key must be 128-bit");
+        mKey = key.clone();
+        mEncryptionEngine.init(true, new KeyParameter(mKey));
+    }
+
+    /**
+     * Returns the key this context was created with
+     */
+    public byte[] getKey() {
+        return mKey.clone();
+    }
+
+    /**
+     * Encrypts a single block with AES-128
+     *
+     * @param input        input block
+     * @param inputOffset  offset of the input block
+     * @param output       output buffer, may be the same as the input
+     * @param outputOffset offset of the output block
+     */
+    public void encryptBlock(final byte[] input, final int inputOffset, final byte[] output, final int outputOffset) {
+        mEncryptionEngine.processBlock(input, inputOffset, output, outputOffset);
+    }
+
+    /**
+     * Decrypts a single block with AES-128
+     *
+     * @param input        input block
+     * @param inputOffset  offset of the input block
+     * @param output       output buffer, may be the same as the input
+     * @param outputOffset offset of the output block
+     */
+    public void decryptBlock(final byte[] input, final int inputOffset, final byte[] output, final int outputOffset) {
+        if (mDecryptionEngine == null) {
+            mDecryptionEngine = new AESEngine();
+            mDecryptionEngine.init(false, new KeyParameter(mKey));
+        }
+        mDecryptionEngine.processBlock(input, inputOffset, output, outputOffset);
+    }
+
+    /**
+     * Calculates AES-CMAC over the given data
+     *
+     * @param data         input data
+     * @param offset       offset of the input data
+     * @param length       length of the input data
+     * @param output       buffer the 16 byte mac is written to
+     * @param outputOffset offset within the output buffer
+     */
+    public void calculateCMAC(final byte[] data, final int offset, final int length, final byte[] output, final int outputOffset) {
+        if (mCMac == null) {
+            mCMac = new CMac(new AESEngine());
+            mCMac.init(new KeyParameter(mKey));
+        }
+        mCMac.update(data, offset, length);
+        mCMac.doFinal(output, outputOffset);
+    }
+
+    /**
+     * Encrypts the data with AES-CCM without additional data and writes the cipher text followed by the mic to the output.
+     * <p>
+     * The input and output may overlap as long as they start at the same offset, which allows encrypting in place.
+     * </p>
+     *
+     * @param nonce        nonce, 7 to 13 bytes
+     * @param input        plain text
+     * @param inputOffset  offset of the plain text
+     * @param length       length of the plain text
+     * @param output       buffer the cipher text and mic is written to
+     * @param outputOffset offset within the output buffer
+     * @param micSize      size of the mic in bytes
+     */
+    public void encryptCCM(final byte[] nonce, final byte[] input, final int inputOffset, final int length,
+                           final byte[] output, final int outputOffset, final int micSize) {
+        initCCM(nonce, length, micSize);
+
+        int block = 1;
+        for (int position = 0; position < length; position += BLOCK_SIZE, block++) {
+            final int blockLength = Math.min(BLOCK_SIZE, length - position);
+            for (int i = 0; i < blockLength; i++) {
+                mMac[i] ^= input[inputOffset + position + i];
+            }
+            mEncryptionEngine.processBlock(mMac, 0, mMac, 0);
+
+            createKeyStream(nonce, block);
+            for (int i = 0; i < blockLength; i++) {
+                output[outputOffset + position + i] = (byte) (input[inputOffset + position + i] ^ mKeyStream[i]);
+            }
+        }
+
+        createKeyStream(nonce, 0);
+        final int micOffset = outputOffset + length;
+        for (int i = 0; i < micSize; i++) {
+            output[micOffset + i] = (byte) (mMac[i] ^ mKeyStream[i]);
+        }
+    }
+
+    /**
+     * Decrypts data encrypted with AES-CCM without additional data and verifies the mic.
+     * <p>
+     * If the mic does not match the plain text is not returned, the output range is filled with zeros instead.
+     * </p>
+     *
+     * @param nonce        nonce, 7 to 13 bytes
+     * @param input        cipher text followed by the mic
+     * @param inputOffset  offset of the cipher text
+     * @param length       length of the cipher text including the mic
+     * @param output       buffer the plain text is written to
+     * @param outputOffset offset within the output buffer
+     * @param micSize      size of the mic in bytes
+     * @return true if the mic matches
+     */
+    public boolean decryptCCM(final byte[] nonce, final byte[] input, final int inputOffset, final int length,
+                              final byte[] output, final int outputOffset, final int micSize) {
+        final int dataLength = length - micSize;
+        if (dataLength < 0)
+            throw new IllegalArgumentException("Data is shorter than the mic");
+
+        initCCM(nonce, dataLength, micSize);
+
+        int block = 1;
+        for (int position = 0; position < dataLength; position += BLOCK_SIZE, block++) {
+            final int blockLength = Math.min(BLOCK_SIZE, dataLength - position);
+            createKeyStream(nonce, block);
+            for (int i = 0; i < blockLength; i++) {
+                final byte plain = (byte) (input[inputOffset + position + i] ^ mKeyStream[i]);
+                output[outputOffset + position + i] = plain;
+                mMac[i] ^= plain;
+            }
+            mEncryptionEngine.processBlock(mMac, 0, mMac, 0);
+        }
+
+        createKeyStream(nonce, 0);
+        final int micOffset = inputOffset + dataLength;
+        int difference = 0;
+        for (int i = 0; i < micSize; i++) {
+            difference |= input[micOffset + i] ^ mMac[i] ^ mKeyStream[i];
+        }
+        if (difference != 0) {
+            Arrays.fill(output, outputOffset, outputOffset + dataLength, (byte) 0);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Starts the CBC-MAC with B0 = flags || nonce || length
+     */
+    private void initCCM(final byte[] nonce, final int length, final int micSize) {
+        if (nonce.length < 7 || nonce.length > 13)
+            throw new IllegalArgumentException("Nonce must be 7 to 13 bytes");
+        if (micSize < 4 || micSize > 16 || (micSize & 0x01) != 0)
+            throw new IllegalArgumentException("Invalid mic size: " + micSize);
+
+        final int lengthFieldSize = 15 - nonce.length;
+        mMac[0] = (byte) ((((micSize - 2) / 2) << 3) | (lengthFieldSize - 1));
+        System.arraycopy(nonce, 0, mMac, 1, nonce.length);
+        for (int i = 0; i < lengthFieldSize; i++) {
+            mMac[BLOCK_SIZE - 1 - i] = (byte) (i < 4 ? length >>> (8 * i) : 0);
+        }
+        mEncryptionEngine.processBlock(mMac, 0, mMac, 0);
+    }
+
+    /**
+     * Encrypts the counter block A(i) = flags || nonce || i in to the key stream
+     */
+    private void createKeyStream(final byte[] nonce, final int counter) {
+        final int lengthFieldSize = 15 - nonce.length;
+        mCounter[0] = (byte) (lengthFieldSize - 1);
+        System.arraycopy(nonce, 0, mCounter, 1, nonce.length);
+        for (int i = 0; i < lengthFieldSize; i++) {
+            mCounter[BLOCK_SIZE - 1 - i] = (byte) (i < 4 ? counter >>> (8 * i) : 0);
+        }
+        mEncryptionEngine.processBlock(mCounter, 0, mKeyStream, 0);
+    }
+}
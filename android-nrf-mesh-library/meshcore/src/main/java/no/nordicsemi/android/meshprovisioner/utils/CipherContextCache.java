@@ -0,0 +1,100 @@
+package no.nordicsemi.android.meshprovisioner.utils;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per thread, LRU bounded cache of {@link CipherContext} keyed by the 128-bit key.
+ * <p>
+ * Encryption, privacy, device and application keys are used over and over again for every pdu, caching the context means
+ * the key expansion happens once per key and thread instead of once per packet. Looking up a cached context does not allocate.
+ * </p>
+ */
+public final class CipherContextCache {
+
+    /**
+     * Maximum number of keys cached per thread
+     */
+    public static final int MAX_ENTRIES = 32;
+
+    private static final ThreadLocal<CipherContextCache> CACHE = new ThreadLocal<CipherContextCache>() {
+        @Override
+        protected CipherContextCache initialValue() {
+            return new CipherContextCache(MAX_ENTRIES);
+        }
+    };
+
+    private final LinkedHashMap<KeyHolder, CipherContext> mContexts;
+    private final KeyHolder mLookupKey = new KeyHolder();
+
+    private CipherContextCache(final int maxEntries) {
+        mContexts = new LinkedHashMap<KeyHolder, CipherContext>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<KeyHolder, CipherContext> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the cipher context for the given key for the calling thread, creating it if needed
+     *
+     * @param key 128-bit key
+     * @return cipher context
+     */
+    public static CipherContext get(final byte[] key) {
+        return CACHE.get().getContext(key);
+    }
+
+    /**
+     * Removes the cipher context of the given key from the cache of the calling thread
+     *
+     * @param key 128-bit key
+     */
+    public static void evict(final byte[] key) {
+        final CipherContextCache cache = CACHE.get();
+        cache.mContexts.remove(cache.mLookupKey.set(key));
+    }
+
+    /**
+     * Returns the number of contexts cached for the calling thread
+     */
+    public static int size() {
+        return CACHE.get().mContexts.size();
+    }
+
+    private CipherContext getContext(final byte[] key) {
+        final CipherContext context = mContexts.get(mLookupKey.set(key));
+        if (context != null) {
+            return context;
+        }
+        final CipherContext newContext = new CipherContext(key);
+        mContexts.put(new KeyHolder().set(key.clone()), newContext);
+        return newContext;
+    }
+
+    /**
+     * Compares keys by value, the lookup instance is reused so that cache hits do not allocate
+     */
+    private static final class KeyHolder {
+        private byte[] key;
+        private int hash;
+
+        KeyHolder set(final byte[] key) {
+            this.key = key;
+            this.hash = Arrays.hashCode(key);
+            return this;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof KeyHolder && Arrays.equals(key, ((KeyHolder) o).key);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,1590 @@
+package no.nordicsemi.android.meshprovisioner.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class CompanyIdentifiers {
+
+    private static final Map<Integer, String> vendorModels = new HashMap<>();
+
+    static {
+        initVendorModels();
+    }
+
+    /**
+     * Initializes company identifier and names with the given key/values
+     */
+    private static void initVendorModels() {
+        vendorModels.put(0x0000, "Ericsson Technology Licensing");
+        vendorModels.put(0x0001, "Nokia Mobile Phones");
+        vendorModels.put(0x0002, "Intel Corp.");
+        vendorModels.put(0x0003, "IBM Corp.");
+        vendorModels.put(0x0004, "Toshiba Corp.");
+        vendorModels.put(0x0005, "3Com");
+        vendorModels.put(0x0006, "Microsoft");
+        vendorModels.put(0x0007, "Lucent");
+        vendorModels.put(0x0008, "Motorola");
+        vendorModels.put(0x0009, "Infineon Technologies AG");
+        vendorModels.put(0x000A, "Cambridge Silicon Radio");
+        vendorModels.put(0x000B, "Silicon Wave");
+        vendorModels.put(0x000C, "Digianswer A/S");
+        vendorModels.put(0x000D, "Texas Instruments Inc.");
+        vendorModels.put(0x000E, "Parthus Technologies Inc.");
+        vendorModels.put(0x000F, "Broadcom Corporation");
+        vendorModels.put(0x0010, "Mitel Semiconductor");
+        vendorModels.put(0x0011, "Widcomm, Inc.");
+        vendorModels.put(0x0012, "Zeevo, Inc.");
+        vendorModels.put(0x0013, "Atmel Corporation");
+        vendorModels.put(0x0014, "Mitsubishi Electric Corporation");
+        vendorModels.put(0x0015, "RTX Telecom A/S");
+        vendorModels.put(0x0016, "KC Technology Inc.");
+        vendorModels.put(0x0017, "Newlogic");
+        vendorModels.put(0x0018, "Transilica, Inc.");
+        vendorModels.put(0x0019, "Rohde & Schwarz GmbH & Co. KG");
+        vendorModels.put(0x001A, "TTPCom Limited");
+        vendorModels.put(0x001B, "Signia Technologies, Inc.");
+        vendorModels.put(0x001C, "Conexant Systems Inc.");
+        vendorModels.put(0x001D, "Qualcomm");
+        vendorModels.put(0x001E, "Inventel");
+        vendorModels.put(0x001F, "AVM Berlin");
+        vendorModels.put(0x0020, "BandSpeed, Inc.");
+        vendorModels.put(0x0021, "Mansella Ltd");
+        vendorModels.put(0x0022, "NEC Corporation");
+        vendorModels.put(0x0023, "WavePlus Technology Co.,Ltd.");
+        vendorModels.put(0x0024, "Alcatel");
+        vendorModels.put(0x0025, "NXP Semiconductors (formerly Philips Semiconductors);");
+        vendorModels.put(0x0026, "C Technologies");
+        vendorModels.put(0x0027, "Open Interface");
+        vendorModels.put(0x0028, "R F Micro Devices");
+        vendorModels.put(0x0029, "Hitachi Ltd");
+        vendorModels.put(0x002A, "Symbol Technologies, Inc.");
+        vendorModels.put(0x002B, "Tenovis");
+        vendorModels.put(0x002C, "Macronix International Co. Ltd.");
+        vendorModels.put(0x002D, "GCT Semiconductor");
+        vendorModels.put(0x002E, "Norwood Systems");
+        vendorModels.put(0x002F, "MewTel Technology Inc.");
+        vendorModels.put(0x0030, "ST Microelectronics");
+        vendorModels.put(0x0031, "Synopsys, Inc.");
+        vendorModels.put(0x0032, "Red-M (Communications,Ltd");
+        vendorModels.put(0x0033, "Commil Ltd");
+        vendorModels.put(0x0034, "Computer Access Technology Corporation (CATC);");
+        vendorModels.put(0x0035, "Eclipse (HQ Espana,S.L.");
+        vendorModels.put(0x0036, "Renesas Electronics Corporation");
+        vendorModels.put(0x0037, "Mobilian Corporation");
+        vendorModels.put(0x0038, "Syntronix Corporation");
+        vendorModels.put(0x0039, "Integrated System Solution Corp.");
+        vendorModels.put(0x003A, "Matsushita Electric Industrial Co.,Ltd.");
+        vendorModels.put(0x003B, "Gennum Corporation");
+        vendorModels.put(0x003C, "BlackBerry Limited (formerly Research In Motion);");
+        vendorModels.put(0x003D, "IPextreme, Inc.");
+        vendorModels.put(0x003E, "Systems and Chips, Inc");
+        vendorModels.put(0x003F, "Bluetooth SIG, Inc");
+        vendorModels.put(0x0040, "Seiko Epson Corporation");
+        vendorModels.put(0x0041, "Integrated Silicon Solution Taiwan, Inc.");
+        vendorModels.put(0x0042, "CONWISE Technology Corporation Ltd");
+        vendorModels.put(0x0043, "PARROT AUTOMOTIVE SAS");
+        vendorModels.put(0x0044, "Socket Mobile");
+        vendorModels.put(0x0045, "Atheros Communications, Inc.");
+        vendorModels.put(0x0046, "MediaTek, Inc.");
+        vendorModels.put(0x0047, "Bluegiga");
+        vendorModels.put(0x0048, "Marvell Technology Group Ltd.");
+        vendorModels.put(0x0049, "3DSP Corporation");
+        vendorModels.put(0x004A, "Accel Semiconductor Ltd.");
+        vendorModels.put(0x004B, "Continental Automotive Systems");
+        vendorModels.put(0x004C, "Apple, Inc.");
+        vendorModels.put(0x004D, "Staccato Communications, Inc.");
+        vendorModels.put(0x004E, "Avago Technologies");
+        vendorModels.put(0x004F, "APT Ltd.");
+        vendorModels.put(0x0050, "SiRF Technology, Inc.");
+        vendorModels.put(0x0051, "Tzero Technologies, Inc.");
+        vendorModels.put(0x0052, "J&M Corporation");
+        vendorModels.put(0x0053, "Free2move AB");
+        vendorModels.put(0x0054, "3DiJoy Corporation");
+        vendorModels.put(0x0055, "Plantronics, Inc.");
+        vendorModels.put(0x0056, "Sony Ericsson Mobile Communications");
+        vendorModels.put(0x0057, "Harman International Industries, Inc.");
+        vendorModels.put(0x0058, "Vizio, Inc.");
+        vendorModels.put(0x0059, "Nordic Semiconductor ASA");
+        vendorModels.put(0x005A, "EM Microelectronic-Marin SA");
+        vendorModels.put(0x005B, "Ralink Technology Corporation");
+        vendorModels.put(0x005C, "Belkin International, Inc.");
+        vendorModels.put(0x005D, "Realtek Semiconductor Corporation");
+        vendorModels.put(0x005E, "Stonestreet One,LLC");
+        vendorModels.put(0x005F, "Wicentric, Inc.");
+        vendorModels.put(0x0060, "RivieraWaves S.A.S");
+        vendorModels.put(0x0061, "RDA Microelectronics");
+        vendorModels.put(0x0062, "Gibson Guitars");
+        vendorModels.put(0x0063, "MiCommand Inc.");
+        vendorModels.put(0x0064, "Band XI International,LLC");
+        vendorModels.put(0x0065, "Hewlett-Packard Company");
+        vendorModels.put(0x0066, "9Solutions Oy");
+        vendorModels.put(0x0067, "GN Netcom A/S");
+        vendorModels.put(0x0068, "General Motors");
+        vendorModels.put(0x0069, "A&D Engineering, Inc.");
+        vendorModels.put(0x006A, "MindTree Ltd.");
+        vendorModels.put(0x006B, "Polar Electro OY");
+        vendorModels.put(0x006C, "Beautiful Enterprise Co.,Ltd.");
+        vendorModels.put(0x006D, "BriarTek, Inc");
+        vendorModels.put(0x006E, "Summit Data Communications, Inc.");
+        vendorModels.put(0x006F, "Sound ID");
+        vendorModels.put(0x0070, "Monster,LLC");
+        vendorModels.put(0x0071, "connectBlue AB");
+        vendorModels.put(0x0072, "ShangHai Super Smart Electronics Co. Ltd.");
+        vendorModels.put(0x0073, "Group Sense Ltd.");
+        vendorModels.put(0x0074, "Zomm,LLC");
+        vendorModels.put(0x0075, "Samsung Electronics Co. Ltd.");
+        vendorModels.put(0x0076, "Creative Technology Ltd.");
+        vendorModels.put(0x0077, "Laird Technologies");
+        vendorModels.put(0x0078, "Nike, Inc.");
+        vendorModels.put(0x0079, "lesswire AG");
+        vendorModels.put(0x007A, "MStar Semiconductor, Inc.");
+        vendorModels.put(0x007B, "Hanlynn Technologies");
+        vendorModels.put(0x007C, "A & R Cambridge");
+        vendorModels.put(0x007D, "Seers Technology Co.,Ltd.");
+        vendorModels.put(0x007E, "Sports Tracking Technologies Ltd.");
+        vendorModels.put(0x007F, "Autonet Mobile");
+        vendorModels.put(0x0080, "DeLorme Publishing Company, Inc.");
+        vendorModels.put(0x0081, "WuXi Vimicro");
+        vendorModels.put(0x0082, "Sennheiser Communications A/S");
+        vendorModels.put(0x0083, "TimeKeeping Systems, Inc.");
+        vendorModels.put(0x0084, "Ludus Helsinki Ltd.");
+        vendorModels.put(0x0085, "BlueRadios, Inc.");
+        vendorModels.put(0x0086, "Equinux AG");
+        vendorModels.put(0x0087, "Garmin International, Inc.");
+        vendorModels.put(0x0088, "Ecotest");
+        vendorModels.put(0x0089, "GN ReSound A/S");
+        vendorModels.put(0x008A, "Jawbone");
+        vendorModels.put(0x008B, "Topcon Positioning Systems,LLC");
+        vendorModels.put(0x008C, "Gimbal Inc. (formerly Qualcomm Labs, Inc. and Qualcomm Retail Solutions, Inc.);");
+        vendorModels.put(0x008D, "Zscan Software");
+        vendorModels.put(0x008E, "Quintic Corp");
+        vendorModels.put(0x008F, "Telit Wireless Solutions GmbH (formerly Stollmann E+V GmbH);");
+        vendorModels.put(0x0090, "Funai Electric Co.,Ltd.");
+        vendorModels.put(0x0091, "Advanced PANMOBIL systems GmbH & Co. KG");
+        vendorModels.put(0x0092, "ThinkOptics, Inc.");
+        vendorModels.put(0x0093, "Universal Electronics, Inc.");
+        vendorModels.put(0x0094, "Airoha Technology Corp.");
+        vendorModels.put(0x0095, "NEC Lighting,Ltd.");
+        vendorModels.put(0x0096, "ODM Technology, Inc.");
+        vendorModels.put(0x0097, "ConnecteDevice Ltd.");
+        vendorModels.put(0x0098, "zero1.tv GmbH");
+        vendorModels.put(0x0099, "i.Tech Dynamic Global Distribution Ltd.");
+        vendorModels.put(0x009A, "Alpwise");
+        vendorModels.put(0x009B, "Jiangsu Toppower Automotive Electronics Co.,Ltd.");
+        vendorModels.put(0x009C, "Colorfy, Inc.");
+        vendorModels.put(0x009D, "Geoforce Inc.");
+        vendorModels.put(0x009E, "Bose Corporation");
+        vendorModels.put(0x009F, "Suunto Oy");
+        vendorModels.put(0x00A0, "Kensington Computer Products Group");
+        vendorModels.put(0x00A1, "SR-Medizinelektronik");
+        vendorModels.put(0x00A2, "Vertu Corporation Limited");
+        vendorModels.put(0x00A3, "Meta Watch Ltd.");
+        vendorModels.put(0x00A4, "LINAK A/S");
+        vendorModels.put(0x00A5, "OTL Dynamics LLC");
+        vendorModels.put(0x00A6, "Panda Ocean Inc.");
+        vendorModels.put(0x00A7, "Visteon Corporation");
+        vendorModels.put(0x00A8, "ARP Devices Limited");
+        vendorModels.put(0x00A9, "Magneti Marelli S.p.A");
+        vendorModels.put(0x00AA, "CAEN RFID srl");
+        vendorModels.put(0x00AB, "Ingenieur-Systemgruppe Zahn GmbH");
+        vendorModels.put(0x00AC, "Green Throttle Games");
+        vendorModels.put(0x00AD, "Peter Systemtechnik GmbH");
+        vendorModels.put(0x00AE, "Omegawave Oy");
+        vendorModels.put(0x00AF, "Cinetix");
+        vendorModels.put(0x00B0, "Passif Semiconductor Corp");
+        vendorModels.put(0x00B1, "Saris Cycling Group, Inc");
+        vendorModels.put(0x00B2, "Bekey A/S");
+        vendorModels.put(0x00B3, "Clarinox Technologies Pty. Ltd.");
+        vendorModels.put(0x00B4, "BDE Technology Co.,Ltd.");
+        vendorModels.put(0x00B5, "Swirl Networks");
+        vendorModels.put(0x00B6, "Meso international");
+        vendorModels.put(0x00B7, "TreLab Ltd");
+        vendorModels.put(0x00B8, "Qualcomm Innovation Center, Inc. (QuIC);");
+        vendorModels.put(0x00B9, "Johnson Controls, Inc.");
+        vendorModels.put(0x00BA, "Starkey Laboratories Inc.");
+        vendorModels.put(0x00BB, "S-Power Electronics Limited");
+        vendorModels.put(0x00BC, "Ace Sensor Inc");
+        vendorModels.put(0x00BD, "Aplix Corporation");
+        vendorModels.put(0x00BE, "AAMP of America");
+        vendorModels.put(0x00BF, "Stalmart Technology Limited");
+        vendorModels.put(0x00C0, "AMICCOM Electronics Corporation");
+        vendorModels.put(0x00C1, "Shenzhen Excelsecu Data Technology Co.);Ltd");
+        vendorModels.put(0x00C2, "Geneq Inc.");
+        vendorModels.put(0x00C3, "adidas AG");
+        vendorModels.put(0x00C4, "LG Electronics");
+        vendorModels.put(0x00C5, "Onset Computer Corporation");
+        vendorModels.put(0x00C6, "Selfly BV");
+        vendorModels.put(0x00C7, "Quuppa Oy.");
+        vendorModels.put(0x00C8, "GeLo Inc");
+        vendorModels.put(0x00C9, "Evluma");
+        vendorModels.put(0x00CA, "MC10");
+        vendorModels.put(0x00CB, "Binauric SE");
+        vendorModels.put(0x00CC, "Beats Electronics");
+        vendorModels.put(0x00CD, "Microchip Technology Inc.");
+        vendorModels.put(0x00CE, "Elgato Systems GmbH");
+        vendorModels.put(0x00CF, "ARCHOS SA");
+        vendorModels.put(0x00D0, "Dexcom, Inc.");
+        vendorModels.put(0x00D1, "Polar Electro Europe B.V.");
+        vendorModels.put(0x00D2, "Dialog Semiconductor B.V.");
+        vendorModels.put(0x00D3, "Taixingbang Technology (HK,Co);. LTD.");
+        vendorModels.put(0x00D4, "Kawantech");
+        vendorModels.put(0x00D5, "Austco Communication Systems");
+        vendorModels.put(0x00D6, "Timex Group USA, Inc.");
+        vendorModels.put(0x00D7, "Qualcomm Technologies, Inc.");
+        vendorModels.put(0x00D8, "Qualcomm Connected Experiences, Inc.");
+        vendorModels.put(0x00D9, "Voyetra Turtle Beach");
+        vendorModels.put(0x00DA, "txtr GmbH");
+        vendorModels.put(0x00DB, "Biosentronics");
+        vendorModels.put(0x00DC, "Procter & Gamble");
+        vendorModels.put(0x00DD, "Hosiden Corporation");
+        vendorModels.put(0x00DE, "Muzik LLC");
+        vendorModels.put(0x00DF, "Misfit Wearables Corp");
+        vendorModels.put(0x00E0, "Google");
+        vendorModels.put(0x00E1, "Danlers Ltd");
+        vendorModels.put(0x00E2, "Semilink Inc");
+        vendorModels.put(0x00E3, "inMusic Brands, Inc");
+        vendorModels.put(0x00E4, "L.S. Research Inc.");
+        vendorModels.put(0x00E5, "Eden Software Consultants Ltd.");
+        vendorModels.put(0x00E6, "Freshtemp");
+        vendorModels.put(0x00E7, "KS Technologies");
+        vendorModels.put(0x00E8, "ACTS Technologies");
+        vendorModels.put(0x00E9, "Vtrack Systems");
+        vendorModels.put(0x00EA, "Nielsen-Kellerman Company");
+        vendorModels.put(0x00EB, "Server Technology Inc.");
+        vendorModels.put(0x00EC, "BioResearch Associates");
+        vendorModels.put(0x00ED, "Jolly Logic,LLC");
+        vendorModels.put(0x00EE, "Above Average Outcomes, Inc.");
+        vendorModels.put(0x00EF, "Bitsplitters GmbH");
+        vendorModels.put(0x00F0, "PayPal, Inc.");
+        vendorModels.put(0x00F1, "Witron Technology Limited");
+        vendorModels.put(0x00F2, "Morse Project Inc.");
+        vendorModels.put(0x00F3, "Kent Displays Inc.");
+        vendorModels.put(0x00F4, "Nautilus Inc.");
+        vendorModels.put(0x00F5, "Smartifier Oy");
+        vendorModels.put(0x00F6, "Elcometer Limited");
+        vendorModels.put(0x00F7, "VSN Technologies, Inc.");
+        vendorModels.put(0x00F8, "AceUni Corp.,Ltd.");
+        vendorModels.put(0x00F9, "StickNFind");
+        vendorModels.put(0x00FA, "Crystal Code AB");
+        vendorModels.put(0x00FB, "KOUKAAM a.s.");
+        vendorModels.put(0x00FC, "Delphi Corporation");
+        vendorModels.put(0x00FD, "ValenceTech Limited");
+        vendorModels.put(0x00FE, "Stanley Black and Decker");
+        vendorModels.put(0x00FF, "Typo Products,LLC");
+        vendorModels.put(0x0100, "TomTom International BV");
+        vendorModels.put(0x0101, "Fugoo, Inc.");
+        vendorModels.put(0x0102, "Keiser Corporation");
+        vendorModels.put(0x0103, "Bang & Olufsen A/S");
+        vendorModels.put(0x0104, "PLUS Location Systems Pty Ltd");
+        vendorModels.put(0x0105, "Ubiquitous Computing Technology Corporation");
+        vendorModels.put(0x0106, "Innovative Yachtter Solutions");
+        vendorModels.put(0x0107, "William Demant Holding A/S");
+        vendorModels.put(0x0108, "Chicony Electronics Co.,Ltd.");
+        vendorModels.put(0x0109, "Atus BV");
+        vendorModels.put(0x010A, "Codegate Ltd");
+        vendorModels.put(0x010B, "ERi, Inc");
+        vendorModels.put(0x010C, "Transducers Direct,LLC");
+        vendorModels.put(0x010D, "Fujitsu Ten LImited");
+        vendorModels.put(0x010E, "Audi AG");
+        vendorModels.put(0x010F, "HiSilicon Technologies Col,Ltd.");
+        vendorModels.put(0x0110, "Nippon Seiki Co.,Ltd.");
+        vendorModels.put(0x0111, "Steelseries ApS");
+        vendorModels.put(0x0112, "Visybl Inc.");
+        vendorModels.put(0x0113, "Openbrain Technologies,Co.,Ltd.");
+        vendorModels.put(0x0114, "Xensr");
+        vendorModels.put(0x0115, "e.solutions");
+        vendorModels.put(0x0116, "10AK Technologies");
+        vendorModels.put(0x0117, "Wimoto Technologies Inc");
+        vendorModels.put(0x0118, "Radius Networks, Inc.");
+        vendorModels.put(0x0119, "Wize Technology Co.,Ltd.");
+        vendorModels.put(0x011A, "Qualcomm Labs, Inc.");
+        vendorModels.put(0x011B, "Hewlett Packard Enterprise");
+        vendorModels.put(0x011C, "Baidu");
+        vendorModels.put(0x011D, "Arendi AG");
+        vendorModels.put(0x011E, "Skoda Auto a.s.");
+        vendorModels.put(0x011F, "Volkswagen AG");
+        vendorModels.put(0x0120, "Porsche AG");
+        vendorModels.put(0x0121, "Sino Wealth Electronic Ltd.");
+        vendorModels.put(0x0122, "AirTurn, Inc.");
+        vendorModels.put(0x0123, "Kinsa, Inc");
+        vendorModels.put(0x0124, "HID Global");
+        vendorModels.put(0x0125, "SEAT es");
+        vendorModels.put(0x0126, "Promethean Ltd.");
+        vendorModels.put(0x0127, "Salutica Allied Solutions");
+        vendorModels.put(0x0128, "GPSI Group Pty Ltd");
+        vendorModels.put(0x0129, "Nimble Devices Oy");
+        vendorModels.put(0x012A, "Changzhou Yongse Infotech Co.,Ltd.");
+        vendorModels.put(0x012B, "SportIQ");
+        vendorModels.put(0x012C, "TEMEC Instruments B.V.");
+        vendorModels.put(0x012D, "Sony Corporation");
+        vendorModels.put(0x012E, "ASSA ABLOY");
+        vendorModels.put(0x012F, "Clarion Co. Inc.");
+        vendorModels.put(0x0130, "Warehouse Innovations");
+        vendorModels.put(0x0131, "Cypress Semiconductor");
+        vendorModels.put(0x0132, "MADS Inc");
+        vendorModels.put(0x0133, "Blue Maestro Limited");
+        vendorModels.put(0x0134, "Resolution Products,Ltd.");
+        vendorModels.put(0x0135, "Aireware LLC");
+        vendorModels.put(0x0136, "Silvair, Inc.");
+        vendorModels.put(0x0137, "Prestigio Plaza Ltd.");
+        vendorModels.put(0x0138, "NTEO Inc.");
+        vendorModels.put(0x0139, "Focus Systems Corporation");
+        vendorModels.put(0x013A, "Tencent Holdings Ltd.");
+        vendorModels.put(0x013B, "Allegion");
+        vendorModels.put(0x013C, "Murata Manufacturing Co.,Ltd.");
+        vendorModels.put(0x013D, "WirelessWERX");
+        vendorModels.put(0x013E, "Nod, Inc.");
+        vendorModels.put(0x013F, "B&B Manufacturing Company");
+        vendorModels.put(0x0140, "Alpine Electronics (China,Co.,Ltd");
+        vendorModels.put(0x0141, "FedEx Services");
+        vendorModels.put(0x0142, "Grape Systems Inc.");
+        vendorModels.put(0x0143, "Bkon Connect");
+        vendorModels.put(0x0144, "Lintech GmbH");
+        vendorModels.put(0x0145, "Novatel Wireless");
+        vendorModels.put(0x0146, "Ciright");
+        vendorModels.put(0x0147, "Mighty Cast, Inc.");
+        vendorModels.put(0x0148, "Ambimat Electronics");
+        vendorModels.put(0x0149, "Perytons Ltd.");
+        vendorModels.put(0x014A, "Tivoli Audio,LLC");
+        vendorModels.put(0x014B, "Master Lock");
+        vendorModels.put(0x014C, "Mesh-Net Ltd");
+        vendorModels.put(0x014D, "HUIZHOU DESAY SV AUTOMOTIVE CO.,LTD.");
+        vendorModels.put(0x014E, "Tangerine, Inc.");
+        vendorModels.put(0x014F, "B&W Group Ltd.");
+        vendorModels.put(0x0150, "Pioneer Corporation");
+        vendorModels.put(0x0151, "OnBeep");
+        vendorModels.put(0x0152, "Vernier Software & Technology");
+        vendorModels.put(0x0153, "ROL Ergo");
+        vendorModels.put(0x0154, "Pebble Technology");
+        vendorModels.put(0x0155, "NETATMO");
+        vendorModels.put(0x0156, "Accumulate AB");
+        vendorModels.put(0x0157, "Anhui Huami Information Technology Co.,Ltd.");
+        vendorModels.put(0x0158, "Inmite s.r.o.");
+        vendorModels.put(0x0159, "ChefSteps, Inc.");
+        vendorModels.put(0x015A, "micas AG");
+        vendorModels.put(0x015B, "Biomedical Research Ltd.");
+        vendorModels.put(0x015C, "Pitius Tec S.L.");
+        vendorModels.put(0x015D, "Estimote, Inc.");
+        vendorModels.put(0x015E, "Unikey Technologies, Inc.");
+        vendorModels.put(0x015F, "Timer Cap Co.");
+        vendorModels.put(0x0160, "AwoX");
+        vendorModels.put(0x0161, "yikes");
+        vendorModels.put(0x0162, "MADSGlobalNZ Ltd.");
+        vendorModels.put(0x0163, "PCH International");
+        vendorModels.put(0x0164, "Qingdao Yeelink Information Technology Co.,Ltd.");
+        vendorModels.put(0x0165, "Milwaukee Tool (Formally Milwaukee Electric Tools);");
+        vendorModels.put(0x0166, "MISHIK Pte Ltd");
+        vendorModels.put(0x0167, "Ascensia Diabetes Care US Inc.");
+        vendorModels.put(0x0168, "Spicebox LLC");
+        vendorModels.put(0x0169, "emberlight");
+        vendorModels.put(0x016A, "Cooper-Atkins Corporation");
+        vendorModels.put(0x016B, "Qblinks");
+        vendorModels.put(0x016C, "MYSPHERA");
+        vendorModels.put(0x016D, "LifeScan Inc");
+        vendorModels.put(0x016E, "Volantic AB");
+        vendorModels.put(0x016F, "Podo Labs, Inc");
+        vendorModels.put(0x0170, "Roche Diabetes Care AG");
+        vendorModels.put(0x0171, "Amazon Fulfillment Service");
+        vendorModels.put(0x0172, "Connovate Technology Private Limited");
+        vendorModels.put(0x0173, "Kocomojo,LLC");
+        vendorModels.put(0x0174, "Everykey Inc.");
+        vendorModels.put(0x0175, "Dynamic Controls");
+        vendorModels.put(0x0176, "SentriLock");
+        vendorModels.put(0x0177, "I-SYST inc.");
+        vendorModels.put(0x0178, "CASIO COMPUTER CO.,LTD.");
+        vendorModels.put(0x0179, "LAPIS Semiconductor Co.,Ltd.");
+        vendorModels.put(0x017A, "Telemonitor, Inc.");
+        vendorModels.put(0x017B, "taskit GmbH");
+        vendorModels.put(0x017C, "Daimler AG");
+        vendorModels.put(0x017D, "BatAndCat");
+        vendorModels.put(0x017E, "BluDotz Ltd");
+        vendorModels.put(0x017F, "XTel Wireless ApS");
+        vendorModels.put(0x0180, "Gigaset Communications GmbH");
+        vendorModels.put(0x0181, "Gecko Health Innovations, Inc.");
+        vendorModels.put(0x0182, "HOP Ubiquitous");
+        vendorModels.put(0x0183, "Walt Disney");
+        vendorModels.put(0x0184, "Nectar");
+        vendorModels.put(0x0185, "bel'apps LLC");
+        vendorModels.put(0x0186, "CORE Lighting Ltd");
+        vendorModels.put(0x0187, "Seraphim Sense Ltd");
+        vendorModels.put(0x0188, "Unico RBC");
+        vendorModels.put(0x0189, "Physical Enterprises Inc.");
+        vendorModels.put(0x018A, "Able Trend Technology Limited");
+        vendorModels.put(0x018B, "Konica Minolta, Inc.");
+        vendorModels.put(0x018C, "Wilo SE");
+        vendorModels.put(0x018D, "Extron Design Services");
+        vendorModels.put(0x018E, "Fitbit, Inc.");
+        vendorModels.put(0x018F, "Fireflies Systems");
+        vendorModels.put(0x0190, "Intelletto Technologies Inc.");
+        vendorModels.put(0x0191, "FDK CORPORATION");
+        vendorModels.put(0x0192, "Cloudleaf, Inc");
+        vendorModels.put(0x0193, "Maveric Automation LLC");
+        vendorModels.put(0x0194, "Acoustic Stream Corporation");
+        vendorModels.put(0x0195, "Zuli");
+        vendorModels.put(0x0196, "Paxton Access Ltd");
+        vendorModels.put(0x0197, "WiSilica Inc.");
+        vendorModels.put(0x0198, "VENGIT Korlatolt Felelossegu Tarsasag");
+        vendorModels.put(0x0199, "SALTO SYSTEMS S.L.");
+        vendorModels.put(0x019A, "TRON Forum (formerly T-Engine Forum);");
+        vendorModels.put(0x019B, "CUBETECH s.r.o.");
+        vendorModels.put(0x019C, "Cokiya Incorporated");
+        vendorModels.put(0x019D, "CVS Health");
+        vendorModels.put(0x019E, "Ceruus");
+        vendorModels.put(0x019F, "Strainstall Ltd");
+        vendorModels.put(0x01A0, "Channel Enterprises (HK,Ltd.");
+        vendorModels.put(0x01A1, "FIAMM");
+        vendorModels.put(0x01A2, "GIGALANE.CO.);LTD");
+        vendorModels.put(0x01A3, "EROAD");
+        vendorModels.put(0x01A4, "Mine Safety Appliances");
+        vendorModels.put(0x01A5, "Icon Health and Fitness");
+        vendorModels.put(0x01A6, "Asandoo GmbH");
+        vendorModels.put(0x01A7, "ENERGOUS CORPORATION");
+        vendorModels.put(0x01A8, "Taobao");
+        vendorModels.put(0x01A9, "Canon Inc.");
+        vendorModels.put(0x01AA, "Geophysical Technology Inc.");
+        vendorModels.put(0x01AB, "Facebook, Inc.");
+        vendorModels.put(0x01AC, "Trividia Health, Inc.");
+        vendorModels.put(0x01AD, "FlightSafety International");
+        vendorModels.put(0x01AE, "Earlens Corporation");
+        vendorModels.put(0x01AF, "Sunrise Micro Devices, Inc.");
+        vendorModels.put(0x01B0, "Star Micronics Co.,Ltd.");
+        vendorModels.put(0x01B1, "Netizens Sp. z o.o.");
+        vendorModels.put(0x01B2, "Nymi Inc.");
+        vendorModels.put(0x01B3, "Nytec, Inc.");
+        vendorModels.put(0x01B4, "Trineo Sp. z o.o.");
+        vendorModels.put(0x01B5, "Nest Labs Inc.");
+        vendorModels.put(0x01B6, "LM Technologies Ltd");
+        vendorModels.put(0x01B7, "General Electric Company");
+        vendorModels.put(0x01B8, "i+D3 S.L.");
+        vendorModels.put(0x01B9, "HANA Micron");
+        vendorModels.put(0x01BA, "Stages Cycling LLC");
+        vendorModels.put(0x01BB, "Cochlear Bone Anchored Solutions AB");
+        vendorModels.put(0x01BC, "SenionLab AB");
+        vendorModels.put(0x01BD, "Syszone Co.,Ltd");
+        vendorModels.put(0x01BE, "Pulsate Mobile Ltd.");
+        vendorModels.put(0x01BF, "Hong Kong HunterSun Electronic Limited");
+        vendorModels.put(0x01C0, "pironex GmbH");
+        vendorModels.put(0x01C1, "BRADATECH Corp.");
+        vendorModels.put(0x01C2, "Transenergooil AG");
+        vendorModels.put(0x01C3, "Bunch");
+        vendorModels.put(0x01C4, "DME Microelectronics");
+        vendorModels.put(0x01C5, "Bitcraze AB");
+        vendorModels.put(0x01C6, "HASWARE Inc.");
+        vendorModels.put(0x01C7, "Abiogenix Inc.");
+        vendorModels.put(0x01C8, "Poly-Control ApS");
+        vendorModels.put(0x01C9, "Avi-on");
+        vendorModels.put(0x01CA, "Laerdal Medical AS");
+        vendorModels.put(0x01CB, "Fetch My Pet");
+        vendorModels.put(0x01CC, "Sam Labs Ltd.");
+        vendorModels.put(0x01CD, "Chengdu Synwing Technology Ltd");
+        vendorModels.put(0x01CE, "HOUWA SYSTEM DESIGN,k.k.");
+        vendorModels.put(0x01CF, "BSH");
+        vendorModels.put(0x01D0, "Primus Inter Pares Ltd");
+        vendorModels.put(0x01D1, "August Home, Inc");
+        vendorModels.put(0x01D2, "Gill Electronics");
+        vendorModels.put(0x01D3, "Sky Wave Design");
+        vendorModels.put(0x01D4, "Newlab S.r.l.");
+        vendorModels.put(0x01D5, "ELAD srl");
+        vendorModels.put(0x01D6, "G-wearables inc.");
+        vendorModels.put(0x01D7, "Squadrone Systems Inc.");
+        vendorModels.put(0x01D8, "Code Corporation");
+        vendorModels.put(0x01D9, "Savant Systems LLC");
+        vendorModels.put(0x01DA, "Logitech International SA");
+        vendorModels.put(0x01DB, "Innblue Consulting");
+        vendorModels.put(0x01DC, "iParking Ltd.");
+        vendorModels.put(0x01DD, "Koninklijke Philips Electronics N.V.");
+        vendorModels.put(0x01DE, "Minelab Electronics Pty Limited");
+        vendorModels.put(0x01DF, "Bison Group Ltd.");
+        vendorModels.put(0x01E0, "Widex A/S");
+        vendorModels.put(0x01E1, "Jolla Ltd");
+        vendorModels.put(0x01E2, "Lectronix, Inc.");
+        vendorModels.put(0x01E3, "Caterpillar Inc");
+        vendorModels.put(0x01E4, "Freedom Innovations");
+        vendorModels.put(0x01E5, "Dynamic Devices Ltd");
+        vendorModels.put(0x01E6, "Technology Solutions (UK,Ltd");
+        vendorModels.put(0x01E7, "IPS Group Inc.");
+        vendorModels.put(0x01E8, "STIR");
+        vendorModels.put(0x01E9, "Sano, Inc.");
+        vendorModels.put(0x01EA, "Advanced Application Design, Inc.");
+        vendorModels.put(0x01EB, "AutoMap LLC");
+        vendorModels.put(0x01EC, "Spreadtrum Communications Shanghai Ltd");
+        vendorModels.put(0x01ED, "CuteCircuit LTD");
+        vendorModels.put(0x01EE, "Valeo Service");
+        vendorModels.put(0x01EF, "Fullpower Technologies, Inc.");
+        vendorModels.put(0x01F0, "KloudNation");
+        vendorModels.put(0x01F1, "Zebra Technologies Corporation");
+        vendorModels.put(0x01F2, "Itron, Inc.");
+        vendorModels.put(0x01F3, "The University of Tokyo");
+        vendorModels.put(0x01F4, "UTC Fire and Security");
+        vendorModels.put(0x01F5, "Cool Webthings Limited");
+        vendorModels.put(0x01F6, "DJO Global");
+        vendorModels.put(0x01F7, "Gelliner Limited");
+        vendorModels.put(0x01F8, "Anyka (Guangzhou,Microelectronics Technology Co,LTD");
+        vendorModels.put(0x01F9, "Medtronic Inc.");
+        vendorModels.put(0x01FA, "Gozio Inc.");
+        vendorModels.put(0x01FB, "Form Lifting,LLC");
+        vendorModels.put(0x01FC, "Wahoo Fitness,LLC");
+        vendorModels.put(0x01FD, "Kontakt Micro-Location Sp. z o.o.");
+        vendorModels.put(0x01FE, "Radio Systems Corporation");
+        vendorModels.put(0x01FF, "Freescale Semiconductor, Inc.");
+        vendorModels.put(0x0200, "Verifone Systems Pte Ltd. Taiwan Branch");
+        vendorModels.put(0x0201, "AR Timing");
+        vendorModels.put(0x0202, "Rigado LLC");
+        vendorModels.put(0x0203, "Kemppi Oy");
+        vendorModels.put(0x0204, "Tapcentive Inc.");
+        vendorModels.put(0x0205, "Smartbotics Inc.");
+        vendorModels.put(0x0206, "Otter Products,LLC");
+        vendorModels.put(0x0207, "STEMP Inc.");
+        vendorModels.put(0x0208, "LumiGeek LLC");
+        vendorModels.put(0x0209, "InvisionHeart Inc.");
+        vendorModels.put(0x020A, "Macnica Inc.");
+        vendorModels.put(0x020B, "Jaguar Land Rover Limited");
+        vendorModels.put(0x020C, "CoroWare Technologies, Inc");
+        vendorModels.put(0x020D, "Simplo Technology Co.,LTD");
+        vendorModels.put(0x020E, "Omron Healthcare Co.,LTD");
+        vendorModels.put(0x020F, "Comodule GMBH");
+        vendorModels.put(0x0210, "ikeGPS");
+        vendorModels.put(0x0211, "Telink Semiconductor Co. Ltd");
+        vendorModels.put(0x0212, "Interplan Co.,Ltd");
+        vendorModels.put(0x0213, "Wyler AG");
+        vendorModels.put(0x0214, "IK Multimedia Production srl");
+        vendorModels.put(0x0215, "Lukoton Experience Oy");
+        vendorModels.put(0x0216, "MTI Ltd");
+        vendorModels.put(0x0217, "Tech4home,Lda");
+        vendorModels.put(0x0218, "Hiotech AB");
+        vendorModels.put(0x0219, "DOTT Limited");
+        vendorModels.put(0x021A, "Blue Speck Labs,LLC");
+        vendorModels.put(0x021B, "Cisco Systems, Inc");
+        vendorModels.put(0x021C, "Mobicomm Inc");
+        vendorModels.put(0x021D, "Edamic");
+        vendorModels.put(0x021E, "Goodnet,Ltd");
+        vendorModels.put(0x021F, "Luster Leaf Products Inc");
+        vendorModels.put(0x0220, "Manus Machina BV");
+        vendorModels.put(0x0221, "Mobiquity Networks Inc");
+        vendorModels.put(0x0222, "Praxis Dynamics");
+        vendorModels.put(0x0223, "Philip Morris Products S.A.");
+        vendorModels.put(0x0224, "Comarch SA");
+        vendorModels.put(0x0225, "Nestl Nespresso S.A.");
+        vendorModels.put(0x0226, "Merlinia A/S");
+        vendorModels.put(0x0227, "LifeBEAM Technologies");
+        vendorModels.put(0x0228, "Twocanoes Labs,LLC");
+        vendorModels.put(0x0229, "Muoverti Limited");
+        vendorModels.put(0x022A, "Stamer Musikanlagen GMBH");
+        vendorModels.put(0x022B, "Tesla Motors");
+        vendorModels.put(0x022C, "Pharynks Corporation");
+        vendorModels.put(0x022D, "Lupine");
+        vendorModels.put(0x022E, "Siemens AG");
+        vendorModels.put(0x022F, "Huami (Shanghai,Culture Communication CO.,LTD");
+        vendorModels.put(0x0230, "Foster Electric Company,Ltd");
+        vendorModels.put(0x0231, "ETA SA");
+        vendorModels.put(0x0232, "x-Senso Solutions Kft");
+        vendorModels.put(0x0233, "Shenzhen SuLong Communication Ltd");
+        vendorModels.put(0x0234, "FengFan (BeiJing,Technology Co,Ltd");
+        vendorModels.put(0x0235, "Qrio Inc");
+        vendorModels.put(0x0236, "Pitpatpet Ltd");
+        vendorModels.put(0x0237, "MSHeli s.r.l.");
+        vendorModels.put(0x0238, "Trakm8 Ltd");
+        vendorModels.put(0x0239, "JIN CO,Ltd");
+        vendorModels.put(0x023A, "Alatech Tehnology");
+        vendorModels.put(0x023B, "Beijing CarePulse Electronic Technology Co,Ltd");
+        vendorModels.put(0x023C, "Awarepoint");
+        vendorModels.put(0x023D, "ViCentra B.V.");
+        vendorModels.put(0x023E, "Raven Industries");
+        vendorModels.put(0x023F, "WaveWare Technologies Inc.");
+        vendorModels.put(0x0240, "Argenox Technologies");
+        vendorModels.put(0x0241, "Bragi GmbH");
+        vendorModels.put(0x0242, "16Lab Inc");
+        vendorModels.put(0x0243, "Masimo Corp");
+        vendorModels.put(0x0244, "Iotera Inc");
+        vendorModels.put(0x0245, "Endress+Hauser");
+        vendorModels.put(0x0246, "ACKme Networks, Inc.");
+        vendorModels.put(0x0247, "FiftyThree Inc.");
+        vendorModels.put(0x0248, "Parker Hannifin Corp");
+        vendorModels.put(0x0249, "Transcranial Ltd");
+        vendorModels.put(0x024A, "Uwatec AG");
+        vendorModels.put(0x024B, "Orlan LLC");
+        vendorModels.put(0x024C, "Blue Clover Devices");
+        vendorModels.put(0x024D, "M-Way Solutions GmbH");
+        vendorModels.put(0x024E, "Microtronics Engineering GmbH");
+        vendorModels.put(0x024F, "Schneider Schreibgerte GmbH");
+        vendorModels.put(0x0250, "Sapphire Circuits LLC");
+        vendorModels.put(0x0251, "Lumo Bodytech Inc.");
+        vendorModels.put(0x0252, "UKC Technosolution");
+        vendorModels.put(0x0253, "Xicato Inc.");
+        vendorModels.put(0x0254, "Playbrush");
+        vendorModels.put(0x0255, "Dai Nippon Printing Co.,Ltd.");
+        vendorModels.put(0x0256, "G24 Power Limited");
+        vendorModels.put(0x0257, "AdBabble Local Commerce Inc.");
+        vendorModels.put(0x0258, "Devialet SA");
+        vendorModels.put(0x0259, "ALTYOR");
+        vendorModels.put(0x025A, "University of Applied Sciences Valais/Haute Ecole Valaisanne");
+        vendorModels.put(0x025B, "Five Interactive,LLC dba Zendo");
+        vendorModels.put(0x025C, "NetEaseHangzhouNetwork co.Ltd.");
+        vendorModels.put(0x025D, "Lexmark International Inc.");
+        vendorModels.put(0x025E, "Fluke Corporation");
+        vendorModels.put(0x025F, "Yardarm Technologies");
+        vendorModels.put(0x0260, "SensaRx");
+        vendorModels.put(0x0261, "SECVRE GmbH");
+        vendorModels.put(0x0262, "Glacial Ridge Technologies");
+        vendorModels.put(0x0263, "Identiv, Inc.");
+        vendorModels.put(0x0264, "DDS, Inc.");
+        vendorModels.put(0x0265, "SMK Corporation");
+        vendorModels.put(0x0266, "Schawbel Technologies LLC");
+        vendorModels.put(0x0267, "XMI Systems SA");
+        vendorModels.put(0x0268, "Cerevo");
+        vendorModels.put(0x0269, "Torrox GmbH & Co KG");
+        vendorModels.put(0x026A, "Gemalto");
+        vendorModels.put(0x026B, "DEKA Research & Development Corp.");
+        vendorModels.put(0x026C, "Domster Tadeusz Szydlowski");
+        vendorModels.put(0x026D, "Technogym SPA");
+        vendorModels.put(0x026E, "FLEURBAEY BVBA");
+        vendorModels.put(0x026F, "Aptcode Solutions");
+        vendorModels.put(0x0270, "LSI ADL Technology");
+        vendorModels.put(0x0271, "Animas Corp");
+        vendorModels.put(0x0272, "Alps Electric Co.,Ltd.");
+        vendorModels.put(0x0273, "OCEASOFT");
+        vendorModels.put(0x0274, "Motsai Research");
+        vendorModels.put(0x0275, "Geotab");
+        vendorModels.put(0x0276, "E.G.O. Elektro-Gertebau GmbH");
+        vendorModels.put(0x0277, "bewhere inc");
+        vendorModels.put(0x0278, "Johnson Outdoors Inc");
+        vendorModels.put(0x0279, "steute Schaltgerate GmbH & Co. KG");
+        vendorModels.put(0x027A, "Ekomini inc.");
+        vendorModels.put(0x027B, "DEFA AS");
+        vendorModels.put(0x027C, "Aseptika Ltd");
+        vendorModels.put(0x027D, "HUAWEI Technologies Co.,Ltd. ( );");
+        vendorModels.put(0x027E, "HabitAware,LLC");
+        vendorModels.put(0x027F, "ruwido austria gmbh");
+        vendorModels.put(0x0280, "ITEC corporation");
+        vendorModels.put(0x0281, "StoneL");
+        vendorModels.put(0x0282, "Sonova AG");
+        vendorModels.put(0x0283, "Maven Machines, Inc.");
+        vendorModels.put(0x0284, "Synapse Electronics");
+        vendorModels.put(0x0285, "Standard Innovation Inc.");
+        vendorModels.put(0x0286, "RF Code, Inc.");
+        vendorModels.put(0x0287, "Wally Ventures S.L.");
+        vendorModels.put(0x0288, "Willowbank Electronics Ltd");
+        vendorModels.put(0x0289, "SK Telecom");
+        vendorModels.put(0x028A, "Jetro AS");
+        vendorModels.put(0x028B, "Code Gears LTD");
+        vendorModels.put(0x028C, "NANOLINK APS");
+        vendorModels.put(0x028D, "IF,LLC");
+        vendorModels.put(0x028E, "RF Digital Corp");
+        vendorModels.put(0x028F, "Church & Dwight Co., Inc");
+        vendorModels.put(0x0290, "Multibit Oy");
+        vendorModels.put(0x0291, "CliniCloud Inc");
+        vendorModels.put(0x0292, "SwiftSensors");
+        vendorModels.put(0x0293, "Blue Bite");
+        vendorModels.put(0x0294, "ELIAS GmbH");
+        vendorModels.put(0x0295, "Sivantos GmbH");
+        vendorModels.put(0x0296, "Petzl");
+        vendorModels.put(0x0297, "storm power ltd");
+        vendorModels.put(0x0298, "EISST Ltd");
+        vendorModels.put(0x0299, "Inexess Technology Simma KG");
+        vendorModels.put(0x029A, "Currant, Inc.");
+        vendorModels.put(0x029B, "C2 Development, Inc.");
+        vendorModels.put(0x029C, "Blue Sky Scientific,LLC");
+        vendorModels.put(0x029D, "ALOTTAZS LABS,LLC");
+        vendorModels.put(0x029E, "Kupson spol. s r.o.");
+        vendorModels.put(0x029F, "Areus Engineering GmbH");
+        vendorModels.put(0x02A0, "Impossible Camera GmbH");
+        vendorModels.put(0x02A1, "InventureTrack Systems");
+        vendorModels.put(0x02A2, "LockedUp");
+        vendorModels.put(0x02A3, "Itude");
+        vendorModels.put(0x02A4, "Pacific Lock Company");
+        vendorModels.put(0x02A5, "Tendyron Corporation ( );");
+        vendorModels.put(0x02A6, "Robert Bosch GmbH");
+        vendorModels.put(0x02A7, "Illuxtron international B.V.");
+        vendorModels.put(0x02A8, "miSport Ltd.");
+        vendorModels.put(0x02A9, "Chargelib");
+        vendorModels.put(0x02AA, "Doppler Lab");
+        vendorModels.put(0x02AB, "BBPOS Limited");
+        vendorModels.put(0x02AC, "RTB Elektronik GmbH & Co. KG");
+        vendorModels.put(0x02AD, "Rx Networks, Inc.");
+        vendorModels.put(0x02AE, "WeatherFlow, Inc.");
+        vendorModels.put(0x02AF, "Technicolor USA Inc.");
+        vendorModels.put(0x02B0, "Bestechnic(Shanghai););Ltd");
+        vendorModels.put(0x02B1, "Raden Inc");
+        vendorModels.put(0x02B2, "JouZen Oy");
+        vendorModels.put(0x02B3, "CLABER S.P.A.");
+        vendorModels.put(0x02B4, "Hyginex, Inc.");
+        vendorModels.put(0x02B5, "HANSHIN ELECTRIC RAILWAY CO.);LTD.");
+        vendorModels.put(0x02B6, "Schneider Electric");
+        vendorModels.put(0x02B7, "Oort Technologies LLC");
+        vendorModels.put(0x02B8, "Chrono Therapeutics");
+        vendorModels.put(0x02B9, "Rinnai Corporation");
+        vendorModels.put(0x02BA, "Swissprime Technologies AG");
+        vendorModels.put(0x02BB, "Koha.);Co.Ltd");
+        vendorModels.put(0x02BC, "Genevac Ltd");
+        vendorModels.put(0x02BD, "Chemtronics");
+        vendorModels.put(0x02BE, "Seguro Technology Sp. z o.o.");
+        vendorModels.put(0x02BF, "Redbird Flight Simulations");
+        vendorModels.put(0x02C0, "Dash Robotics");
+        vendorModels.put(0x02C1, "LINE Corporation");
+        vendorModels.put(0x02C2, "Guillemot Corporation");
+        vendorModels.put(0x02C3, "Techtronic Power Tools Technology Limited");
+        vendorModels.put(0x02C4, "Wilson Sporting Goods");
+        vendorModels.put(0x02C5, "Lenovo (Singapore,Pte Ltd. ( );");
+        vendorModels.put(0x02C6, "Ayatan Sensors");
+        vendorModels.put(0x02C7, "Electronics Tomorrow Limited");
+        vendorModels.put(0x02C8, "VASCO Data Security International, Inc.");
+        vendorModels.put(0x02C9, "PayRange Inc.");
+        vendorModels.put(0x02CA, "ABOV Semiconductor");
+        vendorModels.put(0x02CB, "AINA-Wireless Inc.");
+        vendorModels.put(0x02CC, "Eijkelkamp Soil & Water");
+        vendorModels.put(0x02CD, "BMA ergonomics b.v.");
+        vendorModels.put(0x02CE, "Teva Branded Pharmaceutical Products R&D, Inc.");
+        vendorModels.put(0x02CF, "Anima");
+        vendorModels.put(0x02D0, "3M");
+        vendorModels.put(0x02D1, "Empatica Srl");
+        vendorModels.put(0x02D2, "Afero, Inc.");
+        vendorModels.put(0x02D3, "Powercast Corporation");
+        vendorModels.put(0x02D4, "Secuyou ApS");
+        vendorModels.put(0x02D5, "OMRON Corporation");
+        vendorModels.put(0x02D6, "Send Solutions");
+        vendorModels.put(0x02D7, "NIPPON SYSTEMWARE CO.);LTD.");
+        vendorModels.put(0x02D8, "Neosfar");
+        vendorModels.put(0x02D9, "Fliegl Agrartechnik GmbH");
+        vendorModels.put(0x02DA, "Gilvader");
+        vendorModels.put(0x02DB, "Digi International Inc (R);");
+        vendorModels.put(0x02DC, "DeWalch Technologies, Inc.");
+        vendorModels.put(0x02DD, "Flint Rehabilitation Devices,LLC");
+        vendorModels.put(0x02DE, "Samsung SDS Co.,Ltd.");
+        vendorModels.put(0x02DF, "Blur Product Development");
+        vendorModels.put(0x02E0, "University of Michigan");
+        vendorModels.put(0x02E1, "Victron Energy BV");
+        vendorModels.put(0x02E2, "NTT docomo");
+        vendorModels.put(0x02E3, "Carmanah Technologies Corp.");
+        vendorModels.put(0x02E4, "Bytestorm Ltd.");
+        vendorModels.put(0x02E5, "Espressif Incorporated ( (,);");
+        vendorModels.put(0x02E6, "Unwire");
+        vendorModels.put(0x02E7, "Connected Yard, Inc.");
+        vendorModels.put(0x02E8, "American Music Environments");
+        vendorModels.put(0x02E9, "Sensogram Technologies, Inc.");
+        vendorModels.put(0x02EA, "Fujitsu Limited");
+        vendorModels.put(0x02EB, "Ardic Technology");
+        vendorModels.put(0x02EC, "Delta Systems, Inc");
+        vendorModels.put(0x02ED, "HTC Corporation");
+        vendorModels.put(0x02EE, "Citizen Holdings Co.,Ltd.");
+        vendorModels.put(0x02EF, "SMART-INNOVATION.inc");
+        vendorModels.put(0x02F0, "Blackrat Software");
+        vendorModels.put(0x02F1, "The Idea Cave,LLC");
+        vendorModels.put(0x02F2, "GoPro, Inc.");
+        vendorModels.put(0x02F3, "AuthAir, Inc");
+        vendorModels.put(0x02F4, "Vensi, Inc.");
+        vendorModels.put(0x02F5, "Indagem Tech LLC");
+        vendorModels.put(0x02F6, "Intemo Technologies");
+        vendorModels.put(0x02F7, "DreamVisions co.,Ltd.");
+        vendorModels.put(0x02F8, "Runteq Oy Ltd");
+        vendorModels.put(0x02F9, "IMAGINATION TECHNOLOGIES LTD");
+        vendorModels.put(0x02FA, "CoSTAR TEchnologies");
+        vendorModels.put(0x02FB, "Clarius Mobile Health Corp.");
+        vendorModels.put(0x02FC, "Shanghai Frequen Microelectronics Co.,Ltd.");
+        vendorModels.put(0x02FD, "Uwanna, Inc.");
+        vendorModels.put(0x02FE, "Lierda Science & Technology Group Co.,Ltd.");
+        vendorModels.put(0x02FF, "Silicon Laboratories");
+        vendorModels.put(0x0300, "World Moto Inc.");
+        vendorModels.put(0x0301, "Giatec Scientific Inc.");
+        vendorModels.put(0x0302, "Loop Devices, Inc");
+        vendorModels.put(0x0303, "IACA electronique");
+        vendorModels.put(0x0304, "Proxy Technologies, Inc.");
+        vendorModels.put(0x0305, "Swipp ApS");
+        vendorModels.put(0x0306, "Life Laboratory Inc.");
+        vendorModels.put(0x0307, "FUJI INDUSTRIAL CO.);LTD.");
+        vendorModels.put(0x0308, "Surefire,LLC");
+        vendorModels.put(0x0309, "Dolby Labs");
+        vendorModels.put(0x030A, "Ellisys");
+        vendorModels.put(0x030B, "Magnitude Lighting Converters");
+        vendorModels.put(0x030C, "Hilti AG");
+        vendorModels.put(0x030D, "Devdata S.r.l.");
+        vendorModels.put(0x030E, "Deviceworx");
+        vendorModels.put(0x030F, "Shortcut Labs");
+        vendorModels.put(0x0310, "SGL Italia S.r.l.");
+        vendorModels.put(0x0311, "PEEQ DATA");
+        vendorModels.put(0x0312, "Ducere Technologies Pvt Ltd");
+        vendorModels.put(0x0313, "DiveNav, Inc.");
+        vendorModels.put(0x0314, "RIIG AI Sp. z o.o.");
+        vendorModels.put(0x0315, "Thermo Fisher Scientific");
+        vendorModels.put(0x0316, "AG Measurematics Pvt. Ltd.");
+        vendorModels.put(0x0317, "CHUO Electronics CO.,LTD.");
+        vendorModels.put(0x0318, "Aspenta International");
+        vendorModels.put(0x0319, "Eugster Frismag AG");
+        vendorModels.put(0x031A, "Amber wireless GmbH");
+        vendorModels.put(0x031B, "HQ Inc");
+        vendorModels.put(0x031C, "Lab Sensor Solutions");
+        vendorModels.put(0x031D, "Enterlab ApS");
+        vendorModels.put(0x031E, "Eyefi, Inc.");
+        vendorModels.put(0x031F, "MetaSystem S.p.A.");
+        vendorModels.put(0x0320, "SONO ELECTRONICS. CO.,LTD");
+        vendorModels.put(0x0321, "Jewelbots");
+        vendorModels.put(0x0322, "Compumedics Limited");
+        vendorModels.put(0x0323, "Rotor Bike Components");
+        vendorModels.put(0x0324, "Astro, Inc.");
+        vendorModels.put(0x0325, "Amotus Solutions");
+        vendorModels.put(0x0326, "Healthwear Technologies (Changzhou);Ltd");
+        vendorModels.put(0x0327, "Essex Electronics");
+        vendorModels.put(0x0328, "Grundfos A/S");
+        vendorModels.put(0x0329, "Eargo, Inc.");
+        vendorModels.put(0x032A, "Electronic Design Lab");
+        vendorModels.put(0x032B, "ESYLUX");
+        vendorModels.put(0x032C, "NIPPON SMT.CO.);Ltd");
+        vendorModels.put(0x032D, "BM innovations GmbH");
+        vendorModels.put(0x032E, "indoormap");
+        vendorModels.put(0x032F, "OttoQ Inc");
+        vendorModels.put(0x0330, "North Pole Engineering");
+        vendorModels.put(0x0331, "3flares Technologies Inc.");
+        vendorModels.put(0x0332, "Electrocompaniet A.S.");
+        vendorModels.put(0x0333, "Mul-T-Lock");
+        vendorModels.put(0x0334, "Corentium AS");
+        vendorModels.put(0x0335, "Enlighted Inc");
+        vendorModels.put(0x0336, "GISTIC");
+        vendorModels.put(0x0337, "AJP2 Holdings,LLC");
+        vendorModels.put(0x0338, "COBI GmbH");
+        vendorModels.put(0x0339, "Blue Sky Scientific,LLC");
+        vendorModels.put(0x033A, "Appception, Inc.");
+        vendorModels.put(0x033B, "Courtney Thorne Limited");
+        vendorModels.put(0x033C, "Virtuosys");
+        vendorModels.put(0x033D, "TPV Technology Limited");
+        vendorModels.put(0x033E, "Monitra SA");
+        vendorModels.put(0x033F, "Automation Components, Inc.");
+        vendorModels.put(0x0340, "Letsense s.r.l.");
+        vendorModels.put(0x0341, "Etesian Technologies LLC");
+        vendorModels.put(0x0342, "GERTEC BRASIL LTDA.");
+        vendorModels.put(0x0343, "Drekker Development Pty. Ltd.");
+        vendorModels.put(0x0344, "Whirl Inc");
+        vendorModels.put(0x0345, "Locus Positioning");
+        vendorModels.put(0x0346, "Acuity Brands Lighting, Inc");
+        vendorModels.put(0x0347, "Prevent Biometrics");
+        vendorModels.put(0x0348, "Arioneo");
+        vendorModels.put(0x0349, "VersaMe");
+        vendorModels.put(0x034A, "Vaddio");
+        vendorModels.put(0x034B, "Libratone A/S");
+        vendorModels.put(0x034C, "HM Electronics, Inc.");
+        vendorModels.put(0x034D, "TASER International, Inc.");
+        vendorModels.put(0x034E, "SafeTrust Inc.");
+        vendorModels.put(0x034F, "Heartland Payment Systems");
+        vendorModels.put(0x0350, "Bitstrata Systems Inc.");
+        vendorModels.put(0x0351, "Pieps GmbH");
+        vendorModels.put(0x0352, "iRiding(Xiamen);Technology Co.);Ltd.");
+        vendorModels.put(0x0353, "Alpha Audiotronics, Inc.");
+        vendorModels.put(0x0354, "TOPPAN FORMS CO.);LTD.");
+        vendorModels.put(0x0355, "Sigma Designs, Inc.");
+        vendorModels.put(0x0356, "Spectrum Brands, Inc.");
+        vendorModels.put(0x0357, "Polymap Wireless");
+        vendorModels.put(0x0358, "MagniWare Ltd.");
+        vendorModels.put(0x0359, "Novotec Medical GmbH");
+        vendorModels.put(0x035A, "Medicom Innovation Partner a/s");
+        vendorModels.put(0x035B, "Matrix Inc.");
+        vendorModels.put(0x035C, "Eaton Corporation");
+        vendorModels.put(0x035D, "KYS");
+        vendorModels.put(0x035E, "Naya Health, Inc.");
+        vendorModels.put(0x035F, "Acromag");
+        vendorModels.put(0x0360, "Insulet Corporation");
+        vendorModels.put(0x0361, "Wellinks Inc.");
+        vendorModels.put(0x0362, "ON Semiconductor");
+        vendorModels.put(0x0363, "FREELAP SA");
+        vendorModels.put(0x0364, "Favero Electronics Srl");
+        vendorModels.put(0x0365, "BioMech Sensor LLC");
+        vendorModels.put(0x0366, "BOLTT Sports technologies Private limited");
+        vendorModels.put(0x0367, "Saphe International");
+        vendorModels.put(0x0368, "Metormote AB");
+        vendorModels.put(0x0369, "littleBits");
+        vendorModels.put(0x036A, "SetPoint Medical");
+        vendorModels.put(0x036B, "BRControls Products BV");
+        vendorModels.put(0x036C, "Zipcar");
+        vendorModels.put(0x036D, "AirBolt Pty Ltd");
+        vendorModels.put(0x036E, "KeepTruckin Inc");
+        vendorModels.put(0x036F, "Motiv, Inc.");
+        vendorModels.put(0x0370, "Wazombi Labs O");
+        vendorModels.put(0x0371, "ORBCOMM");
+        vendorModels.put(0x0372, "Nixie Labs, Inc.");
+        vendorModels.put(0x0373, "AppNearMe Ltd");
+        vendorModels.put(0x0374, "Holman Industries");
+        vendorModels.put(0x0375, "Expain AS");
+        vendorModels.put(0x0376, "Electronic Temperature Instruments Ltd");
+        vendorModels.put(0x0377, "Plejd AB");
+        vendorModels.put(0x0378, "Propeller Health");
+        vendorModels.put(0x0379, "Shenzhen iMCO Electronic Technology Co.);Ltd");
+        vendorModels.put(0x037A, "Algoria");
+        vendorModels.put(0x037B, "Apption Labs Inc.");
+        vendorModels.put(0x037C, "Cronologics Corporation");
+        vendorModels.put(0x037D, "MICRODIA Ltd.");
+        vendorModels.put(0x037E, "lulabytes S.L.");
+        vendorModels.put(0x037F, "Nestec S.A.");
+        vendorModels.put(0x0380, "LLC \"MEGA-F service\"");
+        vendorModels.put(0x0381, "Sharp Corporation");
+        vendorModels.put(0x0382, "Precision Outcomes Ltd");
+        vendorModels.put(0x0383, "Kronos Incorporated");
+        vendorModels.put(0x0384, "OCOSMOS Co.,Ltd.");
+        vendorModels.put(0x0385, "Embedded Electronic Solutions Ltd. dba e2Solutions");
+        vendorModels.put(0x0386, "Aterica Inc.");
+        vendorModels.put(0x0387, "BluStor PMC, Inc.");
+        vendorModels.put(0x0388, "Kapsch TrafficCom AB");
+        vendorModels.put(0x0389, "ActiveBlu Corporation");
+        vendorModels.put(0x038A, "Kohler Mira Limited");
+        vendorModels.put(0x038B, "Noke");
+        vendorModels.put(0x038C, "Appion Inc.");
+        vendorModels.put(0x038D, "Resmed Ltd");
+        vendorModels.put(0x038E, "Crownstone B.V.");
+        vendorModels.put(0x038F, "Xiaomi Inc.");
+        vendorModels.put(0x0390, "INFOTECH s.r.o.");
+        vendorModels.put(0x0391, "Thingsquare AB");
+        vendorModels.put(0x0392, "T&D");
+        vendorModels.put(0x0393, "LAVAZZA S.p.A.");
+        vendorModels.put(0x0394, "Netclearance Systems, Inc.");
+        vendorModels.put(0x0395, "SDATAWAY");
+        vendorModels.put(0x0396, "BLOKS GmbH");
+        vendorModels.put(0x0397, "LEGO System A/S");
+        vendorModels.put(0x0398, "Thetatronics Ltd");
+        vendorModels.put(0x0399, "Nikon Corporation");
+        vendorModels.put(0x039A, "NeST");
+        vendorModels.put(0x039B, "South Silicon Valley Microelectronics");
+        vendorModels.put(0x039C, "ALE International");
+        vendorModels.put(0x039D, "CareView Communications, Inc.");
+        vendorModels.put(0x039E, "SchoolBoard Limited");
+        vendorModels.put(0x039F, "Molex Corporation");
+        vendorModels.put(0x03A0, "IVT Wireless Limited");
+        vendorModels.put(0x03A1, "Alpine Labs LLC");
+        vendorModels.put(0x03A2, "Candura Instruments");
+        vendorModels.put(0x03A3, "SmartMovt Technology Co.,Ltd");
+        vendorModels.put(0x03A4, "Token Zero Ltd");
+        vendorModels.put(0x03A5, "ACE CAD Enterprise Co.,Ltd. (ACECAD);");
+        vendorModels.put(0x03A6, "Medela, Inc");
+        vendorModels.put(0x03A7, "AeroScout");
+        vendorModels.put(0x03A8, "Esrille Inc.");
+        vendorModels.put(0x03A9, "THINKERLY SRL");
+        vendorModels.put(0x03AA, "Exon Sp. z o.o.");
+        vendorModels.put(0x03AB, "Meizu Technology Co.,Ltd.");
+        vendorModels.put(0x03AC, "Smablo LTD");
+        vendorModels.put(0x03AD, "XiQ");
+        vendorModels.put(0x03AE, "Allswell Inc.");
+        vendorModels.put(0x03AF, "Comm-N-Sense Corp DBA Verigo");
+        vendorModels.put(0x03B0, "VIBRADORM GmbH");
+        vendorModels.put(0x03B1, "Otodata Wireless Network Inc.");
+        vendorModels.put(0x03B2, "Propagation Systems Limited");
+        vendorModels.put(0x03B3, "Midwest Instruments & Controls");
+        vendorModels.put(0x03B4, "Alpha Nodus, Inc.");
+        vendorModels.put(0x03B5, "petPOMM, Inc");
+        vendorModels.put(0x03B6, "Mattel");
+        vendorModels.put(0x03B7, "Airbly Inc.");
+        vendorModels.put(0x03B8, "A-Safe Limited");
+        vendorModels.put(0x03B9, "FREDERIQUE CONSTANT SA");
+        vendorModels.put(0x03BA, "Maxscend Microelectronics Company Limited");
+        vendorModels.put(0x03BB, "Abbott Diabetes Care");
+        vendorModels.put(0x03BC, "ASB Bank Ltd");
+        vendorModels.put(0x03BD, "amadas");
+        vendorModels.put(0x03BE, "Applied Science, Inc.");
+        vendorModels.put(0x03BF, "iLumi Solutions Inc.");
+        vendorModels.put(0x03C0, "Arch Systems Inc.");
+        vendorModels.put(0x03C1, "Ember Technologies, Inc.");
+        vendorModels.put(0x03C2, "Snapchat Inc");
+        vendorModels.put(0x03C3, "Casambi Technologies Oy");
+        vendorModels.put(0x03C4, "Pico Technology Inc.");
+        vendorModels.put(0x03C5, "St. Jude Medical, Inc.");
+        vendorModels.put(0x03C6, "Intricon");
+        vendorModels.put(0x03C7, "Structural Health Systems, Inc.");
+        vendorModels.put(0x03C8, "Avvel International");
+        vendorModels.put(0x03C9, "Gallagher Group");
+        vendorModels.put(0x03CA, "In2things Automation Pvt. Ltd.");
+        vendorModels.put(0x03CB, "SYSDEV Srl");
+        vendorModels.put(0x03CC, "Vonkil Technologies Ltd");
+        vendorModels.put(0x03CD, "Wynd Technologies, Inc.");
+        vendorModels.put(0x03CE, "CONTRINEX S.A.");
+        vendorModels.put(0x03CF, "MIRA, Inc.");
+        vendorModels.put(0x03D0, "Watteam Ltd");
+        vendorModels.put(0x03D1, "Density Inc.");
+        vendorModels.put(0x03D2, "IOT Pot India Private Limited");
+        vendorModels.put(0x03D3, "Sigma Connectivity AB");
+        vendorModels.put(0x03D4, "PEG PEREGO SPA");
+        vendorModels.put(0x03D5, "Wyzelink Systems Inc.");
+        vendorModels.put(0x03D6, "Yota Devices LTD");
+        vendorModels.put(0x03D7, "FINSECUR");
+        vendorModels.put(0x03D8, "Zen-Me Labs Ltd");
+        vendorModels.put(0x03D9, "3IWare Co.,Ltd.");
+        vendorModels.put(0x03DA, "EnOcean GmbH");
+        vendorModels.put(0x03DB, "Instabeat, Inc");
+        vendorModels.put(0x03DC, "Nima Labs");
+        vendorModels.put(0x03DD, "Andreas Stihl AG & Co. KG");
+        vendorModels.put(0x03DE, "Nathan Rhoades LLC");
+        vendorModels.put(0x03DF, "Grob Technologies,LLC");
+        vendorModels.put(0x03E0, "Actions (Zhuhai,Technology Co.,Limited");
+        vendorModels.put(0x03E1, "SPD Development Company Ltd");
+        vendorModels.put(0x03E2, "Sensoan Oy");
+        vendorModels.put(0x03E3, "Qualcomm Life Inc");
+        vendorModels.put(0x03E4, "Chip-ing AG");
+        vendorModels.put(0x03E5, "ffly4u");
+        vendorModels.put(0x03E6, "IoT Instruments Oy");
+        vendorModels.put(0x03E7, "TRUE Fitness Technology");
+        vendorModels.put(0x03E8, "Reiner Kartengeraete GmbH & Co. KG.");
+        vendorModels.put(0x03E9, "SHENZHEN LEMONJOY TECHNOLOGY CO.,LTD.");
+        vendorModels.put(0x03EA, "Hello Inc.");
+        vendorModels.put(0x03EB, "Evollve Inc.");
+        vendorModels.put(0x03EC, "Jigowatts Inc.");
+        vendorModels.put(0x03ED, "BASIC MICRO.COM);INC.");
+        vendorModels.put(0x03EE, "CUBE TECHNOLOGIES");
+        vendorModels.put(0x03EF, "foolography GmbH");
+        vendorModels.put(0x03F0, "CLINK");
+        vendorModels.put(0x03F1, "Hestan Smart Cooking Inc.");
+        vendorModels.put(0x03F2, "WindowMaster A/S");
+        vendorModels.put(0x03F3, "Flowscape AB");
+        vendorModels.put(0x03F4, "PAL Technologies Ltd");
+        vendorModels.put(0x03F5, "WHERE, Inc.");
+        vendorModels.put(0x03F6, "Iton Technology Corp.");
+        vendorModels.put(0x03F7, "Owl Labs Inc.");
+        vendorModels.put(0x03F8, "Rockford Corp.");
+        vendorModels.put(0x03F9, "Becon Technologies Co.);Ltd.");
+        vendorModels.put(0x03FA, "Vyassoft Technologies Inc");
+        vendorModels.put(0x03FB, "Nox Medical");
+        vendorModels.put(0x03FC, "Kimberly-Clark");
+        vendorModels.put(0x03FD, "Trimble Navigation Ltd.");
+        vendorModels.put(0x03FE, "Littelfuse");
+        vendorModels.put(0x03FF, "Withings");
+        vendorModels.put(0x0400, "i-developer IT Beratung UG");
+        vendorModels.put(0x0401, "");
+        vendorModels.put(0x0402, "Sears Holdings Corporation");
+        vendorModels.put(0x0403, "Gantner Electronic GmbH");
+        vendorModels.put(0x0404, "Authomate Inc");
+        vendorModels.put(0x0405, "Vertex International, Inc.");
+        vendorModels.put(0x0406, "Airtago");
+        vendorModels.put(0x0407, "Swiss Audio SA");
+        vendorModels.put(0x0408, "ToGetHome Inc.");
+        vendorModels.put(0x0409, "AXIS");
+        vendorModels.put(0x040A, "Openmatics");
+        vendorModels.put(0x040B, "Jana Care Inc.");
+        vendorModels.put(0x040C, "Senix Corporation");
+        vendorModels.put(0x040D, "NorthStar Battery Company,LLC");
+        vendorModels.put(0x040E, "SKF (U.K.,Limited");
+        vendorModels.put(0x040F, "CO-AX Technology, Inc.");
+        vendorModels.put(0x0410, "Fender Musical Instruments");
+        vendorModels.put(0x0411, "Luidia Inc");
+        vendorModels.put(0x0412, "SEFAM");
+        vendorModels.put(0x0413, "Wireless Cables Inc");
+        vendorModels.put(0x0414, "Lightning Protection International Pty Ltd");
+        vendorModels.put(0x0415, "Uber Technologies Inc");
+        vendorModels.put(0x0416, "SODA GmbH");
+        vendorModels.put(0x0417, "Fatigue Science");
+        vendorModels.put(0x0418, "Alpine Electronics Inc.");
+        vendorModels.put(0x0419, "Novalogy LTD");
+        vendorModels.put(0x041A, "Friday Labs Limited");
+        vendorModels.put(0x041B, "OrthoAccel Technologies");
+        vendorModels.put(0x041C, "WaterGuru, Inc.");
+        vendorModels.put(0x041D, "Benning Elektrotechnik und Elektronik GmbH & Co. KG");
+        vendorModels.put(0x041E, "Dell Computer Corporation");
+        vendorModels.put(0x041F, "Kopin Corporation");
+        vendorModels.put(0x0420, "TecBakery GmbH");
+        vendorModels.put(0x0421, "Backbone Labs, Inc.");
+        vendorModels.put(0x0422, "DELSEY SA");
+        vendorModels.put(0x0423, "Chargifi Limited");
+        vendorModels.put(0x0424, "Trainesense Ltd.");
+        vendorModels.put(0x0425, "Unify Software and Solutions GmbH & Co. KG");
+        vendorModels.put(0x0426, "Husqvarna AB");
+        vendorModels.put(0x0427, "Focus fleet and fuel management inc");
+        vendorModels.put(0x0428, "SmallLoop,LLC");
+        vendorModels.put(0x0429, "Prolon Inc.");
+        vendorModels.put(0x042A, "BD Medical");
+        vendorModels.put(0x042B, "iMicroMed Incorporated");
+        vendorModels.put(0x042C, "Ticto N.V.");
+        vendorModels.put(0x042D, "Meshtech AS");
+        vendorModels.put(0x042E, "MemCachier Inc.");
+        vendorModels.put(0x042F, "Danfoss A/S");
+        vendorModels.put(0x0430, "SnapStyk Inc.");
+        vendorModels.put(0x0431, "Amway Corporation");
+        vendorModels.put(0x0432, "Silk Labs, Inc.");
+        vendorModels.put(0x0433, "Pillsy Inc.");
+        vendorModels.put(0x0434, "Hatch Baby, Inc.");
+        vendorModels.put(0x0435, "Blocks Wearables Ltd.");
+        vendorModels.put(0x0436, "Drayson Technologies (Europe,Limited");
+        vendorModels.put(0x0437, "eBest IOT Inc.");
+        vendorModels.put(0x0438, "Helvar Ltd");
+        vendorModels.put(0x0439, "Radiance Technologies");
+        vendorModels.put(0x043A, "Nuheara Limited");
+        vendorModels.put(0x043B, "Appside co.,ltd.");
+        vendorModels.put(0x043C, "DeLaval");
+        vendorModels.put(0x043D, "Coiler Corporation");
+        vendorModels.put(0x043E, "Thermomedics, Inc.");
+        vendorModels.put(0x043F, "Tentacle Sync GmbH");
+        vendorModels.put(0x0440, "Valencell, Inc.");
+        vendorModels.put(0x0441, "iProtoXi Oy");
+        vendorModels.put(0x0442, "SECOM CO.,LTD.");
+        vendorModels.put(0x0443, "Tucker International LLC");
+        vendorModels.put(0x0444, "Metanate Limited");
+        vendorModels.put(0x0445, "Kobian Canada Inc.");
+        vendorModels.put(0x0446, "NETGEAR, Inc.");
+        vendorModels.put(0x0447, "Fabtronics Australia Pty Ltd");
+        vendorModels.put(0x0448, "Grand Centrix GmbH");
+        vendorModels.put(0x0449, "1UP USA.com llc");
+        vendorModels.put(0x044A, "SHIMANO INC.");
+        vendorModels.put(0x044B, "Nain Inc.");
+        vendorModels.put(0x044C, "LifeStyle Lock,LLC");
+        vendorModels.put(0x044D, "VEGA Grieshaber KG");
+        vendorModels.put(0x044E, "Xtrava Inc.");
+        vendorModels.put(0x044F, "TTS Tooltechnic Systems AG & Co. KG");
+        vendorModels.put(0x0450, "Teenage Engineering AB");
+        vendorModels.put(0x0451, "Tunstall Nordic AB");
+        vendorModels.put(0x0452, "Svep Design Center AB");
+        vendorModels.put(0x0453, "GreenPeak Technologies BV");
+        vendorModels.put(0x0454, "Sphinx Electronics GmbH & Co KG");
+        vendorModels.put(0x0455, "Atomation");
+        vendorModels.put(0x0456, "Nemik Consulting Inc");
+        vendorModels.put(0x0457, "RF INNOVATION");
+        vendorModels.put(0x0458, "Mini Solution Co.,Ltd.");
+        vendorModels.put(0x0459, "Lumenetix, Inc");
+        vendorModels.put(0x045A, "2048450 Ontario Inc");
+        vendorModels.put(0x045B, "SPACEEK LTD");
+        vendorModels.put(0x045C, "Delta T Corporation");
+        vendorModels.put(0x045D, "Boston Scientific Corporation");
+        vendorModels.put(0x045E, "Nuviz, Inc.");
+        vendorModels.put(0x045F, "Real Time Automation, Inc.");
+        vendorModels.put(0x0460, "Kolibree");
+        vendorModels.put(0x0461, "vhf elektronik GmbH");
+        vendorModels.put(0x0462, "Bonsai Systems GmbH");
+        vendorModels.put(0x0463, "Fathom Systems Inc.");
+        vendorModels.put(0x0464, "Bellman & Symfon");
+        vendorModels.put(0x0465, "International Forte Group LLC");
+        vendorModels.put(0x0466, "CycleLabs Solutions inc.");
+        vendorModels.put(0x0467, "Codenex Oy");
+        vendorModels.put(0x0468, "Kynesim Ltd");
+        vendorModels.put(0x0469, "Palago AB");
+        vendorModels.put(0x046A, "INSIGMA INC.");
+        vendorModels.put(0x046B, "PMD Solutions");
+        vendorModels.put(0x046C, "Qingdao Realtime Technology Co.,Ltd.");
+        vendorModels.put(0x046D, "BEGA Gantenbrink-Leuchten KG");
+        vendorModels.put(0x046E, "Pambor Ltd.");
+        vendorModels.put(0x046F, "Develco Products A/S");
+        vendorModels.put(0x0470, "iDesign s.r.l.");
+        vendorModels.put(0x0471, "TiVo Corp");
+        vendorModels.put(0x0472, "Control-J Pty Ltd");
+        vendorModels.put(0x0473, "Steelcase, Inc.");
+        vendorModels.put(0x0474, "iApartment co.,ltd.");
+        vendorModels.put(0x0475, "Icom inc.");
+        vendorModels.put(0x0476, "Oxstren Wearable Technologies Private Limited");
+        vendorModels.put(0x0477, "Blue Spark Technologies");
+        vendorModels.put(0x0478, "FarSite Communications Limited");
+        vendorModels.put(0x0479, "mywerk system GmbH");
+        vendorModels.put(0x047A, "Sinosun Technology Co.,Ltd.");
+        vendorModels.put(0x047B, "MIYOSHI ELECTRONICS CORPORATION");
+        vendorModels.put(0x047C, "POWERMAT LTD");
+        vendorModels.put(0x047D, "Occly LLC");
+        vendorModels.put(0x047E, "OurHub Dev IvS");
+        vendorModels.put(0x047F, "Pro-Mark, Inc.");
+        vendorModels.put(0x0480, "Dynometrics Inc.");
+        vendorModels.put(0x0481, "Quintrax Limited");
+        vendorModels.put(0x0482, "POS Tuning Udo Vosshenrich GmbH & Co. KG");
+        vendorModels.put(0x0483, "Multi Care Systems B.V.");
+        vendorModels.put(0x0484, "Revol Technologies Inc");
+        vendorModels.put(0x0485, "SKIDATA AG");
+        vendorModels.put(0x0486, "DEV TECNOLOGIA INDUSTRIA,COMERCIO E MANUTENCAO DE EQUIPAMENTOS LTDA. - ME");
+        vendorModels.put(0x0487, "Centrica Connected Home");
+        vendorModels.put(0x0488, "Automotive Data Solutions Inc");
+        vendorModels.put(0x0489, "Igarashi Engineering");
+        vendorModels.put(0x048A, "Taelek Oy");
+        vendorModels.put(0x048B, "CP Electronics Limited");
+        vendorModels.put(0x048C, "Vectronix AG");
+        vendorModels.put(0x048D, "S-Labs Sp. z o.o.");
+        vendorModels.put(0x048E, "Companion Medical, Inc.");
+        vendorModels.put(0x048F, "BlueKitchen GmbH");
+        vendorModels.put(0x0490, "Matting AB");
+        vendorModels.put(0x0491, "SOREX - Wireless Solutions GmbH");
+        vendorModels.put(0x0492, "ADC Technology, Inc.");
+        vendorModels.put(0x0493, "Lynxemi Pte Ltd");
+        vendorModels.put(0x0494, "SENNHEISER electronic GmbH & Co. KG");
+        vendorModels.put(0x0495, "LMT Mercer Group, Inc");
+        vendorModels.put(0x0496, "Polymorphic Labs LLC");
+        vendorModels.put(0x0497, "Cochlear Limited");
+        vendorModels.put(0x0498, "METER Group, Inc. USA");
+        vendorModels.put(0x0499, "Ruuvi Innovations Ltd.");
+        vendorModels.put(0x049A, "Situne AS");
+        vendorModels.put(0x049B, "nVisti,LLC");
+        vendorModels.put(0x049C, "DyOcean");
+        vendorModels.put(0x049D, "Uhlmann & Zacher GmbH");
+        vendorModels.put(0x049E, "AND!XOR LLC");
+        vendorModels.put(0x049F, "tictote AB");
+        vendorModels.put(0x04A0, "Vypin,LLC");
+        vendorModels.put(0x04A1, "PNI Sensor Corporation");
+        vendorModels.put(0x04A2, "ovrEngineered,LLC");
+        vendorModels.put(0x04A3, "GT-tronics HK Ltd");
+        vendorModels.put(0x04A4, "Herbert Waldmann GmbH & Co. KG");
+        vendorModels.put(0x04A5, "Guangzhou FiiO Electronics Technology Co.);Ltd");
+        vendorModels.put(0x04A6, "Vinetech Co.,Ltd");
+        vendorModels.put(0x04A7, "Dallas Logic Corporation");
+        vendorModels.put(0x04A8, "BioTex, Inc.");
+        vendorModels.put(0x04A9, "DISCOVERY SOUND TECHNOLOGY,LLC");
+        vendorModels.put(0x04AA, "LINKIO SAS");
+        vendorModels.put(0x04AB, "Harbortronics, Inc.");
+        vendorModels.put(0x04AC, "Undagrid B.V.");
+        vendorModels.put(0x04AD, "Shure Inc");
+        vendorModels.put(0x04AE, "ERM Electronic Systems LTD");
+        vendorModels.put(0x04AF, "BIOROWER Handelsagentur GmbH");
+        vendorModels.put(0x04B0, "Weba Sport und Med. Artikel GmbH");
+        vendorModels.put(0x04B1, "Kartographers Technologies Pvt. Ltd.");
+        vendorModels.put(0x04B2, "The Shadow on the Moon");
+        vendorModels.put(0x04B3, "mobike (Hong Kong,Limited");
+        vendorModels.put(0x04B4, "Inuheat Group AB");
+        vendorModels.put(0x04B5, "Swiftronix AB");
+        vendorModels.put(0x04B6, "Diagnoptics Technologies");
+        vendorModels.put(0x04B7, "Analog Devices, Inc.");
+        vendorModels.put(0x04B8, "Soraa Inc.");
+        vendorModels.put(0x04B9, "CSR Building Products Limited");
+        vendorModels.put(0x04BA, "Crestron Electronics, Inc.");
+        vendorModels.put(0x04BB, "Neatebox Ltd");
+        vendorModels.put(0x04BC, "Draegerwerk AG & Co. KGaA");
+        vendorModels.put(0x04BD, "AlbynMedical");
+        vendorModels.put(0x04BE, "Averos FZCO");
+        vendorModels.put(0x04BF, "VIT Initiative,LLC");
+        vendorModels.put(0x04C0, "Statsports International");
+        vendorModels.put(0x04C1, "Sospitas,s.r.o.");
+        vendorModels.put(0x04C2, "Dmet Products Corp.");
+        vendorModels.put(0x04C3, "Mantracourt Electronics Limited");
+        vendorModels.put(0x04C4, "TeAM Hutchins AB");
+        vendorModels.put(0x04C5, "Seibert Williams Glass,LLC");
+        vendorModels.put(0x04C6, "Insta GmbH");
+        vendorModels.put(0x04C7, "Svantek Sp. z o.o.");
+        vendorModels.put(0x04C8, "Shanghai Flyco Electrical Appliance Co.,Ltd.");
+        vendorModels.put(0x04C9, "Thornwave Labs Inc");
+        vendorModels.put(0x04CA, "Steiner-Optik GmbH");
+        vendorModels.put(0x04CB, "Novo Nordisk A/S");
+        vendorModels.put(0x04CC, "Enflux Inc.");
+        vendorModels.put(0x04CD, "Safetech Products LLC");
+        vendorModels.put(0x04CE, "GOOOLED S.R.L.");
+        vendorModels.put(0x04CF, "DOM Sicherheitstechnik GmbH & Co. KG");
+        vendorModels.put(0x04D0, "Olympus Corporation");
+        vendorModels.put(0x04D1, "KTS GmbH");
+        vendorModels.put(0x04D2, "Anloq Technologies Inc.");
+        vendorModels.put(0x04D3, "Queercon, Inc");
+        vendorModels.put(0x04D4, "5th Element Ltd");
+        vendorModels.put(0x04D5, "Gooee Limited");
+        vendorModels.put(0x04D6, "LUGLOC LLC");
+        vendorModels.put(0x04D7, "Blincam, Inc.");
+        vendorModels.put(0x04D8, "FUJIFILM Corporation");
+        vendorModels.put(0x04D9, "RandMcNally");
+        vendorModels.put(0x04DA, "Franceschi Marina snc");
+        vendorModels.put(0x04DB, "Engineered Audio,LLC.");
+        vendorModels.put(0x04DC, "IOTTIVE (OPC,PRIVATE LIMITED");
+        vendorModels.put(0x04DD, "4MOD Technology");
+        vendorModels.put(0x04DE, "Lutron Electronics Co., Inc.");
+        vendorModels.put(0x04DF, "Emerson");
+        vendorModels.put(0x04E0, "Guardtec, Inc.");
+        vendorModels.put(0x04E1, "REACTEC LIMITED");
+        vendorModels.put(0x04E2, "EllieGrid");
+        vendorModels.put(0x04E3, "Under Armour");
+        vendorModels.put(0x04E4, "Woodenshark");
+        vendorModels.put(0x04E5, "Avack Oy");
+        vendorModels.put(0x04E6, "Smart Solution Technology, Inc.");
+        vendorModels.put(0x04E7, "REHABTRONICS INC.");
+        vendorModels.put(0x04E8, "STABILO International");
+        vendorModels.put(0x04E9, "Busch Jaeger Elektro GmbH");
+        vendorModels.put(0x04EA, "Pacific Bioscience Laboratories, Inc");
+        vendorModels.put(0x04EB, "Bird Home Automation GmbH");
+        vendorModels.put(0x04EC, "Motorola Solutions");
+        vendorModels.put(0x04ED, "R9 Technology, Inc.");
+        vendorModels.put(0x04EE, "Auxivia");
+        vendorModels.put(0x04EF, "DaisyWorks, Inc");
+        vendorModels.put(0x04F0, "Kosi Limited");
+        vendorModels.put(0x04F1, "Theben AG");
+        vendorModels.put(0x04F2, "InDreamer Techsol Private Limited");
+        vendorModels.put(0x04F3, "Cerevast Medical");
+        vendorModels.put(0x04F4, "ZanCompute Inc.");
+        vendorModels.put(0x04F5, "Pirelli Tyre S.P.A.");
+        vendorModels.put(0x04F6, "McLear Limited");
+        vendorModels.put(0x04F7, "Shenzhen Huiding Technology Co.);Ltd.");
+        vendorModels.put(0x04F8, "Convergence Systems Limited");
+        vendorModels.put(0x04F9, "Interactio");
+        vendorModels.put(0x04FA, "Androtec GmbH");
+        vendorModels.put(0x04FB, "Benchmark Drives GmbH & Co. KG");
+        vendorModels.put(0x04FC, "SwingLync L. L. C.");
+        vendorModels.put(0x04FD, "Tapkey GmbH");
+        vendorModels.put(0x04FE, "Woosim Systems Inc.");
+        vendorModels.put(0x04FF, "Microsemi Corporation");
+        vendorModels.put(0x0500, "Wiliot LTD.");
+        vendorModels.put(0x0501, "Polaris IND");
+        vendorModels.put(0x0502, "Specifi-Kali LLC");
+        vendorModels.put(0x0503, "Locoroll, Inc");
+        vendorModels.put(0x0504, "PHYPLUS Inc");
+        vendorModels.put(0x0505, "Inplay Technologies LLC");
+        vendorModels.put(0x0506, "Hager");
+        vendorModels.put(0x0507, "Yellowcog");
+        vendorModels.put(0x0508, "Axes System sp. z o. o.");
+        vendorModels.put(0x0509, "myLIFTER Inc.");
+        vendorModels.put(0x050A, "Shake-on B.V.");
+        vendorModels.put(0x050B, "Vibrissa Inc.");
+        vendorModels.put(0x050C, "OSRAM GmbH");
+        vendorModels.put(0x050D, "TRSystems GmbH");
+        vendorModels.put(0x050E, "Yichip Microelectronics (Hangzhou,Co.);Ltd.");
+        vendorModels.put(0x050F, "Foundation Engineering LLC");
+        vendorModels.put(0x0510, "UNI-ELECTRONICS, Inc.");
+        vendorModels.put(0x0511, "Brookfield Equinox LLC");
+        vendorModels.put(0x0512, "Soprod SA");
+        vendorModels.put(0x0513, "9974091 Canada Inc.");
+        vendorModels.put(0x0514, "FIBRO GmbH");
+        vendorModels.put(0x0515, "RB Controls Co.,Ltd.");
+        vendorModels.put(0x0516, "Footmarks");
+        vendorModels.put(0x0517, "Amcore AB");
+        vendorModels.put(0x0518, "MAMORIO.inc");
+        vendorModels.put(0x0519, "Tyto Life LLC");
+        vendorModels.put(0x051A, "Leica Camera AG");
+        vendorModels.put(0x051B, "Angee Technologies Ltd.");
+        vendorModels.put(0x051C, "EDPS");
+        vendorModels.put(0x051D, "OFF Line Co.,Ltd.");
+        vendorModels.put(0x051E, "Detect Blue Limited");
+        vendorModels.put(0x051F, "Setec Pty Ltd");
+        vendorModels.put(0x0520, "Target Corporation");
+        vendorModels.put(0x0521, "IAI Corporation");
+        vendorModels.put(0x0522, "NS Tech, Inc.");
+        vendorModels.put(0x0523, "MTG Co.,Ltd.");
+        vendorModels.put(0x0524, "Hangzhou iMagic Technology Co.,Ltd");
+        vendorModels.put(0x0525, "HONGKONG NANO IC TECHNOLOGIES CO.,LIMITED");
+        vendorModels.put(0x0526, "Honeywell International Inc.");
+        vendorModels.put(0x0527, "Albrecht JUNG");
+        vendorModels.put(0x0528, "Lunera Lighting Inc.");
+        vendorModels.put(0x0529, "Lumen UAB");
+        vendorModels.put(0x052A, "Keynes Controls Ltd");
+        vendorModels.put(0x052B, "Novartis AG");
+        vendorModels.put(0x052C, "Geosatis SA");
+        vendorModels.put(0x052D, "EXFO, Inc.");
+        vendorModels.put(0x052E, "LEDVANCE GmbH");
+        vendorModels.put(0x052F, "Center ID Corp.");
+        vendorModels.put(0x0530, "Adolene, Inc.");
+        vendorModels.put(0x0531, "D&M Holdings Inc.");
+        vendorModels.put(0x0532, "CRESCO Wireless, Inc.");
+        vendorModels.put(0x0533, "Nura Operations Pty Ltd");
+        vendorModels.put(0x0534, "Frontiergadget, Inc.");
+        vendorModels.put(0x0535, "Smart Component Technologies Limited");
+        vendorModels.put(0x0536, "ZTR Control Systems LLC");
+        vendorModels.put(0x0537, "MetaLogics Corporation");
+        vendorModels.put(0x0538, "Medela AG");
+        vendorModels.put(0x0539, "OPPLE Lighting Co.,Ltd");
+        vendorModels.put(0x053A, "Savitech Corp.);");
+        vendorModels.put(0x053B, "prodigy");
+        vendorModels.put(0x053C, "Screenovate Technologies Ltd");
+        vendorModels.put(0x053D, "TESA SA");
+        vendorModels.put(0x053E, "CLIM8 LIMITED");
+        vendorModels.put(0x053F, "Silergy Corp");
+        vendorModels.put(0x0540, "SilverPlus, Inc");
+        vendorModels.put(0x0541, "Sharknet srl");
+        vendorModels.put(0x0542, "Mist Systems, Inc.");
+        vendorModels.put(0x0543, "MIWA LOCK CO.);Ltd");
+        vendorModels.put(0x0544, "OrthoSensor, Inc.");
+        vendorModels.put(0x0545, "Candy Hoover Group s.r.l");
+        vendorModels.put(0x0546, "Apexar Technologies S.A.");
+        vendorModels.put(0x0547, "LOGICDATA d.o.o.");
+        vendorModels.put(0x0548, "Knick Elektronische Messgeraete GmbH & Co. KG");
+        vendorModels.put(0x0549, "Smart Technologies and Investment Limited");
+        vendorModels.put(0x054A, "Linough Inc.");
+        vendorModels.put(0x054B, "Advanced Electronic Designs, Inc.");
+        vendorModels.put(0x054C, "Carefree Scott Fetzer Co Inc");
+        vendorModels.put(0x054D, "Sensome");
+        vendorModels.put(0x054E, "FORTRONIK storitve d.o.o.");
+        vendorModels.put(0x054F, "Sinnoz");
+        vendorModels.put(0x0550, "Versa Networks, Inc.");
+        vendorModels.put(0x0551, "Sylero");
+        vendorModels.put(0x0552, "Avempace SARL");
+        vendorModels.put(0x0553, "Nintendo Co.,Ltd.");
+        vendorModels.put(0x0554, "National Instruments");
+        vendorModels.put(0x0555, "KROHNE Messtechnik GmbH");
+        vendorModels.put(0x0556, "Otodynamics Ltd");
+        vendorModels.put(0x0557, "Arwin Technology Limited");
+        vendorModels.put(0x0558, "benegear, Inc.");
+        vendorModels.put(0x0559, "Newcon Optik");
+        vendorModels.put(0x055A, "CANDY HOUSE, Inc.");
+        vendorModels.put(0x055B, "FRANKLIN TECHNOLOGY INC");
+        vendorModels.put(0x055C, "Lely");
+        vendorModels.put(0x055D, "Valve Corporation");
+        vendorModels.put(0x055E, "Hekatron Vertriebs GmbH");
+        vendorModels.put(0x055F, "PROTECH S.A.S. DI GIRARDI ANDREA & C.");
+        vendorModels.put(0x0560, "Sarita CareTech IVS");
+        vendorModels.put(0x0561, "Finder S.p.A.");
+        vendorModels.put(0x0562, "Thalmic Labs Inc.");
+        vendorModels.put(0x0563, "Steinel Vertrieb GmbH");
+        vendorModels.put(0x0564, "Beghelli Spa");
+        vendorModels.put(0x0565, "Beijing Smartspace Technologies Inc.");
+        vendorModels.put(0x0566, "CORE TRANSPORT TECHNOLOGIES NZ LIMITED");
+        vendorModels.put(0x0567, "Xiamen Everesports Goods Co.,Ltd");
+        vendorModels.put(0x0568, "Bodyport Inc.");
+        vendorModels.put(0x0569, "Audionics System, Inc.");
+        vendorModels.put(0x056A, "Flipnavi Co.);Ltd.");
+        vendorModels.put(0x056B, "Rion Co.,Ltd.");
+        vendorModels.put(0x056C, "Long Range Systems,LLC");
+        vendorModels.put(0x056D, "Redmond Industrial Group LLC");
+        vendorModels.put(0x056E, "VIZPIN INC.");
+        vendorModels.put(0x056F, "BikeFinder AS");
+        vendorModels.put(0x0570, "Consumer Sleep Solutions LLC");
+        vendorModels.put(0x0571, "PSIKICK, Inc.");
+        vendorModels.put(0x0572, "AntTail.com");
+        vendorModels.put(0x0573, "Lighting Science Group Corp.");
+        vendorModels.put(0x0574, "AFFORDABLE ELECTRONICS INC");
+        vendorModels.put(0x0575, "Integral Memroy Plc");
+        vendorModels.put(0x0576, "Globalstar, Inc.");
+        vendorModels.put(0x0577, "True Wearables, Inc.");
+        vendorModels.put(0x0578, "Wellington Drive Technologies Ltd");
+        vendorModels.put(0x0579, "Ensemble Tech Private Limited");
+        vendorModels.put(0x057A, "OMNI Remotes");
+        vendorModels.put(0x057B, "Duracell U.S. Operations Inc.");
+        vendorModels.put(0x057C, "Toor Technologies LLC");
+        vendorModels.put(0x057D, "Instinct Performance");
+        vendorModels.put(0x057E, "Beco, Inc");
+        vendorModels.put(0x057F, "Scuf Gaming International,LLC");
+        vendorModels.put(0x0580, "ARANZ Medical Limited");
+        vendorModels.put(0x0581, "LYS TECHNOLOGIES LTD");
+        vendorModels.put(0x0582, "Breakwall Analytics,LLC");
+        vendorModels.put(0x0583, "Code Blue Communications");
+        vendorModels.put(0x0584, "Gira Giersiepen GmbH & Co. KG");
+        vendorModels.put(0x0585, "Hearing Lab Technology");
+        vendorModels.put(0x0586, "LEGRAND");
+        vendorModels.put(0x0587, "Derichs GmbH");
+        vendorModels.put(0x0588, "ALT-TEKNIK LLC");
+        vendorModels.put(0x0589, "Star Technologies");
+        vendorModels.put(0x058A, "START TODAY CO.);LTD.");
+        vendorModels.put(0x058B, "Maxim Integrated Products");
+        vendorModels.put(0x058C, "MERCK Kommanditgesellschaft auf Aktien");
+        vendorModels.put(0x058D, "Jungheinrich Aktiengesellschaft");
+        vendorModels.put(0x058E, "Oculus VR,LLC");
+        vendorModels.put(0x058F, "HENDON SEMICONDUCTORS PTY LTD");
+        vendorModels.put(0x0590, "Pur3 Ltd");
+        vendorModels.put(0x0591, "Viasat Group S.p.A.");
+        vendorModels.put(0x0592, "IZITHERM");
+        vendorModels.put(0x0593, "Spaulding Clinical Research");
+        vendorModels.put(0x0594, "Kohler Company");
+        vendorModels.put(0x0595, "Inor Process AB");
+        vendorModels.put(0x0596, "My Smart Blinds");
+        vendorModels.put(0x0597, "RadioPulse Inc");
+        vendorModels.put(0x0598, "rapitag GmbH");
+        vendorModels.put(0x0599, "Lazlo326,LLC.");
+        vendorModels.put(0x059A, "Teledyne Lecroy, Inc.");
+        vendorModels.put(0x059B, "Dataflow Systems Limited");
+        vendorModels.put(0x059C, "Macrogiga Electronics");
+        vendorModels.put(0x059D, "Tandem Diabetes Care");
+        vendorModels.put(0x059E, "Polycom, Inc.");
+        vendorModels.put(0x059F, "Fisher & Paykel Healthcare");
+        vendorModels.put(0x05A0, "RCP Software Oy");
+        vendorModels.put(0x05A1, "Shanghai Xiaoyi Technology Co.);Ltd.");
+        vendorModels.put(0x05A2, "ADHERIUM(NZ,LIMITED");
+        vendorModels.put(0x05A3, "Axiomware Systems Incorporated");
+        vendorModels.put(0x05A4, "O. E. M. Controls, Inc.");
+        vendorModels.put(0x05A5, "Kiiroo BV");
+        vendorModels.put(0x05A6, "Telecon Mobile Limited");
+        vendorModels.put(0x05A7, "Sonos Inc");
+        vendorModels.put(0x05A8, "Tom Allebrandi Consulting");
+        vendorModels.put(0x05A9, "Monidor");
+        vendorModels.put(0x05AA, "Tramex Limited");
+        vendorModels.put(0x05AB, "Nofence AS");
+        vendorModels.put(0x05AC, "GoerTek Dynaudio Co.,Ltd.");
+        vendorModels.put(0x05AD, "INIA");
+        vendorModels.put(0x05AE, "CARMATE MFG.CO.);LTD");
+        vendorModels.put(0x05AF, "ONvocal");
+        vendorModels.put(0x05B0, "NewTec GmbH");
+        vendorModels.put(0x05B1, "Medallion Instrumentation Systems");
+        vendorModels.put(0x05B2, "CAREL INDUSTRIES S.P.A.");
+        vendorModels.put(0x05B3, "Parabit Systems, Inc.");
+        vendorModels.put(0x05B4, "White Horse Scientific ltd");
+        vendorModels.put(0x05B5, "verisilicon");
+        vendorModels.put(0x05B6, "Elecs Industry Co.);Ltd.");
+        vendorModels.put(0x05B7, "Beijing Pinecone Electronics Co.);Ltd.");
+        vendorModels.put(0x05B8, "Ambystoma Labs Inc.");
+        vendorModels.put(0x05B9, "Suzhou Pairlink Network Technology");
+        vendorModels.put(0x05BA, "igloohome");
+        vendorModels.put(0x05BB, "Oxford Metrics plc");
+        vendorModels.put(0x05BC, "Leviton Mfg. Co., Inc.");
+        vendorModels.put(0x05BD, "ULC Robotics Inc.");
+        vendorModels.put(0x05BE, "RFID Global by Softwork SrL");
+        vendorModels.put(0x05BF, "Real-World-Systems Corporation");
+        vendorModels.put(0x05C0, "Nalu Medical, Inc.");
+        vendorModels.put(0x05C1, "P.I.Engineering");
+        vendorModels.put(0x05C2, "Grote Industries");
+        vendorModels.put(0x05C3, "Runtime, Inc.");
+        vendorModels.put(0x05C4, "Codecoup sp. z o.o. sp. k.");
+        vendorModels.put(0x05C5, "SELVE GmbH & Co. KG");
+        vendorModels.put(0x05C6, "Smart Animal Training Systems,LLC");
+        vendorModels.put(0x05C7, "Lippert Components, Inc");
+        vendorModels.put(0x05C8, "SOMFY SAS");
+        vendorModels.put(0x05C9, "TBS Electronics B.V.");
+        vendorModels.put(0x05CA, "MHL Custom Inc");
+        vendorModels.put(0x05CB, "LucentWear LLC");
+        vendorModels.put(0x05CC, "WATTS ELECTRONICS");
+        vendorModels.put(0x05CD, "RJ Brands LLC");
+        vendorModels.put(0x05CE, "V-ZUG Ltd");
+        vendorModels.put(0x05CF, "Biowatch SA");
+        vendorModels.put(0x05D0, "Anova Applied Electronics");
+        vendorModels.put(0x05D1, "Lindab AB");
+        vendorModels.put(0x05D2, "frogblue TECHNOLOGY GmbH");
+        vendorModels.put(0x05D3, "Acurable Limited");
+        vendorModels.put(0x05D4, "LAMPLIGHT Co.,Ltd.");
+        vendorModels.put(0x05D5, "TEGAM, Inc.");
+        vendorModels.put(0x05D6, "Zhuhai Jieli technology Co.);Ltd");
+        vendorModels.put(0x05D7, "modum.io AG");
+        vendorModels.put(0x05D8, "Farm Jenny LLC");
+        vendorModels.put(0x05D9, "Toyo Electronics Corporation");
+        vendorModels.put(0x05DA, "Applied Neural Research Corp");
+        vendorModels.put(0x05DB, "Avid Identification Systems, Inc.");
+        vendorModels.put(0x05DC, "Petronics Inc.");
+        vendorModels.put(0x05DD, "essentim GmbH");
+        vendorModels.put(0x05DE, "QT Medical INC.");
+        vendorModels.put(0x05DF, "VIRTUALCLINIC.DIRECT LIMITED");
+        vendorModels.put(0x05E0, "Viper Design LLC");
+        vendorModels.put(0x05E1, "Human, Incorporated");
+        vendorModels.put(0x05E2, "stAPPtronics GmbH");
+        vendorModels.put(0x05E3, "Elemental Machines, Inc.");
+        vendorModels.put(0x05E4, "Taiyo Yuden Co.,Ltd");
+        vendorModels.put(0x05E5, "INEO ENERGY& SYSTEMS");
+        vendorModels.put(0x05E6, "Motion Instruments Inc.");
+        vendorModels.put(0x05E7, "PressurePro");
+        vendorModels.put(0x05E8, "COWBOY");
+        vendorModels.put(0x05E9, "iconmobile GmbH");
+        vendorModels.put(0x05EA, "ACS-Control-System GmbH");
+        vendorModels.put(0x05EB, "Bayerische Motoren Werke AG");
+        vendorModels.put(0x05EC, "Gycom Svenska AB");
+        vendorModels.put(0x05ED, "Fuji Xerox Co.,Ltd");
+        vendorModels.put(0x05EE, "Glide Inc.");
+        vendorModels.put(0x05EF, "SIKOM AS");
+        vendorModels.put(0x05F0, "beken");
+        vendorModels.put(0x05F1, "The Linux Foundation");
+        vendorModels.put(0x05F2, "Try and E CO.);LTD.");
+        vendorModels.put(0x05F3, "SeeScan");
+        vendorModels.put(0x05F4, "Clearity,LLC");
+        vendorModels.put(0x05F5, "GS TAG");
+        vendorModels.put(0x05F6, "DPTechnics");
+        vendorModels.put(0x05F7, "TRACMO, Inc.");
+        vendorModels.put(0x05F8, "Anki Inc.");
+        vendorModels.put(0x05F9, "Hagleitner Hygiene International GmbH");
+        vendorModels.put(0x05FA, "Konami Sports Life Co.,Ltd.");
+        vendorModels.put(0x05FB, "Arblet Inc.");
+        vendorModels.put(0x05FC, "Masbando GmbH");
+        vendorModels.put(0x05FD, "Innoseis");
+        vendorModels.put(0x05FE, "Niko");
+        vendorModels.put(0x05FF, "Wellnomics Ltd");
+        vendorModels.put(0x0600, "iRobot Corporation");
+        vendorModels.put(0x0601, "Schrader Electronics");
+        vendorModels.put(0x0602, "Geberit International AG");
+        vendorModels.put(0x0603, "Fourth Evolution Inc");
+        vendorModels.put(0x0604, "Cell2Jack LLC");
+        vendorModels.put(0x0605, "FMW electronic Futterer u. Maier-Wolf OHG");
+        vendorModels.put(0x0606, "John Deere");
+        vendorModels.put(0x0607, "Rookery Technology Ltd");
+        vendorModels.put(0x0608, "KeySafe-Cloud");
+        vendorModels.put(0x0609, "Bchi Labortechnik AG");
+        vendorModels.put(0x060A, "IQAir AG");
+        vendorModels.put(0x060B, "Triax Technologies Inc");
+        vendorModels.put(0x060C, "Vuzix Corporation");
+        vendorModels.put(0x060D, "TDK Corporation");
+        vendorModels.put(0x060E, "Blueair AB");
+        vendorModels.put(0x060F, "Philips Lighting B.V.");
+        vendorModels.put(0x0610, "ADH GUARDIAN USA LLC");
+        vendorModels.put(0x0611, "Beurer GmbH");
+        vendorModels.put(0x0612, "Playfinity AS");
+        vendorModels.put(0x0613, "Hans Dinslage GmbH");
+        vendorModels.put(0x0614, "OnAsset Intelligence, Inc.");
+        vendorModels.put(0x0615, "INTER ACTION Corporation");
+        vendorModels.put(0x0616, "OS42 UG (haftungsbeschraenkt);");
+        vendorModels.put(0x0617, "WIZCONNECTED COMPANY LIMITED");
+        vendorModels.put(0x0618, "Audio-Technica Corporation");
+    }
+
+    /**
+     * Returns the company name for the given company identifier
+     *
+     * @param companyIdentifier 16-bit company identifier
+     * @return company name;
+     */
+    public static String getCompanyName(final short companyIdentifier) {
+        return vendorModels.get((int) companyIdentifier);
+    }
+}
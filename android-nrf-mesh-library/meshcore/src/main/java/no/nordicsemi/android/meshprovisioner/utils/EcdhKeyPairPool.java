@@ -0,0 +1,232 @@
+package no.nordicsemi.android.meshprovisioner.utils;
+
+import org.spongycastle.jce.ECNamedCurveTable;
+import org.spongycastle.jce.interfaces.ECPublicKey;
+import org.spongycastle.jce.spec.ECNamedCurveParameterSpec;
+import org.spongycastle.jce.spec.ECPublicKeySpec;
+import org.spongycastle.math.ec.ECPoint;
+import org.spongycastle.util.BigIntegers;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.Security;
+import java.util.ArrayDeque;
+
+import javax.crypto.KeyAgreement;
+
+import no.nordicsemi.android.meshprovisioner.platform.MeshLog;
+
+/**
+ * Pool of ephemeral P-256 key pairs used by the provisioner during provisioning.
+ * <p>
+ * Generating a key pair is the most expensive step of provisioning. The pool keeps a few key pairs ready, generated on a
+ * low priority background thread, so the public key of the provisioner can be sent as soon as the device asks for it.
+ * Every key pair is handed out once. The curve parameters are looked up once and the key factory and key agreement are
+ * kept per thread, so calculating the ECDH secret does not look up any provider either.
+ * </p>
+ */
+public final class EcdhKeyPairPool {
+
+    /**
+     * Number of key pairs kept ready by default
+     */
+    public static final int DEFAULT_POOL_SIZE = 2;
+
+    private static final String TAG = EcdhKeyPairPool.class.getSimpleName();
+    private static final String CURVE = "secp256r1";
+    private static final String ALGORITHM = "ECDH";
+    private static final String PROVIDER = "SC";
+    private static final int COORDINATE_LENGTH = 32;
+    private static EcdhKeyPairPool mInstance;
+
+    static {
+        if (Security.getProvider(PROVIDER) == null) {
+            Security.insertProviderAt(new org.spongycastle.jce.provider.BouncyCastleProvider(), 1);
+        }
+    }
+
+    private final ECNamedCurveParameterSpec mParameterSpec = ECNamedCurveTable.getParameterSpec(CURVE);
+    private final ThreadLocal<KeyFactory> mKeyFactory = new ThreadLocal<>();
+    private final ThreadLocal<KeyAgreement> mKeyAgreement = new ThreadLocal<>();
+    private final ArrayDeque<KeyPair> mKeyPairs = new ArrayDeque<>();
+    private final int mPoolSize;
+    private KeyPairGenerator mKeyPairGenerator;
+    private boolean mEnabled = true;
+    private boolean mRefilling;
+    private int mHitCount;
+    private int mMissCount;
+
+    public EcdhKeyPairPool(final int poolSize) {
+        if (poolSize <= 0)
+            throw new IllegalArgumentException("Pool size must be greater than 0");
+        mPoolSize = poolSize;
+    }
+
+    public static synchronized EcdhKeyPairPool getInstance() {
+        if (mInstance == null) {
+            mInstance = new EcdhKeyPairPool(DEFAULT_POOL_SIZE);
+        }
+        return mInstance;
+    }
+
+    /**
+     * Enables or disables the pool. A disabled pool drops the key pairs it holds and generates every key pair when it is taken.
+     *
+     * @param enabled true to keep key pairs ready
+     */
+    public void setEnabled(final boolean enabled) {
+        synchronized (mKeyPairs) {
+            mEnabled = enabled;
+            if (!enabled) {
+                mKeyPairs.clear();
+            }
+        }
+    }
+
+    /**
+     * Starts generating key pairs in the background until the pool is full
+     */
+    public void prefill() {
+        synchronized (mKeyPairs) {
+            if (!mEnabled || mRefilling || mKeyPairs.size() >= mPoolSize)
+                return;
+            mRefilling = true;
+        }
+        final Thread thread = new Thread(this::refill, "EcdhKeyPairPool");
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void refill() {
+        try {
+            while (true) {
+                synchronized (mKeyPairs) {
+                    if (!mEnabled || mKeyPairs.size() >= mPoolSize) {
+                        return;
+                    }
+                }
+                final KeyPair keyPair = generateKeyPair();
+                synchronized (mKeyPairs) {
+                    if (mEnabled && mKeyPairs.size() < mPoolSize) {
+                        mKeyPairs.add(keyPair);
+                    }
+                }
+            }
+        } catch (GeneralSecurityException ex) {
+            MeshLog.e(TAG, "Unable to generate key pair: " + ex.getMessage());
+        } finally {
+            synchronized (mKeyPairs) {
+                mRefilling = false;
+            }
+        }
+    }
+
+    /**
+     * Takes a key pair from the pool, generating one if the pool is empty or disabled
+     *
+     * @return a key pair that has not been handed out before
+     */
+    public KeyPair take() throws GeneralSecurityException {
+        KeyPair keyPair;
+        synchronized (mKeyPairs) {
+            keyPair = mKeyPairs.poll();
+            if (keyPair != null) {
+                mHitCount++;
+            } else {
+                mMissCount++;
+            }
+        }
+        if (keyPair == null) {
+            keyPair = generateKeyPair();
+        }
+        prefill();
+        return keyPair;
+    }
+
+    private KeyPair generateKeyPair() throws GeneralSecurityException {
+        synchronized (mParameterSpec) {
+            if (mKeyPairGenerator == null) {
+                mKeyPairGenerator = KeyPairGenerator.getInstance(ALGORITHM, PROVIDER);
+                mKeyPairGenerator.initialize(mParameterSpec);
+            }
+            return mKeyPairGenerator.generateKeyPair();
+        }
+    }
+
+    /**
+     * Returns the 64-byte public key of a key pair, the big endian X and Y coordinates
+     *
+     * @param keyPair key pair taken from the pool
+     */
+    public static byte[] getPublicKeyXY(final KeyPair keyPair) {
+        final ECPoint point = ((ECPublicKey) keyPair.getPublic()).getQ();
+        final byte[] xy = new byte[2 * COORDINATE_LENGTH];
+        final byte[] x = BigIntegers.asUnsignedByteArray(COORDINATE_LENGTH, point.getXCoord().toBigInteger());
+        final byte[] y = BigIntegers.asUnsignedByteArray(COORDINATE_LENGTH, point.getYCoord().toBigInteger());
+        System.arraycopy(x, 0, xy, 0, COORDINATE_LENGTH);
+        System.arraycopy(y, 0, xy, COORDINATE_LENGTH, COORDINATE_LENGTH);
+        return xy;
+    }
+
+    /**
+     * Calculates the ECDH secret shared with a device
+     *
+     * @param privateKey private key of the provisioner
+     * @param publicKeyXY 64-byte public key of the device
+     * @return the shared secret
+     * @throws IllegalArgumentException if the public key is not a point on the curve
+     */
+    public byte[] generateSharedSecret(final PrivateKey privateKey, final byte[] publicKeyXY) throws GeneralSecurityException {
+        final BigInteger x = BigIntegers.fromUnsignedByteArray(publicKeyXY, 0, COORDINATE_LENGTH);
+        final BigInteger y = BigIntegers.fromUnsignedByteArray(publicKeyXY, COORDINATE_LENGTH, COORDINATE_LENGTH);
+        final ECPoint ecPoint = mParameterSpec.getCurve().validatePoint(x, y);
+
+        KeyFactory keyFactory = mKeyFactory.get();
+        if (keyFactory == null) {
+            keyFactory = KeyFactory.getInstance(ALGORITHM, PROVIDER);
+            mKeyFactory.set(keyFactory);
+        }
+        KeyAgreement keyAgreement = mKeyAgreement.get();
+        if (keyAgreement == null) {
+            keyAgreement = KeyAgreement.getInstance(ALGORITHM, PROVIDER);
+            mKeyAgreement.set(keyAgreement);
+        }
+
+        final ECPublicKey publicKey = (ECPublicKey) keyFactory.generatePublic(new ECPublicKeySpec(ecPoint, mParameterSpec));
+        keyAgreement.init(privateKey);
+        keyAgreement.doPhase(publicKey, true);
+        return keyAgreement.generateSecret();
+    }
+
+    /**
+     * Returns the number of key pairs ready to be taken
+     */
+    public int getAvailableCount() {
+        synchronized (mKeyPairs) {
+            return mKeyPairs.size();
+        }
+    }
+
+    /**
+     * Returns the number of key pairs taken from the pool
+     */
+    public int getHitCount() {
+        synchronized (mKeyPairs) {
+            return mHitCount;
+        }
+    }
+
+    /**
+     * Returns the number of key pairs generated when taken because the pool was empty or disabled
+     */
+    public int getMissCount() {
+        synchronized (mKeyPairs) {
+            return mMissCount;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package no.nordicsemi.android.meshprovisioner.utils;
+
+/**
+ * Conversions between byte arrays and hexadecimal strings
+ */
+public final class HexUtils {
+
+    private static final char[] HEX_ARRAY = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
+
+    private HexUtils() {
+    }
+
+    public static String bytesToHex(final byte[] bytes, final boolean add0x) {
+        if (bytes == null)
+            return "";
+        return bytesToHex(bytes, 0, bytes.length, add0x);
+    }
+
+    public static String bytesToHex(final byte[] bytes, final int start, final int length, final boolean add0x) {
+        if (bytes == null || bytes.length <= start || length <= 0)
+            return "";
+
+        final int maxLength = Math.min(length, bytes.length - start);
+        final char[] hexChars = new char[maxLength * 2];
+        for (int j = 0; j < maxLength; j++) {
+            final int v = bytes[start + j] & 0xFF;
+            hexChars[j * 2] = HEX_ARRAY[v >>> 4];
+            hexChars[j * 2 + 1] = HEX_ARRAY[v & 0x0F];
+        }
+        if (!add0x)
+            return new String(hexChars);
+        return "0x" + new String(hexChars);
+    }
+
+    public static byte[] toByteArray(final String hexString) {
+        final int len = hexString.length();
+        final byte[] bytes = new byte[len / 2];
+        for (int i = 0; i < len; i += 2) {
+            bytes[i / 2] = (byte) ((Character.digit(hexString.charAt(i), 16) << 4)
+                    + Character.digit(hexString.charAt(i + 1), 16));
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,146 @@
+package no.nordicsemi.android.meshprovisioner.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of durations in nanoseconds with power of two buckets.
+ * <p>
+ * Bucket i counts the durations below 2^i nanoseconds that do not fit in bucket i - 1, so recording a duration costs a
+ * leading zero count and a few atomic increments. The histogram does not lock and may be recorded from any thread.
+ * Percentiles are reported as the upper bound of the bucket they fall in.
+ * </p>
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Number of buckets, the last bucket holds every duration of 2^38 nanoseconds (about 4.5 minutes) or more
+     */
+    public static final int BUCKET_COUNT = 40;
+
+    private final AtomicLongArray mBuckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong mCount = new AtomicLong();
+    private final AtomicLong mTotalNanos = new AtomicLong();
+    private final AtomicLong mMaxNanos = new AtomicLong();
+
+    /**
+     * Records a duration
+     *
+     * @param nanos duration in nanoseconds, negative durations are recorded as 0
+     */
+    public void record(final long nanos) {
+        final long value = Math.max(0, nanos);
+        mBuckets.incrementAndGet(getBucket(value));
+        mCount.incrementAndGet();
+        mTotalNanos.addAndGet(value);
+        long max;
+        while (value > (max = mMaxNanos.get())) {
+            if (mMaxNanos.compareAndSet(max, value))
+                break;
+        }
+    }
+
+    /**
+     * Returns the number of recorded durations
+     */
+    public long getCount() {
+        return mCount.get();
+    }
+
+    /**
+     * Returns the sum of the recorded durations in nanoseconds
+     */
+    public long getTotalNanos() {
+        return mTotalNanos.get();
+    }
+
+    /**
+     * Returns the longest recorded duration in nanoseconds
+     */
+    public long getMaxNanos() {
+        return mMaxNanos.get();
+    }
+
+    /**
+     * Returns the mean of the recorded durations in nanoseconds
+     */
+    public long getMeanNanos() {
+        final long count = mCount.get();
+        return count == 0 ? 0 : mTotalNanos.get() / count;
+    }
+
+    /**
+     * Returns the number of durations recorded in a bucket
+     *
+     * @param bucket bucket index
+     */
+    public long getBucketCount(final int bucket) {
+        return mBuckets.get(bucket);
+    }
+
+    /**
+     * Returns an upper bound of the duration below which the given fraction of the recorded durations fall
+     *
+     * @param percentile percentile between 0 and 100
+     * @return duration in nanoseconds or 0 if nothing has been recorded
+     */
+    public long getPercentileNanos(final double percentile) {
+        if (percentile < 0 || percentile > 100)
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+
+        long total = 0;
+        final long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = mBuckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0)
+            return 0;
+
+        final long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(getBucketUpperBound(i), mMaxNanos.get());
+            }
+        }
+        return mMaxNanos.get();
+    }
+
+    /**
+     * Clears the histogram
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            mBuckets.set(i, 0);
+        }
+        mCount.set(0);
+        mTotalNanos.set(0);
+        mMaxNanos.set(0);
+    }
+
+    /**
+     * Returns the bucket a duration is counted in
+     *
+     * @param nanos duration in nanoseconds
+     */
+    public static int getBucket(final long nanos) {
+        return Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(nanos));
+    }
+
+    /**
+     * Returns the longest duration counted in a bucket
+     *
+     * @param bucket bucket index
+     */
+    public static long getBucketUpperBound(final int bucket) {
+        return bucket == BUCKET_COUNT - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return "count=" + getCount() + " mean=" + getMeanNanos() / 1000 + "us p50=" + getPercentileNanos(50) / 1000
+                + "us p99=" + getPercentileNanos(99) / 1000 + "us max=" + getMaxNanos() / 1000 + "us";
+    }
+}
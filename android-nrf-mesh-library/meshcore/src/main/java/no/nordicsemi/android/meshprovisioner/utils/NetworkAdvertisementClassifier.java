@@ -0,0 +1,139 @@
+package no.nordicsemi.android.meshprovisioner.utils;
+
+import java.util.Arrays;
+
+/**
+ * Classifies the service data of mesh advertisements.
+ * <p>
+ * The Network IDs of the known networks are held as 64-bit values, so classifying an advertisement reads the service data
+ * once and neither allocates nor performs any cryptographic operation. The set of Network IDs is replaced on every change
+ * so that advertisements can be classified on the scanner thread without locking.
+ * </p>
+ */
+public final class NetworkAdvertisementClassifier {
+
+    /**
+     * The service data is not a known mesh advertisement
+     */
+    public static final int ADVERTISEMENT_UNKNOWN = 0;
+    /**
+     * A proxy node is advertising the Network ID of a known network
+     */
+    public static final int ADVERTISEMENT_NETWORK_ID = 1;
+    /**
+     * A proxy node is advertising the Network ID of a network that is not known
+     */
+    public static final int ADVERTISEMENT_FOREIGN_NETWORK_ID = 2;
+    /**
+     * A proxy node is advertising with Node Identity
+     */
+    public static final int ADVERTISEMENT_NODE_IDENTITY = 3;
+    /**
+     * An unprovisioned device is advertising its device UUID and OOB information
+     */
+    public static final int ADVERTISEMENT_UNPROVISIONED_DEVICE = 4;
+
+    private static final long[] EMPTY = new long[0];
+    private static final int ADVERTISEMENT_TYPE_NETWORK_ID = 0x00;
+    private static final int ADVERTISEMENT_TYPE_NODE_IDENTITY = 0x01;
+    //advertisement type and 64-bit network id
+    private static final int NETWORK_ID_LENGTH = 1 + 8;
+    //advertisement type, 64-bit hash and 64-bit random
+    private static final int NODE_IDENTITY_LENGTH = 1 + 8 + 8;
+    //128-bit device uuid and 16-bit oob information
+    private static final int UNPROVISIONED_DEVICE_LENGTH = 16 + 2;
+
+    private final NetworkKeyRegistry mRegistry;
+    private volatile long[] mNetworkIds = EMPTY;
+
+    public NetworkAdvertisementClassifier(final NetworkKeyRegistry registry) {
+        mRegistry = registry;
+    }
+
+    /**
+     * Adds the Network ID of a network key to the known networks
+     *
+     * @param networkKey 128-bit network key
+     */
+    public void addNetworkKey(final byte[] networkKey) {
+        addNetworkId(mRegistry.getKeyMaterial(networkKey).getNetworkIdValue());
+    }
+
+    /**
+     * Adds a Network ID to the known networks
+     *
+     * @param networkId 64-bit network id
+     */
+    public synchronized void addNetworkId(final long networkId) {
+        final long[] networkIds = mNetworkIds;
+        for (long id : networkIds) {
+            if (id == networkId)
+                return;
+        }
+        final long[] newNetworkIds = Arrays.copyOf(networkIds, networkIds.length + 1);
+        newNetworkIds[networkIds.length] = networkId;
+        mNetworkIds = newNetworkIds;
+    }
+
+    /**
+     * Removes all known networks
+     */
+    public synchronized void clear() {
+        mNetworkIds = EMPTY;
+    }
+
+    /**
+     * Returns the number of known networks
+     */
+    public int getNetworkCount() {
+        return mNetworkIds.length;
+    }
+
+    /**
+     * Classifies the service data of an advertisement
+     *
+     * @param serviceData service data of the mesh proxy or the mesh provisioning service
+     * @return one of the ADVERTISEMENT_ constants
+     */
+    public int classify(final byte[] serviceData) {
+        if (serviceData == null)
+            return ADVERTISEMENT_UNKNOWN;
+
+        switch (serviceData.length) {
+            case NETWORK_ID_LENGTH:
+                if (serviceData[0] != ADVERTISEMENT_TYPE_NETWORK_ID)
+                    return ADVERTISEMENT_UNKNOWN;
+                final long networkId = getLong(serviceData, 1);
+                for (long id : mNetworkIds) {
+                    if (id == networkId)
+                        return ADVERTISEMENT_NETWORK_ID;
+                }
+                return ADVERTISEMENT_FOREIGN_NETWORK_ID;
+            case NODE_IDENTITY_LENGTH:
+                return serviceData[0] == ADVERTISEMENT_TYPE_NODE_IDENTITY ? ADVERTISEMENT_NODE_IDENTITY : ADVERTISEMENT_UNKNOWN;
+            case UNPROVISIONED_DEVICE_LENGTH:
+                return ADVERTISEMENT_UNPROVISIONED_DEVICE;
+            default:
+                return ADVERTISEMENT_UNKNOWN;
+        }
+    }
+
+    /**
+     * Returns true if the service data contains the given Network ID
+     *
+     * @param networkId   64-bit network id
+     * @param serviceData service data of the mesh proxy service
+     */
+    public static boolean networkIdMatches(final long networkId, final byte[] serviceData) {
+        return serviceData != null && serviceData.length == NETWORK_ID_LENGTH && serviceData[0] == ADVERTISEMENT_TYPE_NETWORK_ID
+                && getLong(serviceData, 1) == networkId;
+    }
+
+    private static long getLong(final byte[] data, final int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (data[offset + i] & 0xFF);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,131 @@
+package no.nordicsemi.android.meshprovisioner.utils;
+
+/**
+ * Key material derived from a network key.
+ * <p>
+ * NID, encryption key, privacy key, network id, identity key and beacon key are derived once when the material is created,
+ * use {@link NetworkKeyRegistry} to obtain the material of a network key rather than creating it directly.
+ * </p>
+ */
+public final class NetworkKeyMaterial {
+
+    private final byte[] mNetworkKey;
+    private final SecureUtils.K2Output mK2Output;
+    private final int mNid;
+    private final byte[] mNetworkId;
+    private final long mNetworkIdValue;
+    private final byte[] mIdentityKey;
+    private final byte[] mBeaconKey;
+
+    private NetworkKeyMaterial(final byte[] networkKey, final SecureUtils.K2Output k2Output,
+                               final byte[] networkId, final byte[] identityKey, final byte[] beaconKey) {
+        mNetworkKey = networkKey;
+        mK2Output = k2Output;
+        mNid = k2Output.getNid() & 0x7F;
+        mNetworkId = networkId;
+        mNetworkIdValue = toLong(networkId);
+        mIdentityKey = identityKey;
+        mBeaconKey = beaconKey;
+    }
+
+    /**
+     * Derives the key material of a network key
+     *
+     * @param networkKey 128-bit network key
+     * @return key material
+     */
+    static NetworkKeyMaterial create(final byte[] networkKey) {
+        final byte[] key = networkKey.clone();
+        final SecureUtils.K2Output k2Output = SecureUtils.calculateK2(key, SecureUtils.K2_MASTER_INPUT);
+        final NetworkKeyMaterial material = new NetworkKeyMaterial(key, k2Output, SecureUtils.calculateK3(key),
+                SecureUtils.calculateIdentityKey(key), SecureUtils.calculateBeaconKey(key));
+        material.loadCipherContexts();
+        return material;
+    }
+
+    private void loadCipherContexts() {
+        getEncryptionCipherContext();
+        getPrivacyCipherContext();
+    }
+
+    private static long toLong(final byte[] value) {
+        long result = 0;
+        for (byte b : value) {
+            result = (result << 8) | (b & 0xFF);
+        }
+        return result;
+    }
+
+    public byte[] getNetworkKey() {
+        return mNetworkKey;
+    }
+
+    public SecureUtils.K2Output getK2Output() {
+        return mK2Output;
+    }
+
+    /**
+     * Returns the 7-bit network identifier
+     */
+    public int getNid() {
+        return mNid;
+    }
+
+    public byte[] getEncryptionKey() {
+        return mK2Output.getEncryptionKey();
+    }
+
+    public byte[] getPrivacyKey() {
+        return mK2Output.getPrivacyKey();
+    }
+
+    /**
+     * Returns the 64-bit network id used when advertising with network identity
+     */
+    public byte[] getNetworkId() {
+        return mNetworkId;
+    }
+
+    /**
+     * Returns the 64-bit network id as a long
+     */
+    public long getNetworkIdValue() {
+        return mNetworkIdValue;
+    }
+
+    public byte[] getIdentityKey() {
+        return mIdentityKey;
+    }
+
+    public byte[] getBeaconKey() {
+        return mBeaconKey;
+    }
+
+    /**
+     * Returns the cipher context of the encryption key for the calling thread
+     */
+    public CipherContext getEncryptionCipherContext() {
+        return CipherContextCache.get(mK2Output.getEncryptionKey());
+    }
+
+    /**
+     * Returns the cipher context of the privacy key for the calling thread
+     */
+    public CipherContext getPrivacyCipherContext() {
+        return CipherContextCache.get(mK2Output.getPrivacyKey());
+    }
+
+    /**
+     * Returns the cipher context of the identity key for the calling thread
+     */
+    public CipherContext getIdentityCipherContext() {
+        return CipherContextCache.get(mIdentityKey);
+    }
+
+    /**
+     * Returns the cipher context of the beacon key for the calling thread
+     */
+    public CipherContext getBeaconCipherContext() {
+        return CipherContextCache.get(mBeaconKey);
+    }
+}
@@ -0,0 +1,152 @@
+package no.nordicsemi.android.meshprovisioner.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry holding the {@link NetworkKeyMaterial} of every network key in use.
+ * <p>
+ * The material is derived the first time a network key is looked up and is shared by the send and receive paths.
+ * As the material only depends on the key, a node moving to a new key during a key refresh simply looks up the new key,
+ * while the old key stays registered until it is removed. The material is also indexed by the 7-bit NID so that incoming
+ * network pdus can be matched to a network without any cryptographic operation.
+ * </p>
+ */
+public final class NetworkKeyRegistry {
+
+    private static final NetworkKeyRegistry INSTANCE = new NetworkKeyRegistry();
+    private static final NetworkKeyMaterial[] EMPTY = new NetworkKeyMaterial[0];
+    private static final int NID_COUNT = 128;
+
+    private final ConcurrentHashMap<KeyHolder, NetworkKeyMaterial> mKeyMaterials = new ConcurrentHashMap<>();
+    private volatile NetworkKeyMaterial[][] mNidIndex = createNidIndex();
+
+    private NetworkKeyRegistry() {
+    }
+
+    public static NetworkKeyRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the key material of a network key, deriving it if the key has not been used before
+     *
+     * @param networkKey 128-bit network key
+     * @return key material
+     */
+    public NetworkKeyMaterial getKeyMaterial(final byte[] networkKey) {
+        if (networkKey == null)
+            throw new IllegalArgumentException("Network key cannot be null");
+
+        final KeyHolder holder = new KeyHolder(networkKey);
+        final NetworkKeyMaterial material = mKeyMaterials.get(holder);
+        if (material != null) {
+            return material;
+        }
+        final NetworkKeyMaterial newMaterial = NetworkKeyMaterial.create(networkKey);
+        final NetworkKeyMaterial existing = mKeyMaterials.putIfAbsent(new KeyHolder(networkKey.clone()), newMaterial);
+        if (existing != null) {
+            return existing;
+        }
+        updateNidIndex();
+        return newMaterial;
+    }
+
+    /**
+     * Removes the key material of a network key
+     *
+     * @param networkKey 128-bit network key
+     */
+    public void remove(final byte[] networkKey) {
+        if (mKeyMaterials.remove(new KeyHolder(networkKey)) != null) {
+            updateNidIndex();
+        }
+    }
+
+    /**
+     * Returns the key material of all known network keys
+     */
+    public List<NetworkKeyMaterial> getKeyMaterials() {
+        return new ArrayList<>(mKeyMaterials.values());
+    }
+
+    /**
+     * Returns the key material of the networks using the given NID.
+     * <p>
+     * The returned array is shared and must not be modified.
+     * </p>
+     *
+     * @param nid 7-bit network identifier
+     * @return key material matching the NID, empty if the NID is unknown
+     */
+    public NetworkKeyMaterial[] getKeyMaterials(final int nid) {
+        return mNidIndex[nid & 0x7F];
+    }
+
+    /**
+     * Returns true if any known network uses the given NID
+     *
+     * @param nid 7-bit network identifier
+     */
+    public boolean isKnownNid(final int nid) {
+        return mNidIndex[nid & 0x7F].length != 0;
+    }
+
+    /**
+     * Removes all key material
+     */
+    public void clear() {
+        mKeyMaterials.clear();
+        updateNidIndex();
+    }
+
+    private static NetworkKeyMaterial[][] createNidIndex() {
+        final NetworkKeyMaterial[][] index = new NetworkKeyMaterial[NID_COUNT][];
+        Arrays.fill(index, EMPTY);
+        return index;
+    }
+
+    /**
+     * Rebuilds the NID index, this only happens when a key is added or removed
+     */
+    private synchronized void updateNidIndex() {
+        final List<List<NetworkKeyMaterial>> materials = new ArrayList<>(NID_COUNT);
+        for (int i = 0; i < NID_COUNT; i++) {
+            materials.add(new ArrayList<NetworkKeyMaterial>());
+        }
+        for (NetworkKeyMaterial material : mKeyMaterials.values()) {
+            materials.get(material.getNid()).add(material);
+        }
+
+        final NetworkKeyMaterial[][] index = createNidIndex();
+        for (int i = 0; i < NID_COUNT; i++) {
+            final List<NetworkKeyMaterial> list = materials.get(i);
+            if (!list.isEmpty()) {
+                index[i] = list.toArray(new NetworkKeyMaterial[list.size()]);
+            }
+        }
+        mNidIndex = index;
+    }
+
+    private static final class KeyHolder {
+        private final byte[] key;
+        private final int hash;
+
+        KeyHolder(final byte[] key) {
+            this.key = key;
+            this.hash = Arrays.hashCode(key);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return o instanceof KeyHolder && Arrays.equals(key, ((KeyHolder) o).key);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package no.nordicsemi.android.meshprovisioner.utils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+
+/**
+ * Reads and writes the sequence numbers, addresses and opcodes of mesh pdus
+ */
+public final class PduUtils {
+
+    private PduUtils() {
+    }
+
+    public static boolean isValidSequenceNumber(final Integer sequenceNumber) {
+
+        boolean flag = sequenceNumber != null && sequenceNumber == (sequenceNumber & 0xFFFFFF);
+
+        if (sequenceNumber == 0xFFFFFF) {
+            flag = false;
+        }
+        return flag;
+    }
+
+    public static byte[] getSequenceNumberBytes(int sequenceNumber) {
+        if (isValidSequenceNumber(sequenceNumber)) {
+            return new byte[]{(byte) ((sequenceNumber >> 16) & 0xFF), (byte) ((sequenceNumber >> 8) & 0xFF), (byte) (sequenceNumber & 0xFF)};
+        }
+        return null;
+    }
+
+    public static int getSequenceNumber(final byte[] sequenceNumber) {
+        return (((sequenceNumber[0] & 0xFF) << 16) | ((sequenceNumber[1] & 0xFF) << 8) | (sequenceNumber[2] & 0xFF));
+    }
+
+    public static int getSequenceNumberFromPDU(final byte[] pdu) {
+        return (((pdu[3] & 0xFF) << 16) | ((pdu[4] & 0xFF) << 8) | (pdu[5] & 0xFF)); // get sequence number array from pdu
+    }
+
+    public static int calculateSeqZero(final byte[] sequenceNumber) {
+        return ((sequenceNumber[1] & 0x1F) << 8) | (sequenceNumber[2] & 0xFF); // 13 least significant bits
+    }
+
+    public static byte[] getSrcAddress(final byte[] pdu) {
+        return ByteBuffer.allocate(2).put(pdu, 6, 2).array(); // get dst address from pdu
+    }
+
+    public static byte[] getDstAddress(final byte[] pdu) {
+        return ByteBuffer.allocate(2).put(pdu, 8, 2).array(); // get dst address from pdu
+    }
+
+    private static int getSegmentedMessageLength(final HashMap<Integer, byte[]> segmentedMessageMap) {
+        int length = 0;
+        for (int i = 0; i < segmentedMessageMap.size(); i++) {
+            length += segmentedMessageMap.get(i).length;
+        }
+        return length;
+    }
+
+    public static byte[] concatenateSegmentedMessages(final HashMap<Integer, byte[]> segmentedMessages) {
+        final int length = getSegmentedMessageLength(segmentedMessages);
+        final ByteBuffer completeBuffer = ByteBuffer.allocate(length);
+        completeBuffer.order(ByteOrder.BIG_ENDIAN);
+        for (int i = 0; i < segmentedMessages.size(); i++) {
+            completeBuffer.put(segmentedMessages.get(i));
+        }
+        return completeBuffer.array();
+    }
+
+    /**
+     * Returns the opcode within the access payload
+     *
+     * @param accessPayload payload
+     * @param opcodeCount   number of opcodes
+     * @return array of opcodes
+     */
+    public static int getOpCode(final byte[] accessPayload, final int opcodeCount) {
+        switch (opcodeCount) {
+            case 1:
+                return accessPayload[0];
+            case 2:
+                return ((short) (((accessPayload[0] << 8)) | (byte) ((accessPayload[1]) & 0xFF)));
+            case 3:
+                return ((byte) (accessPayload[0] & 0xFF) | (byte) ((accessPayload[1] << 8) & 0xFF) | (byte) ((accessPayload[2] << 16) & 0xFF));
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the length of the opcode.
+     * If the MSB = 0 then the length is 1
+     * If the MSB = 1 then the length is 2
+     * If the MSB = 2 then the length is 3
+     *
+     * @param opCode operation code
+     * @return length of opcodes
+     */
+    public static byte[] getOpCodes(final int opCode) {
+        if ((opCode & 0xC00000) == 0xC00000) {
+            return new byte[]{(byte) ((opCode >> 16) & 0xFF), (byte) ((opCode >> 8) & 0xFF), (byte) (opCode & 0xFF)};
+        } else if ((opCode & 0xFF8000) == 0x8000) {
+            return new byte[]{(byte) ((opCode >> 8) & 0xFF), (byte) (opCode & 0xFF)};
+        } else {
+            return new byte[]{(byte) opCode};
+        }
+    }
+
+    /**
+     * Returns the length of the opcode.
+     * If the MSB = 0 then the length is 1
+     * If the MSB = 1 then the length is 2
+     * If the MSB = 2 then the length is 3
+     *
+     * @param opCode operation code
+     * @return length of opcodes
+     */
+    public static byte[] getOpCodes(final int opCode, final int companyIdentifier) {
+        if (companyIdentifier != 0xFFFF) {
+            return new byte[]{(byte) ((0b11 << 6) | opCode), (byte) (companyIdentifier & 0x00FF), (byte) ((companyIdentifier >> 8) & 0x00FF)};
+        }
+        return null;
+    }
+}
@@ -1,24 +1,13 @@
 package no.nordicsemi.android.meshprovisioner.utils;
 
-import android.os.Parcel;
-import android.os.Parcelable;
-
-import org.spongycastle.crypto.BlockCipher;
-import org.spongycastle.crypto.CipherParameters;
-import org.spongycastle.crypto.InvalidCipherTextException;
-import org.spongycastle.crypto.engines.AESEngine;
-import org.spongycastle.crypto.engines.AESLightEngine;
-import org.spongycastle.crypto.macs.CMac;
-import org.spongycastle.crypto.modes.CCMBlockCipher;
-import org.spongycastle.crypto.params.AEADParameters;
-import org.spongycastle.crypto.params.KeyParameter;
-
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.security.SecureRandom;
 import java.security.Security;
 
+import no.nordicsemi.android.meshprovisioner.platform.MeshLog;
+
 public class SecureUtils {
 
     /**
@@ -79,6 +68,11 @@ public class SecureUtils {
      */
     private static final byte[] NKIK = "nkik".getBytes(Charset.forName("US-ASCII"));
 
+    /**
+     * Salt input for beacon key
+     */
+    private static final byte[] NKBK = "nkbk".getBytes(Charset.forName("US-ASCII"));
+
     /**
      * Salt input for identity key
      */
@@ -127,11 +121,11 @@ public class SecureUtils {
 
     public static final String generateRandomNetworkKey() {
         final byte[] networkKey = generateRandomNumber();
-        return MeshParserUtils.bytesToHex(networkKey, false);
+        return HexUtils.bytesToHex(networkKey, false);
     }
 
     public static final String generateRandomApplicationKey() {
-        return MeshParserUtils.bytesToHex(generateRandomNumber(), false);
+        return HexUtils.bytesToHex(generateRandomNumber(), false);
     }
 
 
@@ -141,80 +135,60 @@ public class SecureUtils {
 
     public static final byte[] calculateCMAC(final byte[] data, final byte[] key) {
         final byte[] cmac = new byte[16];
-
-        CipherParameters cipherParameters = new KeyParameter(key);
-        BlockCipher blockCipher = new AESEngine();
-        CMac mac = new CMac(blockCipher);
-
-        mac.init(cipherParameters);
-        mac.update(data, 0, data.length);
-        mac.doFinal(cmac, 0);
+        CipherContextCache.get(key).calculateCMAC(data, 0, data.length, cmac, 0);
         return cmac;
     }
 
     public static final byte[] calculateCMAC(final byte[] data, final byte[] key, final int offset) {
         final byte[] cmac = new byte[data.length];
+        CipherContextCache.get(key).calculateCMAC(data, offset, data.length, cmac, 0);
+        return cmac;
+    }
 
-        CipherParameters cipherParameters = new KeyParameter(key);
-        BlockCipher blockCipher = new AESEngine();
-        CMac mac = new CMac(blockCipher);
-
-        mac.init(cipherParameters);
-        mac.update(data, offset, data.length);
-        mac.doFinal(cmac, 0);
+    /**
+     * Calculates AES-CMAC over a range of the data
+     *
+     * @param data   input data
+     * @param offset offset of the range
+     * @param length length of the range
+     * @param key    128-bit key
+     * @return 16 byte mac
+     */
+    public static final byte[] calculateCMACOfRange(final byte[] data, final int offset, final int length, final byte[] key) {
+        final byte[] cmac = new byte[16];
+        CipherContextCache.get(key).calculateCMAC(data, offset, length, cmac, 0);
         return cmac;
     }
 
     public static final byte[] encryptCCM(final byte[] data, final byte[] key, final byte[] nonce) {
         final byte[] ccm = new byte[25 + 8];
-        final ByteBuffer buffer = ByteBuffer.allocate(ccm.length + 8);
-        CCMBlockCipher ccmBlockCipher = new CCMBlockCipher(new AESEngine());
-
-        AEADParameters aeadParameters = new AEADParameters(new KeyParameter(key), 64, nonce);
-        ccmBlockCipher.init(true, aeadParameters);
-        ccmBlockCipher.processBytes(data, 0, data.length, ccm, data.length);
-        try {
-            ccmBlockCipher.doFinal(ccm, 0);
-        } catch (InvalidCipherTextException e) {
-            e.printStackTrace();
-        }
+        CipherContextCache.get(key).encryptCCM(nonce, data, 0, data.length, ccm, 0, 8);
         return ccm;
     }
 
 
     public static final byte[] encryptCCM(final byte[] data, final byte[] key, final byte[] nonce, final int micSize) {
         final byte[] ccm = new byte[data.length + micSize];
-
-        CCMBlockCipher ccmBlockCipher = new CCMBlockCipher(new AESEngine());
-
-        AEADParameters aeadParameters = new AEADParameters(new KeyParameter(key), micSize * 8, nonce);
-        ccmBlockCipher.init(true, aeadParameters);
-        ccmBlockCipher.processBytes(data, 0, data.length, ccm, data.length);
-        try {
-            ccmBlockCipher.doFinal(ccm, 0);
-        } catch (InvalidCipherTextException e) {
-            e.printStackTrace();
-        }
+        CipherContextCache.get(key).encryptCCM(nonce, data, 0, data.length, ccm, 0, micSize);
         return ccm;
     }
 
-
+    /**
+     * Decrypts and authenticates data encrypted with {@link #encryptCCM(byte[], byte[], byte[], int)}
+     *
+     * @param data    encrypted data followed by the mic
+     * @param key     128-bit key
+     * @param nonce   13 byte nonce
+     * @param micSize size of the mic in bytes
+     * @return decrypted data or null if the mic check failed
+     */
     public static final byte[] decryptCCM(final byte[] data, final byte[] key, final byte[] nonce, final int micSize) {
-        final byte[] ccm = new byte[data.length];
-
-        CCMBlockCipher ccmBlockCipher = new CCMBlockCipher(new AESEngine());
-        AEADParameters aeadParameters = new AEADParameters(new KeyParameter(key), micSize * 8, nonce);
-        ccmBlockCipher.init(false, aeadParameters);
-        ccmBlockCipher.processBytes(data, 0, data.length, ccm, 0);
-        try {
-            ccmBlockCipher.doFinal(ccm, 0);
-        } catch (InvalidCipherTextException e) {
-            e.printStackTrace();
+        final byte[] ccm = new byte[data.length - micSize];
+        if (!CipherContextCache.get(key).decryptCCM(nonce, data, 0, data.length, ccm, 0, micSize)) {
+            MeshLog.e(TAG, "mac check in CCM failed");
+            return null;
         }
-        final int ccmLength = data.length - micSize;
-        final ByteBuffer ccmBuffer = ByteBuffer.allocate(ccmLength).order(ByteOrder.BIG_ENDIAN);
-        ccmBuffer.put(ccm, 0, ccmLength);
-        return ccmBuffer.array();
+        return ccm;
     }
 
     public static final byte[] calculateK1(final byte[] ecdh, final byte[] confirmationSalt, final byte[] text) {
@@ -321,6 +295,21 @@ public class SecureUtils {
         return calculateK1(n, salt, p);
     }
 
+    /**
+     * Calculates the beacon key
+     *
+     * @param n network key
+     * @return beacon key
+     */
+    public static final byte[] calculateBeaconKey(final byte[] n) {
+        final byte[] salt = calculateSalt(NKBK);
+        ByteBuffer buffer = ByteBuffer.allocate(ID128.length + 1);
+        buffer.put(ID128);
+        buffer.put((byte) 0x01);
+        final byte[] p = buffer.array();
+        return calculateK1(n, salt, p);
+    }
+
     /**
      * Calculates hash value for advertising with node id
      *
@@ -346,21 +335,13 @@ public class SecureUtils {
 
     public static final byte[] encryptWithAES(final byte[] data, final byte[] key) {
         final byte[] encrypted = new byte[data.length];
-        final CipherParameters cipherParameters = new KeyParameter(key);
-        final AESLightEngine engine = new AESLightEngine();
-        engine.init(true, cipherParameters);
-        engine.processBlock(data, 0, encrypted, 0);
-
+        CipherContextCache.get(key).encryptBlock(data, 0, encrypted, 0);
         return encrypted;
     }
 
     public static final byte[] decryptWithAES(final byte[] data, final byte[] key) {
         final byte[] decrypted = new byte[data.length];
-        final CipherParameters cipherParameters = new KeyParameter(key);
-        final AESLightEngine engine = new AESLightEngine();
-        engine.init(false, cipherParameters);
-        engine.processBlock(data, 0, decrypted, 0);
-
+        CipherContextCache.get(key).decryptBlock(data, 0, decrypted, 0);
         return decrypted;
     }
 
@@ -386,46 +367,17 @@ public class SecureUtils {
         }
     }
 
-    public static class K2Output implements Parcelable {
-        public static final Creator<K2Output> CREATOR = new Creator<K2Output>() {
-            @Override
-            public K2Output createFromParcel(Parcel in) {
-                return new K2Output(in);
-            }
-
-            @Override
-            public K2Output[] newArray(int size) {
-                return new K2Output[size];
-            }
-        };
-        private byte nid;
-        private byte[] encryptionKey;
-        private byte[] privacyKey;
-
-        private K2Output(final byte nid, final byte[] encryptionKey, final byte[] privacyKey) {
+    public static class K2Output {
+        private final byte nid;
+        private final byte[] encryptionKey;
+        private final byte[] privacyKey;
+
+        public K2Output(final byte nid, final byte[] encryptionKey, final byte[] privacyKey) {
             this.nid = nid;
             this.encryptionKey = encryptionKey;
             this.privacyKey = privacyKey;
         }
 
-        protected K2Output(Parcel in) {
-            nid = in.readByte();
-            encryptionKey = in.createByteArray();
-            privacyKey = in.createByteArray();
-        }
-
-        @Override
-        public void writeToParcel(Parcel dest, int flags) {
-            dest.writeByte(nid);
-            dest.writeByteArray(encryptionKey);
-            dest.writeByteArray(privacyKey);
-        }
-
-        @Override
-        public int describeContents() {
-            return 0;
-        }
-
         public byte getNid() {
             return nid;
         }
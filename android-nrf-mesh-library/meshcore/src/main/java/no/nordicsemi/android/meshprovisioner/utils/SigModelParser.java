@@ -1,9 +1,8 @@
 package no.nordicsemi.android.meshprovisioner.utils;
 
-import android.util.Log;
-
 import java.util.Locale;
 
+import no.nordicsemi.android.meshprovisioner.configuration.MeshModel;
 import no.nordicsemi.android.meshprovisioner.models.ConfigurationClientModel;
 import no.nordicsemi.android.meshprovisioner.models.ConfigurationServerModel;
 import no.nordicsemi.android.meshprovisioner.models.GenericAdminPropertyServer;
@@ -46,7 +45,6 @@ import no.nordicsemi.android.meshprovisioner.models.LightLightnessSetupServer;
 import no.nordicsemi.android.meshprovisioner.models.LightXylClient;
 import no.nordicsemi.android.meshprovisioner.models.LightXylServer;
 import no.nordicsemi.android.meshprovisioner.models.LightXylSetupServer;
-import no.nordicsemi.android.meshprovisioner.configuration.MeshModel;
 import no.nordicsemi.android.meshprovisioner.models.SceneClient;
 import no.nordicsemi.android.meshprovisioner.models.SceneServer;
 import no.nordicsemi.android.meshprovisioner.models.SceneSetupServer;
@@ -59,6 +57,7 @@ import no.nordicsemi.android.meshprovisioner.models.SigModel;
 import no.nordicsemi.android.meshprovisioner.models.TimeClient;
 import no.nordicsemi.android.meshprovisioner.models.TimeServer;
 import no.nordicsemi.android.meshprovisioner.models.TimeSetupServer;
+import no.nordicsemi.android.meshprovisioner.platform.MeshLog;
 
 public class SigModelParser {
     private static final String TAG = SigModelParser.class.getSimpleName();
@@ -249,7 +248,7 @@ public class SigModelParser {
             case LIGHT_LC_CLIENT:
                 return new LightLightnessClient(sigModelId);
             default:
-                Log.v(TAG, "Model ID: " + String.format(Locale.US, "%04X", sigModelId));
+                MeshLog.v(TAG, "Model ID: " + String.format(Locale.US, "%04X", sigModelId));
         }
         return null;
     }
@@ -0,0 +1,65 @@
+package no.nordicsemi.android.meshprovisioner.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counter that can be incremented from several threads without contending on a single value.
+ * <p>
+ * The count is spread over a number of stripes and every thread adds to the stripe picked by its id, so threads
+ * rarely update the same value. Stripes are spaced a cache line apart so they are not invalidated by updates to their
+ * neighbours. Reading the counter sums up the stripes, which is exact once the threads updating it have stopped.
+ * </p>
+ */
+public final class StripedCounter {
+
+    private static final int STRIPES = 8;
+    //8 longs fill a 64 byte cache line
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray mStripes = new AtomicLongArray(STRIPES * PADDING);
+
+    /**
+     * Increments the counter by one
+     */
+    public void increment() {
+        add(1);
+    }
+
+    /**
+     * Adds a value to the counter
+     *
+     * @param delta value to add
+     */
+    public void add(final long delta) {
+        mStripes.addAndGet(getStripe(), delta);
+    }
+
+    /**
+     * Returns the sum of all stripes
+     */
+    public long sum() {
+        long sum = 0;
+        for (int i = 0; i < STRIPES; i++) {
+            sum += mStripes.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    /**
+     * Sets the counter to zero
+     */
+    public void reset() {
+        for (int i = 0; i < STRIPES; i++) {
+            mStripes.set(i * PADDING, 0);
+        }
+    }
+
+    private static int getStripe() {
+        return ((int) Thread.currentThread().getId() & (STRIPES - 1)) * PADDING;
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(sum());
+    }
+}
@@ -0,0 +1,136 @@
+package no.nordicsemi.android.meshprovisioner;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.List;
+
+import no.nordicsemi.android.meshprovisioner.configuration.ProvisionedMeshNode;
+import no.nordicsemi.android.meshprovisioner.states.ProvisioningState;
+import no.nordicsemi.android.meshprovisioner.states.UnprovisionedMeshNode;
+import no.nordicsemi.android.meshprovisioner.utils.LatencyHistogram;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class ProvisioningTraceTests {
+
+    private static final byte[] CAPABILITIES_PDU = {0x03, 0x01, 0x02, 0x00, 0x01, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00};
+
+    @BeforeClass
+    public static void setUpProvider() {
+        //The desktop jvm can not seed the random generator of the provider when it is the preferred one
+        Security.removeProvider("SC");
+        Security.addProvider(new org.spongycastle.jce.provider.BouncyCastleProvider());
+    }
+
+    @Test
+    public void session_isTraced() {
+        final ProvisioningLatencyHistograms histograms = new ProvisioningLatencyHistograms();
+        final List<Integer> sentPdus = new ArrayList<>();
+        final UnicastAddressAllocator allocator = new UnicastAddressAllocator(1);
+        final ProvisioningSession session = createSession(allocator, sentPdus, histograms);
+
+        session.start();
+        session.handleProvisioningWriteCallbacks();
+        session.parseProvisioningNotifications(CAPABILITIES_PDU);
+        session.handleProvisioningWriteCallbacks();
+        session.cancel();
+
+        assertTrue(session.isFinished());
+        //Invite, start and public key pdus were sent
+        assertEquals(3, sentPdus.size());
+
+        final ProvisioningTrace trace = session.getTrace();
+        final int[][] expected = {
+                {ProvisioningTrace.EVENT_STATE, ProvisioningState.State.PROVISIONING_INVITE.ordinal()},
+                {ProvisioningTrace.EVENT_PDU_QUEUED, 0x00},
+                {ProvisioningTrace.EVENT_PDU_WRITTEN, ProvisioningState.State.PROVISIONING_INVITE.ordinal()},
+                {ProvisioningTrace.EVENT_STATE, ProvisioningState.State.PROVISIONING_CAPABILITIES.ordinal()},
+                {ProvisioningTrace.EVENT_PDU_RECEIVED, 0x01},
+                {ProvisioningTrace.EVENT_STATE, ProvisioningState.State.PROVISIONING_START.ordinal()},
+                {ProvisioningTrace.EVENT_PDU_QUEUED, 0x02},
+                {ProvisioningTrace.EVENT_PDU_WRITTEN, ProvisioningState.State.PROVISIONING_START.ordinal()},
+                {ProvisioningTrace.EVENT_STATE, ProvisioningState.State.PROVISIONING_PUBLIC_KEY.ordinal()},
+                {ProvisioningTrace.EVENT_PDU_QUEUED, 0x03},
+        };
+        assertEquals(expected.length, trace.getEventCount());
+        long previous = Long.MIN_VALUE;
+        for (int i = 0; i < expected.length; i++) {
+            assertArrayEquals(expected[i], new int[]{trace.getEventType(i), trace.getEventValue(i)});
+            assertTrue(trace.getEventTime(i) >= previous);
+            previous = trace.getEventTime(i);
+        }
+        assertEquals(trace.getEventTime(expected.length - 1) - trace.getEventTime(0), trace.getDuration());
+
+        final ProvisioningState.State[] phases = {ProvisioningState.State.PROVISIONING_INVITE, ProvisioningState.State.PROVISIONING_CAPABILITIES,
+                ProvisioningState.State.PROVISIONING_START, ProvisioningState.State.PROVISIONING_PUBLIC_KEY};
+        for (ProvisioningState.State phase : phases) {
+            final LatencyHistogram histogram = histograms.getPhaseHistogram(phase);
+            assertEquals(1, histogram.getCount());
+            assertEquals(trace.getPhaseDuration(phase), histogram.getTotalNanos());
+        }
+        assertEquals(0, histograms.getPhaseHistogram(ProvisioningState.State.PROVISIONING_CONFIRMATION).getCount());
+        assertEquals(1, histograms.getSessionHistogram().getCount());
+        assertEquals(0, histograms.getProvisionedCount());
+        assertEquals(1, histograms.getFailedCount());
+
+        //The addresses reserved for the cancelled session are free again
+        assertEquals(1, allocator.getNextAddress());
+    }
+
+    @Test
+    public void session_isNotTraced_withoutMetrics() {
+        final List<Integer> sentPdus = new ArrayList<>();
+        final ProvisioningSession session = createSession(new UnicastAddressAllocator(1), sentPdus, null);
+
+        session.start();
+        session.handleProvisioningWriteCallbacks();
+        session.parseProvisioningNotifications(CAPABILITIES_PDU);
+
+        assertNull(session.getTrace());
+        assertEquals(2, sentPdus.size());
+    }
+
+    @Test
+    public void histogram_percentiles_areCorrect() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(100000, histogram.getMaxNanos());
+        assertEquals(50500, histogram.getMeanNanos());
+        //Percentiles are bounded by the bucket the value falls in
+        final long p50 = histogram.getPercentileNanos(50);
+        assertTrue(p50 >= 50000 && p50 < 2 * 50000);
+        assertEquals(100000, histogram.getPercentileNanos(100));
+        assertEquals(LatencyHistogram.getBucket(1000), LatencyHistogram.getBucket(1023));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentileNanos(99));
+    }
+
+    private ProvisioningSession createSession(final UnicastAddressAllocator allocator, final List<Integer> sentPdus, final ProvisioningMetrics metrics) {
+        final UnprovisionedMeshNode node = new UnprovisionedMeshNode();
+        node.setBluetoothDeviceAddress("00:11:22:33:44:55");
+        final InternalTransportCallbacks transport = new InternalTransportCallbacks() {
+            @Override
+            public void sendPdu(final BaseMeshNode meshnode, final byte[] pdu) {
+                sentPdus.add((int) pdu[1]);
+            }
+
+            @Override
+            public void updateMeshNode(final ProvisionedMeshNode meshNode) {
+            }
+        };
+        return new ProvisioningSession(node, ProvisioningSession.UNICAST_ADDRESS_AUTO, allocator, transport,
+                mock(InternalMeshManagerCallbacks.class), mock(MeshProvisioningStatusCallbacks.class), metrics);
+    }
+}
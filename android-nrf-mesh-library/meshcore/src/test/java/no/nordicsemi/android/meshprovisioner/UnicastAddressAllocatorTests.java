@@ -0,0 +1,88 @@
+package no.nordicsemi.android.meshprovisioner;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class UnicastAddressAllocatorTests {
+
+    @Test
+    public void reservation_isCorrect() {
+        final UnicastAddressAllocator allocator = new UnicastAddressAllocator(1);
+        assertEquals(1, allocator.reserve(3));
+        assertEquals(4, allocator.reserve(1));
+        assertEquals(5, allocator.reserve(2));
+        assertEquals(7, allocator.getNextAddress());
+        assertEquals(3, allocator.getReservedCount());
+
+        allocator.commit(1);
+        assertEquals(2, allocator.getReservedCount());
+    }
+
+    @Test
+    public void released_range_isReused() {
+        final UnicastAddressAllocator allocator = new UnicastAddressAllocator(1);
+        allocator.reserve(3);
+        final int released = allocator.reserve(4);
+        allocator.reserve(1);
+        allocator.release(released);
+
+        //The released range is split between the next reservations that fit in it
+        assertEquals(4, allocator.reserve(2));
+        assertEquals(6, allocator.reserve(2));
+        assertEquals(9, allocator.reserve(1));
+
+        //Releasing the last range gives the addresses back to the next address
+        allocator.release(9);
+        assertEquals(9, allocator.getNextAddress());
+    }
+
+    @Test
+    public void requested_range_isReserved() {
+        final UnicastAddressAllocator allocator = new UnicastAddressAllocator(1);
+        assertEquals(1, allocator.reserve(2));
+        assertFalse(allocator.reserve(2, 2));
+        assertTrue(allocator.reserve(10, 2));
+        assertEquals(12, allocator.getNextAddress());
+        assertTrue(allocator.reserve(3, 2));
+        //Addresses skipped by a requested range are never handed out
+        assertEquals(12, allocator.reserve(1));
+
+        allocator.advanceTo(20);
+        allocator.advanceTo(15);
+        assertEquals(20, allocator.getNextAddress());
+    }
+
+    @Test
+    public void parallel_reservations_areUnique() throws Exception {
+        final UnicastAddressAllocator allocator = new UnicastAddressAllocator(1);
+        final List<Integer> addresses = Collections.synchronizedList(new ArrayList<Integer>());
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final Thread thread = new Thread(() -> {
+                for (int j = 0; j < 100; j++) {
+                    final int address = allocator.reserve(2);
+                    addresses.add(address);
+                    addresses.add(address + 1);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Collections.sort(addresses);
+        for (int i = 0; i < addresses.size(); i++) {
+            assertEquals(i + 1, (int) addresses.get(i));
+        }
+        assertEquals(1601, allocator.getNextAddress());
+    }
+}
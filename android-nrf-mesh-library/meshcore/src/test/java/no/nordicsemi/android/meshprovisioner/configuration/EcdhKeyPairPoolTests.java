@@ -0,0 +1,85 @@
+package no.nordicsemi.android.meshprovisioner.configuration;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.security.KeyPair;
+import java.security.Security;
+
+import no.nordicsemi.android.meshprovisioner.utils.EcdhKeyPairPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+public class EcdhKeyPairPoolTests {
+
+    @BeforeClass
+    public static void setUpProvider() {
+        //On desktop JVMs the default random of the provider cannot seed itself while the provider is the preferred one
+        Security.removeProvider("SC");
+        Security.addProvider(new org.spongycastle.jce.provider.BouncyCastleProvider());
+    }
+
+    @Test
+    public void shared_secret_isCorrect() throws Exception {
+        final EcdhKeyPairPool pool = new EcdhKeyPairPool(2);
+        final KeyPair provisioner = pool.take();
+        final KeyPair device = pool.take();
+        assertNotSame(provisioner, device);
+
+        final byte[] provisionerXY = EcdhKeyPairPool.getPublicKeyXY(provisioner);
+        final byte[] deviceXY = EcdhKeyPairPool.getPublicKeyXY(device);
+        assertEquals(64, provisionerXY.length);
+
+        final byte[] secret = pool.generateSharedSecret(provisioner.getPrivate(), deviceXY);
+        assertEquals(32, secret.length);
+        assertArrayEquals(secret, pool.generateSharedSecret(device.getPrivate(), provisionerXY));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalid_public_key_isRejected() throws Exception {
+        final EcdhKeyPairPool pool = new EcdhKeyPairPool(1);
+        final byte[] xy = EcdhKeyPairPool.getPublicKeyXY(pool.take());
+        xy[63] ^= 0x01;
+        pool.generateSharedSecret(pool.take().getPrivate(), xy);
+    }
+
+    @Test
+    public void pooled_key_pairs_areUsed() throws Exception {
+        final int sessions = 4;
+        final KeyPair device = new EcdhKeyPairPool(1).take();
+        final byte[] deviceXY = EcdhKeyPairPool.getPublicKeyXY(device);
+
+        //A disabled pool generates every key pair when it is taken
+        final EcdhKeyPairPool disabled = new EcdhKeyPairPool(1);
+        disabled.setEnabled(false);
+        runPublicKeyPhase(disabled, deviceXY, sessions);
+        assertEquals(0, disabled.getHitCount());
+        assertEquals(sessions, disabled.getMissCount());
+        assertEquals(0, disabled.getAvailableCount());
+
+        //The public key phase of every session takes a key pair generated in the background
+        final EcdhKeyPairPool pool = new EcdhKeyPairPool(sessions);
+        pool.prefill();
+        final long deadline = System.currentTimeMillis() + 30000;
+        while (pool.getAvailableCount() < sessions && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(sessions, pool.getAvailableCount());
+        runPublicKeyPhase(pool, deviceXY, sessions);
+        assertEquals(sessions, pool.getHitCount());
+        assertEquals(0, pool.getMissCount());
+    }
+
+    /**
+     * Takes a key pair and calculates the shared secret as the public key phase of a provisioning session does
+     */
+    private static void runPublicKeyPhase(final EcdhKeyPairPool pool, final byte[] deviceXY, final int sessions) throws Exception {
+        for (int i = 0; i < sessions; i++) {
+            final KeyPair keyPair = pool.take();
+            EcdhKeyPairPool.getPublicKeyXY(keyPair);
+            assertEquals(32, pool.generateSharedSecret(keyPair.getPrivate(), deviceXY).length);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package no.nordicsemi.android.meshprovisioner.configuration;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import no.nordicsemi.android.meshprovisioner.transport.ProxyPduReassembler;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+
+public class ProxyPduReassemblerTests {
+
+    private static final int PDU_TYPE_NETWORK = 0x00;
+    private static final int[] MTU_SIZES = {20, 23, 64, 185, 244, 512};
+
+    @Test
+    public void reassemble_proxy_pdu_isCorrect() {
+        final byte[] pdu = createProxyPdu(380);
+        for (int mtu : MTU_SIZES) {
+            final ProxyPduReassembler reassembler = new ProxyPduReassembler();
+            final List<byte[]> segments = segment(pdu, mtu);
+            int length = ProxyPduReassembler.INCOMPLETE;
+            for (int i = 0; i < segments.size(); i++) {
+                length = reassembler.append(segments.get(i));
+                if (i < segments.size() - 1) {
+                    assertEquals(ProxyPduReassembler.INCOMPLETE, length);
+                }
+            }
+            assertEquals(pdu.length, length);
+            assertFalse(reassembler.isInProgress());
+            assertArrayEquals(pdu, reassembler.toByteArray());
+
+            final ByteBuffer slice = reassembler.getPdu();
+            assertEquals(pdu.length, slice.remaining());
+            final byte[] sliced = new byte[slice.remaining()];
+            slice.get(sliced);
+            assertArrayEquals(pdu, sliced);
+        }
+    }
+
+    @Test
+    public void drop_segments_without_start_isCorrect() {
+        final byte[] pdu = createProxyPdu(100);
+        final List<byte[]> segments = segment(pdu, 20);
+        final ProxyPduReassembler reassembler = new ProxyPduReassembler();
+
+        //A continuation received before the start segment is dropped
+        assertEquals(ProxyPduReassembler.DROPPED, reassembler.append(segments.get(1)));
+
+        //A new start segment discards the incomplete pdu
+        reassembler.append(segments.get(0));
+        reassembler.append(segments.get(1));
+        for (byte[] segment : segments) {
+            reassembler.append(segment);
+        }
+        assertArrayEquals(pdu, reassembler.toByteArray());
+    }
+
+    @Test
+    public void reassemble_interleaved_connections_isCorrect() {
+        final byte[] first = createProxyPdu(120);
+        final byte[] second = createProxyPdu(64);
+        second[5] = 0x55;
+        final List<byte[]> firstSegments = segment(first, 20);
+        final List<byte[]> secondSegments = segment(second, 20);
+        final ProxyPduReassembler firstConnection = new ProxyPduReassembler();
+        final ProxyPduReassembler secondConnection = new ProxyPduReassembler();
+
+        final int segments = Math.max(firstSegments.size(), secondSegments.size());
+        for (int i = 0; i < segments; i++) {
+            if (i < firstSegments.size())
+                firstConnection.append(firstSegments.get(i));
+            if (i < secondSegments.size())
+                secondConnection.append(secondSegments.get(i));
+        }
+        assertArrayEquals(first, firstConnection.toByteArray());
+        assertArrayEquals(second, secondConnection.toByteArray());
+    }
+
+    @Test
+    public void reassembly_reuses_buffer_isCorrect() {
+        final byte[] pdu = createProxyPdu(380);
+        final int iterations = 100;
+        for (int mtu : MTU_SIZES) {
+            final List<byte[]> segments = segment(pdu, mtu);
+            final ProxyPduReassembler reassembler = new ProxyPduReassembler();
+
+            //The buffer grows to the size of the pdu once and is then reused for every pdu
+            for (byte[] segment : segments) {
+                reassembler.append(segment);
+            }
+            final byte[] buffer = reassembler.getBuffer();
+
+            int completed = 0;
+            for (int i = 0; i < iterations; i++) {
+                for (byte[] segment : segments) {
+                    if (reassembler.append(segment) > 0) {
+                        completed++;
+                    }
+                }
+                assertSame(buffer, reassembler.getBuffer());
+            }
+            assertEquals(iterations, completed);
+            assertArrayEquals(pdu, reassembler.toByteArray());
+        }
+    }
+
+    private static byte[] createProxyPdu(final int length) {
+        final byte[] pdu = new byte[length];
+        pdu[0] = PDU_TYPE_NETWORK;
+        for (int i = 1; i < length; i++) {
+            pdu[i] = (byte) i;
+        }
+        return pdu;
+    }
+
+    /**
+     * Segments a proxy pdu the way a proxy server does, every segment carries a one byte SAR header
+     */
+    private static List<byte[]> segment(final byte[] pdu, final int mtu) {
+        final List<byte[]> segments = new ArrayList<>();
+        if (pdu.length <= mtu) {
+            segments.add(pdu);
+            return segments;
+        }
+        final int pduType = pdu[0] & 0x3F;
+        final int payloadLength = mtu - 1;
+        int offset = 1;
+        while (offset < pdu.length) {
+            final int length = Math.min(payloadLength, pdu.length - offset);
+            final int sar;
+            if (offset == 1) {
+                sar = 0b01;
+            } else if (offset + length == pdu.length) {
+                sar = 0b11;
+            } else {
+                sar = 0b10;
+            }
+            final byte[] segment = new byte[length + 1];
+            segment[0] = (byte) ((sar << 6) | pduType);
+            System.arraycopy(pdu, offset, segment, 1, length);
+            segments.add(segment);
+            offset += length;
+        }
+        return segments;
+    }
+}
@@ -0,0 +1,87 @@
+package no.nordicsemi.android.meshprovisioner.configuration;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import no.nordicsemi.android.meshprovisioner.transport.ProxyPduReassembler;
+import no.nordicsemi.android.meshprovisioner.transport.ProxyPduSegmenter;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ProxyPduSegmenterTests {
+
+    private static final int[] ATT_MTU_SIZES = {23, 26, 67, 188, 247, 517};
+
+    @Test
+    public void segment_proxy_pdu_isCorrect() {
+        final byte[] pdu = createProxyPdu(380);
+        final ProxyPduSegmenter segmenter = new ProxyPduSegmenter();
+        for (int attMtu : ATT_MTU_SIZES) {
+            final int maxChunkLength = ProxyPduSegmenter.getMaxChunkLength(attMtu);
+            final List<byte[]> chunks = new ArrayList<>();
+            final int chunkCount = segmenter.segment(pdu, maxChunkLength, (chunk, length) -> chunks.add(Arrays.copyOf(chunk, length)));
+            assertEquals(ProxyPduSegmenter.getChunkCount(pdu.length, maxChunkLength), chunkCount);
+            assertEquals(chunkCount, chunks.size());
+
+            final ProxyPduReassembler reassembler = new ProxyPduReassembler();
+            int length = ProxyPduReassembler.INCOMPLETE;
+            for (byte[] chunk : chunks) {
+                assertTrue(chunk.length <= maxChunkLength);
+                length = reassembler.append(chunk);
+            }
+            assertEquals(pdu.length, length);
+            assertArrayEquals(pdu, reassembler.toByteArray());
+        }
+    }
+
+    @Test
+    public void segment_sar_header_isCorrect() {
+        final byte[] pdu = createProxyPdu(40);
+        pdu[0] = 0x02;
+        final List<byte[]> chunks = new ArrayList<>();
+        new ProxyPduSegmenter().segment(pdu, 20, (chunk, length) -> chunks.add(Arrays.copyOf(chunk, length)));
+
+        assertEquals(3, chunks.size());
+        assertEquals((byte) 0x42, chunks.get(0)[0]);
+        assertEquals((byte) 0x82, chunks.get(1)[0]);
+        assertEquals((byte) 0xC2, chunks.get(2)[0]);
+        assertEquals(20, chunks.get(0).length);
+        assertEquals(20, chunks.get(1).length);
+        assertEquals(2, chunks.get(2).length);
+
+        //A pdu that fits in to a single chunk is not segmented
+        chunks.clear();
+        new ProxyPduSegmenter().segment(Arrays.copyOf(pdu, 20), 20, (chunk, length) -> chunks.add(Arrays.copyOf(chunk, length)));
+        assertEquals(1, chunks.size());
+        assertEquals((byte) 0x02, chunks.get(0)[0]);
+    }
+
+    @Test
+    public void chunk_count_across_mtu_sizes_isCorrect() {
+        final byte[] pdu = createProxyPdu(380);
+        final ProxyPduSegmenter segmenter = new ProxyPduSegmenter();
+        final int[] expectedChunkCounts = {20, 18, 7, 3, 2, 1};
+        final int[] written = new int[1];
+        final ProxyPduSegmenter.ChunkCallback callback = (chunk, length) -> written[0] += length;
+        for (int i = 0; i < ATT_MTU_SIZES.length; i++) {
+            final int maxChunkLength = ProxyPduSegmenter.getMaxChunkLength(ATT_MTU_SIZES[i]);
+            written[0] = 0;
+            assertEquals(expectedChunkCounts[i], segmenter.segment(pdu, maxChunkLength, callback));
+            //Every chunk after the first one repeats the pdu type
+            assertEquals(pdu.length + expectedChunkCounts[i] - 1, written[0]);
+        }
+    }
+
+    private static byte[] createProxyPdu(final int length) {
+        final byte[] pdu = new byte[length];
+        for (int i = 1; i < length; i++) {
+            pdu[i] = (byte) i;
+        }
+        return pdu;
+    }
+}
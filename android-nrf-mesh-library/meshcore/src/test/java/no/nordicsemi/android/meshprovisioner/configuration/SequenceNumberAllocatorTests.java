@@ -0,0 +1,143 @@
+package no.nordicsemi.android.meshprovisioner.configuration;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import no.nordicsemi.android.meshprovisioner.platform.MeshStorage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+public class SequenceNumberAllocatorTests {
+
+    private static final String KEY = "NRF_MESH_SEQUENCE_NUMBER";
+
+    @Rule
+    public MockitoRule rule = MockitoJUnit.rule();
+
+    @Mock
+    MeshStorage storage;
+
+    @Mock
+    MeshStorage.Editor editor;
+
+    private final AtomicInteger storedValue = new AtomicInteger();
+    private final AtomicInteger writes = new AtomicInteger();
+    private volatile boolean failCommits;
+
+    @Before
+    public void setUp() {
+        when(storage.getInt(anyString(), anyInt())).thenAnswer(invocation -> storedValue.get());
+        when(storage.edit()).thenReturn(editor);
+        when(editor.putInt(anyString(), anyInt())).thenAnswer(invocation -> {
+            storedValue.set(invocation.getArgument(1));
+            return editor;
+        });
+        when(editor.commit()).thenAnswer(invocation -> {
+            if (failCommits)
+                return false;
+            writes.incrementAndGet();
+            return true;
+        });
+    }
+
+    @Test
+    public void allocate_sequence_numbers_in_blocks_isCorrect() {
+        final SequenceNumberAllocator allocator = new SequenceNumberAllocator(storage, KEY, 1024);
+        for (int i = 1; i <= 2048; i++) {
+            assertEquals(i, allocator.next());
+        }
+        assertEquals(3, writes.get());
+        assertEquals(3072, storedValue.get());
+
+        //Segments of a message use the sequence number of the previous segment incremented by one
+        assertEquals(0x3129AC, allocator.next(0x3129AC));
+        assertEquals(0x3129AD, allocator.next());
+        //Sequence numbers never go backwards
+        assertEquals(0x3129AE, allocator.next(0x000010));
+    }
+
+    @Test
+    public void skip_to_next_block_after_restart_isCorrect() {
+        final SequenceNumberAllocator allocator = new SequenceNumberAllocator(storage, KEY, 1024);
+        int last = 0;
+        for (int i = 0; i < 100; i++) {
+            last = allocator.next();
+        }
+
+        //Simulate a crash, nothing but the reserved block survives
+        final SequenceNumberAllocator restarted = new SequenceNumberAllocator(storage, KEY, 1024);
+        final int next = restarted.next();
+        assertTrue(next > last);
+        assertEquals(1025, next);
+    }
+
+    @Test
+    public void failed_reservation_isNotUsed() {
+        final SequenceNumberAllocator allocator = new SequenceNumberAllocator(storage, KEY, 1024);
+        for (int i = 1; i <= 1023; i++) {
+            allocator.next();
+        }
+
+        failCommits = true;
+        try {
+            allocator.next();
+            fail("Sequence number handed out from a block that was not stored");
+        } catch (IllegalStateException expected) {
+        }
+        assertEquals(1023, allocator.getSequenceNumber());
+
+        //The block is reserved again once the storage can be written
+        failCommits = false;
+        assertEquals(1024, allocator.next());
+        assertEquals(2048, storedValue.get());
+    }
+
+    @Test
+    public void allocate_sequence_numbers_concurrently_isCorrect() throws Exception {
+        final SequenceNumberAllocator allocator = new SequenceNumberAllocator(storage, KEY, SequenceNumberAllocator.DEFAULT_BLOCK_SIZE);
+        final int threadCount = 4;
+        final int perThread = 0x3FFFFF / threadCount;
+        final boolean[] used = new boolean[0x1000000];
+        final AtomicInteger duplicates = new AtomicInteger();
+        final Thread[] threads = new Thread[threadCount];
+
+        for (int t = 0; t < threadCount; t++) {
+            threads[t] = new Thread(() -> {
+                final int[] issued = new int[perThread];
+                for (int i = 0; i < perThread; i++) {
+                    issued[i] = allocator.next();
+                }
+                synchronized (used) {
+                    for (int sequenceNumber : issued) {
+                        if (used[sequenceNumber]) {
+                            duplicates.incrementAndGet();
+                        }
+                        used[sequenceNumber] = true;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        final int total = perThread * threadCount;
+        assertEquals(0, duplicates.get());
+        assertEquals(total, allocator.getSequenceNumber());
+        assertEquals(total / 1024 + 1, writes.get());
+        assertFalse(used[0]);
+    }
+}
@@ -0,0 +1,357 @@
+package no.nordicsemi.android.meshprovisioner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import no.nordicsemi.android.meshprovisioner.configuration.ConfigMessage;
+import no.nordicsemi.android.meshprovisioner.configuration.ProvisionedMeshNode;
+
+/**
+ * Keeps track of the configuration transactions of a proxy connection.
+ * <p>
+ * Transactions are keyed by the destination, the opcode of the request and the parameters identifying its target, such as
+ * the element address, model identifier, app key index or address, so that several nodes can be configured at the same
+ * time and every status received is routed to the transaction it belongs to.
+ * Up to the concurrency window transactions are in flight at the same time, the rest are queued and started in order
+ * as transactions complete. A node is sent one transaction at a time so that its messages are received in the order
+ * of their sequence numbers and segments of different status messages are never interleaved.
+ * </p>
+ * <p>
+ * The multiplexer is used from the thread receiving the notifications and from the looper running the status timers, so
+ * its state is only accessed while holding its lock. Messages are sent and futures are cancelled after the lock is released
+ * as their callbacks may enqueue new transactions. A transaction leaves the multiplexer either completed by its status or
+ * with its future failed or cancelled, so no future is left waiting forever.
+ * </p>
+ */
+class ConfigTransactionMultiplexer {
+
+    /**
+     * Number of transactions that may be in flight at the same time by default
+     */
+    static final int DEFAULT_CONCURRENCY_WINDOW = 4;
+
+    private final Map<TransactionKey, ConfigTransaction> mInFlightTransactions = new HashMap<>();
+    private final Map<Integer, ConfigTransaction> mInFlightDestinations = new HashMap<>();
+    private final LinkedList<ConfigTransaction> mPendingTransactions = new LinkedList<>();
+    private int mConcurrencyWindow;
+
+    ConfigTransactionMultiplexer() {
+        this(DEFAULT_CONCURRENCY_WINDOW);
+    }
+
+    /**
+     * Creates a transaction multiplexer
+     *
+     * @param concurrencyWindow number of transactions that may be in flight at the same time
+     */
+    ConfigTransactionMultiplexer(final int concurrencyWindow) {
+        setConcurrencyWindow(concurrencyWindow);
+    }
+
+    /**
+     * Sets the number of transactions that may be in flight at the same time
+     *
+     * @param concurrencyWindow concurrency window
+     */
+    void setConcurrencyWindow(final int concurrencyWindow) {
+        if (concurrencyWindow <= 0)
+            throw new IllegalArgumentException("Concurrency window must be greater than 0");
+        final List<ConfigTransaction> startedTransactions;
+        synchronized (this) {
+            mConcurrencyWindow = concurrencyWindow;
+            startedTransactions = pollStartableTransactions();
+        }
+        start(startedTransactions);
+    }
+
+    synchronized int getConcurrencyWindow() {
+        return mConcurrencyWindow;
+    }
+
+    /**
+     * Queues a transaction and starts it if the concurrency window allows it.
+     * <p>
+     * A transaction repeating the same request to the same destination replaces the existing one, so a request that is
+     * sent again does not take an additional slot. The future of the replaced transaction is cancelled.
+     * </p>
+     *
+     * @param transaction transaction to be started
+     * @return true if the transaction was started and false if it was queued
+     */
+    boolean enqueue(final ConfigTransaction transaction) {
+        final List<ConfigTransaction> replacedTransactions = new ArrayList<>();
+        final List<ConfigTransaction> startedTransactions;
+        synchronized (this) {
+            final TransactionKey key = transaction.mKey;
+            final ConfigTransaction replaced = mInFlightTransactions.get(key);
+            if (replaced != null) {
+                replacedTransactions.add(replaced);
+                putInFlight(transaction);
+                startedTransactions = Collections.singletonList(transaction);
+            } else {
+                final Iterator<ConfigTransaction> iterator = mPendingTransactions.iterator();
+                while (iterator.hasNext()) {
+                    final ConfigTransaction pending = iterator.next();
+                    if (pending.mKey.equals(key)) {
+                        iterator.remove();
+                        replacedTransactions.add(pending);
+                    }
+                }
+                mPendingTransactions.add(transaction);
+                startedTransactions = pollStartableTransactions();
+            }
+        }
+        for (ConfigTransaction replaced : replacedTransactions) {
+            replaced.cancel();
+        }
+        start(startedTransactions);
+        return transaction.mStarted;
+    }
+
+    /**
+     * Returns the transaction in flight to a node or null
+     *
+     * @param address unicast address of the node the status was received from
+     */
+    synchronized ConfigTransaction getTransaction(final int address) {
+        return mInFlightDestinations.get(address);
+    }
+
+    /**
+     * Completes a transaction and starts the pending ones the concurrency window allows.
+     * <p>
+     * A transaction completed while it is still queued, such as one whose future has been cancelled, is removed from the queue.
+     * </p>
+     *
+     * @param transaction completed transaction
+     */
+    void complete(final ConfigTransaction transaction) {
+        final List<ConfigTransaction> startedTransactions;
+        synchronized (this) {
+            final TransactionKey key = transaction.mKey;
+            if (mInFlightTransactions.get(key) != transaction) {
+                mPendingTransactions.remove(transaction);
+                return;
+            }
+            mInFlightTransactions.remove(key);
+            mInFlightDestinations.remove(transaction.mDst);
+            startedTransactions = pollStartableTransactions();
+        }
+        start(startedTransactions);
+    }
+
+    /**
+     * Returns the number of transactions in flight
+     */
+    synchronized int getInFlightCount() {
+        return mInFlightTransactions.size();
+    }
+
+    /**
+     * Returns the number of transactions waiting for a slot
+     */
+    synchronized int getPendingCount() {
+        return mPendingTransactions.size();
+    }
+
+    /**
+     * Discards all transactions and cancels their futures
+     */
+    void clear() {
+        final List<ConfigTransaction> transactions;
+        synchronized (this) {
+            transactions = new ArrayList<>(mInFlightTransactions.values());
+            transactions.addAll(mPendingTransactions);
+            mInFlightTransactions.clear();
+            mInFlightDestinations.clear();
+            mPendingTransactions.clear();
+        }
+        for (ConfigTransaction transaction : transactions) {
+            transaction.cancel();
+        }
+    }
+
+    /**
+     * Moves the pending transactions the concurrency window allows in flight, must be called holding the lock
+     *
+     * @return transactions to be started once the lock is released
+     */
+    private List<ConfigTransaction> pollStartableTransactions() {
+        final List<ConfigTransaction> startedTransactions = new ArrayList<>();
+        ConfigTransaction transaction;
+        while (mInFlightTransactions.size() < mConcurrencyWindow && (transaction = pollStartableTransaction()) != null) {
+            //A queued transaction whose future has been cancelled by the caller is never sent
+            if (transaction.mFuture.isDone())
+                continue;
+            putInFlight(transaction);
+            startedTransactions.add(transaction);
+        }
+        return startedTransactions;
+    }
+
+    private void putInFlight(final ConfigTransaction transaction) {
+        mInFlightTransactions.put(transaction.mKey, transaction);
+        mInFlightDestinations.put(transaction.mDst, transaction);
+        transaction.mStarted = true;
+    }
+
+    private static void start(final List<ConfigTransaction> transactions) {
+        for (ConfigTransaction transaction : transactions) {
+            transaction.start();
+        }
+    }
+
+    /**
+     * Removes and returns the oldest pending transaction to a node that has no transaction in flight
+     */
+    private ConfigTransaction pollStartableTransaction() {
+        final Iterator<ConfigTransaction> iterator = mPendingTransactions.iterator();
+        while (iterator.hasNext()) {
+            final ConfigTransaction transaction = iterator.next();
+            if (!mInFlightDestinations.containsKey(transaction.mDst)) {
+                iterator.remove();
+                return transaction;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Sends the messages of a transaction once the transaction is started
+     */
+    interface Sender {
+
+        /**
+         * Creates and sends the message of a transaction
+         * <p>
+         * Messages are created when the transaction is started so that sequence numbers are allocated in the order the messages are sent.
+         * </p>
+         *
+         * @param transaction transaction being started
+         */
+        void send(final ConfigTransaction transaction);
+    }
+
+    /**
+     * Identifies the request of a transaction by its destination, opcode and the parameters selecting its target
+     */
+    private static final class TransactionKey {
+        private final int mDst;
+        private final int mRequestOpcode;
+        private final int[] mRequestParameters;
+
+        TransactionKey(final int dst, final int requestOpcode, final int[] requestParameters) {
+            mDst = dst;
+            mRequestOpcode = requestOpcode;
+            mRequestParameters = requestParameters;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof TransactionKey))
+                return false;
+            final TransactionKey key = (TransactionKey) o;
+            return mDst == key.mDst && mRequestOpcode == key.mRequestOpcode && Arrays.equals(mRequestParameters, key.mRequestParameters);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * mDst + mRequestOpcode) + Arrays.hashCode(mRequestParameters);
+        }
+    }
+
+    /**
+     * A configuration message sent to a node and the status message expected in response
+     */
+    static final class ConfigTransaction {
+        private final ProvisionedMeshNode mMeshNode;
+        private final int mDst;
+        private final TransactionKey mKey;
+        private final Sender mSender;
+        private final ConfigurationFuture<? extends ConfigMessage> mFuture;
+        private ConfigMessage mConfigMessage;
+        private volatile boolean mStarted;
+
+        /**
+         * Creates a configuration transaction
+         *
+         * @param meshNode          node to be configured
+         * @param dst               unicast address of the node
+         * @param requestOpcode     opcode of the request message
+         * @param sender            sends the message when the transaction is started
+         * @param requestParameters parameters selecting the target of the request, such as the element address, model identifier,
+         *                          app key index or address
+         */
+        ConfigTransaction(final ProvisionedMeshNode meshNode, final int dst, final int requestOpcode,
+                          final Sender sender, final int... requestParameters) {
+            this(meshNode, dst, requestOpcode, sender, new ConfigurationFuture<ConfigMessage>(), requestParameters);
+        }
+
+        /**
+         * Creates a configuration transaction
+         *
+         * @param meshNode          node to be configured
+         * @param dst               unicast address of the node
+         * @param requestOpcode     opcode of the request message
+         * @param sender            sends the message when the transaction is started
+         * @param future            future completed with the status message
+         * @param requestParameters parameters selecting the target of the request, such as the element address, model identifier,
+         *                          app key index or address
+         */
+        ConfigTransaction(final ProvisionedMeshNode meshNode, final int dst, final int requestOpcode,
+                          final Sender sender, final ConfigurationFuture<? extends ConfigMessage> future, final int... requestParameters) {
+            mMeshNode = meshNode;
+            mDst = dst;
+            mKey = new TransactionKey(dst, requestOpcode, requestParameters.clone());
+            mSender = sender;
+            mFuture = future;
+        }
+
+        ProvisionedMeshNode getMeshNode() {
+            return mMeshNode;
+        }
+
+        int getDst() {
+            return mDst;
+        }
+
+        /**
+         * Returns the future completed with the status message of this transaction
+         */
+        ConfigurationFuture<? extends ConfigMessage> getFuture() {
+            return mFuture;
+        }
+
+        /**
+         * Returns the message currently handling the pdus received for this transaction
+         */
+        ConfigMessage getConfigMessage() {
+            return mConfigMessage;
+        }
+
+        void setConfigMessage(final ConfigMessage configMessage) {
+            mConfigMessage = configMessage;
+        }
+
+        boolean isStarted() {
+            return mStarted;
+        }
+
+        private void start() {
+            //The future may have been cancelled after the transaction was moved in flight
+            if (!mFuture.isDone()) {
+                mSender.send(this);
+            }
+        }
+
+        private void cancel() {
+            mFuture.cancel(false);
+        }
+    }
+}
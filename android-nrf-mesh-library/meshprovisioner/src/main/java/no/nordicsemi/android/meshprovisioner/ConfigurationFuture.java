@@ -0,0 +1,195 @@
+package no.nordicsemi.android.meshprovisioner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Result of a configuration message that completes once the node responds with the matching status.
+ * <p>
+ * The future fails with a {@link TimeoutException} if the status is not received in time, or with an {@link java.io.IOException}
+ * if the segments of the message could not be delivered. Callbacks can be registered
+ * to be notified on completion and futures can be chained so that configuration steps are composed without blocking.
+ * </p>
+ *
+ * @param <T> type of the status message
+ */
+public final class ConfigurationFuture<T> implements Future<T> {
+
+    private final List<Callback<? super T>> mCallbacks = new ArrayList<>();
+    private boolean mDone;
+    private boolean mCancelled;
+    private T mResult;
+    private Throwable mFailure;
+
+    /**
+     * Notified when a future completes
+     */
+    public interface Callback<T> {
+
+        /**
+         * Called once the future has completed
+         *
+         * @param result  status message or null if the future failed
+         * @param failure reason of the failure or null if the future completed successfully
+         */
+        void onComplete(final T result, final Throwable failure);
+    }
+
+    /**
+     * Continues with another configuration message once a future completes successfully
+     */
+    public interface Continuation<T, U> {
+
+        /**
+         * Called with the result of the completed future
+         *
+         * @param result status message
+         * @return future of the next configuration message
+         */
+        ConfigurationFuture<U> then(final T result) throws Exception;
+    }
+
+    /**
+     * Completes the future with a status message
+     *
+     * @param result status message
+     * @return true if this call completed the future
+     */
+    public boolean complete(final T result) {
+        return setResult(result, null, false);
+    }
+
+    /**
+     * Fails the future
+     *
+     * @param failure reason of the failure
+     * @return true if this call completed the future
+     */
+    public boolean completeExceptionally(final Throwable failure) {
+        if (failure == null)
+            throw new IllegalArgumentException("Failure cannot be null");
+        return setResult(null, failure, false);
+    }
+
+    @Override
+    public boolean cancel(final boolean mayInterruptIfRunning) {
+        return setResult(null, new CancellationException(), true);
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return mCancelled;
+    }
+
+    @Override
+    public synchronized boolean isDone() {
+        return mDone;
+    }
+
+    /**
+     * Returns true if the future failed or was cancelled
+     */
+    public synchronized boolean isCompletedExceptionally() {
+        return mDone && mFailure != null;
+    }
+
+    @Override
+    public synchronized T get() throws InterruptedException, ExecutionException {
+        while (!mDone) {
+            wait();
+        }
+        return getResult();
+    }
+
+    @Override
+    public synchronized T get(final long timeout, final TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!mDone) {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0)
+                throw new TimeoutException();
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return getResult();
+    }
+
+    /**
+     * Registers a callback that is called when the future completes, or right away if it has already completed
+     *
+     * @param callback callback
+     * @return this future
+     */
+    public ConfigurationFuture<T> whenComplete(final Callback<? super T> callback) {
+        synchronized (this) {
+            if (!mDone) {
+                mCallbacks.add(callback);
+                return this;
+            }
+        }
+        callback.onComplete(mResult, mFailure);
+        return this;
+    }
+
+    /**
+     * Starts the next configuration message once this future completes successfully.
+     * <p>
+     * The returned future completes with the result of the next message, or fails if this future or the next message fails.
+     * </p>
+     *
+     * @param continuation sends the next configuration message
+     * @return future of the next configuration message
+     */
+    public <U> ConfigurationFuture<U> thenCompose(final Continuation<? super T, U> continuation) {
+        final ConfigurationFuture<U> composed = new ConfigurationFuture<>();
+        whenComplete((result, failure) -> {
+            if (failure != null) {
+                composed.completeExceptionally(failure);
+                return;
+            }
+            try {
+                continuation.then(result).whenComplete((nextResult, nextFailure) -> {
+                    if (nextFailure != null) {
+                        composed.completeExceptionally(nextFailure);
+                    } else {
+                        composed.complete(nextResult);
+                    }
+                });
+            } catch (Exception e) {
+                composed.completeExceptionally(e);
+            }
+        });
+        return composed;
+    }
+
+    private T getResult() throws ExecutionException {
+        if (mCancelled)
+            throw (CancellationException) mFailure;
+        if (mFailure != null)
+            throw new ExecutionException(mFailure);
+        return mResult;
+    }
+
+    private boolean setResult(final T result, final Throwable failure, final boolean cancelled) {
+        final List<Callback<? super T>> callbacks;
+        synchronized (this) {
+            if (mDone)
+                return false;
+            mDone = true;
+            mResult = result;
+            mFailure = failure;
+            mCancelled = cancelled;
+            callbacks = new ArrayList<>(mCallbacks);
+            mCallbacks.clear();
+            notifyAll();
+        }
+        for (Callback<? super T> callback : callbacks) {
+            callback.onComplete(result, failure);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,251 @@
+package no.nordicsemi.android.meshprovisioner;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import no.nordicsemi.android.meshprovisioner.utils.SigModelParser;
+
+/**
+ * Describes the configuration applied to every node of a fleet of identical nodes.
+ * <p>
+ * A template contains the app key added to the node and, per model identifier, whether the app key is bound to the model,
+ * the publication and the subscription addresses. The configuration of a model is applied to every element of the node
+ * containing the model.
+ * </p>
+ */
+public final class ConfigurationTemplate {
+
+    private final int mAppKeyIndex;
+    private final String mAppKey;
+    private final List<ModelConfiguration> mModelConfigurations;
+    private final boolean mCompositionDataIdentitySet;
+    private final int mCompanyIdentifier;
+    private final int mProductIdentifier;
+    private final int mVersionIdentifier;
+
+    private ConfigurationTemplate(final Builder builder) {
+        mAppKeyIndex = builder.mAppKeyIndex;
+        mAppKey = builder.mAppKey;
+        mCompositionDataIdentitySet = builder.mCompositionDataIdentitySet;
+        mCompanyIdentifier = builder.mCompanyIdentifier;
+        mProductIdentifier = builder.mProductIdentifier;
+        mVersionIdentifier = builder.mVersionIdentifier;
+        mModelConfigurations = Collections.unmodifiableList(new ArrayList<>(builder.mModelConfigurations.values()));
+    }
+
+    /**
+     * Returns the index of the app key added to the nodes
+     */
+    public int getAppKeyIndex() {
+        return mAppKeyIndex;
+    }
+
+    /**
+     * Returns the app key added to the nodes
+     */
+    public String getAppKey() {
+        return mAppKey;
+    }
+
+    /**
+     * Returns true if the nodes are known to share the same company, product and version identifier
+     */
+    public boolean isCompositionDataIdentitySet() {
+        return mCompositionDataIdentitySet;
+    }
+
+    public int getCompanyIdentifier() {
+        return mCompanyIdentifier;
+    }
+
+    public int getProductIdentifier() {
+        return mProductIdentifier;
+    }
+
+    public int getVersionIdentifier() {
+        return mVersionIdentifier;
+    }
+
+    /**
+     * Returns the configuration of the models in the order they were added to the template
+     */
+    public List<ModelConfiguration> getModelConfigurations() {
+        return mModelConfigurations;
+    }
+
+    /**
+     * Configuration of a model
+     */
+    public static final class ModelConfiguration {
+        private final int mModelId;
+        private boolean mBindAppKey;
+        private byte[] mPublishAddress;
+        private int mCredentialFlag;
+        private int mPublishTtl;
+        private int mPublishPeriod;
+        private int mPublishRetransmitCount;
+        private int mPublishRetransmitIntervalSteps;
+        private final List<byte[]> mSubscriptionAddresses = new ArrayList<>();
+
+        private ModelConfiguration(final int modelId) {
+            mModelId = modelId;
+        }
+
+        /**
+         * Returns the 16-bit SIG model identifier or the 32-bit vendor model identifier
+         */
+        public int getModelId() {
+            return mModelId;
+        }
+
+        /**
+         * Returns true if the app key of the template is bound to the model
+         */
+        public boolean isBindAppKey() {
+            return mBindAppKey;
+        }
+
+        /**
+         * Returns the publish address or null if the publication is not set
+         */
+        public byte[] getPublishAddress() {
+            return mPublishAddress;
+        }
+
+        public int getCredentialFlag() {
+            return mCredentialFlag;
+        }
+
+        public int getPublishTtl() {
+            return mPublishTtl;
+        }
+
+        public int getPublishPeriod() {
+            return mPublishPeriod;
+        }
+
+        public int getPublishRetransmitCount() {
+            return mPublishRetransmitCount;
+        }
+
+        public int getPublishRetransmitIntervalSteps() {
+            return mPublishRetransmitIntervalSteps;
+        }
+
+        /**
+         * Returns the addresses the model subscribes to
+         */
+        public List<byte[]> getSubscriptionAddresses() {
+            return Collections.unmodifiableList(mSubscriptionAddresses);
+        }
+    }
+
+    /**
+     * Builds a configuration template
+     */
+    public static final class Builder {
+        private final int mAppKeyIndex;
+        private final String mAppKey;
+        private final Map<Integer, ModelConfiguration> mModelConfigurations = new LinkedHashMap<>();
+        private boolean mCompositionDataIdentitySet;
+        private int mCompanyIdentifier;
+        private int mProductIdentifier;
+        private int mVersionIdentifier;
+
+        /**
+         * Creates a builder for a template adding the given app key to the nodes
+         *
+         * @param appKeyIndex index of the app key in the global app key list
+         * @param appKey      application key
+         */
+        public Builder(final int appKeyIndex, final String appKey) {
+            if (appKey == null || appKey.isEmpty())
+                throw new IllegalArgumentException("App key cannot be empty");
+            mAppKeyIndex = appKeyIndex;
+            mAppKey = appKey;
+        }
+
+        /**
+         * Sets the identifiers shared by the nodes, so that the composition data cached for these identifiers is applied
+         * instead of reading the composition data of every node. The cached data is only applied to nodes whose own identifiers
+         * are known and match, the composition data of any other node is read.
+         *
+         * @param companyIdentifier 16-bit company identifier
+         * @param productIdentifier 16-bit product identifier
+         * @param versionIdentifier 16-bit version identifier
+         */
+        public Builder setCompositionDataIdentity(final int companyIdentifier, final int productIdentifier, final int versionIdentifier) {
+            mCompositionDataIdentitySet = true;
+            mCompanyIdentifier = companyIdentifier;
+            mProductIdentifier = productIdentifier;
+            mVersionIdentifier = versionIdentifier;
+            return this;
+        }
+
+        /**
+         * Binds the app key of the template to a model
+         *
+         * @param modelId 16-bit SIG model identifier or 32-bit vendor model identifier
+         */
+        public Builder bindAppKey(final int modelId) {
+            getModelConfiguration(modelId).mBindAppKey = true;
+            return this;
+        }
+
+        /**
+         * Sets the publication of a model using the master credentials
+         *
+         * @param modelId                        16-bit SIG model identifier or 32-bit vendor model identifier
+         * @param publishAddress                 address to which the model must publish
+         * @param publishTtl                     default ttl value for outgoing messages
+         * @param publishPeriod                  period for periodic status publishing
+         * @param publishRetransmitCount         number of retransmissions for each published message
+         * @param publishRetransmitIntervalSteps number of 50-millisecond steps between retransmissions
+         */
+        public Builder setPublication(final int modelId, final byte[] publishAddress, final int publishTtl, final int publishPeriod,
+                                      final int publishRetransmitCount, final int publishRetransmitIntervalSteps) {
+            if (publishAddress == null || publishAddress.length != 2)
+                throw new IllegalArgumentException("Publish address must be 2 bytes");
+            final ModelConfiguration modelConfiguration = getModelConfiguration(modelId);
+            modelConfiguration.mPublishAddress = publishAddress;
+            modelConfiguration.mCredentialFlag = 0;
+            modelConfiguration.mPublishTtl = publishTtl;
+            modelConfiguration.mPublishPeriod = publishPeriod;
+            modelConfiguration.mPublishRetransmitCount = publishRetransmitCount;
+            modelConfiguration.mPublishRetransmitIntervalSteps = publishRetransmitIntervalSteps;
+            return this;
+        }
+
+        /**
+         * Adds a subscription address to a model
+         *
+         * @param modelId             16-bit SIG model identifier or 32-bit vendor model identifier
+         * @param subscriptionAddress address to which the model must subscribe
+         */
+        public Builder addSubscriptionAddress(final int modelId, final byte[] subscriptionAddress) {
+            if (subscriptionAddress == null || subscriptionAddress.length != 2)
+                throw new IllegalArgumentException("Subscription address must be 2 bytes");
+            getModelConfiguration(modelId).mSubscriptionAddresses.add(subscriptionAddress);
+            return this;
+        }
+
+        public ConfigurationTemplate build() {
+            return new ConfigurationTemplate(this);
+        }
+
+        private ModelConfiguration getModelConfiguration(final int modelId) {
+            ModelConfiguration modelConfiguration = mModelConfigurations.get(modelId);
+            if (modelConfiguration == null) {
+                //Vendor model identifiers contain the company identifier in the upper 16 bits
+                if ((modelId & 0xFFFF0000) == 0 && SigModelParser.getSigModel(modelId) == null)
+                    throw new IllegalArgumentException("Unknown SIG model: " + Integer.toHexString(modelId));
+                modelConfiguration = new ModelConfiguration(modelId);
+                mModelConfigurations.put(modelId, modelConfiguration);
+            }
+            return modelConfiguration;
+        }
+    }
+}
@@ -0,0 +1,439 @@
+package no.nordicsemi.android.meshprovisioner;
+
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeoutException;
+
+import no.nordicsemi.android.meshprovisioner.ConfigurationTemplate.ModelConfiguration;
+import no.nordicsemi.android.meshprovisioner.configuration.ConfigAppKeyStatus;
+import no.nordicsemi.android.meshprovisioner.configuration.ConfigCompositionDataStatus;
+import no.nordicsemi.android.meshprovisioner.configuration.ConfigMessage;
+import no.nordicsemi.android.meshprovisioner.configuration.ConfigModelAppStatus;
+import no.nordicsemi.android.meshprovisioner.configuration.ConfigModelPublicationStatus;
+import no.nordicsemi.android.meshprovisioner.configuration.ConfigModelSubscriptionStatus;
+import no.nordicsemi.android.meshprovisioner.configuration.MeshModel;
+import no.nordicsemi.android.meshprovisioner.configuration.ProvisionedMeshNode;
+import no.nordicsemi.android.meshprovisioner.utils.Element;
+import no.nordicsemi.android.meshprovisioner.utils.MeshParserUtils;
+
+/**
+ * Applies a {@link ConfigurationTemplate} to a number of nodes.
+ * <p>
+ * Every node is configured by reading its composition data, or applying the cached one, adding the app key and then
+ * configuring every element containing a model of the template. Several nodes are configured at the same time so that the transactions of different nodes are
+ * pipelined, a step that times out is retried and progress is reported per node.
+ * The engine is not thread safe and must be used from the thread configuration notifications are delivered on.
+ * </p>
+ */
+public final class ConfigurationTemplateEngine {
+
+    private static final String TAG = ConfigurationTemplateEngine.class.getSimpleName();
+
+    /**
+     * Number of times a step is retried after a timeout by default
+     */
+    public static final int DEFAULT_MAX_RETRIES = 2;
+
+    private final Client mClient;
+    private final ConfigurationTemplate mTemplate;
+    private final LinkedList<ProvisionedMeshNode> mPendingNodes = new LinkedList<>();
+    private final List<NodeSession> mActiveSessions = new ArrayList<>();
+    private Callbacks mCallbacks;
+    private int mMaxConcurrentNodes = ConfigTransactionMultiplexer.DEFAULT_CONCURRENCY_WINDOW;
+    private int mMaxRetries = DEFAULT_MAX_RETRIES;
+    private int mConfiguredCount;
+    private int mFailedCount;
+    private int mRetryCount;
+    private long mStartTime;
+    private long mEndTime;
+    private boolean mRunning;
+
+    /**
+     * Notified about the progress of the configuration
+     */
+    public interface Callbacks {
+
+        /**
+         * Called when a configuration step of a node has completed
+         *
+         * @param meshNode       node being configured
+         * @param completedSteps number of steps completed
+         * @param totalSteps     number of steps known so far, this grows once the composition data has been received
+         */
+        void onNodeProgress(final ProvisionedMeshNode meshNode, final int completedSteps, final int totalSteps);
+
+        /**
+         * Called when a node has been configured
+         *
+         * @param meshNode configured node
+         */
+        void onNodeConfigured(final ProvisionedMeshNode meshNode);
+
+        /**
+         * Called when a node could not be configured
+         *
+         * @param meshNode node
+         * @param failure  timeout of the last retry or the reason the node rejected a configuration message
+         */
+        void onNodeFailed(final ProvisionedMeshNode meshNode, final Throwable failure);
+
+        /**
+         * Called once all nodes have been configured or failed
+         *
+         * @param configuredCount number of nodes configured
+         * @param failedCount     number of nodes that failed
+         * @param nodesPerMinute  number of nodes configured per minute
+         */
+        void onConfigurationCompleted(final int configuredCount, final int failedCount, final double nodesPerMinute);
+    }
+
+    /**
+     * Sends the configuration messages of the template
+     */
+    interface Client {
+
+        boolean applyCachedCompositionData(final ProvisionedMeshNode meshNode, final int companyIdentifier,
+                                           final int productIdentifier, final int versionIdentifier);
+
+        ConfigurationFuture<ConfigCompositionDataStatus> getCompositionData(final ProvisionedMeshNode meshNode);
+
+        ConfigurationFuture<ConfigAppKeyStatus> addAppKey(final ProvisionedMeshNode meshNode, final int appKeyIndex, final String appKey);
+
+        ConfigurationFuture<ConfigModelAppStatus> bindAppKey(final ProvisionedMeshNode meshNode, final byte[] elementAddress,
+                                                             final MeshModel model, final int appKeyIndex);
+
+        ConfigurationFuture<ConfigModelPublicationStatus> setPublication(final ProvisionedMeshNode meshNode, final byte[] elementAddress,
+                                                                         final int appKeyIndex, final ModelConfiguration modelConfiguration);
+
+        ConfigurationFuture<ConfigModelSubscriptionStatus> addSubscriptionAddress(final ProvisionedMeshNode meshNode, final byte[] elementAddress,
+                                                                                  final byte[] subscriptionAddress, final int modelId);
+    }
+
+    /**
+     * Creates an engine applying a template using the given mesh manager
+     *
+     * @param meshManagerApi mesh manager the configuration messages are sent with
+     * @param template       configuration template
+     */
+    public ConfigurationTemplateEngine(final MeshManagerApi meshManagerApi, final ConfigurationTemplate template) {
+        this(new Client() {
+            @Override
+            public boolean applyCachedCompositionData(final ProvisionedMeshNode meshNode, final int companyIdentifier,
+                                                      final int productIdentifier, final int versionIdentifier) {
+                return meshManagerApi.applyCachedCompositionData(meshNode, companyIdentifier, productIdentifier, versionIdentifier);
+            }
+
+            @Override
+            public ConfigurationFuture<ConfigCompositionDataStatus> getCompositionData(final ProvisionedMeshNode meshNode) {
+                return meshManagerApi.getCompositionDataAsync(meshNode);
+            }
+
+            @Override
+            public ConfigurationFuture<ConfigAppKeyStatus> addAppKey(final ProvisionedMeshNode meshNode, final int appKeyIndex, final String appKey) {
+                return meshManagerApi.addAppKeyAsync(meshNode, appKeyIndex, appKey);
+            }
+
+            @Override
+            public ConfigurationFuture<ConfigModelAppStatus> bindAppKey(final ProvisionedMeshNode meshNode, final byte[] elementAddress,
+                                                                        final MeshModel model, final int appKeyIndex) {
+                return meshManagerApi.bindAppKeyAsync(meshNode, elementAddress, model, appKeyIndex);
+            }
+
+            @Override
+            public ConfigurationFuture<ConfigModelPublicationStatus> setPublication(final ProvisionedMeshNode meshNode, final byte[] elementAddress,
+                                                                                    final int appKeyIndex, final ModelConfiguration modelConfiguration) {
+                return meshManagerApi.setConfigModelPublishAddressAsync(meshNode, elementAddress, modelConfiguration.getPublishAddress(), appKeyIndex,
+                        modelConfiguration.getModelId(), modelConfiguration.getCredentialFlag(), modelConfiguration.getPublishTtl(),
+                        modelConfiguration.getPublishPeriod(), modelConfiguration.getPublishRetransmitCount(),
+                        modelConfiguration.getPublishRetransmitIntervalSteps());
+            }
+
+            @Override
+            public ConfigurationFuture<ConfigModelSubscriptionStatus> addSubscriptionAddress(final ProvisionedMeshNode meshNode, final byte[] elementAddress,
+                                                                                             final byte[] subscriptionAddress, final int modelId) {
+                return meshManagerApi.addSubscriptionAddressAsync(meshNode, elementAddress, subscriptionAddress, modelId);
+            }
+        }, template);
+    }
+
+    ConfigurationTemplateEngine(final Client client, final ConfigurationTemplate template) {
+        if (template == null)
+            throw new IllegalArgumentException("Template cannot be null");
+        mClient = client;
+        mTemplate = template;
+    }
+
+    public void setCallbacks(final Callbacks callbacks) {
+        mCallbacks = callbacks;
+    }
+
+    /**
+     * Sets the number of nodes configured at the same time
+     *
+     * @param maxConcurrentNodes number of nodes, this should not exceed the configuration concurrency window of the mesh manager
+     */
+    public void setMaxConcurrentNodes(final int maxConcurrentNodes) {
+        if (maxConcurrentNodes <= 0)
+            throw new IllegalArgumentException("Number of concurrent nodes must be greater than 0");
+        mMaxConcurrentNodes = maxConcurrentNodes;
+    }
+
+    /**
+     * Sets the number of times a step is retried after a timeout
+     *
+     * @param maxRetries number of retries
+     */
+    public void setMaxRetries(final int maxRetries) {
+        if (maxRetries < 0)
+            throw new IllegalArgumentException("Number of retries cannot be negative");
+        mMaxRetries = maxRetries;
+    }
+
+    /**
+     * Applies the template to the given nodes
+     *
+     * @param meshNodes nodes to be configured
+     */
+    public void configure(final List<ProvisionedMeshNode> meshNodes) {
+        if (mRunning)
+            throw new IllegalStateException("Configuration is already running");
+        mPendingNodes.clear();
+        mPendingNodes.addAll(meshNodes);
+        mConfiguredCount = 0;
+        mFailedCount = 0;
+        mRetryCount = 0;
+        mStartTime = System.nanoTime();
+        mEndTime = 0;
+        mRunning = true;
+        startPendingNodes();
+    }
+
+    /**
+     * Stops configuring nodes, the configuration messages in flight are cancelled
+     */
+    public void cancel() {
+        mRunning = false;
+        mPendingNodes.clear();
+        final List<NodeSession> sessions = new ArrayList<>(mActiveSessions);
+        mActiveSessions.clear();
+        for (NodeSession session : sessions) {
+            session.cancel();
+        }
+        mEndTime = System.nanoTime();
+    }
+
+    public boolean isRunning() {
+        return mRunning;
+    }
+
+    public int getConfiguredCount() {
+        return mConfiguredCount;
+    }
+
+    public int getFailedCount() {
+        return mFailedCount;
+    }
+
+    /**
+     * Returns the number of steps that have been retried
+     */
+    public int getRetryCount() {
+        return mRetryCount;
+    }
+
+    /**
+     * Returns the number of nodes configured per minute since the configuration started
+     */
+    public double getNodesPerMinute() {
+        final long endTime = mEndTime != 0 ? mEndTime : System.nanoTime();
+        final long elapsed = endTime - mStartTime;
+        if (mStartTime == 0 || elapsed <= 0)
+            return 0;
+        return mConfiguredCount * 60e9 / elapsed;
+    }
+
+    private void startPendingNodes() {
+        while (mRunning && mActiveSessions.size() < mMaxConcurrentNodes && !mPendingNodes.isEmpty()) {
+            final NodeSession session = new NodeSession(mPendingNodes.poll());
+            mActiveSessions.add(session);
+            session.sendStep();
+        }
+
+        if (mRunning && mActiveSessions.isEmpty()) {
+            mRunning = false;
+            mEndTime = System.nanoTime();
+            final double nodesPerMinute = getNodesPerMinute();
+            Log.v(TAG, "Configured " + mConfiguredCount + " nodes, " + mFailedCount + " failed, " + mRetryCount + " retries, "
+                    + String.format(Locale.US, "%.1f", nodesPerMinute) + " nodes/min");
+            if (mCallbacks != null) {
+                mCallbacks.onConfigurationCompleted(mConfiguredCount, mFailedCount, nodesPerMinute);
+            }
+        }
+    }
+
+    private void onSessionCompleted(final NodeSession session, final Throwable failure) {
+        if (!mActiveSessions.remove(session))
+            return;
+
+        if (failure == null) {
+            mConfiguredCount++;
+            if (mCallbacks != null) {
+                mCallbacks.onNodeConfigured(session.mMeshNode);
+            }
+        } else {
+            mFailedCount++;
+            Log.e(TAG, "Configuration of " + MeshParserUtils.bytesToHex(session.mMeshNode.getUnicastAddress(), true) + " failed: " + failure.getMessage());
+            if (mCallbacks != null) {
+                mCallbacks.onNodeFailed(session.mMeshNode, failure);
+            }
+        }
+        startPendingNodes();
+    }
+
+    /**
+     * Returns the reason a node rejected a configuration message or null if the message was successful
+     */
+    private static String getStatusError(final ConfigMessage status) {
+        if (status instanceof ConfigAppKeyStatus) {
+            final ConfigAppKeyStatus appKeyStatus = (ConfigAppKeyStatus) status;
+            //The app key may have been added in an earlier attempt whose status was lost
+            if (appKeyStatus.isSuccessful() || appKeyStatus.getStatus() == ConfigAppKeyStatus.AppKeyStatuses.KEY_INDEX_ALREADY_STORED.getStatusCode())
+                return null;
+            return appKeyStatus.getStatusMessage();
+        } else if (status instanceof ConfigModelAppStatus) {
+            final ConfigModelAppStatus appStatus = (ConfigModelAppStatus) status;
+            return appStatus.isSuccessful() ? null : appStatus.getStatusMessage();
+        } else if (status instanceof ConfigModelPublicationStatus) {
+            final ConfigModelPublicationStatus publicationStatus = (ConfigModelPublicationStatus) status;
+            return publicationStatus.isSuccessful() ? null : publicationStatus.getStatusMessage();
+        } else if (status instanceof ConfigModelSubscriptionStatus) {
+            final ConfigModelSubscriptionStatus subscriptionStatus = (ConfigModelSubscriptionStatus) status;
+            return subscriptionStatus.isSuccessful() ? null : subscriptionStatus.getStatusMessage();
+        }
+        return null;
+    }
+
+    /**
+     * A configuration message sent to a node
+     */
+    private interface Step {
+
+        ConfigurationFuture<? extends ConfigMessage> send();
+    }
+
+    /**
+     * Configuration state of a single node
+     */
+    private final class NodeSession {
+        private final ProvisionedMeshNode mMeshNode;
+        private final List<Step> mSteps = new ArrayList<>();
+        private int mCurrentStep;
+        private int mAttempt;
+        private ConfigurationFuture<? extends ConfigMessage> mCurrentFuture;
+
+        NodeSession(final ProvisionedMeshNode meshNode) {
+            mMeshNode = meshNode;
+            mSteps.add(this::getCompositionData);
+        }
+
+        /**
+         * Applies the composition data cached for the identifiers of the template, or reads the composition data. A node whose
+         * composition data has already been read with other identifiers than the template is always read.
+         */
+        private ConfigurationFuture<? extends ConfigMessage> getCompositionData() {
+            final int companyIdentifier = mTemplate.getCompanyIdentifier();
+            final int productIdentifier = mTemplate.getProductIdentifier();
+            final int versionIdentifier = mTemplate.getVersionIdentifier();
+            if (mTemplate.isCompositionDataIdentitySet()
+                    && mMeshNode.acceptsCompositionData(companyIdentifier, productIdentifier, versionIdentifier)
+                    && mClient.applyCachedCompositionData(mMeshNode, companyIdentifier, productIdentifier, versionIdentifier)) {
+                final ConfigurationFuture<ConfigMessage> future = new ConfigurationFuture<>();
+                future.complete(null);
+                return future;
+            }
+            return mClient.getCompositionData(mMeshNode);
+        }
+
+        private void sendStep() {
+            final Step step = mSteps.get(mCurrentStep);
+            mCurrentFuture = step.send();
+            mCurrentFuture.whenComplete((status, failure) -> onStepCompleted(status, failure));
+        }
+
+        private void cancel() {
+            if (mCurrentFuture != null) {
+                mCurrentFuture.cancel(false);
+            }
+        }
+
+        private void onStepCompleted(final ConfigMessage status, final Throwable failure) {
+            if (!mActiveSessions.contains(this))
+                return;
+
+            if (failure != null) {
+                //Only a step whose status was not received is retried, a cancelled or undeliverable step fails the node
+                if (failure instanceof TimeoutException && mAttempt < mMaxRetries) {
+                    mAttempt++;
+                    mRetryCount++;
+                    Log.v(TAG, "Retrying step " + (mCurrentStep + 1) + " of " + MeshParserUtils.bytesToHex(mMeshNode.getUnicastAddress(), true)
+                            + ", attempt " + (mAttempt + 1));
+                    sendStep();
+                } else {
+                    onSessionCompleted(this, failure);
+                }
+                return;
+            }
+
+            final String error = getStatusError(status);
+            if (error != null) {
+                onSessionCompleted(this, new IllegalStateException(error));
+                return;
+            }
+
+            if (mCurrentStep == 0) {
+                addSteps();
+            }
+            mCurrentStep++;
+            mAttempt = 0;
+            if (mCallbacks != null) {
+                mCallbacks.onNodeProgress(mMeshNode, mCurrentStep, mSteps.size());
+            }
+
+            if (mCurrentStep < mSteps.size()) {
+                sendStep();
+            } else {
+                onSessionCompleted(this, null);
+            }
+        }
+
+        /**
+         * Adds the steps configuring the elements the node has been updated with from the composition data
+         */
+        private void addSteps() {
+            final int appKeyIndex = mTemplate.getAppKeyIndex();
+            mSteps.add(() -> mClient.addAppKey(mMeshNode, appKeyIndex, mTemplate.getAppKey()));
+            for (Element element : mMeshNode.getElements().values()) {
+                final byte[] elementAddress = element.getElementAddress();
+                for (ModelConfiguration modelConfiguration : mTemplate.getModelConfigurations()) {
+                    final MeshModel model = element.getMeshModels().get(modelConfiguration.getModelId());
+                    if (model == null)
+                        continue;
+
+                    if (modelConfiguration.isBindAppKey()) {
+                        mSteps.add(() -> mClient.bindAppKey(mMeshNode, elementAddress, model, appKeyIndex));
+                    }
+                    if (modelConfiguration.getPublishAddress() != null) {
+                        mSteps.add(() -> mClient.setPublication(mMeshNode, elementAddress, appKeyIndex, modelConfiguration));
+                    }
+                    for (byte[] subscriptionAddress : modelConfiguration.getSubscriptionAddresses()) {
+                        mSteps.add(() -> mClient.addSubscriptionAddress(mMeshNode, elementAddress, subscriptionAddress, modelConfiguration.getModelId()));
+                    }
+                }
+            }
+        }
+    }
+}
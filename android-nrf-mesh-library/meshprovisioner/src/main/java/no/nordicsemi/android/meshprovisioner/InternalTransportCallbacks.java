@@ -1,7 +0,0 @@
-package no.nordicsemi.android.meshprovisioner;
-
-public interface InternalTransportCallbacks {
-
-    void sendPdu(final BaseMeshNode meshnode, final byte[] pdu);
-
-}
@@ -1,7 +1,13 @@
 package no.nordicsemi.android.meshprovisioner;
 
 import android.content.Context;
+import android.os.Handler;
+import android.util.Log;
 
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+
+import no.nordicsemi.android.meshprovisioner.ConfigTransactionMultiplexer.ConfigTransaction;
 import no.nordicsemi.android.meshprovisioner.configuration.ConfigAppKeyAdd;
 import no.nordicsemi.android.meshprovisioner.configuration.ConfigAppKeyStatus;
 import no.nordicsemi.android.meshprovisioner.configuration.ConfigCompositionDataGet;
@@ -16,59 +22,90 @@ import no.nordicsemi.android.meshprovisioner.configuration.ConfigModelSubscripti
 import no.nordicsemi.android.meshprovisioner.configuration.ConfigModelSubscriptionStatus;
 import no.nordicsemi.android.meshprovisioner.configuration.ProvisionedMeshNode;
 import no.nordicsemi.android.meshprovisioner.opcodes.ConfigMessageOpCodes;
+import no.nordicsemi.android.meshprovisioner.transport.LowerTransportLayer;
+import no.nordicsemi.android.meshprovisioner.transport.NetworkPduFilter;
+import no.nordicsemi.android.meshprovisioner.transport.SegmentReassembler;
+import no.nordicsemi.android.meshprovisioner.transport.SegmentTransmitter;
+import no.nordicsemi.android.meshprovisioner.utils.AddressUtils;
+import no.nordicsemi.android.meshprovisioner.utils.MeshParserUtils;
 
 class MeshConfigurationHandler {
 
     private static final String TAG = MeshConfigurationHandler.class.getSimpleName();
+    /**
+     * Time in milliseconds a node is given to respond with a status, this covers the retransmissions of a segmented message
+     */
+    private static final long STATUS_TIMEOUT = 10000;
+    /**
+     * Time in milliseconds added for every hop the message and the status may be relayed over
+     */
+    private static final long HOP_TIMEOUT = 200;
 
     private final Context mContext;
     private final InternalTransportCallbacks mInternalTransportCallbacks;
     private final InternalMeshManagerCallbacks mInternalMeshManagerCallbacks;
+    private final NetworkPduFilter mNetworkPduFilter;
+    private final ConfigTransactionMultiplexer mTransactions = new ConfigTransactionMultiplexer();
+    //Shared by all configuration messages so that acknowledgements reach the message that was sent whichever message parses them
+    private final SegmentTransmitter mSegmentTransmitter = new SegmentTransmitter();
+    //Shared so that segments are reassembled whichever message parses them and statuses of several nodes are reassembled at the same time
+    private final SegmentReassembler mAccessReassembler = LowerTransportLayer.createAccessReassembler();
+    private final SegmentReassembler mControlReassembler = LowerTransportLayer.createControlReassembler();
+    private final Handler mHandler;
     private MeshConfigurationStatusCallbacks mStatusCallbacks;
     private ConfigMessage configMessage;
 
-    MeshConfigurationHandler(final Context context, final InternalTransportCallbacks internalTransportCallbacks, final InternalMeshManagerCallbacks internalMeshManagerCallbacks) {
+    MeshConfigurationHandler(final Context context, final InternalTransportCallbacks internalTransportCallbacks, final InternalMeshManagerCallbacks internalMeshManagerCallbacks,
+                             final NetworkPduFilter networkPduFilter) {
         this.mContext = context;
         this.mInternalTransportCallbacks = internalTransportCallbacks;
         this.mInternalMeshManagerCallbacks = internalMeshManagerCallbacks;
+        this.mNetworkPduFilter = networkPduFilter;
+        this.mHandler = new Handler(context.getMainLooper());
     }
 
     public void setConfigurationCallbacks(final MeshConfigurationStatusCallbacks statusCallbacks) {
         this.mStatusCallbacks = statusCallbacks;
     }
 
-    protected void handleConfigurationWriteCallbacks(final ProvisionedMeshNode meshNode, final byte[] pdu) {
-        switch (configMessage.getState()) {
-            case COMPOSITION_DATA_GET:
-                //Composition data get complete,
-                //We directly switch to next state because there is no acknowledgements involved
-                //configMessage = new ConfigCompositionDataStatus(mContext, mMeshNode, mInternalTransportCallbacks, mStatusCallbacks);
-                break;
-            case APP_KEY_ADD:
-                break;
-            case APP_KEY_STATUS:
-                //TODO check app key status block ack
-                //Block ack for app key status sent
-                break;
-            case CONFIG_MODEL_APP_BIND:
-                final ConfigModelAppBind appBind = (ConfigModelAppBind) configMessage;
-                configMessage = new ConfigModelAppStatus(mContext, meshNode, mInternalTransportCallbacks, mStatusCallbacks);
-                break;
-            case CONFIG_MODEL_APP_STATUS:
-                break;
-            case CONFIG_MODEL_PUBLICATION_SET:
-                break;
-            case CONFIG_MODEL_SUBSCRIPTION_ADD:
-                break;
-        }
+    /**
+     * Sets the number of configuration messages that may be waiting for a status at the same time
+     *
+     * @param concurrencyWindow concurrency window
+     */
+    void setConcurrencyWindow(final int concurrencyWindow) {
+        mTransactions.setConcurrencyWindow(concurrencyWindow);
+    }
+
+    /**
+     * Cancels every configuration transaction in flight or queued, their futures fail with a {@link java.util.concurrent.CancellationException}
+     */
+    void cancelTransactions() {
+        mTransactions.clear();
     }
 
-    protected void parseConfigurationNotifications(final ProvisionedMeshNode meshNode, final byte[] pdu) {
+    /**
+     * Routes a network pdu to the configuration transaction in flight to the node it was received from
+     *
+     * @param src unicast address of the node the pdu was received from
+     * @param pdu network pdu
+     */
+    protected void parseConfigurationNotifications(final int src, final byte[] pdu) {
+        final ConfigTransaction transaction = mTransactions.getTransaction(src);
+        if (transaction == null) {
+            Log.v(TAG, "No configuration message in flight to " + MeshParserUtils.bytesToHex(AddressUtils.getUnicastAddressBytes(src), true) + ", dropping pdu");
+            return;
+        }
+
+        final ProvisionedMeshNode meshNode = transaction.getMeshNode();
+        final ConfigMessage configMessage = transaction.getConfigMessage();
         switch (configMessage.getState()) {
             case COMPOSITION_DATA_STATUS:
                 final ConfigCompositionDataStatus compositionDataStatus = (ConfigCompositionDataStatus) configMessage;
                 compositionDataStatus.parseData(pdu);
-                mInternalMeshManagerCallbacks.onUnicastAddressChanged(compositionDataStatus.getUnicastAddress());
+                if (compositionDataStatus.isStatusReceived()) {
+                    mInternalMeshManagerCallbacks.onUnicastAddressChanged(compositionDataStatus.getUnicastAddress());
+                }
                 break;
             case APP_KEY_ADD:
                 //TODO check for acknowledged message if the peer has received everything.
@@ -78,16 +115,11 @@ class MeshConfigurationHandler {
                 configAppKeyAdd.parseData(pdu);
 
                 //App key add block ack received, switch to next app key add status state.
-                configMessage = new ConfigAppKeyStatus(mContext, meshNode, configAppKeyAdd.getSrc(), configAppKeyAdd.getAppKey(), mInternalTransportCallbacks, mStatusCallbacks);
+                setConfigMessage(transaction, new ConfigAppKeyStatus(mContext, meshNode, configAppKeyAdd.getSrc(), configAppKeyAdd.getAppKey(), mInternalTransportCallbacks, mStatusCallbacks));
                 break;
             case APP_KEY_STATUS:
                 ((ConfigAppKeyStatus) configMessage).parseData(pdu);
                 break;
-            case CONFIG_MODEL_APP_BIND:
-                final ConfigModelAppBind configModelAppBind = ((ConfigModelAppBind) configMessage);
-                configModelAppBind.parseData(pdu);
-                //publication set block ack received, switch to next state.
-                configMessage = new ConfigModelAppStatus(mContext, meshNode, mInternalTransportCallbacks, mStatusCallbacks);
             case CONFIG_MODEL_APP_STATUS:
                 ((ConfigModelAppStatus) configMessage).parseData(pdu);
                 break;
@@ -96,24 +128,37 @@ class MeshConfigurationHandler {
                 configModelPublicationSet.parseData(pdu);
                 //TODO check for acknowledged message if the peer has received everything
                 //publication set block ack received, switch to next state.
-                configMessage = new ConfigModelPublicationStatus(mContext, meshNode, mInternalTransportCallbacks, mStatusCallbacks);
+                setConfigMessage(transaction, new ConfigModelPublicationStatus(mContext, meshNode, mInternalTransportCallbacks, mStatusCallbacks));
                 break;
             case CONFIG_MODEL_PUBLICATION_STATUS:
                 final ConfigModelPublicationStatus configModelPublicationStatus = (ConfigModelPublicationStatus) configMessage;
                 configModelPublicationStatus.parseData(pdu);
                 break;
-            case CONFIG_MODEL_SUBSCRIPTION_ADD:
-                //TODO check for acknowledged message if the peer has received everything
-                //subscription add block ack received, switch to next state.
-                //configMessage = new ConfigModelSubscriptionStatus(mContext, meshNode, ConfigMessageOpCodes.CONFIG_MODEL_SUBSCRIPTION_ADD, mInternalTransportCallbacks, mStatusCallbacks);
-                break;
-            case CONFIG_MODEL_SUBSCRIPTION_DELETE:
-                break;
             case CONFIG_MODEL_SUBSCRIPTION_STATUS:
                 final ConfigModelSubscriptionStatus configModelSubscriptionStatus = (ConfigModelSubscriptionStatus) configMessage;
                 configModelSubscriptionStatus.parseData(pdu);
                 break;
         }
+
+        if (transaction.getConfigMessage().isStatusReceived()) {
+            completeFuture(transaction);
+        }
+    }
+
+    /**
+     * Returns the time a node is given to respond with a status
+     *
+     * @param ttl default ttl of the node, the status is relayed over at most this many hops
+     * @return timeout in milliseconds
+     */
+    static long getStatusTimeout(final int ttl) {
+        //The message may be relayed over ttl hops to the node and the status over ttl hops back
+        return STATUS_TIMEOUT + 2L * Math.max(ttl, 0) * HOP_TIMEOUT;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void completeFuture(final ConfigTransaction transaction) {
+        ((ConfigurationFuture<ConfigMessage>) transaction.getFuture()).complete(transaction.getConfigMessage());
     }
 
     public ConfigMessage.ConfigMessageState getConfigurationState() {
@@ -126,23 +171,48 @@ class MeshConfigurationHandler {
      * @param meshNode mMeshNode to configure
      * @param aszmic   1 or 0 where 1 will create a message with a transport mic length of 8 and 4 if zero
      */
-    public void sendCompositionDataGet(final ProvisionedMeshNode meshNode, final int aszmic) {
-        final ConfigCompositionDataGet compositionDataGet = new ConfigCompositionDataGet(mContext,
-                meshNode, aszmic, mInternalTransportCallbacks, mStatusCallbacks);
-        configMessage = compositionDataGet;
-        compositionDataGet.executeSend();
-        configMessage = new ConfigCompositionDataStatus(mContext, meshNode, mInternalTransportCallbacks, mStatusCallbacks);
+    public ConfigurationFuture<ConfigCompositionDataStatus> sendCompositionDataGet(final ProvisionedMeshNode meshNode, final int aszmic) {
+        return startTransaction(meshNode, ConfigMessageOpCodes.CONFIG_COMPOSITION_DATA_GET,
+                new int[0], transaction -> {
+            final ConfigCompositionDataGet compositionDataGet = new ConfigCompositionDataGet(mContext,
+                    meshNode, aszmic, mInternalTransportCallbacks, mStatusCallbacks);
+            setConfigMessage(transaction, compositionDataGet);
+            compositionDataGet.executeSend();
+            setConfigMessage(transaction, new ConfigCompositionDataStatus(mContext, meshNode, mInternalTransportCallbacks, mStatusCallbacks));
+        });
+    }
+
+    /**
+     * Applies the composition data cached for nodes with the same identifiers instead of sending a composition data get message
+     *
+     * @param meshNode          mesh node to configure
+     * @param companyIdentifier 16-bit company identifier of the node
+     * @param productIdentifier 16-bit product identifier of the node
+     * @param versionIdentifier 16-bit version identifier of the node
+     * @return true if cached composition data was found and applied
+     */
+    public boolean applyCachedCompositionData(final ProvisionedMeshNode meshNode, final int companyIdentifier,
+                                              final int productIdentifier, final int versionIdentifier) {
+        final ConfigCompositionDataStatus compositionDataStatus = new ConfigCompositionDataStatus(mContext, meshNode, mInternalTransportCallbacks, mStatusCallbacks);
+        if (!compositionDataStatus.applyCachedCompositionData(companyIdentifier, productIdentifier, versionIdentifier))
+            return false;
+
+        mInternalMeshManagerCallbacks.onUnicastAddressChanged(compositionDataStatus.getUnicastAddress());
+        return true;
     }
 
     /**
      * Send App key add message to the node.
      */
-    public void sendAppKeyAdd(final ProvisionedMeshNode meshNode, final int appKeyIndex, final String appKey, final int aszmic) {
-        final ConfigAppKeyAdd configAppKeyAdd = new ConfigAppKeyAdd(mContext, meshNode, aszmic, appKey, appKeyIndex);
-        configAppKeyAdd.setTransportCallbacks(mInternalTransportCallbacks);
-        configAppKeyAdd.setConfigurationStatusCallbacks(mStatusCallbacks);
-        configMessage = configAppKeyAdd;
-        configAppKeyAdd.executeSend();
+    public ConfigurationFuture<ConfigAppKeyStatus> sendAppKeyAdd(final ProvisionedMeshNode meshNode, final int appKeyIndex, final String appKey, final int aszmic) {
+        return startTransaction(meshNode, ConfigMessageOpCodes.CONFIG_APPKEY_ADD,
+                new int[]{appKeyIndex}, transaction -> {
+            final ConfigAppKeyAdd configAppKeyAdd = new ConfigAppKeyAdd(mContext, meshNode, aszmic, appKey, appKeyIndex);
+            configAppKeyAdd.setTransportCallbacks(mInternalTransportCallbacks);
+            configAppKeyAdd.setConfigurationStatusCallbacks(mStatusCallbacks);
+            setConfigMessage(transaction, configAppKeyAdd);
+            configAppKeyAdd.executeSend();
+        });
     }
 
     /**
@@ -153,14 +223,19 @@ class MeshConfigurationHandler {
      * @param modelIdentifier identifier of the model. This could be 16-bit SIG Model or a 32-bit Vendor model identifier
      * @param appKeyIndex     application key index
      */
-    public void bindAppKey(final ProvisionedMeshNode meshNode, final int aszmic,
-                           final byte[] elementAddress, final int modelIdentifier, final int appKeyIndex) {
-        final ConfigModelAppBind configModelAppBind = new ConfigModelAppBind(mContext, meshNode, aszmic,
-                elementAddress, modelIdentifier, appKeyIndex);
-        configModelAppBind.setTransportCallbacks(mInternalTransportCallbacks);
-        configModelAppBind.setConfigurationStatusCallbacks(mStatusCallbacks);
-        configMessage = configModelAppBind;
-        configModelAppBind.executeSend();
+    public ConfigurationFuture<ConfigModelAppStatus> bindAppKey(final ProvisionedMeshNode meshNode, final int aszmic,
+                                                                final byte[] elementAddress, final int modelIdentifier, final int appKeyIndex) {
+        return startTransaction(meshNode, ConfigMessageOpCodes.CONFIG_MODEL_APP_BIND,
+                new int[]{AddressUtils.getUnicastAddressInt(elementAddress), modelIdentifier, appKeyIndex}, transaction -> {
+            final ConfigModelAppBind configModelAppBind = new ConfigModelAppBind(mContext, meshNode, aszmic,
+                    elementAddress, modelIdentifier, appKeyIndex);
+            configModelAppBind.setTransportCallbacks(mInternalTransportCallbacks);
+            configModelAppBind.setConfigurationStatusCallbacks(mStatusCallbacks);
+            setConfigMessage(transaction, configModelAppBind);
+            configModelAppBind.executeSend();
+            //App key bind is not segmented, so the next pdu received is the status
+            setConfigMessage(transaction, new ConfigModelAppStatus(mContext, meshNode, mInternalTransportCallbacks, mStatusCallbacks));
+        });
     }
 
     /**
@@ -176,48 +251,114 @@ class MeshConfigurationHandler {
      * @param publishRetransmitCount         Number of retransmissions for each published message
      * @param publishRetransmitIntervalSteps Number of 50-millisecond steps between retransmissions
      */
-    public void setConfigModelPublishAddress(final ProvisionedMeshNode meshNode, final int aszmic,
-                                             final byte[] elementAddress, final byte[] publishAddress,
-                                             final int appKeyIndex, final int modelIdentifier, final int credentialFlag, final int publishTtl,
-                                             final int publishPeriod, final int publishRetransmitCount, final int publishRetransmitIntervalSteps) {
-        final ConfigModelPublicationSet configModelPublicationSet = new ConfigModelPublicationSet.
-                Builder(mContext, meshNode, mInternalTransportCallbacks, mStatusCallbacks).
-                withAszmic(aszmic).
-                withElementAddress(elementAddress).
-                withPublishAddress(publishAddress).
-                withAppKeyIndex(appKeyIndex).
-                withModelIdentifier(modelIdentifier).
-                withCredentialFlag(credentialFlag).
-                withPublishTtl(publishTtl).
-                withPublishPeriod(publishPeriod).
-                withPublishRetransmitCount(publishRetransmitCount).
-                withPublishRetransmitIntervalSteps(publishRetransmitIntervalSteps).
-                build();
-        configMessage = configModelPublicationSet;
-        configModelPublicationSet.executeSend();
+    public ConfigurationFuture<ConfigModelPublicationStatus> setConfigModelPublishAddress(final ProvisionedMeshNode meshNode, final int aszmic,
+                                                                                          final byte[] elementAddress, final byte[] publishAddress,
+                                                                                          final int appKeyIndex, final int modelIdentifier, final int credentialFlag, final int publishTtl,
+                                                                                          final int publishPeriod, final int publishRetransmitCount, final int publishRetransmitIntervalSteps) {
+        return startTransaction(meshNode, ConfigMessageOpCodes.CONFIG_MODEL_PUBLICATION_SET,
+                new int[]{AddressUtils.getUnicastAddressInt(elementAddress), modelIdentifier}, transaction -> {
+            final ConfigModelPublicationSet configModelPublicationSet = new ConfigModelPublicationSet.
+                    Builder(mContext, meshNode, mInternalTransportCallbacks, mStatusCallbacks).
+                    withAszmic(aszmic).
+                    withElementAddress(elementAddress).
+                    withPublishAddress(publishAddress).
+                    withAppKeyIndex(appKeyIndex).
+                    withModelIdentifier(modelIdentifier).
+                    withCredentialFlag(credentialFlag).
+                    withPublishTtl(publishTtl).
+                    withPublishPeriod(publishPeriod).
+                    withPublishRetransmitCount(publishRetransmitCount).
+                    withPublishRetransmitIntervalSteps(publishRetransmitIntervalSteps).
+                    build();
+            setConfigMessage(transaction, configModelPublicationSet);
+            configModelPublicationSet.executeSend();
+        });
     }
 
     /**
      * Send App key add message to the node.
      */
-    public void addSubscriptionAddress(final ProvisionedMeshNode meshNode, final int aszmic, final byte[] elementAddress, final byte[] subscriptionAddress,
-                                       final int modelIdentifier) {
-        final ConfigModelSubscriptionAdd configModelSubscriptionAdd = new ConfigModelSubscriptionAdd(mContext, meshNode, aszmic, elementAddress, subscriptionAddress, modelIdentifier);
-        configModelSubscriptionAdd.setTransportCallbacks(mInternalTransportCallbacks);
-        configModelSubscriptionAdd.setConfigurationStatusCallbacks(mStatusCallbacks);
-        configModelSubscriptionAdd.executeSend();
-        configMessage = new ConfigModelSubscriptionStatus(mContext, meshNode, ConfigMessageOpCodes.CONFIG_MODEL_SUBSCRIPTION_ADD, mInternalTransportCallbacks, mStatusCallbacks);
+    public ConfigurationFuture<ConfigModelSubscriptionStatus> addSubscriptionAddress(final ProvisionedMeshNode meshNode, final int aszmic, final byte[] elementAddress, final byte[] subscriptionAddress,
+                                                                                     final int modelIdentifier) {
+        return startTransaction(meshNode, ConfigMessageOpCodes.CONFIG_MODEL_SUBSCRIPTION_ADD,
+                new int[]{AddressUtils.getUnicastAddressInt(elementAddress), AddressUtils.getUnicastAddressInt(subscriptionAddress), modelIdentifier}, transaction -> {
+            final ConfigModelSubscriptionAdd configModelSubscriptionAdd = new ConfigModelSubscriptionAdd(mContext, meshNode, aszmic, elementAddress, subscriptionAddress, modelIdentifier);
+            configModelSubscriptionAdd.setTransportCallbacks(mInternalTransportCallbacks);
+            configModelSubscriptionAdd.setConfigurationStatusCallbacks(mStatusCallbacks);
+            setConfigMessage(transaction, configModelSubscriptionAdd);
+            configModelSubscriptionAdd.executeSend();
+            setConfigMessage(transaction, new ConfigModelSubscriptionStatus(mContext, meshNode, ConfigMessageOpCodes.CONFIG_MODEL_SUBSCRIPTION_ADD, mInternalTransportCallbacks, mStatusCallbacks));
+        });
     }
 
     /**
      * Send App key add message to the node.
      */
-    public void deleteSubscriptionAddress(final ProvisionedMeshNode meshNode, final int aszmic, final byte[] elementAddress, final byte[] subscriptionAddress,
-                                          final int modelIdentifier) {
-        final ConfigModelSubscriptionDelete configModelSubscriptionDelete = new ConfigModelSubscriptionDelete(mContext, meshNode, aszmic, elementAddress, subscriptionAddress, modelIdentifier);
-        configModelSubscriptionDelete.setTransportCallbacks(mInternalTransportCallbacks);
-        configModelSubscriptionDelete.setConfigurationStatusCallbacks(mStatusCallbacks);
-        configModelSubscriptionDelete.executeSend();
-        configMessage = new ConfigModelSubscriptionStatus(mContext, meshNode, ConfigMessageOpCodes.CONFIG_MODEL_SUBSCRIPTION_DELETE, mInternalTransportCallbacks, mStatusCallbacks);
+    public ConfigurationFuture<ConfigModelSubscriptionStatus> deleteSubscriptionAddress(final ProvisionedMeshNode meshNode, final int aszmic, final byte[] elementAddress, final byte[] subscriptionAddress,
+                                                                                        final int modelIdentifier) {
+        return startTransaction(meshNode, ConfigMessageOpCodes.CONFIG_MODEL_SUBSCRIPTION_DELETE,
+                new int[]{AddressUtils.getUnicastAddressInt(elementAddress), AddressUtils.getUnicastAddressInt(subscriptionAddress), modelIdentifier}, transaction -> {
+            final ConfigModelSubscriptionDelete configModelSubscriptionDelete = new ConfigModelSubscriptionDelete(mContext, meshNode, aszmic, elementAddress, subscriptionAddress, modelIdentifier);
+            configModelSubscriptionDelete.setTransportCallbacks(mInternalTransportCallbacks);
+            configModelSubscriptionDelete.setConfigurationStatusCallbacks(mStatusCallbacks);
+            setConfigMessage(transaction, configModelSubscriptionDelete);
+            configModelSubscriptionDelete.executeSend();
+            setConfigMessage(transaction, new ConfigModelSubscriptionStatus(mContext, meshNode, ConfigMessageOpCodes.CONFIG_MODEL_SUBSCRIPTION_DELETE, mInternalTransportCallbacks, mStatusCallbacks));
+        });
+    }
+
+    /**
+     * Starts or queues a configuration transaction
+     *
+     * @param meshNode          node to be configured
+     * @param requestOpcode     opcode of the request message
+     * @param requestParameters parameters selecting the target of the request, a transaction repeating the same request replaces the existing one
+     * @param sender            sends the message when the transaction is started
+     */
+    private <T extends ConfigMessage> ConfigurationFuture<T> startTransaction(final ProvisionedMeshNode meshNode, final int requestOpcode,
+                                                                            final int[] requestParameters, final ConfigTransactionMultiplexer.Sender sender) {
+        final int dst = AddressUtils.getUnicastAddressInt(meshNode.getUnicastAddress());
+        final ConfigurationFuture<T> future = new ConfigurationFuture<>();
+        final ConfigTransaction configTransaction = new ConfigTransaction(meshNode, dst, requestOpcode, transaction -> {
+            sender.send(transaction);
+            startStatusTimer(transaction);
+        }, future, requestParameters);
+        //The slot of the transaction is freed however the future completes, including when the caller cancels it
+        future.whenComplete((result, failure) -> mTransactions.complete(configTransaction));
+        if (!mTransactions.enqueue(configTransaction)) {
+            Log.v(TAG, "Configuration message to " + MeshParserUtils.bytesToHex(meshNode.getUnicastAddress(), true) + " queued, "
+                    + mTransactions.getInFlightCount() + " in flight");
+        }
+        return future;
+    }
+
+    /**
+     * Fails the transaction if the node does not respond with the expected status in time
+     */
+    private void startStatusTimer(final ConfigTransaction transaction) {
+        final long timeout = getStatusTimeout(transaction.getMeshNode().getTtl());
+        mHandler.postDelayed(() -> {
+            if (transaction.getFuture().isDone())
+                return;
+            Log.e(TAG, "No status received from " + MeshParserUtils.bytesToHex(transaction.getMeshNode().getUnicastAddress(), true) + " within " + timeout + " ms");
+            failTransaction(transaction, new TimeoutException("No status received within " + timeout + " ms"));
+        }, timeout);
+    }
+
+    /**
+     * Fails a transaction, completing its future starts the pending ones the concurrency window allows
+     */
+    private static void failTransaction(final ConfigTransaction transaction, final Throwable failure) {
+        transaction.getFuture().completeExceptionally(failure);
+    }
+
+    private void setConfigMessage(final ConfigTransaction transaction, final ConfigMessage message) {
+        message.setNetworkPduFilter(mNetworkPduFilter);
+        message.setSegmentTransmitter(mSegmentTransmitter);
+        message.setSegmentReassemblers(mAccessReassembler, mControlReassembler);
+        //A message that could not be delivered will never be answered with a status
+        message.setDeliveryCallbacks(configMessage -> failTransaction(transaction, new IOException("Configuration message could not be delivered or its status was not received")));
+        transaction.setConfigMessage(message);
+        configMessage = message;
     }
 }
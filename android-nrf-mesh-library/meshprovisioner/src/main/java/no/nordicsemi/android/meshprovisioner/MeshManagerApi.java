@@ -8,6 +8,7 @@ import android.util.Log;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 
+import java.io.File;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.ArrayList;
@@ -19,26 +20,47 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.WeakHashMap;
 
+import no.nordicsemi.android.meshprovisioner.configuration.CompositionDataCache;
+import no.nordicsemi.android.meshprovisioner.configuration.ConfigAppKeyStatus;
+import no.nordicsemi.android.meshprovisioner.configuration.ConfigCompositionDataStatus;
 import no.nordicsemi.android.meshprovisioner.configuration.ConfigMessage;
+import no.nordicsemi.android.meshprovisioner.configuration.ConfigModelAppStatus;
+import no.nordicsemi.android.meshprovisioner.configuration.ConfigModelPublicationStatus;
+import no.nordicsemi.android.meshprovisioner.configuration.ConfigModelSubscriptionStatus;
+import no.nordicsemi.android.meshprovisioner.configuration.JournalMeshNodeStore;
 import no.nordicsemi.android.meshprovisioner.configuration.MeshModel;
+import no.nordicsemi.android.meshprovisioner.configuration.MeshNodeStore;
 import no.nordicsemi.android.meshprovisioner.configuration.ProvisionedMeshNode;
 import no.nordicsemi.android.meshprovisioner.configuration.SequenceNumber;
+import no.nordicsemi.android.meshprovisioner.platform.AndroidMeshLogger;
+import no.nordicsemi.android.meshprovisioner.platform.MeshLog;
+import no.nordicsemi.android.meshprovisioner.platform.SharedPreferencesMeshStorage;
+import no.nordicsemi.android.meshprovisioner.states.ProvisioningState;
+import no.nordicsemi.android.meshprovisioner.transport.NetworkPduFilter;
+import no.nordicsemi.android.meshprovisioner.transport.ProxyPduReassembler;
+import no.nordicsemi.android.meshprovisioner.transport.ProxyPduSegmenter;
+import no.nordicsemi.android.meshprovisioner.transport.ReplayProtectionList;
 import no.nordicsemi.android.meshprovisioner.utils.AddressUtils;
 import no.nordicsemi.android.meshprovisioner.utils.InterfaceAdapter;
 import no.nordicsemi.android.meshprovisioner.utils.MeshParserUtils;
+import no.nordicsemi.android.meshprovisioner.utils.NetworkAdvertisementClassifier;
+import no.nordicsemi.android.meshprovisioner.utils.NetworkKeyRegistry;
+import no.nordicsemi.android.meshprovisioner.utils.NodeIdentityResolver;
 import no.nordicsemi.android.meshprovisioner.utils.SecureUtils;
 
 
 public class MeshManagerApi implements InternalTransportCallbacks, InternalMeshManagerCallbacks {
 
-    public static final byte PDU_TYPE_PROVISIONING = 0x03;
+    public static final byte PDU_TYPE_PROVISIONING = ProvisioningState.PDU_TYPE_PROVISIONING;
     /**
      * Mesh provisioning service UUID
      */
     public final static UUID MESH_PROXY_UUID = UUID.fromString("00001828-0000-1000-8000-00805F9B34FB");
     private static final String TAG = MeshManagerApi.class.getSimpleName();
     private static final String PROVISIONED_NODES_FILE = "PROVISIONED_FILES";
+    private static final String PROVISIONED_NODES_JOURNAL = "mesh_nodes.journal";
     //PDU types
     private static final byte PDU_TYPE_NETWORK = 0x00;
     private static final byte PDU_TYPE_MESH_BEACON = 0x01;
@@ -50,7 +72,6 @@ public class MeshManagerApi implements InternalTransportCallbacks, InternalMeshM
     private static final byte GATT_SAR_END = 0b11;
     //GATT level segmentation mask
     private static final int GATT_SAR_MASK = 0xC0;
-    private static final int GATT_SAR_UNMASK = 0x3F;
     private static final int SAR_BIT_OFFSET = 6;
     /**
      * Length of the random number required to calculate the hash containing the node id
@@ -84,24 +105,76 @@ public class MeshManagerApi implements InternalTransportCallbacks, InternalMeshM
     private final static int ADVERTISED_NETWWORK_ID_LENGTH = 8;
     private final Map<Integer, ProvisionedMeshNode> mProvisionedNodes = new LinkedHashMap<>();
     private final ProvisioningSettings mProvisioningSettings;
+    private final MeshNodeStore mMeshNodeStore;
+    private final ConfigurationFuture<Void> mNetworkLoadFuture = new ConfigurationFuture<>();
+    private long mNetworkLoadTime;
+    private volatile long mNetworkHydrationTime;
     private Context mContext;
     private Gson mGson;
     private int mGlobalTtl = 7;
     private MeshManagerTransportCallbacks mTransportCallbacks;
     private MeshProvisioningHandler mMeshProvisioningHandler;
+    private UnicastAddressAllocator mUnicastAddressAllocator;
     private MeshConfigurationHandler mMeshConfigurationHandler;
-    private byte[] mIncomingBuffer;
-    private int mIncomingBufferOffset;
-    private byte[] mOutgoingBuffer;
-    private int mOutgoingBufferOffset;
+    private final NetworkPduFilter mNetworkPduFilter = new NetworkPduFilter(NetworkKeyRegistry.getInstance());
+    private final Map<BaseMeshNode, ProxyPduReassembler> mNotificationReassemblers = new WeakHashMap<>();
+    private final Map<BaseMeshNode, ProxyPduReassembler> mWriteReassemblers = new WeakHashMap<>();
+    private final ProxyPduSegmenter mProxyPduSegmenter = new ProxyPduSegmenter();
+    private final NodeIdentityResolver mNodeIdentityResolver = new NodeIdentityResolver();
+    private final NetworkAdvertisementClassifier mAdvertisementClassifier = new NetworkAdvertisementClassifier(NetworkKeyRegistry.getInstance());
 
     public MeshManagerApi(final Context context) {
+        this(context, false);
+    }
+
+    /**
+     * Creates the mesh manager api storing the provisioned nodes in the default node journal
+     *
+     * @param context  context
+     * @param lazyLoad true to read the elements and models of the nodes in the background
+     */
+    public MeshManagerApi(final Context context, final boolean lazyLoad) {
+        this(context, new JournalMeshNodeStore(new File(context.getFilesDir(), PROVISIONED_NODES_JOURNAL)), lazyLoad);
+    }
+
+    /**
+     * Creates the mesh manager api storing the provisioned nodes in the given store
+     *
+     * @param context       context
+     * @param meshNodeStore store the provisioned nodes are loaded from and saved to
+     */
+    public MeshManagerApi(final Context context, final MeshNodeStore meshNodeStore) {
+        this(context, meshNodeStore, false);
+    }
+
+    /**
+     * Creates the mesh manager api storing the provisioned nodes in the given store.
+     * <p>
+     * When loading lazily only the addresses, keys and identifiers of the nodes are read on the calling thread. The elements,
+     * models and app keys of every node are read on a background thread or when they are first accessed,
+     * whichever comes first. Use {@link #getNetworkLoadFuture()} to be notified once all nodes have been read.
+     * </p>
+     *
+     * @param context       context
+     * @param meshNodeStore store the provisioned nodes are loaded from and saved to
+     * @param lazyLoad      true to read the elements and models of the nodes in the background
+     */
+    public MeshManagerApi(final Context context, final MeshNodeStore meshNodeStore, final boolean lazyLoad) {
         this.mContext = context;
-        this.mProvisioningSettings = new ProvisioningSettings(context);
+        this.mMeshNodeStore = meshNodeStore;
+        //Log messages of the protocol layers go to logcat unless the app has set its own logger
+        if (MeshLog.getLogger() == null) {
+            MeshLog.setLogger(new AndroidMeshLogger());
+        }
+        this.mProvisioningSettings = new ProvisioningSettings(
+                SharedPreferencesMeshStorage.getStorage(context, ProvisioningSettings.PROVISIONING_DATA),
+                SharedPreferencesMeshStorage.getStorage(context, ProvisioningSettings.APPLICATION_KEYS));
         initGson();
-        initProvisionedNodes();
-        mMeshProvisioningHandler = new MeshProvisioningHandler(context, this, this);
-        mMeshConfigurationHandler = new MeshConfigurationHandler(context, this, this);
+        initProvisionedNodes(lazyLoad);
+        mAdvertisementClassifier.addNetworkKey(MeshParserUtils.toByteArray(mProvisioningSettings.getNetworkKey()));
+        mUnicastAddressAllocator = new UnicastAddressAllocator(mProvisioningSettings.getUnicastAddress());
+        mMeshProvisioningHandler = new MeshProvisioningHandler(context, this, this, mUnicastAddressAllocator);
+        mMeshConfigurationHandler = new MeshConfigurationHandler(context, this, this, mNetworkPduFilter);
     }
 
     public void setProvisionerManagerTransportCallbacks(final MeshManagerTransportCallbacks transportCallbacks) {
@@ -112,6 +185,26 @@ public class MeshManagerApi implements InternalTransportCallbacks, InternalMeshM
         mMeshProvisioningHandler.setProvisioningCallbacks(callbacks);
     }
 
+    /**
+     * Sets the metrics receiving the latency of every provisioning state of the sessions started from now on,
+     * see {@link ProvisioningLatencyHistograms}. Sessions are not timed while no metrics are set.
+     *
+     * @param metrics provisioning metrics or null to stop collecting them
+     */
+    public void setProvisioningMetrics(final ProvisioningMetrics metrics) {
+        mMeshProvisioningHandler.setProvisioningMetrics(metrics);
+    }
+
+    /**
+     * Sets the time after which provisioning of a device fails if no provisioning pdu has been exchanged with it,
+     * see {@link MeshProvisioningHandler#DEFAULT_IDLE_TIMEOUT}
+     *
+     * @param timeout idle timeout in milliseconds
+     */
+    public void setProvisioningIdleTimeout(final long timeout) {
+        mMeshProvisioningHandler.setIdleTimeout(timeout);
+    }
+
     public void setConfigurationCallbacks(final MeshConfigurationStatusCallbacks callbacks) {
         mMeshConfigurationHandler.setConfigurationCallbacks(callbacks);
     }
@@ -120,10 +213,39 @@ public class MeshManagerApi implements InternalTransportCallbacks, InternalMeshM
         return mMeshConfigurationHandler.getConfigurationState();
     }
 
+    /**
+     * Sets the number of configuration messages that may be waiting for a status at the same time.
+     * <p>
+     * Nodes are configured in parallel up to this limit, further configuration messages are queued and sent as statuses are received.
+     * </p>
+     *
+     * @param concurrencyWindow concurrency window, defaults to 4
+     */
+    public void setConfigurationConcurrencyWindow(final int concurrencyWindow) {
+        mMeshConfigurationHandler.setConcurrencyWindow(concurrencyWindow);
+    }
+
     public Map<Integer, ProvisionedMeshNode> getProvisionedNodes() {
         return mProvisionedNodes;
     }
 
+    /**
+     * Removes a node from the network, e.g. after it has been reset
+     * <p>
+     * The replay protection entries of all element addresses of the node are removed as well, so that a node provisioned
+     * later with the same addresses starts from a sequence number of zero without its messages being dropped as replays.
+     * </p>
+     *
+     * @param meshNode node to be removed
+     */
+    public void removeProvisionedNode(final ProvisionedMeshNode meshNode) {
+        final int unicastAddress = AddressUtils.getUnicastAddressInt(meshNode.getUnicastAddress());
+        mProvisionedNodes.remove(unicastAddress);
+        mNodeIdentityResolver.removeNode(unicastAddress);
+        mMeshNodeStore.delete(unicastAddress);
+        ReplayProtectionList.getInstance(mContext.getFilesDir()).remove(unicastAddress, Math.max(1, meshNode.getElements().size()));
+    }
+
     /**
      * Returns the default provisioning settings from {@link ProvisioningSettings}
      *
@@ -137,6 +259,15 @@ public class MeshManagerApi implements InternalTransportCallbacks, InternalMeshM
         return mGlobalTtl;
     }
 
+    /**
+     * Returns the filter applied to incoming network pdus before they are decrypted, use it to read the drop counters
+     *
+     * @return network pdu filter
+     */
+    public NetworkPduFilter getNetworkPduFilter() {
+        return mNetworkPduFilter;
+    }
+
     private void initGson() {
         final GsonBuilder gsonBuilder = new GsonBuilder();
         gsonBuilder.enableComplexMapKeySerialization();
@@ -146,24 +277,112 @@ public class MeshManagerApi implements InternalTransportCallbacks, InternalMeshM
     }
 
     /**
-     * Load serialized provisioned nodes from preferences
+     * Returns a future that completes once the elements, models and app keys of all nodes have been loaded.
+     * <p>
+     * When the nodes are loaded lazily the future is completed, and its callbacks are called, on a background thread.
+     * </p>
+     */
+    public ConfigurationFuture<Void> getNetworkLoadFuture() {
+        return mNetworkLoadFuture;
+    }
+
+    /**
+     * Returns the time in milliseconds spent loading the provisioned nodes when the mesh manager api was created
      */
-    private void initProvisionedNodes() {
+    public long getNetworkLoadTime() {
+        return mNetworkLoadTime;
+    }
+
+    /**
+     * Returns the time in milliseconds spent reading the elements and models of the nodes in the background,
+     * or 0 if the nodes were not loaded lazily or are still being read
+     */
+    public long getNetworkHydrationTime() {
+        return mNetworkHydrationTime;
+    }
+
+    /**
+     * Load provisioned nodes from the node store, moving any nodes still serialized in preferences in to the store
+     *
+     * @param lazyLoad true to read the elements and models of the nodes in the background
+     */
+    private void initProvisionedNodes(final boolean lazyLoad) {
+        final long start = System.nanoTime();
+        migrateProvisionedNodes();
+        mProvisionedNodes.clear();
+        final List<ProvisionedMeshNode> nodes = lazyLoad ? mMeshNodeStore.loadIndex() : mMeshNodeStore.load();
+        for (ProvisionedMeshNode node : nodes) {
+            final int unicastAddress = AddressUtils.getUnicastAddressInt(node.getUnicastAddress());
+            mProvisionedNodes.put(unicastAddress, node);
+            registerNetworkKey(node);
+            mNodeIdentityResolver.addNode(node);
+        }
+        mNetworkLoadTime = (System.nanoTime() - start) / 1000000;
+        Log.v(TAG, "Loaded " + nodes.size() + " provisioned nodes in " + mNetworkLoadTime + " ms");
+
+        if (lazyLoad) {
+            hydrateProvisionedNodes(nodes);
+        } else {
+            mNetworkLoadFuture.complete(null);
+        }
+    }
+
+    /**
+     * Reads the elements, models and app keys of the nodes on a background thread
+     *
+     * @param nodes nodes loaded from the node index
+     */
+    private void hydrateProvisionedNodes(final List<ProvisionedMeshNode> nodes) {
+        final Thread thread = new Thread(() -> {
+            final long start = System.nanoTime();
+            for (ProvisionedMeshNode node : nodes) {
+                node.hydrate();
+            }
+            mNetworkHydrationTime = (System.nanoTime() - start) / 1000000;
+            Log.v(TAG, "Read the elements of " + nodes.size() + " provisioned nodes in " + mNetworkHydrationTime + " ms");
+            mNetworkLoadFuture.complete(null);
+        }, "MeshNetworkLoader");
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    /**
+     * Moves the nodes serialized as json in preferences by earlier versions of the library to the node store
+     */
+    private void migrateProvisionedNodes() {
         final SharedPreferences preferences = mContext.getSharedPreferences(PROVISIONED_NODES_FILE, Context.MODE_PRIVATE);
+        if (preferences == null)
+            return;
         final Map<String, ?> nodes = preferences.getAll();
 
         if (!nodes.isEmpty()) {
             final List<Integer> orderedKeys = reOrderProvisionedNodes(nodes);
-            mProvisionedNodes.clear();
+            int failedCount = 0;
             for(int orderedKey : orderedKeys) {
                 final String key = String.format(Locale.US, "0x%04X", orderedKey);
                 final String json = preferences.getString(key, null);
-                if(json != null) {
-                    final ProvisionedMeshNode node = mGson.fromJson(json, ProvisionedMeshNode.class);
-                    final int unicastAddress = AddressUtils.getUnicastAddressInt(node.getUnicastAddress());
-                    mProvisionedNodes.put(unicastAddress, node);
+                if(json != null && !mMeshNodeStore.save(mGson.fromJson(json, ProvisionedMeshNode.class))) {
+                    failedCount++;
                 }
             }
+            if (failedCount > 0) {
+                //The preferences are kept so that the migration is retried the next time the network is loaded
+                Log.e(TAG, "Unable to migrate " + failedCount + " of " + orderedKeys.size() + " provisioned nodes from preferences");
+                return;
+            }
+            Log.v(TAG, "Migrated " + orderedKeys.size() + " provisioned nodes from preferences");
+            preferences.edit().clear().commit();
+        }
+    }
+
+    /**
+     * Registers the network key of a node so that its network pdus pass the NID filter
+     *
+     * @param node provisioned mesh node
+     */
+    private void registerNetworkKey(final ProvisionedMeshNode node) {
+        if (node.getNetworkKey() != null) {
+            mAdvertisementClassifier.addNetworkKey(node.getNetworkKey());
         }
     }
 
@@ -187,37 +406,41 @@ public class MeshManagerApi implements InternalTransportCallbacks, InternalMeshM
     public void onNodeProvisioned(final ProvisionedMeshNode meshNode) {
         final int unicastAddress = AddressUtils.getUnicastAddressInt(meshNode.getUnicastAddress());
         mProvisionedNodes.put(unicastAddress, meshNode);
+        registerNetworkKey(meshNode);
+        mNodeIdentityResolver.addNode(meshNode);
+        saveProvisionedNode(meshNode);
+    }
+
+    @Override
+    public void updateMeshNode(final ProvisionedMeshNode meshNode) {
+        final int unicastAddress = AddressUtils.getUnicastAddressInt(meshNode.getUnicastAddress());
+        if (mProvisionedNodes.put(unicastAddress, meshNode) != meshNode) {
+            mNodeIdentityResolver.addNode(meshNode);
+        }
         saveProvisionedNode(meshNode);
     }
 
     /**
-     * Serialize and save provisioned node
+     * Save provisioned node
      */
     private void saveProvisionedNode(final ProvisionedMeshNode node) {
-        final SharedPreferences preferences = mContext.getSharedPreferences(PROVISIONED_NODES_FILE, Context.MODE_PRIVATE);
-        final SharedPreferences.Editor editor = preferences.edit();
-        final String unicastAddress = MeshParserUtils.bytesToHex(node.getUnicastAddress(), true);
-        final String provisionedNode = mGson.toJson(node);
-        editor.putString(unicastAddress, provisionedNode);
-        editor.commit();
+        mMeshNodeStore.save(node);
     }
 
     /**
      * Clear provisioned ndoes
      */
     private void clearProvisionedNodes() {
-        final SharedPreferences preferences = mContext.getSharedPreferences(PROVISIONED_NODES_FILE, Context.MODE_PRIVATE);
-        final SharedPreferences.Editor editor = preferences.edit();
-        editor.clear();
-        editor.commit();
+        mMeshNodeStore.clear();
     }
 
     @Override
     public void onUnicastAddressChanged(final int unicastAddress) {
         //Now that we have received the unicast addresses assigned to element addresses,
-        //increment it here again so the next node to be provisioned will have the next available address in the network
-        final int unicastAdd = unicastAddress + 1;
-        mProvisioningSettings.setUnicastAddress(unicastAdd);
+        //increment it here again so the next node to be provisioned will have the next available address in the network.
+        //Nodes provisioned in parallel may report their addresses in any order, so the next address only moves forward.
+        mUnicastAddressAllocator.advanceTo(unicastAddress + 1);
+        mProvisioningSettings.setUnicastAddress(mUnicastAddressAllocator.getNextAddress());
     }
 
     /**
@@ -233,17 +456,13 @@ public class MeshManagerApi implements InternalTransportCallbacks, InternalMeshM
         if (!shouldWaitForMoreData(data)) {
             unsegmentedPdu = data;
         } else {
-            final byte[] combinedPdu = appendPdu(mtuSize, data);
-            if (combinedPdu == null)
+            unsegmentedPdu = reassemble(mNotificationReassemblers, meshNode, data);
+            if (unsegmentedPdu == null)
                 return;
-            else {
-                unsegmentedPdu = removeSegmentation(mtuSize, combinedPdu);
-            }
         }
         parseNotifications(meshNode, unsegmentedPdu);
     }
 
-
     /**
      * Parses notifications received by the client.
      *  @param meshNode       mesh node that the pdu was received from
@@ -254,7 +473,14 @@ public class MeshManagerApi implements InternalTransportCallbacks, InternalMeshM
             case PDU_TYPE_NETWORK:
                 //Network PDU
                 Log.v(TAG, "Received network pdu: " + MeshParserUtils.bytesToHex(unsegmentedPdu, true));
-                mMeshConfigurationHandler.parseConfigurationNotifications((ProvisionedMeshNode) meshNode, unsegmentedPdu);
+                final int filterResult = mNetworkPduFilter.filter(unsegmentedPdu, meshNode.getIvIndex());
+                if (filterResult != NetworkPduFilter.ACCEPTED) {
+                    Log.v(TAG, "Dropping network pdu, filter result: " + filterResult);
+                    break;
+                }
+                //Status messages are routed to the configuration message in flight to the node they were received from
+                final int src = mNetworkPduFilter.getSourceAddress(unsegmentedPdu, meshNode.getIvIndex());
+                mMeshConfigurationHandler.parseConfigurationNotifications(src, unsegmentedPdu);
                 break;
             case PDU_TYPE_MESH_BEACON:
                 //Mesh beacon
@@ -267,7 +493,7 @@ public class MeshManagerApi implements InternalTransportCallbacks, InternalMeshM
             case PDU_TYPE_PROVISIONING:
                 //Provisioning PDU
                 Log.v(TAG, "Received provisioning message: " + MeshParserUtils.bytesToHex(unsegmentedPdu, true));
-                mMeshProvisioningHandler.parseProvisioningNotifications(unsegmentedPdu);
+                mMeshProvisioningHandler.parseProvisioningNotifications(meshNode, unsegmentedPdu);
                 break;
         }
     }
@@ -277,12 +503,9 @@ public class MeshManagerApi implements InternalTransportCallbacks, InternalMeshM
         if (!shouldWaitForMoreData(data)) {
             unsegmentedPdu = data;
         } else {
-            final byte[] combinedPdu = appendWritePdu(mtuSize, data);
-            if (combinedPdu == null)
+            unsegmentedPdu = reassemble(mWriteReassemblers, meshNode, data);
+            if (unsegmentedPdu == null)
                 return;
-            else {
-                unsegmentedPdu = removeSegmentation(mtuSize, combinedPdu);
-            }
         }
         handleWriteCallbacks(meshNode, unsegmentedPdu);
     }
@@ -297,7 +520,6 @@ public class MeshManagerApi implements InternalTransportCallbacks, InternalMeshM
             case PDU_TYPE_NETWORK:
                 //Network PDU
                 Log.v(TAG, "Network pdu sent: " + MeshParserUtils.bytesToHex(data, true));
-                mMeshConfigurationHandler.handleConfigurationWriteCallbacks((ProvisionedMeshNode) meshNode, data);
                 break;
             case PDU_TYPE_MESH_BEACON:
                 //Mesh beacon
@@ -310,7 +532,7 @@ public class MeshManagerApi implements InternalTransportCallbacks, InternalMeshM
             case PDU_TYPE_PROVISIONING:
                 //Provisioning PDU
                 Log.v(TAG, "Provisioning pdu sent: " + MeshParserUtils.bytesToHex(data, true));
-                mMeshProvisioningHandler.handleProvisioningWriteCallbacks();
+                mMeshProvisioningHandler.handleProvisioningWriteCallbacks(meshNode);
                 break;
         }
     }
@@ -318,7 +540,12 @@ public class MeshManagerApi implements InternalTransportCallbacks, InternalMeshM
     @Override
     public void sendPdu(final BaseMeshNode meshNode, byte[] pdu) {
         final int mtu = mTransportCallbacks.getMtu();
-        mTransportCallbacks.sendPdu(meshNode, applySegmentation(mtu, pdu));
+        if (pdu.length <= mtu) {
+            mTransportCallbacks.sendPdu(meshNode, pdu);
+            return;
+        }
+        //Each chunk is copied once as the ble module may queue the writes
+        mProxyPduSegmenter.segment(pdu, mtu, (chunk, length) -> mTransportCallbacks.sendPdu(meshNode, Arrays.copyOf(chunk, length)));
     }
 
     private boolean shouldWaitForMoreData(final byte[] pdu) {
@@ -334,121 +561,27 @@ public class MeshManagerApi implements InternalTransportCallbacks, InternalMeshM
     }
 
     /**
-     * Appends the PDUs that are segmented at gatt layer.
+     * Appends a pdu segmented at gatt layer to the proxy pdu being reassembled for the given node.
      *
-     * @param mtuSize mtu size supported by the device/node
-     * @param pdu     pdu received by the provisioner
-     * @return the combine pdu or returns null if not complete.
-     */
-    private byte[] appendPdu(final int mtuSize, final byte[] pdu) {
-        if (mIncomingBuffer == null) {
-            final int length = Math.min(pdu.length, mtuSize);
-            mIncomingBufferOffset = 0;
-            mIncomingBufferOffset += length;
-            mIncomingBuffer = pdu;
-        } else {
-            final int length = Math.min(pdu.length, mtuSize);
-            final byte[] buffer = new byte[mIncomingBuffer.length + length];
-            System.arraycopy(mIncomingBuffer, 0, buffer, 0, mIncomingBufferOffset);
-            System.arraycopy(pdu, 0, buffer, mIncomingBufferOffset, length);
-            mIncomingBufferOffset += length;
-            mIncomingBuffer = buffer;
-            if (length < mtuSize) {
-                final byte packet[] = mIncomingBuffer;
-                mIncomingBuffer = null;
-                return packet;
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Appends the PDUs that are segmented at gatt layer.
-     *
-     * @param mtuSize mtu size supported by the device/node
-     * @param pdu     pdu received by the provisioner
-     * @return the combine pdu or returns null if not complete.
-     */
-    private byte[] appendWritePdu(final int mtuSize, final byte[] pdu) {
-        if (mOutgoingBuffer == null) {
-            final int length = Math.min(pdu.length, mtuSize);
-            mOutgoingBufferOffset = 0;
-            mOutgoingBufferOffset += length;
-            mOutgoingBuffer = pdu;
-        } else {
-            final int length = Math.min(pdu.length, mtuSize);
-            final byte[] buffer = new byte[mOutgoingBuffer.length + length];
-            System.arraycopy(mOutgoingBuffer, 0, buffer, 0, mOutgoingBufferOffset);
-            System.arraycopy(pdu, 0, buffer, mOutgoingBufferOffset, length);
-            mOutgoingBufferOffset += length;
-            mOutgoingBuffer = buffer;
-            if (length < mtuSize) {
-                final byte packet[] = mOutgoingBuffer;
-                mOutgoingBuffer = null;
-                return packet;
-            }
-        }
-        return null;
-    }
-
-    private byte[] applySegmentation(final int mtuSize, final byte[] pdu) {
-        int srcOffset = 0;
-        int dstOffset = 0;
-        final int chunks = (pdu.length + (mtuSize - 1)) / mtuSize;
-
-        final int pduType = pdu[0];
-        if (chunks > 1) {
-            final byte[] segmentedBuffer = new byte[pdu.length + chunks - 1];
-            int length;
-            for (int i = 0; i < chunks; i++) {
-                if (i == 0) {
-                    length = Math.min(pdu.length - srcOffset, mtuSize);
-                    System.arraycopy(pdu, srcOffset, segmentedBuffer, dstOffset, length);
-                    segmentedBuffer[0] = (byte) ((GATT_SAR_START << 6) | pduType);
-                } else if (i == chunks - 1) {
-                    length = Math.min(pdu.length - srcOffset, mtuSize);
-                    segmentedBuffer[dstOffset] = (byte) ((GATT_SAR_END << 6) | pduType);
-                    System.arraycopy(pdu, srcOffset, segmentedBuffer, dstOffset + 1, length);
-                } else {
-                    length = Math.min(pdu.length - srcOffset, mtuSize - 1);
-                    segmentedBuffer[dstOffset] = (byte) ((GATT_SAR_CONTINUATION << 6) | pduType);
-                    System.arraycopy(pdu, srcOffset, segmentedBuffer, dstOffset + 1, length);
-                }
-                srcOffset += length;
-                dstOffset += mtuSize;
-            }
-            return segmentedBuffer;
+     * @param reassemblers reassemblers of the connections in one direction
+     * @param meshNode     mesh node that the segment belongs to
+     * @param pdu          segment including the SAR header
+     * @return the complete proxy pdu or null if more segments are required.
+     */
+    private byte[] reassemble(final Map<BaseMeshNode, ProxyPduReassembler> reassemblers, final BaseMeshNode meshNode, final byte[] pdu) {
+        ProxyPduReassembler reassembler = reassemblers.get(meshNode);
+        if (reassembler == null) {
+            reassembler = new ProxyPduReassembler();
+            reassemblers.put(meshNode, reassembler);
         }
-        return pdu;
-    }
-
-    private byte[] removeSegmentation(final int mtuSize, final byte[] data) {
-        int srcOffset = 0;
-        int dstOffset = 0;
-        final int chunks = (data.length + (mtuSize - 1)) / mtuSize;
-        if (chunks > 1) {
-            final byte[] buffer = new byte[data.length - (chunks - 1)];
-            int length;
-            for (int i = 0; i < chunks; i++) {
-                // when removing segmentation bits we only remove the start because the pdu type would be the same for each segment.
-                // Therefore we can ignore this pdu type byte as they are already put together in the ble
-                if (i == 0) {
-                    length = Math.min(buffer.length - dstOffset, mtuSize);
-                    System.arraycopy(data, srcOffset, buffer, dstOffset, length);
-                    buffer[0] = (byte) (buffer[0] & GATT_SAR_UNMASK);
-                } else if (i == chunks - 1) {
-                    length = Math.min(buffer.length - dstOffset, mtuSize);
-                    System.arraycopy(data, srcOffset + 1, buffer, dstOffset, length);
-                } else {
-                    length = Math.min(buffer.length - dstOffset, mtuSize) - 1;
-                    System.arraycopy(data, srcOffset + 1, buffer, dstOffset, length);
-                }
-                srcOffset += mtuSize;
-                dstOffset += length;
-            }
-            return buffer;
+        final int length = reassembler.append(pdu);
+        if (length == ProxyPduReassembler.DROPPED) {
+            Log.v(TAG, "Dropping gatt segment without a start segment: " + MeshParserUtils.bytesToHex(pdu, true));
+            return null;
+        } else if (length == ProxyPduReassembler.INCOMPLETE) {
+            return null;
         }
-        return data;
+        return reassembler.toByteArray();
     }
 
     /**
@@ -460,11 +593,28 @@ public class MeshManagerApi implements InternalTransportCallbacks, InternalMeshM
         mProvisioningSettings.setKeyIndex(keyIndex);
         mProvisioningSettings.setFlags(flags);
         mProvisioningSettings.setIvIndex(ivIndex);
-        mProvisioningSettings.setUnicastAddress(unicastAddress);
         mProvisioningSettings.setGlobalTtl(globalTtl);
         mMeshProvisioningHandler.startProvisioning(address ,nodeName, networkKeyValue, keyIndex, flags, ivIndex, unicastAddress, globalTtl);
     }
 
+    /**
+     * Starts provisioning a device with the saved provisioning settings.
+     * <p>
+     * The unicast address of the node is reserved once the number of elements of the node is known, so several devices
+     * connected over different bearers may be provisioned at the same time. The pdus of every device must be passed to
+     * {@link #handleNotifications(BaseMeshNode, int, byte[])} and {@link #handleWrites(BaseMeshNode, int, byte[])} with a node
+     * carrying the bluetooth address of the device.
+     * </p>
+     *
+     * @param address  bluetooth address of the device
+     * @param nodeName a friendly node name
+     */
+    public void startProvisioning(@NonNull final String address, final String nodeName) throws IllegalArgumentException {
+        mUnicastAddressAllocator.advanceTo(mProvisioningSettings.getUnicastAddress());
+        mMeshProvisioningHandler.startProvisioning(address, nodeName, mProvisioningSettings.getNetworkKey(), mProvisioningSettings.getKeyIndex(),
+                mProvisioningSettings.getFlags(), mProvisioningSettings.getIvIndex(), ProvisioningSession.UNICAST_ADDRESS_AUTO, mProvisioningSettings.getGlobalTtl());
+    }
+
     /**
      * Set the provisioning confirmation
      *
@@ -474,13 +624,39 @@ public class MeshManagerApi implements InternalTransportCallbacks, InternalMeshM
         mMeshProvisioningHandler.setProvisioningConfirmation(pin);
     }
 
+    /**
+     * Set the provisioning confirmation of the device with the given bluetooth address
+     *
+     * @param address bluetooth address of the device being provisioned
+     * @param pin     confirmation pin
+     */
+    public final void setProvisioningConfirmation(@NonNull final String address, final String pin) {
+        mMeshProvisioningHandler.setProvisioningConfirmation(address, pin);
+    }
+
+    /**
+     * Cancels provisioning a device and releases the unicast addresses reserved for it
+     *
+     * @param address bluetooth address of the device being provisioned
+     */
+    public final void cancelProvisioning(@NonNull final String address) {
+        mMeshProvisioningHandler.cancelProvisioning(address);
+    }
+
+    /**
+     * Returns the provisioning sessions of the devices being provisioned
+     */
+    public List<ProvisioningSession> getProvisioningSessions() {
+        return mMeshProvisioningHandler.getSessions();
+    }
+
     /**
      * Generate network id
      *
      * @return network id
      */
     public String generateNetworkId(final byte[] networkKey) {
-        return MeshParserUtils.bytesToHex(SecureUtils.calculateK3(networkKey), false);
+        return MeshParserUtils.bytesToHex(NetworkKeyRegistry.getInstance().getKeyMaterial(networkKey).getNetworkId(), false);
     }
 
     /**
@@ -516,6 +692,29 @@ public class MeshManagerApi implements InternalTransportCallbacks, InternalMeshM
         return flag;
     }
 
+    /**
+     * Returns the provisioned node that sent a Node Identity advertisement.
+     * <p>
+     * Unlike {@link #nodeIdentityMatches(ProvisionedMeshNode, byte[])} all provisioned nodes are matched at once and
+     * repeated advertisements of the same node are resolved without computing the hash again.
+     * </p>
+     *
+     * @param serviceData advertised service data
+     * @return the provisioned node that sent the advertisement or null if the advertisement does not match any node
+     */
+    public ProvisionedMeshNode resolveNodeIdentity(final byte[] serviceData) {
+        return mNodeIdentityResolver.resolve(serviceData);
+    }
+
+    /**
+     * Returns the resolver matching Node Identity advertisements to the provisioned nodes, use it to read the counters
+     *
+     * @return node identity resolver
+     */
+    public NodeIdentityResolver getNodeIdentityResolver() {
+        return mNodeIdentityResolver;
+    }
+
     /**
      * Checks if the node is advertising with Node Identity
      *
@@ -563,32 +762,47 @@ public class MeshManagerApi implements InternalTransportCallbacks, InternalMeshM
      * @return returns true if the network ids match or false otherwise
      */
     public boolean networkIdMatches(final String networkId, final byte[] serviceData) {
-        final byte[] advertisedNetworkId = getAdvertisedNetworkId(serviceData);
-        return advertisedNetworkId != null && networkId.equals(MeshParserUtils.bytesToHex(advertisedNetworkId, false).toUpperCase());
+        if (networkId == null || networkId.length() != ADVERTISED_NETWWORK_ID_LENGTH * 2)
+            return false;
+        //The network id is parsed in place so that matching scan results does not allocate
+        long value = 0;
+        for (int i = 0; i < networkId.length(); i++) {
+            final int digit = Character.digit(networkId.charAt(i), 16);
+            if (digit < 0)
+                return false;
+            value = (value << 4) | digit;
+        }
+        return NetworkAdvertisementClassifier.networkIdMatches(value, serviceData);
     }
 
     /**
-     * Returns the advertised hash
+     * Classifies the service data of an advertisement without allocating, the Network IDs of the provisioned nodes and of the
+     * network key in the provisioning settings are known networks
      *
-     * @param serviceData advertised service data
-     * @return returns the advertised hash
+     * @param serviceData service data of the mesh proxy or the mesh provisioning service
+     * @return one of the {@link NetworkAdvertisementClassifier} ADVERTISEMENT_ constants
      */
-    public boolean isAdvertisingWithNetworkIdentity(final byte[] serviceData) {
-        return serviceData != null && serviceData[ADVERTISED_NETWWORK_ID_OFFSET - 1] == ADVERTISEMENT_TYPE_NETWORK_ID;
+    public int classifyAdvertisement(final byte[] serviceData) {
+        return mAdvertisementClassifier.classify(serviceData);
+    }
+
+    /**
+     * Returns the classifier of advertisements holding the Network IDs of the known networks
+     *
+     * @return network advertisement classifier
+     */
+    public NetworkAdvertisementClassifier getAdvertisementClassifier() {
+        return mAdvertisementClassifier;
     }
 
     /**
-     * Returns the advertised network identity
+     * Returns the advertised hash
      *
      * @param serviceData advertised service data
-     * @return returns the advertised network identity
+     * @return returns the advertised hash
      */
-    private byte[] getAdvertisedNetworkId(final byte[] serviceData) {
-        if (serviceData == null)
-            return null;
-        final ByteBuffer advertisedNetowrkID = ByteBuffer.allocate(ADVERTISED_NETWWORK_ID_LENGTH).order(ByteOrder.BIG_ENDIAN);
-        advertisedNetowrkID.put(serviceData, ADVERTISED_NETWWORK_ID_OFFSET, ADVERTISED_HASH_LENGTH);
-        return advertisedNetowrkID.array();
+    public boolean isAdvertisingWithNetworkIdentity(final byte[] serviceData) {
+        return serviceData != null && serviceData[ADVERTISED_NETWWORK_ID_OFFSET - 1] == ADVERTISEMENT_TYPE_NETWORK_ID;
     }
 
     /**
@@ -673,11 +887,118 @@ public class MeshManagerApi implements InternalTransportCallbacks, InternalMeshM
         mMeshConfigurationHandler.deleteSubscriptionAddress(meshNode, 0, elementAddress, subscriptionAddress, modelIdentifier);
     }
 
+    /**
+     * Applies the composition data received from another node with the same company, product and version identifier.
+     * <p>
+     * This avoids the segmented composition data get and status exchange when configuring many identical nodes. The element
+     * addresses are derived from the unicast address of the node. A newly provisioned node is trusted to have the given identifiers,
+     * the cached data is not applied to a node whose composition data has already been read with other identifiers. If nothing is
+     * cached or the identifiers differ {@link #getCompositionData(ProvisionedMeshNode)} must be used instead.
+     * </p>
+     *
+     * @param meshNode          corresponding mesh node
+     * @param companyIdentifier 16-bit company identifier of the node
+     * @param productIdentifier 16-bit product identifier of the node
+     * @param versionIdentifier 16-bit version identifier of the node
+     * @return true if cached composition data was found and applied, false otherwise
+     */
+    public boolean applyCachedCompositionData(final ProvisionedMeshNode meshNode, final int companyIdentifier,
+                                              final int productIdentifier, final int versionIdentifier) {
+        return mMeshConfigurationHandler.applyCachedCompositionData(meshNode, companyIdentifier, productIdentifier, versionIdentifier);
+    }
+
+    /**
+     * Gets the composition data of the node and returns a future completed with the status
+     *
+     * @param meshNode corresponding mesh node
+     * @return future completed with the composition data status
+     */
+    public ConfigurationFuture<ConfigCompositionDataStatus> getCompositionDataAsync(final ProvisionedMeshNode meshNode) {
+        return mMeshConfigurationHandler.sendCompositionDataGet(meshNode, 0);
+    }
+
+    /**
+     * Adds the given app key to the global app key list on the node and returns a future completed with the status
+     * <p>
+     * The future fails with a {@link java.util.concurrent.TimeoutException} if the node does not respond in time.
+     * </p>
+     *
+     * @param meshNode    corresponding mesh node
+     * @param appKeyIndex index of the app key in the global app key list
+     * @param appKey      application key
+     * @return future completed with the app key status
+     */
+    public ConfigurationFuture<ConfigAppKeyStatus> addAppKeyAsync(final ProvisionedMeshNode meshNode, final int appKeyIndex, final String appKey) {
+        if (appKey == null || appKey.isEmpty())
+            throw new IllegalArgumentException(mContext.getString(R.string.error_null_key));
+        return mMeshConfigurationHandler.sendAppKeyAdd(meshNode, appKeyIndex, appKey, 0);
+    }
+
+    /**
+     * Binds the app key to a model and returns a future completed with the status
+     *
+     * @param meshNode       corresponding mesh node
+     * @param elementAddress elementAddress
+     * @param model          16-bit SIG Model Identifier or 32-bit Vendor Model identifier
+     * @param appKeyIndex    index of the app key
+     * @return future completed with the model app status
+     */
+    public ConfigurationFuture<ConfigModelAppStatus> bindAppKeyAsync(final ProvisionedMeshNode meshNode, final byte[] elementAddress,
+                                                                     final MeshModel model, final int appKeyIndex) {
+        return mMeshConfigurationHandler.bindAppKey(meshNode, 0, elementAddress, model.getModelId(), appKeyIndex);
+    }
+
+    /**
+     * Sets a publish address for configuration model and returns a future completed with the status
+     *
+     * @param provisionedMeshNode            Mesh node containing the model
+     * @param elementAddress                 Address of the element containing the model
+     * @param publishAddress                 Address to which the model must publish
+     * @param appKeyIndex                    Application key index
+     * @param modelIdentifier                Identifier of the model. This could be 16-bit SIG Model or a 32-bit Vendor model identifier
+     * @param credentialFlag                 Credential flag, set 0 to use master credentials and 1 for friendship credentials
+     * @param publishTtl                     Default ttl value for outgoing messages
+     * @param publishPeriod                  Period for periodic status publishing
+     * @param publishRetransmitCount         Number of retransmissions for each published message
+     * @param publishRetransmitIntervalSteps Number of 50-millisecond steps between retransmissions
+     * @return future completed with the model publication status
+     */
+    public ConfigurationFuture<ConfigModelPublicationStatus> setConfigModelPublishAddressAsync(final ProvisionedMeshNode provisionedMeshNode, final byte[] elementAddress,
+                                                                                               final byte[] publishAddress, final int appKeyIndex, final int modelIdentifier,
+                                                                                               final int credentialFlag, final int publishTtl, final int publishPeriod,
+                                                                                               final int publishRetransmitCount, final int publishRetransmitIntervalSteps) {
+        return mMeshConfigurationHandler.setConfigModelPublishAddress(provisionedMeshNode, 0, elementAddress, publishAddress,
+                appKeyIndex, modelIdentifier, credentialFlag, publishTtl, publishPeriod, publishRetransmitCount, publishRetransmitIntervalSteps);
+    }
+
+    /**
+     * Sets a subscription address for configuration model and returns a future completed with the status
+     *
+     * @param meshNode            Mesh node containing the model
+     * @param elementAddress      Address of the element containing the model
+     * @param subscriptionAddress Address to which the model must subscribe
+     * @param modelIdentifier     Identifier of the model. This could be 16-bit SIG Model or a 32-bit Vendor model identifier
+     * @return future completed with the model subscription status
+     */
+    public ConfigurationFuture<ConfigModelSubscriptionStatus> addSubscriptionAddressAsync(final ProvisionedMeshNode meshNode, final byte[] elementAddress,
+                                                                                          final byte[] subscriptionAddress, final int modelIdentifier) {
+        return mMeshConfigurationHandler.addSubscriptionAddress(meshNode, 0, elementAddress, subscriptionAddress, modelIdentifier);
+    }
+
     public void resetMeshNetwork() {
+        //Transactions to the nodes of the old network can never complete
+        mMeshConfigurationHandler.cancelTransactions();
         mProvisionedNodes.clear();
+        mNodeIdentityResolver.clear();
         clearProvisionedNodes();
+        ReplayProtectionList.getInstance(mContext.getFilesDir()).clear();
+        mNetworkPduFilter.clearCache();
         SequenceNumber.resetSequenceNumber(mContext);
+        CompositionDataCache.getInstance(mContext).clear();
         mProvisioningSettings.clearProvisioningData();
         mProvisioningSettings.generateProvisioningData();
+        mUnicastAddressAllocator.reset(mProvisioningSettings.getUnicastAddress());
+        mAdvertisementClassifier.clear();
+        mAdvertisementClassifier.addNetworkKey(MeshParserUtils.toByteArray(mProvisioningSettings.getNetworkKey()));
     }
 }
@@ -6,6 +6,9 @@ package no.nordicsemi.android.meshprovisioner;
 public interface MeshManagerTransportCallbacks {
     /**
      * Passes the pdu to the ble module of the app
+     * <p>
+     * Pdus larger than the mtu size are segmented by the library, so each pdu passed here can be written as is.
+     * </p>
      *  @param meshNode peripheral mesh node to send to
      * @param pdu      mesh pdu to be sent out to the node
      */
@@ -15,7 +18,8 @@ public interface MeshManagerTransportCallbacks {
      * Get mtu size supported by the peripheral node
      * <p>
      * This is used to get the supported mtu size from the ble module, so that the messages
-     * that are larger than the supported mtu size could be segmented
+     * that are larger than the supported mtu size could be segmented.
+     * The value returned is the maximum length of a write, that is the negotiated ATT MTU minus the 3 byte ATT header.
      * </p>
      *
      * @return mtu size
@@ -2,147 +2,126 @@ package no.nordicsemi.android.meshprovisioner;
 
 import android.bluetooth.BluetoothAdapter;
 import android.content.Context;
+import android.os.Handler;
 import android.support.annotation.NonNull;
+import android.util.Log;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
-import no.nordicsemi.android.meshprovisioner.configuration.ProvisionedMeshNode;
 import no.nordicsemi.android.meshprovisioner.configuration.MeshModel;
-import no.nordicsemi.android.meshprovisioner.states.ProvisioningCapabilities;
-import no.nordicsemi.android.meshprovisioner.states.ProvisioningComplete;
-import no.nordicsemi.android.meshprovisioner.states.ProvisioningConfirmation;
-import no.nordicsemi.android.meshprovisioner.states.ProvisioningData;
-import no.nordicsemi.android.meshprovisioner.states.ProvisioningFailed;
-import no.nordicsemi.android.meshprovisioner.states.ProvisioningInvite;
-import no.nordicsemi.android.meshprovisioner.states.ProvisioningPublicKey;
-import no.nordicsemi.android.meshprovisioner.states.ProvisioningRandomConfirmation;
-import no.nordicsemi.android.meshprovisioner.states.ProvisioningStart;
-import no.nordicsemi.android.meshprovisioner.states.ProvisioningState;
+import no.nordicsemi.android.meshprovisioner.platform.HandlerMeshScheduler;
+import no.nordicsemi.android.meshprovisioner.platform.MeshScheduler;
 import no.nordicsemi.android.meshprovisioner.states.UnprovisionedMeshNode;
+import no.nordicsemi.android.meshprovisioner.utils.EcdhKeyPairPool;
 import no.nordicsemi.android.meshprovisioner.utils.MeshParserUtils;
-import no.nordicsemi.android.meshprovisioner.utils.ParseInputOOBActions;
-import no.nordicsemi.android.meshprovisioner.utils.ParseOutputOOBActions;
-import no.nordicsemi.android.meshprovisioner.utils.ParseProvisioningAlgorithm;
 
+/**
+ * Routes the provisioning pdus of every bearer to the {@link ProvisioningSession} of the device connected over it.
+ * <p>
+ * Sessions are keyed by the bluetooth address of the device being provisioned, so several devices may be provisioned
+ * at the same time, each over its own connection. A session fails once no provisioning pdu has been exchanged with its
+ * device for the idle timeout, so a device that went silent does not keep its unicast addresses reserved.
+ * </p>
+ */
 public class MeshProvisioningHandler {
 
+    /**
+     * Minimum timeout of the provisioning protocol, restarted every time a provisioning pdu is sent or received
+     */
+    public static final long DEFAULT_IDLE_TIMEOUT = 60000;
+
     private static final String TAG = MeshProvisioningHandler.class.getSimpleName();
     private final InternalTransportCallbacks mInternalTransportCallbacks;
     private final Context mContext;
+    private final UnicastAddressAllocator mAddressAllocator;
+    private final Map<String, ProvisioningSession> mSessions = new LinkedHashMap<>();
     private MeshProvisioningStatusCallbacks mProvisoningStatusCallbacks;
-    private UnprovisionedMeshNode mUnprovisionedMeshNode;
-
-    private int attentionTimer;
-    private int numberOfElements;
-    private int algorithm;
-    private int publicKeyType;
-    private int staticOOBType;
-    private int outputOOBSize;
-    private int outputOOBAction;
-    private int inputOOBSize;
-    private int inputOOBAction;
-
-    private ProvisioningState provisioningState;
-    private boolean isProvisioningPublicKeySent;
-    private boolean isProvisioneePublicKeyReceived;
+    private volatile ProvisioningSession mLastSession;
+    private volatile ProvisioningMetrics mProvisioningMetrics;
+    private volatile long mIdleTimeout = DEFAULT_IDLE_TIMEOUT;
+    private final MeshScheduler mScheduler;
     private InternalMeshManagerCallbacks mInternalMeshManagerCallbacks;
 
-    MeshProvisioningHandler(final Context context, final InternalTransportCallbacks mInternalTransportCallbacks, final InternalMeshManagerCallbacks internalMeshManagerCallbacks) {
+    MeshProvisioningHandler(final Context context, final InternalTransportCallbacks mInternalTransportCallbacks, final InternalMeshManagerCallbacks internalMeshManagerCallbacks,
+                            final UnicastAddressAllocator addressAllocator) {
+        this(context, mInternalTransportCallbacks, internalMeshManagerCallbacks, addressAllocator, new HandlerMeshScheduler(new Handler(context.getMainLooper())));
+    }
+
+    MeshProvisioningHandler(final Context context, final InternalTransportCallbacks mInternalTransportCallbacks, final InternalMeshManagerCallbacks internalMeshManagerCallbacks,
+                            final UnicastAddressAllocator addressAllocator, final MeshScheduler scheduler) {
         this.mContext = context;
         this.mInternalTransportCallbacks = mInternalTransportCallbacks;
         this.mInternalMeshManagerCallbacks = internalMeshManagerCallbacks;
+        this.mAddressAllocator = addressAllocator;
+        this.mScheduler = scheduler;
     }
 
-    void parseProvisioningNotifications(final byte[] data) {
-        switch (provisioningState.getState()) {
-            case PROVISIONING_INVITE:
-                break;
-            case PROVISIONING_CAPABILITIES:
-                if (validateMessage(data)) {
-                    if (validateProvisioningCapabilitiesMessage(data)) {
-                        sendProvisioningStartPDU();
-                    }
-                } else {
-                    parseProvisioningState(data);
-                }
-                break;
-            case PROVISIONING_START:
-                break;
-            case PROVISIONING_PUBLIC_KEY:
-                if (validateMessage(data)) {
-                    parseProvisioneePublicKeyXY(data);
-                } else {
-                    parseProvisioningState(data);
-                }
-                break;
-            case PROVISINING_INPUT_COMPLETE:
-                break;
-            case PROVISIONING_CONFIRMATION:
-                if (validateMessage(data)) {
-                    if (parseProvisioneeConfirmation(data)) {
-                        sendRandomConfirmationPDU();
-                    }
-                } else {
-                    parseProvisioningState(data);
-                }
-                break;
-            case PROVISINING_RANDOM:
-                if (validateMessage(data)) {
-                    if (parseProvisioneeRandom(data)) {
-                        sendProvisioningData();
-                    }
-                } else {
-                    parseProvisioningState(data);
-                }
-                break;
-            case PROVISINING_DATA:
-            case PROVISINING_COMPLETE:
-            case PROVISINING_FAILED:
-                parseProvisioningState(data);
-                break;
+    void parseProvisioningNotifications(final BaseMeshNode meshNode, final byte[] data) {
+        final ProvisioningSession session = getSession(meshNode);
+        if (session == null) {
+            Log.v(TAG, "No provisioning session for the device, dropping pdu: " + MeshParserUtils.bytesToHex(data, true));
+            return;
+        }
+        session.setLastActivityTime(mScheduler.elapsedRealtime());
+        session.parseProvisioningNotifications(data);
+        removeIfFinished(session);
+    }
 
+    void handleProvisioningWriteCallbacks(final BaseMeshNode meshNode) {
+        final ProvisioningSession session = getSession(meshNode);
+        if (session != null) {
+            session.setLastActivityTime(mScheduler.elapsedRealtime());
+            session.handleProvisioningWriteCallbacks();
         }
     }
 
-    void handleProvisioningWriteCallbacks() {
-        switch (provisioningState.getState()) {
-            case PROVISIONING_INVITE:
-                provisioningState = new ProvisioningCapabilities(mUnprovisionedMeshNode, mProvisoningStatusCallbacks);
-                break;
-            case PROVISIONING_CAPABILITIES:
-                break;
-            case PROVISIONING_START:
-            case PROVISIONING_PUBLIC_KEY:
-                //Devices with lower mtu have to send the key in multiple segments
-                sendProvisionerPublicKey();
-                break;
-            case PROVISINING_INPUT_COMPLETE:
-                break;
-            case PROVISIONING_CONFIRMATION:
-                break;
-            case PROVISINING_RANDOM:
-                break;
-            case PROVISINING_DATA:
-                break;
+    /**
+     * Returns the session of the device a pdu belongs to. Bearers that do not tell the node a pdu belongs to
+     * can only be used while a single device is being provisioned. The pdus of a device without a session are never
+     * handed to the session of another device.
+     */
+    private ProvisioningSession getSession(final BaseMeshNode meshNode) {
+        synchronized (mSessions) {
+            if (meshNode != null && meshNode.getBluetoothDeviceAddress() != null) {
+                return mSessions.get(meshNode.getBluetoothDeviceAddress());
+            }
+            if (mSessions.size() == 1) {
+                return mSessions.values().iterator().next();
+            }
+            return null;
         }
     }
 
-    private void parseProvisioningState(final byte[] data) {
-        if (data[1] == ProvisioningState.State.PROVISINING_COMPLETE.getState()) {
-            provisioningState = new ProvisioningComplete(mUnprovisionedMeshNode);
-            isProvisioningPublicKeySent = false;
-            isProvisioneePublicKeyReceived = false;
-            //Generate the network id and store it in the mesh node, this is needed to reconnect to the device at a later stage.
-            final ProvisionedMeshNode provisionedMeshNode = new ProvisionedMeshNode(mUnprovisionedMeshNode);
-            mInternalMeshManagerCallbacks.onNodeProvisioned(provisionedMeshNode);
-            mProvisoningStatusCallbacks.onProvisioningComplete(provisionedMeshNode);
-        } else {
-            isProvisioningPublicKeySent = false;
-            isProvisioneePublicKeyReceived = false;
-            provisioningState = new ProvisioningFailed(mContext, mUnprovisionedMeshNode);
-            if (provisioningState.parseData(data)) {
-                mUnprovisionedMeshNode.setIsProvisioned(false);
-                mProvisoningStatusCallbacks.onProvisioningFailed(mUnprovisionedMeshNode, provisioningState.getError());
+    /**
+     * Checks the session once the idle timeout may have elapsed, the check is scheduled again while pdus are exchanged
+     */
+    private void scheduleIdleTimeout(final ProvisioningSession session, final long delay) {
+        mScheduler.postDelayed(() -> {
+            if (session.isFinished())
+                return;
+
+            final long timeout = mIdleTimeout;
+            final long idleTime = mScheduler.elapsedRealtime() - session.getLastActivityTime();
+            if (idleTime < timeout) {
+                scheduleIdleTimeout(session, timeout - idleTime);
+                return;
+            }
+            session.timeout();
+            removeIfFinished(session);
+        }, delay);
+    }
+
+    private void removeIfFinished(final ProvisioningSession session) {
+        if (session.isFinished()) {
+            synchronized (mSessions) {
+                final String address = session.getMeshNode().getBluetoothDeviceAddress();
+                if (mSessions.get(address) == session) {
+                    mSessions.remove(address);
+                }
             }
         }
     }
@@ -156,7 +135,7 @@ public class MeshProvisioningHandler {
      * @param keyIndex        12-bit key index
      * @param flags           2 byte flags
      * @param ivIndex         1 byte ivIndex - starts at 1
-     * @param unicastAddress  2 byte unicast address
+     * @param unicastAddress  2 byte unicast address or {@link ProvisioningSession#UNICAST_ADDRESS_AUTO}
      * @return {@link MeshModel} to be provisioned
      */
     private final UnprovisionedMeshNode initializeMeshNode(@NonNull final String address, final String nodeName, @NonNull final String networkKeyValue, final int keyIndex, final int flags, final int ivIndex, final int unicastAddress, final int globalTtl) throws IllegalArgumentException {
@@ -183,7 +162,7 @@ public class MeshProvisioningHandler {
             }
 
             byte[] unicastBytes = null;
-            if (MeshParserUtils.validateUnicastAddressInput(mContext, unicastAddress)) {
+            if (unicastAddress != ProvisioningSession.UNICAST_ADDRESS_AUTO && MeshParserUtils.validateUnicastAddressInput(mContext, unicastAddress)) {
                 unicastBytes = new byte[]{(byte) ((unicastAddress >> 8) & 0xFF), (byte) (unicastAddress & 0xFF)};
             }
             final UnprovisionedMeshNode unprovisionedMeshNode = new UnprovisionedMeshNode();
@@ -236,229 +215,146 @@ public class MeshProvisioningHandler {
      */
     public void startProvisioning(@NonNull final String address, final String nodeName, @NonNull final String networkKeyValue, final int keyIndex, final int flags, final int ivIndex, final int unicastAddress, final int globalTtl) throws IllegalArgumentException {
         final UnprovisionedMeshNode meshNode = initializeMeshNode(address ,nodeName, networkKeyValue, keyIndex, flags, ivIndex, unicastAddress, globalTtl);
-        mUnprovisionedMeshNode = meshNode;
-        this.attentionTimer = 0x0A;
-        sendProvisioningInvite();
-    }
-
-    private void sendProvisioningInvite() {
-        isProvisioningPublicKeySent = false;
-        isProvisioneePublicKeyReceived = false;
-        attentionTimer = 0x0A;
-        final ProvisioningInvite invite = new ProvisioningInvite(mUnprovisionedMeshNode, attentionTimer, mInternalTransportCallbacks, mProvisoningStatusCallbacks);
-        provisioningState = invite;
-        invite.executeSend();
+        startSession(meshNode, unicastAddress);
     }
 
     /**
-     * Read provisioning capabilities of node
+     * Starts the provisioning session of a node, replacing the session already running for the same device
      *
-     * @param capabilities provisioning capabilities of the node
-     * @return true if the message is valid
+     * @param meshNode       node to be provisioned
+     * @param unicastAddress requested unicast address or {@link ProvisioningSession#UNICAST_ADDRESS_AUTO}
+     * @return the new session
      */
-    private boolean validateProvisioningCapabilitiesMessage(final byte[] capabilities) {
-        final ProvisioningCapabilities provisioningCapabilities = (ProvisioningCapabilities) provisioningState;
-        provisioningCapabilities.parseData(capabilities);
-        return true;
-    }
-
-    private void sendProvisioningStartPDU() {
-        final ProvisioningCapabilities capabilities = (ProvisioningCapabilities) provisioningState;
-        numberOfElements = capabilities.getNumberOfElements();
-        algorithm = capabilities.getAlgorithm();
-        publicKeyType = capabilities.getPublicKeyType();
-        staticOOBType = capabilities.getStaticOOBType();
-        outputOOBSize = capabilities.getOutputOOBSize();
-        outputOOBAction = capabilities.getOutputOOBAction();
-        inputOOBSize = capabilities.getInputOOBSize();
-        inputOOBAction = capabilities.getInputOOBAction();
-
-        final ProvisioningStart startProvisioning = new ProvisioningStart(mUnprovisionedMeshNode, mInternalTransportCallbacks, mProvisoningStatusCallbacks);
-        startProvisioning.setProvisioningCapabilities(numberOfElements, algorithm, publicKeyType, staticOOBType, outputOOBSize, outputOOBAction, inputOOBSize, inputOOBAction);
-        provisioningState = startProvisioning;
-        startProvisioning.executeSend();
-    }
-
-    private void sendProvisionerPublicKey() {
-        if (!isProvisioningPublicKeySent) {
-            if (provisioningState instanceof ProvisioningPublicKey) {
-                isProvisioningPublicKeySent = true;
-                provisioningState.executeSend();
-            } else {
-                final ProvisioningPublicKey provisioningPublicKey = new ProvisioningPublicKey(mUnprovisionedMeshNode, mInternalTransportCallbacks, mProvisoningStatusCallbacks);
-                provisioningState = provisioningPublicKey;
-                isProvisioningPublicKeySent = true;
-                provisioningPublicKey.executeSend();
-            }
+    ProvisioningSession startSession(final UnprovisionedMeshNode meshNode, final int unicastAddress) {
+        final String address = meshNode.getBluetoothDeviceAddress();
+        final ProvisioningSession session = new ProvisioningSession(meshNode, unicastAddress, mAddressAllocator,
+                mInternalTransportCallbacks, mInternalMeshManagerCallbacks, mProvisoningStatusCallbacks, mProvisioningMetrics);
+        final ProvisioningSession previous;
+        synchronized (mSessions) {
+            previous = mSessions.put(address, session);
+            mLastSession = session;
+        }
+        //Starting over with a device releases the addresses reserved for the previous attempt
+        if (previous != null) {
+            previous.cancel();
         }
+        //Have a key pair ready by the time the device has sent its capabilities
+        EcdhKeyPairPool.getInstance().prefill();
+        session.setLastActivityTime(mScheduler.elapsedRealtime());
+        session.start();
+        scheduleIdleTimeout(session, mIdleTimeout);
+        return session;
     }
 
-    private void parseProvisioneePublicKeyXY(final byte[] data) {
-        if (provisioningState instanceof ProvisioningPublicKey) {
-            final ProvisioningPublicKey provisioningPublicKey = ((ProvisioningPublicKey) provisioningState);
-            isProvisioneePublicKeyReceived = provisioningPublicKey.parseData(data);
-
-            if (isProvisioningPublicKeySent && isProvisioneePublicKeyReceived) {
-                provisioningState = new ProvisioningConfirmation(this, mUnprovisionedMeshNode, mInternalTransportCallbacks, mProvisoningStatusCallbacks);
-                if (outputOOBAction == 0 && inputOOBAction == 0) {
-                    setProvisioningConfirmation("");
-                } else {
-                    mProvisoningStatusCallbacks.onProvisioningAuthenticationInputRequested(mUnprovisionedMeshNode);
+    /**
+     * Sets the authentication value of the first session waiting for it
+     *
+     * @param pin authentication value
+     */
+    public void setProvisioningConfirmation(final String pin) {
+        ProvisioningSession waiting = null;
+        synchronized (mSessions) {
+            for (ProvisioningSession session : mSessions.values()) {
+                if (session.isAuthenticationInputRequested()) {
+                    waiting = session;
+                    break;
                 }
             }
         }
-    }
-
-    public void setProvisioningConfirmation(final String pin) {
-        if (pin != null /*&& pin.length() > 0*/) {
-            final ProvisioningConfirmation provisioningConfirmation = (ProvisioningConfirmation) provisioningState;
-            provisioningConfirmation.setPin(pin);
-            provisioningConfirmation.executeSend();
+        if (waiting != null) {
+            waiting.setLastActivityTime(mScheduler.elapsedRealtime());
+            waiting.setProvisioningConfirmation(pin);
         }
     }
 
-    private boolean parseProvisioneeConfirmation(final byte[] data) {
-        //log(LogContract.Log.Level.APPLICATION, mContext.getString(R.string.provisionee_public_key_xy));
-        final ProvisioningConfirmation provisioningConfirmation = (ProvisioningConfirmation) provisioningState;
-        return provisioningConfirmation.parseData(data);
-    }
-
-    private void sendRandomConfirmationPDU() {
-        //log(LogContract.Log.Level.APPLICATION, mContext.getString(R.string.sending_provision_confirmation));
-        final ProvisioningRandomConfirmation provisioningRandomConfirmation = new ProvisioningRandomConfirmation(this, mUnprovisionedMeshNode, mInternalTransportCallbacks, mProvisoningStatusCallbacks);
-        provisioningState = provisioningRandomConfirmation;
-        provisioningRandomConfirmation.executeSend();
-    }
-
-    private boolean parseProvisioneeRandom(final byte[] data) {
-        //log(LogContract.Log.Level.APPLICATION, mContext.getString(R.string.provisionee_public_key_xy));
-        final ProvisioningRandomConfirmation provisioningRandomConfirmation = (ProvisioningRandomConfirmation) provisioningState;
-        return provisioningRandomConfirmation.parseData(data);
-    }
-
-    private void sendProvisioningData() {
-        final ProvisioningData provisioningData = new ProvisioningData(this, mUnprovisionedMeshNode, mInternalTransportCallbacks, mProvisoningStatusCallbacks);
-        provisioningState = provisioningData;
-        provisioningData.executeSend();
-    }
-
-    private boolean validateMessage(final byte[] data) {
-        final ProvisioningState state = provisioningState;
-        return data[1] == state.getState().ordinal();
-
+    /**
+     * Sets the authentication value of the device with the given bluetooth address
+     *
+     * @param address bluetooth address of the device being provisioned
+     * @param pin     authentication value
+     */
+    public void setProvisioningConfirmation(@NonNull final String address, final String pin) {
+        final ProvisioningSession session;
+        synchronized (mSessions) {
+            session = mSessions.get(address);
+        }
+        if (session != null) {
+            session.setLastActivityTime(mScheduler.elapsedRealtime());
+            session.setProvisioningConfirmation(pin);
+        }
     }
 
-    public String getCurrentState() {
-        String msg = "";
-        switch (provisioningState.getState()) {
-            case PROVISIONING_INVITE:
-                msg = "Sending provisioning invite";
-                break;
-            case PROVISIONING_CAPABILITIES:
-                msg = "Waiting for provisioning capabilities";
-                break;
-            case PROVISIONING_START:
-                msg = "Sending for provisioning start";
-                break;
-            case PROVISIONING_PUBLIC_KEY:
-                if (isProvisioningPublicKeySent) {
-                    msg = "Sending provsioner public key xy";
-                } else if (isProvisioneePublicKeyReceived) {
-                    msg = "Waiting for provsionee public key xy";
-                }
-                break;
-            case PROVISINING_INPUT_COMPLETE:
-                break;
-            case PROVISIONING_CONFIRMATION:
-                msg = "Sending provisioning confirmation";
-                break;
-            case PROVISINING_RANDOM:
-                msg = "Sending provisioning random";
-                break;
-            case PROVISINING_DATA:
-            case PROVISINING_COMPLETE:
-            case PROVISINING_FAILED:
-                break;
-
+    /**
+     * Cancels the provisioning session of a device, for example after the bearer was disconnected
+     *
+     * @param address bluetooth address of the device being provisioned
+     */
+    public void cancelProvisioning(@NonNull final String address) {
+        final ProvisioningSession session;
+        synchronized (mSessions) {
+            session = mSessions.remove(address);
+        }
+        if (session != null) {
+            session.cancel();
         }
-
-        return msg;
     }
 
-    public final byte[] generateConfirmationInputs() {
-        //invite: 1 bytes, capabilities: 11 bytes, start: 5 bytes, provisionerKey: 64 bytes, deviceKey: 64 bytes
-        //Append all the raw data together
-        final byte[] invite = new byte[]{(byte) attentionTimer};
-        final byte[] capabilities = generateCapabilities();
-        final byte[] startData = generateStartData();
-        final byte[] provisionerKeyXY = mUnprovisionedMeshNode.getProvisionerPublicKeyXY();
-        final byte[] provisioneeKeyXY = mUnprovisionedMeshNode.getProvisioneePublicKeyXY();
-
-        final int length = invite.length +
-                capabilities.length +
-                startData.length +
-                provisionerKeyXY.length +
-                provisioneeKeyXY.length;
-
-        final ByteBuffer buffer = ByteBuffer.allocate(length);
-        buffer.put(invite);
-        buffer.put(capabilities);
-        buffer.put(startData);
-        buffer.put(provisionerKeyXY);
-        buffer.put(provisioneeKeyXY);
-
-        return buffer.array();
+    /**
+     * Returns the provisioning session of a device
+     *
+     * @param address bluetooth address of the device being provisioned
+     * @return the session or null if the device is not being provisioned
+     */
+    public ProvisioningSession getSession(@NonNull final String address) {
+        synchronized (mSessions) {
+            return mSessions.get(address);
+        }
     }
 
-    private byte[] generateCapabilities() {
-        final byte[] capabilities = new byte[11];
-
-        capabilities[0] = (byte) numberOfElements;
-        capabilities[1] = (byte) ((algorithm >> 8) & 0xFF);
-        capabilities[2] = (byte) (algorithm & 0xFF);
-        capabilities[3] = (byte) publicKeyType;
-        capabilities[4] = (byte) staticOOBType;
-        capabilities[5] = (byte) outputOOBSize;
-        capabilities[6] = (byte) ((outputOOBAction >> 8) & 0xFF);
-        capabilities[7] = (byte) (outputOOBAction & 0xFF);
-        capabilities[8] = (byte) inputOOBSize;
-        capabilities[9] = (byte) ((inputOOBAction >> 8) & 0xFF);
-        capabilities[10] = (byte) (inputOOBAction & 0xFF);
-
-        return capabilities;
+    /**
+     * Returns the sessions of the devices being provisioned
+     */
+    public List<ProvisioningSession> getSessions() {
+        synchronized (mSessions) {
+            return new ArrayList<>(mSessions.values());
+        }
     }
 
-
-    private byte[] generateStartData() {
-        final byte[] startData = new byte[5];
-        startData[0] = ParseProvisioningAlgorithm.getAlgorithmValue(algorithm);
-        startData[1] = 0;//(byte) publicKeyType;
-        startData[2] = getAuthenticationMethod();
-        startData[3] = (byte) ParseOutputOOBActions.getOuputOOBActionValue(outputOOBAction);
-        startData[4] = (byte) outputOOBSize;
-
-        return startData;
+    public String getCurrentState() {
+        final ProvisioningSession session = mLastSession;
+        return session == null ? "" : session.getCurrentState();
     }
 
-    private byte getAuthenticationMethod() {
-        if (ParseOutputOOBActions.parseOuputOOBActionValue(outputOOBAction) == 0 && ParseInputOOBActions.parseInputOOBActionValue(inputOOBAction) > 0) {
-            return 3;
-        } else if (ParseOutputOOBActions.parseOuputOOBActionValue(outputOOBAction) > 0 && ParseInputOOBActions.parseInputOOBActionValue(inputOOBAction) == 0) {
-            return 2;
-        } else {
-            return 0;
-        }
+    /**
+     * Returns the node of the session started last
+     */
+    public UnprovisionedMeshNode getMeshNode() {
+        final ProvisioningSession session = mLastSession;
+        return session == null ? null : session.getMeshNode();
     }
 
-    public UnprovisionedMeshNode getMeshNode() {
-        return mUnprovisionedMeshNode;
+    public void setProvisioningCallbacks(MeshProvisioningStatusCallbacks provisioningCallbacks) {
+        this.mProvisoningStatusCallbacks = provisioningCallbacks;
     }
 
-    public void setMeshNode(final UnprovisionedMeshNode unprovisionedMeshNode) {
-        this.mUnprovisionedMeshNode = unprovisionedMeshNode;
+    /**
+     * Sets the metrics receiving the timing of the sessions started from now on
+     *
+     * @param metrics provisioning metrics or null to stop tracing new sessions
+     */
+    public void setProvisioningMetrics(final ProvisioningMetrics metrics) {
+        this.mProvisioningMetrics = metrics;
     }
 
-    public void setProvisioningCallbacks(MeshProvisioningStatusCallbacks provisioningCallbacks) {
-        this.mProvisoningStatusCallbacks = provisioningCallbacks;
+    /**
+     * Sets the time after which a session fails if no provisioning pdu has been sent to or received from its device,
+     * running sessions use the new timeout the next time their timeout is checked
+     *
+     * @param timeout idle timeout in milliseconds, {@link #DEFAULT_IDLE_TIMEOUT} by default
+     */
+    public void setIdleTimeout(final long timeout) {
+        if (timeout <= 0)
+            throw new IllegalArgumentException("Idle timeout must be positive");
+        this.mIdleTimeout = timeout;
     }
 }
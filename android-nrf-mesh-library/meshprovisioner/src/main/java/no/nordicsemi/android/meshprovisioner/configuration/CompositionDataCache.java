@@ -0,0 +1,147 @@
+package no.nordicsemi.android.meshprovisioner.configuration;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import no.nordicsemi.android.meshprovisioner.utils.MeshParserUtils;
+
+/**
+ * Caches composition data pages by company, product and version identifier.
+ * <p>
+ * Nodes of the same product and firmware version have the same composition data apart from the element addresses, which are
+ * derived from the unicast address of the node. Once the composition data of one node has been received it can be applied
+ * to the other nodes without the segmented composition data get and status exchange.
+ * Entries are stored in preferences so they survive restarts of the application.
+ * </p>
+ */
+public final class CompositionDataCache {
+
+    private static final String PREFS_COMPOSITION_DATA = "PREFS_COMPOSITION_DATA";
+
+    /**
+     * Composition data page 0 containing the identifiers, features and elements of a node
+     */
+    public static final int PAGE_0 = 0;
+
+    private static CompositionDataCache mCache;
+
+    private final SharedPreferences mPreferences;
+    private final Map<Long, byte[]> mPages = new HashMap<>();
+    private int mHitCount;
+    private int mMissCount;
+
+    /**
+     * Creates a composition data cache
+     *
+     * @param preferences preferences the pages are stored in or null to keep the pages in memory only
+     */
+    public CompositionDataCache(final SharedPreferences preferences) {
+        mPreferences = preferences;
+        if (preferences != null) {
+            for (Map.Entry<String, ?> entry : preferences.getAll().entrySet()) {
+                if (entry.getValue() instanceof String) {
+                    mPages.put(Long.parseLong(entry.getKey(), 16), MeshParserUtils.toByteArray((String) entry.getValue()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the composition data cache of the application
+     *
+     * @param context context
+     */
+    public static synchronized CompositionDataCache getInstance(final Context context) {
+        if (mCache == null) {
+            mCache = new CompositionDataCache(context.getSharedPreferences(PREFS_COMPOSITION_DATA, Context.MODE_PRIVATE));
+        }
+        return mCache;
+    }
+
+    /**
+     * Returns a cached composition data page or null
+     *
+     * @param companyIdentifier 16-bit company identifier
+     * @param productIdentifier 16-bit product identifier
+     * @param versionIdentifier 16-bit version identifier
+     * @param page              composition data page number
+     * @return page data starting with the company identifier
+     */
+    public synchronized byte[] get(final int companyIdentifier, final int productIdentifier, final int versionIdentifier, final int page) {
+        final byte[] data = mPages.get(getKey(companyIdentifier, productIdentifier, versionIdentifier, page));
+        if (data == null) {
+            mMissCount++;
+            return null;
+        }
+        mHitCount++;
+        return data.clone();
+    }
+
+    /**
+     * Stores a composition data page
+     *
+     * @param companyIdentifier 16-bit company identifier
+     * @param productIdentifier 16-bit product identifier
+     * @param versionIdentifier 16-bit version identifier
+     * @param page              composition data page number
+     * @param data              page data starting with the company identifier
+     */
+    public synchronized void put(final int companyIdentifier, final int productIdentifier, final int versionIdentifier, final int page, final byte[] data) {
+        final long key = getKey(companyIdentifier, productIdentifier, versionIdentifier, page);
+        final byte[] cached = mPages.get(key);
+        if (cached != null && Arrays.equals(cached, data))
+            return;
+
+        mPages.put(key, data.clone());
+        if (mPreferences != null) {
+            mPreferences.edit().putString(toString(key), MeshParserUtils.bytesToHex(data, false)).apply();
+        }
+    }
+
+    /**
+     * Returns the number of cached pages
+     */
+    public synchronized int size() {
+        return mPages.size();
+    }
+
+    /**
+     * Returns the number of lookups that found a cached page
+     */
+    public synchronized int getHitCount() {
+        return mHitCount;
+    }
+
+    /**
+     * Returns the number of lookups that did not find a cached page
+     */
+    public synchronized int getMissCount() {
+        return mMissCount;
+    }
+
+    /**
+     * Removes all cached pages
+     */
+    public synchronized void clear() {
+        mPages.clear();
+        mHitCount = 0;
+        mMissCount = 0;
+        if (mPreferences != null) {
+            mPreferences.edit().clear().apply();
+        }
+    }
+
+    private static long getKey(final int companyIdentifier, final int productIdentifier, final int versionIdentifier, final int page) {
+        return ((long) (companyIdentifier & 0xFFFF) << 40) | ((long) (productIdentifier & 0xFFFF) << 24)
+                | ((long) (versionIdentifier & 0xFFFF) << 8) | (page & 0xFF);
+    }
+
+    private static String toString(final long key) {
+        return String.format(Locale.US, "%014X", key);
+    }
+}
@@ -100,13 +100,14 @@ public class ConfigAppKeyStatus extends ConfigMessage {
                 final int opcode = MeshParserUtils.getOpCode(accessPayload, opCodeLength);
                 if (opcode == ConfigMessageOpCodes.CONFIG_APPKEY_STATUS) {
                     Log.v(TAG, "Received config app key status");
+                    setStatusReceived();
                     final int offset = +2; //Ignoring the opcode and the parameter received
                     parseConfigAppKeyStatus(accessPayload, offset);
                     if(isSuccessful) {
                         mProvisionedMeshNode.setAddedAppKey(getAppKeyIndexInt(), appKey);
                     }
                     mConfigStatusCallbacks.onAppKeyStatusReceived(mProvisionedMeshNode, isSuccessful, status, getNetkeyIndexInt(), getAppKeyIndexInt());
-                    updateSavedProvisionedNode(mContext, mProvisionedMeshNode);
+                    updateSavedProvisionedNode(mProvisionedMeshNode);
                 } else {
                     mConfigStatusCallbacks.onUnknownPduReceived(mProvisionedMeshNode);
                 }
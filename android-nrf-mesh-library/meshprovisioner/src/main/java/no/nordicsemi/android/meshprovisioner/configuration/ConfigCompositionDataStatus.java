@@ -5,6 +5,7 @@ import android.util.Log;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
@@ -65,11 +66,15 @@ public final class ConfigCompositionDataStatus extends ConfigMessage {
                 final int opcode = accessMessage.getOpCode();//MeshParserUtils.getOpCode(accessPayload, opCodeLength);
                 if (opcode == ConfigMessageOpCodes.CONFIG_COMPOSITION_DATA_STATUS) {
                     Log.v(TAG, "Received composition data status");
-                    final int offset = +2; //Ignoring the opcode and the parameter received
-                    pareCompositionDataPages(accessMessage, offset);
-                    mProvisionedMeshNode.setCompositionData(this);
+                    setStatusReceived();
+                    final byte[] accessPayload = accessMessage.getAccessPdu();
+                    final int offset = +2; //Ignoring the opcode and the page number received
+                    pareCompositionDataPages(accessPayload, offset, accessMessage.getSrc());
+                    CompositionDataCache.getInstance(mContext).put(companyIdentifier, productIdentifier, versionIdentifier,
+                            accessPayload[1] & 0xFF, Arrays.copyOfRange(accessPayload, offset, accessPayload.length));
+                    mProvisionedMeshNode.setCompositionData(companyIdentifier, productIdentifier, versionIdentifier, crpl, features, mElements);
                     mConfigStatusCallbacks.onCompositionDataStatusReceived(mProvisionedMeshNode);
-                    updateSavedProvisionedNode(mContext, mProvisionedMeshNode);
+                    updateSavedProvisionedNode(mProvisionedMeshNode);
                 } else {
                     mConfigStatusCallbacks.onUnknownPduReceived(mProvisionedMeshNode);
                 }
@@ -80,32 +85,62 @@ public final class ConfigCompositionDataStatus extends ConfigMessage {
     }
 
     /**
-     * Parses the identifiers and the payloads
+     * Applies the composition data cached for nodes with the same identifiers to the node.
+     * <p>
+     * The element addresses are derived from the unicast address of the node, the node is updated the same way it is when
+     * the composition data status is received.
+     * </p>
      *
-     * @param message underlying access message
-     * @param offset  offset to start parsing from
+     * @param companyIdentifier 16-bit company identifier of the node
+     * @param productIdentifier 16-bit product identifier of the node
+     * @param versionIdentifier 16-bit version identifier of the node
+     * @return true if cached composition data was found and applied, false if nothing is cached or the composition data already read
+     * from the node has other identifiers
      */
-    private void pareCompositionDataPages(final AccessMessage message, final int offset) {
-        final byte[] accessPayload = message.getAccessPdu();
+    public boolean applyCachedCompositionData(final int companyIdentifier, final int productIdentifier, final int versionIdentifier) {
+        if (!mProvisionedMeshNode.acceptsCompositionData(companyIdentifier, productIdentifier, versionIdentifier)) {
+            Log.v(TAG, "Composition data read from the node has other identifiers than the cached composition data");
+            return false;
+        }
+        final byte[] data = CompositionDataCache.getInstance(mContext).get(companyIdentifier, productIdentifier, versionIdentifier, CompositionDataCache.PAGE_0);
+        if (data == null)
+            return false;
+
+        Log.v(TAG, "Applying cached composition data");
+        setStatusReceived();
+        pareCompositionDataPages(data, 0, mProvisionedMeshNode.getUnicastAddress());
+        mProvisionedMeshNode.setCompositionData(companyIdentifier, productIdentifier, versionIdentifier, crpl, features, mElements);
+        mConfigStatusCallbacks.onCompositionDataStatusReceived(mProvisionedMeshNode);
+        updateSavedProvisionedNode(mProvisionedMeshNode);
+        return true;
+    }
 
+    /**
+     * Parses the identifiers and the payloads
+     *
+     * @param data   composition data page
+     * @param offset offset of the company identifier
+     * @param src    address of the primary element
+     */
+    private void pareCompositionDataPages(final byte[] data, final int offset, final byte[] src) {
         //Bluetooth SIG 16-bit company identifier
-        companyIdentifier = accessPayload[3] << 8 | accessPayload[2];
+        companyIdentifier = (data[offset + 1] & 0xFF) << 8 | (data[offset] & 0xFF);
         Log.v(TAG, "Company identifier: " + String.format(Locale.US, "%04X", companyIdentifier));
 
         //16-bit vendor-assigned product identifier;
-        productIdentifier = accessPayload[5] << 8 | accessPayload[4];
+        productIdentifier = (data[offset + 3] & 0xFF) << 8 | (data[offset + 2] & 0xFF);
         Log.v(TAG, "Product identifier: " + String.format(Locale.US, "%04X", productIdentifier));
 
         //16-bit vendor-assigned product version identifier;
-        versionIdentifier = accessPayload[7] << 8 | accessPayload[6];
+        versionIdentifier = (data[offset + 5] & 0xFF) << 8 | (data[offset + 4] & 0xFF);
         Log.v(TAG, "Version identifier: " + String.format(Locale.US, "%04X", versionIdentifier));
 
         //16-bit representation of the minimum number of replay protection list entries in a device
-        crpl = accessPayload[9] << 8 | accessPayload[8];
+        crpl = (data[offset + 7] & 0xFF) << 8 | (data[offset + 6] & 0xFF);
         Log.v(TAG, "crpl: " + String.format(Locale.US, "%04X", crpl));
 
         //16-bit device features
-        features = accessPayload[11] << 8 | accessPayload[10];
+        features = (data[offset + 9] & 0xFF) << 8 | (data[offset + 8] & 0xFF);
         Log.v(TAG, "Features: " + String.format(Locale.US, "%04X", features));
 
         relayFeatureSupported = DeviceFeatureUtils.supportsRelayFeature(features);
@@ -127,7 +162,7 @@ public final class ConfigCompositionDataStatus extends ConfigMessage {
         // Number of vendor model in this element
         // SIG model ID octents - Variable
         // Vendor model ID octents - Variable
-        parseElements(accessPayload, message.getSrc(), 12);
+        parseElements(data, src, offset + 10);
         Log.v(TAG, "Number of elements: " + mElements.size());
     }
 
@@ -1,12 +1,8 @@
 package no.nordicsemi.android.meshprovisioner.configuration;
 
 import android.content.Context;
-import android.content.SharedPreferences;
 import android.util.Log;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-
 import java.util.HashMap;
 import java.util.Map;
 
@@ -15,15 +11,18 @@ import no.nordicsemi.android.meshprovisioner.MeshConfigurationStatusCallbacks;
 import no.nordicsemi.android.meshprovisioner.control.BlockAcknowledgementMessage;
 import no.nordicsemi.android.meshprovisioner.control.TransportControlMessage;
 import no.nordicsemi.android.meshprovisioner.messages.ControlMessage;
+import no.nordicsemi.android.meshprovisioner.messages.Message;
 import no.nordicsemi.android.meshprovisioner.opcodes.ConfigMessageOpCodes;
 import no.nordicsemi.android.meshprovisioner.transport.LowerTransportLayerCallbacks;
-import no.nordicsemi.android.meshprovisioner.utils.InterfaceAdapter;
+import no.nordicsemi.android.meshprovisioner.transport.NetworkPduFilter;
+import no.nordicsemi.android.meshprovisioner.transport.SegmentReassembler;
+import no.nordicsemi.android.meshprovisioner.transport.SegmentTransmitter;
+import no.nordicsemi.android.meshprovisioner.utils.AddressUtils;
 import no.nordicsemi.android.meshprovisioner.utils.MeshParserUtils;
 
 public abstract class ConfigMessage implements LowerTransportLayerCallbacks {
 
     private static final String TAG = ConfigCompositionDataStatus.class.getSimpleName();
-    private static final String PROVISIONED_NODES_FILE = "PROVISIONED_FILES";
     protected final Context mContext;
     protected final ProvisionedMeshNode mProvisionedMeshNode;
     final MeshTransport mMeshTransport;
@@ -31,7 +30,8 @@ public abstract class ConfigMessage implements LowerTransportLayerCallbacks {
     final byte[] mSrc;
     protected InternalTransportCallbacks mInternalTransportCallbacks;
     MeshConfigurationStatusCallbacks mConfigStatusCallbacks;
-    private Gson mGson;
+    private DeliveryCallbacks mDeliveryCallbacks;
+    private boolean mStatusReceived;
 
     public ConfigMessage(final Context context, final ProvisionedMeshNode unprovisionedMeshNode) {
         this.mContext = context;
@@ -39,19 +39,57 @@ public abstract class ConfigMessage implements LowerTransportLayerCallbacks {
         this.mSrc = mProvisionedMeshNode.getConfigurationSrc();
         this.mMeshTransport = new MeshTransport(context, unprovisionedMeshNode);
         this.mMeshTransport.setCallbacks(this);
-        initGson();
     }
 
+    public abstract ConfigMessageState getState();
 
-    private void initGson() {
-        final GsonBuilder gsonBuilder = new GsonBuilder();
-        gsonBuilder.enableComplexMapKeySerialization();
-        gsonBuilder.registerTypeAdapter(MeshModel.class, new InterfaceAdapter<MeshModel>());
-        gsonBuilder.setPrettyPrinting();
-        mGson = gsonBuilder.create();
+    /**
+     * Sets the filter that remembers the network pdus of this message once their network mic has been verified
+     *
+     * @param networkPduFilter network pdu filter
+     */
+    public final void setNetworkPduFilter(final NetworkPduFilter networkPduFilter) {
+        mMeshTransport.setNetworkPduFilter(networkPduFilter);
     }
 
-    public abstract ConfigMessageState getState();
+    /**
+     * Sets the segment transmitter shared by the configuration messages sent over the same bearer
+     *
+     * @param segmentTransmitter segment transmitter
+     */
+    public final void setSegmentTransmitter(final SegmentTransmitter segmentTransmitter) {
+        mMeshTransport.setSegmentTransmitter(segmentTransmitter);
+    }
+
+    /**
+     * Sets the segment reassemblers shared by the configuration messages received over the same bearer
+     *
+     * @param accessReassembler  reassembler of segmented access messages
+     * @param controlReassembler reassembler of segmented control messages
+     */
+    public final void setSegmentReassemblers(final SegmentReassembler accessReassembler, final SegmentReassembler controlReassembler) {
+        mMeshTransport.setSegmentReassemblers(accessReassembler, controlReassembler);
+    }
+
+    /**
+     * Sets the callbacks notified when this message could not be delivered to the node
+     *
+     * @param deliveryCallbacks delivery callbacks
+     */
+    public final void setDeliveryCallbacks(final DeliveryCallbacks deliveryCallbacks) {
+        mDeliveryCallbacks = deliveryCallbacks;
+    }
+
+    /**
+     * Returns true once the status message this message is waiting for has been received
+     */
+    public final boolean isStatusReceived() {
+        return mStatusReceived;
+    }
+
+    final void setStatusReceived() {
+        mStatusReceived = true;
+    }
 
     /**
      * Parses control message and returns the underlying configuration message
@@ -74,16 +112,53 @@ public abstract class ConfigMessage implements LowerTransportLayerCallbacks {
         }
     }
 
+    @Override
+    public void resendSegment(final Message message, final byte[] pdu) {
+        Log.v(TAG, "Resending segment: " + MeshParserUtils.bytesToHex(pdu, false));
+        mInternalTransportCallbacks.sendPdu(mProvisionedMeshNode, pdu);
+    }
+
+    @Override
+    public void onSegmentedMessageDelivered(final Message message) {
+        Log.v(TAG, "All segments acknowledged by: " + MeshParserUtils.bytesToHex(message.getDst(), true));
+    }
+
+    @Override
+    public void onSegmentedMessageFailed(final Message message) {
+        Log.e(TAG, "Segmented message could not be delivered to: " + MeshParserUtils.bytesToHex(message.getDst(), true));
+        if (mDeliveryCallbacks != null) {
+            mDeliveryCallbacks.onDeliveryFailed(this);
+        }
+    }
+
+    @Override
+    public void onSegmentedMessageIncomplete(final int src) {
+        Log.e(TAG, "Segmented message from " + MeshParserUtils.bytesToHex(AddressUtils.getUnicastAddressBytes(src), true) + " was not completed");
+        if (mDeliveryCallbacks != null) {
+            mDeliveryCallbacks.onDeliveryFailed(this);
+        }
+    }
+
+    /**
+     * Saves the provisioned node after its configuration has changed
+     */
+    final void updateSavedProvisionedNode(final ProvisionedMeshNode node) {
+        mInternalTransportCallbacks.updateMeshNode(node);
+    }
+
     /**
-     * Serialize and save provisioned nodes
+     * Notified when a configuration message could not be delivered to the node or its segmented status could not be received
      */
-    final void updateSavedProvisionedNode(final Context context, final ProvisionedMeshNode node) {
-        SharedPreferences preferences = context.getSharedPreferences(PROVISIONED_NODES_FILE, Context.MODE_PRIVATE);
-        SharedPreferences.Editor editor = preferences.edit();
-        final String unicastAddress = MeshParserUtils.bytesToHex(node.getUnicastAddress(), true);
-        final String provisionedNode = mGson.toJson(node);
-        editor.putString(unicastAddress, provisionedNode);
-        editor.commit();
+    public interface DeliveryCallbacks {
+
+        /**
+         * Invoked when the segments of the message were not acknowledged by the node after the last retransmission,
+         * the node cancelled the message, the message was replaced by a new one to the same node or the segmented status was
+         * discarded before all segments were received
+         *
+         * @param configMessage configuration message that could not be delivered
+         */
+        void onDeliveryFailed(final ConfigMessage configMessage);
     }
 
     public enum ConfigMessageState {
@@ -108,6 +108,7 @@ public final class ConfigModelAppStatus extends ConfigMessage {
                 final int opcode = MeshParserUtils.getOpCode(accessPayload, opCodeLength);
                 if (opcode == ConfigMessageOpCodes.CONFIG_MODEL_APP_STATUS) {
                     Log.v(TAG, "Received app key bind status");
+                    setStatusReceived();
                     final int offset = +2; //Ignoring the opcode and the parameter received
                     final ByteBuffer buffer = ByteBuffer.wrap(accessPayload).order(ByteOrder.LITTLE_ENDIAN);
                     buffer.position(offset);
@@ -128,10 +129,12 @@ public final class ConfigModelAppStatus extends ConfigMessage {
                     Log.v(TAG, "App key index: " + MeshParserUtils.bytesToHex(appKeyIndex, false));
                     Log.v(TAG, "Model Identifier: " + MeshParserUtils.bytesToHex(modelIdentifier, false));
 
-                    mProvisionedMeshNode.setConfigModelAppStatus(this);
+                    if (isSuccessful) {
+                        mProvisionedMeshNode.bindAppKey(getElementAddressInt(), getModelIdentifierInt(), getAppKeyIndexInt());
+                    }
                     mConfigStatusCallbacks.onAppKeyBindStatusReceived(mProvisionedMeshNode, isSuccessful, status,
                             AddressUtils.getUnicastAddressInt(elementAddress), getAppKeyIndexInt(), getModelIdentifierInt());
-                    updateSavedProvisionedNode(mContext, mProvisionedMeshNode);
+                    updateSavedProvisionedNode(mProvisionedMeshNode);
                 } else {
                     mConfigStatusCallbacks.onUnknownPduReceived(mProvisionedMeshNode);
                 }
@@ -113,6 +113,7 @@ public class ConfigModelPublicationStatus extends ConfigMessage {
 
                 if (opcode == ConfigMessageOpCodes.CONFIG_MODEL_PUBLICATION_STATUS) {
                     Log.v(TAG, "Received model publication status status");
+                    setStatusReceived();
                     final int offset = +2; //Ignoring the opcode and the parameter received
                     status = accessPayload[offset];
                     elementAddress = new byte[]{accessPayload[4], accessPayload[3]};
@@ -146,10 +147,10 @@ public class ConfigModelPublicationStatus extends ConfigMessage {
                     if (isSuccessful) {
                         final Element element = mProvisionedMeshNode.getElements().get(getElementAddressInt());
                         final MeshModel model = element.getMeshModels().get(getModelIdentifierInt());
-                        model.setSubscriptionAddress(this);
+                        model.setPublicationSettings(publishAddress, credentialFlag, publishTtl, publishPeriod, publishRetransmitCount, publishRetransmitIntervalSteps);
                     }
                     mConfigStatusCallbacks.onPublicationStatusReceived(mProvisionedMeshNode, isSuccessful, status, elementAddress, publishAddress, getModelIdentifierInt());
-                    updateSavedProvisionedNode(mContext, mProvisionedMeshNode);
+                    updateSavedProvisionedNode(mProvisionedMeshNode);
                 } else {
                     mConfigStatusCallbacks.onUnknownPduReceived(mProvisionedMeshNode);
                 }
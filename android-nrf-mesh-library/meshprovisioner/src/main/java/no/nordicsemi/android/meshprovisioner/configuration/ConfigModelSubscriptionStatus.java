@@ -109,6 +109,7 @@ public class ConfigModelSubscriptionStatus extends ConfigMessage {
 
                 if (opcode == ConfigMessageOpCodes.CONFIG_MODEL_SUBSCRIPTION_STATUS) {
                     Log.v(TAG, "Received model subscription status");
+                    setStatusReceived();
                     final int offset = +2; //Ignoring the opcode and the parameter received
                     status = accessPayload[offset];
                     elementAddress = new byte[]{accessPayload[4], accessPayload[3]};
@@ -136,7 +137,7 @@ public class ConfigModelSubscriptionStatus extends ConfigMessage {
                             model.removeSubscriptionAddress(mSubscriptionAddress);
                         }
                     }
-                    updateSavedProvisionedNode(mContext, mProvisionedMeshNode);
+                    updateSavedProvisionedNode(mProvisionedMeshNode);
                     mConfigStatusCallbacks.onSubscriptionStatusReceived(mProvisionedMeshNode, isSuccessful, status, elementAddress, mSubscriptionAddress, getModelIdentifierInt());
                 } else {
                     mConfigStatusCallbacks.onUnknownPduReceived(mProvisionedMeshNode);
@@ -0,0 +1,386 @@
+package no.nordicsemi.android.meshprovisioner.configuration;
+
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import no.nordicsemi.android.meshprovisioner.utils.AddressUtils;
+
+/**
+ * Stores provisioned nodes in an append-only journal of binary node records.
+ * <p>
+ * Saving a node appends a single record containing that node, so the cost of an update does not depend on the number of
+ * nodes in the network and a node that has not changed is not written at all. When a node is loaded the last record of every
+ * unicast address wins. Once the journal contains more than twice as many records as there are nodes it is compacted by
+ * writing the latest record of every node to a new file that atomically replaces the journal.
+ * Every record is protected by a CRC32 and synced to storage before a save returns. A record that was only partially written
+ * when the application was stopped is cut off the end of the journal when it is loaded, if the journal cannot be read for any
+ * other reason it is left untouched and nothing is written to it.
+ * </p>
+ */
+public final class JournalMeshNodeStore implements MeshNodeStore {
+
+    private static final String TAG = JournalMeshNodeStore.class.getSimpleName();
+
+    /**
+     * Minimum number of records in the journal before it is compacted by default
+     */
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 64;
+
+    //"MNJ1"
+    private static final int MAGIC = 0x4D4E4A31;
+    private static final int RECORD_PUT = 1;
+    private static final int RECORD_DELETE = 2;
+    //record type, unicast address and payload length
+    private static final int RECORD_HEADER_LENGTH = 1 + 2 + 4;
+    private static final int RECORD_CRC_LENGTH = 4;
+    private static final int MAX_RECORD_LENGTH = 0xFFFF;
+
+    private final File mFile;
+    private final int mCompactionThreshold;
+    private final Map<Integer, byte[]> mRecords = new TreeMap<>();
+    private final ByteArrayOutputStream mRecordBuffer = new ByteArrayOutputStream(256);
+    private final CRC32 mCrc = new CRC32();
+    private FileOutputStream mOutput;
+    private boolean mLoaded;
+    private int mJournalRecordCount;
+    private int mWriteCount;
+    private int mSkippedWriteCount;
+    private int mCompactionCount;
+
+    public JournalMeshNodeStore(final File file) {
+        this(file, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Creates a journal node store
+     *
+     * @param file                journal file
+     * @param compactionThreshold minimum number of records in the journal before it is compacted
+     */
+    public JournalMeshNodeStore(final File file, final int compactionThreshold) {
+        if (compactionThreshold <= 0)
+            throw new IllegalArgumentException("Compaction threshold must be greater than 0");
+        mFile = file;
+        mCompactionThreshold = compactionThreshold;
+    }
+
+    @Override
+    public List<ProvisionedMeshNode> load() {
+        return load(false);
+    }
+
+    @Override
+    public List<ProvisionedMeshNode> loadIndex() {
+        return load(true);
+    }
+
+    private synchronized List<ProvisionedMeshNode> load(final boolean index) {
+        if (!loadRecords())
+            return new ArrayList<>();
+        final List<ProvisionedMeshNode> nodes = new ArrayList<>(mRecords.size());
+        for (Map.Entry<Integer, byte[]> entry : mRecords.entrySet()) {
+            try {
+                if (index) {
+                    nodes.add(ProvisionedMeshNode.readRecordIndex(entry.getValue()));
+                } else {
+                    nodes.add(ProvisionedMeshNode.readRecord(new DataInputStream(new ByteArrayInputStream(entry.getValue()))));
+                }
+            } catch (IOException e) {
+                Log.e(TAG, "Unable to read node " + Integer.toHexString(entry.getKey()) + ": " + e.getMessage());
+            }
+        }
+        return nodes;
+    }
+
+    @Override
+    public synchronized boolean save(final ProvisionedMeshNode meshNode) {
+        if (!loadRecords())
+            return false;
+        final byte[] payload;
+        try {
+            mRecordBuffer.reset();
+            meshNode.writeRecord(new DataOutputStream(mRecordBuffer));
+            payload = mRecordBuffer.toByteArray();
+        } catch (IOException e) {
+            Log.e(TAG, "Unable to write node record: " + e.getMessage());
+            return false;
+        }
+
+        final int unicastAddress = AddressUtils.getUnicastAddressInt(meshNode.getUnicastAddress());
+        final byte[] previous = mRecords.get(unicastAddress);
+        if (Arrays.equals(previous, payload)) {
+            mSkippedWriteCount++;
+            return true;
+        }
+        if (!append(RECORD_PUT, unicastAddress, payload))
+            return false;
+        mRecords.put(unicastAddress, payload);
+        compactIfNeeded();
+        return true;
+    }
+
+    @Override
+    public synchronized void delete(final int unicastAddress) {
+        if (!loadRecords())
+            return;
+        if (mRecords.remove(unicastAddress) != null) {
+            append(RECORD_DELETE, unicastAddress, new byte[0]);
+            compactIfNeeded();
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        closeOutput();
+        mRecords.clear();
+        mJournalRecordCount = 0;
+        mLoaded = true;
+        if (mFile.exists() && !mFile.delete()) {
+            Log.e(TAG, "Unable to delete " + mFile);
+        }
+    }
+
+    /**
+     * Writes the latest record of every node to a new journal
+     */
+    public synchronized void compact() {
+        if (!loadRecords())
+            return;
+        closeOutput();
+        final File compacted = new File(mFile.getPath() + ".tmp");
+        try {
+            final FileOutputStream outputStream = new FileOutputStream(compacted);
+            try {
+                final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+                out.writeInt(MAGIC);
+                for (Map.Entry<Integer, byte[]> entry : mRecords.entrySet()) {
+                    out.write(createRecord(RECORD_PUT, entry.getKey(), entry.getValue()));
+                }
+                out.flush();
+                outputStream.getFD().sync();
+            } finally {
+                outputStream.close();
+            }
+            if (!compacted.renameTo(mFile))
+                throw new IOException("Unable to replace " + mFile);
+            mJournalRecordCount = mRecords.size();
+            mCompactionCount++;
+        } catch (IOException e) {
+            Log.e(TAG, "Unable to compact the node journal: " + e.getMessage());
+            compacted.delete();
+        }
+    }
+
+    /**
+     * Returns the number of records in the journal, including the ones replaced by newer records
+     */
+    public synchronized int getJournalRecordCount() {
+        return mJournalRecordCount;
+    }
+
+    /**
+     * Returns the number of records appended to the journal
+     */
+    public synchronized int getWriteCount() {
+        return mWriteCount;
+    }
+
+    /**
+     * Returns the number of saves that were skipped as the node had not changed
+     */
+    public synchronized int getSkippedWriteCount() {
+        return mSkippedWriteCount;
+    }
+
+    /**
+     * Returns the number of times the journal has been compacted
+     */
+    public synchronized int getCompactionCount() {
+        return mCompactionCount;
+    }
+
+    /**
+     * Reads the journal in to memory the first time it is needed
+     *
+     * @return true if the journal has been read, false if it could not be read and must not be written to
+     */
+    private boolean loadRecords() {
+        if (mLoaded)
+            return true;
+        if (!mFile.exists()) {
+            mLoaded = true;
+            return true;
+        }
+
+        final long fileLength = mFile.length();
+        long validLength = 0;
+        boolean torn = false;
+        try {
+            final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(mFile)));
+            try {
+                if (fileLength < 4) {
+                    torn = true;
+                } else {
+                    if (in.readInt() != MAGIC)
+                        throw new IOException("Not a node journal");
+                    validLength = 4;
+                }
+                while (!torn && validLength < fileLength) {
+                    if (fileLength - validLength < RECORD_HEADER_LENGTH) {
+                        torn = true;
+                        break;
+                    }
+                    final int type = in.readUnsignedByte();
+                    final int unicastAddress = in.readUnsignedShort();
+                    final long length = in.readInt() & 0xFFFFFFFFL;
+                    final long recordEnd = validLength + RECORD_HEADER_LENGTH + length + RECORD_CRC_LENGTH;
+                    if (recordEnd > fileLength) {
+                        torn = true;
+                        break;
+                    }
+                    if (length > MAX_RECORD_LENGTH)
+                        throw new IOException("Invalid record length: " + length);
+                    final byte[] payload = new byte[(int) length];
+                    in.readFully(payload);
+                    final int crc = in.readInt();
+                    if (crc != getCrc(type, unicastAddress, payload)) {
+                        //Only the last record can have been partially written, a corrupt record before it is not dropped
+                        if (recordEnd != fileLength)
+                            throw new IOException("Record checksum mismatch");
+                        torn = true;
+                        break;
+                    }
+
+                    if (type == RECORD_PUT) {
+                        mRecords.put(unicastAddress, payload);
+                    } else if (type == RECORD_DELETE) {
+                        mRecords.remove(unicastAddress);
+                    }
+                    mJournalRecordCount++;
+                    validLength = recordEnd;
+                }
+            } finally {
+                in.close();
+            }
+        } catch (IOException e) {
+            //The journal is left as it is and read again the next time it is needed
+            Log.e(TAG, "Unable to read the node journal: " + e.getMessage());
+            mRecords.clear();
+            mJournalRecordCount = 0;
+            return false;
+        }
+
+        mLoaded = true;
+        if (torn) {
+            //A record that was not completely written before the application stopped is cut off after the last valid record
+            Log.e(TAG, "Node journal truncated after " + mJournalRecordCount + " records");
+            truncate(validLength);
+        }
+        Log.v(TAG, "Loaded " + mRecords.size() + " nodes from " + mJournalRecordCount + " journal records");
+        compactIfNeeded();
+        return true;
+    }
+
+    private void truncate(final long length) {
+        try {
+            if (length == 0) {
+                mFile.delete();
+                return;
+            }
+            final RandomAccessFile file = new RandomAccessFile(mFile, "rw");
+            try {
+                file.setLength(length);
+            } finally {
+                file.close();
+            }
+        } catch (IOException e) {
+            Log.e(TAG, "Unable to truncate the node journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Appends a record to the journal
+     *
+     * @return true if the record has been written
+     */
+    private boolean append(final int type, final int unicastAddress, final byte[] payload) {
+        try {
+            if (mOutput == null) {
+                final boolean empty = !mFile.exists() || mFile.length() == 0;
+                mOutput = new FileOutputStream(mFile, true);
+                if (empty) {
+                    mOutput.write(ByteBuffer.allocate(4).putInt(MAGIC).array());
+                }
+            }
+            //The record is written with a single call so that a partially written record can only be at the end of the journal
+            mOutput.write(createRecord(type, unicastAddress, payload));
+            mOutput.flush();
+            mOutput.getFD().sync();
+            mJournalRecordCount++;
+            mWriteCount++;
+            return true;
+        } catch (IOException e) {
+            Log.e(TAG, "Unable to append to the node journal: " + e.getMessage());
+            closeOutput();
+            return false;
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (mJournalRecordCount >= mCompactionThreshold && mJournalRecordCount > 2 * mRecords.size()) {
+            compact();
+        }
+    }
+
+    private void closeOutput() {
+        if (mOutput != null) {
+            try {
+                mOutput.close();
+            } catch (IOException e) {
+                Log.e(TAG, "Unable to close the node journal: " + e.getMessage());
+            }
+            mOutput = null;
+        }
+    }
+
+    private byte[] createRecord(final int type, final int unicastAddress, final byte[] payload) {
+        final ByteBuffer buffer = ByteBuffer.allocate(RECORD_HEADER_LENGTH + payload.length + RECORD_CRC_LENGTH);
+        buffer.put((byte) type);
+        buffer.putShort((short) unicastAddress);
+        buffer.putInt(payload.length);
+        buffer.put(payload);
+        buffer.putInt(getCrc(type, unicastAddress, payload));
+        return buffer.array();
+    }
+
+    private int getCrc(final int type, final int unicastAddress, final byte[] payload) {
+        mCrc.reset();
+        mCrc.update(type);
+        mCrc.update(unicastAddress >> 8);
+        mCrc.update(unicastAddress);
+        mCrc.update(payload.length >> 24);
+        mCrc.update(payload.length >> 16);
+        mCrc.update(payload.length >> 8);
+        mCrc.update(payload.length);
+        mCrc.update(payload, 0, payload.length);
+        return (int) mCrc.getValue();
+    }
+}
@@ -0,0 +1,44 @@
+package no.nordicsemi.android.meshprovisioner.configuration;
+
+import java.util.List;
+
+/**
+ * Persistent storage of the provisioned nodes of a mesh network
+ */
+public interface MeshNodeStore {
+
+    /**
+     * Loads all stored nodes
+     *
+     * @return nodes ordered by unicast address
+     */
+    List<ProvisionedMeshNode> load();
+
+    /**
+     * Loads all stored nodes without reading their elements, models and app keys, which are read on first access
+     * or when {@link ProvisionedMeshNode#hydrate()} is called
+     *
+     * @return nodes ordered by unicast address
+     */
+    List<ProvisionedMeshNode> loadIndex();
+
+    /**
+     * Stores a node, replacing the node previously stored with the same unicast address
+     *
+     * @param meshNode provisioned mesh node
+     * @return true if the node has been stored or was already stored unchanged, false if it could not be written
+     */
+    boolean save(final ProvisionedMeshNode meshNode);
+
+    /**
+     * Removes a node
+     *
+     * @param unicastAddress unicast address of the node
+     */
+    void delete(final int unicastAddress);
+
+    /**
+     * Removes all nodes
+     */
+    void clear();
+}
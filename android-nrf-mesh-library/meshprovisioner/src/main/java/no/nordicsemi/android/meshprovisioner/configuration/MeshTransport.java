@@ -7,24 +7,32 @@ import android.support.annotation.VisibleForTesting;
 import no.nordicsemi.android.meshprovisioner.messages.AccessMessage;
 import no.nordicsemi.android.meshprovisioner.messages.ControlMessage;
 import no.nordicsemi.android.meshprovisioner.messages.Message;
+import no.nordicsemi.android.meshprovisioner.platform.HandlerMeshScheduler;
 import no.nordicsemi.android.meshprovisioner.transport.LowerTransportLayerCallbacks;
 import no.nordicsemi.android.meshprovisioner.transport.NetworkLayer;
+import no.nordicsemi.android.meshprovisioner.transport.NetworkPduFilter;
+import no.nordicsemi.android.meshprovisioner.transport.ReplayProtectionList;
+import no.nordicsemi.android.meshprovisioner.transport.SegmentReassembler;
+import no.nordicsemi.android.meshprovisioner.transport.SegmentTransmitter;
 import no.nordicsemi.android.meshprovisioner.utils.MeshParserUtils;
 
 final class MeshTransport extends NetworkLayer {
 
     private static final String TAG = MeshTransport.class.getSimpleName();
 
+    private final Context mContext;
+
     MeshTransport(final Context context, final ProvisionedMeshNode unprovisionedMeshNode) {
         super();
         this.mContext = context;
         this.mMeshNode = unprovisionedMeshNode;
-        initHandler();
+        this.mReplayProtectionList = ReplayProtectionList.getInstance(context.getFilesDir());
+        initScheduler();
     }
 
     @Override
-    protected void initHandler() {
-        this.mHandler = new Handler(mContext.getMainLooper());
+    protected void initScheduler() {
+        this.mScheduler = new HandlerMeshScheduler(new Handler(mContext.getMainLooper()));
     }
 
     @Override
@@ -32,6 +40,21 @@ final class MeshTransport extends NetworkLayer {
         super.setCallbacks(callbacks);
     }
 
+    @Override
+    public void setNetworkPduFilter(final NetworkPduFilter networkPduFilter) {
+        super.setNetworkPduFilter(networkPduFilter);
+    }
+
+    @Override
+    public void setSegmentTransmitter(final SegmentTransmitter segmentTransmitter) {
+        super.setSegmentTransmitter(segmentTransmitter);
+    }
+
+    @Override
+    public void setSegmentReassemblers(final SegmentReassembler accessReassembler, final SegmentReassembler controlReassembler) {
+        super.setSegmentReassemblers(accessReassembler, controlReassembler);
+    }
+
     @Override
     protected int incrementSequenceNumber() {
         return SequenceNumber.incrementAndStore(mContext);
@@ -0,0 +1,70 @@
+package no.nordicsemi.android.meshprovisioner.configuration;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Passes a {@link ProvisionedMeshNode} in a parcel, for example as an intent extra.
+ * <p>
+ * The node is written to the parcel as its binary node record, see {@link ProvisionedMeshNode#writeRecord(java.io.DataOutput)}.
+ * </p>
+ */
+public final class ParcelableMeshNode implements Parcelable {
+
+    private final ProvisionedMeshNode mMeshNode;
+
+    public ParcelableMeshNode(final ProvisionedMeshNode meshNode) {
+        if (meshNode == null)
+            throw new IllegalArgumentException("Mesh node cannot be null");
+        mMeshNode = meshNode;
+    }
+
+    private ParcelableMeshNode(final Parcel in) {
+        try {
+            mMeshNode = ProvisionedMeshNode.readRecord(new DataInputStream(new ByteArrayInputStream(in.createByteArray())));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to read the node record: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void writeToParcel(final Parcel dest, final int flags) {
+        final ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+        try {
+            mMeshNode.writeRecord(new DataOutputStream(record));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to write the node record: " + e.getMessage());
+        }
+        dest.writeByteArray(record.toByteArray());
+    }
+
+    public static final Creator<ParcelableMeshNode> CREATOR = new Creator<ParcelableMeshNode>() {
+        @Override
+        public ParcelableMeshNode createFromParcel(final Parcel in) {
+            return new ParcelableMeshNode(in);
+        }
+
+        @Override
+        public ParcelableMeshNode[] newArray(final int size) {
+            return new ParcelableMeshNode[size];
+        }
+    };
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    /**
+     * Returns the node passed in the parcel
+     */
+    public ProvisionedMeshNode getMeshNode() {
+        return mMeshNode;
+    }
+}
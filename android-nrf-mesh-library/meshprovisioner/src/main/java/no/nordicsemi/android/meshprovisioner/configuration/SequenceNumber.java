@@ -1,55 +1,36 @@
 package no.nordicsemi.android.meshprovisioner.configuration;
 
 import android.content.Context;
-import android.content.SharedPreferences;
+
+import no.nordicsemi.android.meshprovisioner.platform.MeshStorage;
+import no.nordicsemi.android.meshprovisioner.platform.SharedPreferencesMeshStorage;
 
 public final class SequenceNumber {
 
     private static final String PREFS_SEQUENCE_NUMBER = "PREFS_SEQUENCE_NUMBER";
     private static final String KEY = "NRF_MESH_SEQUENCE_NUMBER";
 
-    private static Integer mSequenceNumber;
+    private static SequenceNumberAllocator mAllocator;
 
-    //TODO check this class
-    private static void initSequenceNumber(final Context context) {
-        if (mSequenceNumber == null) {
-            final SharedPreferences preferences = context.getSharedPreferences(PREFS_SEQUENCE_NUMBER, Context.MODE_PRIVATE);
-            if(preferences == null) { // Unit test started fail being unable to fetch preferences
-                mSequenceNumber = 0;
-            } else {
-                mSequenceNumber = preferences.getInt(KEY, 0);
-            }
+    private static synchronized SequenceNumberAllocator getAllocator(final Context context) {
+        if (mAllocator == null) {
+            // Unit test started fail being unable to fetch preferences, the allocator keeps the sequence number in memory in that case
+            final MeshStorage storage = SharedPreferencesMeshStorage.getStorage(context, PREFS_SEQUENCE_NUMBER);
+            mAllocator = new SequenceNumberAllocator(storage, KEY, SequenceNumberAllocator.DEFAULT_BLOCK_SIZE);
         }
+        return mAllocator;
     }
 
-    public static int getSequenceNumber() {
-        return mSequenceNumber;
+    public static synchronized int getSequenceNumber() {
+        return mAllocator == null ? 0 : mAllocator.getSequenceNumber();
     }
 
     static int incrementAndStore(final Context context) {
-        if(mSequenceNumber == null)
-            initSequenceNumber(context);
-
-        mSequenceNumber++;
-        SharedPreferences preferences = context.getSharedPreferences(PREFS_SEQUENCE_NUMBER, Context.MODE_PRIVATE);
-        if(preferences != null) { // Unit test started fail being unable to fetch preferences
-            SharedPreferences.Editor editor = preferences.edit();
-            editor.putInt(KEY, mSequenceNumber);
-            editor.apply();
-        }
-        return mSequenceNumber;
+        return getAllocator(context).next();
     }
 
     static int incrementAndStore(final Context context, final byte[] sequenceNumber) {
-        final int tempSeq = getSequenceNumber(sequenceNumber) + 1; //Increment it here
-        mSequenceNumber = tempSeq;
-        final SharedPreferences preferences = context.getSharedPreferences(PREFS_SEQUENCE_NUMBER, Context.MODE_PRIVATE);
-        if(preferences != null) { // Unit test started fail being unable to fetch preferences
-            SharedPreferences.Editor editor = preferences.edit();
-            editor.putInt(KEY, tempSeq);
-            editor.apply();
-        }
-        return mSequenceNumber;
+        return getAllocator(context).next(getSequenceNumber(sequenceNumber) + 1);
     }
 
     private static int getSequenceNumber(final byte[] sequenceNumber) {
@@ -57,10 +38,6 @@ public final class SequenceNumber {
     }
 
     public static void resetSequenceNumber(final Context context) {
-        mSequenceNumber = 0;
-        final SharedPreferences preferences = context.getSharedPreferences(PREFS_SEQUENCE_NUMBER, Context.MODE_PRIVATE);
-        final SharedPreferences.Editor editor = preferences.edit();
-        editor.putInt(KEY, mSequenceNumber);
-        editor.apply();
+        getAllocator(context).reset();
     }
 }
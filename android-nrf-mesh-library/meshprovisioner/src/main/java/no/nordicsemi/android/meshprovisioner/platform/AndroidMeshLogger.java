@@ -0,0 +1,39 @@
+package no.nordicsemi.android.meshprovisioner.platform;
+
+import android.util.Log;
+
+/**
+ * {@link MeshLogger} writing to logcat
+ */
+public final class AndroidMeshLogger implements MeshLogger {
+
+    @Override
+    public boolean isVerboseLoggable(final String tag) {
+        return Log.isLoggable(tag, Log.VERBOSE);
+    }
+
+    @Override
+    public void v(final String tag, final String message) {
+        Log.v(tag, message);
+    }
+
+    @Override
+    public void d(final String tag, final String message) {
+        Log.d(tag, message);
+    }
+
+    @Override
+    public void i(final String tag, final String message) {
+        Log.i(tag, message);
+    }
+
+    @Override
+    public void w(final String tag, final String message) {
+        Log.w(tag, message);
+    }
+
+    @Override
+    public void e(final String tag, final String message) {
+        Log.e(tag, message);
+    }
+}
@@ -0,0 +1,26 @@
+package no.nordicsemi.android.meshprovisioner.platform;
+
+import android.os.Handler;
+import android.os.SystemClock;
+
+/**
+ * {@link MeshScheduler} running tasks on the looper of a {@link Handler}
+ */
+public final class HandlerMeshScheduler implements MeshScheduler {
+
+    private final Handler mHandler;
+
+    public HandlerMeshScheduler(final Handler handler) {
+        mHandler = handler;
+    }
+
+    @Override
+    public void postDelayed(final Runnable task, final long delay) {
+        mHandler.postDelayed(task, delay);
+    }
+
+    @Override
+    public long elapsedRealtime() {
+        return SystemClock.elapsedRealtime();
+    }
+}
@@ -0,0 +1,87 @@
+package no.nordicsemi.android.meshprovisioner.platform;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import java.util.Map;
+
+/**
+ * {@link MeshStorage} keeping the values in shared preferences
+ */
+public final class SharedPreferencesMeshStorage implements MeshStorage {
+
+    private final SharedPreferences mPreferences;
+
+    public SharedPreferencesMeshStorage(final SharedPreferences preferences) {
+        mPreferences = preferences;
+    }
+
+    /**
+     * Returns the storage kept in the private shared preferences file with the given name
+     *
+     * @param context context
+     * @param name    name of the preferences file
+     * @return storage or null if the preferences are not available
+     */
+    public static MeshStorage getStorage(final Context context, final String name) {
+        final SharedPreferences preferences = context.getSharedPreferences(name, Context.MODE_PRIVATE);
+        return preferences == null ? null : new SharedPreferencesMeshStorage(preferences);
+    }
+
+    @Override
+    public int getInt(final String key, final int defaultValue) {
+        return mPreferences.getInt(key, defaultValue);
+    }
+
+    @Override
+    public String getString(final String key, final String defaultValue) {
+        return mPreferences.getString(key, defaultValue);
+    }
+
+    @Override
+    public Map<String, ?> getAll() {
+        return mPreferences.getAll();
+    }
+
+    @Override
+    public Editor edit() {
+        return new PreferencesEditor(mPreferences.edit());
+    }
+
+    private static final class PreferencesEditor implements Editor {
+
+        private final SharedPreferences.Editor mEditor;
+
+        private PreferencesEditor(final SharedPreferences.Editor editor) {
+            mEditor = editor;
+        }
+
+        @Override
+        public Editor putInt(final String key, final int value) {
+            mEditor.putInt(key, value);
+            return this;
+        }
+
+        @Override
+        public Editor putString(final String key, final String value) {
+            mEditor.putString(key, value);
+            return this;
+        }
+
+        @Override
+        public Editor clear() {
+            mEditor.clear();
+            return this;
+        }
+
+        @Override
+        public boolean commit() {
+            return mEditor.commit();
+        }
+
+        @Override
+        public void apply() {
+            mEditor.apply();
+        }
+    }
+}
@@ -44,38 +44,17 @@ public class MeshParserUtils {
     private static final int IV_ADDRESS_MIN = 0;
     private static final int IV_ADDRESS_MAX = 4096;
     private static final int UNICAST_ADDRESS_MIN = 0;
-    private static final char[] HEX_ARRAY = {'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'};
 
     public static String bytesToHex(final byte[] bytes, final boolean add0x) {
-        if (bytes == null)
-            return "";
-        return bytesToHex(bytes, 0, bytes.length, add0x);
+        return HexUtils.bytesToHex(bytes, add0x);
     }
 
     public static String bytesToHex(final byte[] bytes, final int start, final int length, final boolean add0x) {
-        if (bytes == null || bytes.length <= start || length <= 0)
-            return "";
-
-        final int maxLength = Math.min(length, bytes.length - start);
-        final char[] hexChars = new char[maxLength * 2];
-        for (int j = 0; j < maxLength; j++) {
-            final int v = bytes[start + j] & 0xFF;
-            hexChars[j * 2] = HEX_ARRAY[v >>> 4];
-            hexChars[j * 2 + 1] = HEX_ARRAY[v & 0x0F];
-        }
-        if (!add0x)
-            return new String(hexChars);
-        return "0x" + new String(hexChars);
+        return HexUtils.bytesToHex(bytes, start, length, add0x);
     }
 
     public static byte[] toByteArray(String hexString) {
-        int len = hexString.length();
-        byte[] bytes = new byte[len / 2];
-        for (int i = 0; i < len; i += 2) {
-            bytes[i / 2] = (byte) ((Character.digit(hexString.charAt(i), 16) << 4)
-                    + Character.digit(hexString.charAt(i + 1), 16));
-        }
-        return bytes;
+        return HexUtils.toByteArray(hexString);
     }
 
     public static int setByteArrayValue(final byte[] dest, final int offset, final String value) {
@@ -346,58 +325,35 @@ public class MeshParserUtils {
     }
 
     public static boolean isValidSequenceNumber(final Integer sequenceNumber) {
-
-        boolean flag = sequenceNumber != null && sequenceNumber == (sequenceNumber & 0xFFFFFF);
-
-        if (sequenceNumber == 0xFFFFFF) {
-            flag = false;
-        }
-        return flag;
+        return PduUtils.isValidSequenceNumber(sequenceNumber);
     }
 
     public static byte[] getSequenceNumberBytes(int sequenceNumber) {
-        if (MeshParserUtils.isValidSequenceNumber(sequenceNumber)) {
-            return new byte[]{(byte) ((sequenceNumber >> 16) & 0xFF), (byte) ((sequenceNumber >> 8) & 0xFF), (byte) (sequenceNumber & 0xFF)};
-        }
-        return null;
+        return PduUtils.getSequenceNumberBytes(sequenceNumber);
     }
 
     public static int getSequenceNumber(final byte[] sequenceNumber) {
-        return (((sequenceNumber[0] & 0xFF) << 16) | ((sequenceNumber[1] & 0xFF) << 8) | (sequenceNumber[2] & 0xFF));
+        return PduUtils.getSequenceNumber(sequenceNumber);
     }
 
     public static int getSequenceNumberFromPDU(final byte[] pdu) {
-        return (((pdu[3] & 0xFF) << 16) | ((pdu[4] & 0xFF) << 8) | (pdu[5] & 0xFF)); // get sequence number array from pdu
+        return PduUtils.getSequenceNumberFromPDU(pdu);
     }
 
     public static int calculateSeqZero(final byte[] sequenceNumber) {
-        return ((sequenceNumber[1] & 0x1F) << 8) | (sequenceNumber[2] & 0xFF); // 13 least significant bits
+        return PduUtils.calculateSeqZero(sequenceNumber);
     }
 
     public static byte[] getSrcAddress(final byte[] pdu) {
-        return ByteBuffer.allocate(2).put(pdu, 6, 2).array(); // get dst address from pdu
+        return PduUtils.getSrcAddress(pdu);
     }
 
     public static byte[] getDstAddress(final byte[] pdu) {
-        return ByteBuffer.allocate(2).put(pdu, 8, 2).array(); // get dst address from pdu
-    }
-
-    private static int getSegmentedMessageLength(final HashMap<Integer, byte[]> segmentedMessageMap) {
-        int length = 0;
-        for (int i = 0; i < segmentedMessageMap.size(); i++) {
-            length += segmentedMessageMap.get(i).length;
-        }
-        return length;
+        return PduUtils.getDstAddress(pdu);
     }
 
     public static byte[] concatenateSegmentedMessages(final HashMap<Integer, byte[]> segmentedMessages) {
-        final int length = getSegmentedMessageLength(segmentedMessages);
-        final ByteBuffer completeBuffer = ByteBuffer.allocate(length);
-        completeBuffer.order(ByteOrder.BIG_ENDIAN);
-        for (int i = 0; i < segmentedMessages.size(); i++) {
-            completeBuffer.put(segmentedMessages.get(i));
-        }
-        return completeBuffer.array();
+        return PduUtils.concatenateSegmentedMessages(segmentedMessages);
     }
 
     /**
@@ -408,51 +364,28 @@ public class MeshParserUtils {
      * @return array of opcodes
      */
     public static int getOpCode(final byte[] accessPayload, final int opcodeCount) {
-        switch (opcodeCount) {
-            case 1:
-                return accessPayload[0];
-            case 2:
-                return ((short) (((accessPayload[0] << 8)) | (byte) ((accessPayload[1]) & 0xFF)));
-            case 3:
-                return ((byte) (accessPayload[0] & 0xFF) | (byte) ((accessPayload[1] << 8) & 0xFF) | (byte) ((accessPayload[2] << 16) & 0xFF));
-        }
-        return -1;
+        return PduUtils.getOpCode(accessPayload, opcodeCount);
     }
 
     /**
-     * Returns the length of the opcode.
-     * If the MSB = 0 then the length is 1
-     * If the MSB = 1 then the length is 2
-     * If the MSB = 2 then the length is 3
+     * Returns the opcodes of a SIG model message
      *
      * @param opCode operation code
-     * @return length of opcodes
+     * @return opcodes
      */
     public static byte[] getOpCodes(final int opCode) {
-        if ((opCode & 0xC00000) == 0xC00000) {
-            return new byte[]{(byte) ((opCode >> 16) & 0xFF), (byte) ((opCode >> 8) & 0xFF), (byte) (opCode & 0xFF)};
-        } else if ((opCode & 0xFF8000) == 0x8000) {
-            return new byte[]{(byte) ((opCode >> 8) & 0xFF), (byte) (opCode & 0xFF)};
-        } else {
-            //return new byte[]{ (byte) ((opCode >> 8) & 0xFF), (byte) (opCode & 0xFF)};
-            return new byte[]{(byte) opCode};
-        }
+        return PduUtils.getOpCodes(opCode);
     }
 
     /**
-     * Returns the length of the opcode.
-     * If the MSB = 0 then the length is 1
-     * If the MSB = 1 then the length is 2
-     * If the MSB = 2 then the length is 3
+     * Returns the opcodes of a vendor model message
      *
-     * @param opCode operation code
-     * @return length of opcodes
+     * @param opCode            operation code
+     * @param companyIdentifier 16-bit company identifier
+     * @return opcodes
      */
     public static byte[] getOpCodes(final int opCode, final int companyIdentifier) {
-        if (companyIdentifier != 0xFFFF) {
-            return new byte[]{(byte) ((0b11 << 6) | opCode), (byte) (companyIdentifier & 0x00FF), (byte) ((companyIdentifier >> 8) & 0x00FF)};
-        }
-        return null;
+        return PduUtils.getOpCodes(opCode, companyIdentifier);
     }
 
     /**
@@ -0,0 +1,234 @@
+package no.nordicsemi.android.meshprovisioner.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import no.nordicsemi.android.meshprovisioner.configuration.ProvisionedMeshNode;
+
+/**
+ * Resolves the provisioned node that sent a Node Identity advertisement.
+ * <p>
+ * A Node Identity advertisement contains a random number and a hash computed from the identity key, the random number and
+ * the unicast address of the node. Nodes are grouped by identity key and every group keeps its own {@link CipherContext},
+ * so resolving an advertisement costs at most one AES block per node without expanding any key or allocating.
+ * Resolved advertisements are cached by random number, a node keeps advertising the same random number for a while,
+ * so repeated scan results of the same node are resolved without any cryptographic operation.
+ * </p>
+ * <p>
+ * The resolver is synchronized, nodes may be added while scan results are being resolved.
+ * </p>
+ */
+public final class NodeIdentityResolver {
+
+    /**
+     * Number of resolved advertisements cached by default
+     */
+    public static final int DEFAULT_CACHE_SIZE = 64;
+
+    private static final int ADVERTISEMENT_TYPE_NODE_IDENTITY = 0x01;
+    //advertisement type, 64-bit hash and 64-bit random
+    private static final int ADVERTISEMENT_LENGTH = 1 + 8 + 8;
+    private static final int HASH_OFFSET = 1;
+    private static final int RANDOM_OFFSET = 9;
+    //48 bits of padding, 64-bit random and the 16-bit unicast address
+    private static final int RANDOM_INPUT_OFFSET = 6;
+    private static final int ADDRESS_INPUT_OFFSET = 14;
+    private static final int HASH_OUTPUT_OFFSET = 8;
+
+    private final List<IdentityKeyGroup> mGroups = new ArrayList<>();
+    private final Map<Integer, ProvisionedMeshNode> mNodes = new HashMap<>();
+    private final LinkedHashMap<Long, ResolvedIdentity> mResolved;
+    private final byte[] mInput = new byte[16];
+    private final byte[] mOutput = new byte[16];
+    private int mCacheHitCount;
+    private int mCipherOperationCount;
+
+    public NodeIdentityResolver() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public NodeIdentityResolver(final int cacheSize) {
+        if (cacheSize <= 0)
+            throw new IllegalArgumentException("Cache size must be greater than 0");
+        mResolved = new LinkedHashMap<Long, ResolvedIdentity>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, ResolvedIdentity> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Adds a node to the resolver, replacing the node previously added with the same unicast address
+     *
+     * @param meshNode provisioned mesh node
+     */
+    public synchronized void addNode(final ProvisionedMeshNode meshNode) {
+        final byte[] identityKey = meshNode.getIdentityKey();
+        if (identityKey == null || meshNode.getUnicastAddress() == null)
+            return;
+
+        final int unicastAddress = AddressUtils.getUnicastAddressInt(meshNode.getUnicastAddress());
+        removeNode(unicastAddress);
+        mNodes.put(unicastAddress, meshNode);
+        getGroup(identityKey).add(unicastAddress);
+    }
+
+    /**
+     * Removes a node from the resolver
+     *
+     * @param unicastAddress unicast address of the node
+     */
+    public synchronized void removeNode(final int unicastAddress) {
+        if (mNodes.remove(unicastAddress) == null)
+            return;
+        for (int i = 0; i < mGroups.size(); i++) {
+            final IdentityKeyGroup group = mGroups.get(i);
+            if (group.remove(unicastAddress)) {
+                if (group.mCount == 0) {
+                    mGroups.remove(i);
+                }
+                break;
+            }
+        }
+    }
+
+    /**
+     * Removes all nodes and resolved advertisements
+     */
+    public synchronized void clear() {
+        mGroups.clear();
+        mNodes.clear();
+        mResolved.clear();
+        mCacheHitCount = 0;
+        mCipherOperationCount = 0;
+    }
+
+    /**
+     * Returns the number of nodes that can be resolved
+     */
+    public synchronized int size() {
+        return mNodes.size();
+    }
+
+    /**
+     * Returns the provisioned node that sent a Node Identity advertisement
+     *
+     * @param serviceData advertised mesh proxy service data
+     * @return the matching node or null if the service data is not a Node Identity advertisement of a known node
+     */
+    public synchronized ProvisionedMeshNode resolve(final byte[] serviceData) {
+        if (serviceData == null || serviceData.length < ADVERTISEMENT_LENGTH || serviceData[0] != ADVERTISEMENT_TYPE_NODE_IDENTITY)
+            return null;
+
+        final long hash = getLong(serviceData, HASH_OFFSET);
+        final long random = getLong(serviceData, RANDOM_OFFSET);
+        final ResolvedIdentity resolved = mResolved.get(random);
+        if (resolved != null && resolved.mHash == hash) {
+            final ProvisionedMeshNode meshNode = mNodes.get(resolved.mUnicastAddress);
+            if (meshNode != null) {
+                mCacheHitCount++;
+                return meshNode;
+            }
+        }
+
+        System.arraycopy(serviceData, RANDOM_OFFSET, mInput, RANDOM_INPUT_OFFSET, 8);
+        for (int i = 0; i < mGroups.size(); i++) {
+            final IdentityKeyGroup group = mGroups.get(i);
+            for (int j = 0; j < group.mCount; j++) {
+                final int unicastAddress = group.mAddresses[j];
+                mInput[ADDRESS_INPUT_OFFSET] = (byte) (unicastAddress >> 8);
+                mInput[ADDRESS_INPUT_OFFSET + 1] = (byte) unicastAddress;
+                group.mContext.encryptBlock(mInput, 0, mOutput, 0);
+                mCipherOperationCount++;
+                if (getLong(mOutput, HASH_OUTPUT_OFFSET) == hash) {
+                    final ProvisionedMeshNode meshNode = mNodes.get(unicastAddress);
+                    meshNode.setNodeIdentifier(MeshParserUtils.bytesToHex(Arrays.copyOfRange(serviceData, HASH_OFFSET, RANDOM_OFFSET), false));
+                    mResolved.put(random, new ResolvedIdentity(hash, unicastAddress));
+                    return meshNode;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of advertisements resolved from the cache
+     */
+    public synchronized int getCacheHitCount() {
+        return mCacheHitCount;
+    }
+
+    /**
+     * Returns the number of AES operations performed to resolve advertisements
+     */
+    public synchronized int getCipherOperationCount() {
+        return mCipherOperationCount;
+    }
+
+    private IdentityKeyGroup getGroup(final byte[] identityKey) {
+        for (IdentityKeyGroup group : mGroups) {
+            if (Arrays.equals(group.mIdentityKey, identityKey)) {
+                return group;
+            }
+        }
+        final IdentityKeyGroup group = new IdentityKeyGroup(identityKey);
+        mGroups.add(group);
+        return group;
+    }
+
+    private static long getLong(final byte[] data, final int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (data[offset + i] & 0xFF);
+        }
+        return value;
+    }
+
+    /**
+     * Unicast addresses of the nodes sharing an identity key and the cipher context of the key
+     */
+    private static final class IdentityKeyGroup {
+        private final byte[] mIdentityKey;
+        private final CipherContext mContext;
+        private int[] mAddresses = new int[8];
+        private int mCount;
+
+        IdentityKeyGroup(final byte[] identityKey) {
+            mIdentityKey = identityKey.clone();
+            mContext = new CipherContext(mIdentityKey);
+        }
+
+        void add(final int unicastAddress) {
+            if (mCount == mAddresses.length) {
+                mAddresses = Arrays.copyOf(mAddresses, mCount * 2);
+            }
+            mAddresses[mCount++] = unicastAddress;
+        }
+
+        boolean remove(final int unicastAddress) {
+            for (int i = 0; i < mCount; i++) {
+                if (mAddresses[i] == unicastAddress) {
+                    System.arraycopy(mAddresses, i + 1, mAddresses, i, mCount - i - 1);
+                    mCount--;
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class ResolvedIdentity {
+        private final long mHash;
+        private final int mUnicastAddress;
+
+        ResolvedIdentity(final long hash, final int unicastAddress) {
+            mHash = hash;
+            mUnicastAddress = unicastAddress;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package no.nordicsemi.android.meshprovisioner;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import no.nordicsemi.android.meshprovisioner.ConfigTransactionMultiplexer.ConfigTransaction;
+import no.nordicsemi.android.meshprovisioner.opcodes.ConfigMessageOpCodes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ConfigTransactionMultiplexerTests {
+
+    private final List<String> sent = new ArrayList<>();
+
+    private ConfigTransaction createTransaction(final int dst, final int statusOpcode, final String name, final int... requestParameters) {
+        return new ConfigTransaction(null, dst, getRequestOpcode(statusOpcode), transaction -> sent.add(name), requestParameters);
+    }
+
+    private static int getRequestOpcode(final int statusOpcode) {
+        switch (statusOpcode) {
+            case ConfigMessageOpCodes.CONFIG_APPKEY_STATUS:
+                return ConfigMessageOpCodes.CONFIG_APPKEY_ADD;
+            case ConfigMessageOpCodes.CONFIG_MODEL_APP_STATUS:
+                return ConfigMessageOpCodes.CONFIG_MODEL_APP_BIND;
+            default:
+                return statusOpcode;
+        }
+    }
+
+    @Test
+    public void concurrency_window_isCorrect() {
+        final ConfigTransactionMultiplexer multiplexer = new ConfigTransactionMultiplexer(2);
+        final ConfigTransaction first = createTransaction(0x0002, ConfigMessageOpCodes.CONFIG_APPKEY_STATUS, "first");
+        final ConfigTransaction second = createTransaction(0x0003, ConfigMessageOpCodes.CONFIG_APPKEY_STATUS, "second");
+        final ConfigTransaction third = createTransaction(0x0004, ConfigMessageOpCodes.CONFIG_APPKEY_STATUS, "third");
+
+        assertTrue(multiplexer.enqueue(first));
+        assertTrue(multiplexer.enqueue(second));
+        assertFalse(multiplexer.enqueue(third));
+        assertEquals(2, multiplexer.getInFlightCount());
+        assertEquals(1, multiplexer.getPendingCount());
+
+        multiplexer.complete(second);
+        assertTrue(third.isStarted());
+        assertEquals(0, multiplexer.getPendingCount());
+        assertEquals("[first, second, third]", sent.toString());
+    }
+
+    @Test
+    public void route_status_to_transaction_isCorrect() {
+        final ConfigTransactionMultiplexer multiplexer = new ConfigTransactionMultiplexer(4);
+        final ConfigTransaction appKeyAdd = createTransaction(0x0002, ConfigMessageOpCodes.CONFIG_APPKEY_STATUS, "appKeyAdd");
+        final ConfigTransaction appBind = createTransaction(0x0003, ConfigMessageOpCodes.CONFIG_MODEL_APP_STATUS, "appBind");
+        multiplexer.enqueue(appKeyAdd);
+        multiplexer.enqueue(appBind);
+
+        assertSame(appKeyAdd, multiplexer.getTransaction(0x0002));
+        assertSame(appBind, multiplexer.getTransaction(0x0003));
+        assertNull(multiplexer.getTransaction(0x0005));
+    }
+
+    @Test
+    public void one_transaction_per_node_isCorrect() {
+        final ConfigTransactionMultiplexer multiplexer = new ConfigTransactionMultiplexer(4);
+        final ConfigTransaction appKeyAdd = createTransaction(0x0002, ConfigMessageOpCodes.CONFIG_APPKEY_STATUS, "appKeyAdd");
+        final ConfigTransaction appBind = createTransaction(0x0002, ConfigMessageOpCodes.CONFIG_MODEL_APP_STATUS, "appBind");
+        final ConfigTransaction otherNode = createTransaction(0x0003, ConfigMessageOpCodes.CONFIG_APPKEY_STATUS, "otherNode");
+
+        assertTrue(multiplexer.enqueue(appKeyAdd));
+        //The second message to the same node waits for the first one even though the window is not full
+        assertFalse(multiplexer.enqueue(appBind));
+        assertTrue(multiplexer.enqueue(otherNode));
+
+        multiplexer.complete(appKeyAdd);
+        assertTrue(appBind.isStarted());
+        assertSame(appBind, multiplexer.getTransaction(0x0002));
+        assertEquals("[appKeyAdd, otherNode, appBind]", sent.toString());
+    }
+
+    @Test
+    public void repeated_transaction_replaces_existing_isCorrect() {
+        final ConfigTransactionMultiplexer multiplexer = new ConfigTransactionMultiplexer(1);
+        final ConfigTransaction first = createTransaction(0x0002, ConfigMessageOpCodes.CONFIG_APPKEY_STATUS, "first", 0);
+        final ConfigTransaction retry = createTransaction(0x0002, ConfigMessageOpCodes.CONFIG_APPKEY_STATUS, "retry", 0);
+        final ConfigTransaction queued = createTransaction(0x0003, ConfigMessageOpCodes.CONFIG_APPKEY_STATUS, "queued", 0);
+        final ConfigTransaction queuedRetry = createTransaction(0x0003, ConfigMessageOpCodes.CONFIG_APPKEY_STATUS, "queuedRetry", 0);
+
+        multiplexer.enqueue(first);
+        multiplexer.enqueue(queued);
+        assertTrue(multiplexer.enqueue(retry));
+        assertFalse(multiplexer.enqueue(queuedRetry));
+        assertEquals(1, multiplexer.getInFlightCount());
+        assertEquals(1, multiplexer.getPendingCount());
+
+        //The futures of the replaced transactions are cancelled rather than left waiting forever
+        assertTrue(first.getFuture().isCancelled());
+        assertTrue(queued.getFuture().isCancelled());
+        assertFalse(retry.getFuture().isDone());
+
+        //Completing the replaced transaction does not free the slot
+        multiplexer.complete(first);
+        assertEquals(1, multiplexer.getInFlightCount());
+
+        multiplexer.complete(retry);
+        assertFalse(queued.isStarted());
+        assertTrue(queuedRetry.isStarted());
+        assertEquals("[first, retry, queuedRetry]", sent.toString());
+    }
+
+    @Test
+    public void different_requests_with_same_status_are_kept_isCorrect() {
+        final ConfigTransactionMultiplexer multiplexer = new ConfigTransactionMultiplexer(4);
+        //Binding two models of the same element waits for the same status opcode from the same node
+        final ConfigTransaction firstBind = createTransaction(0x0002, ConfigMessageOpCodes.CONFIG_MODEL_APP_STATUS, "firstBind", 0x0002, 0x1000, 0);
+        final ConfigTransaction secondBind = createTransaction(0x0002, ConfigMessageOpCodes.CONFIG_MODEL_APP_STATUS, "secondBind", 0x0002, 0x1002, 0);
+
+        assertTrue(multiplexer.enqueue(firstBind));
+        assertFalse(multiplexer.enqueue(secondBind));
+        assertFalse(firstBind.getFuture().isDone());
+        assertEquals(1, multiplexer.getPendingCount());
+
+        multiplexer.complete(firstBind);
+        assertTrue(secondBind.isStarted());
+        assertFalse(secondBind.getFuture().isDone());
+        assertEquals("[firstBind, secondBind]", sent.toString());
+    }
+
+    @Test
+    public void clear_cancels_transactions_isCorrect() {
+        final ConfigTransactionMultiplexer multiplexer = new ConfigTransactionMultiplexer(1);
+        final ConfigTransaction inFlight = createTransaction(0x0002, ConfigMessageOpCodes.CONFIG_APPKEY_STATUS, "inFlight", 0);
+        final ConfigTransaction queued = createTransaction(0x0003, ConfigMessageOpCodes.CONFIG_APPKEY_STATUS, "queued", 0);
+        multiplexer.enqueue(inFlight);
+        multiplexer.enqueue(queued);
+
+        multiplexer.clear();
+        assertTrue(inFlight.getFuture().isCancelled());
+        assertTrue(queued.getFuture().isCancelled());
+        assertEquals(0, multiplexer.getInFlightCount());
+        assertEquals(0, multiplexer.getPendingCount());
+    }
+
+    @Test
+    public void cancelled_queued_transaction_is_not_sent_isCorrect() {
+        final ConfigTransactionMultiplexer multiplexer = new ConfigTransactionMultiplexer(1);
+        final ConfigTransaction first = createTransaction(0x0002, ConfigMessageOpCodes.CONFIG_APPKEY_STATUS, "first", 0);
+        final ConfigTransaction cancelled = createTransaction(0x0003, ConfigMessageOpCodes.CONFIG_APPKEY_STATUS, "cancelled", 0);
+        final ConfigTransaction last = createTransaction(0x0004, ConfigMessageOpCodes.CONFIG_APPKEY_STATUS, "last", 0);
+        multiplexer.enqueue(first);
+        multiplexer.enqueue(cancelled);
+        multiplexer.enqueue(last);
+
+        cancelled.getFuture().cancel(false);
+        multiplexer.complete(first);
+        assertFalse(cancelled.isStarted());
+        assertTrue(last.isStarted());
+        assertEquals("[first, last]", sent.toString());
+    }
+
+    @Test
+    public void cancelled_in_flight_transaction_frees_slot_isCorrect() {
+        final ConfigTransactionMultiplexer multiplexer = new ConfigTransactionMultiplexer(1);
+        final ConfigTransaction cancelled = createTransaction(0x0002, ConfigMessageOpCodes.CONFIG_APPKEY_STATUS, "cancelled", 0);
+        final ConfigTransaction sameNode = createTransaction(0x0002, ConfigMessageOpCodes.CONFIG_MODEL_APP_STATUS, "sameNode", 0x0002, 0x1000, 0);
+        final ConfigTransaction otherNode = createTransaction(0x0003, ConfigMessageOpCodes.CONFIG_APPKEY_STATUS, "otherNode", 0);
+        //Completion hook registered the same way the configuration handler does
+        cancelled.getFuture().whenComplete((result, failure) -> multiplexer.complete(cancelled));
+        otherNode.getFuture().whenComplete((result, failure) -> multiplexer.complete(otherNode));
+        multiplexer.enqueue(cancelled);
+        multiplexer.enqueue(sameNode);
+        multiplexer.enqueue(otherNode);
+
+        cancelled.getFuture().cancel(false);
+        assertTrue(sameNode.isStarted());
+        assertNull(multiplexer.getTransaction(0x0003));
+        assertEquals(1, multiplexer.getPendingCount());
+
+        //A queued transaction cancelled by the caller leaves the queue
+        otherNode.getFuture().cancel(false);
+        assertEquals(0, multiplexer.getPendingCount());
+        assertEquals("[cancelled, sameNode]", sent.toString());
+    }
+}
@@ -0,0 +1,84 @@
+package no.nordicsemi.android.meshprovisioner;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ConfigurationFutureTests {
+
+    @Test
+    public void complete_isCorrect() throws Exception {
+        final ConfigurationFuture<String> future = new ConfigurationFuture<>();
+        final List<String> results = new ArrayList<>();
+        future.whenComplete((result, failure) -> results.add(result));
+
+        assertTrue(future.complete("status"));
+        assertFalse(future.complete("other"));
+        assertFalse(future.completeExceptionally(new TimeoutException()));
+        assertEquals("status", future.get());
+        assertFalse(future.isCompletedExceptionally());
+
+        //Callbacks registered after completion are called right away
+        future.whenComplete((result, failure) -> results.add(result));
+        assertEquals("[status, status]", results.toString());
+    }
+
+    @Test
+    public void timeout_isCorrect() throws Exception {
+        final ConfigurationFuture<String> future = new ConfigurationFuture<>();
+        try {
+            future.get(10, TimeUnit.MILLISECONDS);
+            fail("Future should not be completed");
+        } catch (TimeoutException expected) {
+        }
+
+        final TimeoutException timeout = new TimeoutException();
+        future.completeExceptionally(timeout);
+        assertTrue(future.isCompletedExceptionally());
+        try {
+            future.get();
+            fail("Future should have failed");
+        } catch (ExecutionException e) {
+            assertSame(timeout, e.getCause());
+        }
+    }
+
+    @Test
+    public void then_compose_isCorrect() throws Exception {
+        final ConfigurationFuture<String> appKeyAdd = new ConfigurationFuture<>();
+        final ConfigurationFuture<Integer> appBind = new ConfigurationFuture<>();
+        final ConfigurationFuture<Integer> composed = appKeyAdd.thenCompose(result -> appBind);
+
+        appKeyAdd.complete("appKeyStatus");
+        assertFalse(composed.isDone());
+        appBind.complete(0);
+        assertEquals(Integer.valueOf(0), composed.get());
+
+        //A failure skips the remaining steps
+        final ConfigurationFuture<String> failed = new ConfigurationFuture<>();
+        final List<String> continued = new ArrayList<>();
+        final ConfigurationFuture<Integer> skipped = failed.thenCompose(result -> {
+            continued.add(result);
+            return appBind;
+        });
+        failed.completeExceptionally(new TimeoutException());
+        assertTrue(skipped.isCompletedExceptionally());
+        assertTrue(continued.isEmpty());
+    }
+
+    @Test
+    public void status_timeout_isCorrect() {
+        assertTrue(MeshConfigurationHandler.getStatusTimeout(5) > MeshConfigurationHandler.getStatusTimeout(0));
+        assertEquals(MeshConfigurationHandler.getStatusTimeout(0), MeshConfigurationHandler.getStatusTimeout(-1));
+    }
+}
@@ -0,0 +1,297 @@
+package no.nordicsemi.android.meshprovisioner;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeoutException;
+
+import no.nordicsemi.android.meshprovisioner.ConfigurationTemplate.ModelConfiguration;
+import no.nordicsemi.android.meshprovisioner.configuration.ConfigAppKeyStatus;
+import no.nordicsemi.android.meshprovisioner.configuration.ConfigCompositionDataStatus;
+import no.nordicsemi.android.meshprovisioner.configuration.ConfigModelAppStatus;
+import no.nordicsemi.android.meshprovisioner.configuration.ConfigModelPublicationStatus;
+import no.nordicsemi.android.meshprovisioner.configuration.ConfigModelSubscriptionStatus;
+import no.nordicsemi.android.meshprovisioner.configuration.MeshModel;
+import no.nordicsemi.android.meshprovisioner.configuration.ProvisionedMeshNode;
+import no.nordicsemi.android.meshprovisioner.utils.Element;
+import no.nordicsemi.android.meshprovisioner.utils.SigModelParser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ConfigurationTemplateEngineTests {
+
+    private static final int GENERIC_ON_OFF_SERVER = 0x1000;
+    private static final int GENERIC_LEVEL_SERVER = 0x1002;
+    private static final int CACHED_COMPANY_IDENTIFIER = 0x0059;
+
+    private final ConfigurationTemplate template = new ConfigurationTemplate.Builder(0, "63964771734FBD76E3B40519D1D94A48")
+            .bindAppKey(GENERIC_ON_OFF_SERVER)
+            .setPublication(GENERIC_ON_OFF_SERVER, new byte[]{(byte) 0xC0, 0x00}, 5, 0, 0, 0)
+            .addSubscriptionAddress(GENERIC_ON_OFF_SERVER, new byte[]{(byte) 0xC0, 0x01})
+            .bindAppKey(GENERIC_LEVEL_SERVER)
+            .build();
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknown_sig_model_isRejected() {
+        new ConfigurationTemplate.Builder(0, "63964771734FBD76E3B40519D1D94A48").bindAppKey(0x1FFF);
+    }
+
+    @Test
+    public void configure_nodes_isCorrect() {
+        final FakeClient client = new FakeClient();
+        final ConfigurationTemplateEngine engine = new ConfigurationTemplateEngine(client, template);
+        final RecordingCallbacks callbacks = new RecordingCallbacks();
+        engine.setCallbacks(callbacks);
+        engine.setMaxConcurrentNodes(2);
+
+        final List<ProvisionedMeshNode> nodes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            nodes.add(new ProvisionedMeshNode());
+        }
+        engine.configure(nodes);
+
+        //Composition data get of two nodes is pipelined, the third node waits for a free slot
+        assertEquals(2, client.pending.size());
+        client.completeAll();
+
+        assertFalse(engine.isRunning());
+        assertEquals(3, engine.getConfiguredCount());
+        assertEquals(0, engine.getFailedCount());
+        assertEquals(3, callbacks.configured.size());
+        assertTrue(callbacks.completed);
+        //Composition data, app key add, on off server bind, publication and subscription, level server bind
+        assertEquals("[compositionData, appKeyAdd, bind 4096, publication 4096, subscription 4096, bind 4098]", client.sentTo(nodes.get(0)).toString());
+        assertEquals(6, callbacks.totalSteps.get(nodes.get(2)).intValue());
+    }
+
+    @Test
+    public void retry_and_failure_isCorrect() {
+        final FakeClient client = new FakeClient();
+        final ConfigurationTemplateEngine engine = new ConfigurationTemplateEngine(client, template);
+        final RecordingCallbacks callbacks = new RecordingCallbacks();
+        engine.setCallbacks(callbacks);
+        engine.setMaxRetries(1);
+
+        final ProvisionedMeshNode retried = new ProvisionedMeshNode();
+        final ProvisionedMeshNode failed = new ProvisionedMeshNode();
+        final List<ProvisionedMeshNode> nodes = new ArrayList<>();
+        nodes.add(retried);
+        nodes.add(failed);
+        engine.configure(nodes);
+
+        client.timeouts.put(retried, 1);
+        client.timeouts.put(failed, 2);
+        client.completeAll();
+
+        assertEquals(1, engine.getConfiguredCount());
+        assertEquals(1, engine.getFailedCount());
+        assertEquals(2, engine.getRetryCount());
+        assertTrue(callbacks.configured.contains(retried));
+        assertTrue(callbacks.failure instanceof TimeoutException);
+    }
+
+    @Test
+    public void only_timeouts_are_retried_isCorrect() {
+        final FakeClient client = new FakeClient();
+        final ConfigurationTemplateEngine engine = new ConfigurationTemplateEngine(client, template);
+        final RecordingCallbacks callbacks = new RecordingCallbacks();
+        engine.setCallbacks(callbacks);
+
+        final ProvisionedMeshNode node = new ProvisionedMeshNode();
+        final List<ProvisionedMeshNode> nodes = new ArrayList<>();
+        nodes.add(node);
+        engine.configure(nodes);
+
+        client.futures.get(0).cancel(false);
+        client.completeAll();
+
+        assertEquals(1, engine.getFailedCount());
+        assertEquals(0, engine.getRetryCount());
+        assertEquals(1, client.sentTo(node).size());
+        assertTrue(callbacks.failure instanceof CancellationException);
+    }
+
+    @Test
+    public void cancel_isCorrect() {
+        final FakeClient client = new FakeClient();
+        final ConfigurationTemplateEngine engine = new ConfigurationTemplateEngine(client, template);
+        final RecordingCallbacks callbacks = new RecordingCallbacks();
+        engine.setCallbacks(callbacks);
+
+        final List<ProvisionedMeshNode> nodes = new ArrayList<>();
+        nodes.add(new ProvisionedMeshNode());
+        nodes.add(new ProvisionedMeshNode());
+        engine.configure(nodes);
+        engine.cancel();
+
+        //The messages in flight are cancelled and their results are not reported
+        for (ConfigurationFuture<?> future : client.futures) {
+            assertTrue(future.isCancelled());
+        }
+        client.completeAll();
+        assertFalse(engine.isRunning());
+        assertEquals(0, engine.getFailedCount());
+        assertNull(callbacks.failure);
+    }
+
+    @Test
+    public void cached_composition_data_isCorrect() {
+        final FakeClient client = new FakeClient();
+        final ConfigurationTemplate cachedTemplate = new ConfigurationTemplate.Builder(0, "63964771734FBD76E3B40519D1D94A48")
+                .setCompositionDataIdentity(CACHED_COMPANY_IDENTIFIER, 0x0001, 0x0001)
+                .bindAppKey(GENERIC_ON_OFF_SERVER)
+                .build();
+        final ConfigurationTemplateEngine engine = new ConfigurationTemplateEngine(client, cachedTemplate);
+        //A newly provisioned node has no composition data yet, the identifiers of the template are trusted
+        final ProvisionedMeshNode newNode = new ProvisionedMeshNode();
+        //The composition data of this node has been read before with the identifiers of the template
+        final ProvisionedMeshNode matchingNode = new ProvisionedMeshNode();
+        setReadCompositionData(matchingNode, 0x0001);
+        //The composition data read from this node shows it runs another firmware version than the template
+        final ProvisionedMeshNode otherVersionNode = new ProvisionedMeshNode();
+        setReadCompositionData(otherVersionNode, 0x0002);
+        final List<ProvisionedMeshNode> nodes = new ArrayList<>();
+        nodes.add(newNode);
+        nodes.add(matchingNode);
+        nodes.add(otherVersionNode);
+        engine.configure(nodes);
+        client.completeAll();
+
+        assertEquals(3, engine.getConfiguredCount());
+        assertEquals("[appKeyAdd, bind 4096]", client.sentTo(newNode).toString());
+        assertEquals("[appKeyAdd, bind 4096]", client.sentTo(matchingNode).toString());
+        assertEquals("[compositionData, appKeyAdd, bind 4096]", client.sentTo(otherVersionNode).toString());
+    }
+
+    private static void setReadCompositionData(final ProvisionedMeshNode meshNode, final int versionIdentifier) {
+        meshNode.companyIdentifier = CACHED_COMPANY_IDENTIFIER;
+        meshNode.productIdentifier = 0x0001;
+        meshNode.versionIdentifier = versionIdentifier;
+        final Map<Integer, MeshModel> models = new LinkedHashMap<>();
+        models.put(GENERIC_ON_OFF_SERVER, SigModelParser.getSigModel(GENERIC_ON_OFF_SERVER));
+        meshNode.mElements.put(0x0002, new Element(new byte[]{0x00, 0x02}, 0, 1, 0, models));
+    }
+
+    private static final class RecordingCallbacks implements ConfigurationTemplateEngine.Callbacks {
+        final List<ProvisionedMeshNode> configured = new ArrayList<>();
+        final Map<ProvisionedMeshNode, Integer> totalSteps = new HashMap<>();
+        Throwable failure;
+        boolean completed;
+
+        @Override
+        public void onNodeProgress(final ProvisionedMeshNode meshNode, final int completedSteps, final int totalSteps) {
+            this.totalSteps.put(meshNode, totalSteps);
+        }
+
+        @Override
+        public void onNodeConfigured(final ProvisionedMeshNode meshNode) {
+            configured.add(meshNode);
+        }
+
+        @Override
+        public void onNodeFailed(final ProvisionedMeshNode meshNode, final Throwable failure) {
+            this.failure = failure;
+        }
+
+        @Override
+        public void onConfigurationCompleted(final int configuredCount, final int failedCount, final double nodesPerMinute) {
+            completed = true;
+        }
+    }
+
+    /**
+     * Records the messages sent and completes them when asked to, status messages are not parsed so the futures complete with null
+     */
+    private static final class FakeClient implements ConfigurationTemplateEngine.Client {
+        final List<Runnable> pending = new ArrayList<>();
+        final List<ConfigurationFuture<?>> futures = new ArrayList<>();
+        final Map<ProvisionedMeshNode, List<String>> sent = new HashMap<>();
+        final Map<ProvisionedMeshNode, Integer> timeouts = new HashMap<>();
+
+        List<String> sentTo(final ProvisionedMeshNode meshNode) {
+            return sent.get(meshNode);
+        }
+
+        void completeAll() {
+            while (!pending.isEmpty()) {
+                pending.remove(0).run();
+            }
+        }
+
+        private <T> ConfigurationFuture<T> send(final ProvisionedMeshNode meshNode, final String name, final T status) {
+            List<String> messages = sent.get(meshNode);
+            if (messages == null) {
+                messages = new ArrayList<>();
+                sent.put(meshNode, messages);
+            }
+            messages.add(name);
+
+            final ConfigurationFuture<T> future = new ConfigurationFuture<>();
+            futures.add(future);
+            pending.add(() -> {
+                final Integer timeouts = this.timeouts.get(meshNode);
+                if (timeouts != null && timeouts > 0) {
+                    this.timeouts.put(meshNode, timeouts - 1);
+                    future.completeExceptionally(new TimeoutException());
+                } else {
+                    future.complete(status);
+                }
+            });
+            return future;
+        }
+
+        private void setCompositionData(final ProvisionedMeshNode meshNode) {
+            final Map<Integer, MeshModel> models = new LinkedHashMap<>();
+            models.put(GENERIC_ON_OFF_SERVER, SigModelParser.getSigModel(GENERIC_ON_OFF_SERVER));
+            models.put(GENERIC_LEVEL_SERVER, SigModelParser.getSigModel(GENERIC_LEVEL_SERVER));
+            meshNode.mElements.put(0x0002, new Element(new byte[]{0x00, 0x02}, 0, 2, 0, models));
+        }
+
+        @Override
+        public boolean applyCachedCompositionData(final ProvisionedMeshNode meshNode, final int companyIdentifier,
+                                                  final int productIdentifier, final int versionIdentifier) {
+            if (companyIdentifier != CACHED_COMPANY_IDENTIFIER)
+                return false;
+            setCompositionData(meshNode);
+            return true;
+        }
+
+        @Override
+        public ConfigurationFuture<ConfigCompositionDataStatus> getCompositionData(final ProvisionedMeshNode meshNode) {
+            //The node is updated with the composition data before the status is delivered
+            setCompositionData(meshNode);
+            return send(meshNode, "compositionData", (ConfigCompositionDataStatus) null);
+        }
+
+        @Override
+        public ConfigurationFuture<ConfigAppKeyStatus> addAppKey(final ProvisionedMeshNode meshNode, final int appKeyIndex, final String appKey) {
+            return send(meshNode, "appKeyAdd", (ConfigAppKeyStatus) null);
+        }
+
+        @Override
+        public ConfigurationFuture<ConfigModelAppStatus> bindAppKey(final ProvisionedMeshNode meshNode, final byte[] elementAddress,
+                                                                    final MeshModel model, final int appKeyIndex) {
+            return send(meshNode, "bind " + model.getModelId(), (ConfigModelAppStatus) null);
+        }
+
+        @Override
+        public ConfigurationFuture<ConfigModelPublicationStatus> setPublication(final ProvisionedMeshNode meshNode, final byte[] elementAddress,
+                                                                                final int appKeyIndex, final ModelConfiguration modelConfiguration) {
+            return send(meshNode, "publication " + modelConfiguration.getModelId(), (ConfigModelPublicationStatus) null);
+        }
+
+        @Override
+        public ConfigurationFuture<ConfigModelSubscriptionStatus> addSubscriptionAddress(final ProvisionedMeshNode meshNode, final byte[] elementAddress,
+                                                                                         final byte[] subscriptionAddress, final int modelId) {
+            return send(meshNode, "subscription " + modelId, (ConfigModelSubscriptionStatus) null);
+        }
+    }
+}
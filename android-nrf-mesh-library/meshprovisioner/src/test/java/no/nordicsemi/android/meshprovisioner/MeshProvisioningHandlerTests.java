@@ -0,0 +1,206 @@
+package no.nordicsemi.android.meshprovisioner;
+
+import android.content.Context;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.security.Security;
+import java.util.ArrayList;
+import java.util.List;
+
+import no.nordicsemi.android.meshprovisioner.configuration.ProvisionedMeshNode;
+import no.nordicsemi.android.meshprovisioner.platform.MeshScheduler;
+import no.nordicsemi.android.meshprovisioner.states.UnprovisionedMeshNode;
+import no.nordicsemi.android.meshprovisioner.utils.AddressUtils;
+import no.nordicsemi.android.meshprovisioner.utils.MeshParserUtils;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class MeshProvisioningHandlerTests {
+
+    private static final String ADDRESS_A = "00:11:22:33:44:55";
+    private static final String ADDRESS_B = "66:77:88:99:AA:BB";
+    private static final byte[] CAPABILITIES_ONE_ELEMENT_PDU = {0x03, 0x01, 0x01, 0x00, 0x01, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00};
+    private static final byte[] CAPABILITIES_TWO_ELEMENTS_PDU = {0x03, 0x01, 0x02, 0x00, 0x01, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00, 0x00};
+
+    private final List<String> mSentPdus = new ArrayList<>();
+    private ManualScheduler mScheduler;
+    private UnicastAddressAllocator mAllocator;
+    private MeshProvisioningStatusCallbacks mStatusCallbacks;
+    private MeshProvisioningHandler mHandler;
+
+    @BeforeClass
+    public static void setUpProvider() {
+        //The desktop jvm can not seed the random generator of the provider when it is the preferred one
+        Security.removeProvider("SC");
+        Security.addProvider(new org.spongycastle.jce.provider.BouncyCastleProvider());
+    }
+
+    @Before
+    public void setUp() {
+        final InternalTransportCallbacks transport = new InternalTransportCallbacks() {
+            @Override
+            public void sendPdu(final BaseMeshNode meshnode, final byte[] pdu) {
+                mSentPdus.add(meshnode.getBluetoothDeviceAddress() + " " + pdu[1]);
+            }
+
+            @Override
+            public void updateMeshNode(final ProvisionedMeshNode meshNode) {
+            }
+        };
+        mScheduler = new ManualScheduler();
+        mAllocator = new UnicastAddressAllocator(1);
+        mStatusCallbacks = mock(MeshProvisioningStatusCallbacks.class);
+        mHandler = new MeshProvisioningHandler(mock(Context.class), transport, mock(InternalMeshManagerCallbacks.class), mAllocator, mScheduler);
+        mHandler.setProvisioningCallbacks(mStatusCallbacks);
+    }
+
+    @Test
+    public void interleaved_sessions_areIndependent() {
+        final UnprovisionedMeshNode nodeA = createNode(ADDRESS_A);
+        final UnprovisionedMeshNode nodeB = createNode(ADDRESS_B);
+        final ProvisioningSession sessionA = mHandler.startSession(nodeA, ProvisioningSession.UNICAST_ADDRESS_AUTO);
+        final ProvisioningSession sessionB = mHandler.startSession(nodeB, ProvisioningSession.UNICAST_ADDRESS_AUTO);
+
+        //The invites of both devices are written before either device answers
+        mHandler.handleProvisioningWriteCallbacks(nodeB);
+        mHandler.handleProvisioningWriteCallbacks(nodeA);
+        //Device B answers first and reserves its addresses first
+        mHandler.parseProvisioningNotifications(nodeB, CAPABILITIES_TWO_ELEMENTS_PDU);
+        mHandler.parseProvisioningNotifications(nodeA, CAPABILITIES_ONE_ELEMENT_PDU);
+
+        assertEquals("Sending for provisioning start", sessionA.getCurrentState());
+        assertEquals("Sending for provisioning start", sessionB.getCurrentState());
+        assertArrayEquals(AddressUtils.getUnicastAddressBytes(0x0003), nodeA.getUnicastAddress());
+        assertArrayEquals(AddressUtils.getUnicastAddressBytes(0x0001), nodeB.getUnicastAddress());
+        assertEquals(2, mAllocator.getReservedCount());
+
+        //Only the start pdu of device A is written, device B is still waiting for its write callback
+        mHandler.handleProvisioningWriteCallbacks(nodeA);
+        assertEquals("Sending provsioner public key xy", sessionA.getCurrentState());
+        assertEquals("Sending for provisioning start", sessionB.getCurrentState());
+
+        //Pdus are only ever sent to the device of their own session
+        final List<String> expected = new ArrayList<>();
+        expected.add(ADDRESS_A + " 0");
+        expected.add(ADDRESS_B + " 0");
+        expected.add(ADDRESS_B + " 2");
+        expected.add(ADDRESS_A + " 2");
+        expected.add(ADDRESS_A + " 3");
+        assertEquals(expected, mSentPdus);
+
+        //Cancelling device B releases its addresses only
+        mHandler.cancelProvisioning(ADDRESS_B);
+        assertTrue(sessionB.isFinished());
+        assertFalse(sessionA.isFinished());
+        assertNull(mHandler.getSession(ADDRESS_B));
+        assertNotNull(mHandler.getSession(ADDRESS_A));
+        assertEquals(1, mAllocator.getReservedCount());
+        assertArrayEquals(AddressUtils.getUnicastAddressBytes(0x0003), nodeA.getUnicastAddress());
+
+        //Pdus of the cancelled device are not delivered to the remaining session
+        mHandler.parseProvisioningNotifications(nodeB, CAPABILITIES_TWO_ELEMENTS_PDU);
+        assertEquals(5, mSentPdus.size());
+        assertFalse(sessionA.isFinished());
+    }
+
+    @Test
+    public void idle_session_times_out_isCorrect() {
+        final UnprovisionedMeshNode nodeA = createNode(ADDRESS_A);
+        final UnprovisionedMeshNode nodeB = createNode(ADDRESS_B);
+        final ProvisioningSession sessionA = mHandler.startSession(nodeA, ProvisioningSession.UNICAST_ADDRESS_AUTO);
+        final ProvisioningSession sessionB = mHandler.startSession(nodeB, ProvisioningSession.UNICAST_ADDRESS_AUTO);
+        mHandler.handleProvisioningWriteCallbacks(nodeA);
+        mHandler.handleProvisioningWriteCallbacks(nodeB);
+        mHandler.parseProvisioningNotifications(nodeA, CAPABILITIES_ONE_ELEMENT_PDU);
+        mHandler.parseProvisioningNotifications(nodeB, CAPABILITIES_TWO_ELEMENTS_PDU);
+        assertEquals(2, mAllocator.getReservedCount());
+
+        //Device A keeps exchanging pdus while device B goes silent
+        mScheduler.advance(MeshProvisioningHandler.DEFAULT_IDLE_TIMEOUT / 2);
+        mHandler.handleProvisioningWriteCallbacks(nodeA);
+        mScheduler.advance(MeshProvisioningHandler.DEFAULT_IDLE_TIMEOUT / 2);
+
+        assertTrue(sessionB.isFinished());
+        assertFalse(sessionA.isFinished());
+        assertNull(mHandler.getSession(ADDRESS_B));
+        assertEquals(1, mAllocator.getReservedCount());
+        verify(mStatusCallbacks).onProvisioningFailed(nodeB, "Provisioning timed out");
+        verify(mStatusCallbacks, never()).onProvisioningFailed(nodeA, "Provisioning timed out");
+
+        mScheduler.advance(MeshProvisioningHandler.DEFAULT_IDLE_TIMEOUT / 2);
+        assertTrue(sessionA.isFinished());
+        assertEquals(0, mAllocator.getReservedCount());
+        verify(mStatusCallbacks).onProvisioningFailed(nodeA, "Provisioning timed out");
+    }
+
+    @Test
+    public void cancelled_session_does_not_time_out_isCorrect() {
+        final UnprovisionedMeshNode nodeA = createNode(ADDRESS_A);
+        mHandler.startSession(nodeA, ProvisioningSession.UNICAST_ADDRESS_AUTO);
+        mHandler.cancelProvisioning(ADDRESS_A);
+
+        mScheduler.advance(MeshProvisioningHandler.DEFAULT_IDLE_TIMEOUT);
+        verify(mStatusCallbacks, never()).onProvisioningFailed(eq(nodeA), anyString());
+        assertTrue(mScheduler.isEmpty());
+    }
+
+    private static UnprovisionedMeshNode createNode(final String address) {
+        final UnprovisionedMeshNode node = new UnprovisionedMeshNode();
+        node.setBluetoothDeviceAddress(address);
+        node.setNetworkKey(MeshParserUtils.toByteArray("7dd7364cd842ad18c17c2b820c84c3d6"));
+        return node;
+    }
+
+    /**
+     * Runs the scheduled tasks when the test advances the clock
+     */
+    private static final class ManualScheduler implements MeshScheduler {
+        private final List<Long> mTimes = new ArrayList<>();
+        private final List<Runnable> mTasks = new ArrayList<>();
+        private long mTime;
+
+        @Override
+        public void postDelayed(final Runnable task, final long delay) {
+            mTimes.add(mTime + delay);
+            mTasks.add(task);
+        }
+
+        @Override
+        public long elapsedRealtime() {
+            return mTime;
+        }
+
+        void advance(final long duration) {
+            mTime += duration;
+            boolean ran = true;
+            while (ran) {
+                ran = false;
+                for (int i = 0; i < mTasks.size(); i++) {
+                    if (mTimes.get(i) <= mTime) {
+                        mTimes.remove(i);
+                        mTasks.remove(i).run();
+                        ran = true;
+                        break;
+                    }
+                }
+            }
+        }
+
+        boolean isEmpty() {
+            return mTasks.isEmpty();
+        }
+    }
+}
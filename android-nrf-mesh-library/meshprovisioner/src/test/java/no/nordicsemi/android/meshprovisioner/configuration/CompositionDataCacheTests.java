@@ -0,0 +1,33 @@
+package no.nordicsemi.android.meshprovisioner.configuration;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class CompositionDataCacheTests {
+
+    private static final byte[] COMPOSITION_DATA = {0x59, 0x00, 0x01, 0x00, 0x02, 0x00, 0x0A, 0x00, 0x07, 0x00,
+            0x00, 0x00, 0x02, 0x00, 0x00, 0x00, 0x00, 0x10};
+
+    @Test
+    public void cache_lookup_isCorrect() {
+        final CompositionDataCache cache = new CompositionDataCache(null);
+        cache.put(0x0059, 0x0001, 0x0002, CompositionDataCache.PAGE_0, COMPOSITION_DATA);
+
+        assertArrayEquals(COMPOSITION_DATA, cache.get(0x0059, 0x0001, 0x0002, CompositionDataCache.PAGE_0));
+        //A different firmware version or page is a different entry
+        assertNull(cache.get(0x0059, 0x0001, 0x0003, CompositionDataCache.PAGE_0));
+        assertNull(cache.get(0x0059, 0x0001, 0x0002, 1));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+
+        //Cached pages cannot be modified by the caller
+        cache.get(0x0059, 0x0001, 0x0002, CompositionDataCache.PAGE_0)[0] = 0;
+        assertArrayEquals(COMPOSITION_DATA, cache.get(0x0059, 0x0001, 0x0002, CompositionDataCache.PAGE_0));
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+}
@@ -1,15 +1,26 @@
 package no.nordicsemi.android.meshprovisioner.configuration;
 
 import org.junit.Test;
+import org.spongycastle.crypto.engines.AESEngine;
+import org.spongycastle.crypto.modes.CCMBlockCipher;
+import org.spongycastle.crypto.params.AEADParameters;
+import org.spongycastle.crypto.params.KeyParameter;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.util.Random;
 
+import no.nordicsemi.android.meshprovisioner.utils.CipherContextCache;
 import no.nordicsemi.android.meshprovisioner.utils.MeshParserUtils;
+import no.nordicsemi.android.meshprovisioner.utils.NetworkKeyMaterial;
+import no.nordicsemi.android.meshprovisioner.utils.NetworkKeyRegistry;
 import no.nordicsemi.android.meshprovisioner.utils.SecureUtils;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Example local unit test, which will execute on the development machine (host).
@@ -111,4 +122,75 @@ public class EncryptionTests {
         final String expectedNetworkId = "3ecaff672f673370";
         assertEquals(expectedNetworkId, networkIDText);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void ccm_matches_reference_implementation() throws Exception {
+        final Random random = new Random(0);
+        final byte[] key = new byte[16];
+        final byte[] nonce = new byte[13];
+        final int[] micSizes = {4, 8};
+        for (int length = 0; length <= 384; length += 7) {
+            for (int micSize : micSizes) {
+                random.nextBytes(key);
+                random.nextBytes(nonce);
+                final byte[] data = new byte[length];
+                random.nextBytes(data);
+
+                final CCMBlockCipher ccmBlockCipher = new CCMBlockCipher(new AESEngine());
+                ccmBlockCipher.init(true, new AEADParameters(new KeyParameter(key), micSize * 8, nonce));
+                final byte[] expected = new byte[length + micSize];
+                ccmBlockCipher.processBytes(data, 0, data.length, expected, 0);
+                ccmBlockCipher.doFinal(expected, 0);
+
+                final byte[] encrypted = SecureUtils.encryptCCM(data, key, nonce, micSize);
+                assertArrayEquals(expected, encrypted);
+                assertArrayEquals(data, SecureUtils.decryptCCM(encrypted, key, nonce, micSize));
+
+                final byte[] decrypted = new byte[length];
+                assertTrue(CipherContextCache.get(key).decryptCCM(nonce, encrypted, 0, encrypted.length, decrypted, 0, micSize));
+                encrypted[encrypted.length - 1] ^= 0x01;
+                assertTrue(!CipherContextCache.get(key).decryptCCM(nonce, encrypted, 0, encrypted.length, decrypted, 0, micSize));
+                //The plain text of a message failing the mic check is not returned
+                assertArrayEquals(new byte[length], decrypted);
+                assertNull(SecureUtils.decryptCCM(encrypted, key, nonce, micSize));
+            }
+        }
+    }
+
+    @Test
+    public void cmac_of_range_isCorrect() {
+        final byte[] key = MeshParserUtils.toByteArray("5f8a0ebb35e4ed24f9c3f42a2e1bd6b0");
+        final byte[] data = MeshParserUtils.toByteArray("00112233445566778899aabbccddeeff");
+        final byte[] range = MeshParserUtils.toByteArray("445566778899");
+        assertArrayEquals(SecureUtils.calculateCMAC(range, key), SecureUtils.calculateCMACOfRange(data, 4, range.length, key));
+    }
+
+    @Test
+    public void cipher_context_is_reused_per_key() {
+        final byte[] key = MeshParserUtils.toByteArray("7dd7364cd842ad18c17c2b820c84c3d6");
+        assertSame(CipherContextCache.get(key), CipherContextCache.get(key.clone()));
+
+        for (int i = 0; i < CipherContextCache.MAX_ENTRIES * 2; i++) {
+            final byte[] otherKey = new byte[16];
+            otherKey[0] = (byte) i;
+            otherKey[1] = 0x55;
+            CipherContextCache.get(otherKey);
+        }
+        assertEquals(CipherContextCache.MAX_ENTRIES, CipherContextCache.size());
+    }
+
+    @Test
+    public void network_key_material_isCorrect() {
+        final byte[] netKey = MeshParserUtils.toByteArray("7dd7364cd842ad18c17c2b820c84c3d6");
+        final NetworkKeyMaterial keyMaterial = NetworkKeyRegistry.getInstance().getKeyMaterial(netKey);
+        assertEquals(0x68, keyMaterial.getNid());
+        assertArrayEquals(MeshParserUtils.toByteArray("0953fa93e7caac9638f58820220a398e"), keyMaterial.getEncryptionKey());
+        assertArrayEquals(MeshParserUtils.toByteArray("8b84eedec100067d670971dd2aa700cf"), keyMaterial.getPrivacyKey());
+        assertArrayEquals(MeshParserUtils.toByteArray("3ecaff672f673370"), keyMaterial.getNetworkId());
+        assertEquals(0x3ecaff672f673370L, keyMaterial.getNetworkIdValue());
+        assertArrayEquals(MeshParserUtils.toByteArray("84396c435ac48560b5965385253e210c"), keyMaterial.getIdentityKey());
+        assertArrayEquals(MeshParserUtils.toByteArray("5423d967da639a99cb02231a83f7d254"), keyMaterial.getBeaconKey());
+
+        assertSame(keyMaterial, NetworkKeyRegistry.getInstance().getKeyMaterial(netKey.clone()));
+    }
+}
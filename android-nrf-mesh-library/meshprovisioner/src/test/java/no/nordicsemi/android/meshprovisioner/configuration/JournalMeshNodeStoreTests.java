@@ -0,0 +1,254 @@
+package no.nordicsemi.android.meshprovisioner.configuration;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import no.nordicsemi.android.meshprovisioner.utils.AddressUtils;
+import no.nordicsemi.android.meshprovisioner.utils.Element;
+import no.nordicsemi.android.meshprovisioner.utils.MeshParserUtils;
+import no.nordicsemi.android.meshprovisioner.utils.SigModelParser;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class JournalMeshNodeStoreTests {
+
+    private static final String NETWORK_KEY = "7dd7364cd842ad18c17c2b820c84c3d6";
+    private static final String APP_KEY = "63964771734fbd76e3b40519d1d94a48";
+
+    private File mFile;
+
+    @Before
+    public void setUp() {
+        mFile = new File(System.getProperty("java.io.tmpdir"), "mesh_nodes_" + System.nanoTime() + ".journal");
+    }
+
+    @After
+    public void tearDown() {
+        mFile.delete();
+    }
+
+    @Test
+    public void node_round_trip_isCorrect() {
+        final TestMeshNode node = new TestMeshNode(0x0002);
+        new JournalMeshNodeStore(mFile).save(node);
+
+        final List<ProvisionedMeshNode> nodes = new JournalMeshNodeStore(mFile).load();
+        assertEquals(1, nodes.size());
+        final ProvisionedMeshNode loaded = nodes.get(0);
+        assertArrayEquals(node.getUnicastAddress(), loaded.getUnicastAddress());
+        assertArrayEquals(node.getNetworkKey(), loaded.getNetworkKey());
+        assertNotNull(loaded.getK2Output());
+        assertEquals(node.getTtl(), loaded.getTtl());
+        assertEquals(node.getSequenceNumber(), loaded.getSequenceNumber());
+        assertEquals(node.getNodeIdentifier(), loaded.getNodeIdentifier());
+        assertEquals(APP_KEY, loaded.getAddedAppKeys().get(0));
+
+        final Element element = loaded.getElements().get(0x0002);
+        assertArrayEquals(new byte[]{0x00, 0x02}, element.getElementAddress());
+        final MeshModel model = element.getMeshModels().get(0x1000);
+        assertEquals(APP_KEY, model.getBoundAppKey(0));
+        assertArrayEquals(new byte[]{(byte) 0xC0, 0x00}, model.getSubscriptionAddresses().get(0));
+    }
+
+    @Test
+    public void node_index_isCorrect() {
+        final TestMeshNode node = new TestMeshNode(0x0002);
+        new JournalMeshNodeStore(mFile).save(node);
+
+        final JournalMeshNodeStore store = new JournalMeshNodeStore(mFile);
+        final ProvisionedMeshNode indexed = store.loadIndex().get(0);
+        assertFalse(indexed.isHydrated());
+        assertArrayEquals(node.getUnicastAddress(), indexed.getUnicastAddress());
+        assertNotNull(indexed.getK2Output());
+        assertEquals(node.getNodeIdentifier(), indexed.getNodeIdentifier());
+
+        //The elements are read on first access
+        assertEquals(1, indexed.getElements().size());
+        assertTrue(indexed.isHydrated());
+        assertEquals(APP_KEY, indexed.getAddedAppKeys().get(0));
+
+        //An indexed node that has not changed is written back unchanged
+        final ProvisionedMeshNode unhydrated = store.loadIndex().get(0);
+        store.save(unhydrated);
+        assertEquals(1, store.getSkippedWriteCount());
+    }
+
+    @Test
+    public void unreadable_elements_are_kept_isCorrect() throws Exception {
+        final ByteArrayOutputStream record = new ByteArrayOutputStream();
+        new TestMeshNode(0x0002).writeRecord(new DataOutputStream(record));
+        final byte[] bytes = record.toByteArray();
+
+        //Drop the app keys from the end of the record so that the elements cannot be read
+        final byte[] truncated = new byte[bytes.length - 4];
+        System.arraycopy(bytes, 0, truncated, 0, truncated.length);
+        final ProvisionedMeshNode indexed = ProvisionedMeshNode.readRecordIndex(truncated);
+        indexed.hydrate();
+        assertFalse(indexed.isHydrated());
+        assertTrue(indexed.getElements().isEmpty());
+
+        //The node is not written back without its elements
+        try {
+            indexed.writeRecord(new DataOutputStream(new ByteArrayOutputStream()));
+            fail("Node without its elements was written");
+        } catch (IOException expected) {
+        }
+    }
+
+    @Test
+    public void incremental_update_isCorrect() {
+        final JournalMeshNodeStore store = new JournalMeshNodeStore(mFile);
+        final TestMeshNode first = new TestMeshNode(0x0002);
+        final TestMeshNode second = new TestMeshNode(0x0003);
+        store.save(first);
+        store.save(second);
+        //Saving a node that has not changed does not append a record
+        store.save(first);
+        assertEquals(2, store.getWriteCount());
+        assertEquals(1, store.getSkippedWriteCount());
+
+        second.setSequenceNumber(100);
+        store.save(second);
+        store.delete(0x0002);
+        assertEquals(4, store.getJournalRecordCount());
+
+        final List<ProvisionedMeshNode> nodes = new JournalMeshNodeStore(mFile).load();
+        assertEquals(1, nodes.size());
+        assertEquals(0x0003, AddressUtils.getUnicastAddressInt(nodes.get(0).getUnicastAddress()));
+        assertEquals(100, nodes.get(0).getSequenceNumber());
+    }
+
+    @Test
+    public void compaction_isCorrect() {
+        final JournalMeshNodeStore store = new JournalMeshNodeStore(mFile, 8);
+        final TestMeshNode node = new TestMeshNode(0x0002);
+        store.save(new TestMeshNode(0x0003));
+        for (int i = 0; i < 20; i++) {
+            node.setSequenceNumber(i);
+            store.save(node);
+        }
+        assertTrue(store.getCompactionCount() > 0);
+        assertTrue(store.getJournalRecordCount() < 8);
+
+        final List<ProvisionedMeshNode> nodes = new JournalMeshNodeStore(mFile).load();
+        assertEquals(2, nodes.size());
+        assertEquals(0x0002, AddressUtils.getUnicastAddressInt(nodes.get(0).getUnicastAddress()));
+        assertEquals(19, nodes.get(0).getSequenceNumber());
+    }
+
+    @Test
+    public void torn_record_isDiscarded() throws Exception {
+        final JournalMeshNodeStore store = new JournalMeshNodeStore(mFile);
+        store.save(new TestMeshNode(0x0002));
+        final long length = mFile.length();
+        store.save(new TestMeshNode(0x0003));
+
+        //Cut the second record in half as if the application was stopped while it was written
+        final RandomAccessFile file = new RandomAccessFile(mFile, "rw");
+        file.setLength(length + (file.length() - length) / 2);
+        file.close();
+
+        final JournalMeshNodeStore reopened = new JournalMeshNodeStore(mFile);
+        final List<ProvisionedMeshNode> nodes = reopened.load();
+        assertEquals(1, nodes.size());
+        assertEquals(length, mFile.length());
+
+        //Records appended after the truncation are read back
+        reopened.save(new TestMeshNode(0x0004));
+        assertEquals(2, new JournalMeshNodeStore(mFile).load().size());
+    }
+
+    @Test
+    public void corrupt_journal_is_left_untouched_isCorrect() throws Exception {
+        final JournalMeshNodeStore store = new JournalMeshNodeStore(mFile);
+        store.save(new TestMeshNode(0x0002));
+        store.save(new TestMeshNode(0x0003));
+        final long length = mFile.length();
+
+        //Flip a payload byte of the first record, which is followed by a valid record
+        final RandomAccessFile file = new RandomAccessFile(mFile, "rw");
+        file.seek(4 + 7 + 8);
+        final int value = file.read();
+        file.seek(4 + 7 + 8);
+        file.write(value ^ 0xFF);
+        file.close();
+
+        final JournalMeshNodeStore reopened = new JournalMeshNodeStore(mFile);
+        assertTrue(reopened.load().isEmpty());
+        assertFalse(reopened.save(new TestMeshNode(0x0004)));
+        assertEquals(length, mFile.length());
+    }
+
+    @Test
+    public void foreign_file_is_left_untouched_isCorrect() throws Exception {
+        final RandomAccessFile file = new RandomAccessFile(mFile, "rw");
+        file.write(new byte[]{'{', '}', '\n', '\n', '\n'});
+        file.close();
+
+        final JournalMeshNodeStore store = new JournalMeshNodeStore(mFile);
+        assertTrue(store.load().isEmpty());
+        assertFalse(store.save(new TestMeshNode(0x0002)));
+        assertEquals(5, mFile.length());
+    }
+
+    @Test
+    public void clear_isCorrect() {
+        final JournalMeshNodeStore store = new JournalMeshNodeStore(mFile);
+        store.save(new TestMeshNode(0x0002));
+        store.clear();
+        assertTrue(store.load().isEmpty());
+        assertTrue(new JournalMeshNodeStore(mFile).load().isEmpty());
+    }
+
+    @Test
+    public void save_failure_is_reported_isCorrect() {
+        final TestMeshNode node = new TestMeshNode(0x0002);
+        assertTrue(new JournalMeshNodeStore(mFile).save(node));
+        //Saving the same node again does not write but is still reported as stored
+        assertTrue(new JournalMeshNodeStore(mFile).save(node));
+
+        final File missingDirectory = new File(System.getProperty("java.io.tmpdir"), "mesh_nodes_missing_" + System.nanoTime());
+        final JournalMeshNodeStore store = new JournalMeshNodeStore(new File(missingDirectory, "mesh_nodes.journal"));
+        assertFalse(store.save(node));
+        assertTrue(store.load().isEmpty());
+    }
+
+    private static final class TestMeshNode extends ProvisionedMeshNode {
+
+        TestMeshNode(final int unicastAddress) {
+            final byte[] address = AddressUtils.getUnicastAddressBytes(unicastAddress);
+            setUnicastAddress(address);
+            networkKey = MeshParserUtils.toByteArray(NETWORK_KEY);
+            setKeyIndex(new byte[]{0x00, 0x00});
+            setIvIndex(new byte[]{0x00, 0x00, 0x00, 0x00});
+            setFlags(new byte[]{0x00});
+            setIsProvisioned(true);
+            setTtl(5);
+            setSequenceNumber(1);
+            setNodeIdentifier("node " + unicastAddress);
+            setAddedAppKey(0, APP_KEY);
+
+            final MeshModel model = SigModelParser.getSigModel(0x1000);
+            model.setBoundAppKey(0, APP_KEY);
+            model.setSubscriptionAddress(new byte[]{(byte) 0xC0, 0x00});
+            final Map<Integer, MeshModel> models = new LinkedHashMap<>();
+            models.put(0x1000, model);
+            mElements.put(unicastAddress, new Element(address, 0, 1, 0, models));
+        }
+    }
+}
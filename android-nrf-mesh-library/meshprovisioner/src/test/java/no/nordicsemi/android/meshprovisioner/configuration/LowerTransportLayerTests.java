@@ -13,11 +13,18 @@ import org.mockito.junit.MockitoRule;
 import java.util.HashMap;
 import java.util.Map;
 
+import no.nordicsemi.android.meshprovisioner.control.BlockAcknowledgementMessage;
 import no.nordicsemi.android.meshprovisioner.messages.AccessMessage;
 import no.nordicsemi.android.meshprovisioner.messages.ControlMessage;
+import no.nordicsemi.android.meshprovisioner.transport.SegmentReassembler;
+import no.nordicsemi.android.meshprovisioner.transport.SegmentTransmitter;
 import no.nordicsemi.android.meshprovisioner.utils.MeshParserUtils;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Example local unit test, which will execute on the development machine (host).
@@ -140,4 +147,145 @@ public class LowerTransportLayerTests {
         meshLayerTestBase.createLowerTransportControlPDU(controlMessage);
         assertEquals(expectedLowerTransportPdu, MeshParserUtils.bytesToHex(controlMessage.getLowerTransportControlPdu().get(0), false));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void reassemble_interleaved_segmented_messages_isCorrect() {
+        final byte[] first = MeshParserUtils.toByteArray("ee9dddfd2169326d23f3afdfcfdc18c52fdef772e0e17308");
+        final byte[] second = MeshParserUtils.toByteArray("5634129f54b3d6a8be45f87d5a79c7d2ffe8a0e4a12a");
+        final SegmentReassembler reassembler = new SegmentReassembler(12, 2, SegmentReassembler.DEFAULT_INCOMPLETE_TIMEOUT);
+
+        //Segments of two messages from different sources received out of order and interleaved
+        assertEquals(SegmentReassembler.SEGMENT_ADDED, reassembler.addSegment(0x0003, 0x09AB, 1, 1, first, 12, 12, 0));
+        assertEquals(SegmentReassembler.SEGMENT_ADDED, reassembler.addSegment(0x1201, 0x0001, 1, 1, second, 12, 10, 0));
+        assertEquals(SegmentReassembler.DUPLICATE_SEGMENT, reassembler.addSegment(0x0003, 0x09AB, 1, 1, first, 12, 12, 10));
+        assertEquals(0x02, reassembler.getReassembly(0x0003, 0x09AB).getBlockAck());
+        assertNull(reassembler.getReassembly(0x0003, 0x09AB).getPdu());
+        assertEquals(SegmentReassembler.MESSAGE_COMPLETE, reassembler.addSegment(0x1201, 0x0001, 0, 1, second, 0, 12, 20));
+        assertEquals(SegmentReassembler.MESSAGE_COMPLETE, reassembler.addSegment(0x0003, 0x09AB, 0, 1, first, 0, 12, 20));
+
+        assertEquals(MeshParserUtils.bytesToHex(first, false), MeshParserUtils.bytesToHex(reassembler.getReassembly(0x0003, 0x09AB).getPdu(), false));
+        assertEquals(MeshParserUtils.bytesToHex(second, false), MeshParserUtils.bytesToHex(reassembler.getReassembly(0x1201, 0x0001).getPdu(), false));
+        assertEquals(SegmentReassembler.ALREADY_COMPLETE, reassembler.addSegment(0x0003, 0x09AB, 0, 1, first, 0, 12, 30));
+
+        //Only the last segment may be shorter and segN must not change
+        assertEquals(SegmentReassembler.INVALID_SEGMENT, reassembler.addSegment(0x0004, 0x0001, 0, 1, first, 0, 8, 30));
+        assertEquals(SegmentReassembler.INVALID_SEGMENT, reassembler.addSegment(0x0003, 0x09AB, 0, 2, first, 0, 12, 30));
+    }
+
+    @Test
+    public void reassembly_memory_is_bounded_isCorrect() {
+        final byte[] segment = new byte[12];
+        final SegmentReassembler reassembler = new SegmentReassembler(12, 2, 10000);
+
+        assertEquals(SegmentReassembler.SEGMENT_ADDED, reassembler.addSegment(0x0001, 0x0001, 0, 1, segment, 0, 12, 0));
+        assertEquals(SegmentReassembler.SEGMENT_ADDED, reassembler.addSegment(0x0002, 0x0001, 0, 1, segment, 0, 12, 100));
+        //The least recently used message is discarded when all slots are in use
+        assertEquals(SegmentReassembler.SEGMENT_ADDED, reassembler.addSegment(0x0003, 0x0001, 0, 1, segment, 0, 12, 200));
+        assertEquals(2, reassembler.size());
+        assertNull(reassembler.getReassembly(0x0001, 0x0001));
+
+        //A newer message from the same source cancels the incomplete one, an older one is ignored
+        assertEquals(SegmentReassembler.SEGMENT_ADDED, reassembler.addSegment(0x0003, 0x0002, 0, 1, segment, 0, 12, 300));
+        assertNull(reassembler.getReassembly(0x0003, 0x0001));
+        assertEquals(SegmentReassembler.INVALID_SEGMENT, reassembler.addSegment(0x0003, 0x0001, 0, 1, segment, 0, 12, 300));
+
+        //The incomplete timer of the message expired 10000 ms after its last segment, so the segment received before is
+        //discarded and the reassembly starts again with the new segment
+        assertEquals(SegmentReassembler.SEGMENT_ADDED, reassembler.addSegment(0x0003, 0x0002, 1, 1, segment, 0, 4, 20000));
+        assertEquals(0x02, reassembler.getReassembly(0x0003, 0x0002).getBlockAck());
+    }
+
+    @Test
+    public void incomplete_timer_discards_message_isCorrect() {
+        final byte[] segment = new byte[12];
+        final SegmentReassembler reassembler = new SegmentReassembler(12, 2, 10000);
+
+        assertEquals(SegmentReassembler.SEGMENT_ADDED, reassembler.addSegment(0x0003, 0x0001, 0, 2, segment, 0, 12, 0));
+        final SegmentReassembler.Reassembly reassembly = reassembler.getReassembly(0x0003, 0x0001);
+        final int generation = reassembly.getGeneration();
+        assertTrue(reassembly.startIncompleteTimer());
+        assertFalse(reassembly.startIncompleteTimer());
+
+        //A segment received in the mean time restarts the timer for the remaining time
+        assertEquals(SegmentReassembler.SEGMENT_ADDED, reassembler.addSegment(0x0003, 0x0001, 1, 2, segment, 0, 12, 4000));
+        assertEquals(4000, reassembler.expireIncomplete(reassembly, generation, 10000));
+
+        //The timer fires without a new segment, so the message is discarded without waiting for another segment
+        assertEquals(0, reassembler.expireIncomplete(reassembly, generation, 14001));
+        assertNull(reassembler.getReassembly(0x0003, 0x0001));
+        assertEquals(0, reassembler.size());
+
+        //A timer of a reused slot or of a completed message does nothing
+        assertEquals(SegmentReassembler.SEGMENT_ADDED, reassembler.addSegment(0x0004, 0x0001, 0, 1, segment, 0, 12, 15000));
+        final SegmentReassembler.Reassembly reused = reassembler.getReassembly(0x0004, 0x0001);
+        assertEquals(-1, reassembler.expireIncomplete(reassembly, generation, 30000));
+        assertEquals(SegmentReassembler.MESSAGE_COMPLETE, reassembler.addSegment(0x0004, 0x0001, 1, 1, segment, 0, 4, 15000));
+        assertEquals(-1, reassembler.expireIncomplete(reused, reused.getGeneration(), 30000));
+        assertSame(reused, reassembler.getReassembly(0x0004, 0x0001));
+    }
+
+    @Test
+    public void parse_block_acknowledgement_isCorrect() {
+        //Acknowledgement of segment 1 of a message with SeqZero 0x09ab
+        final BlockAcknowledgementMessage acknowledgement = new BlockAcknowledgementMessage(MeshParserUtils.toByteArray("26ac00000002"), 0);
+        assertEquals(0, acknowledgement.getObo());
+        assertEquals(0x09AB, acknowledgement.getSeqZero());
+        assertEquals(0x02, acknowledgement.getBlockAcknowledgement());
+    }
+
+    @Test
+    public void selective_retransmission_of_segments_isCorrect() {
+        final AccessMessage first = new AccessMessage();
+        final AccessMessage second = new AccessMessage();
+        final SegmentTransmitter transmitter = new SegmentTransmitter(1);
+
+        //Two messages outstanding to different destinations at the same time
+        assertNull(transmitter.add(first, 0x1201, 0x09AB, 3));
+        assertNull(transmitter.add(second, 0x1202, 0x0001, 1));
+        assertEquals(2, transmitter.size());
+
+        assertEquals(SegmentTransmitter.ACK_IGNORED, transmitter.onBlockAcknowledgement(0x1201, 0x0001, 0x01));
+        assertEquals(SegmentTransmitter.ACK_PARTIAL, transmitter.onBlockAcknowledgement(0x1201, 0x09AB, 0x05));
+        //Only segments 1 and 3 are missing
+        assertEquals(0x0A, transmitter.get(0x1201).getMissingSegments());
+        assertEquals(SegmentTransmitter.ACK_COMPLETE, transmitter.onBlockAcknowledgement(0x1201, 0x09AB, 0x0A));
+        assertNull(transmitter.get(0x1201));
+
+        final SegmentTransmitter.OutgoingMessage outgoingMessage = transmitter.get(0x1202);
+        assertSame(second, outgoingMessage.getMessage());
+        assertTrue(outgoingMessage.useRetransmission());
+        assertFalse(outgoingMessage.useRetransmission());
+        assertEquals(SegmentTransmitter.ACK_CANCELLED, transmitter.onBlockAcknowledgement(0x1202, 0x0001, 0x00));
+        assertEquals(0, transmitter.size());
+    }
+
+    @Test
+    public void shared_transmitter_keeps_listener_of_sender_isCorrect() {
+        final SegmentTransmitter transmitter = new SegmentTransmitter();
+        final SegmentTransmitter.Listener sender = new SegmentTransmitter.Listener() {
+            @Override
+            public void onDelivered(final SegmentTransmitter.OutgoingMessage outgoingMessage) {
+            }
+
+            @Override
+            public void onSegmentsMissing(final SegmentTransmitter.OutgoingMessage outgoingMessage) {
+            }
+
+            @Override
+            public void onFailed(final SegmentTransmitter.OutgoingMessage outgoingMessage) {
+            }
+        };
+        final AccessMessage message = new AccessMessage();
+        assertNull(transmitter.add(message, 0x1201, 0x09AB, 1, sender));
+
+        //The acknowledgement may be parsed by any transport sharing the transmitter, the outcome is reported to the sender
+        final SegmentTransmitter.OutgoingMessage outgoingMessage = transmitter.get(0x1201);
+        assertSame(sender, outgoingMessage.getListener());
+
+        //A new message to the same destination replaces the outstanding one, which is reported as failed by its sender
+        final SegmentTransmitter.OutgoingMessage replaced = transmitter.add(new AccessMessage(), 0x1201, 0x0001, 1, null);
+        assertSame(outgoingMessage, replaced);
+        assertSame(sender, replaced.getListener());
+        assertNull(transmitter.get(0x1201).getListener());
+    }
+}
@@ -0,0 +1,48 @@
+package no.nordicsemi.android.meshprovisioner.configuration;
+
+import org.junit.Test;
+
+import no.nordicsemi.android.meshprovisioner.utils.MeshParserUtils;
+import no.nordicsemi.android.meshprovisioner.utils.NetworkAdvertisementClassifier;
+import no.nordicsemi.android.meshprovisioner.utils.NetworkKeyRegistry;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NetworkAdvertisementClassifierTests {
+
+    private static final byte[] NETWORK_KEY = MeshParserUtils.toByteArray("7dd7364cd842ad18c17c2b820c84c3d6");
+
+    @Test
+    public void advertisement_classification_isCorrect() {
+        final NetworkAdvertisementClassifier classifier = new NetworkAdvertisementClassifier(NetworkKeyRegistry.getInstance());
+        classifier.addNetworkKey(NETWORK_KEY);
+        classifier.addNetworkKey(NETWORK_KEY);
+        assertEquals(1, classifier.getNetworkCount());
+
+        assertEquals(NetworkAdvertisementClassifier.ADVERTISEMENT_NETWORK_ID,
+                classifier.classify(MeshParserUtils.toByteArray("003ecaff672f673370")));
+        assertEquals(NetworkAdvertisementClassifier.ADVERTISEMENT_FOREIGN_NETWORK_ID,
+                classifier.classify(MeshParserUtils.toByteArray("003ecaff672f673371")));
+        assertEquals(NetworkAdvertisementClassifier.ADVERTISEMENT_NODE_IDENTITY,
+                classifier.classify(MeshParserUtils.toByteArray("01861023fbc1dad6b634ae608fbbc1f2c6")));
+        assertEquals(NetworkAdvertisementClassifier.ADVERTISEMENT_UNPROVISIONED_DEVICE,
+                classifier.classify(MeshParserUtils.toByteArray("70cf7c9732a345b691494810d2e9cbf40000")));
+        assertEquals(NetworkAdvertisementClassifier.ADVERTISEMENT_UNKNOWN,
+                classifier.classify(MeshParserUtils.toByteArray("023ecaff672f673370")));
+        assertEquals(NetworkAdvertisementClassifier.ADVERTISEMENT_UNKNOWN, classifier.classify(null));
+
+        classifier.clear();
+        assertEquals(NetworkAdvertisementClassifier.ADVERTISEMENT_FOREIGN_NETWORK_ID,
+                classifier.classify(MeshParserUtils.toByteArray("003ecaff672f673370")));
+    }
+
+    @Test
+    public void network_id_match_isCorrect() {
+        final byte[] serviceData = MeshParserUtils.toByteArray("003ecaff672f673370");
+        assertTrue(NetworkAdvertisementClassifier.networkIdMatches(0x3ecaff672f673370L, serviceData));
+        assertFalse(NetworkAdvertisementClassifier.networkIdMatches(0x3ecaff672f673371L, serviceData));
+        assertFalse(NetworkAdvertisementClassifier.networkIdMatches(0x3ecaff672f673370L, null));
+    }
+}
@@ -10,16 +10,26 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 
+import java.io.File;
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
 
 import no.nordicsemi.android.meshprovisioner.messages.AccessMessage;
 import no.nordicsemi.android.meshprovisioner.messages.Message;
+import no.nordicsemi.android.meshprovisioner.transport.NetworkPduEncoder;
+import no.nordicsemi.android.meshprovisioner.transport.NetworkPduFilter;
+import no.nordicsemi.android.meshprovisioner.transport.ReplayProtectionList;
 import no.nordicsemi.android.meshprovisioner.utils.MeshParserUtils;
+import no.nordicsemi.android.meshprovisioner.utils.NetworkKeyRegistry;
 import no.nordicsemi.android.meshprovisioner.utils.SecureUtils;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
 
 /**
  * Example local unit test, which will execute on the development machine (host).
@@ -52,10 +62,8 @@ public class NetworkLayerTests {
         final byte[] lowerTransportPdu = MeshParserUtils.toByteArray("0089511bf1d1a81c11dcef".toUpperCase());
         final byte[] ivIndex = MeshParserUtils.toByteArray("12345678");
 
-        final SecureUtils.K2Output k2Output = SecureUtils.calculateK2(netkey, SecureUtils.K2_MASTER_INPUT);
-
         final ProvisionedMeshNode meshNode = new ProvisionedMeshNode();
-        meshNode.setK2Ouput(k2Output);
+        meshNode.setNetworkKey(netkey);
 
         final MeshTransport meshLayerTestBase = new MeshTransport(context, meshNode);
         final AccessMessage accessMessage = new AccessMessage();
@@ -82,6 +90,16 @@ public class NetworkLayerTests {
                 assertEquals(expectedNetworkPdu.get(i), MeshParserUtils.bytesToHex(actualTransportPDU, false));
             }
         }
+
+        //Encoding the message again reuses its map and pdus
+        final byte[] firstPdu = actualNetworkTransportPdu.get(0);
+        accessMessage.setSequenceNumber(sequenceNumber);
+        final Message encodedAgain = meshLayerTestBase.createNetworkLayerPDU(accessMessage);
+        assertSame(actualNetworkTransportPdu, encodedAgain.getNetworkPdu());
+        assertSame(firstPdu, encodedAgain.getNetworkPdu().get(0));
+        for (int i = 0; i < expectedNetworkPdu.size(); i++) {
+            assertEquals(expectedNetworkPdu.get(i), MeshParserUtils.bytesToHex(encodedAgain.getNetworkPdu().get(i), false));
+        }
     }
 
     @Test
@@ -104,9 +122,8 @@ public class NetworkLayerTests {
         final byte[] lowerTransportPdu1 = MeshParserUtils.toByteArray("8026ac21cfdc18c52fdef772e0e17308".toUpperCase());
         final byte[] ivIndex = MeshParserUtils.toByteArray("12345678");
 
-        final SecureUtils.K2Output k2Output = SecureUtils.calculateK2(netkey, SecureUtils.K2_MASTER_INPUT);
         final ProvisionedMeshNode meshNode = new ProvisionedMeshNode();
-        meshNode.setK2Ouput(k2Output);
+        meshNode.setNetworkKey(netkey);
 
         final MeshTransport meshLayerTestBase = new MeshTransport(context, meshNode);
         final AccessMessage accessMessage = new AccessMessage();
@@ -142,9 +159,8 @@ public class NetworkLayerTests {
         final String expectedAccessPayload = "800300563412";
         final byte[] netkey = MeshParserUtils.toByteArray("7dd7364cd842ad18c17c2b820c84c3d6");
 
-        final SecureUtils.K2Output k2Output = SecureUtils.calculateK2(netkey, SecureUtils.K2_MASTER_INPUT);
         final ProvisionedMeshNode meshNode = new ProvisionedMeshNode();
-        meshNode.setK2Ouput(k2Output);
+        meshNode.setNetworkKey(netkey);
         meshNode.setIvIndex(MeshParserUtils.toByteArray("12345678"));
         meshNode.setDeviceKey(MeshParserUtils.toByteArray("9d6dd0e96eb25dc19a40ed9914f8f03f"));
         final byte[] pdu = MeshParserUtils.toByteArray("0068e80e5da5af0e6b9be7f5a642f2f98680e61c3a8b47f228");
@@ -163,9 +179,8 @@ public class NetworkLayerTests {
         final String expectedAccessPayload = "0056341263964771734fbd76e3b40519d1d94a48".toUpperCase();
         final byte[] netkey = MeshParserUtils.toByteArray("7dd7364cd842ad18c17c2b820c84c3d6");
 
-        final SecureUtils.K2Output k2Output = SecureUtils.calculateK2(netkey, SecureUtils.K2_MASTER_INPUT);
         final ProvisionedMeshNode meshNode = new ProvisionedMeshNode();
-        meshNode.setK2Ouput(k2Output);
+        meshNode.setNetworkKey(netkey);
         meshNode.setIvIndex(MeshParserUtils.toByteArray("12345678"));
         meshNode.setDeviceKey(MeshParserUtils.toByteArray("9d6dd0e96eb25dc19a40ed9914f8f03f"));
         //final byte [] pdu = MeshParserUtils.toByteArray("0068cab5c5348a230afba8c63d4e686364979deaf4fd40961145939cda0e");
@@ -183,4 +198,180 @@ public class NetworkLayerTests {
             }
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void encode_network_pdu_in_to_reusable_buffer_isCorrect() {
+        //Message #16
+        final String expectedNetworkPdu = "0068e80e5da5af0e6b9be7f5a642f2f98680e61c3a8b47f228".toUpperCase();
+        final byte[] netkey = MeshParserUtils.toByteArray("7dd7364cd842ad18c17c2b820c84c3d6");
+        final SecureUtils.K2Output k2Output = SecureUtils.calculateK2(netkey, SecureUtils.K2_MASTER_INPUT);
+        final byte[] lowerTransportPdu = MeshParserUtils.toByteArray("0089511bf1d1a81c11dcef");
+
+        final byte[] output = new byte[64];
+        final int offset = 5;
+        final int length = NetworkPduEncoder.encode(output, offset, 0x00, k2Output.getNid(), 0x00, 0x0b, 0x000006, 0x1201, 0x0003, 0x12345678,
+                lowerTransportPdu, 0, lowerTransportPdu.length, k2Output.getEncryptionKey(), k2Output.getPrivacyKey());
+
+        assertEquals(NetworkPduEncoder.getNetworkPduLength(0x00, lowerTransportPdu.length), length);
+        assertEquals(expectedNetworkPdu, MeshParserUtils.bytesToHex(output, offset, length, false));
+    }
+
+    @Test
+    public void encode_network_pdu_does_not_allocate() {
+        final java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean instanceof com.sun.management.ThreadMXBean);
+        final com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        assumeTrue(allocationBean.isThreadAllocatedMemorySupported());
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+
+        final byte[] netkey = MeshParserUtils.toByteArray("7dd7364cd842ad18c17c2b820c84c3d6");
+        final SecureUtils.K2Output k2Output = SecureUtils.calculateK2(netkey, SecureUtils.K2_MASTER_INPUT);
+        final int nid = k2Output.getNid();
+        final byte[] encryptionKey = k2Output.getEncryptionKey();
+        final byte[] privacyKey = k2Output.getPrivacyKey();
+        final byte[] lowerTransportPdu = MeshParserUtils.toByteArray("8026ac01ee9dddfd2169326d23f3afdf");
+        final byte[] output = new byte[NetworkPduEncoder.getNetworkPduLength(0x00, lowerTransportPdu.length)];
+
+        final int segments = 10000;
+        for (int i = 0; i < segments; i++) {
+            NetworkPduEncoder.encode(output, 0, 0x00, nid, 0x00, 0x04, i, 0x0003, 0x1201, 0x12345678,
+                    lowerTransportPdu, 0, lowerTransportPdu.length, encryptionKey, privacyKey);
+        }
+
+        final long threadId = Thread.currentThread().getId();
+        final long baselineStart = allocationBean.getThreadAllocatedBytes(threadId);
+        final long baselineEnd = allocationBean.getThreadAllocatedBytes(threadId);
+        final long start = allocationBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < segments; i++) {
+            NetworkPduEncoder.encode(output, 0, 0x00, nid, 0x00, 0x04, i, 0x0003, 0x1201, 0x12345678,
+                    lowerTransportPdu, 0, lowerTransportPdu.length, encryptionKey, privacyKey);
+        }
+        final long end = allocationBean.getThreadAllocatedBytes(threadId);
+
+        final long allocatedPerSegment = ((end - start) - (baselineEnd - baselineStart)) / segments;
+        assertEquals("Bytes allocated per segment", 0, allocatedPerSegment);
+    }
+
+    @Test
+    public void filter_network_pdu_isCorrect() {
+        //Message #16
+        final byte[] netkey = MeshParserUtils.toByteArray("7dd7364cd842ad18c17c2b820c84c3d6");
+        NetworkKeyRegistry.getInstance().getKeyMaterial(netkey);
+        final byte[] ivIndex = MeshParserUtils.toByteArray("12345678");
+        final byte[] pdu = MeshParserUtils.toByteArray("0068e80e5da5af0e6b9be7f5a642f2f98680e61c3a8b47f228");
+
+        final NetworkPduFilter filter = new NetworkPduFilter(NetworkKeyRegistry.getInstance());
+        assertEquals(NetworkPduFilter.ACCEPTED, filter.filter(pdu, ivIndex));
+        //A pdu is not remembered before its network mic has been verified
+        assertEquals(NetworkPduFilter.ACCEPTED, filter.filter(pdu, ivIndex));
+        filter.addAuthenticated(NetworkKeyRegistry.getInstance().getKeyMaterial(netkey), pdu, 0x12345678);
+        assertEquals(NetworkPduFilter.DROPPED_DUPLICATE, filter.filter(pdu, ivIndex));
+
+        final byte[] unknownNid = pdu.clone();
+        unknownNid[1] = 0x01;
+        assertEquals(NetworkPduFilter.DROPPED_UNKNOWN_NID, filter.filter(unknownNid, ivIndex));
+        assertEquals(NetworkPduFilter.DROPPED_MALFORMED, filter.filter(new byte[]{0x00, 0x68}, ivIndex));
+
+        assertEquals(5, filter.getReceivedCount());
+        assertEquals(2, filter.getAcceptedCount());
+        assertEquals(1, filter.getDroppedDuplicateCount());
+        assertEquals(1, filter.getDroppedUnknownNidCount());
+        assertEquals(1, filter.getDroppedMalformedCount());
+    }
+
+    @Test
+    public void source_address_with_colliding_nid_isCorrect() {
+        //Message #16
+        final byte[] netkey = MeshParserUtils.toByteArray("7dd7364cd842ad18c17c2b820c84c3d6");
+        final int nid = NetworkKeyRegistry.getInstance().getKeyMaterial(netkey).getNid();
+        final byte[] ivIndex = MeshParserUtils.toByteArray("12345678");
+        final byte[] pdu = MeshParserUtils.toByteArray("0068e80e5da5af0e6b9be7f5a642f2f98680e61c3a8b47f228");
+
+        //Find another network key using the same NID
+        final byte[] collidingKey = new byte[16];
+        for (int i = 0; ; i++) {
+            collidingKey[0] = (byte) i;
+            collidingKey[1] = (byte) (i >> 8);
+            if ((SecureUtils.calculateK2(collidingKey, SecureUtils.K2_MASTER_INPUT).getNid() & 0x7F) == nid)
+                break;
+        }
+        NetworkKeyRegistry.getInstance().getKeyMaterial(collidingKey);
+        try {
+            assertEquals(2, NetworkKeyRegistry.getInstance().getKeyMaterials(nid).length);
+            final NetworkPduFilter filter = new NetworkPduFilter(NetworkKeyRegistry.getInstance());
+            assertEquals(0x1201, filter.getSourceAddress(pdu, ivIndex));
+        } finally {
+            NetworkKeyRegistry.getInstance().remove(collidingKey);
+        }
+    }
+
+    @Test
+    public void replay_protection_list_isCorrect() {
+        final File file = new File(System.getProperty("java.io.tmpdir"), "mesh_rpl_test.bin");
+        file.delete();
+        file.deleteOnExit();
+
+        final ReplayProtectionList rpl = new ReplayProtectionList(file);
+        assertTrue(rpl.checkAndUpdate(0x1201, 0x12345678, 0x000006));
+        assertFalse(rpl.checkAndUpdate(0x1201, 0x12345678, 0x000006));
+        assertFalse(rpl.checkAndUpdate(0x1201, 0x12345678, 0x000005));
+        assertTrue(rpl.checkAndUpdate(0x1201, 0x12345678, 0x000007));
+        assertTrue(rpl.checkAndUpdate(0x1201, 0x12345679, 0x000001));
+        assertFalse(rpl.checkAndUpdate(0x1201, 0x12345678, 0x000100));
+        assertTrue(rpl.checkAndUpdate(0x7FFF, 0x12345678, 0x3129AB));
+        assertTrue(rpl.isReplay(0x0000, 0x12345678, 0x000001));
+        assertTrue(rpl.isReplay(0xC000, 0x12345678, 0x000001));
+        assertEquals(2, rpl.size());
+
+        //Records are written on a background thread
+        rpl.flush();
+        final ReplayProtectionList reloaded = new ReplayProtectionList(file);
+        assertEquals(2, reloaded.size());
+        assertEquals(0x12345679, reloaded.getIvIndex(0x1201));
+        assertEquals(0x000001, reloaded.getSequenceNumber(0x1201));
+        assertEquals(0x3129AB, reloaded.getSequenceNumber(0x7FFF));
+        assertTrue(reloaded.isReplay(0x7FFF, 0x12345678, 0x3129AB));
+        assertFalse(reloaded.isReplay(0x7FFF, 0x12345678, 0x3129AC));
+
+        reloaded.remove(0x7FFF);
+        reloaded.flush();
+        assertEquals(-1, new ReplayProtectionList(file).getSequenceNumber(0x7FFF));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void replay_protection_list_other_directory_isRejected() {
+        //The transports created by the other tests keep the shared list in memory
+        assertSame(ReplayProtectionList.getInstance(null), ReplayProtectionList.getInstance(null));
+        ReplayProtectionList.getInstance(new File(System.getProperty("java.io.tmpdir")));
+    }
+
+    @Test
+    public void replay_protection_list_remove_and_clear_isCorrect() {
+        final File file = new File(System.getProperty("java.io.tmpdir"), "mesh_rpl_clear_test.bin");
+        file.delete();
+        file.deleteOnExit();
+
+        final ReplayProtectionList rpl = new ReplayProtectionList(file);
+        //A node with three elements and another node
+        assertTrue(rpl.checkAndUpdate(0x0002, 0x12345678, 0x000010));
+        assertTrue(rpl.checkAndUpdate(0x0003, 0x12345678, 0x000011));
+        assertTrue(rpl.checkAndUpdate(0x0004, 0x12345678, 0x000012));
+        assertTrue(rpl.checkAndUpdate(0x0005, 0x12345678, 0x000013));
+
+        //A node reset and provisioned again with the same addresses starts with a sequence number of zero
+        rpl.remove(0x0002, 3);
+        assertEquals(1, rpl.size());
+        assertFalse(rpl.isReplay(0x0003, 0x12345678, 0x000000));
+        assertTrue(rpl.isReplay(0x0005, 0x12345678, 0x000013));
+
+        rpl.flush();
+        final ReplayProtectionList reloaded = new ReplayProtectionList(file);
+        assertEquals(1, reloaded.size());
+        assertEquals(0x000013, reloaded.getSequenceNumber(0x0005));
+
+        reloaded.clear();
+        reloaded.flush();
+        assertEquals(0, reloaded.size());
+        assertEquals(0, new ReplayProtectionList(file).size());
+    }
+}
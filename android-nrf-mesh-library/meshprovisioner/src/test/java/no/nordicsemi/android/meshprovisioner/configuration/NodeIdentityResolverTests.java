@@ -0,0 +1,80 @@
+package no.nordicsemi.android.meshprovisioner.configuration;
+
+import org.junit.Test;
+
+import no.nordicsemi.android.meshprovisioner.utils.AddressUtils;
+import no.nordicsemi.android.meshprovisioner.utils.MeshParserUtils;
+import no.nordicsemi.android.meshprovisioner.utils.NodeIdentityResolver;
+import no.nordicsemi.android.meshprovisioner.utils.SecureUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class NodeIdentityResolverTests {
+
+    private static final String NETWORK_KEY = "7dd7364cd842ad18c17c2b820c84c3d6";
+    private static final String OTHER_NETWORK_KEY = "f7a2a44f8e8a8029064f173ddc1e2b00";
+    private static final byte[] RANDOM = MeshParserUtils.toByteArray("34ae608fbbc1f2c6");
+
+    @Test
+    public void node_identity_resolution_isCorrect() {
+        final NodeIdentityResolver resolver = new NodeIdentityResolver();
+        TestMeshNode expected = null;
+        for (int address = 1; address <= 20; address++) {
+            final TestMeshNode node = new TestMeshNode(address % 2 == 0 ? NETWORK_KEY : OTHER_NETWORK_KEY, address);
+            resolver.addNode(node);
+            if (address == 15) {
+                expected = node;
+            }
+        }
+
+        final byte[] serviceData = createServiceData(expected);
+        assertSame(expected, resolver.resolve(serviceData));
+        assertEquals(MeshParserUtils.bytesToHex(SecureUtils.calculateHash(expected.getIdentityKey(), RANDOM, expected.getUnicastAddress()), false),
+                expected.getNodeIdentifier());
+        final int cipherOperations = resolver.getCipherOperationCount();
+
+        //The same advertisement is resolved from the cache
+        assertSame(expected, resolver.resolve(serviceData));
+        assertEquals(1, resolver.getCacheHitCount());
+        assertEquals(cipherOperations, resolver.getCipherOperationCount());
+
+        //A removed node is no longer resolved
+        resolver.removeNode(15);
+        assertNull(resolver.resolve(serviceData));
+        assertEquals(19, resolver.size());
+    }
+
+    @Test
+    public void non_node_identity_advertisement_isIgnored() {
+        final NodeIdentityResolver resolver = new NodeIdentityResolver();
+        final TestMeshNode node = new TestMeshNode(NETWORK_KEY, 1);
+        resolver.addNode(node);
+
+        final byte[] serviceData = createServiceData(node);
+        serviceData[0] = 0x00;
+        assertNull(resolver.resolve(serviceData));
+        assertNull(resolver.resolve(new byte[]{0x01, 0x02}));
+        assertNull(resolver.resolve(null));
+        assertEquals(0, resolver.getCipherOperationCount());
+    }
+
+    private static byte[] createServiceData(final ProvisionedMeshNode node) {
+        final byte[] hash = SecureUtils.calculateHash(node.getIdentityKey(), RANDOM, node.getUnicastAddress());
+        final byte[] serviceData = new byte[17];
+        serviceData[0] = 0x01;
+        System.arraycopy(hash, 0, serviceData, 1, 8);
+        System.arraycopy(RANDOM, 0, serviceData, 9, 8);
+        return serviceData;
+    }
+
+    private static final class TestMeshNode extends ProvisionedMeshNode {
+
+        TestMeshNode(final String networkKey, final int unicastAddress) {
+            this.networkKey = MeshParserUtils.toByteArray(networkKey);
+            setUnicastAddress(AddressUtils.getUnicastAddressBytes(unicastAddress));
+            setIsProvisioned(true);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package no.nordicsemi.android.meshprovisioner.configuration;
+
+import android.content.Context;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import no.nordicsemi.android.meshprovisioner.messages.Message;
+import no.nordicsemi.android.meshprovisioner.transport.StripedTransportMetricsRegistry;
+import no.nordicsemi.android.meshprovisioner.transport.TransportMetrics;
+import no.nordicsemi.android.meshprovisioner.transport.TransportMetricsSnapshot;
+import no.nordicsemi.android.meshprovisioner.utils.MeshParserUtils;
+import no.nordicsemi.android.meshprovisioner.utils.StripedCounter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class TransportMetricsTests {
+
+    //Message #6 of the sample data, a segmented access message sent in two segments
+    private static final String[] SEGMENTED_PDUS = {
+            "0068cab5c5348a230afba8c63d4e686364979deaf4fd40961145939cda0e",
+            "00681615b5dd4a846cae0c032bf0746f44f1b8cc8ce5edc57e55beed49c0"
+    };
+
+    @Rule
+    public MockitoRule rule = MockitoJUnit.rule();
+
+    @Mock
+    Context context;
+
+    @After
+    public void tearDown() {
+        TransportMetrics.setRegistry(null);
+    }
+
+    @Test
+    public void received_segmented_message_isCounted() {
+        final StripedTransportMetricsRegistry registry = new StripedTransportMetricsRegistry();
+        TransportMetrics.setRegistry(registry);
+
+        final MeshTransport meshTransport = new MeshTransport(context, createMeshNode());
+        Message message = null;
+        for (String pdu : SEGMENTED_PDUS) {
+            message = meshTransport.parsePdu(MeshParserUtils.toByteArray(pdu));
+        }
+        assertNotNull(message);
+
+        final TransportMetricsSnapshot snapshot = registry.getSnapshot();
+        assertEquals(2, snapshot.getCount(TransportMetrics.NETWORK_PDUS_IN));
+        assertEquals(2, snapshot.getCount(TransportMetrics.SEGMENTS_IN));
+        assertEquals(1, snapshot.getCount(TransportMetrics.UPPER_TRANSPORT_PDUS_IN));
+        assertEquals(1, snapshot.getCount(TransportMetrics.ACCESS_PDUS_IN));
+        assertEquals(0, snapshot.getCount(TransportMetrics.NETWORK_DECRYPT_FAILURES));
+        assertEquals(0, snapshot.getCount(TransportMetrics.UPPER_TRANSPORT_DECRYPT_FAILURES));
+        assertEquals(2, snapshot.getHistogramCount(TransportMetrics.NETWORK_DECRYPT_NANOS));
+        assertEquals(1, snapshot.getHistogramCount(TransportMetrics.UPPER_TRANSPORT_DECRYPT_NANOS));
+    }
+
+    @Test
+    public void network_mic_failure_isCounted() {
+        final StripedTransportMetricsRegistry registry = new StripedTransportMetricsRegistry();
+        TransportMetrics.setRegistry(registry);
+
+        final byte[] pdu = MeshParserUtils.toByteArray("0068e80e5da5af0e6b9be7f5a642f2f98680e61c3a8b47f228");
+        pdu[pdu.length - 1] ^= 0x01;
+        final MeshTransport meshTransport = new MeshTransport(context, createMeshNode());
+        assertNull(meshTransport.parsePdu(pdu));
+
+        assertEquals(1, registry.getCount(TransportMetrics.NETWORK_PDUS_IN));
+        assertEquals(1, registry.getCount(TransportMetrics.NETWORK_DECRYPT_FAILURES));
+        assertEquals(0, registry.getCount(TransportMetrics.ACCESS_PDUS_IN));
+    }
+
+    @Test
+    public void transport_mic_failure_isDropped() {
+        final StripedTransportMetricsRegistry registry = new StripedTransportMetricsRegistry();
+        TransportMetrics.setRegistry(registry);
+
+        final ProvisionedMeshNode meshNode = createMeshNode();
+        meshNode.setDeviceKey(MeshParserUtils.toByteArray("00000000000000000000000000000000"));
+        final MeshTransport meshTransport = new MeshTransport(context, meshNode);
+        Message message = null;
+        for (String pdu : SEGMENTED_PDUS) {
+            message = meshTransport.parsePdu(MeshParserUtils.toByteArray(pdu));
+        }
+        assertNull(message);
+
+        assertEquals(1, registry.getCount(TransportMetrics.UPPER_TRANSPORT_DECRYPT_FAILURES));
+        assertEquals(0, registry.getCount(TransportMetrics.UPPER_TRANSPORT_PDUS_IN));
+        assertEquals(0, registry.getCount(TransportMetrics.ACCESS_PDUS_IN));
+    }
+
+    @Test
+    public void nothing_isCounted_withoutRegistry() {
+        final StripedTransportMetricsRegistry registry = new StripedTransportMetricsRegistry();
+        TransportMetrics.setRegistry(registry);
+        TransportMetrics.setRegistry(null);
+
+        final MeshTransport meshTransport = new MeshTransport(context, createMeshNode());
+        for (String pdu : SEGMENTED_PDUS) {
+            meshTransport.parsePdu(MeshParserUtils.toByteArray(pdu));
+        }
+
+        final TransportMetricsSnapshot snapshot = registry.getSnapshot();
+        for (int i = 0; i < TransportMetrics.COUNTER_COUNT; i++) {
+            assertEquals(TransportMetrics.getCounterName(i), 0, snapshot.getCount(i));
+        }
+    }
+
+    @Test
+    public void striped_counter_isExact_acrossThreads() throws Exception {
+        final StripedCounter counter = new StripedCounter();
+        final int increments = 100000;
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            final Thread thread = new Thread(() -> {
+                for (int j = 0; j < increments; j++) {
+                    counter.increment();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(8L * increments, counter.sum());
+
+        counter.reset();
+        assertEquals(0, counter.sum());
+    }
+
+    private ProvisionedMeshNode createMeshNode() {
+        final byte[] netkey = MeshParserUtils.toByteArray("7dd7364cd842ad18c17c2b820c84c3d6");
+        final ProvisionedMeshNode meshNode = new ProvisionedMeshNode();
+        meshNode.setNetworkKey(netkey);
+        meshNode.setIvIndex(MeshParserUtils.toByteArray("12345678"));
+        meshNode.setDeviceKey(MeshParserUtils.toByteArray("9d6dd0e96eb25dc19a40ed9914f8f03f"));
+        return meshNode;
+    }
+}